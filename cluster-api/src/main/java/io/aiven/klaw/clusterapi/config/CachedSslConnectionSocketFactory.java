@@ -0,0 +1,103 @@
+package io.aiven.klaw.clusterapi.config;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import org.apache.hc.client5.http.socket.LayeredConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Https sockets from the SSL context of the {@link SslMaterialCache}, so pooled http clients open
+ * new connections with renewed keystores once their files change, while existing connections are
+ * kept.
+ */
+class CachedSslConnectionSocketFactory implements LayeredConnectionSocketFactory {
+
+  private final SslMaterialCache sslMaterialCache;
+
+  private final SslMaterialCache.SslMaterial sslMaterial;
+
+  private final HostnameVerifier hostnameVerifier;
+
+  private SSLContext sslContext;
+
+  private SSLConnectionSocketFactory delegate;
+
+  CachedSslConnectionSocketFactory(
+      SslMaterialCache sslMaterialCache,
+      SslMaterialCache.SslMaterial sslMaterial,
+      HostnameVerifier hostnameVerifier)
+      throws IOException {
+    this.sslMaterialCache = sslMaterialCache;
+    this.sslMaterial = sslMaterial;
+    this.hostnameVerifier = hostnameVerifier;
+    getDelegate();
+  }
+
+  @Override
+  public Socket createSocket(HttpContext context) throws IOException {
+    return getDelegate().createSocket(context);
+  }
+
+  @Override
+  public Socket connectSocket(
+      TimeValue connectTimeout,
+      Socket socket,
+      HttpHost host,
+      InetSocketAddress remoteAddress,
+      InetSocketAddress localAddress,
+      HttpContext context)
+      throws IOException {
+    return getDelegate()
+        .connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+  }
+
+  @Override
+  public Socket connectSocket(
+      Socket socket,
+      HttpHost host,
+      InetSocketAddress remoteAddress,
+      InetSocketAddress localAddress,
+      Timeout connectTimeout,
+      Object attachment,
+      HttpContext context)
+      throws IOException {
+    return getDelegate()
+        .connectSocket(
+            socket, host, remoteAddress, localAddress, connectTimeout, attachment, context);
+  }
+
+  @Override
+  public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+      throws IOException {
+    return getDelegate().createLayeredSocket(socket, target, port, context);
+  }
+
+  @Override
+  public Socket createLayeredSocket(
+      Socket socket, String target, int port, Object attachment, HttpContext context)
+      throws IOException {
+    return getDelegate().createLayeredSocket(socket, target, port, attachment, context);
+  }
+
+  private synchronized SSLConnectionSocketFactory getDelegate() throws IOException {
+    SSLContext currentSslContext;
+    try {
+      currentSslContext = sslMaterialCache.getSslContext(sslMaterial);
+    } catch (GeneralSecurityException e) {
+      throw new IOException("Cannot load keystores of cluster api", e);
+    }
+    if (currentSslContext != sslContext) {
+      sslContext = currentSslContext;
+      delegate = new SSLConnectionSocketFactory(currentSslContext, hostnameVerifier);
+    }
+    return delegate;
+  }
+}
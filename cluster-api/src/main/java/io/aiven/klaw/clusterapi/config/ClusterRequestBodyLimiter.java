@@ -0,0 +1,92 @@
+package io.aiven.klaw.clusterapi.config;
+
+import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
+import io.aiven.klaw.clusterapi.models.ClusterConnectorRequest;
+import io.aiven.klaw.clusterapi.models.ClusterSchemaRequest;
+import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+/**
+ * Assigns requests which name their cluster in the body, such as topic, acl, schema and connector
+ * requests, to that cluster in {@link ClusterRequestLimiter}. The permit is taken once the body is
+ * read, before the handler runs, and given back by the limiter when the request completes.
+ */
+@ControllerAdvice
+public class ClusterRequestBodyLimiter extends RequestBodyAdviceAdapter {
+
+  private final ClusterRequestLimiter clusterRequestLimiter;
+
+  public ClusterRequestBodyLimiter(ClusterRequestLimiter clusterRequestLimiter) {
+    this.clusterRequestLimiter = clusterRequestLimiter;
+  }
+
+  @Override
+  public boolean supports(
+      MethodParameter methodParameter,
+      Type targetType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    return targetType == ClusterTopicRequest.class
+        || targetType == ClusterAclRequest.class
+        || targetType == ClusterSchemaRequest.class
+        || targetType == ClusterConnectorRequest.class;
+  }
+
+  @Override
+  public Object afterBodyRead(
+      Object body,
+      HttpInputMessage inputMessage,
+      MethodParameter parameter,
+      Type targetType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    String clusterHost = getClusterHost(body);
+    if (clusterHost != null
+        && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes request
+        && !clusterRequestLimiter.acquireForRequest(request.getRequest(), clusterHost)) {
+      throw new ClusterBusyException(clusterHost);
+    }
+    return body;
+  }
+
+  @ExceptionHandler(ClusterBusyException.class)
+  public void handleClusterBusy(ClusterBusyException e, HttpServletResponse response)
+      throws IOException {
+    clusterRequestLimiter.writeRejection(response, e.getClusterHost());
+  }
+
+  private static String getClusterHost(Object body) {
+    if (body instanceof ClusterTopicRequest clusterTopicRequest) {
+      return clusterTopicRequest.getEnv();
+    } else if (body instanceof ClusterAclRequest clusterAclRequest) {
+      return clusterAclRequest.getEnv();
+    } else if (body instanceof ClusterSchemaRequest clusterSchemaRequest) {
+      return clusterSchemaRequest.getEnv();
+    } else if (body instanceof ClusterConnectorRequest clusterConnectorRequest) {
+      return clusterConnectorRequest.getEnv();
+    }
+    return null;
+  }
+
+  static class ClusterBusyException extends RuntimeException {
+
+    private final String clusterHost;
+
+    ClusterBusyException(String clusterHost) {
+      super("Too many requests in flight to cluster " + clusterHost);
+      this.clusterHost = clusterHost;
+    }
+
+    String getClusterHost() {
+      return clusterHost;
+    }
+  }
+}
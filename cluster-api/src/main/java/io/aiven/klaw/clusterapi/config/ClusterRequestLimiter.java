@@ -0,0 +1,282 @@
+package io.aiven.klaw.clusterapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aiven.klaw.clusterapi.models.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Bounds the requests in flight per cluster, so a cluster which is slow or down can only hold a few
+ * request threads, and requests to other clusters keep being served. A request which finds all
+ * permits of its cluster taken waits for a bounded time in a bounded queue, and is answered with a
+ * 503 when the queue is full or the wait times out. Requests to all clusters together are bounded
+ * as well, so that many clusters cannot take every request thread. Requests are assigned to the
+ * cluster of their bootstrap servers or kafka connect host path variable, or of the cluster named
+ * in their body (see {@link ClusterRequestBodyLimiter}), requests without a cluster are not
+ * bounded. Requests which name several clusters take the permits of each cluster they call.
+ *
+ * <p>Meters are tagged with the first clusters seen only, further clusters are counted together
+ * under {@value #OTHER_CLUSTERS_TAG}, as the clusters are taken from the requests.
+ */
+@Component
+@Slf4j
+public class ClusterRequestLimiter implements HandlerInterceptor {
+
+  private static final List<String> CLUSTER_HOST_VARIABLES =
+      List.of("bootstrapServers", "kafkaConnectHost");
+
+  private static final String PERMITS_ATTRIBUTE =
+      ClusterRequestLimiter.class.getName() + ".permits";
+
+  static final String OTHER_CLUSTERS_TAG = "other";
+
+  private final MeterRegistry meterRegistry;
+
+  private final ObjectMapper objectMapper;
+
+  private final int maxConcurrentRequests;
+
+  private final int maxQueuedRequests;
+
+  private final long maxQueueWaitMs;
+
+  private final int maxTaggedClusters;
+
+  private final Semaphore totalPermits;
+
+  private final Map<String, ClusterPermits> clusterPermitsMap = new ConcurrentHashMap<>();
+
+  // clusters beyond the tagged ones, which share the meters of OTHER_CLUSTERS_TAG
+  private final Set<ClusterPermits> otherClusterPermits = ConcurrentHashMap.newKeySet();
+
+  private final Counter otherClustersRejected;
+
+  private final AtomicInteger taggedClusters = new AtomicInteger();
+
+  public ClusterRequestLimiter(
+      MeterRegistry meterRegistry,
+      ObjectMapper objectMapper,
+      @Value("${klaw.clusterapi.cluster.max.concurrent.requests:16}") int maxConcurrentRequests,
+      @Value("${klaw.clusterapi.cluster.max.queued.requests:16}") int maxQueuedRequests,
+      @Value("${klaw.clusterapi.cluster.max.queue.wait.ms:2000}") long maxQueueWaitMs,
+      @Value("${klaw.clusterapi.max.concurrent.requests:64}") int maxTotalConcurrentRequests,
+      @Value("${klaw.clusterapi.cluster.metrics.max.clusters:50}") int maxTaggedClusters) {
+    this.meterRegistry = meterRegistry;
+    this.objectMapper = objectMapper;
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.maxQueuedRequests = maxQueuedRequests;
+    this.maxQueueWaitMs = maxQueueWaitMs;
+    this.maxTaggedClusters = maxTaggedClusters;
+    this.totalPermits = new Semaphore(maxTotalConcurrentRequests);
+    Gauge.builder(
+            "klaw.requests.active",
+            totalPermits,
+            permits -> maxTotalConcurrentRequests - permits.availablePermits())
+        .description("Requests in flight to all clusters")
+        .register(meterRegistry);
+    this.otherClustersRejected = rejectedCounter(OTHER_CLUSTERS_TAG);
+    Gauge.builder(
+            "klaw.cluster.requests.active",
+            otherClusterPermits,
+            permits -> permits.stream().mapToInt(ClusterPermits::active).sum())
+        .description("Requests in flight to the cluster")
+        .tag("cluster", OTHER_CLUSTERS_TAG)
+        .register(meterRegistry);
+    Gauge.builder(
+            "klaw.cluster.requests.queued",
+            otherClusterPermits,
+            permits -> permits.stream().mapToInt(ClusterPermits::queued).sum())
+        .description("Requests waiting for a permit of the cluster")
+        .tag("cluster", OTHER_CLUSTERS_TAG)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws IOException {
+    String clusterHost = getClusterHost(request);
+    if (clusterHost == null || acquireForRequest(request, clusterHost)) {
+      return true;
+    }
+    writeRejection(response, clusterHost);
+    return false;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getAttribute(PERMITS_ATTRIBUTE) instanceof ClusterPermits clusterPermits) {
+      request.removeAttribute(PERMITS_ATTRIBUTE);
+      clusterPermits.release();
+    }
+  }
+
+  /**
+   * Takes a permit of the cluster for the whole request, given back once the request completes. A
+   * request holds the permit of one cluster at most, a request which holds one already is let
+   * through.
+   */
+  boolean acquireForRequest(HttpServletRequest request, String clusterHost) {
+    if (request.getAttribute(PERMITS_ATTRIBUTE) != null) {
+      return true;
+    }
+    ClusterPermits clusterPermits = getClusterPermits(clusterHost);
+    if (!clusterPermits.acquire()) {
+      clusterPermits.rejected.increment();
+      log.warn("Rejected request {} to {}", request.getRequestURI(), clusterHost);
+      return false;
+    }
+    request.setAttribute(PERMITS_ATTRIBUTE, clusterPermits);
+    return true;
+  }
+
+  void writeRejection(HttpServletResponse response, String clusterHost) throws IOException {
+    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(
+        response.getOutputStream(),
+        ApiResponse.notOk("Too many requests in flight to cluster " + clusterHost));
+  }
+
+  /**
+   * Takes a permit of the cluster for a call made on behalf of a request, waiting as requests do.
+   * Permits which were taken have to be given back with {@link #release(String)}.
+   */
+  public boolean tryAcquire(String clusterHost) {
+    ClusterPermits clusterPermits = getClusterPermits(clusterHost);
+    if (clusterPermits.acquire()) {
+      return true;
+    }
+    clusterPermits.rejected.increment();
+    log.warn("Rejected call to {}", clusterHost);
+    return false;
+  }
+
+  public void release(String clusterHost) {
+    ClusterPermits clusterPermits = clusterPermitsMap.get(clusterHost);
+    if (clusterPermits != null) {
+      clusterPermits.release();
+    }
+  }
+
+  private ClusterPermits getClusterPermits(String clusterHost) {
+    return clusterPermitsMap.computeIfAbsent(clusterHost, this::newClusterPermits);
+  }
+
+  private static String getClusterHost(HttpServletRequest request) {
+    if (!(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE)
+        instanceof Map<?, ?> pathVariables)) {
+      return null;
+    }
+    for (String clusterHostVariable : CLUSTER_HOST_VARIABLES) {
+      if (pathVariables.get(clusterHostVariable) instanceof String clusterHost) {
+        return clusterHost;
+      }
+    }
+    return null;
+  }
+
+  private ClusterPermits newClusterPermits(String clusterHost) {
+    if (taggedClusters.incrementAndGet() > maxTaggedClusters) {
+      taggedClusters.decrementAndGet();
+      ClusterPermits clusterPermits = new ClusterPermits(otherClustersRejected);
+      otherClusterPermits.add(clusterPermits);
+      return clusterPermits;
+    }
+    ClusterPermits clusterPermits = new ClusterPermits(rejectedCounter(clusterHost));
+    Gauge.builder("klaw.cluster.requests.active", clusterPermits, ClusterPermits::active)
+        .description("Requests in flight to the cluster")
+        .tag("cluster", clusterHost)
+        .strongReference(true)
+        .register(meterRegistry);
+    Gauge.builder("klaw.cluster.requests.queued", clusterPermits, ClusterPermits::queued)
+        .description("Requests waiting for a permit of the cluster")
+        .tag("cluster", clusterHost)
+        .strongReference(true)
+        .register(meterRegistry);
+    return clusterPermits;
+  }
+
+  private Counter rejectedCounter(String clusterTag) {
+    return Counter.builder("klaw.cluster.requests.rejected")
+        .description("Requests rejected because the cluster had too many in flight")
+        .tag("cluster", clusterTag)
+        .register(meterRegistry);
+  }
+
+  private class ClusterPermits {
+
+    private final Semaphore semaphore = new Semaphore(maxConcurrentRequests);
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter rejected;
+
+    ClusterPermits(Counter rejected) {
+      this.rejected = rejected;
+    }
+
+    // takes a permit of the cluster, then one of all clusters, which is not waited for
+    boolean acquire() {
+      if (!acquireClusterPermit()) {
+        return false;
+      }
+      if (!totalPermits.tryAcquire()) {
+        semaphore.release();
+        return false;
+      }
+      return true;
+    }
+
+    void release() {
+      totalPermits.release();
+      semaphore.release();
+    }
+
+    int active() {
+      return maxConcurrentRequests - semaphore.availablePermits();
+    }
+
+    int queued() {
+      return queued.get();
+    }
+
+    private boolean acquireClusterPermit() {
+      if (semaphore.tryAcquire()) {
+        return true;
+      }
+      if (queued.incrementAndGet() > maxQueuedRequests) {
+        queued.decrementAndGet();
+        return false;
+      }
+      try {
+        return semaphore.tryAcquire(maxQueueWaitMs, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      } finally {
+        queued.decrementAndGet();
+      }
+    }
+  }
+}
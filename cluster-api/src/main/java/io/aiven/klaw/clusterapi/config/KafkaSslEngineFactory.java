@@ -0,0 +1,150 @@
+package io.aiven.klaw.clusterapi.config;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.config.types.Password;
+import org.apache.kafka.common.security.auth.SslEngineFactory;
+
+/**
+ * SSL engines of Kafka clients from the {@link SslMaterialCache}, so admin clients and consumers of
+ * a cluster share its loaded keystores, and new connections use renewed keystores once their files
+ * change. Configured by {@link io.aiven.klaw.clusterapi.utils.ClusterApiUtils#getSslConfig} for
+ * clusters with keystore files.
+ */
+public class KafkaSslEngineFactory implements SslEngineFactory {
+
+  private static final String SSL_CLIENT_AUTH_CONFIG = "ssl.client.auth";
+
+  // set by the cache bean, as Kafka instantiates this factory itself
+  private static volatile SslMaterialCache sharedSslMaterialCache;
+
+  private SslMaterialCache sslMaterialCache;
+
+  private SslMaterialCache.SslMaterial sslMaterial;
+
+  private List<String> enabledProtocols;
+
+  private List<String> cipherSuites;
+
+  private String clientAuth;
+
+  static void setSslMaterialCache(SslMaterialCache sslMaterialCache) {
+    sharedSslMaterialCache = sslMaterialCache;
+  }
+
+  @Override
+  public void configure(Map<String, ?> configs) {
+    // without the application context, as in tests, the clients of a factory share its own cache
+    sslMaterialCache =
+        sharedSslMaterialCache == null ? new SslMaterialCache() : sharedSslMaterialCache;
+    sslMaterial =
+        SslMaterialCache.SslMaterial.builder()
+            .protocol(getString(configs, SslConfigs.SSL_PROTOCOL_CONFIG))
+            .keyStoreLocation(getString(configs, SslConfigs.SSL_KEYSTORE_LOCATION_CONFIG))
+            .keyStoreType(getString(configs, SslConfigs.SSL_KEYSTORE_TYPE_CONFIG))
+            .keyStorePassword(getString(configs, SslConfigs.SSL_KEYSTORE_PASSWORD_CONFIG))
+            .keyPassword(getString(configs, SslConfigs.SSL_KEY_PASSWORD_CONFIG))
+            .trustStoreLocation(getString(configs, SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG))
+            .trustStoreType(getString(configs, SslConfigs.SSL_TRUSTSTORE_TYPE_CONFIG))
+            .trustStorePassword(getString(configs, SslConfigs.SSL_TRUSTSTORE_PASSWORD_CONFIG))
+            .build();
+    enabledProtocols = getList(configs, SslConfigs.SSL_ENABLED_PROTOCOLS_CONFIG);
+    cipherSuites = getList(configs, SslConfigs.SSL_CIPHER_SUITES_CONFIG);
+    clientAuth = getString(configs, SSL_CLIENT_AUTH_CONFIG);
+    // fails the creation of the client on unreadable keystores, as Kafka does
+    getLoadedContext();
+  }
+
+  @Override
+  public SSLEngine createClientSslEngine(
+      String peerHost, int peerPort, String endpointIdentification) {
+    SSLEngine sslEngine = createSslEngine(peerHost, peerPort);
+    sslEngine.setUseClientMode(true);
+    SSLParameters sslParameters = sslEngine.getSSLParameters();
+    sslParameters.setEndpointIdentificationAlgorithm(endpointIdentification);
+    sslEngine.setSSLParameters(sslParameters);
+    return sslEngine;
+  }
+
+  // cluster api only connects as a client, server engines are created as Kafka's default factory
+  // does for completeness
+  @Override
+  public SSLEngine createServerSslEngine(String peerHost, int peerPort) {
+    SSLEngine sslEngine = createSslEngine(peerHost, peerPort);
+    sslEngine.setUseClientMode(false);
+    if ("required".equalsIgnoreCase(clientAuth)) {
+      sslEngine.setNeedClientAuth(true);
+    } else if ("requested".equalsIgnoreCase(clientAuth)) {
+      sslEngine.setWantClientAuth(true);
+    }
+    return sslEngine;
+  }
+
+  @Override
+  public boolean shouldBeRebuilt(Map<String, Object> nextConfigs) {
+    // engines are created from the current keystores already
+    return false;
+  }
+
+  @Override
+  public Set<String> reconfigurableConfigs() {
+    return Set.of();
+  }
+
+  @Override
+  public KeyStore keystore() {
+    return getLoadedContext().getKeyStore();
+  }
+
+  @Override
+  public KeyStore truststore() {
+    return getLoadedContext().getTrustStore();
+  }
+
+  @Override
+  public void close() {}
+
+  private SSLEngine createSslEngine(String peerHost, int peerPort) {
+    SSLEngine sslEngine = getLoadedContext().getSslContext().createSSLEngine(peerHost, peerPort);
+    if (enabledProtocols != null && !enabledProtocols.isEmpty()) {
+      sslEngine.setEnabledProtocols(enabledProtocols.toArray(String[]::new));
+    }
+    if (cipherSuites != null && !cipherSuites.isEmpty()) {
+      sslEngine.setEnabledCipherSuites(cipherSuites.toArray(String[]::new));
+    }
+    return sslEngine;
+  }
+
+  private SslMaterialCache.LoadedContext getLoadedContext() {
+    try {
+      return sslMaterialCache.getLoadedContext(sslMaterial);
+    } catch (GeneralSecurityException | IOException e) {
+      throw new KafkaException("Cannot load keystores of " + sslMaterial.getName(), e);
+    }
+  }
+
+  private static String getString(Map<String, ?> configs, String name) {
+    Object value = configs.get(name);
+    if (value instanceof Password password) {
+      return password.value();
+    }
+    return value == null || value.toString().isEmpty() ? null : value.toString();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<String> getList(Map<String, ?> configs, String name) {
+    Object value = configs.get(name);
+    if (value instanceof List<?> list) {
+      return (List<String>) list;
+    }
+    return value == null ? null : List.of(value.toString().split("\\s*,\\s*"));
+  }
+}
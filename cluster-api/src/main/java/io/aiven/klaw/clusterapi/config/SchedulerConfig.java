@@ -14,10 +14,138 @@ public class SchedulerConfig {
   @Value("${klaw.schemainfo.scheduler.threadcount:4}")
   private int poolSize;
 
+  @Value("${klaw.topiccontents.search.threadcount:8}")
+  private int topicContentsSearchPoolSize;
+
+  @Value("${klaw.topiccontents.search.queuecapacity:32}")
+  private int topicContentsSearchQueueCapacity;
+
+  @Value("${klaw.schemaregistry.discovery.parallelism:8}")
+  private int schemaDiscoveryPoolSize;
+
+  @Value("${klaw.schemaregistry.registration.parallelism:4}")
+  private int schemaRegistrationPoolSize;
+
+  @Value("${klaw.kafkaconnect.parallelism:8}")
+  private int kafkaConnectPoolSize;
+
+  @Value("${klaw.confluentcloud.prefetch.threadcount:4}")
+  private int confluentCloudPoolSize;
+
+  @Value("${klaw.topicmetrics.parallelism:4}")
+  private int topicMetricsPoolSize;
+
+  @Value("${klaw.partitionhealth.parallelism:2}")
+  private int partitionHealthPoolSize;
+
+  @Value("${klaw.storagereport.parallelism:2}")
+  private int storageReportPoolSize;
+
+  @Value("${klaw.clusterhealth.parallelism:4}")
+  private int clusterHealthPoolSize;
+
+  @Value("${klaw.multicluster.query.parallelism:16}")
+  private int multiClusterQueryPoolSize;
+
+  @Value("${klaw.multicluster.query.queuecapacity:64}")
+  private int multiClusterQueryQueueCapacity;
+
   @Bean(name = "resetSchemaCacheTaskExecutor")
   public Executor threadPoolTaskExecutor() {
     ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
     threadPoolTaskExecutor.setCorePoolSize(poolSize);
     return threadPoolTaskExecutor;
   }
+
+  @Bean(name = "topicContentsSearchTaskExecutor")
+  public Executor topicContentsSearchTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(topicContentsSearchPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(topicContentsSearchPoolSize);
+    threadPoolTaskExecutor.setQueueCapacity(topicContentsSearchQueueCapacity);
+    threadPoolTaskExecutor.setThreadNamePrefix("topic-contents-search-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "schemaDiscoveryTaskExecutor")
+  public Executor schemaDiscoveryTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(schemaDiscoveryPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(schemaDiscoveryPoolSize);
+    threadPoolTaskExecutor.setThreadNamePrefix("schema-discovery-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "schemaRegistrationTaskExecutor")
+  public Executor schemaRegistrationTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(schemaRegistrationPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(schemaRegistrationPoolSize);
+    threadPoolTaskExecutor.setThreadNamePrefix("schema-registration-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "kafkaConnectTaskExecutor")
+  public Executor kafkaConnectTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(kafkaConnectPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(kafkaConnectPoolSize);
+    threadPoolTaskExecutor.setThreadNamePrefix("kafka-connect-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "confluentCloudTaskExecutor")
+  public Executor confluentCloudTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(confluentCloudPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(confluentCloudPoolSize);
+    threadPoolTaskExecutor.setThreadNamePrefix("confluent-cloud-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "topicMetricsTaskExecutor")
+  public Executor topicMetricsTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(topicMetricsPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(topicMetricsPoolSize);
+    threadPoolTaskExecutor.setThreadNamePrefix("topic-metrics-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "partitionHealthTaskExecutor")
+  public Executor partitionHealthTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(partitionHealthPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(partitionHealthPoolSize);
+    threadPoolTaskExecutor.setThreadNamePrefix("partition-health-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "storageReportTaskExecutor")
+  public Executor storageReportTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(storageReportPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(storageReportPoolSize);
+    threadPoolTaskExecutor.setThreadNamePrefix("storage-report-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "clusterHealthTaskExecutor")
+  public Executor clusterHealthTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(clusterHealthPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(clusterHealthPoolSize);
+    threadPoolTaskExecutor.setThreadNamePrefix("cluster-health-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "multiClusterQueryTaskExecutor")
+  public Executor multiClusterQueryTaskExecutor() {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(multiClusterQueryPoolSize);
+    threadPoolTaskExecutor.setMaxPoolSize(multiClusterQueryPoolSize);
+    threadPoolTaskExecutor.setQueueCapacity(multiClusterQueryQueueCapacity);
+    threadPoolTaskExecutor.setThreadNamePrefix("multi-cluster-query-");
+    return threadPoolTaskExecutor;
+  }
 }
@@ -16,6 +16,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @EnableWebSecurity
 @Slf4j
@@ -24,6 +26,14 @@ public class SecurityConfig {
   @Value("${klaw.clusterapi.access.username:kwuser}")
   private String clusterApiUser;
 
+  // prometheus is served without a token only on a separate management port, its meters are
+  // tagged with cluster hosts
+  @Value("${management.server.port:#{null}}")
+  private Integer managementServerPort;
+
+  @Value("${server.port:8080}")
+  private int serverPort;
+
   @Lazy @Autowired private UserDetailsService userDetailsService;
 
   private final JwtTokenUtilService jwtTokenUtilService;
@@ -37,7 +47,14 @@ public class SecurityConfig {
     http.csrf().disable();
     http.formLogin().disable();
     http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
-    http.authorizeHttpRequests().anyRequest().fullyAuthenticated();
+    // probes have no token, health details are still only shown with one
+    http.authorizeHttpRequests()
+        .requestMatchers("/actuator/health", "/actuator/health/**")
+        .permitAll()
+        .requestMatchers(prometheusOnManagementPort())
+        .permitAll()
+        .anyRequest()
+        .fullyAuthenticated();
     http.addFilterBefore(
         new JwtRequestFilter(userDetailsService, jwtTokenUtilService),
         UsernamePasswordAuthenticationFilter.class);
@@ -45,6 +62,15 @@ public class SecurityConfig {
     return http.build();
   }
 
+  private RequestMatcher prometheusOnManagementPort() {
+    RequestMatcher prometheusPath = new AntPathRequestMatcher("/actuator/prometheus");
+    return request ->
+        managementServerPort != null
+            && managementServerPort != serverPort
+            && request.getLocalPort() == managementServerPort
+            && prometheusPath.matches(request);
+  }
+
   @Bean
   @Primary
   public UserDetailsService getUserDetailsService() throws Exception {
@@ -1,33 +1,23 @@
 package io.aiven.klaw.clusterapi.config;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.security.KeyManagementException;
-import java.security.KeyStore;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.security.UnrecoverableKeyException;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
 import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
-import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.HttpsSupport;
 import org.apache.hc.core5.http.config.Registry;
 import org.apache.hc.core5.http.config.RegistryBuilder;
-import org.apache.hc.core5.ssl.SSLContextBuilder;
-import org.apache.hc.core5.ssl.TrustStrategy;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.util.ResourceUtils;
 
 @Configuration
 @Slf4j
@@ -35,6 +25,10 @@ public class SslContextConfig implements InitializingBean {
 
   private HttpComponentsClientHttpRequestFactory requestFactory;
 
+  private HttpComponentsClientHttpRequestFactory plainRequestFactory;
+
+  @Autowired private SslMaterialCache sslMaterialCache;
+
   @Value("${server.ssl.trust-store:null}")
   private String trustStore;
 
@@ -50,56 +44,84 @@ public class SslContextConfig implements InitializingBean {
   @Value("${server.ssl.key-store-type:JKS}")
   private String keyStoreType;
 
+  @Value("${klaw.http.client.max.connections:100}")
+  private int maxConnections;
+
+  @Value("${klaw.http.client.max.connections.per.route:20}")
+  private int maxConnectionsPerRoute;
+
+  @Value("${klaw.http.client.connect.timeout.ms:10000}")
+  private long connectTimeoutMs;
+
+  @Value("${klaw.http.client.read.timeout.ms:30000}")
+  private long readTimeoutMs;
+
   public HttpComponentsClientHttpRequestFactory getClientHttpRequestFactory() {
     return requestFactory;
   }
 
+  public HttpComponentsClientHttpRequestFactory getPlainClientHttpRequestFactory() {
+    return plainRequestFactory;
+  }
+
+  private HttpComponentsClientHttpRequestFactory createPooledRequestFactory(
+      PoolingHttpClientConnectionManager poolingConnManager) {
+    poolingConnManager.setMaxTotal(maxConnections);
+    poolingConnManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+    // bounds every call on the socket, so a hung server frees the calling thread
+    poolingConnManager.setDefaultConnectionConfig(
+        ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+            .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+            .build());
+    // a call waiting for a pooled connection gives up as well, instead of holding its thread
+    CloseableHttpClient httpClient =
+        HttpClients.custom()
+            .setConnectionManager(poolingConnManager)
+            .setDefaultRequestConfig(
+                RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                    .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                    .build())
+            .build();
+    HttpComponentsClientHttpRequestFactory pooledRequestFactory =
+        new HttpComponentsClientHttpRequestFactory();
+    pooledRequestFactory.setHttpClient(httpClient);
+    return pooledRequestFactory;
+  }
+
   private void setKwSSLContext() throws Exception {
     if (keyStore != null && !keyStore.equals("null")) {
-      TrustStrategy acceptingTrustStrategy = (X509Certificate[] chain, String authType) -> true;
-      SSLContextBuilder builder = new SSLContextBuilder();
       try {
-        builder
-            .loadKeyMaterial(getStore(keyStorePwd, keyStore), keyStorePwd.toCharArray())
-            .loadTrustMaterial(acceptingTrustStrategy);
-        SSLConnectionSocketFactory sslsf = new SSLConnectionSocketFactory(builder.build());
+        SslMaterialCache.SslMaterial sslMaterial =
+            SslMaterialCache.SslMaterial.builder()
+                .clusterIdentification("cluster api http clients")
+                .keyStoreLocation(keyStore)
+                .keyStoreType(keyStoreType)
+                .keyStorePassword(keyStorePwd)
+                .trustAll(true)
+                .build();
         Registry<ConnectionSocketFactory> registry =
             RegistryBuilder.<ConnectionSocketFactory>create()
                 .register("http", new PlainConnectionSocketFactory())
-                .register("https", sslsf)
+                // the hostname is verified as by the default socket factory used so far
+                .register(
+                    "https",
+                    new CachedSslConnectionSocketFactory(
+                        sslMaterialCache, sslMaterial, HttpsSupport.getDefaultHostnameVerifier()))
                 .build();
-        HttpClientConnectionManager poolingConnManager =
-            new PoolingHttpClientConnectionManager(registry);
-        CloseableHttpClient httpClient =
-            HttpClients.custom().setConnectionManager(poolingConnManager).build();
-        requestFactory = new HttpComponentsClientHttpRequestFactory();
-        requestFactory.setHttpClient(httpClient);
-      } catch (NoSuchAlgorithmException
-          | KeyStoreException
-          | CertificateException
-          | UnrecoverableKeyException
-          | IOException
-          | KeyManagementException e) {
+        requestFactory =
+            createPooledRequestFactory(new PoolingHttpClientConnectionManager(registry));
+      } catch (IOException e) {
         log.error("Exception: ", e);
         throw new RuntimeException(e);
       }
     }
   }
 
-  protected KeyStore getStore(String secret, String storeLoc)
-      throws KeyStoreException, IOException, CertificateException, NoSuchAlgorithmException {
-
-    File key = ResourceUtils.getFile(storeLoc);
-
-    final KeyStore store = KeyStore.getInstance(keyStoreType);
-    try (InputStream inputStream = Files.newInputStream(key.toPath())) {
-      store.load(inputStream, secret.toCharArray());
-    }
-    return store;
-  }
-
   @Override
   public void afterPropertiesSet() throws Exception {
+    plainRequestFactory = createPooledRequestFactory(new PoolingHttpClientConnectionManager());
     setKwSSLContext();
   }
 }
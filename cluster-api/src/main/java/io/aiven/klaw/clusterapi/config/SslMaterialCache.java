@@ -0,0 +1,217 @@
+package io.aiven.klaw.clusterapi.config;
+
+import jakarta.annotation.PostConstruct;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * Loaded keystores and SSL contexts of the clusters, shared by the admin clients and consumers of
+ * Kafka clusters and the http clients of schema registries, kafka connect and Aiven. Entries are
+ * kept with the size, modification time and content hash of their keystore files, and are loaded
+ * again on the first read after a file changed, so renewed certificates are picked up without a
+ * restart.
+ */
+@Component
+@Slf4j
+public class SslMaterialCache {
+
+  private static final X509TrustManager ACCEPTING_TRUST_MANAGER =
+      new X509TrustManager() {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {}
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {}
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+          return new X509Certificate[0];
+        }
+      };
+
+  private final Map<StoreKey, LoadedStore> keyStores = new ConcurrentHashMap<>();
+
+  private final Map<SslMaterial, LoadedContext> sslContexts = new ConcurrentHashMap<>();
+
+  // Kafka creates its SSL engine factories by class name and passes them only the client configs
+  @PostConstruct
+  void shareWithKafkaClients() {
+    KafkaSslEngineFactory.setSslMaterialCache(this);
+  }
+
+  public SSLContext getSslContext(SslMaterial sslMaterial)
+      throws GeneralSecurityException, IOException {
+    return getLoadedContext(sslMaterial).getSslContext();
+  }
+
+  public KeyStore getKeyStore(String location, String type, String password)
+      throws GeneralSecurityException, IOException {
+    if (location == null) {
+      return null;
+    }
+    StoreKey storeKey = new StoreKey(location, type, password);
+    File file = ResourceUtils.getFile(location);
+    String fingerprint = getFingerprint(file);
+    LoadedStore loadedStore = keyStores.get(storeKey);
+    if (loadedStore != null && loadedStore.getFingerprint().equals(fingerprint)) {
+      return loadedStore.getKeyStore();
+    }
+
+    KeyStore keyStore = KeyStore.getInstance(type == null ? KeyStore.getDefaultType() : type);
+    try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+      keyStore.load(inputStream, password == null ? null : password.toCharArray());
+    }
+    log.info("Loaded keystore {}", location);
+    keyStores.put(storeKey, new LoadedStore(fingerprint, keyStore));
+    return keyStore;
+  }
+
+  LoadedContext getLoadedContext(SslMaterial sslMaterial)
+      throws GeneralSecurityException, IOException {
+    String fingerprint =
+        getFingerprint(sslMaterial.getKeyStoreLocation())
+            + "/"
+            + getFingerprint(sslMaterial.getTrustStoreLocation());
+    LoadedContext loadedContext = sslContexts.get(sslMaterial);
+    if (loadedContext != null && loadedContext.getFingerprint().equals(fingerprint)) {
+      return loadedContext;
+    }
+
+    // concurrent first reads of a cluster build its context once
+    synchronized (this) {
+      loadedContext = sslContexts.get(sslMaterial);
+      if (loadedContext == null || !loadedContext.getFingerprint().equals(fingerprint)) {
+        loadedContext = loadContext(sslMaterial, fingerprint);
+        sslContexts.put(sslMaterial, loadedContext);
+        log.info("Loaded SSL context of {}", sslMaterial.getName());
+      }
+      return loadedContext;
+    }
+  }
+
+  private LoadedContext loadContext(SslMaterial sslMaterial, String fingerprint)
+      throws GeneralSecurityException, IOException {
+    KeyStore keyStore =
+        getKeyStore(
+            sslMaterial.getKeyStoreLocation(),
+            sslMaterial.getKeyStoreType(),
+            sslMaterial.getKeyStorePassword());
+    KeyStore trustStore =
+        getKeyStore(
+            sslMaterial.getTrustStoreLocation(),
+            sslMaterial.getTrustStoreType(),
+            sslMaterial.getTrustStorePassword());
+
+    KeyManagerFactory keyManagerFactory = null;
+    if (keyStore != null) {
+      keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+      String keyPassword =
+          sslMaterial.getKeyPassword() == null
+              ? sslMaterial.getKeyStorePassword()
+              : sslMaterial.getKeyPassword();
+      keyManagerFactory.init(keyStore, keyPassword == null ? null : keyPassword.toCharArray());
+    }
+    TrustManager[] trustManagers = null;
+    if (sslMaterial.isTrustAll()) {
+      trustManagers = new TrustManager[] {ACCEPTING_TRUST_MANAGER};
+    } else if (trustStore != null) {
+      TrustManagerFactory trustManagerFactory =
+          TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+      trustManagerFactory.init(trustStore);
+      trustManagers = trustManagerFactory.getTrustManagers();
+    }
+
+    SSLContext sslContext =
+        SSLContext.getInstance(
+            sslMaterial.getProtocol() == null ? "TLS" : sslMaterial.getProtocol());
+    sslContext.init(
+        keyManagerFactory == null ? null : keyManagerFactory.getKeyManagers(), trustManagers, null);
+    return new LoadedContext(fingerprint, sslContext, keyStore, trustStore);
+  }
+
+  private static String getFingerprint(String location) throws IOException {
+    return location == null ? "" : getFingerprint(ResourceUtils.getFile(location));
+  }
+
+  // the content hash catches files replaced within the resolution of the modification time
+  private static String getFingerprint(File file) throws IOException {
+    try {
+      return file.length()
+          + ":"
+          + file.lastModified()
+          + ":"
+          + HexFormat.of()
+              .formatHex(
+                  MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file.toPath())));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Keystores and settings of an SSL context, the cache key of the context. */
+  @Value
+  @Builder
+  public static class SslMaterial {
+    String clusterIdentification;
+    String protocol;
+    String keyStoreLocation;
+    String keyStoreType;
+    @ToString.Exclude String keyStorePassword;
+    @ToString.Exclude String keyPassword;
+    String trustStoreLocation;
+    String trustStoreType;
+    @ToString.Exclude String trustStorePassword;
+
+    // servers are not verified, as for the http clients of cluster api so far
+    boolean trustAll;
+
+    String getName() {
+      if (clusterIdentification != null) {
+        return clusterIdentification;
+      }
+      return keyStoreLocation == null ? trustStoreLocation : keyStoreLocation;
+    }
+  }
+
+  @Value
+  private static class StoreKey {
+    String location;
+    String type;
+    @ToString.Exclude String password;
+  }
+
+  @Value
+  private static class LoadedStore {
+    String fingerprint;
+    KeyStore keyStore;
+  }
+
+  @Value
+  static class LoadedContext {
+    String fingerprint;
+    SSLContext sslContext;
+    KeyStore keyStore;
+    KeyStore trustStore;
+  }
+}
@@ -0,0 +1,20 @@
+package io.aiven.klaw.clusterapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final ClusterRequestLimiter clusterRequestLimiter;
+
+  public WebConfig(ClusterRequestLimiter clusterRequestLimiter) {
+    this.clusterRequestLimiter = clusterRequestLimiter;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(clusterRequestLimiter);
+  }
+}
@@ -1,22 +1,27 @@
 package io.aiven.klaw.clusterapi.controller;
 
+import io.aiven.klaw.clusterapi.models.AclResourceFilter;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.ServiceAccountDetails;
 import io.aiven.klaw.clusterapi.models.TopicConfig;
+import io.aiven.klaw.clusterapi.models.TopicNameFilter;
 import io.aiven.klaw.clusterapi.models.enums.AclType;
 import io.aiven.klaw.clusterapi.models.enums.AclsNativeType;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.ClusterStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.partitionhealth.PartitionHealthChanges;
 import io.aiven.klaw.clusterapi.services.AivenApiService;
 import io.aiven.klaw.clusterapi.services.ApacheKafkaAclService;
 import io.aiven.klaw.clusterapi.services.ApacheKafkaTopicService;
+import io.aiven.klaw.clusterapi.services.ClusterHealthService;
 import io.aiven.klaw.clusterapi.services.ConfluentCloudApiService;
-import io.aiven.klaw.clusterapi.services.UtilComponentsService;
+import io.aiven.klaw.clusterapi.services.PartitionHealthService;
 import jakarta.validation.Valid;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import lombok.AllArgsConstructor;
@@ -37,7 +42,7 @@ import org.springframework.web.bind.annotation.RestController;
 @AllArgsConstructor
 public class ClusterApiController {
 
-  UtilComponentsService utilComponentsService;
+  ClusterHealthService clusterHealthService;
 
   ApacheKafkaAclService apacheKafkaAclService;
 
@@ -47,6 +52,8 @@ public class ClusterApiController {
 
   ConfluentCloudApiService confluentCloudApiService;
 
+  PartitionHealthService partitionHealthService;
+
   @RequestMapping(
       value = "/getApiStatus",
       method = RequestMethod.GET,
@@ -75,7 +82,7 @@ public class ClusterApiController {
       @PathVariable String clusterType,
       @PathVariable String kafkaFlavor) {
     return new ResponseEntity<>(
-        utilComponentsService.getStatus(
+        clusterHealthService.getStatus(
             bootstrapServers, protocol, clusterName, clusterType, kafkaFlavor),
         HttpStatus.OK);
   }
@@ -89,17 +96,41 @@ public class ClusterApiController {
       @PathVariable String bootstrapServers,
       @Valid @PathVariable KafkaSupportedProtocol protocol,
       @PathVariable String clusterName,
-      @PathVariable String aclsNativeType)
+      @PathVariable String aclsNativeType,
+      TopicNameFilter topicNameFilter)
       throws Exception {
     Set<TopicConfig> topics;
     if (AclsNativeType.CONFLUENT_CLOUD.name().equals(aclsNativeType)) {
-      topics = confluentCloudApiService.listTopics(bootstrapServers, protocol, clusterName);
+      // the topics of Confluent Cloud are filtered after listing
+      topics =
+          new LinkedHashSet<>(
+              confluentCloudApiService.listTopics(bootstrapServers, protocol, clusterName));
+      topics.removeIf(topic -> !topicNameFilter.matches(topic.getTopicName()));
     } else {
-      topics = apacheKafkaTopicService.loadTopics(bootstrapServers, protocol, clusterName);
+      topics =
+          apacheKafkaTopicService.loadTopics(
+              bootstrapServers, protocol, clusterName, topicNameFilter);
     }
     return new ResponseEntity<>(topics, HttpStatus.OK);
   }
 
+  @RequestMapping(
+      value =
+          "/getPartitionHealth/{bootstrapServers}/{protocol}/{clusterName}/epoch/{epoch}/sinceVersion/{sinceVersion}",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<PartitionHealthChanges> getPartitionHealth(
+      @PathVariable String bootstrapServers,
+      @Valid @PathVariable KafkaSupportedProtocol protocol,
+      @PathVariable String clusterName,
+      @PathVariable long epoch,
+      @PathVariable long sinceVersion) {
+    return new ResponseEntity<>(
+        partitionHealthService.getPartitionHealthChanges(
+            bootstrapServers, protocol, clusterName, epoch, sinceVersion),
+        HttpStatus.OK);
+  }
+
   @RequestMapping(
       value =
           "/getAcls/{bootstrapServers}/{aclsNativeType}/{protocol}/{clusterName}/{projectName}/{serviceName}",
@@ -111,15 +142,22 @@ public class ClusterApiController {
       @PathVariable String clusterName,
       @PathVariable String aclsNativeType,
       @PathVariable String projectName,
-      @PathVariable String serviceName)
+      @PathVariable String serviceName,
+      AclResourceFilter aclResourceFilter)
       throws Exception {
     Set<Map<String, String>> acls;
     if (AclsNativeType.NATIVE.name().equals(aclsNativeType)) {
-      acls = apacheKafkaAclService.loadAcls(bootstrapServers, protocol, clusterName);
-    } else if (AclsNativeType.CONFLUENT_CLOUD.name().equals(aclsNativeType)) {
-      acls = confluentCloudApiService.listAcls(bootstrapServers, protocol, clusterName);
+      acls =
+          apacheKafkaAclService.loadAcls(
+              bootstrapServers, protocol, clusterName, aclResourceFilter);
     } else {
-      acls = aivenApiService.listAcls(projectName, serviceName);
+      // the acls of Confluent Cloud and Aiven are filtered after listing
+      acls =
+          new LinkedHashSet<>(
+              AclsNativeType.CONFLUENT_CLOUD.name().equals(aclsNativeType)
+                  ? confluentCloudApiService.listAcls(bootstrapServers, protocol, clusterName)
+                  : aivenApiService.listAcls(projectName, serviceName));
+      acls.removeIf(acl -> !aclResourceFilter.matches(acl));
     }
     return new ResponseEntity<>(acls, HttpStatus.OK);
   }
@@ -1,12 +1,14 @@
 package io.aiven.klaw.clusterapi.controller;
 
 import io.aiven.klaw.clusterapi.models.ApiResponse;
+import io.aiven.klaw.clusterapi.models.consumergroup.ConsumerGroupLag;
 import io.aiven.klaw.clusterapi.models.consumergroup.OffsetDetails;
 import io.aiven.klaw.clusterapi.models.consumergroup.ResetConsumerGroupOffsetsRequest;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.services.ConsumerGroupService;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -77,4 +79,27 @@ public class ConsumerGroupsController {
 
     return new ResponseEntity<>(consumerOffsetDetails, HttpStatus.OK);
   }
+
+  /**
+   * @param bootstrapServers env param
+   * @param protocol ssl or plaintext protocol
+   * @param clusterIdentification cluster id
+   * @param consumerGroups consumer groups
+   * @return lag of the consumer groups on every topic they committed offsets for
+   * @throws Exception any exception while retrieving offsets
+   */
+  @PostMapping(
+      value = "/consumerGroupLag/{bootstrapServers}/{protocol}/{clusterIdentification}",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<List<ConsumerGroupLag>> getConsumerGroupLag(
+      @PathVariable String bootstrapServers,
+      @Valid @PathVariable KafkaSupportedProtocol protocol,
+      @PathVariable String clusterIdentification,
+      @RequestBody Set<String> consumerGroups)
+      throws Exception {
+    return new ResponseEntity<>(
+        consumerGroupService.getConsumerGroupLag(
+            bootstrapServers, protocol, clusterIdentification, consumerGroups),
+        HttpStatus.OK);
+  }
 }
@@ -2,6 +2,7 @@ package io.aiven.klaw.clusterapi.controller;
 
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterConnectorRequest;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorConfig;
 import io.aiven.klaw.clusterapi.models.connect.ConnectorsStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.services.KafkaConnectService;
@@ -58,6 +59,43 @@ public class KafkaConnectController {
         HttpStatus.OK);
   }
 
+  @RequestMapping(
+      value =
+          "/getConnectorConfig/{connectorName}/{kafkaConnectHost}/{protocol}/{clusterIdentification}",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<ConnectorConfig> getConnectorConfig(
+      @PathVariable String connectorName,
+      @PathVariable String kafkaConnectHost,
+      @Valid @PathVariable KafkaSupportedProtocol protocol,
+      @PathVariable String clusterIdentification) {
+    return new ResponseEntity<>(
+        kafkaConnectService.getConnectorConfig(
+            connectorName, kafkaConnectHost, protocol, clusterIdentification),
+        HttpStatus.OK);
+  }
+
+  @PostMapping(
+      value = "/connector/configDiff",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<ApiResponse> getConnectorConfigDiff(
+      @RequestBody @Valid ClusterConnectorRequest clusterConnectorRequest) {
+    try {
+      return new ResponseEntity<>(
+          ApiResponse.builder()
+              .success(true)
+              .data(kafkaConnectService.getConnectorConfigDiff(clusterConnectorRequest))
+              .build(),
+          HttpStatus.OK);
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(ApiResponse.notOk(e.getMessage()), HttpStatus.BAD_REQUEST);
+    } catch (Exception e) {
+      log.error("Unable to compare config of {}", clusterConnectorRequest.getConnectorName(), e);
+      return new ResponseEntity<>(
+          ApiResponse.notOk(e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
   @PostMapping(value = "/postConnector")
   public ResponseEntity<ApiResponse> postConnector(
       @RequestBody @Valid ClusterConnectorRequest clusterConnectorRequest) {
@@ -1,9 +1,18 @@
 package io.aiven.klaw.clusterapi.controller;
 
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.metrics.MetricsSample;
+import io.aiven.klaw.clusterapi.models.metrics.TopicMetrics;
+import io.aiven.klaw.clusterapi.models.storage.StorageReport;
 import io.aiven.klaw.clusterapi.services.MetricsApiService;
+import io.aiven.klaw.clusterapi.services.StorageReportService;
+import io.aiven.klaw.clusterapi.services.TopicMetricsService;
+import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +25,10 @@ public class MetricsApiController {
   public static final String JMX_HOST = "localhost:9996";
   @Autowired MetricsApiService metricsApiService;
 
+  @Autowired TopicMetricsService topicMetricsService;
+
+  @Autowired StorageReportService storageReportService;
+
   @PostMapping(value = "/getMetrics")
   public ResponseEntity<Map<String, String>> getMetrics(
       @RequestBody MultiValueMap<String, String> metricsRequest) throws Exception {
@@ -24,4 +37,51 @@ public class MetricsApiController {
     return new ResponseEntity<>(
         metricsApiService.getMetrics(jmxUrl, metricsObjectName), HttpStatus.OK);
   }
+
+  @RequestMapping(
+      value =
+          "/getClusterMetrics/{bootstrapServers}/{protocol}/{clusterIdentification}/jmxPort/{jmxPort}",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<List<MetricsSample>> getClusterMetrics(
+      @PathVariable String bootstrapServers,
+      @Valid @PathVariable KafkaSupportedProtocol protocol,
+      @PathVariable String clusterIdentification,
+      @PathVariable int jmxPort)
+      throws Exception {
+    return new ResponseEntity<>(
+        metricsApiService.getClusterMetrics(
+            bootstrapServers, protocol, clusterIdentification, jmxPort),
+        HttpStatus.OK);
+  }
+
+  @RequestMapping(
+      value =
+          "/getTopicMetrics/{bootstrapServers}/{protocol}/{clusterIdentification}/topic/{topicName}",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<TopicMetrics> getTopicMetrics(
+      @PathVariable String bootstrapServers,
+      @Valid @PathVariable KafkaSupportedProtocol protocol,
+      @PathVariable String clusterIdentification,
+      @PathVariable String topicName) {
+    return new ResponseEntity<>(
+        topicMetricsService.getTopicMetrics(
+            bootstrapServers, protocol, clusterIdentification, topicName),
+        HttpStatus.OK);
+  }
+
+  @RequestMapping(
+      value = "/getStorageReport/{bootstrapServers}/{protocol}/{clusterIdentification}",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<StorageReport> getStorageReport(
+      @PathVariable String bootstrapServers,
+      @Valid @PathVariable KafkaSupportedProtocol protocol,
+      @PathVariable String clusterIdentification)
+      throws Exception {
+    return new ResponseEntity<>(
+        storageReportService.getStorageReport(bootstrapServers, protocol, clusterIdentification),
+        HttpStatus.OK);
+  }
 }
@@ -0,0 +1,36 @@
+package io.aiven.klaw.clusterapi.controller;
+
+import io.aiven.klaw.clusterapi.models.multicluster.ClusterQueryResult;
+import io.aiven.klaw.clusterapi.models.multicluster.MultiClusterQueryRequest;
+import io.aiven.klaw.clusterapi.services.MultiClusterQueryService;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/multiCluster")
+@AllArgsConstructor
+public class MultiClusterQueryController {
+
+  private final MultiClusterQueryService multiClusterQueryService;
+
+  /*
+  Queries of several clusters are run concurrently, the results are returned in the order of the
+  queries with the status of each query, also when some clusters failed.
+   */
+  @PostMapping(
+      value = "/query",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<List<ClusterQueryResult>> query(
+      @RequestBody @Valid MultiClusterQueryRequest multiClusterQueryRequest) {
+    return new ResponseEntity<>(
+        multiClusterQueryService.query(multiClusterQueryRequest.getQueries()), HttpStatus.OK);
+  }
+}
@@ -3,11 +3,13 @@ package io.aiven.klaw.clusterapi.controller;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterSchemaRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
+import io.aiven.klaw.clusterapi.models.SchemaInfoCacheStats;
 import io.aiven.klaw.clusterapi.models.SchemasInfoOfClusterResponse;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.models.enums.SchemaCacheUpdateType;
 import io.aiven.klaw.clusterapi.services.SchemaService;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -91,6 +93,20 @@ public class SchemaRegistryController {
     }
   }
 
+  /** Register schemas of several subjects, see postSchema. Results are in the order of requests. */
+  @PostMapping(
+      value = "/postSchemas",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<ApiResponse> postSchemas(
+      @RequestBody @Valid List<ClusterSchemaRequest> clusterSchemaRequests) {
+    try {
+      return new ResponseEntity<>(
+          schemaService.registerSchemas(clusterSchemaRequests), HttpStatus.OK);
+    } catch (Exception e) {
+      return handleException(e);
+    }
+  }
+
   /** Delete the subject, all versions of schema on schema registry. */
   @PostMapping(
       value = "/schema/delete",
@@ -117,6 +133,15 @@ public class SchemaRegistryController {
     }
   }
 
+  /** Hit, miss and refresh statistics of the schema info cache */
+  @RequestMapping(
+      value = "/schema/cacheStats",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<SchemaInfoCacheStats> getSchemaInfoCacheStats() {
+    return new ResponseEntity<>(schemaService.getSchemaInfoCacheStats(), HttpStatus.OK);
+  }
+
   @PostMapping(
       value = "/schema/validate/compatibility",
       produces = {MediaType.APPLICATION_JSON_VALUE})
@@ -1,13 +1,21 @@
 package io.aiven.klaw.clusterapi.controller;
 
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.topiccontents.TopicContentRecord;
+import io.aiven.klaw.clusterapi.models.topiccontents.TopicContentsSearchRequest;
 import io.aiven.klaw.clusterapi.services.TopicContentsService;
+import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
@@ -46,4 +54,34 @@ public class TopicContentsController {
 
     return new ResponseEntity<>(events, HttpStatus.OK);
   }
+
+  /**
+   * Search topic contents by time window and key/value filters, across all partitions
+   *
+   * @param bootstrapServers environment param
+   * @param protocol SSL or plaintext
+   * @param clusterIdentification cluster id
+   * @param searchRequest topic name, time window, filters and maximum number of results
+   * @return matching records ordered by timestamp, or service unavailable when the search executor
+   *     has no capacity left
+   * @throws Exception any exception while searching the topic
+   */
+  @PostMapping(
+      value = "/searchTopicContents/{bootstrapServers}/{protocol}/{clusterIdentification}",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<List<TopicContentRecord>> searchTopicContents(
+      @PathVariable String bootstrapServers,
+      @Valid @PathVariable KafkaSupportedProtocol protocol,
+      @PathVariable String clusterIdentification,
+      @RequestBody @Valid TopicContentsSearchRequest searchRequest)
+      throws Exception {
+    try {
+      return new ResponseEntity<>(
+          topicContentsService.searchEvents(
+              bootstrapServers, protocol, clusterIdentification, searchRequest),
+          HttpStatus.OK);
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+  }
 }
@@ -0,0 +1,70 @@
+package io.aiven.klaw.clusterapi.models;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.kafka.common.acl.AccessControlEntryFilter;
+import org.apache.kafka.common.acl.AclBindingFilter;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourcePatternFilter;
+import org.apache.kafka.common.resource.ResourceType;
+
+/**
+ * Acls to list from a cluster, by the type and the exact name of their resource, which Kafka
+ * clusters filter on, and by a regex on the resource name, which is applied to the acls returned.
+ */
+@Data
+@NoArgsConstructor
+public class AclResourceFilter {
+  private String resourceType;
+
+  private String resourceName;
+
+  private String resourceNameRegex;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private Pattern resourceNamePattern;
+
+  public void setResourceType(String resourceType) {
+    this.resourceType = resourceType == null || resourceType.isEmpty() ? null : resourceType;
+  }
+
+  public void setResourceName(String resourceName) {
+    this.resourceName = resourceName == null || resourceName.isEmpty() ? null : resourceName;
+  }
+
+  public void setResourceNameRegex(String resourceNameRegex) {
+    this.resourceNameRegex = resourceNameRegex;
+    this.resourceNamePattern =
+        resourceNameRegex == null || resourceNameRegex.isEmpty()
+            ? null
+            : Pattern.compile(resourceNameRegex);
+  }
+
+  /** The acls of Kafka clusters, only literal acls are listed by Klaw. */
+  public AclBindingFilter toAclBindingFilter() {
+    if (resourceType == null && resourceName == null) {
+      return AclBindingFilter.ANY;
+    }
+    return new AclBindingFilter(
+        new ResourcePatternFilter(
+            resourceType == null ? ResourceType.ANY : ResourceType.fromString(resourceType),
+            resourceName,
+            PatternType.LITERAL),
+        AccessControlEntryFilter.ANY);
+  }
+
+  /** Matches the acls listed by {@link io.aiven.klaw.clusterapi.services.ApacheKafkaAclService}. */
+  public boolean matches(Map<String, String> acl) {
+    return (resourceType == null || resourceType.equalsIgnoreCase(acl.get("resourceType")))
+        && (resourceName == null || resourceName.equals(acl.get("resourceName")))
+        && (resourceNamePattern == null
+            || (acl.get("resourceName") != null
+                && resourceNamePattern.matcher(acl.get("resourceName")).matches()));
+  }
+}
@@ -0,0 +1,25 @@
+package io.aiven.klaw.clusterapi.models;
+
+import java.io.Serializable;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SchemaInfoCacheStats implements Serializable {
+  private long size;
+  private long hitCount;
+  private long missCount;
+  private double hitRate;
+  private long loadSuccessCount;
+  private long loadExceptionCount;
+  private long evictionCount;
+
+  // clusterIdentification -> epoch millis of the last completed (re)load
+  private Map<String, Long> lastRefreshedTimes;
+}
@@ -0,0 +1,58 @@
+package io.aiven.klaw.clusterapi.models;
+
+import io.aiven.klaw.clusterapi.utils.BoundedCharSequence;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Topics to list from a cluster, by exact names, a name prefix and a name regex. All given filters
+ * apply, without filters all topics are listed. As the regex comes from the request, it is bounded
+ * in length and in the characters it may read per topic name.
+ */
+@Data
+@NoArgsConstructor
+public class TopicNameFilter {
+  static final int MAX_TOPIC_NAME_REGEX_LENGTH = 256;
+
+  // topic names are at most 249 characters, this leaves room for reasonable backtracking
+  static final long MAX_TOPIC_NAME_REGEX_READS = 10_000;
+
+  private Set<String> topicNames;
+
+  private String topicNamePrefix;
+
+  private String topicNameRegex;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private Pattern topicNamePattern;
+
+  public void setTopicNameRegex(String topicNameRegex) {
+    if (topicNameRegex != null && topicNameRegex.length() > MAX_TOPIC_NAME_REGEX_LENGTH) {
+      throw new IllegalArgumentException(
+          "Topic name regex is longer than " + MAX_TOPIC_NAME_REGEX_LENGTH + " characters.");
+    }
+    this.topicNameRegex = topicNameRegex;
+    this.topicNamePattern =
+        topicNameRegex == null || topicNameRegex.isEmpty() ? null : Pattern.compile(topicNameRegex);
+  }
+
+  public boolean hasTopicNames() {
+    return topicNames != null && !topicNames.isEmpty();
+  }
+
+  public boolean matches(String topicName) {
+    return (!hasTopicNames() || topicNames.contains(topicName))
+        && (topicNamePrefix == null || topicName.startsWith(topicNamePrefix))
+        && (topicNamePattern == null
+            || topicNamePattern
+                .matcher(
+                    new BoundedCharSequence(topicName, MAX_TOPIC_NAME_REGEX_READS, topicNameRegex))
+                .matches());
+  }
+}
@@ -0,0 +1,22 @@
+package io.aiven.klaw.clusterapi.models.connect;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Config of a connector as running on the cluster, with the values of sensitive fields masked. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectorConfig {
+  private String connectorName;
+
+  /**
+   * Hash of the masked config, changes whenever a key or a non-sensitive value changes. Changes of
+   * sensitive values are not reflected.
+   */
+  private String configVersion;
+
+  private Map<String, String> config;
+}
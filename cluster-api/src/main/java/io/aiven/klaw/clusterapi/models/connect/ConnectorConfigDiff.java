@@ -0,0 +1,16 @@
+package io.aiven.klaw.clusterapi.models.connect;
+
+import java.util.List;
+import lombok.Data;
+
+/** Differences between the connector config stored in Klaw and the one running on the cluster. */
+@Data
+public class ConnectorConfigDiff {
+  private String connectorName;
+
+  private String configVersion;
+
+  private boolean inSync;
+
+  private List<ConnectorConfigDiffEntry> differences;
+}
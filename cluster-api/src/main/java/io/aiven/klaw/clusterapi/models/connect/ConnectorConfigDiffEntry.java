@@ -0,0 +1,20 @@
+package io.aiven.klaw.clusterapi.models.connect;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One differing key of a connector config. The stored value is null for keys only set on the
+ * cluster, the live value for keys only set in Klaw. Values of sensitive fields are masked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectorConfigDiffEntry {
+  private String key;
+
+  private String storedValue;
+
+  private String liveValue;
+}
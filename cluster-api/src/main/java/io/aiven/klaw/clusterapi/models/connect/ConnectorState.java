@@ -8,4 +8,5 @@ public class ConnectorState {
   private String connectorStatus;
   private long runningTasks;
   private long failedTasks;
+  private String configVersion;
 }
@@ -0,0 +1,10 @@
+package io.aiven.klaw.clusterapi.models.connect;
+
+import lombok.Data;
+
+/** One entry of the response of /connectors?expand=status&expand=info */
+@Data
+public class ConnectorStatusAndInfo {
+  private Status status;
+  private Info info;
+}
@@ -1,10 +1,13 @@
 package io.aiven.klaw.clusterapi.models.connect;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
 
+@Data
 public class Info {
   public String name;
-  public Config config;
-  public ArrayList<Task> tasks;
+  public Map<String, String> config;
+  public List<Task> tasks;
   public String type;
 }
@@ -0,0 +1,15 @@
+package io.aiven.klaw.clusterapi.models.enums;
+
+public enum ClusterQueryStatus {
+  SUCCESS("SUCCESS"),
+  FAILED("FAILED"),
+  TIMED_OUT("TIMED_OUT"),
+  // the cluster had too many requests in flight, or cluster api too many queries
+  REJECTED("REJECTED");
+
+  public final String value;
+
+  ClusterQueryStatus(String value) {
+    this.value = value;
+  }
+}
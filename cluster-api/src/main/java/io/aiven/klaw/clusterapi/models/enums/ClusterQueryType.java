@@ -0,0 +1,13 @@
+package io.aiven.klaw.clusterapi.models.enums;
+
+public enum ClusterQueryType {
+  TOPICS("TOPICS"),
+  ACLS("ACLS"),
+  TOPIC_METRICS("TOPIC_METRICS");
+
+  public final String value;
+
+  ClusterQueryType(String value) {
+    this.value = value;
+  }
+}
@@ -7,4 +7,6 @@ public class ClusterApiErrorMessages {
   public static final String CLUSTER_API_ERR_2 = "Unable to update Connector on Cluster";
 
   public static final String CLUSTER_API_ERR_3 = "Unable To Delete Connector on Cluster.";
+
+  public static final String CLUSTER_API_ERR_4 = "Stored Connector config is not a json object.";
 }
@@ -0,0 +1,30 @@
+package io.aiven.klaw.clusterapi.models.health;
+
+import io.aiven.klaw.clusterapi.models.enums.ClusterStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status of a cluster as of its last check. The last error is kept after the cluster recovered, so
+ * flapping clusters can be told apart from clusters which never failed.
+ */
+@Data
+@NoArgsConstructor
+public class ClusterHealth {
+  private String clusterType;
+
+  private String bootstrapServers;
+
+  private String clusterIdentification;
+
+  private ClusterStatus status;
+
+  // duration of the last check
+  private long latencyMs;
+
+  private long checkedAtMs;
+
+  private String lastError;
+
+  private Long lastErrorAtMs;
+}
@@ -0,0 +1,20 @@
+package io.aiven.klaw.clusterapi.models.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One-minute rate of a broker topic metric, summed over all brokers of a cluster. The topic name is
+ * null for the total over all topics.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsSample {
+  private String metricName;
+
+  private String topicName;
+
+  private double value;
+}
@@ -0,0 +1,26 @@
+package io.aiven.klaw.clusterapi.models.metrics;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Throughput and size of a topic as of the last sample of its cluster. Rates are null until the
+ * cluster was sampled twice, and all values are null while it was not sampled yet.
+ */
+@Data
+@NoArgsConstructor
+public class TopicMetrics {
+  private String topicName;
+
+  private Double messagesInPerSec;
+
+  private Double bytesInPerSec;
+
+  // size of one copy of the topic, the largest replica of each partition
+  private Long sizeBytes;
+
+  // size of all replicas of the topic on all brokers
+  private Long replicatedSizeBytes;
+
+  private Long sampledAtMs;
+}
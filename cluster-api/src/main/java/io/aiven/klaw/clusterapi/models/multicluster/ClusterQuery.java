@@ -0,0 +1,49 @@
+package io.aiven.klaw.clusterapi.models.multicluster;
+
+import io.aiven.klaw.clusterapi.models.AclResourceFilter;
+import io.aiven.klaw.clusterapi.models.TopicNameFilter;
+import io.aiven.klaw.clusterapi.models.enums.AclsNativeType;
+import io.aiven.klaw.clusterapi.models.enums.ClusterQueryType;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A query of one Kafka cluster within a multi cluster request. The query id is chosen by the caller
+ * and returned with the result, the filters and the topic name apply to the query type which uses
+ * them.
+ */
+@Data
+@NoArgsConstructor
+public class ClusterQuery {
+  private String queryId;
+
+  @NotNull private String bootstrapServers;
+
+  @NotNull private KafkaSupportedProtocol protocol;
+
+  @NotNull private String clusterIdentification;
+
+  @NotNull private ClusterQueryType queryType;
+
+  // the flavor of the cluster, NATIVE when not set
+  private AclsNativeType aclsNativeType;
+
+  // AIVEN
+  private String projectName;
+
+  private String serviceName;
+
+  // TOPICS
+  private TopicNameFilter topicNameFilter;
+
+  // ACLS
+  private AclResourceFilter aclResourceFilter;
+
+  // TOPIC_METRICS
+  private String topicName;
+
+  // overrides the default timeout of the cluster api
+  private Long timeoutMs;
+}
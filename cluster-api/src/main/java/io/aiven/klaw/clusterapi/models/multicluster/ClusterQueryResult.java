@@ -0,0 +1,30 @@
+package io.aiven.klaw.clusterapi.models.multicluster;
+
+import io.aiven.klaw.clusterapi.models.TopicConfig;
+import io.aiven.klaw.clusterapi.models.enums.ClusterQueryStatus;
+import io.aiven.klaw.clusterapi.models.metrics.TopicMetrics;
+import java.util.Map;
+import java.util.Set;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Result of a {@link ClusterQuery}, only the field of the query type is set on success. */
+@Data
+@NoArgsConstructor
+public class ClusterQueryResult {
+  private String queryId;
+
+  private String clusterIdentification;
+
+  private ClusterQueryStatus status;
+
+  private String error;
+
+  private long durationMs;
+
+  private Set<TopicConfig> topics;
+
+  private Set<Map<String, String>> acls;
+
+  private TopicMetrics topicMetrics;
+}
@@ -0,0 +1,19 @@
+package io.aiven.klaw.clusterapi.models.multicluster;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class MultiClusterQueryRequest {
+  public static final int MAX_QUERIES = 64;
+
+  @NotEmpty
+  @Size(max = MAX_QUERIES)
+  @Valid
+  private List<ClusterQuery> queries;
+}
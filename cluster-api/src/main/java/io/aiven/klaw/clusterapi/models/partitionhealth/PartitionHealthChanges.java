@@ -0,0 +1,24 @@
+package io.aiven.klaw.clusterapi.models.partitionhealth;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Topics whose partition health changed since the version a client last saw. A full snapshot lists
+ * all unhealthy topics instead, and replaces everything the client knew of the cluster. Version 0
+ * means the cluster was not scanned yet.
+ */
+@Data
+@NoArgsConstructor
+public class PartitionHealthChanges {
+  // identifies the scan history the versions belong to, it changes when cluster api restarts
+  private long epoch;
+
+  private long version;
+
+  private boolean fullSnapshot;
+
+  private List<TopicPartitionHealth> changedTopics = new ArrayList<>();
+}
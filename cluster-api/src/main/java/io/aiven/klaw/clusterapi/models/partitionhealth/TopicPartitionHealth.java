@@ -0,0 +1,31 @@
+package io.aiven.klaw.clusterapi.models.partitionhealth;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Partition counts of a topic per health problem, all zero once the topic is healthy again. */
+@Data
+@NoArgsConstructor
+public class TopicPartitionHealth {
+  private String topicName;
+
+  private int partitions;
+
+  // fewer in sync replicas than replicas
+  private int underReplicated;
+
+  // fewer in sync replicas than min.insync.replicas, producers with acks=all are rejected
+  private int underMinIsr;
+
+  // no leader
+  private int offline;
+
+  // led by another broker than the preferred, first replica
+  private int leaderSkewed;
+
+  @JsonIgnore
+  public boolean isHealthy() {
+    return underReplicated == 0 && underMinIsr == 0 && offline == 0 && leaderSkewed == 0;
+  }
+}
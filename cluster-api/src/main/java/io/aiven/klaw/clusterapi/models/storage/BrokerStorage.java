@@ -0,0 +1,23 @@
+package io.aiven.klaw.clusterapi.models.storage;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Disk usage of the log dirs of a broker. */
+@Data
+@NoArgsConstructor
+public class BrokerStorage {
+  private int brokerId;
+
+  private String host;
+
+  private int logDirs;
+
+  // size of all replicas on the broker, including copies being moved between log dirs
+  private long sizeBytes;
+
+  // capacity and free space of the log dir volumes, null for brokers older than Kafka 3.3
+  private Long totalBytes;
+
+  private Long usableBytes;
+}
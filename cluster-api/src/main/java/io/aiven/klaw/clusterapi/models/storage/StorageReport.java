@@ -0,0 +1,17 @@
+package io.aiven.klaw.clusterapi.models.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Disk usage of a cluster per broker and per topic, as of the time it was generated. */
+@Data
+@NoArgsConstructor
+public class StorageReport {
+  private List<BrokerStorage> brokers = new ArrayList<>();
+
+  private List<TopicStorage> topics = new ArrayList<>();
+
+  private long generatedAtMs;
+}
@@ -0,0 +1,15 @@
+package io.aiven.klaw.clusterapi.models.storage;
+
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class StorageReportCacheKey {
+  private final String bootstrapServers;
+  private final KafkaSupportedProtocol protocol;
+  private final String clusterIdentification;
+}
@@ -0,0 +1,19 @@
+package io.aiven.klaw.clusterapi.models.storage;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Disk usage of a topic on all brokers of a cluster. */
+@Data
+@NoArgsConstructor
+public class TopicStorage {
+  private String topicName;
+
+  private int partitions;
+
+  // size of one copy of the topic, the largest replica of each partition
+  private long sizeBytes;
+
+  // size of all replicas of the topic on all brokers
+  private long replicatedSizeBytes;
+}
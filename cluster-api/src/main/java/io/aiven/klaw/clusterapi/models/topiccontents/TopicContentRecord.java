@@ -0,0 +1,23 @@
+package io.aiven.klaw.clusterapi.models.topiccontents;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TopicContentRecord implements Serializable {
+  private int partition;
+
+  private long offset;
+
+  private long timestamp;
+
+  private String key;
+
+  private String value;
+}
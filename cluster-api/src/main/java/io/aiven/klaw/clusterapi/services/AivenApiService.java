@@ -1,12 +1,19 @@
 package io.aiven.klaw.clusterapi.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.aiven.klaw.clusterapi.config.SslContextConfig;
 import io.aiven.klaw.clusterapi.models.AivenAclResponse;
 import io.aiven.klaw.clusterapi.models.AivenAclStruct;
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
 import io.aiven.klaw.clusterapi.models.ServiceAccountDetails;
 import io.aiven.klaw.clusterapi.models.enums.AclAttributes;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
+import io.aiven.klaw.clusterapi.utils.AivenApiRateLimiter;
+import io.aiven.klaw.clusterapi.utils.ClusterCallMetrics;
+import io.aiven.klaw.clusterapi.utils.HttpRetryPolicy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -16,7 +23,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
@@ -24,6 +35,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
@@ -42,6 +54,16 @@ public class AivenApiService {
 
   private HttpHeaders httpHeaders;
 
+  private final HttpRetryPolicy httpRetryPolicy;
+
+  private final AivenApiRateLimiter aivenApiRateLimiter;
+
+  private final ClusterCallMetrics clusterCallMetrics;
+
+  // whether a service account exists, concurrent lookups of the same account share one call to the
+  // api. Passwords are never cached.
+  private final Cache<String, Boolean> serviceAccountsFound;
+
   @Value("${klaw.clusters.accesstoken:accesstoken}")
   private String clusterAccessToken;
 
@@ -63,6 +85,31 @@ public class AivenApiService {
   @Value("${klaw.clusters.aiven.servicedetails.api:api}")
   private String serviceDetailsApiEndpoint;
 
+  @Autowired
+  public AivenApiService(
+      SslContextConfig sslContextConfig,
+      HttpRetryPolicy httpRetryPolicy,
+      AivenApiRateLimiter aivenApiRateLimiter,
+      ClusterCallMetrics clusterCallMetrics,
+      @Value("${klaw.clusters.aiven.serviceaccount.cache.ttl.seconds:60}")
+          long serviceAccountCacheTtlSeconds) {
+    ClientHttpRequestFactory requestFactory = sslContextConfig.getPlainClientHttpRequestFactory();
+    this.httpRetryPolicy = httpRetryPolicy;
+    this.aivenApiRateLimiter = aivenApiRateLimiter;
+    this.clusterCallMetrics = clusterCallMetrics;
+    if (requestFactory != null) {
+      this.restTemplate = new RestTemplate(requestFactory);
+      this.restTemplate
+          .getInterceptors()
+          .add(clusterCallMetrics.httpInterceptor(ClusterCallMetrics.AIVEN));
+    }
+    this.serviceAccountsFound =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(serviceAccountCacheTtlSeconds, TimeUnit.SECONDS)
+            .maximumSize(10000)
+            .build();
+  }
+
   public Map<String, String> createAcls(ClusterAclRequest clusterAclRequest) {
     Map<String, String> resultMap = new HashMap<>();
     RestTemplate restTemplate = getRestTemplate();
@@ -81,7 +128,11 @@ public class AivenApiService {
     HttpEntity<Map<String, String>> request = new HttpEntity<>(permissionsMap, headers);
 
     try {
-      ResponseEntity<String> response = restTemplate.postForEntity(uri, request, String.class);
+      ResponseEntity<String> response =
+          executeOnThrottling(
+              projectName,
+              "Create acl",
+              () -> restTemplate.postForEntity(uri, request, String.class));
       AivenAclResponse aivenAclResponse =
           OBJECT_MAPPER.readValue(response.getBody(), AivenAclResponse.class);
       Optional<AivenAclStruct> aivenAclStructOptional =
@@ -117,8 +168,7 @@ public class AivenApiService {
           projectName,
           serviceName,
           clusterAclRequest.getTopicName());
-      if (!getServiceAccountDetails(projectName, serviceName, clusterAclRequest.getUsername())
-          .isAccountFound()) {
+      if (!serviceAccountExists(projectName, serviceName, clusterAclRequest.getUsername())) {
         createServiceAccount(clusterAclRequest, resultMap);
       } else {
         resultMap.put("result", ApiResultStatus.SUCCESS.value);
@@ -147,9 +197,15 @@ public class AivenApiService {
     requestMap.put(AclAttributes.USERNAME.value, clusterAclRequest.getUsername());
     HttpEntity<Map<String, String>> request = new HttpEntity<>(requestMap, headers);
     try {
-      ResponseEntity<String> response = getRestTemplate().postForEntity(uri, request, String.class);
+      ResponseEntity<String> response =
+          executeOnThrottling(
+              projectName,
+              "Create service account",
+              () -> getRestTemplate().postForEntity(uri, request, String.class));
       if (response.getStatusCode().equals(HttpStatus.OK)) {
         log.info("Service account created successfully {}", clusterAclRequest);
+        serviceAccountsFound.invalidate(
+            getServiceAccountKey(projectName, serviceName, clusterAclRequest.getUsername()));
         resultMap.put("result", ApiResultStatus.SUCCESS.value);
       } else {
         log.info("Service account creation failure {}", clusterAclRequest);
@@ -169,6 +225,30 @@ public class AivenApiService {
         projectName,
         serviceName,
         userName);
+    try {
+      return loadServiceAccountDetails(projectName, serviceName, userName);
+    } catch (Exception e) {
+      log.error("Exception:", e);
+      ServiceAccountDetails serviceAccountDetails = new ServiceAccountDetails();
+      serviceAccountDetails.setAccountFound(false);
+      return serviceAccountDetails;
+    }
+  }
+
+  private boolean serviceAccountExists(String projectName, String serviceName, String userName) {
+    try {
+      return serviceAccountsFound.get(
+          getServiceAccountKey(projectName, serviceName, userName),
+          () -> loadServiceAccountDetails(projectName, serviceName, userName).isAccountFound());
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      // failed lookups are not cached, the next lookup calls the api again
+      log.error("Exception:", e.getCause());
+      return false;
+    }
+  }
+
+  private ServiceAccountDetails loadServiceAccountDetails(
+      String projectName, String serviceName, String userName) {
     HttpHeaders headers = getHttpHeaders();
     String uri =
         getServiceAccountApiEndpoint
@@ -180,8 +260,16 @@ public class AivenApiService {
     serviceAccountDetails.setAccountFound(false);
     try {
       ResponseEntity<Map<String, Map<String, String>>> response =
-          getRestTemplate()
-              .exchange(uri, HttpMethod.GET, request, new ParameterizedTypeReference<>() {});
+          execute(
+              projectName,
+              "Get service account",
+              () ->
+                  getRestTemplate()
+                      .exchange(
+                          uri,
+                          HttpMethod.GET,
+                          request,
+                          new ParameterizedTypeReference<Map<String, Map<String, String>>>() {}));
       if (response.getStatusCode().equals(HttpStatus.OK)) {
         Map<String, Map<String, String>> responseMap = response.getBody();
         if (responseMap != null
@@ -198,8 +286,8 @@ public class AivenApiService {
           return serviceAccountDetails;
         }
       }
-    } catch (Exception e) {
-      log.error("Exception:", e);
+    } catch (HttpClientErrorException.NotFound e) {
+      log.debug("Service account {} not found", userName);
     }
     return serviceAccountDetails;
   }
@@ -216,8 +304,16 @@ public class AivenApiService {
     HttpEntity<Map<String, String>> request = new HttpEntity<>(headers);
     try {
       ResponseEntity<Map<String, Map<String, Object>>> response =
-          getRestTemplate()
-              .exchange(uri, HttpMethod.GET, request, new ParameterizedTypeReference<>() {});
+          execute(
+              projectName,
+              "Get service accounts",
+              () ->
+                  getRestTemplate()
+                      .exchange(
+                          uri,
+                          HttpMethod.GET,
+                          request,
+                          new ParameterizedTypeReference<Map<String, Map<String, Object>>>() {}));
       if (response.getStatusCode().equals(HttpStatus.OK)) {
         Map<String, Map<String, Object>> responseMap = response.getBody();
         if (responseMap != null && responseMap.containsKey("service")) {
@@ -252,7 +348,10 @@ public class AivenApiService {
 
       HttpHeaders headers = getHttpHeaders();
       HttpEntity<?> request = new HttpEntity<>(headers);
-      restTemplate.exchange(uri, HttpMethod.DELETE, request, Object.class);
+      execute(
+          projectName,
+          "Delete acl",
+          () -> restTemplate.exchange(uri, HttpMethod.DELETE, request, Object.class));
     } catch (Exception e) {
       log.error("Exception:", e);
       if (e instanceof HttpClientErrorException) {
@@ -279,8 +378,15 @@ public class AivenApiService {
 
     try {
       ResponseEntity<Map<String, List<Map<String, String>>>> responseEntity =
-          restTemplate.exchange(
-              uri, HttpMethod.GET, request, new ParameterizedTypeReference<>() {});
+          execute(
+              projectName,
+              "List acls",
+              () ->
+                  restTemplate.exchange(
+                      uri,
+                      HttpMethod.GET,
+                      request,
+                      new ParameterizedTypeReference<Map<String, List<Map<String, String>>>>() {}));
 
       List<Map<String, String>> aclsList =
           Objects.requireNonNull(responseEntity.getBody()).get("acl");
@@ -319,6 +425,34 @@ public class AivenApiService {
     }
   }
 
+  /**
+   * Every attempt waits for a token of the project, so retries of throttled calls are spread out
+   * with the other calls to the same project.
+   */
+  private <T> T execute(String projectName, String description, Supplier<T> call) {
+    return httpRetryPolicy.execute(description + " " + projectName, rateLimited(projectName, call));
+  }
+
+  /**
+   * For creations, which are only retried when the api did not accept them because of throttling.
+   */
+  private <T> T executeOnThrottling(String projectName, String description, Supplier<T> call) {
+    return httpRetryPolicy.executeOnThrottling(
+        description + " " + projectName, rateLimited(projectName, call));
+  }
+
+  private <T> Supplier<T> rateLimited(String projectName, Supplier<T> call) {
+    return () -> {
+      aivenApiRateLimiter.acquire(projectName);
+      return call.get();
+    };
+  }
+
+  private static String getServiceAccountKey(
+      String projectName, String serviceName, String userName) {
+    return String.join("|", projectName, serviceName, userName);
+  }
+
   private HttpHeaders getHttpHeaders() {
     if (this.httpHeaders == null) {
       this.httpHeaders = new HttpHeaders();
@@ -331,6 +465,9 @@ public class AivenApiService {
   private RestTemplate getRestTemplate() {
     if (this.restTemplate == null) {
       this.restTemplate = new RestTemplate();
+      this.restTemplate
+          .getInterceptors()
+          .add(clusterCallMetrics.httpInterceptor(ClusterCallMetrics.AIVEN));
     }
     return this.restTemplate;
   }
@@ -1,5 +1,6 @@
 package io.aiven.klaw.clusterapi.services;
 
+import io.aiven.klaw.clusterapi.models.AclResourceFilter;
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
 import io.aiven.klaw.clusterapi.models.enums.AclIPPrincipleType;
 import io.aiven.klaw.clusterapi.models.enums.AclPatternType;
@@ -17,7 +18,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.DescribeAclsResult;
 import org.apache.kafka.common.acl.AccessControlEntry;
 import org.apache.kafka.common.acl.AccessControlEntryFilter;
@@ -43,24 +44,35 @@ public class ApacheKafkaAclService {
     this.clusterApiUtils = clusterApiUtils;
   }
 
-  public synchronized Set<Map<String, String>> loadAcls(
+  public Set<Map<String, String>> loadAcls(
       String environment, KafkaSupportedProtocol protocol, String clusterName) throws Exception {
-    log.info("loadAcls {} {}", environment, protocol);
+    return loadAcls(environment, protocol, clusterName, new AclResourceFilter());
+  }
+
+  public Set<Map<String, String>> loadAcls(
+      String environment,
+      KafkaSupportedProtocol protocol,
+      String clusterName,
+      AclResourceFilter aclResourceFilter)
+      throws Exception {
+    log.info("loadAcls {} {} {}", environment, protocol, aclResourceFilter);
     Set<Map<String, String>> acls = new HashSet<>();
 
-    AdminClient client = clusterApiUtils.getAdminClient(environment, protocol, clusterName);
+    Admin client = clusterApiUtils.getAdminClient(environment, protocol, clusterName);
     if (client == null) {
       throw new Exception("Cannot connect to cluster.");
     }
 
     try {
-      AclBindingFilter aclBindingFilter = AclBindingFilter.ANY;
+      // the resource type and name are filtered by the brokers
+      AclBindingFilter aclBindingFilter = aclResourceFilter.toAclBindingFilter();
       DescribeAclsResult aclsResult = client.describeAcls(aclBindingFilter);
 
       aclsResult
           .values()
           .get(TIME_OUT_SECS_FOR_ACLS, TimeUnit.SECONDS)
           .forEach(aclBinding -> filterAndUpdateAclBindings(acls, aclBinding));
+      acls.removeIf(acl -> !aclResourceFilter.matches(acl));
     } catch (Exception e) {
       log.error("Exception: ", e);
     }
@@ -91,7 +103,7 @@ public class ApacheKafkaAclService {
 
   public synchronized String updateProducerAcl(ClusterAclRequest clusterAclRequest) {
     log.info("updateProducerAclRequest {}", clusterAclRequest);
-    AdminClient client;
+    Admin client;
     try {
       PatternType patternType;
       if (clusterAclRequest.isPrefixAcl()) {
@@ -171,7 +183,7 @@ public class ApacheKafkaAclService {
 
   private void processOtherRequests(
       ClusterAclRequest clusterAclRequest,
-      AdminClient client,
+      Admin client,
       PatternType patternType,
       String host,
       String principal)
@@ -196,7 +208,7 @@ public class ApacheKafkaAclService {
   }
 
   private boolean updateTopicProducerWriteAcls(
-      String topicName, AdminClient client, PatternType patternType, String host, String principal)
+      String topicName, Admin client, PatternType patternType, String host, String principal)
       throws InterruptedException, ExecutionException, TimeoutException {
     List<AclBinding> aclListArray = new ArrayList<>();
 
@@ -223,7 +235,7 @@ public class ApacheKafkaAclService {
     return false;
   }
 
-  private boolean aclExists(AdminClient client, AclBindingFilter aclBindingFilter) {
+  private boolean aclExists(Admin client, AclBindingFilter aclBindingFilter) {
     DescribeAclsResult aclsResult = client.describeAcls(aclBindingFilter);
     try {
       if (aclsResult.values().get(TIME_OUT_SECS_FOR_ACLS, TimeUnit.SECONDS).size() == 1) {
@@ -237,7 +249,7 @@ public class ApacheKafkaAclService {
 
   private void updateTransactionalIdAclsForProducer(
       String transactionalId,
-      AdminClient client,
+      Admin client,
       PatternType patternType,
       String host,
       String principal,
@@ -277,7 +289,7 @@ public class ApacheKafkaAclService {
 
   public synchronized String updateConsumerAcl(ClusterAclRequest clusterAclRequest) {
     log.info("updateConsumerAclRequest {} ", clusterAclRequest);
-    AdminClient client;
+    Admin client;
     String resultStr = "";
     try {
       PatternType patternType;
@@ -406,7 +418,7 @@ public class ApacheKafkaAclService {
 
   private String processOtherAclBindings(
       ClusterAclRequest clusterAclRequest,
-      AdminClient client,
+      Admin client,
       PatternType patternType,
       String host,
       String principal,
@@ -439,7 +451,7 @@ public class ApacheKafkaAclService {
 
   private String processAclBindings(
       ClusterAclRequest clusterAclRequest,
-      AdminClient client,
+      Admin client,
       PatternType patternType,
       String host,
       String principal,
@@ -3,6 +3,7 @@ package io.aiven.klaw.clusterapi.services;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.TopicConfig;
+import io.aiven.klaw.clusterapi.models.TopicNameFilter;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
@@ -18,7 +19,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.CreateTopicsResult;
@@ -30,7 +31,9 @@ import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -48,12 +51,20 @@ public class ApacheKafkaTopicService {
     this.schemaService = schemaService;
   }
 
-  public synchronized Set<TopicConfig> loadTopics(
+  public Set<TopicConfig> loadTopics(
       String environment, KafkaSupportedProtocol protocol, String clusterIdentification)
       throws Exception {
-    log.info("loadTopics {} {}", environment, protocol);
-    AdminClient client =
-        clusterApiUtils.getAdminClient(environment, protocol, clusterIdentification);
+    return loadTopics(environment, protocol, clusterIdentification, new TopicNameFilter());
+  }
+
+  public Set<TopicConfig> loadTopics(
+      String environment,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      TopicNameFilter topicNameFilter)
+      throws Exception {
+    log.info("loadTopics {} {} {}", environment, protocol, topicNameFilter);
+    Admin client = clusterApiUtils.getAdminClient(environment, protocol, clusterIdentification);
     Set<TopicConfig> topics = new HashSet<>();
     if (client == null) {
       throw new Exception("Cannot connect to cluster.");
@@ -61,7 +72,7 @@ public class ApacheKafkaTopicService {
 
     try {
       Map<String, TopicDescription> topicDescriptionsPerAdminClient =
-          loadTopicDescriptionsMap(client);
+          loadTopicDescriptionsMap(client, topicNameFilter);
 
       Set<String> keySet = topicDescriptionsPerAdminClient.keySet();
       keySet.remove("_schemas");
@@ -86,22 +97,51 @@ public class ApacheKafkaTopicService {
     return topics;
   }
 
-  private Map<String, TopicDescription> loadTopicDescriptionsMap(AdminClient client)
+  private Map<String, TopicDescription> loadTopicDescriptionsMap(
+      Admin client, TopicNameFilter topicNameFilter)
       throws InterruptedException, ExecutionException, TimeoutException {
-    ListTopicsOptions listTopicsOptions = new ListTopicsOptions();
-    listTopicsOptions = listTopicsOptions.listInternal(false);
+    Set<String> topicNames;
+    if (topicNameFilter.hasTopicNames()) {
+      // topics asked for by name are described without listing the cluster
+      topicNames = new HashSet<>(topicNameFilter.getTopicNames());
+    } else {
+      ListTopicsOptions listTopicsOptions = new ListTopicsOptions();
+      listTopicsOptions = listTopicsOptions.listInternal(false);
 
-    ListTopicsResult topicsResult = client.listTopics(listTopicsOptions);
-    DescribeTopicsResult describeTopicsResult =
-        client.describeTopics(new ArrayList<>(topicsResult.names().get()));
+      ListTopicsResult topicsResult = client.listTopics(listTopicsOptions);
+      topicNames = new HashSet<>(topicsResult.names().get());
+    }
+    topicNames.removeIf(topicName -> !topicNameFilter.matches(topicName));
+    if (topicNames.isEmpty()) {
+      return new HashMap<>();
+    }
+
+    DescribeTopicsResult describeTopicsResult = client.describeTopics(topicNames);
+    if (!topicNameFilter.hasTopicNames()) {
+      return describeTopicsResult.all().get(TIME_OUT_SECS_FOR_TOPICS, TimeUnit.SECONDS);
+    }
 
-    return describeTopicsResult.all().get(TIME_OUT_SECS_FOR_TOPICS, TimeUnit.SECONDS);
+    Map<String, TopicDescription> topicDescriptions = new HashMap<>();
+    for (Map.Entry<String, KafkaFuture<TopicDescription>> topicDescription :
+        describeTopicsResult.topicNameValues().entrySet()) {
+      try {
+        topicDescriptions.put(
+            topicDescription.getKey(),
+            topicDescription.getValue().get(TIME_OUT_SECS_FOR_TOPICS, TimeUnit.SECONDS));
+      } catch (ExecutionException e) {
+        // topics asked for which do not exist are not listed
+        if (!(e.getCause() instanceof UnknownTopicOrPartitionException)) {
+          throw e;
+        }
+      }
+    }
+    return topicDescriptions;
   }
 
   public synchronized ApiResponse createTopic(ClusterTopicRequest clusterTopicRequest)
       throws Exception {
     log.info("createTopic {}", clusterTopicRequest);
-    AdminClient client =
+    Admin client =
         clusterApiUtils.getAdminClient(
             clusterTopicRequest.getEnv(),
             clusterTopicRequest.getProtocol(),
@@ -163,7 +203,7 @@ public class ApacheKafkaTopicService {
 
   // check if topic exists with same configuration as request
   private boolean checkIfTopicExistsWithSameConfig(
-      ClusterTopicRequest clusterTopicRequest, AdminClient adminClient)
+      ClusterTopicRequest clusterTopicRequest, Admin adminClient)
       throws ExecutionException, InterruptedException, TimeoutException {
     DescribeTopicsResult describeTopicsResult =
         adminClient.describeTopics(Collections.singletonList(clusterTopicRequest.getTopicName()));
@@ -179,7 +219,7 @@ public class ApacheKafkaTopicService {
       throws Exception {
     log.info("updateTopic Name: {}", clusterTopicRequest);
 
-    AdminClient client =
+    Admin client =
         clusterApiUtils.getAdminClient(
             clusterTopicRequest.getEnv(),
             clusterTopicRequest.getProtocol(),
@@ -236,7 +276,7 @@ public class ApacheKafkaTopicService {
       throws Exception {
     log.info("deleteTopic Topic {}", clusterTopicRequest);
 
-    AdminClient client;
+    Admin client;
     try {
       client =
           clusterApiUtils.getAdminClient(
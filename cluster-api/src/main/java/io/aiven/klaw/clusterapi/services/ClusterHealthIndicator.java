@@ -0,0 +1,36 @@
+package io.aiven.klaw.clusterapi.services;
+
+import io.aiven.klaw.clusterapi.models.enums.ClusterStatus;
+import io.aiven.klaw.clusterapi.models.health.ClusterHealth;
+import java.util.List;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the last check of each cluster under the health endpoint, without contacting any of them.
+ * Clusters which are offline do not take cluster api itself down, they are listed in the details
+ * only.
+ */
+@Component
+public class ClusterHealthIndicator implements HealthIndicator {
+
+  private final ClusterHealthService clusterHealthService;
+
+  public ClusterHealthIndicator(ClusterHealthService clusterHealthService) {
+    this.clusterHealthService = clusterHealthService;
+  }
+
+  @Override
+  public Health health() {
+    List<ClusterHealth> clusterHealthList = clusterHealthService.getClusterHealth();
+    return Health.up()
+        .withDetail(
+            "offlineClusters",
+            clusterHealthList.stream()
+                .filter(clusterHealth -> clusterHealth.getStatus() != ClusterStatus.ONLINE)
+                .count())
+        .withDetail("clusters", clusterHealthList)
+        .build();
+  }
+}
@@ -0,0 +1,203 @@
+package io.aiven.klaw.clusterapi.services;
+
+import io.aiven.klaw.clusterapi.models.enums.ClusterStatus;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.health.ClusterHealth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Status of kafka, schema registry and kafka connect clusters, served from memory. A cluster is
+ * checked when its status is read for the first time, and from then on in the background, so status
+ * reads never wait on clusters which are slow or down. Clusters whose status is not read for the
+ * idle timeout are no longer checked.
+ */
+@Service
+@Slf4j
+public class ClusterHealthService {
+
+  private final UtilComponentsService utilComponentsService;
+
+  private final Executor clusterHealthExecutor;
+
+  private final long idleTimeoutMs;
+
+  private final Map<String, ClusterHealthCheck> clusterHealthCheckMap = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ClusterHealthService(
+      UtilComponentsService utilComponentsService,
+      @Qualifier("clusterHealthTaskExecutor") Executor clusterHealthExecutor,
+      @Value("${klaw.clusterhealth.idle.timeout.ms:3600000}") long idleTimeoutMs) {
+    this.utilComponentsService = utilComponentsService;
+    this.clusterHealthExecutor = clusterHealthExecutor;
+    this.idleTimeoutMs = idleTimeoutMs;
+  }
+
+  public ClusterStatus getStatus(
+      String bootstrapServers,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      String clusterType,
+      String kafkaFlavor) {
+    ClusterHealthCheck clusterHealthCheck =
+        clusterHealthCheckMap.computeIfAbsent(
+            String.join(
+                "/",
+                clusterType,
+                bootstrapServers,
+                protocol.getName(),
+                clusterIdentification,
+                kafkaFlavor),
+            key ->
+                new ClusterHealthCheck(
+                    bootstrapServers, protocol, clusterIdentification, clusterType, kafkaFlavor));
+    clusterHealthCheck.lastReadMs = System.currentTimeMillis();
+
+    ClusterHealth clusterHealth = clusterHealthCheck.clusterHealth;
+    if (clusterHealth == null) {
+      synchronized (clusterHealthCheck) {
+        // concurrent first reads of a cluster wait for a single check
+        if (clusterHealthCheck.clusterHealth == null) {
+          check(clusterHealthCheck);
+        }
+        clusterHealth = clusterHealthCheck.clusterHealth;
+      }
+    }
+    return clusterHealth.getStatus();
+  }
+
+  /** The last check of all clusters which are checked in the background. */
+  public List<ClusterHealth> getClusterHealth() {
+    return clusterHealthCheckMap.values().stream()
+        .map(clusterHealthCheck -> clusterHealthCheck.clusterHealth)
+        .filter(Objects::nonNull)
+        .sorted(
+            Comparator.comparing(ClusterHealth::getClusterType)
+                .thenComparing(ClusterHealth::getClusterIdentification))
+        .toList();
+  }
+
+  @Scheduled(
+      fixedDelayString = "${klaw.clusterhealth.check.interval.ms:30000}",
+      initialDelayString = "${klaw.clusterhealth.check.interval.ms:30000}")
+  public void checkClusterHealth() {
+    checkClusterHealth(System.currentTimeMillis());
+  }
+
+  void checkClusterHealth(long checkTimeMs) {
+    clusterHealthCheckMap.forEach(
+        (key, clusterHealthCheck) -> {
+          if (checkTimeMs - clusterHealthCheck.lastReadMs >= idleTimeoutMs) {
+            log.info("Stopped checking the health of idle cluster {}", key);
+            clusterHealthCheckMap.remove(key, clusterHealthCheck);
+          } else {
+            scheduleCheck(clusterHealthCheck);
+          }
+        });
+  }
+
+  private void scheduleCheck(ClusterHealthCheck clusterHealthCheck) {
+    // a cluster slower than the check interval skips checks instead of queueing them
+    if (!clusterHealthCheck.checking.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      clusterHealthExecutor.execute(
+          () -> {
+            try {
+              check(clusterHealthCheck);
+            } finally {
+              clusterHealthCheck.checking.set(false);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      clusterHealthCheck.checking.set(false);
+      log.warn("Checking the health of {} rejected", clusterHealthCheck.bootstrapServers);
+    }
+  }
+
+  private void check(ClusterHealthCheck clusterHealthCheck) {
+    long startMs = System.currentTimeMillis();
+    ClusterStatus status;
+    String error = null;
+    try {
+      status =
+          utilComponentsService.getStatus(
+              clusterHealthCheck.bootstrapServers,
+              clusterHealthCheck.protocol,
+              clusterHealthCheck.clusterIdentification,
+              clusterHealthCheck.clusterType,
+              clusterHealthCheck.kafkaFlavor);
+      if (status != ClusterStatus.ONLINE) {
+        error = "Cluster status is " + status.value;
+      }
+    } catch (Exception e) {
+      log.error("Error checking the health of {}", clusterHealthCheck.bootstrapServers, e);
+      status = ClusterStatus.OFFLINE;
+      error = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+    }
+    long checkedAtMs = System.currentTimeMillis();
+
+    ClusterHealth clusterHealth = new ClusterHealth();
+    clusterHealth.setClusterType(clusterHealthCheck.clusterType);
+    clusterHealth.setBootstrapServers(clusterHealthCheck.bootstrapServers);
+    clusterHealth.setClusterIdentification(clusterHealthCheck.clusterIdentification);
+    clusterHealth.setStatus(status);
+    clusterHealth.setLatencyMs(checkedAtMs - startMs);
+    clusterHealth.setCheckedAtMs(checkedAtMs);
+    ClusterHealth previousClusterHealth = clusterHealthCheck.clusterHealth;
+    if (error != null) {
+      clusterHealth.setLastError(error);
+      clusterHealth.setLastErrorAtMs(checkedAtMs);
+    } else if (previousClusterHealth != null) {
+      clusterHealth.setLastError(previousClusterHealth.getLastError());
+      clusterHealth.setLastErrorAtMs(previousClusterHealth.getLastErrorAtMs());
+    }
+    clusterHealthCheck.clusterHealth = clusterHealth;
+  }
+
+  private static class ClusterHealthCheck {
+
+    private final String bootstrapServers;
+
+    private final KafkaSupportedProtocol protocol;
+
+    private final String clusterIdentification;
+
+    private final String clusterType;
+
+    private final String kafkaFlavor;
+
+    private final AtomicBoolean checking = new AtomicBoolean();
+
+    private volatile long lastReadMs;
+
+    private volatile ClusterHealth clusterHealth;
+
+    ClusterHealthCheck(
+        String bootstrapServers,
+        KafkaSupportedProtocol protocol,
+        String clusterIdentification,
+        String clusterType,
+        String kafkaFlavor) {
+      this.bootstrapServers = bootstrapServers;
+      this.protocol = protocol;
+      this.clusterIdentification = clusterIdentification;
+      this.clusterType = clusterType;
+      this.kafkaFlavor = kafkaFlavor;
+    }
+  }
+}
@@ -9,6 +9,7 @@ import io.aiven.klaw.clusterapi.models.confluentcloud.AclObject;
 import io.aiven.klaw.clusterapi.models.confluentcloud.Config;
 import io.aiven.klaw.clusterapi.models.confluentcloud.ListAclsResponse;
 import io.aiven.klaw.clusterapi.models.confluentcloud.ListTopicsResponse;
+import io.aiven.klaw.clusterapi.models.confluentcloud.Metadata;
 import io.aiven.klaw.clusterapi.models.confluentcloud.TopicCreateRequest;
 import io.aiven.klaw.clusterapi.models.confluentcloud.TopicObject;
 import io.aiven.klaw.clusterapi.models.enums.AclIPPrincipleType;
@@ -19,6 +20,7 @@ import io.aiven.klaw.clusterapi.models.enums.KafkaClustersType;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.models.enums.RequestOperationType;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.HttpRetryPolicy;
 import jakarta.validation.Valid;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -27,16 +29,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.acl.AclOperation;
 import org.apache.kafka.common.acl.AclPermissionType;
 import org.apache.kafka.common.resource.ResourceType;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -54,12 +61,26 @@ public class ConfluentCloudApiService {
   public static final String HTTPS_PREFIX = "https://";
   public static final String TOPIC_API_URI_KEY = ".klaw.clusters.counfluentcloud.topics.api";
   public static final String ACLS_API_URI_KEY = ".klaw.clusters.counfluentcloud.acls.api";
+  private static final ParameterizedTypeReference<ListTopicsResponse> LIST_TOPICS_TYPEREF =
+      new ParameterizedTypeReference<>() {};
+  private static final ParameterizedTypeReference<ListAclsResponse> LIST_ACLS_TYPEREF =
+      new ParameterizedTypeReference<>() {};
   private final Environment env;
   final ClusterApiUtils clusterApiUtils;
 
-  public ConfluentCloudApiService(Environment env, ClusterApiUtils clusterApiUtils) {
+  private final HttpRetryPolicy httpRetryPolicy;
+
+  private final Executor confluentCloudExecutor;
+
+  public ConfluentCloudApiService(
+      Environment env,
+      ClusterApiUtils clusterApiUtils,
+      HttpRetryPolicy httpRetryPolicy,
+      @Qualifier("confluentCloudTaskExecutor") Executor confluentCloudExecutor) {
     this.env = env;
     this.clusterApiUtils = clusterApiUtils;
+    this.httpRetryPolicy = httpRetryPolicy;
+    this.confluentCloudExecutor = confluentCloudExecutor;
   }
 
   public Set<TopicConfig> listTopics(
@@ -77,13 +98,15 @@ public class ConfluentCloudApiService {
     HttpEntity<Map<String, String>> request = new HttpEntity<>(headers);
 
     try {
-      ResponseEntity<ListTopicsResponse> responseEntity =
-          restTemplate.exchange(
-              listTopicsUri, HttpMethod.GET, request, new ParameterizedTypeReference<>() {});
-
-      List<TopicConfig> topicsListUpdated = processListTopicsResponse(responseEntity);
-
-      return new HashSet<>(topicsListUpdated);
+      Set<TopicConfig> topics = new HashSet<>();
+      forEachPage(
+          restTemplate,
+          listTopicsUri,
+          request,
+          LIST_TOPICS_TYPEREF,
+          ListTopicsResponse::getMetadata,
+          page -> topics.addAll(processListTopicsResponse(page)));
+      return topics;
     } catch (RestClientException e) {
       log.error("Exception:", e);
       throw new Exception("Error in listing topics : " + e.getMessage());
@@ -103,13 +126,15 @@ public class ConfluentCloudApiService {
     HttpEntity<Map<String, String>> request = new HttpEntity<>(headers);
 
     try {
-      ResponseEntity<ListAclsResponse> responseEntity =
-          restTemplate.exchange(
-              listAclsUri, HttpMethod.GET, request, new ParameterizedTypeReference<>() {});
-
-      List<Map<String, String>> aclsListUpdated = processListAclsResponse(responseEntity);
-
-      return new HashSet<>(aclsListUpdated);
+      Set<Map<String, String>> acls = new HashSet<>();
+      forEachPage(
+          restTemplate,
+          listAclsUri,
+          request,
+          LIST_ACLS_TYPEREF,
+          ListAclsResponse::getMetadata,
+          page -> acls.addAll(processListAclsResponse(page)));
+      return acls;
     } catch (RestClientException e) {
       log.error("Exception:", e);
       throw new Exception("Error in listing acls : " + e.getMessage());
@@ -479,9 +504,65 @@ public class ConfluentCloudApiService {
     return aclMap;
   }
 
-  private List<TopicConfig> processListTopicsResponse(
-      ResponseEntity<ListTopicsResponse> responseEntity) {
-    ListTopicsResponse topicsList = Objects.requireNonNull(responseEntity.getBody());
+  /**
+   * Follows the metadata.next links of a listing, which Confluent Cloud pages once a cluster has
+   * many topics or acls. The next page is requested while the current one is processed, and
+   * throttled or failed page requests are retried.
+   */
+  private <T> void forEachPage(
+      RestTemplate restTemplate,
+      String firstPageUri,
+      HttpEntity<?> request,
+      ParameterizedTypeReference<T> pageType,
+      Function<T, Metadata> metadata,
+      Consumer<T> pageConsumer) {
+    Set<String> requestedUris = new HashSet<>();
+    requestedUris.add(firstPageUri);
+    T page = getPage(restTemplate, firstPageUri, request, pageType);
+    while (page != null) {
+      String nextPageUri = getNextPageUri(metadata.apply(page));
+      CompletableFuture<T> nextPage = null;
+      if (nextPageUri != null && requestedUris.add(nextPageUri)) {
+        nextPage =
+            CompletableFuture.supplyAsync(
+                () -> getPage(restTemplate, nextPageUri, request, pageType),
+                confluentCloudExecutor);
+      }
+      pageConsumer.accept(page);
+      page = nextPage == null ? null : joinPage(nextPage);
+    }
+  }
+
+  private <T> T getPage(
+      RestTemplate restTemplate,
+      String pageUri,
+      HttpEntity<?> request,
+      ParameterizedTypeReference<T> pageType) {
+    return Objects.requireNonNull(
+        httpRetryPolicy.execute(
+            "Confluent Cloud request " + pageUri,
+            () -> restTemplate.exchange(pageUri, HttpMethod.GET, request, pageType).getBody()));
+  }
+
+  private static <T> T joinPage(CompletableFuture<T> page) {
+    try {
+      return page.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  private static String getNextPageUri(Metadata metadata) {
+    if (metadata == null || !(metadata.next instanceof String next) || next.isBlank()) {
+      return null;
+    }
+    return next;
+  }
+
+  private List<TopicConfig> processListTopicsResponse(ListTopicsResponse topicsList) {
     List<TopicConfig> topicsListUpdated = new ArrayList<>();
     for (TopicObject topicObject : topicsList.data) {
       TopicConfig topicsMapUpdated = new TopicConfig();
@@ -494,9 +575,7 @@ public class ConfluentCloudApiService {
     return topicsListUpdated;
   }
 
-  private List<Map<String, String>> processListAclsResponse(
-      ResponseEntity<ListAclsResponse> responseEntity) {
-    ListAclsResponse aclsList = Objects.requireNonNull(responseEntity.getBody());
+  private List<Map<String, String>> processListAclsResponse(ListAclsResponse aclsList) {
     List<Map<String, String>> aclsListUpdated = new ArrayList<>();
     for (AclObject aclObject : aclsList.data) {
       Map<String, String> aclsMapUpdated = new HashMap<>();
@@ -1,6 +1,7 @@
 package io.aiven.klaw.clusterapi.services;
 
 import io.aiven.klaw.clusterapi.models.ApiResponse;
+import io.aiven.klaw.clusterapi.models.consumergroup.ConsumerGroupLag;
 import io.aiven.klaw.clusterapi.models.consumergroup.OffsetDetails;
 import io.aiven.klaw.clusterapi.models.consumergroup.OffsetResetType;
 import io.aiven.klaw.clusterapi.models.consumergroup.OffsetsTiming;
@@ -12,13 +13,20 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AlterConsumerGroupOffsetsOptions;
 import org.apache.kafka.clients.admin.AlterConsumerGroupOffsetsResult;
 import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
 import org.apache.kafka.clients.admin.ListOffsetsResult;
 import org.apache.kafka.clients.admin.OffsetSpec;
 import org.apache.kafka.clients.admin.TopicDescription;
@@ -32,6 +40,7 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class ConsumerGroupService {
   public static final int TIMEOUT_MS = 2500;
+  private static final long TIME_OUT_SECS_FOR_LAG = 30;
   private final ClusterApiUtils clusterApiUtils;
 
   public ConsumerGroupService(ClusterApiUtils clusterApiUtils) {
@@ -51,7 +60,7 @@ public class ConsumerGroupService {
         && null == consumerGroupOffsetsRequest.getConsumerGroupResetTimestampMilliSecs()) {
       throw new Exception("Timestamp must be provided for reset type TO_DATE_TIME");
     }
-    AdminClient adminClient =
+    Admin adminClient =
         clusterApiUtils.getAdminClient(environment, protocol, clusterIdentification);
 
     TopicDescription topicDescription =
@@ -89,7 +98,7 @@ public class ConsumerGroupService {
 
   private void extractOffsetsBeforeAndAfter(
       ResetConsumerGroupOffsetsRequest consumerGroupOffsetsRequest,
-      AdminClient adminClient,
+      Admin adminClient,
       TopicDescription topicDescription,
       OffsetSpec offsetSpec,
       Map<OffsetsTiming, Map<String, Long>> offsetPositionsBeforeAndAfter)
@@ -127,10 +136,7 @@ public class ConsumerGroupService {
   }
 
   public Map<TopicPartition, OffsetAndMetadata> getTopicPartitionOffsetsAndMetadataMap(
-      String topicName,
-      OffsetSpec offsetSpec,
-      TopicDescription topicDescription,
-      AdminClient adminClient)
+      String topicName, OffsetSpec offsetSpec, TopicDescription topicDescription, Admin adminClient)
       throws ExecutionException, InterruptedException {
     Map<TopicPartition, OffsetAndMetadata> offsetAndMetadataMap = new HashMap<>();
     Map<TopicPartition, OffsetSpec> toOffsetSpec = new HashMap<>();
@@ -150,7 +156,7 @@ public class ConsumerGroupService {
     return offsetAndMetadataMap;
   }
 
-  public Map<String, Long> getCurrentOffsetsPositions(String consumerGroup, AdminClient adminClient)
+  public Map<String, Long> getCurrentOffsetsPositions(String consumerGroup, Admin adminClient)
       throws Exception {
     Map<String, Long> currentOffsetPositionsMap = new TreeMap<>();
     KafkaFuture<Map<TopicPartition, OffsetAndMetadata>> offsetsBeforeResetFuture =
@@ -170,8 +176,7 @@ public class ConsumerGroupService {
     }
   }
 
-  public TopicDescription describeTopic(AdminClient adminClient, String topicName)
-      throws Exception {
+  public TopicDescription describeTopic(Admin adminClient, String topicName) throws Exception {
     try {
       DescribeTopicsResult result = adminClient.describeTopics(Collections.singleton(topicName));
       if (result.values().containsKey(topicName)) {
@@ -206,18 +211,30 @@ public class ConsumerGroupService {
         protocol,
         clusterName);
 
-    AdminClient adminClient = clusterApiUtils.getAdminClient(environment, protocol, clusterName);
+    Admin adminClient = clusterApiUtils.getAdminClient(environment, protocol, clusterName);
 
     List<OffsetDetails> consumerGroupOffsetList = new ArrayList<>();
     OffsetDetails offsetDetails;
     try {
+      // all calls share one deadline, so an unresponsive group coordinator cannot hold the request
+      long deadlineMs = deadlineMs();
       DescribeTopicsResult describeTopicsResult =
           adminClient.describeTopics(Collections.singletonList(topicName));
       List<TopicPartitionInfo> topicPartitions =
-          describeTopicsResult.values().get(topicName).get().partitions();
+          describeTopicsResult
+              .values()
+              .get(topicName)
+              .get(remainingMs(deadlineMs), TimeUnit.MILLISECONDS)
+              .partitions();
 
       TopicPartition topicPartition;
 
+      Map<TopicPartition, OffsetAndMetadata> committedOffsets =
+          adminClient
+              .listConsumerGroupOffsets(consumerGroupId)
+              .partitionsToOffsetAndMetadata()
+              .get(remainingMs(deadlineMs), TimeUnit.MILLISECONDS);
+
       ListOffsetsResult listOffsetsEarliestResult =
           adminClient.listOffsets(
               getTopicPartitionOffsetSpecMap(topicName, topicPartitions, OffsetSpec.earliest()));
@@ -231,12 +248,22 @@ public class ConsumerGroupService {
 
         offsetDetails = new OffsetDetails();
         long earliestOffset =
-            listOffsetsEarliestResult.partitionResult(topicPartition).get().offset();
-        long latestOffset = listOffsetsLatestResult.partitionResult(topicPartition).get().offset();
-        long lag = latestOffset - earliestOffset;
+            listOffsetsEarliestResult
+                .partitionResult(topicPartition)
+                .get(remainingMs(deadlineMs), TimeUnit.MILLISECONDS)
+                .offset();
+        long latestOffset =
+            listOffsetsLatestResult
+                .partitionResult(topicPartition)
+                .get(remainingMs(deadlineMs), TimeUnit.MILLISECONDS)
+                .offset();
+        OffsetAndMetadata committedOffset = committedOffsets.get(topicPartition);
+        // a group without a committed offset on a partition has not consumed from it yet
+        long currentOffset = committedOffset == null ? earliestOffset : committedOffset.offset();
+        long lag = Math.max(0, latestOffset - currentOffset);
 
         offsetDetails.setTopicPartitionId(Long.toString(topicPartition.partition()));
-        offsetDetails.setCurrentOffset(Long.toString(earliestOffset));
+        offsetDetails.setCurrentOffset(Long.toString(currentOffset));
         offsetDetails.setEndOffset(Long.toString(latestOffset));
         offsetDetails.setLag(Long.toString(lag));
         consumerGroupOffsetList.add(offsetDetails);
@@ -252,6 +279,116 @@ public class ConsumerGroupService {
     }
   }
 
+  /**
+   * Lag of consumer groups on every topic they committed offsets for. Reads the committed offsets
+   * of all groups in one listConsumerGroupOffsets call and the end offsets of all their partitions
+   * in one listOffsets call. Groups and partitions whose offsets cannot be read in time are left
+   * out, each call waits until one shared deadline so slow groups do not add up.
+   */
+  public List<ConsumerGroupLag> getConsumerGroupLag(
+      String bootstrapServers,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      Set<String> consumerGroups)
+      throws Exception {
+    Admin adminClient =
+        clusterApiUtils.getAdminClient(bootstrapServers, protocol, clusterIdentification);
+    if (adminClient == null) {
+      throw new Exception("Cannot connect to cluster.");
+    }
+    List<ConsumerGroupLag> consumerGroupLags = new ArrayList<>();
+    if (consumerGroups.isEmpty()) {
+      return consumerGroupLags;
+    }
+
+    ListConsumerGroupOffsetsResult committedOffsetsResult =
+        adminClient.listConsumerGroupOffsets(
+            consumerGroups.stream()
+                .collect(
+                    Collectors.toMap(
+                        Function.identity(), consumerGroup -> new ListConsumerGroupOffsetsSpec())));
+    long committedOffsetsDeadlineMs = deadlineMs();
+    Map<String, Map<TopicPartition, Long>> committedOffsetsPerGroup = new TreeMap<>();
+    Map<TopicPartition, OffsetSpec> latestOffsetSpecs = new HashMap<>();
+    for (String consumerGroup : consumerGroups) {
+      Map<TopicPartition, OffsetAndMetadata> committedOffsets;
+      try {
+        committedOffsets =
+            committedOffsetsResult
+                .partitionsToOffsetAndMetadata(consumerGroup)
+                .get(remainingMs(committedOffsetsDeadlineMs), TimeUnit.MILLISECONDS);
+      } catch (ExecutionException | TimeoutException e) {
+        log.warn("Unable to read committed offsets of consumer group {}", consumerGroup, e);
+        continue;
+      }
+      Map<TopicPartition, Long> groupOffsets = new HashMap<>();
+      for (Map.Entry<TopicPartition, OffsetAndMetadata> committedOffset :
+          committedOffsets.entrySet()) {
+        if (committedOffset.getValue() != null) {
+          groupOffsets.put(committedOffset.getKey(), committedOffset.getValue().offset());
+          latestOffsetSpecs.put(committedOffset.getKey(), OffsetSpec.latest());
+        }
+      }
+      committedOffsetsPerGroup.put(consumerGroup, groupOffsets);
+    }
+    if (latestOffsetSpecs.isEmpty()) {
+      return consumerGroupLags;
+    }
+
+    ListOffsetsResult latestOffsetsResult = adminClient.listOffsets(latestOffsetSpecs);
+    long latestOffsetsDeadlineMs = deadlineMs();
+    Map<TopicPartition, Long> latestOffsets = new HashMap<>();
+    for (TopicPartition topicPartition : latestOffsetSpecs.keySet()) {
+      try {
+        latestOffsets.put(
+            topicPartition,
+            latestOffsetsResult
+                .partitionResult(topicPartition)
+                .get(remainingMs(latestOffsetsDeadlineMs), TimeUnit.MILLISECONDS)
+                .offset());
+      } catch (ExecutionException | TimeoutException e) {
+        // groups keep the offsets of topics which have been deleted since
+        log.debug("Unable to read end offset of {}", topicPartition, e);
+      }
+    }
+
+    for (Map.Entry<String, Map<TopicPartition, Long>> groupOffsets :
+        committedOffsetsPerGroup.entrySet()) {
+      Map<String, ConsumerGroupLag> topicLags = new TreeMap<>();
+      for (Map.Entry<TopicPartition, Long> committedOffset : groupOffsets.getValue().entrySet()) {
+        Long latestOffset = latestOffsets.get(committedOffset.getKey());
+        if (latestOffset == null) {
+          continue;
+        }
+        long lag = Math.max(0, latestOffset - committedOffset.getValue());
+        ConsumerGroupLag consumerGroupLag =
+            topicLags.computeIfAbsent(
+                committedOffset.getKey().topic(),
+                topicName -> newConsumerGroupLag(groupOffsets.getKey(), topicName));
+        consumerGroupLag.setPartitions(consumerGroupLag.getPartitions() + 1);
+        consumerGroupLag.setTotalLag(consumerGroupLag.getTotalLag() + lag);
+        consumerGroupLag.setMaxPartitionLag(Math.max(consumerGroupLag.getMaxPartitionLag(), lag));
+      }
+      consumerGroupLags.addAll(topicLags.values());
+    }
+    return consumerGroupLags;
+  }
+
+  private static long deadlineMs() {
+    return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIME_OUT_SECS_FOR_LAG);
+  }
+
+  private static long remainingMs(long deadlineMs) {
+    return Math.max(0, deadlineMs - System.currentTimeMillis());
+  }
+
+  private static ConsumerGroupLag newConsumerGroupLag(String consumerGroup, String topicName) {
+    ConsumerGroupLag consumerGroupLag = new ConsumerGroupLag();
+    consumerGroupLag.setConsumerGroup(consumerGroup);
+    consumerGroupLag.setTopicName(topicName);
+    return consumerGroupLag;
+  }
+
   private Map<TopicPartition, OffsetSpec> getTopicPartitionOffsetSpecMap(
       String topicName, List<TopicPartitionInfo> topicPartitions, OffsetSpec offsetSpec) {
     TopicPartition topicPartition;
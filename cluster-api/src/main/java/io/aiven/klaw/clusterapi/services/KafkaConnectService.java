@@ -3,21 +3,38 @@ package io.aiven.klaw.clusterapi.services;
 import static io.aiven.klaw.clusterapi.models.error.ClusterApiErrorMessages.CLUSTER_API_ERR_1;
 import static io.aiven.klaw.clusterapi.models.error.ClusterApiErrorMessages.CLUSTER_API_ERR_2;
 import static io.aiven.klaw.clusterapi.models.error.ClusterApiErrorMessages.CLUSTER_API_ERR_3;
+import static io.aiven.klaw.clusterapi.models.error.ClusterApiErrorMessages.CLUSTER_API_ERR_4;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterConnectorRequest;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorConfig;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorConfigDiff;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorConfigDiffEntry;
 import io.aiven.klaw.clusterapi.models.connect.ConnectorState;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorStatusAndInfo;
 import io.aiven.klaw.clusterapi.models.connect.ConnectorsStatus;
+import io.aiven.klaw.clusterapi.models.connect.Info;
 import io.aiven.klaw.clusterapi.models.connect.Status;
 import io.aiven.klaw.clusterapi.models.enums.ClusterStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaClustersType;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.models.error.RestErrorResponse;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.ConnectorConfigCache;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -34,18 +51,41 @@ import org.springframework.web.client.RestTemplate;
 @Slf4j
 public class KafkaConnectService {
 
-  private static final ParameterizedTypeReference<List<String>> GET_CONNECTORS_STR_TYPEREF =
-      new ParameterizedTypeReference<>() {};
   private static final ParameterizedTypeReference<Map<String, Object>>
       GET_CONNECTOR_DETAILS_TYPEREF = new ParameterizedTypeReference<>() {};
   public static final String FAILED_STATUS = "FAILED";
   public static final String RUNNING_STATUS = "RUNNING";
-  public static final String CONNECTOR_URI_EXPAND_STATUS = "?expand=status";
+  public static final String CONNECTORS_URI = "/connectors";
+  private static final String CONNECTOR_NAME_KEY = "name";
+  public static final String CONNECTORS_URI_EXPAND_STATUS_INFO =
+      CONNECTORS_URI + "?expand=status&expand=info";
+
+  private static final ParameterizedTypeReference<JsonNode> GET_JSON_TYPEREF =
+      new ParameterizedTypeReference<>() {};
+  private static final ParameterizedTypeReference<Status> STATUS_TYPEREF =
+      new ParameterizedTypeReference<>() {};
+  private static final ParameterizedTypeReference<Info> INFO_TYPEREF =
+      new ParameterizedTypeReference<>() {};
+  private static final ParameterizedTypeReference<Map<String, String>> CONNECTOR_CONFIG_TYPEREF =
+      new ParameterizedTypeReference<>() {};
+  private static final TypeReference<Map<String, ConnectorStatusAndInfo>>
+      CONNECTORS_STATUS_INFO_TYPEREF = new TypeReference<>() {};
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
   final ClusterApiUtils clusterApiUtils;
 
-  public KafkaConnectService(ClusterApiUtils clusterApiUtils) {
+  private final ConnectorConfigCache connectorConfigCache;
+
+  private final Executor kafkaConnectExecutor;
+
+  public KafkaConnectService(
+      ClusterApiUtils clusterApiUtils,
+      ConnectorConfigCache connectorConfigCache,
+      @Qualifier("kafkaConnectTaskExecutor") Executor kafkaConnectExecutor) {
     this.clusterApiUtils = clusterApiUtils;
+    this.connectorConfigCache = connectorConfigCache;
+    this.kafkaConnectExecutor = kafkaConnectExecutor;
   }
 
   public ApiResponse deleteConnector(ClusterConnectorRequest clusterConnectorRequest) {
@@ -69,6 +109,7 @@ public class KafkaConnectService {
                 HttpMethod.DELETE,
                 request,
                 new ParameterizedTypeReference<>() {});
+        evictConnectorConfig(clusterConnectorRequest);
         return ApiResponse.SUCCESS;
       } catch (HttpServerErrorException | HttpClientErrorException e) {
         log.error("Rest Exception in deleting connector ", e);
@@ -97,6 +138,7 @@ public class KafkaConnectService {
             new HttpEntity<>(clusterConnectorRequest.getConnectorConfig(), headers);
 
         reqDetails.getRight().put(reqDetails.getLeft(), request, String.class);
+        evictConnectorConfig(clusterConnectorRequest);
         return ApiResponse.SUCCESS;
       } catch (HttpServerErrorException | HttpClientErrorException e) {
         log.error("Error in updating connector ", e);
@@ -146,6 +188,7 @@ public class KafkaConnectService {
         responseNew =
             reqDetails.getRight().postForEntity(reqDetails.getLeft(), request, String.class);
         if (responseNew.getStatusCode().is2xxSuccessful()) {
+          evictConnectorConfig(clusterConnectorRequest);
           return ApiResponse.SUCCESS;
         }
       } catch (HttpServerErrorException | HttpClientErrorException e) {
@@ -165,98 +208,133 @@ public class KafkaConnectService {
       KafkaSupportedProtocol protocol,
       String clusterIdentification,
       boolean getConnectorStatuses) {
+    log.info("Into getConnectors {} {}", environmentVal, protocol);
     ConnectorsStatus connectorsStatus = new ConnectorsStatus();
     List<ConnectorState> connectorStateList = new ArrayList<>();
     connectorsStatus.setConnectorStateList(connectorStateList);
-    for (String envUrl : getEnvironment(environmentVal)) {
-      try {
-        log.info("Into getConnectors {} {}", environmentVal, protocol);
-        if (envUrl == null) {
-          return null;
-        }
-
-        String suffixUrl = envUrl + "/connectors";
-
-        if (getConnectorStatuses) {
-          suffixUrl = suffixUrl + CONNECTOR_URI_EXPAND_STATUS;
-        }
-
-        Pair<String, RestTemplate> reqDetails =
-            clusterApiUtils.getRequestDetails(suffixUrl, protocol);
-
-        HttpHeaders headers =
-            clusterApiUtils.createHeaders(clusterIdentification, KafkaClustersType.KAFKA_CONNECT);
-        HttpEntity<Object> request = new HttpEntity<>(headers);
-        Map<String, String> params = new HashMap<>();
-
-        if (!getConnectorStatuses) {
-          ResponseEntity<List<String>> responseList =
-              reqDetails
-                  .getRight()
-                  .exchange(
-                      reqDetails.getLeft(),
-                      HttpMethod.GET,
-                      request,
-                      GET_CONNECTORS_STR_TYPEREF,
-                      params);
-          log.info("connectors list " + responseList);
-          if (responseList.getBody() != null) {
-            for (String connectorName : responseList.getBody()) {
+    List<String> failedConnectors = new ArrayList<>();
+    connectorsStatus.setFailedConnectors(failedConnectors);
+    try {
+      Pair<String, JsonNode> response =
+          getFromAnyUrl(
+              environmentVal,
+              getConnectorStatuses ? CONNECTORS_URI_EXPAND_STATUS_INFO : CONNECTORS_URI,
+              protocol,
+              clusterIdentification,
+              GET_JSON_TYPEREF);
+      JsonNode responseBody = Objects.requireNonNull(response.getRight());
+
+      if (!getConnectorStatuses) {
+        responseBody.forEach(
+            connectorName -> {
               ConnectorState connectorState = new ConnectorState();
-              connectorState.setConnectorName(connectorName);
+              connectorState.setConnectorName(connectorName.asText());
               connectorStateList.add(connectorState);
-            }
-          }
-
-          return connectorsStatus;
-        }
-
-        ResponseEntity<Map<String, Map<String, Status>>> responseEntity =
-            getConnectorStatus(reqDetails, request, params);
-        Map<String, Map<String, Status>> responseBody = responseEntity.getBody();
-
-        for (String connectorName : Objects.requireNonNull(responseBody).keySet()) {
-          Map<String, Status> statusMap = responseBody.get(connectorName);
-          Status statusConnector = statusMap.get("status");
-          long failedTasksCount =
-              statusConnector.getTasks().stream()
-                  .filter(task -> task.getState().equals(FAILED_STATUS))
-                  .count();
-          long runningTasksCount =
-              statusConnector.getTasks().stream()
-                  .filter(task -> task.getState().equals(RUNNING_STATUS))
-                  .count();
-
-          ConnectorState connectorState = new ConnectorState();
-          connectorState.setConnectorName(connectorName);
-          connectorState.setConnectorStatus(statusConnector.getConnector().getState());
-          connectorState.setRunningTasks(runningTasksCount);
-          connectorState.setFailedTasks(failedTasksCount);
-          connectorStateList.add(connectorState);
-        }
-        connectorsStatus.setConnectorStateList(connectorStateList);
-
-        log.info("connectors list " + responseEntity);
-        return connectorsStatus;
-      } catch (Exception e) {
-        log.error("Error in getting connectors " + e);
+            });
+      } else if (responseBody.isObject()) {
+        Map<String, ConnectorStatusAndInfo> connectors =
+            OBJECT_MAPPER.convertValue(responseBody, CONNECTORS_STATUS_INFO_TYPEREF);
+        connectors.forEach(
+            (connectorName, statusAndInfo) ->
+                connectorStateList.add(
+                    getConnectorState(
+                        clusterIdentification,
+                        connectorName,
+                        statusAndInfo.getStatus(),
+                        statusAndInfo.getInfo())));
+      } else {
+        // kafka connect versions before 2.3 ignore ?expand and return connector names only
+        List<String> connectorNames = new ArrayList<>();
+        responseBody.forEach(connectorName -> connectorNames.add(connectorName.asText()));
+        connectorStateList.addAll(
+            getConnectorStates(
+                response.getLeft(),
+                connectorNames,
+                protocol,
+                clusterIdentification,
+                failedConnectors));
       }
+      log.info("connectors list size {}", connectorStateList.size());
+    } catch (Exception e) {
+      log.error("Error in getting connectors ", e);
     }
     return connectorsStatus;
   }
 
-  private static ResponseEntity<Map<String, Map<String, Status>>> getConnectorStatus(
-      Pair<String, RestTemplate> reqDetails,
-      HttpEntity<Object> request,
-      Map<String, String> params) {
-    return reqDetails
-        .getRight()
-        .exchange(
-            reqDetails.getLeft(),
-            HttpMethod.GET,
-            request,
-            new ParameterizedTypeReference<>() {},
-            params);
+  /**
+   * Fetches status and configuration of every connector, at most one per worker thread. Connectors
+   * which cannot be read, including calls exceeding the http client timeouts, are left out of the
+   * result and added to failedConnectors.
+   */
+  private List<ConnectorState> getConnectorStates(
+      String envUrl,
+      List<String> connectorNames,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      List<String> failedConnectors) {
+    List<CompletableFuture<ConnectorState>> connectorStates =
+        connectorNames.stream()
+            .map(
+                connectorName ->
+                    CompletableFuture.supplyAsync(
+                        () ->
+                            getConnectorState(
+                                clusterIdentification,
+                                connectorName,
+                                get(
+                                    envUrl + CONNECTORS_URI + "/" + connectorName + "/status",
+                                    protocol,
+                                    clusterIdentification,
+                                    STATUS_TYPEREF),
+                                get(
+                                    envUrl + CONNECTORS_URI + "/" + connectorName,
+                                    protocol,
+                                    clusterIdentification,
+                                    INFO_TYPEREF)),
+                        kafkaConnectExecutor))
+            .toList();
+    List<ConnectorState> connectorStateList = new ArrayList<>();
+    for (int i = 0; i < connectorNames.size(); i++) {
+      try {
+        connectorStateList.add(connectorStates.get(i).join());
+      } catch (CompletionException e) {
+        log.warn(
+            "Skipping connector {}, its status could not be read {}",
+            connectorNames.get(i),
+            e.getCause() == null ? e.getMessage() : e.getCause().toString());
+        failedConnectors.add(connectorNames.get(i));
+      }
+    }
+    return connectorStateList;
+  }
+
+  /**
+   * Only the version of the masked config is passed on, the config itself stays in cluster-api. The
+   * masked config is cached, so a following config or diff request for the connector is served
+   * without another call to the cluster.
+   */
+  private ConnectorState getConnectorState(
+      String clusterIdentification, String connectorName, Status statusConnector, Info info) {
+    ConnectorState connectorState = new ConnectorState();
+    connectorState.setConnectorName(connectorName);
+    if (statusConnector != null) {
+      connectorState.setConnectorStatus(statusConnector.getConnector().getState());
+      connectorState.setRunningTasks(countTasks(statusConnector, RUNNING_STATUS));
+      connectorState.setFailedTasks(countTasks(statusConnector, FAILED_STATUS));
+    }
+    if (info != null) {
+      connectorState.setConfigVersion(
+          connectorConfigCache
+              .put(clusterIdentification, connectorName, info.getConfig())
+              .getConfigVersion());
+    }
+    return connectorState;
+  }
+
+  private static long countTasks(Status statusConnector, String taskState) {
+    return statusConnector.getTasks().stream()
+        .filter(task -> task.getState().equals(taskState))
+        .count();
   }
 
   public Map<String, Object> getConnectorDetails(
@@ -264,39 +342,118 @@ public class KafkaConnectService {
       String environmentVal,
       KafkaSupportedProtocol protocol,
       String clusterIdentification) {
-    for (String envUrl : getEnvironment(environmentVal)) {
-      try {
-        log.info("Into getConnectorDetails {} {}", environmentVal, protocol);
-        if (envUrl == null) {
-          return null;
-        }
+    log.info("Into getConnectorDetails {} {}", environmentVal, protocol);
+    try {
+      return getFromAnyUrl(
+              environmentVal,
+              CONNECTORS_URI + "/" + connector,
+              protocol,
+              clusterIdentification,
+              GET_CONNECTOR_DETAILS_TYPEREF)
+          .getRight();
+    } catch (Exception e) {
+      log.error("Error in getting connector detail ", e);
+    }
+    return Collections.emptyMap();
+  }
 
-        String suffixUrl = envUrl + "/connectors" + "/" + connector;
-        Pair<String, RestTemplate> reqDetails =
-            clusterApiUtils.getRequestDetails(suffixUrl, protocol);
+  /**
+   * Config of the connector with sensitive values masked, served from a short lived cache. The
+   * config version is a hash of the masked config, it changes with any change on the cluster except
+   * for changes of sensitive values.
+   */
+  public ConnectorConfig getConnectorConfig(
+      String connector,
+      String environmentVal,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification) {
+    return connectorConfigCache.get(
+        clusterIdentification,
+        connector,
+        () ->
+            getFromAnyUrl(
+                    environmentVal,
+                    CONNECTORS_URI + "/" + connector + "/config",
+                    protocol,
+                    clusterIdentification,
+                    CONNECTOR_CONFIG_TYPEREF)
+                .getRight());
+  }
 
-        HttpHeaders headers =
-            clusterApiUtils.createHeaders(clusterIdentification, KafkaClustersType.KAFKA_CONNECT);
-        HttpEntity<Object> request = new HttpEntity<>(headers);
-        Map<String, String> params = new HashMap<>();
-
-        ResponseEntity<Map<String, Object>> responseList =
-            reqDetails
-                .getRight()
-                .exchange(
-                    reqDetails.getLeft(),
-                    HttpMethod.GET,
-                    request,
-                    GET_CONNECTOR_DETAILS_TYPEREF,
-                    params);
-        log.info("connectors list " + responseList);
-
-        return responseList.getBody();
-      } catch (Exception e) {
-        log.error("Error in getting connector detail ", e);
+  /**
+   * Compares the config stored in Klaw, passed as connectorConfig of the request, with the one on
+   * the cluster. Sensitive values are stored encrypted in Klaw and masked on the cluster side, so
+   * they are compared by presence only. The name, which Kafka Connect adds to every config, is
+   * ignored.
+   *
+   * @throws IllegalArgumentException if the stored config is not a json object
+   */
+  public ConnectorConfigDiff getConnectorConfigDiff(
+      ClusterConnectorRequest clusterConnectorRequest) {
+    Map<String, String> storedConfig = parseConnectorConfig(clusterConnectorRequest);
+    ConnectorConfig liveConfig =
+        getConnectorConfig(
+            clusterConnectorRequest.getConnectorName(),
+            clusterConnectorRequest.getEnv(),
+            clusterConnectorRequest.getProtocol(),
+            clusterConnectorRequest.getClusterIdentification());
+
+    Set<String> keys = new TreeSet<>(storedConfig.keySet());
+    keys.addAll(liveConfig.getConfig().keySet());
+    keys.remove(CONNECTOR_NAME_KEY);
+
+    List<ConnectorConfigDiffEntry> differences = new ArrayList<>();
+    for (String key : keys) {
+      String storedValue = storedConfig.get(key);
+      String liveValue = liveConfig.getConfig().get(key);
+      boolean sensitive = connectorConfigCache.isSensitive(key);
+      if (storedValue == null || liveValue == null) {
+        differences.add(
+            new ConnectorConfigDiffEntry(
+                key,
+                sensitive && storedValue != null ? ConnectorConfigCache.MASKED_VALUE : storedValue,
+                liveValue));
+      } else if (!sensitive && !storedValue.equals(liveValue)) {
+        differences.add(new ConnectorConfigDiffEntry(key, storedValue, liveValue));
       }
     }
-    return Collections.emptyMap();
+
+    ConnectorConfigDiff connectorConfigDiff = new ConnectorConfigDiff();
+    connectorConfigDiff.setConnectorName(clusterConnectorRequest.getConnectorName());
+    connectorConfigDiff.setConfigVersion(liveConfig.getConfigVersion());
+    connectorConfigDiff.setInSync(differences.isEmpty());
+    connectorConfigDiff.setDifferences(differences);
+    return connectorConfigDiff;
+  }
+
+  private static Map<String, String> parseConnectorConfig(
+      ClusterConnectorRequest clusterConnectorRequest) {
+    JsonNode configNode;
+    try {
+      configNode = OBJECT_MAPPER.readTree(clusterConnectorRequest.getConnectorConfig());
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException(CLUSTER_API_ERR_4, e);
+    }
+    if (configNode == null || !configNode.isObject()) {
+      throw new IllegalArgumentException(CLUSTER_API_ERR_4);
+    }
+    Map<String, String> config = new HashMap<>();
+    configNode
+        .fields()
+        .forEachRemaining(
+            field ->
+                config.put(
+                    field.getKey(),
+                    field.getValue().isValueNode()
+                        ? field.getValue().asText()
+                        : field.getValue().toString()));
+    return config;
+  }
+
+  private void evictConnectorConfig(ClusterConnectorRequest clusterConnectorRequest) {
+    connectorConfigCache.evict(
+        clusterConnectorRequest.getClusterIdentification(),
+        clusterConnectorRequest.getConnectorName());
   }
 
   protected ClusterStatus getKafkaConnectStatus(
@@ -306,30 +463,72 @@ public class KafkaConnectService {
         environment,
         protocol,
         clusterIdentification);
-    for (String env : getEnvironment(environment)) {
-      String suffixUrl = env + "/connectors";
-      Pair<String, RestTemplate> reqDetails =
-          clusterApiUtils.getRequestDetails(suffixUrl, protocol);
-      HttpHeaders headers =
-          clusterApiUtils.createHeaders(clusterIdentification, KafkaClustersType.KAFKA_CONNECT);
-      HttpEntity<Object> request = new HttpEntity<>(headers);
-
-      try {
-        reqDetails
-            .getRight()
-            .exchange(
-                reqDetails.getLeft(),
-                HttpMethod.GET,
-                request,
-                new ParameterizedTypeReference<>() {});
-        return ClusterStatus.ONLINE;
-      } catch (RestClientException e) {
-        log.error("Exception Connectin to {} :", env, e);
-      }
+    try {
+      getFromAnyUrl(environment, CONNECTORS_URI, protocol, clusterIdentification, GET_JSON_TYPEREF);
+      return ClusterStatus.ONLINE;
+    } catch (Exception e) {
+      log.error("Exception Connecting to {} :", environment, e);
     }
     return ClusterStatus.OFFLINE;
   }
 
+  /**
+   * Sends the same read request to all urls of a kafka connect cluster at once. Any worker can
+   * answer it, the first successful response is returned and the other ones are ignored.
+   *
+   * @return the url which answered, and its response
+   * @throws RuntimeException if none of the urls answered successfully within the http client
+   *     timeouts
+   */
+  private <T> Pair<String, T> getFromAnyUrl(
+      String environments,
+      String path,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      ParameterizedTypeReference<T> responseType) {
+    String[] envUrls = getEnvironment(environments);
+    if (envUrls.length == 1) {
+      return Pair.of(
+          envUrls[0], get(envUrls[0] + path, protocol, clusterIdentification, responseType));
+    }
+
+    CompletableFuture<Pair<String, T>> firstResponse = new CompletableFuture<>();
+    AtomicInteger failures = new AtomicInteger();
+    for (String envUrl : envUrls) {
+      CompletableFuture.supplyAsync(
+              () ->
+                  Pair.of(
+                      envUrl, get(envUrl + path, protocol, clusterIdentification, responseType)),
+              kafkaConnectExecutor)
+          .whenComplete(
+              (response, error) -> {
+                if (error == null) {
+                  firstResponse.complete(response);
+                } else {
+                  log.warn("Kafka connect url {} did not answer {}", envUrl, error.getMessage());
+                  if (failures.incrementAndGet() == envUrls.length) {
+                    firstResponse.completeExceptionally(error);
+                  }
+                }
+              });
+    }
+    return firstResponse.join();
+  }
+
+  private <T> T get(
+      String suffixUrl,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      ParameterizedTypeReference<T> responseType) {
+    Pair<String, RestTemplate> reqDetails = clusterApiUtils.getRequestDetails(suffixUrl, protocol);
+    HttpHeaders headers =
+        clusterApiUtils.createHeaders(clusterIdentification, KafkaClustersType.KAFKA_CONNECT);
+    return reqDetails
+        .getRight()
+        .exchange(reqDetails.getLeft(), HttpMethod.GET, new HttpEntity<>(headers), responseType)
+        .getBody();
+  }
+
   public ApiResponse restartConnector(ClusterConnectorRequest clusterConnectorRequest) {
     log.info("Into restartConnector clusterConnectorRequest {} ", clusterConnectorRequest);
     ResponseEntity<String> responseNew = null;
@@ -0,0 +1,117 @@
+package io.aiven.klaw.clusterapi.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.storage.StorageReportCacheKey;
+import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.LogDirDescription;
+import org.apache.kafka.clients.admin.ReplicaInfo;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Log dirs of all brokers of a cluster from one describeLogDirs call, shared by the storage reports
+ * and the topic metrics. A snapshot is reused for the max age, and concurrent reads of a cluster
+ * wait on the same call instead of describing the log dirs again.
+ */
+@Service
+public class LogDirsSnapshotService {
+
+  private static final long TIME_OUT_SECS_FOR_SNAPSHOT = 30;
+
+  private final ClusterApiUtils clusterApiUtils;
+
+  private final Cache<StorageReportCacheKey, LogDirsSnapshot> logDirsSnapshotCache;
+
+  @Autowired
+  public LogDirsSnapshotService(
+      ClusterApiUtils clusterApiUtils,
+      @Value("${klaw.logdirs.snapshot.max.age.ms:30000}") long snapshotMaxAgeMs,
+      @Value("${klaw.storagereport.cache.maxsize:100}") long snapshotCacheMaxSize) {
+    this.clusterApiUtils = clusterApiUtils;
+    this.logDirsSnapshotCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(snapshotCacheMaxSize)
+            .expireAfterWrite(Duration.ofMillis(snapshotMaxAgeMs))
+            .build();
+  }
+
+  public LogDirsSnapshot getLogDirsSnapshot(
+      String bootstrapServers, KafkaSupportedProtocol protocol, String clusterIdentification)
+      throws Exception {
+    StorageReportCacheKey key =
+        new StorageReportCacheKey(bootstrapServers, protocol, clusterIdentification);
+    try {
+      return logDirsSnapshotCache.get(key, () -> describeLogDirs(key));
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof Exception cause ? cause : e;
+    }
+  }
+
+  private LogDirsSnapshot describeLogDirs(StorageReportCacheKey key) throws Exception {
+    Admin client =
+        clusterApiUtils.getAdminClient(
+            key.getBootstrapServers(), key.getProtocol(), key.getClusterIdentification());
+    if (client == null) {
+      throw new Exception("Cannot connect to cluster.");
+    }
+
+    Map<Integer, Node> brokers =
+        client.describeCluster().nodes().get(TIME_OUT_SECS_FOR_SNAPSHOT, TimeUnit.SECONDS).stream()
+            .collect(Collectors.toMap(Node::id, Function.identity()));
+    Map<Integer, Map<String, LogDirDescription>> logDirsPerBroker =
+        client
+            .describeLogDirs(brokers.keySet())
+            .allDescriptions()
+            .get(TIME_OUT_SECS_FOR_SNAPSHOT, TimeUnit.SECONDS);
+    return new LogDirsSnapshot(brokers, logDirsPerBroker);
+  }
+
+  /**
+   * The log dirs of a cluster, with the size of each partition as its largest replica and the size
+   * of each topic across its replicas. Copies being moved between log dirs are not counted there.
+   */
+  @Getter
+  public static class LogDirsSnapshot {
+
+    private final Map<Integer, Node> brokers;
+
+    private final Map<Integer, Map<String, LogDirDescription>> logDirsPerBroker;
+
+    private final Map<TopicPartition, Long> partitionSizes = new HashMap<>();
+
+    private final Map<String, Long> replicatedTopicSizes = new HashMap<>();
+
+    LogDirsSnapshot(
+        Map<Integer, Node> brokers, Map<Integer, Map<String, LogDirDescription>> logDirsPerBroker) {
+      this.brokers = brokers;
+      this.logDirsPerBroker = logDirsPerBroker;
+      for (Map<String, LogDirDescription> logDirs : logDirsPerBroker.values()) {
+        for (LogDirDescription logDir : logDirs.values()) {
+          for (Map.Entry<TopicPartition, ReplicaInfo> replica : logDir.replicaInfos().entrySet()) {
+            if (replica.getValue().isFuture()) {
+              // a copy being moved between log dirs, the current replica is counted
+              continue;
+            }
+            long size = replica.getValue().size();
+            partitionSizes.merge(replica.getKey(), size, Math::max);
+            replicatedTopicSizes.merge(replica.getKey().topic(), size, Long::sum);
+          }
+        }
+      }
+    }
+  }
+}
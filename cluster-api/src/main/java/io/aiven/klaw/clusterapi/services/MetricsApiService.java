@@ -1,11 +1,23 @@
 package io.aiven.klaw.clusterapi.services;
 
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.metrics.MetricsSample;
+import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
 import io.aiven.klaw.clusterapi.utils.MetricsUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import javax.management.*;
-import javax.management.remote.JMXConnector;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.common.Node;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,34 +25,127 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class MetricsApiService {
 
+  public static final List<String> BROKER_TOPIC_METRICS =
+      List.of("MessagesInPerSec", "BytesInPerSec", "BytesOutPerSec");
+
+  private static final String BROKER_TOPIC_METRICS_OBJECT_NAME =
+      "kafka.server:type=BrokerTopicMetrics,name=";
+
+  private static final String RATE_ATTRIBUTE = "OneMinuteRate";
+
+  private static final long TIME_OUT_SECS_FOR_BROKERS = 5;
+
   @Autowired MetricsUtils metricsUtils;
 
+  @Autowired ClusterApiUtils clusterApiUtils;
+
   //    public void getMetrics(){
   //        getMetrics("service:jmx:rmi:///jndi/rmi://localhost:9996/jmxrmi",
   //                "kafka.server:type=BrokerTopicMetrics,name=MessagesInPerSec");
   //    }
 
   public Map<String, String> getMetrics(String jmxUrl, String objectName) throws Exception {
-    Map<String, String> metricsMap = new HashMap<>();
     try {
-      JMXConnector jmxc = metricsUtils.getJmxConnector(jmxUrl);
-      MBeanServerConnection mbsc = jmxc.getMBeanServerConnection();
-
-      //            String[] domains = mbsc.getDomains();
-      //            System.out.println(Arrays.toString(domains));
-
+      MBeanServerConnection mbsc = metricsUtils.getMBeanServerConnection(jmxUrl);
       // kafka.server:name=MessagesInPerSec,topic=topicName,type=BrokerTopicMetrics
-      ObjectName mxbeanName = new ObjectName(objectName);
-      MBeanAttributeInfo[] attributes = mbsc.getMBeanInfo(mxbeanName).getAttributes();
+      return getAttributes(mbsc, new ObjectName(objectName));
+    } catch (Exception e) {
+      handleException(jmxUrl, e);
+      throw e;
+    }
+  }
 
-      for (MBeanAttributeInfo attr : attributes) {
-        metricsMap.put(attr.getName(), "" + mbsc.getAttribute(mxbeanName, attr.getName()));
-        log.debug(attr.getName() + " " + mbsc.getAttribute(mxbeanName, attr.getName()));
+  /**
+   * Reads all MBeans matching an ObjectName pattern, like
+   * kafka.server:type=BrokerTopicMetrics,name=MessagesInPerSec,topic=*, with one query for the
+   * names and one read of all attributes per MBean.
+   *
+   * @return attributes keyed by the canonical name of each matching MBean
+   */
+  public Map<String, Map<String, String>> getMetricsByPattern(
+      String jmxUrl, String objectNamePattern) throws Exception {
+    Map<String, Map<String, String>> metricsByObjectName = new HashMap<>();
+    try {
+      MBeanServerConnection mbsc = metricsUtils.getMBeanServerConnection(jmxUrl);
+      Set<ObjectName> objectNames = mbsc.queryNames(new ObjectName(objectNamePattern), null);
+      for (ObjectName objectName : objectNames) {
+        try {
+          metricsByObjectName.put(objectName.getCanonicalName(), getAttributes(mbsc, objectName));
+        } catch (InstanceNotFoundException e) {
+          // unregistered since the query, for instance a deleted topic
+          log.debug("MBean {} no longer registered", objectName);
+        }
       }
     } catch (Exception e) {
-      log.error("Error ", e);
+      handleException(jmxUrl, e);
       throw e;
     }
+    return metricsByObjectName;
+  }
+
+  /**
+   * Reads the broker topic metrics of every broker of the cluster over JMX, each broker reachable
+   * on its advertised host and the given JMX port, and sums them per metric and topic.
+   */
+  public List<MetricsSample> getClusterMetrics(
+      String bootstrapServers,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      int jmxPort)
+      throws Exception {
+    Admin client =
+        clusterApiUtils.getAdminClient(bootstrapServers, protocol, clusterIdentification);
+    if (client == null) {
+      throw new Exception("Cannot connect to cluster.");
+    }
+    Collection<Node> brokers =
+        client.describeCluster().nodes().get(TIME_OUT_SECS_FOR_BROKERS, TimeUnit.SECONDS);
+
+    Map<List<String>, MetricsSample> samples = new LinkedHashMap<>();
+    for (Node broker : brokers) {
+      String jmxUrl = "service:jmx:rmi:///jndi/rmi://" + broker.host() + ":" + jmxPort + "/jmxrmi";
+      for (String metricName : BROKER_TOPIC_METRICS) {
+        // the total of the broker and one MBean per topic
+        Map<String, Map<String, String>> metrics =
+            getMetricsByPattern(jmxUrl, BROKER_TOPIC_METRICS_OBJECT_NAME + metricName + ",*");
+        for (Map.Entry<String, Map<String, String>> metric : metrics.entrySet()) {
+          String rate = metric.getValue().get(RATE_ATTRIBUTE);
+          if (rate == null) {
+            continue;
+          }
+          String topicName = new ObjectName(metric.getKey()).getKeyProperty("topic");
+          MetricsSample sample =
+              samples.computeIfAbsent(
+                  Arrays.asList(metricName, topicName),
+                  key -> new MetricsSample(metricName, topicName, 0));
+          sample.setValue(sample.getValue() + Double.parseDouble(rate));
+        }
+      }
+    }
+    return new ArrayList<>(samples.values());
+  }
+
+  private Map<String, String> getAttributes(MBeanServerConnection mbsc, ObjectName objectName)
+      throws Exception {
+    String[] attributeNames =
+        Arrays.stream(mbsc.getMBeanInfo(objectName).getAttributes())
+            .filter(MBeanAttributeInfo::isReadable)
+            .map(MBeanAttributeInfo::getName)
+            .toArray(String[]::new);
+
+    Map<String, String> metricsMap = new HashMap<>();
+    // attributes which cannot be read are left out of the result instead of failing the call
+    for (Attribute attribute : mbsc.getAttributes(objectName, attributeNames).asList()) {
+      metricsMap.put(attribute.getName(), "" + attribute.getValue());
+      log.debug(attribute.getName() + " " + attribute.getValue());
+    }
     return metricsMap;
   }
+
+  private void handleException(String jmxUrl, Exception e) {
+    log.error("Error ", e);
+    if (e instanceof IOException) {
+      metricsUtils.invalidate(jmxUrl);
+    }
+  }
 }
@@ -0,0 +1,264 @@
+package io.aiven.klaw.clusterapi.services;
+
+import io.aiven.klaw.clusterapi.config.ClusterRequestLimiter;
+import io.aiven.klaw.clusterapi.models.AclResourceFilter;
+import io.aiven.klaw.clusterapi.models.TopicConfig;
+import io.aiven.klaw.clusterapi.models.TopicNameFilter;
+import io.aiven.klaw.clusterapi.models.enums.AclsNativeType;
+import io.aiven.klaw.clusterapi.models.enums.ClusterQueryStatus;
+import io.aiven.klaw.clusterapi.models.multicluster.ClusterQuery;
+import io.aiven.klaw.clusterapi.models.multicluster.ClusterQueryResult;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the queries of several clusters concurrently and answers them together, so callers which
+ * need the same data of every env make one request instead of one per env. Each query has its own
+ * timeout, counted from when it starts to run, and takes a permit of its cluster like single
+ * cluster requests, queries which fail, time out or are rejected are reported in their result and
+ * do not fail the others. Topics and acls are
+ * read the same way as single cluster requests for the flavor of the cluster.
+ */
+@Service
+@Slf4j
+public class MultiClusterQueryService {
+
+  private final ApacheKafkaTopicService apacheKafkaTopicService;
+
+  private final ApacheKafkaAclService apacheKafkaAclService;
+
+  private final TopicMetricsService topicMetricsService;
+
+  private final ConfluentCloudApiService confluentCloudApiService;
+
+  private final AivenApiService aivenApiService;
+
+  private final ClusterRequestLimiter clusterRequestLimiter;
+
+  private final Executor multiClusterQueryExecutor;
+
+  private final long defaultTimeoutMs;
+
+  private final long maxTimeoutMs;
+
+  @Autowired
+  public MultiClusterQueryService(
+      ApacheKafkaTopicService apacheKafkaTopicService,
+      ApacheKafkaAclService apacheKafkaAclService,
+      TopicMetricsService topicMetricsService,
+      ConfluentCloudApiService confluentCloudApiService,
+      AivenApiService aivenApiService,
+      ClusterRequestLimiter clusterRequestLimiter,
+      @Qualifier("multiClusterQueryTaskExecutor") Executor multiClusterQueryExecutor,
+      @Value("${klaw.multicluster.query.timeout.ms:10000}") long defaultTimeoutMs,
+      @Value("${klaw.multicluster.query.max.timeout.ms:30000}") long maxTimeoutMs) {
+    this.apacheKafkaTopicService = apacheKafkaTopicService;
+    this.apacheKafkaAclService = apacheKafkaAclService;
+    this.topicMetricsService = topicMetricsService;
+    this.confluentCloudApiService = confluentCloudApiService;
+    this.aivenApiService = aivenApiService;
+    this.clusterRequestLimiter = clusterRequestLimiter;
+    this.multiClusterQueryExecutor = multiClusterQueryExecutor;
+    this.defaultTimeoutMs = defaultTimeoutMs;
+    this.maxTimeoutMs = maxTimeoutMs;
+  }
+
+  /** Results are in the order of the queries. */
+  public List<ClusterQueryResult> query(List<ClusterQuery> clusterQueries) {
+    List<CompletableFuture<ClusterQueryResult>> futures = new ArrayList<>();
+    for (ClusterQuery clusterQuery : clusterQueries) {
+      futures.add(submit(clusterQuery, System.currentTimeMillis()));
+    }
+
+    List<ClusterQueryResult> results = new ArrayList<>();
+    for (CompletableFuture<ClusterQueryResult> future : futures) {
+      // each future completes by its own timeout once it runs, so this waits for the slowest query
+      results.add(future.join());
+    }
+    return results;
+  }
+
+  private CompletableFuture<ClusterQueryResult> submit(ClusterQuery clusterQuery, long startMs) {
+    long timeoutMs =
+        Math.min(
+            clusterQuery.getTimeoutMs() == null ? defaultTimeoutMs : clusterQuery.getTimeoutMs(),
+            maxTimeoutMs);
+    CompletableFuture<ClusterQueryResult> result = new CompletableFuture<>();
+    try {
+      multiClusterQueryExecutor.execute(() -> run(clusterQuery, startMs, timeoutMs, result));
+    } catch (RejectedExecutionException e) {
+      log.warn("Rejected query of {}, all query threads are busy", clusterQuery.getQueryId());
+      result.complete(
+          newResult(
+              clusterQuery, startMs, ClusterQueryStatus.REJECTED, "Too many queries in flight"));
+    }
+    return result;
+  }
+
+  /**
+   * Runs the query on the calling thread with the permit of its cluster. The timeout counts from
+   * here, not while the query waits for a thread. A query which times out is answered right away
+   * and its thread is interrupted, so that the cluster call is abandoned. The permit is only given
+   * back once the cluster call has actually returned, as calls which ignore the interrupt still
+   * load the cluster.
+   */
+  private void run(
+      ClusterQuery clusterQuery,
+      long startMs,
+      long timeoutMs,
+      CompletableFuture<ClusterQueryResult> result) {
+    String clusterHost = clusterQuery.getBootstrapServers();
+    if (!clusterRequestLimiter.tryAcquire(clusterHost)) {
+      result.complete(
+          newResult(
+              clusterQuery,
+              startMs,
+              ClusterQueryStatus.REJECTED,
+              "Too many requests in flight to cluster " + clusterHost));
+      return;
+    }
+    Thread queryThread = Thread.currentThread();
+    Object runLock = new Object();
+    AtomicBoolean running = new AtomicBoolean(true);
+    CompletableFuture.runAsync(
+        () -> {
+          synchronized (runLock) {
+            if (running.get() && !result.isDone()) {
+              result.complete(
+                  newResult(
+                      clusterQuery,
+                      startMs,
+                      ClusterQueryStatus.TIMED_OUT,
+                      "No answer within " + timeoutMs + " ms"));
+              queryThread.interrupt();
+            }
+          }
+        },
+        CompletableFuture.delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS));
+    try {
+      result.complete(execute(clusterQuery, startMs));
+    } finally {
+      synchronized (runLock) {
+        running.set(false);
+      }
+      clusterRequestLimiter.release(clusterHost);
+      result.complete(
+          newResult(clusterQuery, startMs, ClusterQueryStatus.FAILED, "Query did not complete"));
+      // an interrupt of the timeout must not reach the next query of this thread
+      Thread.interrupted();
+    }
+  }
+
+  private ClusterQueryResult execute(ClusterQuery clusterQuery, long startMs) {
+    String clusterHost = clusterQuery.getBootstrapServers();
+    try {
+      ClusterQueryResult clusterQueryResult =
+          newResult(clusterQuery, startMs, ClusterQueryStatus.SUCCESS, null);
+      AclsNativeType aclsNativeType =
+          clusterQuery.getAclsNativeType() == null
+              ? AclsNativeType.NATIVE
+              : clusterQuery.getAclsNativeType();
+      switch (clusterQuery.getQueryType()) {
+        case TOPICS -> clusterQueryResult.setTopics(loadTopics(clusterQuery, aclsNativeType));
+        case ACLS -> clusterQueryResult.setAcls(loadAcls(clusterQuery, aclsNativeType));
+        case TOPIC_METRICS -> {
+          if (AclsNativeType.CONFLUENT_CLOUD == aclsNativeType) {
+            return newResult(
+                clusterQuery,
+                startMs,
+                ClusterQueryStatus.FAILED,
+                "Topic metrics are not available for Confluent Cloud clusters");
+          }
+          clusterQueryResult.setTopicMetrics(
+              topicMetricsService.getTopicMetrics(
+                  clusterHost,
+                  clusterQuery.getProtocol(),
+                  clusterQuery.getClusterIdentification(),
+                  clusterQuery.getTopicName()));
+        }
+        default -> throw new IllegalArgumentException(
+            "Unknown query type " + clusterQuery.getQueryType());
+      }
+      clusterQueryResult.setDurationMs(System.currentTimeMillis() - startMs);
+      return clusterQueryResult;
+    } catch (Exception e) {
+      log.error("Error in query {} of {}", clusterQuery.getQueryId(), clusterHost, e);
+      return newResult(clusterQuery, startMs, ClusterQueryStatus.FAILED, e.getMessage());
+    }
+  }
+
+  private Set<TopicConfig> loadTopics(ClusterQuery clusterQuery, AclsNativeType aclsNativeType)
+      throws Exception {
+    TopicNameFilter topicNameFilter =
+        clusterQuery.getTopicNameFilter() == null
+            ? new TopicNameFilter()
+            : clusterQuery.getTopicNameFilter();
+    if (AclsNativeType.CONFLUENT_CLOUD == aclsNativeType) {
+      // the topics of Confluent Cloud are filtered after listing
+      Set<TopicConfig> topics =
+          new LinkedHashSet<>(
+              confluentCloudApiService.listTopics(
+                  clusterQuery.getBootstrapServers(),
+                  clusterQuery.getProtocol(),
+                  clusterQuery.getClusterIdentification()));
+      topics.removeIf(topic -> !topicNameFilter.matches(topic.getTopicName()));
+      return topics;
+    }
+    return apacheKafkaTopicService.loadTopics(
+        clusterQuery.getBootstrapServers(),
+        clusterQuery.getProtocol(),
+        clusterQuery.getClusterIdentification(),
+        topicNameFilter);
+  }
+
+  private Set<Map<String, String>> loadAcls(
+      ClusterQuery clusterQuery, AclsNativeType aclsNativeType) throws Exception {
+    AclResourceFilter aclResourceFilter =
+        clusterQuery.getAclResourceFilter() == null
+            ? new AclResourceFilter()
+            : clusterQuery.getAclResourceFilter();
+    if (AclsNativeType.NATIVE == aclsNativeType) {
+      return apacheKafkaAclService.loadAcls(
+          clusterQuery.getBootstrapServers(),
+          clusterQuery.getProtocol(),
+          clusterQuery.getClusterIdentification(),
+          aclResourceFilter);
+    }
+    // the acls of Confluent Cloud and Aiven are filtered after listing
+    Set<Map<String, String>> acls =
+        new LinkedHashSet<>(
+            AclsNativeType.CONFLUENT_CLOUD == aclsNativeType
+                ? confluentCloudApiService.listAcls(
+                    clusterQuery.getBootstrapServers(),
+                    clusterQuery.getProtocol(),
+                    clusterQuery.getClusterIdentification())
+                : aivenApiService.listAcls(
+                    clusterQuery.getProjectName(), clusterQuery.getServiceName()));
+    acls.removeIf(acl -> !aclResourceFilter.matches(acl));
+    return acls;
+  }
+
+  private static ClusterQueryResult newResult(
+      ClusterQuery clusterQuery, long startMs, ClusterQueryStatus status, String error) {
+    ClusterQueryResult clusterQueryResult = new ClusterQueryResult();
+    clusterQueryResult.setQueryId(clusterQuery.getQueryId());
+    clusterQueryResult.setClusterIdentification(clusterQuery.getClusterIdentification());
+    clusterQueryResult.setStatus(status);
+    clusterQueryResult.setError(error);
+    clusterQueryResult.setDurationMs(System.currentTimeMillis() - startMs);
+    return clusterQueryResult;
+  }
+}
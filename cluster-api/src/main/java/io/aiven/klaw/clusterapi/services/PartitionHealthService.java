@@ -0,0 +1,363 @@
+package io.aiven.klaw.clusterapi.services;
+
+import com.google.common.collect.Lists;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.partitionhealth.PartitionHealthChanges;
+import io.aiven.klaw.clusterapi.models.partitionhealth.TopicPartitionHealth;
+import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.DescribeConfigsResult;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListTopicsOptions;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scans the partitions of clusters in the background, describing topics in chunks, and keeps the
+ * unhealthy topics with the scan version they last changed in. Readers ask for the changes since
+ * the version they have seen, so a refresh costs the changed topics only. Topics which became
+ * healthy are kept as all zero entries for a number of versions, readers further behind get a full
+ * snapshot. Topics which could not be described in a scan keep their previous state. Clusters which
+ * are not read for the idle timeout are no longer scanned.
+ */
+@Service
+@Slf4j
+public class PartitionHealthService {
+
+  private static final long TIME_OUT_SECS_FOR_SCANS = 30;
+
+  private final ClusterApiUtils clusterApiUtils;
+
+  private final Executor partitionHealthExecutor;
+
+  private final int describeChunkSize;
+
+  private final long retainedVersions;
+
+  private final long idleTimeoutMs;
+
+  private final Map<String, ClusterPartitionHealth> clusterPartitionHealthMap =
+      new ConcurrentHashMap<>();
+
+  @Autowired
+  public PartitionHealthService(
+      ClusterApiUtils clusterApiUtils,
+      @Qualifier("partitionHealthTaskExecutor") Executor partitionHealthExecutor,
+      @Value("${klaw.partitionhealth.describe.chunk.size:500}") int describeChunkSize,
+      @Value("${klaw.partitionhealth.retained.versions:100}") long retainedVersions,
+      @Value("${klaw.partitionhealth.idle.timeout.ms:3600000}") long idleTimeoutMs) {
+    this.clusterApiUtils = clusterApiUtils;
+    this.partitionHealthExecutor = partitionHealthExecutor;
+    this.describeChunkSize = describeChunkSize;
+    this.retainedVersions = retainedVersions;
+    this.idleTimeoutMs = idleTimeoutMs;
+  }
+
+  public PartitionHealthChanges getPartitionHealthChanges(
+      String bootstrapServers,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      long epoch,
+      long sinceVersion) {
+    ClusterPartitionHealth clusterPartitionHealth =
+        clusterPartitionHealthMap.computeIfAbsent(
+            String.join("/", bootstrapServers, protocol.getName(), clusterIdentification),
+            key -> new ClusterPartitionHealth(bootstrapServers, protocol, clusterIdentification));
+    clusterPartitionHealth.lastReadMs = System.currentTimeMillis();
+    if (clusterPartitionHealth.version == 0) {
+      // the first read starts scanning, it is answered with version 0 until the scan is done
+      scheduleScan(clusterPartitionHealth);
+    }
+    return clusterPartitionHealth.getChanges(epoch, sinceVersion);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${klaw.partitionhealth.scan.interval.ms:60000}",
+      initialDelayString = "${klaw.partitionhealth.scan.interval.ms:60000}")
+  public void scanPartitionHealth() {
+    long now = System.currentTimeMillis();
+    clusterPartitionHealthMap.forEach(
+        (key, clusterPartitionHealth) -> {
+          if (now - clusterPartitionHealth.lastReadMs >= idleTimeoutMs) {
+            log.info("Stopped scanning partition health of idle cluster {}", key);
+            clusterPartitionHealthMap.remove(key, clusterPartitionHealth);
+          } else {
+            scheduleScan(clusterPartitionHealth);
+          }
+        });
+  }
+
+  private void scheduleScan(ClusterPartitionHealth clusterPartitionHealth) {
+    // a cluster slower than the scan interval skips scans instead of queueing them
+    if (!clusterPartitionHealth.scanning.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      partitionHealthExecutor.execute(
+          () -> {
+            try {
+              clusterPartitionHealth.applyScan(scan(clusterPartitionHealth), retainedVersions);
+            } catch (Exception e) {
+              log.error(
+                  "Error scanning partition health of {}",
+                  clusterPartitionHealth.bootstrapServers,
+                  e);
+            } finally {
+              clusterPartitionHealth.scanning.set(false);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      clusterPartitionHealth.scanning.set(false);
+      log.warn("Scanning partition health of {} rejected", clusterPartitionHealth.bootstrapServers);
+    }
+  }
+
+  /** Returns the unhealthy topics of the cluster, and the topics whose health is unknown. */
+  private ScanResult scan(ClusterPartitionHealth clusterPartitionHealth) throws Exception {
+    Admin client =
+        clusterApiUtils.getAdminClient(
+            clusterPartitionHealth.bootstrapServers,
+            clusterPartitionHealth.protocol,
+            clusterPartitionHealth.clusterIdentification);
+    if (client == null) {
+      throw new Exception("Cannot connect to cluster.");
+    }
+
+    List<String> topicNames =
+        new ArrayList<>(
+            client
+                .listTopics(new ListTopicsOptions().listInternal(false))
+                .names()
+                .get(TIME_OUT_SECS_FOR_SCANS, TimeUnit.SECONDS));
+    ScanResult scanResult = new ScanResult(new HashMap<>(), new HashSet<>());
+    for (List<String> chunk : Lists.partition(topicNames, describeChunkSize)) {
+      DescribeTopicsResult describeTopicsResult = client.describeTopics(chunk);
+      DescribeConfigsResult describeConfigsResult =
+          client.describeConfigs(
+              chunk.stream()
+                  .map(topicName -> new ConfigResource(ConfigResource.Type.TOPIC, topicName))
+                  .toList());
+      for (String topicName : chunk) {
+        try {
+          TopicDescription topicDescription =
+              get(describeTopicsResult.topicNameValues().get(topicName));
+          Config config =
+              get(
+                  describeConfigsResult
+                      .values()
+                      .get(new ConfigResource(ConfigResource.Type.TOPIC, topicName)));
+          // topics deleted since they were listed are skipped
+          if (topicDescription == null || config == null) {
+            continue;
+          }
+          Integer minInSyncReplicas = getMinInSyncReplicas(config);
+          if (minInSyncReplicas == null) {
+            scanResult.getUnknownTopics().add(topicName);
+            continue;
+          }
+          TopicPartitionHealth topicPartitionHealth =
+              getTopicPartitionHealth(topicDescription, minInSyncReplicas);
+          if (!topicPartitionHealth.isHealthy()) {
+            scanResult.getUnhealthyTopics().put(topicName, topicPartitionHealth);
+          }
+        } catch (ExecutionException | TimeoutException e) {
+          log.debug("Unable to describe topic {}", topicName, e);
+          scanResult.getUnknownTopics().add(topicName);
+        }
+      }
+    }
+    return scanResult;
+  }
+
+  static TopicPartitionHealth getTopicPartitionHealth(
+      TopicDescription topicDescription, int minInSyncReplicas) {
+    TopicPartitionHealth topicPartitionHealth = new TopicPartitionHealth();
+    topicPartitionHealth.setTopicName(topicDescription.name());
+    topicPartitionHealth.setPartitions(topicDescription.partitions().size());
+    for (TopicPartitionInfo partition : topicDescription.partitions()) {
+      Node leader = partition.leader();
+      boolean offline = leader == null || leader.isEmpty();
+      int inSyncReplicas = partition.isr().size();
+      if (offline) {
+        topicPartitionHealth.setOffline(topicPartitionHealth.getOffline() + 1);
+      } else if (!partition.replicas().isEmpty()
+          && leader.id() != partition.replicas().get(0).id()) {
+        topicPartitionHealth.setLeaderSkewed(topicPartitionHealth.getLeaderSkewed() + 1);
+      }
+      if (inSyncReplicas < partition.replicas().size()) {
+        topicPartitionHealth.setUnderReplicated(topicPartitionHealth.getUnderReplicated() + 1);
+      }
+      if (inSyncReplicas < minInSyncReplicas) {
+        topicPartitionHealth.setUnderMinIsr(topicPartitionHealth.getUnderMinIsr() + 1);
+      }
+    }
+    return topicPartitionHealth;
+  }
+
+  /** Returns null when the topic config has no valid min.insync.replicas. */
+  private static Integer getMinInSyncReplicas(Config config) {
+    ConfigEntry configEntry = config.get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+    if (configEntry == null || configEntry.value() == null) {
+      return null;
+    }
+    try {
+      return Integer.parseInt(configEntry.value());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /** Returns null when the topic was deleted since it was listed. */
+  private static <T> T get(KafkaFuture<T> future)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    if (future == null) {
+      throw new ExecutionException("Topic missing from the describe result.", null);
+    }
+    try {
+      return future.get(TIME_OUT_SECS_FOR_SCANS, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UnknownTopicOrPartitionException) {
+        return null;
+      }
+      throw e;
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class ScanResult {
+
+    private final Map<String, TopicPartitionHealth> unhealthyTopics;
+
+    // topics which could not be described, they keep the state of the previous scan
+    private final Set<String> unknownTopics;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class VersionedTopicPartitionHealth {
+
+    private final TopicPartitionHealth topicPartitionHealth;
+
+    private final long version;
+  }
+
+  private static class ClusterPartitionHealth {
+
+    private final String bootstrapServers;
+
+    private final KafkaSupportedProtocol protocol;
+
+    private final String clusterIdentification;
+
+    private final long epoch = System.currentTimeMillis();
+
+    private final AtomicBoolean scanning = new AtomicBoolean();
+
+    private volatile long lastReadMs;
+
+    private volatile long version;
+
+    // readers which have seen an older version may have missed pruned recoveries
+    private long oldestDeltaVersion = 1;
+
+    // unhealthy topics, and topics which recovered within the retained versions
+    private final Map<String, VersionedTopicPartitionHealth> topicHealthMap = new HashMap<>();
+
+    ClusterPartitionHealth(
+        String bootstrapServers, KafkaSupportedProtocol protocol, String clusterIdentification) {
+      this.bootstrapServers = bootstrapServers;
+      this.protocol = protocol;
+      this.clusterIdentification = clusterIdentification;
+    }
+
+    synchronized void applyScan(ScanResult scanResult, long retainedVersions) {
+      Map<String, TopicPartitionHealth> unhealthyTopics = scanResult.getUnhealthyTopics();
+      long scanVersion = version + 1;
+      boolean changed = version == 0;
+      for (TopicPartitionHealth topicPartitionHealth : unhealthyTopics.values()) {
+        VersionedTopicPartitionHealth previous =
+            topicHealthMap.get(topicPartitionHealth.getTopicName());
+        if (previous == null || !previous.getTopicPartitionHealth().equals(topicPartitionHealth)) {
+          topicHealthMap.put(
+              topicPartitionHealth.getTopicName(),
+              new VersionedTopicPartitionHealth(topicPartitionHealth, scanVersion));
+          changed = true;
+        }
+      }
+      for (Map.Entry<String, VersionedTopicPartitionHealth> entry : topicHealthMap.entrySet()) {
+        TopicPartitionHealth previous = entry.getValue().getTopicPartitionHealth();
+        if (!previous.isHealthy()
+            && !unhealthyTopics.containsKey(entry.getKey())
+            && !scanResult.getUnknownTopics().contains(entry.getKey())) {
+          TopicPartitionHealth recovered = new TopicPartitionHealth();
+          recovered.setTopicName(entry.getKey());
+          recovered.setPartitions(previous.getPartitions());
+          entry.setValue(new VersionedTopicPartitionHealth(recovered, scanVersion));
+          changed = true;
+        }
+      }
+      if (changed) {
+        version = scanVersion;
+      }
+
+      long pruneVersion = version - retainedVersions;
+      if (topicHealthMap
+          .values()
+          .removeIf(
+              entry ->
+                  entry.getTopicPartitionHealth().isHealthy()
+                      && entry.getVersion() <= pruneVersion)) {
+        oldestDeltaVersion = Math.max(oldestDeltaVersion, pruneVersion);
+      }
+    }
+
+    synchronized PartitionHealthChanges getChanges(long readerEpoch, long sinceVersion) {
+      PartitionHealthChanges partitionHealthChanges = new PartitionHealthChanges();
+      partitionHealthChanges.setEpoch(epoch);
+      partitionHealthChanges.setVersion(version);
+      if (version == 0) {
+        return partitionHealthChanges;
+      }
+      boolean fullSnapshot =
+          readerEpoch != epoch || sinceVersion < oldestDeltaVersion || sinceVersion > version;
+      partitionHealthChanges.setFullSnapshot(fullSnapshot);
+      for (VersionedTopicPartitionHealth entry : topicHealthMap.values()) {
+        if (fullSnapshot
+            ? !entry.getTopicPartitionHealth().isHealthy()
+            : entry.getVersion() > sinceVersion) {
+          partitionHealthChanges.getChangedTopics().add(entry.getTopicPartitionHealth());
+        }
+      }
+      return partitionHealthChanges;
+    }
+  }
+}
@@ -1,5 +1,17 @@
 package io.aiven.klaw.clusterapi.services;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterSchemaRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
@@ -7,6 +19,7 @@ import io.aiven.klaw.clusterapi.models.RegisterSchemaCustomResponse;
 import io.aiven.klaw.clusterapi.models.RegisterSchemaResponse;
 import io.aiven.klaw.clusterapi.models.SchemaCompatibilityCheckResponse;
 import io.aiven.klaw.clusterapi.models.SchemaInfoCacheKeySet;
+import io.aiven.klaw.clusterapi.models.SchemaInfoCacheStats;
 import io.aiven.klaw.clusterapi.models.SchemaInfoOfTopic;
 import io.aiven.klaw.clusterapi.models.SchemasInfoOfClusterResponse;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
@@ -14,10 +27,15 @@ import io.aiven.klaw.clusterapi.models.enums.ClusterStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaClustersType;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.models.enums.SchemaCacheUpdateType;
+import io.aiven.klaw.clusterapi.utils.AvroSchemaCompatibility;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.SchemaVersionCache;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -25,9 +43,18 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaParseException;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
@@ -57,10 +84,8 @@ public class SchemaService {
   private static final ParameterizedTypeReference<List<String>> GET_SUBJECTS_TYPEREF =
       new ParameterizedTypeReference<>() {};
 
-  private static Map<String, SchemasInfoOfClusterResponse> schemasInfoOfClusterResponseMap =
-      new HashMap<>();
-
-  private static Map<String, SchemaInfoCacheKeySet> schemasInfoCacheKeySetMap = new HashMap<>();
+  private static final ParameterizedTypeReference<List<Map<String, Object>>>
+      GET_SCHEMAS_TYPEREF = new ParameterizedTypeReference<>() {};
 
   public static final String SCHEMA_REGISTRY_CONTENT_TYPE =
       "application/vnd.schemaregistry.v1+json";
@@ -69,6 +94,9 @@ public class SchemaService {
 
   public static final String SCHEMA_SUBJECTS_URI = "subjects";
 
+  // Every version of every subject, page by page (Confluent Schema Registry 7.x onwards)
+  public static final String SCHEMAS_URI = "schemas";
+
   public static final String TOPIC_COMPATIBILITY_URI_TEMPLATE =
       "/compatibility/subjects/{topic_name}-value/versions/latest";
 
@@ -78,13 +106,112 @@ public class SchemaService {
   @Value("${klaw.schemaregistry.compatibility.default:BACKWARD}")
   private String defaultSchemaCompatibility;
 
+  @Value("${klaw.schemaregistry.compatibility.local.enabled:true}")
+  private boolean localCompatibilityCheckEnabled;
+
+  @Value("${klaw.schemaregistry.compatibility.cache.ttl.seconds:300}")
+  private long compatibilityLevelCacheTtlSeconds;
+
+  @Value("${klaw.schemaregistry.schemas.page.size:1000}")
+  private int schemasPageSize = 1000;
+
+  // subject -> effective compatibility level and the time it was read from the registry
+  private final Cache<String, Pair<String, Long>> compatibilityLevelCache =
+      CacheBuilder.newBuilder().maximumSize(10000).build();
+
+  // registrations of one subject are serialized, registrations of different subjects run in
+  // parallel
+  private final Striped<Lock> subjectRegistrationLocks = Striped.lock(64);
+
   final ClusterApiUtils clusterApiUtils;
 
-  public SchemaService(ClusterApiUtils clusterApiUtils) {
+  private final SchemaVersionCache schemaVersionCache;
+
+  private final Executor schemaDiscoveryExecutor;
+
+  private final Executor schemaRegistrationExecutor;
+
+  // Bounded per registry cache of subjects and versions. Entries older than the refresh interval
+  // are still served while they are reloaded in the background, and concurrent requests for a
+  // registry which is not cached yet wait on a single load.
+  private final LoadingCache<SchemaInfoCacheKeySet, SchemaInfoCacheEntry> schemasInfoCache;
+
+  // Latest reload per registry, so that an explicit refresh can wait for the reload it joined. An
+  // entry is kept after the reload completes, as the cache stores the reloaded value only after
+  // the listeners of the reload ran, and is replaced by the next reload or dropped with the
+  // registry.
+  private final Map<SchemaInfoCacheKeySet, ListenableFuture<SchemaInfoCacheEntry>> pendingReloads =
+      new ConcurrentHashMap<>();
+
+  // registries whose next reload lists every version again instead of reusing unchanged subjects
+  private final Set<SchemaInfoCacheKeySet> fullScanRequests = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public SchemaService(
+      ClusterApiUtils clusterApiUtils,
+      SchemaVersionCache schemaVersionCache,
+      @Qualifier("schemaDiscoveryTaskExecutor") Executor schemaDiscoveryExecutor,
+      @Qualifier("resetSchemaCacheTaskExecutor") Executor schemaCacheRefreshExecutor,
+      @Qualifier("schemaRegistrationTaskExecutor") Executor schemaRegistrationExecutor,
+      @Value("${klaw.schemainfo.cache.maxsize:100}") long schemaInfoCacheMaxSize,
+      @Value("${klaw.schemainfo.cache.refresh.interval.minutes:60}")
+          long schemaInfoCacheRefreshIntervalMinutes) {
     this.clusterApiUtils = clusterApiUtils;
+    this.schemaVersionCache = schemaVersionCache;
+    this.schemaDiscoveryExecutor = schemaDiscoveryExecutor;
+    this.schemaRegistrationExecutor = schemaRegistrationExecutor;
+    this.schemasInfoCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(schemaInfoCacheMaxSize)
+            .refreshAfterWrite(Duration.ofMinutes(schemaInfoCacheRefreshIntervalMinutes))
+            .recordStats()
+            .removalListener(
+                (RemovalListener<SchemaInfoCacheKeySet, SchemaInfoCacheEntry>)
+                    notification -> {
+                      if (notification.getCause() != RemovalCause.REPLACED) {
+                        pendingReloads.remove(notification.getKey());
+                      }
+                    })
+            .build(
+                new CacheLoader<>() {
+                  @Override
+                  public SchemaInfoCacheEntry load(SchemaInfoCacheKeySet key) {
+                    fullScanRequests.remove(key);
+                    pendingReloads.remove(key);
+                    return loadSchemasInfo(key, null);
+                  }
+
+                  @Override
+                  public ListenableFuture<SchemaInfoCacheEntry> reload(
+                      SchemaInfoCacheKeySet key, SchemaInfoCacheEntry oldValue) {
+                    SchemaInfoCacheEntry previousEntry =
+                        fullScanRequests.remove(key) ? null : oldValue;
+                    ListenableFutureTask<SchemaInfoCacheEntry> reloadTask =
+                        ListenableFutureTask.create(() -> loadSchemasInfo(key, previousEntry));
+                    pendingReloads.put(key, reloadTask);
+                    schemaCacheRefreshExecutor.execute(reloadTask);
+                    return reloadTask;
+                  }
+                });
+  }
+
+  /**
+   * Registers the schema on its subject. Registrations of the same subject run one at a time, as a
+   * force register changes the compatibility of the subject until the schema is registered.
+   */
+  public ApiResponse registerSchema(ClusterSchemaRequest clusterSchemaRequest) {
+    Lock subjectLock =
+        subjectRegistrationLocks.get(
+            clusterSchemaRequest.getEnv() + "/" + clusterSchemaRequest.getTopicName());
+    subjectLock.lock();
+    try {
+      return registerSchemaOfSubject(clusterSchemaRequest);
+    } finally {
+      subjectLock.unlock();
+    }
   }
 
-  public synchronized ApiResponse registerSchema(ClusterSchemaRequest clusterSchemaRequest) {
+  private ApiResponse registerSchemaOfSubject(ClusterSchemaRequest clusterSchemaRequest) {
     String schemaCompatibility = null;
     boolean schemaCompatibilitySetOnSubject = false;
     try {
@@ -153,6 +280,37 @@ public class SchemaService {
     }
   }
 
+  /**
+   * Registers schemas of several subjects in one call, in parallel on a bounded executor.
+   * Registrations of the same subject still run one at a time. A failure on one subject does not
+   * stop the registration of the others.
+   *
+   * @return data holds the response of {@link #registerSchema(ClusterSchemaRequest)} per request,
+   *     in the order of the requests
+   */
+  public ApiResponse registerSchemas(List<ClusterSchemaRequest> clusterSchemaRequests) {
+    List<CompletableFuture<ApiResponse>> registrations = new ArrayList<>();
+    for (ClusterSchemaRequest clusterSchemaRequest : clusterSchemaRequests) {
+      registrations.add(
+          CompletableFuture.supplyAsync(
+                  () -> registerSchema(clusterSchemaRequest), schemaRegistrationExecutor)
+              .exceptionally(
+                  e ->
+                      ApiResponse.builder()
+                          .success(false)
+                          .message("Failure in registering schema." + e.getMessage())
+                          .build()));
+    }
+    List<ApiResponse> registerSchemaResponses =
+        registrations.stream().map(CompletableFuture::join).toList();
+    boolean allRegistered = registerSchemaResponses.stream().allMatch(ApiResponse::isSuccess);
+    return ApiResponse.builder()
+        .success(allRegistered)
+        .message(allRegistered ? ApiResultStatus.SUCCESS.value : ApiResultStatus.FAILURE.value)
+        .data(registerSchemaResponses)
+        .build();
+  }
+
   private void resetCompatibilityOnSubject(
       ClusterSchemaRequest clusterSchemaRequest,
       String schemaCompatibility,
@@ -252,33 +410,28 @@ public class SchemaService {
       Map<Integer, Map<String, Object>> allSchemaObjects = new TreeMap<>();
 
       if (versionsList != null) {
+        String subject = topicName + SCHEMA_VALUE_URI;
+        // an empty list is also returned when the registry could not be reached
+        if (!versionsList.isEmpty()) {
+          schemaVersionCache.retainVersions(
+              environmentVal, clusterIdentification, subject, versionsList);
+        }
         for (Integer schemaVersion : versionsList) {
-          String suffixUrl =
-              environmentVal
-                  + "/"
-                  + SCHEMA_SUBJECTS_URI
-                  + "/"
-                  + topicName
-                  + SCHEMA_VALUE_URI
-                  + "/versions/"
-                  + schemaVersion;
-          Pair<String, RestTemplate> reqDetails =
-              clusterApiUtils.getRequestDetails(suffixUrl, protocol);
-
-          Map<String, String> params = new HashMap<>();
-          HttpEntity<Object> request = createSchemaRegistryRequest(clusterIdentification);
-
-          ResponseEntity<Map<String, Object>> responseNew =
-              reqDetails
-                  .getRight()
-                  .exchange(
-                      reqDetails.getLeft(), HttpMethod.GET, request, GET_SCHEMA_TYPEREF, params);
-          Map<String, Object> schemaResponse = responseNew.getBody();
+          // registered versions are immutable, only versions not held yet are downloaded
+          Map<String, Object> schemaResponse =
+              schemaVersionCache
+                  .get(environmentVal, clusterIdentification, subject, schemaVersion)
+                  .orElseGet(
+                      () ->
+                          getSchemaVersion(
+                              environmentVal,
+                              protocol,
+                              clusterIdentification,
+                              subject,
+                              schemaVersion));
           if (schemaResponse != null) {
             schemaResponse.put("compatibility", schemaCompatibility);
           }
-
-          log.info(Objects.requireNonNull(responseNew.getBody()).toString());
           allSchemaObjects.put(schemaVersion, schemaResponse);
         }
       }
@@ -290,6 +443,30 @@ public class SchemaService {
     }
   }
 
+  private Map<String, Object> getSchemaVersion(
+      String environmentVal,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      String subject,
+      Integer schemaVersion) {
+    String suffixUrl =
+        environmentVal + "/" + SCHEMA_SUBJECTS_URI + "/" + subject + "/versions/" + schemaVersion;
+    Pair<String, RestTemplate> reqDetails = clusterApiUtils.getRequestDetails(suffixUrl, protocol);
+
+    Map<String, String> params = new HashMap<>();
+    HttpEntity<Object> request = createSchemaRegistryRequest(clusterIdentification);
+
+    ResponseEntity<Map<String, Object>> responseNew =
+        reqDetails
+            .getRight()
+            .exchange(reqDetails.getLeft(), HttpMethod.GET, request, GET_SCHEMA_TYPEREF, params);
+    Map<String, Object> schemaResponse = responseNew.getBody();
+    log.info(Objects.requireNonNull(schemaResponse).toString());
+    schemaVersionCache.put(
+        environmentVal, clusterIdentification, subject, schemaVersion, schemaResponse);
+    return schemaResponse;
+  }
+
   private Set<Integer> getSchemaVersions(
       String environmentVal,
       String topicName,
@@ -433,6 +610,8 @@ public class SchemaService {
       HttpEntity<Map<String, String>> request = new HttpEntity<>(params, headers);
 
       reqDetails.getRight().put(reqDetails.getLeft(), request, String.class);
+      compatibilityLevelCache.invalidate(
+          getCompatibilityLevelCacheKey(environmentVal, clusterIdentification, topicName));
       return true;
     } catch (Exception e) {
       log.error("Error in setting schema compatibility ", e);
@@ -490,6 +669,10 @@ public class SchemaService {
               request,
               new ParameterizedTypeReference<>() {});
       log.info("Schema deleted {}", clusterTopicRequest);
+      schemaVersionCache.evictSubject(
+          clusterTopicRequest.getSchemaEnv(),
+          clusterTopicRequest.getSchemaClusterIdentification(),
+          clusterTopicRequest.getTopicName() + SCHEMA_VALUE_URI);
 
       try {
         CompletableFuture.runAsync(
@@ -532,6 +715,14 @@ public class SchemaService {
       String clusterIdentification) {
     try {
       log.info("Check Schema Compatibility for TopicName: {}", topicName);
+      if (localCompatibilityCheckEnabled) {
+        Optional<ApiResponse> localCompatibilityResponse =
+            checkSchemaCompatibilityLocally(
+                schema, topicName, schemaProtocol, schemaEnv, clusterIdentification);
+        if (localCompatibilityResponse.isPresent()) {
+          return localCompatibilityResponse.get();
+        }
+      }
       if (isFirstSchema(topicName, schemaProtocol, schemaEnv, clusterIdentification)) {
         return ApiResponse.builder().success(true).message("No Existing Schemas").build();
       }
@@ -580,6 +771,158 @@ public class SchemaService {
     }
   }
 
+  /**
+   * Validates an Avro schema against the cached versions of the subject, honouring the subject
+   * compatibility level. Returns empty whenever the answer has to come from the registry: the
+   * subject is not cached yet, has no versions, uses another schema type or an unknown level. The
+   * schema type is taken from the latest version, so only schemas of Avro subjects are parsed here.
+   * The cached versions can be stale, so a schema found incompatible is confirmed on the registry
+   * instead of being rejected here.
+   */
+  private Optional<ApiResponse> checkSchemaCompatibilityLocally(
+      String schema,
+      String topicName,
+      KafkaSupportedProtocol schemaProtocol,
+      String schemaEnv,
+      String clusterIdentification) {
+    try {
+      SchemaInfoCacheEntry schemaInfoCacheEntry =
+          schemasInfoCache.getIfPresent(
+              new SchemaInfoCacheKeySet(schemaEnv, schemaProtocol, clusterIdentification));
+      if (schemaInfoCacheEntry == null) {
+        return Optional.empty();
+      }
+      Optional<Set<Integer>> schemaVersions =
+          schemaInfoCacheEntry.getSchemasInfoOfClusterResponse().getSchemaInfoOfTopicList().stream()
+              .filter(schemaInfoOfTopic -> schemaInfoOfTopic.getTopic().equals(topicName))
+              .map(SchemaInfoOfTopic::getSchemaVersions)
+              .filter(versions -> versions != null && !versions.isEmpty())
+              .findFirst();
+      if (schemaVersions.isEmpty()) {
+        return Optional.empty();
+      }
+
+      List<Integer> versionsLatestFirst = new ArrayList<>(schemaVersions.get());
+      versionsLatestFirst.sort(Collections.reverseOrder());
+      String subject = topicName + SCHEMA_VALUE_URI;
+      Map<String, Object> latestSchemaVersion =
+          getCachedSchemaVersion(
+              schemaEnv,
+              schemaProtocol,
+              clusterIdentification,
+              subject,
+              versionsLatestFirst.get(0));
+      if (!isAvroSchemaVersion(latestSchemaVersion)) {
+        return Optional.empty();
+      }
+
+      try {
+        new Schema.Parser().parse(schema);
+      } catch (SchemaParseException e) {
+        log.info("Invalid Avro schema for Topic {}: {}", topicName, e.getMessage());
+        return Optional.of(
+            ApiResponse.builder()
+                .success(false)
+                .message(
+                    ApiResultStatus.FAILURE.value
+                        + " Invalid Schema. Unable to validate Schema Compatibility.")
+                .build());
+      }
+
+      String compatibilityLevel =
+          getEffectiveCompatibilityLevel(
+              schemaEnv, schemaProtocol, clusterIdentification, topicName);
+      if (!AvroSchemaCompatibility.SUPPORTED_COMPATIBILITY_LEVELS.contains(compatibilityLevel)) {
+        return Optional.empty();
+      }
+
+      if (!compatibilityLevel.endsWith("_TRANSITIVE")) {
+        versionsLatestFirst = versionsLatestFirst.subList(0, 1);
+      }
+      List<String> previousSchemas = new ArrayList<>();
+      for (Integer version : versionsLatestFirst) {
+        Map<String, Object> schemaVersion =
+            getCachedSchemaVersion(
+                schemaEnv, schemaProtocol, clusterIdentification, subject, version);
+        if (!isAvroSchemaVersion(schemaVersion)) {
+          return Optional.empty();
+        }
+        previousSchemas.add((String) schemaVersion.get("schema"));
+      }
+
+      List<String> incompatibilities =
+          AvroSchemaCompatibility.check(schema, previousSchemas, compatibilityLevel);
+      if (incompatibilities.isEmpty()) {
+        return Optional.of(
+            ApiResponse.builder()
+                .success(true)
+                .message(ApiResultStatus.SUCCESS.value + " Schema is compatible.")
+                .build());
+      }
+      log.info(
+          "Schema for Topic {} is not {} compatible with the cached versions {}, confirming on"
+              + " registry",
+          topicName,
+          compatibilityLevel,
+          incompatibilities);
+      return Optional.empty();
+    } catch (Exception e) {
+      log.error("Local schema compatibility check failed, validating on registry ", e);
+      return Optional.empty();
+    }
+  }
+
+  private Map<String, Object> getCachedSchemaVersion(
+      String schemaEnv,
+      KafkaSupportedProtocol schemaProtocol,
+      String clusterIdentification,
+      String subject,
+      Integer version) {
+    return schemaVersionCache
+        .get(schemaEnv, clusterIdentification, subject, version)
+        .orElseGet(
+            () ->
+                getSchemaVersion(
+                    schemaEnv, schemaProtocol, clusterIdentification, subject, version));
+  }
+
+  // the registry leaves out the schema type of Avro schemas
+  private static boolean isAvroSchemaVersion(Map<String, Object> schemaVersion) {
+    Object schemaType = schemaVersion.get("schemaType");
+    return schemaType == null || "AVRO".equals(schemaType);
+  }
+
+  private String getEffectiveCompatibilityLevel(
+      String schemaEnv,
+      KafkaSupportedProtocol schemaProtocol,
+      String clusterIdentification,
+      String topicName) {
+    String cacheKey = getCompatibilityLevelCacheKey(schemaEnv, clusterIdentification, topicName);
+    Pair<String, Long> cachedCompatibilityLevel = compatibilityLevelCache.getIfPresent(cacheKey);
+    if (cachedCompatibilityLevel != null
+        && System.currentTimeMillis() - cachedCompatibilityLevel.getRight()
+            < compatibilityLevelCacheTtlSeconds * 1000) {
+      return cachedCompatibilityLevel.getLeft();
+    }
+
+    String compatibilityLevel =
+        getSubjectSchemaCompatibility(schemaEnv, topicName, schemaProtocol, clusterIdentification);
+    if (Objects.equals(compatibilityLevel, SCHEMA_COMPATIBILITY_NOT_SET)) {
+      compatibilityLevel =
+          getGlobalSchemaCompatibility(schemaEnv, schemaProtocol, clusterIdentification);
+    }
+    if (AvroSchemaCompatibility.SUPPORTED_COMPATIBILITY_LEVELS.contains(compatibilityLevel)) {
+      compatibilityLevelCache.put(
+          cacheKey, Pair.of(compatibilityLevel, System.currentTimeMillis()));
+    }
+    return compatibilityLevel;
+  }
+
+  private static String getCompatibilityLevelCacheKey(
+      String schemaEnv, String clusterIdentification, String topicName) {
+    return schemaEnv + clusterIdentification + "/" + topicName;
+  }
+
   public boolean isFirstSchema(
       String topicName,
       KafkaSupportedProtocol schemaProtocol,
@@ -636,26 +979,58 @@ public class SchemaService {
         protocol,
         clusterIdentification);
 
-    String schemasVersionsStorageKey = bootstrapServers + clusterIdentification;
+    SchemaInfoCacheKeySet schemaInfoCacheKeySet =
+        new SchemaInfoCacheKeySet(bootstrapServers, protocol, clusterIdentification);
 
-    if (schemasInfoOfClusterResponseMap.containsKey(schemasVersionsStorageKey) && !updateMap) {
-      return schemasInfoOfClusterResponseMap.get(schemasVersionsStorageKey);
+    if (!updateMap) {
+      return getSchemasInfo(schemaInfoCacheKeySet);
     }
 
-    if (updateType != SchemaCacheUpdateType.NONE
-        && !schemasInfoOfClusterResponseMap
-            .get(schemasVersionsStorageKey)
-            .getSchemaInfoOfTopicList()
-            .isEmpty()) {
-      return handleInterimUpdatesOnSchemas(
-          bootstrapServers,
-          protocol,
-          clusterIdentification,
-          updateType,
-          topicName,
-          schemasVersionsStorageKey);
+    if (updateType != SchemaCacheUpdateType.NONE) {
+      // a registry which is not cached yet is loaded on its next read
+      return handleInterimUpdatesOnSchemas(schemaInfoCacheKeySet, updateType, topicName);
     }
 
+    return refreshSchemasInfo(schemaInfoCacheKeySet);
+  }
+
+  private SchemasInfoOfClusterResponse getSchemasInfo(SchemaInfoCacheKeySet schemaInfoCacheKeySet) {
+    try {
+      return schemasInfoCache.getUnchecked(schemaInfoCacheKeySet).getSchemasInfoOfClusterResponse();
+    } catch (UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  // Reloads through the cache loader and waits for it. Concurrent refreshes of a registry share a
+  // single reload, and readers are served the previous entry until it completes.
+  private SchemasInfoOfClusterResponse refreshSchemasInfo(
+      SchemaInfoCacheKeySet schemaInfoCacheKeySet) {
+    schemasInfoCache.refresh(schemaInfoCacheKeySet);
+    ListenableFuture<SchemaInfoCacheEntry> pendingReload =
+        pendingReloads.get(schemaInfoCacheKeySet);
+    if (pendingReload != null) {
+      try {
+        return pendingReload.get().getSchemasInfoOfClusterResponse();
+      } catch (ExecutionException e) {
+        log.error("Error reloading schemas of {}", schemaInfoCacheKeySet.getBootstrapServers(), e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return getSchemasInfo(schemaInfoCacheKeySet);
+  }
+
+  // The first load and the daily full scan list every version of every subject in bulk. Other
+  // reloads list only the latest version of each subject, and reuse the versions of the previous
+  // load for subjects whose latest version and schema id did not change.
+  private SchemaInfoCacheEntry loadSchemasInfo(
+      SchemaInfoCacheKeySet schemaInfoCacheKeySet, SchemaInfoCacheEntry previousEntry) {
+    String bootstrapServers = schemaInfoCacheKeySet.getBootstrapServers();
+    KafkaSupportedProtocol protocol = schemaInfoCacheKeySet.getProtocol();
+    String clusterIdentification = schemaInfoCacheKeySet.getClusterIdentification();
+
     SchemasInfoOfClusterResponse schemasInfoOfClusterResponse = new SchemasInfoOfClusterResponse();
     String suffixUrl = bootstrapServers + "/" + SCHEMA_SUBJECTS_URI;
     Pair<String, RestTemplate> reqDetails = clusterApiUtils.getRequestDetails(suffixUrl, protocol);
@@ -668,81 +1043,250 @@ public class SchemaService {
             .getRight()
             .exchange(reqDetails.getLeft(), HttpMethod.GET, request, GET_SUBJECTS_TYPEREF, params);
 
-    List<SchemaInfoOfTopic> schemaInfoOfTopicList = new ArrayList<>();
+    List<String> topicList = new ArrayList<>();
     List<String> subjectList = responseList.getBody();
     if (subjectList != null) {
       for (String subject : subjectList) {
         if (subject.indexOf(SCHEMA_VALUE_URI) > 0) {
-          subject = subject.substring(0, subject.indexOf(SCHEMA_VALUE_URI));
-          Set<Integer> schemaVersions =
-              getSchemaVersions(bootstrapServers, subject, protocol, clusterIdentification);
-          SchemaInfoOfTopic schemaInfoOfTopic = new SchemaInfoOfTopic();
-          schemaInfoOfTopic.setTopic(subject);
-          schemaInfoOfTopic.setSchemaVersions(schemaVersions);
-          schemaInfoOfTopicList.add(schemaInfoOfTopic);
+          topicList.add(subject.substring(0, subject.indexOf(SCHEMA_VALUE_URI)));
+        }
+      }
+    }
+
+    boolean fullScan = previousEntry == null;
+    Map<String, Set<Integer>> previousSchemaVersions = new HashMap<>();
+    if (!fullScan) {
+      for (SchemaInfoOfTopic schemaInfoOfTopic :
+          previousEntry.getSchemasInfoOfClusterResponse().getSchemaInfoOfTopicList()) {
+        if (schemaInfoOfTopic.getSchemaVersions() != null) {
+          previousSchemaVersions.put(
+              schemaInfoOfTopic.getTopic(), schemaInfoOfTopic.getSchemaVersions());
         }
       }
     }
 
+    Map<String, Set<Integer>> knownSchemaVersions = new HashMap<>();
+    Map<String, Pair<Integer, Object>> latestSchemaVersions = new HashMap<>();
+    listSchemasBySubject(bootstrapServers, protocol, clusterIdentification, !fullScan)
+        .orElse(Collections.emptyMap())
+        .forEach(
+            (subject, schemas) -> {
+              String topic = subject.substring(0, subject.indexOf(SCHEMA_VALUE_URI));
+              Map<String, Object> latestSchema =
+                  Collections.max(
+                      schemas, Comparator.comparing(schema -> (Integer) schema.get("version")));
+              Pair<Integer, Object> latestSchemaVersion =
+                  Pair.of((Integer) latestSchema.get("version"), latestSchema.get("id"));
+              latestSchemaVersions.put(topic, latestSchemaVersion);
+              cacheListedSchemaVersions(
+                  bootstrapServers, clusterIdentification, subject, latestSchemaVersion, schemas);
+
+              if (fullScan) {
+                Set<Integer> versions = new HashSet<>();
+                schemas.forEach(schema -> versions.add((Integer) schema.get("version")));
+                knownSchemaVersions.put(topic, versions);
+              } else if (previousSchemaVersions.containsKey(topic)
+                  && latestSchemaVersion.equals(
+                      previousEntry.getLatestSchemaVersions().get(topic))) {
+                knownSchemaVersions.put(topic, previousSchemaVersions.get(topic));
+              }
+            });
+
+    // subjects which are new, changed or missing from the listing are fetched one by one
+    Map<String, CompletableFuture<Set<Integer>>> schemaVersionsFutures = new HashMap<>();
+    for (String topic : topicList) {
+      if (!knownSchemaVersions.containsKey(topic)) {
+        schemaVersionsFutures.put(
+            topic,
+            CompletableFuture.supplyAsync(
+                () -> getSchemaVersions(bootstrapServers, topic, protocol, clusterIdentification),
+                schemaDiscoveryExecutor));
+      }
+    }
+    log.info(
+        "Schema versions of {} subjects listed or unchanged, {} fetched from {}",
+        topicList.size() - schemaVersionsFutures.size(),
+        schemaVersionsFutures.size(),
+        bootstrapServers);
+
+    List<SchemaInfoOfTopic> schemaInfoOfTopicList = new ArrayList<>();
+    for (String topic : topicList) {
+      SchemaInfoOfTopic schemaInfoOfTopic = new SchemaInfoOfTopic();
+      schemaInfoOfTopic.setTopic(topic);
+      schemaInfoOfTopic.setSchemaVersions(
+          schemaVersionsFutures.containsKey(topic)
+              ? schemaVersionsFutures.get(topic).join()
+              : knownSchemaVersions.get(topic));
+      schemaInfoOfTopicList.add(schemaInfoOfTopic);
+    }
+
     schemasInfoOfClusterResponse.setSchemaInfoOfTopicList(schemaInfoOfTopicList);
+    return new SchemaInfoCacheEntry(
+        schemasInfoOfClusterResponse, System.currentTimeMillis(), latestSchemaVersions);
+  }
 
-    updateCache(
+  // Stores the listed schema versions which are not cached yet, so that they are not downloaded
+  // again one by one. Cached versions of subjects which were deleted and registered again, which
+  // reuses version numbers with other schema ids, are dropped first.
+  private void cacheListedSchemaVersions(
+      String bootstrapServers,
+      String clusterIdentification,
+      String subject,
+      Pair<Integer, Object> latestSchemaVersion,
+      List<Map<String, Object>> schemas) {
+    schemaVersionCache.evictSubjectIfChanged(
         bootstrapServers,
-        protocol,
         clusterIdentification,
-        schemasVersionsStorageKey,
-        schemasInfoOfClusterResponse);
-
-    return schemasInfoOfClusterResponse;
+        subject,
+        latestSchemaVersion.getLeft(),
+        latestSchemaVersion.getRight());
+    for (Map<String, Object> schema : schemas) {
+      int version = (Integer) schema.get("version");
+      if (schema.get("schema") != null
+          && schemaVersionCache
+              .get(bootstrapServers, clusterIdentification, subject, version)
+              .isEmpty()) {
+        schemaVersionCache.put(bootstrapServers, clusterIdentification, subject, version, schema);
+      }
+    }
   }
 
-  private static void updateCache(
+  // Lists the schemas of every value subject, page by page until the registry returns an empty
+  // page, as registries cap the number of schemas returned by one call. A registry which ignores
+  // the paging returns a page already listed, the last subject listed before may then be
+  // incomplete and is left out, to be fetched on its own like any subject not listed. Returns
+  // empty when the registry does not support the bulk endpoint.
+  private Optional<Map<String, List<Map<String, Object>>>> listSchemasBySubject(
       String bootstrapServers,
       KafkaSupportedProtocol protocol,
       String clusterIdentification,
-      String schemasVersionsStorageKey,
-      SchemasInfoOfClusterResponse schemasInfoOfClusterResponse) {
-    schemasInfoOfClusterResponseMap.put(schemasVersionsStorageKey, schemasInfoOfClusterResponse);
-    SchemaInfoCacheKeySet schemaInfoCacheKeySet = new SchemaInfoCacheKeySet();
-    schemaInfoCacheKeySet.setProtocol(protocol);
-    schemaInfoCacheKeySet.setClusterIdentification(clusterIdentification);
-    schemaInfoCacheKeySet.setBootstrapServers(bootstrapServers);
-    schemasInfoCacheKeySetMap.put(schemasVersionsStorageKey, schemaInfoCacheKeySet);
+      boolean latestOnly) {
+    Map<String, List<Map<String, Object>>> schemasBySubject = new HashMap<>();
+    Set<String> listedSchemaVersions = new HashSet<>();
+    String lastListedSubject = null;
+    try {
+      int offset = 0;
+      while (true) {
+        List<Map<String, Object>> schemas =
+            getSchemasPage(bootstrapServers, protocol, clusterIdentification, latestOnly, offset);
+        if (schemas.isEmpty()) {
+          return Optional.of(schemasBySubject);
+        }
+        for (Map<String, Object> schema : schemas) {
+          if (!(schema.get("subject") instanceof String)
+              || !(schema.get("version") instanceof Integer)) {
+            continue;
+          }
+          String subject = (String) schema.get("subject");
+          if (!listedSchemaVersions.add(subject + "|" + schema.get("version"))) {
+            log.info(
+                "Schemas are not listed page by page on {}, fetching {} on its own",
+                bootstrapServers,
+                lastListedSubject);
+            schemasBySubject.remove(lastListedSubject);
+            return Optional.of(schemasBySubject);
+          }
+          lastListedSubject = subject;
+          if (subject.indexOf(SCHEMA_VALUE_URI) > 0) {
+            schemasBySubject.computeIfAbsent(subject, key -> new ArrayList<>()).add(schema);
+          }
+        }
+        offset += schemas.size();
+      }
+    } catch (Exception e) {
+      log.info(
+          "Schemas could not be listed in bulk on {}, fetching all subjects. {}",
+          bootstrapServers,
+          e.getMessage());
+      return Optional.empty();
+    }
   }
 
-  private SchemasInfoOfClusterResponse handleInterimUpdatesOnSchemas(
+  private List<Map<String, Object>> getSchemasPage(
       String bootstrapServers,
       KafkaSupportedProtocol protocol,
       String clusterIdentification,
-      SchemaCacheUpdateType updateType,
-      String topicName,
-      String schemasVersionsStorageKey) {
-    SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
-        schemasInfoOfClusterResponseMap.get(schemasVersionsStorageKey);
-    List<SchemaInfoOfTopic> schemaInfoList =
-        schemasInfoOfClusterResponse.getSchemaInfoOfTopicList();
-    Optional<SchemaInfoOfTopic> optionalSchemaInfoOfTopic =
-        schemaInfoList.stream()
-            .filter(schemaInfoOfTopic -> schemaInfoOfTopic.getTopic().equals(topicName))
-            .findFirst();
+      boolean latestOnly,
+      int offset) {
+    String suffixUrl =
+        bootstrapServers
+            + "/"
+            + SCHEMAS_URI
+            + "?latestOnly="
+            + latestOnly
+            + "&offset="
+            + offset
+            + "&limit="
+            + schemasPageSize;
+    Pair<String, RestTemplate> reqDetails = clusterApiUtils.getRequestDetails(suffixUrl, protocol);
+    ResponseEntity<List<Map<String, Object>>> responseList =
+        reqDetails
+            .getRight()
+            .exchange(
+                reqDetails.getLeft(),
+                HttpMethod.GET,
+                createSchemaRegistryRequest(clusterIdentification),
+                GET_SCHEMAS_TYPEREF);
+    return responseList.getBody() == null ? Collections.emptyList() : responseList.getBody();
+  }
 
+  private SchemasInfoOfClusterResponse handleInterimUpdatesOnSchemas(
+      SchemaInfoCacheKeySet schemaInfoCacheKeySet,
+      SchemaCacheUpdateType updateType,
+      String topicName) {
+    SchemaInfoOfTopic updatedSchemaInfoOfTopic = null;
     if (updateType == SchemaCacheUpdateType.CREATE) {
-      Set<Integer> schemaVersions =
-          getSchemaVersions(bootstrapServers, topicName, protocol, clusterIdentification);
-
-      if (optionalSchemaInfoOfTopic.isPresent()) {
-        optionalSchemaInfoOfTopic.get().setSchemaVersions(schemaVersions);
-      } else {
-        SchemaInfoOfTopic schemaInfoOfTopic = new SchemaInfoOfTopic();
-        schemaInfoOfTopic.setTopic(topicName);
-        schemaInfoOfTopic.setSchemaVersions(schemaVersions);
-        schemaInfoList.add(schemaInfoOfTopic);
-      }
-    } else if (updateType == SchemaCacheUpdateType.DELETE) {
-      optionalSchemaInfoOfTopic.ifPresent(schemaInfoList::remove);
+      updatedSchemaInfoOfTopic = new SchemaInfoOfTopic();
+      updatedSchemaInfoOfTopic.setTopic(topicName);
+      updatedSchemaInfoOfTopic.setSchemaVersions(
+          getSchemaVersions(
+              schemaInfoCacheKeySet.getBootstrapServers(),
+              topicName,
+              schemaInfoCacheKeySet.getProtocol(),
+              schemaInfoCacheKeySet.getClusterIdentification()));
     }
 
-    return schemasInfoOfClusterResponse;
+    // cached responses are never modified, readers may still be serializing them
+    final SchemaInfoOfTopic schemaInfoOfTopicToStore = updatedSchemaInfoOfTopic;
+    SchemaInfoCacheEntry updatedEntry =
+        schemasInfoCache
+            .asMap()
+            .computeIfPresent(
+                schemaInfoCacheKeySet,
+                (key, schemaInfoCacheEntry) -> {
+                  List<SchemaInfoOfTopic> schemaInfoList =
+                      new ArrayList<>(
+                          schemaInfoCacheEntry
+                              .getSchemasInfoOfClusterResponse()
+                              .getSchemaInfoOfTopicList());
+                  int topicIndex = -1;
+                  for (int i = 0; i < schemaInfoList.size(); i++) {
+                    if (schemaInfoList.get(i).getTopic().equals(topicName)) {
+                      topicIndex = i;
+                      break;
+                    }
+                  }
+
+                  if (schemaInfoOfTopicToStore == null) {
+                    if (topicIndex >= 0) {
+                      schemaInfoList.remove(topicIndex);
+                    }
+                  } else if (topicIndex >= 0) {
+                    schemaInfoList.set(topicIndex, schemaInfoOfTopicToStore);
+                  } else {
+                    schemaInfoList.add(schemaInfoOfTopicToStore);
+                  }
+
+                  SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
+                      new SchemasInfoOfClusterResponse();
+                  schemasInfoOfClusterResponse.setSchemaInfoOfTopicList(schemaInfoList);
+                  return new SchemaInfoCacheEntry(
+                      schemasInfoOfClusterResponse,
+                      schemaInfoCacheEntry.getRefreshedTime(),
+                      schemaInfoCacheEntry.getLatestSchemaVersions());
+                });
+
+    return updatedEntry == null ? null : updatedEntry.getSchemasInfoOfClusterResponse();
   }
 
   private void updateSchemaCache(
@@ -768,17 +1312,11 @@ public class SchemaService {
       cron = "${klaw.schemainfo.cron.expression:0 0 0 * * ?}",
       zone = "${klaw.schemainfo.cron.expression.timezone:UTC}")
   public void resetSchemaCacheScheduler() {
-    for (String schemasVersionsStorageKey : schemasInfoCacheKeySetMap.keySet()) {
-      SchemaInfoCacheKeySet schemaInfoCacheKeySet =
-          schemasInfoCacheKeySetMap.get(schemasVersionsStorageKey);
-      schemasInfoOfClusterResponseMap.remove(schemasVersionsStorageKey);
-      loadAllSchemasInfoFromCluster(
-          schemaInfoCacheKeySet.getBootstrapServers(),
-          schemaInfoCacheKeySet.getProtocol(),
-          schemaInfoCacheKeySet.getClusterIdentification(),
-          false,
-          SchemaCacheUpdateType.NONE,
-          null);
+    // previous results are kept until the reload completes. Every version is listed again, to
+    // drop older versions deleted on the registry, which are not seen from the latest versions.
+    for (SchemaInfoCacheKeySet schemaInfoCacheKeySet : schemasInfoCache.asMap().keySet()) {
+      fullScanRequests.add(schemaInfoCacheKeySet);
+      schemasInfoCache.refresh(schemaInfoCacheKeySet);
     }
   }
 
@@ -791,4 +1329,35 @@ public class SchemaService {
         null);
     return ApiResponse.builder().success(true).build();
   }
+
+  public SchemaInfoCacheStats getSchemaInfoCacheStats() {
+    CacheStats cacheStats = schemasInfoCache.stats();
+    Map<String, Long> lastRefreshedTimes = new HashMap<>();
+    schemasInfoCache
+        .asMap()
+        .forEach(
+            (schemaInfoCacheKeySet, schemaInfoCacheEntry) ->
+                lastRefreshedTimes.put(
+                    schemaInfoCacheKeySet.getClusterIdentification(),
+                    schemaInfoCacheEntry.getRefreshedTime()));
+    return SchemaInfoCacheStats.builder()
+        .size(schemasInfoCache.size())
+        .hitCount(cacheStats.hitCount())
+        .missCount(cacheStats.missCount())
+        .hitRate(cacheStats.hitRate())
+        .loadSuccessCount(cacheStats.loadSuccessCount())
+        .loadExceptionCount(cacheStats.loadExceptionCount())
+        .evictionCount(cacheStats.evictionCount())
+        .lastRefreshedTimes(lastRefreshedTimes)
+        .build();
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class SchemaInfoCacheEntry {
+    private final SchemasInfoOfClusterResponse schemasInfoOfClusterResponse;
+    private final long refreshedTime;
+    // topic -> latest version and its schema id, as listed on the last load
+    private final Map<String, Pair<Integer, Object>> latestSchemaVersions;
+  }
 }
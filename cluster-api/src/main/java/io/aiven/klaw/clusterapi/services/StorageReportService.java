@@ -0,0 +1,153 @@
+package io.aiven.klaw.clusterapi.services;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.storage.BrokerStorage;
+import io.aiven.klaw.clusterapi.models.storage.StorageReport;
+import io.aiven.klaw.clusterapi.models.storage.StorageReportCacheKey;
+import io.aiven.klaw.clusterapi.models.storage.TopicStorage;
+import io.aiven.klaw.clusterapi.services.LogDirsSnapshotService.LogDirsSnapshot;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.LogDirDescription;
+import org.apache.kafka.clients.admin.ReplicaInfo;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Disk usage of clusters per broker and per topic, from the shared log dirs snapshot of all
+ * brokers. Reports are cached per cluster. Reports older than the refresh interval are still served
+ * while they are regenerated in the background, so only the first read of a cluster waits on the
+ * brokers.
+ */
+@Service
+@Slf4j
+public class StorageReportService {
+
+  private final LogDirsSnapshotService logDirsSnapshotService;
+
+  private final LoadingCache<StorageReportCacheKey, StorageReport> storageReportCache;
+
+  @Autowired
+  public StorageReportService(
+      LogDirsSnapshotService logDirsSnapshotService,
+      @Qualifier("storageReportTaskExecutor") Executor storageReportExecutor,
+      @Value("${klaw.storagereport.cache.maxsize:100}") long storageReportCacheMaxSize,
+      @Value("${klaw.storagereport.refresh.interval.minutes:15}")
+          long storageReportRefreshIntervalMinutes) {
+    this.logDirsSnapshotService = logDirsSnapshotService;
+    this.storageReportCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(storageReportCacheMaxSize)
+            .refreshAfterWrite(Duration.ofMinutes(storageReportRefreshIntervalMinutes))
+            .build(
+                new CacheLoader<>() {
+                  @Override
+                  public StorageReport load(StorageReportCacheKey key) throws Exception {
+                    return generateStorageReport(key);
+                  }
+
+                  @Override
+                  public ListenableFuture<StorageReport> reload(
+                      StorageReportCacheKey key, StorageReport oldValue) {
+                    ListenableFutureTask<StorageReport> reloadTask =
+                        ListenableFutureTask.create(() -> generateStorageReport(key));
+                    storageReportExecutor.execute(reloadTask);
+                    return reloadTask;
+                  }
+                });
+  }
+
+  public StorageReport getStorageReport(
+      String bootstrapServers, KafkaSupportedProtocol protocol, String clusterIdentification)
+      throws Exception {
+    try {
+      return storageReportCache.get(
+          new StorageReportCacheKey(bootstrapServers, protocol, clusterIdentification));
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof Exception cause ? cause : e;
+    }
+  }
+
+  private StorageReport generateStorageReport(StorageReportCacheKey key) throws Exception {
+    LogDirsSnapshot logDirsSnapshot =
+        logDirsSnapshotService.getLogDirsSnapshot(
+            key.getBootstrapServers(), key.getProtocol(), key.getClusterIdentification());
+
+    StorageReport storageReport = new StorageReport();
+    Map<String, TopicStorage> topicStorageMap = new TreeMap<>();
+    for (Map.Entry<Integer, Map<String, LogDirDescription>> logDirs :
+        logDirsSnapshot.getLogDirsPerBroker().entrySet()) {
+      BrokerStorage brokerStorage = new BrokerStorage();
+      brokerStorage.setBrokerId(logDirs.getKey());
+      Node broker = logDirsSnapshot.getBrokers().get(logDirs.getKey());
+      brokerStorage.setHost(broker == null ? null : broker.host());
+      for (LogDirDescription logDir : logDirs.getValue().values()) {
+        if (logDir.error() != null) {
+          // an offline log dir holds no readable replicas
+          log.warn("Log dir of broker {} is offline", logDirs.getKey(), logDir.error());
+          continue;
+        }
+        brokerStorage.setLogDirs(brokerStorage.getLogDirs() + 1);
+        logDir
+            .totalBytes()
+            .ifPresent(
+                totalBytes ->
+                    brokerStorage.setTotalBytes(
+                        (brokerStorage.getTotalBytes() == null ? 0 : brokerStorage.getTotalBytes())
+                            + totalBytes));
+        logDir
+            .usableBytes()
+            .ifPresent(
+                usableBytes ->
+                    brokerStorage.setUsableBytes(
+                        (brokerStorage.getUsableBytes() == null
+                                ? 0
+                                : brokerStorage.getUsableBytes())
+                            + usableBytes));
+        // a copy being moved between log dirs takes disk space on the broker too
+        for (ReplicaInfo replica : logDir.replicaInfos().values()) {
+          brokerStorage.setSizeBytes(brokerStorage.getSizeBytes() + replica.size());
+        }
+      }
+      storageReport.getBrokers().add(brokerStorage);
+    }
+
+    logDirsSnapshot
+        .getReplicatedTopicSizes()
+        .forEach(
+            (topicName, replicatedSizeBytes) ->
+                topicStorageMap
+                    .computeIfAbsent(topicName, StorageReportService::newTopicStorage)
+                    .setReplicatedSizeBytes(replicatedSizeBytes));
+    for (Map.Entry<TopicPartition, Long> partitionSize :
+        logDirsSnapshot.getPartitionSizes().entrySet()) {
+      TopicStorage topicStorage = topicStorageMap.get(partitionSize.getKey().topic());
+      topicStorage.setPartitions(topicStorage.getPartitions() + 1);
+      topicStorage.setSizeBytes(topicStorage.getSizeBytes() + partitionSize.getValue());
+    }
+    storageReport.getBrokers().sort(Comparator.comparingInt(BrokerStorage::getBrokerId));
+    storageReport.getTopics().addAll(topicStorageMap.values());
+    storageReport.setGeneratedAtMs(System.currentTimeMillis());
+    return storageReport;
+  }
+
+  private static TopicStorage newTopicStorage(String topicName) {
+    TopicStorage topicStorage = new TopicStorage();
+    topicStorage.setTopicName(topicName);
+    return topicStorage;
+  }
+}
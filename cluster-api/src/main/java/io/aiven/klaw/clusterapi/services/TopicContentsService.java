@@ -1,15 +1,36 @@
 package io.aiven.klaw.clusterapi.services;
 
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.topiccontents.TopicContentRecord;
+import io.aiven.klaw.clusterapi.models.topiccontents.TopicContentsSearchRequest;
+import io.aiven.klaw.clusterapi.utils.BoundedCharSequence;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -17,16 +38,44 @@ import org.springframework.stereotype.Service;
 @Service
 public class TopicContentsService {
 
+  private static final Duration SEARCH_POLL_TIMEOUT = Duration.ofMillis(500);
+
   final ClusterApiUtils clusterApiUtils;
 
+  private final Executor searchExecutor;
+
   @Value("${klaw.topiccontents.consumergroup.id:notdefined}")
   private String kwGenericConsumerGroupId;
 
   @Value("${klaw.topiccontents.consumer.poll.interval.ms:2000}")
   private long defaultPollInterval;
 
-  public TopicContentsService(ClusterApiUtils clusterApiUtils) {
+  // number of consumers scanning the partitions of a topic in parallel for a single search
+  @Value("${klaw.topiccontents.search.parallelism:4}")
+  private int searchParallelism;
+
+  @Value("${klaw.topiccontents.search.max.results:500}")
+  private int searchMaxResults;
+
+  // bounds the number of records held in memory per consumer and poll
+  @Value("${klaw.topiccontents.search.max.poll.records:200}")
+  private int searchMaxPollRecords;
+
+  @Value("${klaw.topiccontents.search.timeout.ms:30000}")
+  private long searchTimeoutMs;
+
+  @Value("${klaw.topiccontents.search.regex.max.length:256}")
+  private int searchRegexMaxLength;
+
+  // characters a regex filter may read per key or value, bounds the backtracking of a pattern
+  @Value("${klaw.topiccontents.search.regex.max.reads:1000000}")
+  private long searchRegexMaxReads;
+
+  public TopicContentsService(
+      ClusterApiUtils clusterApiUtils,
+      @Qualifier("topicContentsSearchTaskExecutor") Executor searchExecutor) {
     this.clusterApiUtils = clusterApiUtils;
+    this.searchExecutor = searchExecutor;
   }
 
   public Map<Long, String> readEvents(
@@ -51,16 +100,9 @@ public class TopicContentsService {
         clusterIdentification);
 
     Map<Long, String> eventMap = new TreeMap<>();
-    KafkaConsumer<String, String> consumer;
-
-    if (consumerGroupId.equals("notdefined")) {
-      consumer =
-          getKafkaConsumer(
-              kwGenericConsumerGroupId, bootStrapServers, protocol, clusterIdentification);
-    } else {
-      consumer =
-          getKafkaConsumer(consumerGroupId, bootStrapServers, protocol, clusterIdentification);
-    }
+    KafkaConsumer<String, String> consumer =
+        getKafkaConsumer(
+            getConsumerGroupId(consumerGroupId), bootStrapServers, protocol, clusterIdentification);
 
     consumer.subscribe(Collections.singleton(topicName));
     consumer.poll(Duration.ofMillis(defaultPollInterval));
@@ -95,8 +137,297 @@ public class TopicContentsService {
     return eventMap;
   }
 
+  /**
+   * Search the records of a topic within a time window, matching key and/or value filters. The
+   * start position of every partition is resolved with offsetsForTimes, and the partitions are
+   * split over a bounded number of consumers which scan in parallel. Scanning stops as soon as the
+   * requested number of matches is found, the upper bound of the window is reached on all
+   * partitions or the search times out. A scan which fails, fails the whole search instead of
+   * returning the matches of the other scans.
+   *
+   * @return matching records ordered by timestamp
+   * @throws RejectedExecutionException when the search executor has no capacity left
+   */
+  public List<TopicContentRecord> searchEvents(
+      String bootstrapServers,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      TopicContentsSearchRequest searchRequest)
+      throws Exception {
+    log.info(
+        "searchEvents bootstrapServers {}, protocol {}, clusterIdentification {}, request {}",
+        bootstrapServers,
+        protocol,
+        clusterIdentification,
+        searchRequest);
+
+    Predicate<ConsumerRecord<String, String>> matcher = buildMatcher(searchRequest);
+    int maxResults =
+        searchRequest.getMaxResults() == null || searchRequest.getMaxResults() <= 0
+            ? searchMaxResults
+            : Math.min(searchRequest.getMaxResults(), searchMaxResults);
+    String groupId = getConsumerGroupId(searchRequest.getConsumerGroupId());
+
+    Map<TopicPartition, Long> startOffsets = new HashMap<>();
+    Map<TopicPartition, Long> stopOffsets = new HashMap<>();
+    try (Consumer<String, String> consumer =
+        createSearchConsumer(groupId, bootstrapServers, protocol, clusterIdentification)) {
+      resolveOffsets(consumer, searchRequest, startOffsets, stopOffsets);
+    }
+
+    List<List<TopicPartition>> partitionGroups = groupPartitions(startOffsets, stopOffsets);
+    SearchResultCollector collector = new SearchResultCollector(maxResults);
+    long deadline = System.currentTimeMillis() + searchTimeoutMs;
+
+    List<CompletableFuture<Void>> scans = new ArrayList<>();
+    try {
+      for (List<TopicPartition> partitionGroup : partitionGroups) {
+        CompletableFuture<Void> scan =
+            CompletableFuture.runAsync(
+                () ->
+                    scanPartitions(
+                        createSearchConsumer(
+                            groupId, bootstrapServers, protocol, clusterIdentification),
+                        partitionGroup,
+                        startOffsets,
+                        stopOffsets,
+                        matcher,
+                        collector,
+                        deadline),
+                searchExecutor);
+        // the other scans stop at their next poll once one of them fails
+        scan.whenComplete(
+            (result, error) -> {
+              if (error != null) {
+                collector.stop();
+              }
+            });
+        scans.add(scan);
+      }
+    } catch (RejectedExecutionException e) {
+      log.warn("Search on topic {} rejected, no capacity left", searchRequest.getTopicName());
+      collector.stop();
+      throw e;
+    }
+
+    try {
+      CompletableFuture.allOf(scans.toArray(new CompletableFuture[0]))
+          .get(searchTimeoutMs + SEARCH_POLL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      log.warn(
+          "Search on topic {} timed out, returning partial results", searchRequest.getTopicName());
+      collector.stop();
+    } catch (ExecutionException e) {
+      collector.stop();
+      Throwable cause = e.getCause();
+      log.error("Search on topic {} failed", searchRequest.getTopicName(), cause);
+      throw new Exception(
+          "Search on topic " + searchRequest.getTopicName() + " failed. " + cause.getMessage(),
+          cause);
+    }
+
+    List<TopicContentRecord> matches = collector.getMatches();
+    matches.sort(
+        Comparator.comparingLong(TopicContentRecord::getTimestamp)
+            .thenComparingInt(TopicContentRecord::getPartition)
+            .thenComparingLong(TopicContentRecord::getOffset));
+    return matches;
+  }
+
+  private void resolveOffsets(
+      Consumer<String, String> consumer,
+      TopicContentsSearchRequest searchRequest,
+      Map<TopicPartition, Long> startOffsets,
+      Map<TopicPartition, Long> stopOffsets)
+      throws Exception {
+    List<PartitionInfo> partitionInfos = consumer.partitionsFor(searchRequest.getTopicName());
+    if (partitionInfos == null || partitionInfos.isEmpty()) {
+      throw new Exception("Topic " + searchRequest.getTopicName() + " does not exist.");
+    }
+    List<TopicPartition> partitions =
+        partitionInfos.stream()
+            .map(
+                partitionInfo ->
+                    new TopicPartition(partitionInfo.topic(), partitionInfo.partition()))
+            .toList();
+
+    Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+    if (searchRequest.getFromTimestampMilliSecs() == null) {
+      startOffsets.putAll(consumer.beginningOffsets(partitions));
+    } else {
+      startOffsets.putAll(
+          offsetsForTimes(
+              consumer, partitions, searchRequest.getFromTimestampMilliSecs(), endOffsets));
+    }
+
+    if (searchRequest.getToTimestampMilliSecs() == null) {
+      stopOffsets.putAll(endOffsets);
+    } else {
+      // first offset after the window, timestamps are still checked per record by the matcher
+      stopOffsets.putAll(
+          offsetsForTimes(
+              consumer, partitions, searchRequest.getToTimestampMilliSecs() + 1, endOffsets));
+    }
+  }
+
+  // partitions without a record at or after the timestamp resolve to their end offset
+  private Map<TopicPartition, Long> offsetsForTimes(
+      Consumer<String, String> consumer,
+      List<TopicPartition> partitions,
+      long timestamp,
+      Map<TopicPartition, Long> endOffsets) {
+    Map<TopicPartition, Long> timestampsToSearch = new HashMap<>();
+    partitions.forEach(partition -> timestampsToSearch.put(partition, timestamp));
+    Map<TopicPartition, OffsetAndTimestamp> offsetsForTimes =
+        consumer.offsetsForTimes(timestampsToSearch);
+
+    Map<TopicPartition, Long> offsets = new HashMap<>();
+    for (TopicPartition partition : partitions) {
+      OffsetAndTimestamp offsetAndTimestamp = offsetsForTimes.get(partition);
+      offsets.put(
+          partition,
+          offsetAndTimestamp == null ? endOffsets.get(partition) : offsetAndTimestamp.offset());
+    }
+    return offsets;
+  }
+
+  // spread the partitions which have records to read round-robin over the parallel consumers
+  private List<List<TopicPartition>> groupPartitions(
+      Map<TopicPartition, Long> startOffsets, Map<TopicPartition, Long> stopOffsets) {
+    List<TopicPartition> partitionsToScan =
+        startOffsets.keySet().stream()
+            .filter(partition -> startOffsets.get(partition) < stopOffsets.get(partition))
+            .sorted(Comparator.comparingInt(TopicPartition::partition))
+            .toList();
+
+    int groupCount = Math.min(Math.max(searchParallelism, 1), partitionsToScan.size());
+    List<List<TopicPartition>> partitionGroups = new ArrayList<>();
+    for (int i = 0; i < groupCount; i++) {
+      partitionGroups.add(new ArrayList<>());
+    }
+    for (int i = 0; i < partitionsToScan.size(); i++) {
+      partitionGroups.get(i % groupCount).add(partitionsToScan.get(i));
+    }
+    return partitionGroups;
+  }
+
+  private void scanPartitions(
+      Consumer<String, String> consumer,
+      List<TopicPartition> partitions,
+      Map<TopicPartition, Long> startOffsets,
+      Map<TopicPartition, Long> stopOffsets,
+      Predicate<ConsumerRecord<String, String>> matcher,
+      SearchResultCollector collector,
+      long deadline) {
+    try (consumer) {
+      consumer.assign(partitions);
+      partitions.forEach(partition -> consumer.seek(partition, startOffsets.get(partition)));
+      Set<TopicPartition> remaining = new HashSet<>(partitions);
+
+      while (!remaining.isEmpty()
+          && !collector.isStopped()
+          && System.currentTimeMillis() < deadline) {
+        ConsumerRecords<String, String> consumerRecords = consumer.poll(SEARCH_POLL_TIMEOUT);
+        for (TopicPartition partition : consumerRecords.partitions()) {
+          long stopOffset = stopOffsets.get(partition);
+          for (ConsumerRecord<String, String> record : consumerRecords.records(partition)) {
+            if (record.offset() >= stopOffset) {
+              break;
+            }
+            if (matcher.test(record) && !collector.offer(record)) {
+              return;
+            }
+          }
+        }
+
+        Set<TopicPartition> completed = new HashSet<>();
+        for (TopicPartition partition : remaining) {
+          if (consumer.position(partition) >= stopOffsets.get(partition)) {
+            completed.add(partition);
+          }
+        }
+        if (!completed.isEmpty()) {
+          consumer.pause(completed);
+          remaining.removeAll(completed);
+        }
+      }
+    }
+  }
+
+  private Predicate<ConsumerRecord<String, String>> buildMatcher(
+      TopicContentsSearchRequest searchRequest) throws Exception {
+    Predicate<ConsumerRecord<String, String>> matcher = record -> true;
+
+    if (searchRequest.getFromTimestampMilliSecs() != null) {
+      long from = searchRequest.getFromTimestampMilliSecs();
+      matcher = matcher.and(record -> record.timestamp() >= from);
+    }
+    if (searchRequest.getToTimestampMilliSecs() != null) {
+      long to = searchRequest.getToTimestampMilliSecs();
+      matcher = matcher.and(record -> record.timestamp() <= to);
+    }
+
+    Predicate<String> keyMatcher =
+        buildTextMatcher(searchRequest.getKeyFilter(), searchRequest.isRegexFilter());
+    if (keyMatcher != null) {
+      matcher = matcher.and(record -> record.key() != null && keyMatcher.test(record.key()));
+    }
+    Predicate<String> valueMatcher =
+        buildTextMatcher(searchRequest.getValueFilter(), searchRequest.isRegexFilter());
+    if (valueMatcher != null) {
+      matcher = matcher.and(record -> record.value() != null && valueMatcher.test(record.value()));
+    }
+    return matcher;
+  }
+
+  private Predicate<String> buildTextMatcher(String filter, boolean regexFilter) throws Exception {
+    if (filter == null || filter.isEmpty()) {
+      return null;
+    }
+    if (!regexFilter) {
+      return text -> text.contains(filter);
+    }
+    if (filter.length() > searchRegexMaxLength) {
+      throw new Exception(
+          "Regular expression is longer than " + searchRegexMaxLength + " characters.");
+    }
+    try {
+      Pattern pattern = Pattern.compile(filter);
+      long maxReads = searchRegexMaxReads;
+      return text -> pattern.matcher(new BoundedCharSequence(text, maxReads, filter)).find();
+    } catch (PatternSyntaxException e) {
+      log.error("Invalid search pattern {}", filter, e);
+      throw new Exception("Invalid regular expression " + filter);
+    }
+  }
+
+  private String getConsumerGroupId(String consumerGroupId) {
+    if (consumerGroupId == null || consumerGroupId.equals("notdefined")) {
+      return kwGenericConsumerGroupId;
+    }
+    return consumerGroupId;
+  }
+
+  Consumer<String, String> createSearchConsumer(
+      String groupId,
+      String bootstrapServers,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification) {
+    Properties props =
+        getConsumerProperties(groupId, bootstrapServers, protocol.getName(), clusterIdentification);
+    props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, searchMaxPollRecords);
+    return new KafkaConsumer<>(props);
+  }
+
   public KafkaConsumer<String, String> getKafkaConsumer(
       String groupId, String bootstrapServers, String protocol, String clusterIdentification) {
+    return new KafkaConsumer<>(
+        getConsumerProperties(groupId, bootstrapServers, protocol, clusterIdentification));
+  }
+
+  private Properties getConsumerProperties(
+      String groupId, String bootstrapServers, String protocol, String clusterIdentification) {
     Properties props = new Properties();
 
     if (protocol.equals("SSL")) {
@@ -109,6 +440,55 @@ public class TopicContentsService {
     props.put(ConsumerConfig.CLIENT_ID_CONFIG, "KLAW_TMP_GROUP_CLIENT" + groupId);
     props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
     props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-    return new KafkaConsumer<>(props);
+    return props;
+  }
+
+  /**
+   * Collects matches from the parallel partition scans, and signals all of them to stop once the
+   * maximum number of results is reached.
+   */
+  static class SearchResultCollector {
+    private final int maxResults;
+    private final AtomicInteger matchCount = new AtomicInteger();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final Queue<TopicContentRecord> matches = new ConcurrentLinkedQueue<>();
+
+    SearchResultCollector(int maxResults) {
+      this.maxResults = maxResults;
+    }
+
+    // returns false when the caller should stop scanning
+    boolean offer(ConsumerRecord<String, String> record) {
+      int position = matchCount.incrementAndGet();
+      if (position > maxResults) {
+        stop();
+        return false;
+      }
+      matches.add(
+          TopicContentRecord.builder()
+              .partition(record.partition())
+              .offset(record.offset())
+              .timestamp(record.timestamp())
+              .key(record.key())
+              .value(record.value())
+              .build());
+      if (position == maxResults) {
+        stop();
+        return false;
+      }
+      return true;
+    }
+
+    void stop() {
+      stopped.set(true);
+    }
+
+    boolean isStopped() {
+      return stopped.get();
+    }
+
+    List<TopicContentRecord> getMatches() {
+      return new ArrayList<>(matches);
+    }
   }
 }
@@ -0,0 +1,268 @@
+package io.aiven.klaw.clusterapi.services;
+
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.metrics.TopicMetrics;
+import io.aiven.klaw.clusterapi.services.LogDirsSnapshotService.LogDirsSnapshot;
+import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per topic throughput and size of clusters, served from memory. A cluster is sampled in the
+ * background from its first read on, with the shared log dirs snapshot for the partition sizes and
+ * one batched listOffsets call each for the start and end offsets of all partitions, so reads never
+ * wait on the brokers. Clusters which are not read for the idle timeout are no longer sampled.
+ */
+@Service
+@Slf4j
+public class TopicMetricsService {
+
+  private static final long TIME_OUT_SECS_FOR_SAMPLES = 30;
+
+  private final ClusterApiUtils clusterApiUtils;
+
+  private final LogDirsSnapshotService logDirsSnapshotService;
+
+  private final Executor topicMetricsExecutor;
+
+  private final long idleTimeoutMs;
+
+  private final Map<String, ClusterTopicMetrics> clusterTopicMetricsMap = new ConcurrentHashMap<>();
+
+  @Autowired
+  public TopicMetricsService(
+      ClusterApiUtils clusterApiUtils,
+      LogDirsSnapshotService logDirsSnapshotService,
+      @Qualifier("topicMetricsTaskExecutor") Executor topicMetricsExecutor,
+      @Value("${klaw.topicmetrics.idle.timeout.ms:3600000}") long idleTimeoutMs) {
+    this.clusterApiUtils = clusterApiUtils;
+    this.logDirsSnapshotService = logDirsSnapshotService;
+    this.topicMetricsExecutor = topicMetricsExecutor;
+    this.idleTimeoutMs = idleTimeoutMs;
+  }
+
+  public TopicMetrics getTopicMetrics(
+      String bootstrapServers,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      String topicName) {
+    ClusterTopicMetrics clusterTopicMetrics =
+        clusterTopicMetricsMap.computeIfAbsent(
+            String.join("/", bootstrapServers, protocol.getName(), clusterIdentification),
+            key -> new ClusterTopicMetrics(bootstrapServers, protocol, clusterIdentification));
+    clusterTopicMetrics.lastReadMs = System.currentTimeMillis();
+    if (clusterTopicMetrics.lastSampleMs == 0) {
+      // the first read starts sampling, it is answered without metrics until the sample is taken
+      scheduleSample(clusterTopicMetrics, System.currentTimeMillis());
+    }
+
+    TopicMetrics topicMetrics = clusterTopicMetrics.topicMetricsMap.get(topicName);
+    if (topicMetrics == null) {
+      topicMetrics = new TopicMetrics();
+      topicMetrics.setTopicName(topicName);
+    }
+    return topicMetrics;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${klaw.topicmetrics.sample.interval.ms:60000}",
+      initialDelayString = "${klaw.topicmetrics.sample.interval.ms:60000}")
+  public void sampleTopicMetrics() {
+    sampleTopicMetrics(System.currentTimeMillis());
+  }
+
+  void sampleTopicMetrics(long sampleTimeMs) {
+    clusterTopicMetricsMap.forEach(
+        (key, clusterTopicMetrics) -> {
+          if (sampleTimeMs - clusterTopicMetrics.lastReadMs >= idleTimeoutMs) {
+            log.info("Stopped sampling topic metrics of idle cluster {}", key);
+            clusterTopicMetricsMap.remove(key, clusterTopicMetrics);
+          } else {
+            scheduleSample(clusterTopicMetrics, sampleTimeMs);
+          }
+        });
+  }
+
+  private void scheduleSample(ClusterTopicMetrics clusterTopicMetrics, long sampleTimeMs) {
+    // a cluster slower than the sample interval skips samples instead of queueing them
+    if (!clusterTopicMetrics.sampling.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      topicMetricsExecutor.execute(
+          () -> {
+            try {
+              sample(clusterTopicMetrics, sampleTimeMs);
+            } catch (Exception e) {
+              log.error(
+                  "Error sampling topic metrics of {}", clusterTopicMetrics.bootstrapServers, e);
+            } finally {
+              clusterTopicMetrics.sampling.set(false);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      clusterTopicMetrics.sampling.set(false);
+      log.warn("Sampling topic metrics of {} rejected", clusterTopicMetrics.bootstrapServers);
+    }
+  }
+
+  private void sample(ClusterTopicMetrics clusterTopicMetrics, long sampleTimeMs) throws Exception {
+    LogDirsSnapshot logDirsSnapshot =
+        logDirsSnapshotService.getLogDirsSnapshot(
+            clusterTopicMetrics.bootstrapServers,
+            clusterTopicMetrics.protocol,
+            clusterTopicMetrics.clusterIdentification);
+    Map<TopicPartition, Long> partitionSizes = logDirsSnapshot.getPartitionSizes();
+    Map<String, Long> replicatedTopicSizes = logDirsSnapshot.getReplicatedTopicSizes();
+
+    Admin client =
+        clusterApiUtils.getAdminClient(
+            clusterTopicMetrics.bootstrapServers,
+            clusterTopicMetrics.protocol,
+            clusterTopicMetrics.clusterIdentification);
+    if (client == null) {
+      throw new Exception("Cannot connect to cluster.");
+    }
+    // both offset lists are requested at once and share one deadline
+    ListOffsetsResult startOffsetsResult =
+        listOffsets(client, partitionSizes.keySet(), OffsetSpec.earliest());
+    ListOffsetsResult endOffsetsResult =
+        listOffsets(client, partitionSizes.keySet(), OffsetSpec.latest());
+    long deadlineMs =
+        System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIME_OUT_SECS_FOR_SAMPLES);
+    Map<TopicPartition, Long> startOffsets =
+        getOffsets(startOffsetsResult, partitionSizes.keySet(), deadlineMs);
+    Map<TopicPartition, Long> endOffsets =
+        getOffsets(endOffsetsResult, partitionSizes.keySet(), deadlineMs);
+
+    Map<TopicPartition, Long> previousEndOffsets = clusterTopicMetrics.endOffsets;
+    double elapsedSecs = (sampleTimeMs - clusterTopicMetrics.lastSampleMs) / 1000.0;
+    boolean hasRates = clusterTopicMetrics.lastSampleMs > 0 && elapsedSecs > 0;
+
+    Map<String, TopicMetrics> topicMetricsMap = new HashMap<>();
+    Map<String, Long> topicRecords = new HashMap<>();
+    for (Map.Entry<TopicPartition, Long> partitionSize : partitionSizes.entrySet()) {
+      TopicPartition topicPartition = partitionSize.getKey();
+      TopicMetrics topicMetrics =
+          topicMetricsMap.computeIfAbsent(
+              topicPartition.topic(), topicName -> newTopicMetrics(topicName, sampleTimeMs));
+      topicMetrics.setSizeBytes(topicMetrics.getSizeBytes() + partitionSize.getValue());
+      topicMetrics.setReplicatedSizeBytes(replicatedTopicSizes.get(topicPartition.topic()));
+
+      Long endOffset = endOffsets.get(topicPartition);
+      Long startOffset = startOffsets.get(topicPartition);
+      if (endOffset == null) {
+        continue;
+      }
+      if (startOffset != null) {
+        topicRecords.merge(topicPartition.topic(), endOffset - startOffset, Long::sum);
+      }
+      Long previousEndOffset = previousEndOffsets.get(topicPartition);
+      if (hasRates) {
+        // partitions which are new, or have been truncated by a recreated topic, add no messages
+        long messagesIn =
+            previousEndOffset == null ? 0 : Math.max(0, endOffset - previousEndOffset);
+        topicMetrics.setMessagesInPerSec(
+            (topicMetrics.getMessagesInPerSec() == null ? 0 : topicMetrics.getMessagesInPerSec())
+                + messagesIn / elapsedSecs);
+      }
+    }
+
+    // bytes in are estimated from the messages in and the average stored message size
+    for (TopicMetrics topicMetrics : topicMetricsMap.values()) {
+      long records = topicRecords.getOrDefault(topicMetrics.getTopicName(), 0L);
+      if (topicMetrics.getMessagesInPerSec() != null) {
+        topicMetrics.setBytesInPerSec(
+            records > 0
+                ? topicMetrics.getMessagesInPerSec() * topicMetrics.getSizeBytes() / records
+                : 0);
+      }
+    }
+
+    clusterTopicMetrics.endOffsets = endOffsets;
+    clusterTopicMetrics.lastSampleMs = sampleTimeMs;
+    clusterTopicMetrics.topicMetricsMap = topicMetricsMap;
+  }
+
+  private static ListOffsetsResult listOffsets(
+      Admin client, Set<TopicPartition> partitions, OffsetSpec offsetSpec) {
+    return client.listOffsets(
+        partitions.stream()
+            .collect(Collectors.toMap(topicPartition -> topicPartition, p -> offsetSpec)));
+  }
+
+  private static Map<TopicPartition, Long> getOffsets(
+      ListOffsetsResult listOffsetsResult, Set<TopicPartition> partitions, long deadlineMs)
+      throws InterruptedException {
+    Map<TopicPartition, Long> offsets = new HashMap<>();
+    for (TopicPartition topicPartition : partitions) {
+      try {
+        offsets.put(
+            topicPartition,
+            listOffsetsResult
+                .partitionResult(topicPartition)
+                .get(Math.max(0, deadlineMs - System.currentTimeMillis()), TimeUnit.MILLISECONDS)
+                .offset());
+      } catch (ExecutionException | TimeoutException e) {
+        // a partition without leader, or not answered by the deadline, is left out instead of
+        // failing the whole sample
+        log.debug("Unable to list offsets of {}", topicPartition, e);
+      }
+    }
+    return offsets;
+  }
+
+  private static TopicMetrics newTopicMetrics(String topicName, long sampleTimeMs) {
+    TopicMetrics topicMetrics = new TopicMetrics();
+    topicMetrics.setTopicName(topicName);
+    topicMetrics.setSizeBytes(0L);
+    topicMetrics.setSampledAtMs(sampleTimeMs);
+    return topicMetrics;
+  }
+
+  private static class ClusterTopicMetrics {
+
+    private final String bootstrapServers;
+
+    private final KafkaSupportedProtocol protocol;
+
+    private final String clusterIdentification;
+
+    private final AtomicBoolean sampling = new AtomicBoolean();
+
+    private volatile long lastReadMs;
+
+    private volatile long lastSampleMs;
+
+    private volatile Map<String, TopicMetrics> topicMetricsMap = Map.of();
+
+    // written by the single running sample only
+    private Map<TopicPartition, Long> endOffsets = Map.of();
+
+    ClusterTopicMetrics(
+        String bootstrapServers, KafkaSupportedProtocol protocol, String clusterIdentification) {
+      this.bootstrapServers = bootstrapServers;
+      this.protocol = protocol;
+      this.clusterIdentification = clusterIdentification;
+    }
+  }
+}
@@ -73,7 +73,7 @@ public class UtilComponentsService {
         if (confluentCloudApiService.listTopics(environment, protocol, clusterName).size() >= 0)
           return ClusterStatus.ONLINE;
       } else {
-        AdminClient client = clusterApiUtils.getAdminClient(environment, protocol, clusterName);
+        Admin client = clusterApiUtils.getAdminClient(environment, protocol, clusterName);
         if (client != null) {
           return ClusterStatus.ONLINE;
         }
@@ -20,6 +20,10 @@ public class AdminClientProperties {
   @Value("${klaw.request.timeout.ms:15000}")
   private String requestTimeOutMs;
 
+  // bounds every admin call including its retries, so a cluster call cannot hang a request
+  @Value("${klaw.default.api.timeout.ms:30000}")
+  private String defaultApiTimeoutMs;
+
   @Value("${klaw.retries.config:25}")
   private String retriesConfig;
 
@@ -0,0 +1,36 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token bucket per Aiven project. The Aiven api throttles per project, so bulk operations on one
+ * project are spread out instead of being rejected, while other projects are not slowed down.
+ */
+@Component
+public class AivenApiRateLimiter {
+
+  private final double requestsPerSecond;
+
+  private final Map<String, RateLimiter> projectRateLimiters = new ConcurrentHashMap<>();
+
+  @Autowired
+  public AivenApiRateLimiter(
+      @Value("${klaw.clusters.aiven.ratelimit.requests.per.second:10}") double requestsPerSecond) {
+    this.requestsPerSecond = requestsPerSecond;
+  }
+
+  /** Blocks until a request to the project may be sent. */
+  public void acquire(String projectName) {
+    if (requestsPerSecond <= 0) {
+      return;
+    }
+    projectRateLimiters
+        .computeIfAbsent(projectName, project -> RateLimiter.create(requestsPerSecond))
+        .acquire();
+  }
+}
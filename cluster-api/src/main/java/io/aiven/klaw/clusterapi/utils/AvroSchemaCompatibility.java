@@ -0,0 +1,84 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.SchemaCompatibility.SchemaPairCompatibility;
+
+/**
+ * Checks an Avro schema against previously registered versions of a subject the same way the schema
+ * registry does for a given compatibility level, without calling the registry.
+ */
+public final class AvroSchemaCompatibility {
+
+  public static final Set<String> SUPPORTED_COMPATIBILITY_LEVELS =
+      Set.of(
+          "NONE",
+          "BACKWARD",
+          "BACKWARD_TRANSITIVE",
+          "FORWARD",
+          "FORWARD_TRANSITIVE",
+          "FULL",
+          "FULL_TRANSITIVE");
+
+  private AvroSchemaCompatibility() {}
+
+  /**
+   * @param newSchema schema to be registered
+   * @param previousSchemas registered schemas of the subject, latest version first
+   * @param compatibilityLevel one of {@link #SUPPORTED_COMPATIBILITY_LEVELS}
+   * @return reasons for incompatibility, empty if the schema is compatible
+   * @throws org.apache.avro.SchemaParseException if one of the schemas is not a valid Avro schema
+   */
+  public static List<String> check(
+      String newSchema, List<String> previousSchemas, String compatibilityLevel) {
+    Schema schema = new Schema.Parser().parse(newSchema);
+    List<String> incompatibilities = new ArrayList<>();
+    if ("NONE".equals(compatibilityLevel) || previousSchemas.isEmpty()) {
+      return incompatibilities;
+    }
+
+    boolean transitive = compatibilityLevel.endsWith("_TRANSITIVE");
+    boolean checkBackward = compatibilityLevel.startsWith("BACKWARD") || isFull(compatibilityLevel);
+    boolean checkForward = compatibilityLevel.startsWith("FORWARD") || isFull(compatibilityLevel);
+
+    List<String> schemasToCheck = transitive ? previousSchemas : previousSchemas.subList(0, 1);
+    for (String previousSchemaText : schemasToCheck) {
+      // every schema is parsed on its own, named types may be redefined between versions
+      Schema previousSchema = new Schema.Parser().parse(previousSchemaText);
+      if (checkBackward) {
+        // consumers on the new schema read data written with the previous one
+        addIncompatibilities(
+            SchemaCompatibility.checkReaderWriterCompatibility(schema, previousSchema),
+            incompatibilities);
+      }
+      if (checkForward) {
+        addIncompatibilities(
+            SchemaCompatibility.checkReaderWriterCompatibility(previousSchema, schema),
+            incompatibilities);
+      }
+    }
+    return incompatibilities;
+  }
+
+  private static boolean isFull(String compatibilityLevel) {
+    return compatibilityLevel.startsWith("FULL");
+  }
+
+  private static void addIncompatibilities(
+      SchemaPairCompatibility schemaPairCompatibility, List<String> incompatibilities) {
+    schemaPairCompatibility
+        .getResult()
+        .getIncompatibilities()
+        .forEach(
+            incompatibility ->
+                incompatibilities.add(
+                    incompatibility.getType()
+                        + " at "
+                        + incompatibility.getLocation()
+                        + ": "
+                        + incompatibility.getMessage()));
+  }
+}
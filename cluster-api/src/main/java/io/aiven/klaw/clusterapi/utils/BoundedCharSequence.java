@@ -0,0 +1,42 @@
+package io.aiven.klaw.clusterapi.utils;
+
+/**
+ * Fails a regex match once more characters were read than allowed, so that a pattern with
+ * catastrophic backtracking cannot hold a thread for long on a single input.
+ */
+public class BoundedCharSequence implements CharSequence {
+  private final CharSequence text;
+  private final long maxReads;
+  private final String pattern;
+  private long reads;
+
+  public BoundedCharSequence(CharSequence text, long maxReads, String pattern) {
+    this.text = text;
+    this.maxReads = maxReads;
+    this.pattern = pattern;
+  }
+
+  @Override
+  public int length() {
+    return text.length();
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (++reads > maxReads) {
+      throw new IllegalStateException(
+          "Regular expression " + pattern + " is too expensive to evaluate.");
+    }
+    return text.charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return text.subSequence(start, end);
+  }
+
+  @Override
+  public String toString() {
+    return text.toString();
+  }
+}
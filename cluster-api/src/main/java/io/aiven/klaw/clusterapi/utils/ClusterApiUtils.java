@@ -4,17 +4,19 @@ import static io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol.PLAIN
 import static io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol.SSL;
 
 import com.google.common.base.Strings;
+import io.aiven.klaw.clusterapi.config.KafkaSslEngineFactory;
 import io.aiven.klaw.clusterapi.config.SslContextConfig;
 import io.aiven.klaw.clusterapi.models.enums.KafkaClustersType;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.common.config.SaslConfigs;
@@ -23,6 +25,7 @@ import org.apache.tomcat.util.codec.binary.Base64;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -59,22 +62,34 @@ public class ClusterApiUtils {
 
   private final AdminClientProperties adminClientProperties;
 
+  private final ClusterCallMetrics clusterCallMetrics;
+
   @Autowired private SslContextConfig sslContextConfig;
 
   @Autowired
-  public ClusterApiUtils(Environment env, AdminClientProperties adminClientProperties) {
-    this(env, adminClientProperties, new HashMap<>(), new HashMap<>());
+  public ClusterApiUtils(
+      Environment env,
+      AdminClientProperties adminClientProperties,
+      ClusterCallMetrics clusterCallMetrics) {
+    this(
+        env,
+        adminClientProperties,
+        clusterCallMetrics,
+        new ConcurrentHashMap<>(),
+        new ConcurrentHashMap<>());
   }
 
   ClusterApiUtils(
       Environment env,
       AdminClientProperties adminClientProperties,
+      ClusterCallMetrics clusterCallMetrics,
       Map<String, AdminClient> adminClientsMap,
       Map<String, RestTemplate> restTemplateMap) {
     this.env = env;
     this.adminClientsMap = adminClientsMap;
     this.adminClientProperties = adminClientProperties;
     this.restTemplateMap = restTemplateMap;
+    this.clusterCallMetrics = clusterCallMetrics;
   }
 
   //    public void removeSSLElementFromAdminClientMap(String protocol, String clusterName){
@@ -90,7 +105,7 @@ public class ClusterApiUtils {
     return new String(Base64.encodeBase64(messageDigest.digest(envHost.getBytes()), false));
   }
 
-  public AdminClient getAdminClient(
+  public Admin getAdminClient(
       String envHost, KafkaSupportedProtocol protocol, String clusterIdentification)
       throws Exception {
     log.info(
@@ -185,7 +200,7 @@ public class ClusterApiUtils {
       if (!adminClientsMap.containsKey(adminClientKey)) {
         adminClientsMap.put(adminClientKey, adminClient);
       }
-      return adminClient;
+      return clusterCallMetrics.timed(adminClient, envHost);
     } catch (Exception e) {
       adminClientsMap.remove(adminClientKey);
       adminClient.close();
@@ -418,6 +433,14 @@ public class ClusterApiUtils {
 
       props.put("ssl.enabled.protocols", "TLSv1.2,TLSv1.1");
       props.put("ssl.endpoint.identification.algorithm", "");
+
+      // keystore files are loaded once for all clients of the cluster, pem entries by Kafka
+      if ((props.containsKey(SslConfigs.SSL_KEYSTORE_LOCATION_CONFIG)
+              || props.containsKey(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG))
+          && !props.containsKey(SslConfigs.SSL_KEYSTORE_KEY_CONFIG)
+          && !props.containsKey(SslConfigs.SSL_TRUSTSTORE_CERTIFICATES_CONFIG)) {
+        props.put(SslConfigs.SSL_ENGINE_FACTORY_CLASS_CONFIG, KafkaSslEngineFactory.class);
+      }
     } catch (Exception exception) {
       log.error("Error : Cannot set SSL Config properties.", exception);
     }
@@ -429,6 +452,9 @@ public class ClusterApiUtils {
     props.put(AdminClientConfig.RETRIES_CONFIG, adminClientProperties.getRetriesConfig());
     props.put(
         AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, adminClientProperties.getRequestTimeOutMs());
+    props.put(
+        AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG,
+        adminClientProperties.getDefaultApiTimeoutMs());
     props.put(
         AdminClientConfig.RETRY_BACKOFF_MS_CONFIG, adminClientProperties.getRetryBackOffMsConfig());
   }
@@ -440,14 +466,23 @@ public class ClusterApiUtils {
     if (PLAINTEXT == protocol) {
       connectorsUrl = HTTP_PREFIX + suffixUrl;
       if (!restTemplateMap.containsKey(PLAIN_REST_TEMPLATE)) {
-        restTemplateMap.put(PLAIN_REST_TEMPLATE, new RestTemplate());
+        HttpComponentsClientHttpRequestFactory plainRequestFactory =
+            sslContextConfig.getPlainClientHttpRequestFactory();
+        RestTemplate plainRestTemplate =
+            plainRequestFactory == null
+                ? new RestTemplate()
+                : new RestTemplate(plainRequestFactory);
+        plainRestTemplate.getInterceptors().add(clusterCallMetrics.httpInterceptor(null));
+        restTemplateMap.put(PLAIN_REST_TEMPLATE, plainRestTemplate);
       }
       return Pair.of(connectorsUrl, restTemplateMap.get(PLAIN_REST_TEMPLATE));
     } else if (SSL == protocol) {
       connectorsUrl = HTTPS_PREFIX.concat(suffixUrl);
       if (!restTemplateMap.containsKey(SSL_REST_TEMPLATE)) {
-        restTemplateMap.put(
-            SSL_REST_TEMPLATE, new RestTemplate(sslContextConfig.getClientHttpRequestFactory()));
+        RestTemplate sslRestTemplate =
+            new RestTemplate(sslContextConfig.getClientHttpRequestFactory());
+        sslRestTemplate.getInterceptors().add(clusterCallMetrics.httpInterceptor(null));
+        restTemplateMap.put(SSL_REST_TEMPLATE, sslRestTemplate);
       }
       return Pair.of(connectorsUrl, restTemplateMap.get(SSL_REST_TEMPLATE));
     }
@@ -0,0 +1,259 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AlterConfigsResult;
+import org.apache.kafka.clients.admin.AlterConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.CreateAclsResult;
+import org.apache.kafka.clients.admin.CreatePartitionsResult;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.clients.admin.DeleteAclsResult;
+import org.apache.kafka.clients.admin.DeleteTopicsResult;
+import org.apache.kafka.clients.admin.DescribeAclsResult;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.clients.admin.DescribeConfigsResult;
+import org.apache.kafka.clients.admin.DescribeLogDirsResult;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the calls of cluster api to kafka clusters, schema registries, kafka connect, Aiven and
+ * Confluent Cloud, tagged by the system, the cluster, the operation and the outcome, with a
+ * percentile histogram for each. Failed calls are also counted by their error.
+ *
+ * <p>Kafka calls are timed from the call of the admin operation until its result completes. Http
+ * calls are named by their method and path, with all path segments which are not part of the
+ * resource names of the apis replaced, to keep the operations of a cluster bounded.
+ */
+@Component
+public class ClusterCallMetrics {
+
+  public static final String CALLS_METER = "klaw.cluster.calls";
+
+  public static final String CALL_ERRORS_METER = "klaw.cluster.call.errors";
+
+  public static final String KAFKA = "kafka";
+
+  public static final String SCHEMA_REGISTRY = "schemaregistry";
+
+  public static final String KAFKA_CONNECT = "kafkaconnect";
+
+  public static final String AIVEN = "aiven";
+
+  public static final String CONFLUENT_CLOUD = "confluentcloud";
+
+  static final String SUCCESS = "success";
+
+  static final String ERROR = "error";
+
+  // resource names of the schema registry, kafka connect, Aiven and Confluent Cloud apis
+  private static final Set<String> HTTP_RESOURCES =
+      Set.of(
+          "acl",
+          "acls",
+          "clusters",
+          "compatibility",
+          "config",
+          "configs",
+          "connector-plugins",
+          "connectors",
+          "ids",
+          "kafka",
+          "latest",
+          "mode",
+          "partitions",
+          "pause",
+          "project",
+          "restart",
+          "resume",
+          "schemas",
+          "service",
+          "status",
+          "subjects",
+          "tasks",
+          "topics",
+          "user",
+          "v1",
+          "v3",
+          "versions");
+
+  private final MeterRegistry meterRegistry;
+
+  public ClusterCallMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** An admin which times each operation of the given admin against the given cluster. */
+  public Admin timed(Admin admin, String cluster) {
+    return (Admin)
+        Proxy.newProxyInstance(
+            Admin.class.getClassLoader(),
+            new Class<?>[] {Admin.class},
+            (proxy, method, args) -> {
+              long startNanos = System.nanoTime();
+              Object result;
+              try {
+                result = method.invoke(admin, args);
+              } catch (InvocationTargetException e) {
+                record(KAFKA, cluster, method.getName(), startNanos, e.getCause());
+                throw e.getCause();
+              }
+              KafkaFuture<?> completion = getCompletion(result);
+              if (completion != null) {
+                completion.whenComplete(
+                    (value, error) -> record(KAFKA, cluster, method.getName(), startNanos, error));
+              }
+              return result;
+            });
+  }
+
+  /**
+   * Times the http calls of a rest template, of the given system or, for rest templates shared by
+   * schema registries, kafka connect and Confluent Cloud, of the system the path belongs to.
+   */
+  public ClientHttpRequestInterceptor httpInterceptor(String system) {
+    return (request, body, execution) -> {
+      long startNanos = System.nanoTime();
+      URI uri = request.getURI();
+      String callSystem = system == null ? getHttpSystem(uri) : system;
+      String cluster = uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+      String operation = getHttpOperation(request.getMethod().name(), uri);
+      ClientHttpResponse response;
+      try {
+        response = execution.execute(request, body);
+      } catch (Exception e) {
+        record(callSystem, cluster, operation, startNanos, e);
+        throw e;
+      }
+      int statusCode = response.getStatusCode().value();
+      if (statusCode >= 400) {
+        record(callSystem, cluster, operation, startNanos, "HTTP " + statusCode);
+      } else {
+        record(callSystem, cluster, operation, startNanos, (String) null);
+      }
+      return response;
+    };
+  }
+
+  private void record(
+      String system, String cluster, String operation, long startNanos, Throwable error) {
+    while ((error instanceof ExecutionException || error instanceof CompletionException)
+        && error.getCause() != null) {
+      error = error.getCause();
+    }
+    record(
+        system,
+        cluster,
+        operation,
+        startNanos,
+        error == null ? null : error.getClass().getSimpleName());
+  }
+
+  private void record(
+      String system, String cluster, String operation, long startNanos, String error) {
+    Timer.builder(CALLS_METER)
+        .description("Calls of cluster api to clusters and cloud apis")
+        .tags(
+            "system",
+            system,
+            "cluster",
+            cluster == null ? "" : cluster,
+            "operation",
+            operation,
+            "outcome",
+            error == null ? SUCCESS : ERROR)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    if (error != null) {
+      Counter.builder(CALL_ERRORS_METER)
+          .description("Failed calls of cluster api to clusters and cloud apis")
+          .tags(
+              "system",
+              system,
+              "cluster",
+              cluster == null ? "" : cluster,
+              "operation",
+              operation,
+              "error",
+              error)
+          .register(meterRegistry)
+          .increment();
+    }
+  }
+
+  static String getHttpOperation(String method, URI uri) {
+    StringJoiner operation = new StringJoiner("/", method + " /", "");
+    if (uri.getPath() != null) {
+      for (String segment : uri.getPath().split("/")) {
+        if (!segment.isEmpty()) {
+          operation.add(HTTP_RESOURCES.contains(segment) ? segment : "{}");
+        }
+      }
+    }
+    return operation.toString();
+  }
+
+  private static String getHttpSystem(URI uri) {
+    String path = uri.getPath() == null ? "" : uri.getPath();
+    if (path.startsWith("/connectors") || path.startsWith("/connector-plugins")) {
+      return KAFKA_CONNECT;
+    }
+    if (path.startsWith("/kafka/v3")) {
+      return CONFLUENT_CLOUD;
+    }
+    return SCHEMA_REGISTRY;
+  }
+
+  private static KafkaFuture<?> getCompletion(Object result) {
+    if (result instanceof ListTopicsResult listTopicsResult) {
+      return listTopicsResult.namesToListings();
+    } else if (result instanceof DescribeTopicsResult describeTopicsResult) {
+      return describeTopicsResult.allTopicNames();
+    } else if (result instanceof CreateTopicsResult createTopicsResult) {
+      return createTopicsResult.all();
+    } else if (result instanceof DeleteTopicsResult deleteTopicsResult) {
+      return deleteTopicsResult.all();
+    } else if (result instanceof CreatePartitionsResult createPartitionsResult) {
+      return createPartitionsResult.all();
+    } else if (result instanceof DescribeConfigsResult describeConfigsResult) {
+      return describeConfigsResult.all();
+    } else if (result instanceof AlterConfigsResult alterConfigsResult) {
+      return alterConfigsResult.all();
+    } else if (result instanceof DescribeAclsResult describeAclsResult) {
+      return describeAclsResult.values();
+    } else if (result instanceof CreateAclsResult createAclsResult) {
+      return createAclsResult.all();
+    } else if (result instanceof DeleteAclsResult deleteAclsResult) {
+      return deleteAclsResult.all();
+    } else if (result instanceof DescribeClusterResult describeClusterResult) {
+      return describeClusterResult.nodes();
+    } else if (result instanceof DescribeLogDirsResult describeLogDirsResult) {
+      return describeLogDirsResult.allDescriptions();
+    } else if (result instanceof ListOffsetsResult listOffsetsResult) {
+      return listOffsetsResult.all();
+    } else if (result instanceof ListConsumerGroupOffsetsResult listConsumerGroupOffsetsResult) {
+      return listConsumerGroupOffsetsResult.all();
+    } else if (result instanceof AlterConsumerGroupOffsetsResult alterConsumerGroupOffsetsResult) {
+      return alterConsumerGroupOffsetsResult.all();
+    }
+    // operations klaw does not use are passed through without being timed
+    return null;
+  }
+}
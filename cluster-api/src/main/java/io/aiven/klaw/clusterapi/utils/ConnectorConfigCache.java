@@ -0,0 +1,108 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorConfig;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Masked configs of connectors, keyed by cluster and connector name. Entries expire after a short
+ * ttl, so that config changes made outside of Klaw show up quickly, and are dropped right away when
+ * a connector is changed through Klaw. Only masked values are held, secrets are never cached.
+ */
+@Service
+public class ConnectorConfigCache {
+
+  public static final String MASKED_VALUE = "*******";
+
+  private final Cache<String, ConnectorConfig> connectorConfigs;
+
+  private final List<String> sensitiveFields;
+
+  @Autowired
+  public ConnectorConfigCache(
+      @Value("${klaw.kafkaconnect.configcache.ttl.seconds:30}") long ttlSeconds,
+      @Value("${klaw.kafkaconnect.configcache.maxsize:10000}") long maxSize,
+      @Value("${klaw.connect.sensitive.fields:password}") String sensitiveFields) {
+    this.connectorConfigs =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .maximumSize(maxSize)
+            .build();
+    this.sensitiveFields =
+        Arrays.stream(sensitiveFields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .map(field -> field.toLowerCase(Locale.ROOT))
+            .toList();
+  }
+
+  /**
+   * Returns the cached config of the connector, or masks and caches the one returned by the loader.
+   * Concurrent requests for the same connector share a single load.
+   */
+  public ConnectorConfig get(
+      String clusterIdentification,
+      String connectorName,
+      Supplier<Map<String, String>> configLoader) {
+    try {
+      return connectorConfigs.get(
+          getKey(clusterIdentification, connectorName),
+          () -> mask(connectorName, configLoader.get()));
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /** Masks and caches a config which was already read from the cluster. */
+  public ConnectorConfig put(
+      String clusterIdentification, String connectorName, Map<String, String> config) {
+    ConnectorConfig connectorConfig = mask(connectorName, config);
+    connectorConfigs.put(getKey(clusterIdentification, connectorName), connectorConfig);
+    return connectorConfig;
+  }
+
+  public void evict(String clusterIdentification, String connectorName) {
+    connectorConfigs.invalidate(getKey(clusterIdentification, connectorName));
+  }
+
+  public boolean isSensitive(String key) {
+    String lowerCaseKey = key.toLowerCase(Locale.ROOT);
+    return sensitiveFields.stream().anyMatch(lowerCaseKey::contains);
+  }
+
+  private ConnectorConfig mask(String connectorName, Map<String, String> config) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    Map<String, String> maskedConfig = new LinkedHashMap<>();
+    new TreeMap<>(config)
+        .forEach(
+            (key, value) -> {
+              String maskedValue = isSensitive(key) ? MASKED_VALUE : value;
+              // only masked values go into the version, so it reveals nothing about secrets
+              hasher.putString(key, StandardCharsets.UTF_8).putByte((byte) 0);
+              hasher
+                  .putString(String.valueOf(maskedValue), StandardCharsets.UTF_8)
+                  .putByte((byte) 0);
+              maskedConfig.put(key, maskedValue);
+            });
+    return new ConnectorConfig(connectorName, hasher.hash().toString(), maskedConfig);
+  }
+
+  private static String getKey(String clusterIdentification, String connectorName) {
+    return clusterIdentification + "|" + connectorName;
+  }
+}
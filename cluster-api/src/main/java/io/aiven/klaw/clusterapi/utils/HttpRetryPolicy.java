@@ -0,0 +1,130 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Retries read calls to rate limited cloud apis. A call is retried when it is throttled (429), on
+ * server errors (5xx) and when the api cannot be reached, waiting for the Retry-After of the
+ * response if there is one, otherwise for an exponentially growing, jittered backoff. A call asked
+ * to wait longer than the max backoff fails right away instead of retrying too early.
+ */
+@Component
+@Slf4j
+public class HttpRetryPolicy {
+
+  private final int maxAttempts;
+
+  private final long initialBackoffMs;
+
+  private final long maxBackoffMs;
+
+  @Autowired
+  public HttpRetryPolicy(
+      @Value("${klaw.http.retry.max.attempts:4}") int maxAttempts,
+      @Value("${klaw.http.retry.initial.backoff.ms:500}") long initialBackoffMs,
+      @Value("${klaw.http.retry.max.backoff.ms:10000}") long maxBackoffMs) {
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.initialBackoffMs = initialBackoffMs;
+    this.maxBackoffMs = maxBackoffMs;
+  }
+
+  /**
+   * @throws RuntimeException the exception of the last attempt, once all attempts failed or as soon
+   *     as the call fails with an error which is not worth retrying
+   */
+  public <T> T execute(String description, Supplier<T> call) {
+    return execute(description, call, true);
+  }
+
+  /**
+   * Retries only calls which were rejected because of throttling, for calls which are not safe to
+   * repeat once the api may have processed them, like the creation of a resource.
+   *
+   * @throws RuntimeException the exception of the last attempt
+   */
+  public <T> T executeOnThrottling(String description, Supplier<T> call) {
+    return execute(description, call, false);
+  }
+
+  private <T> T execute(String description, Supplier<T> call, boolean retryFailures) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return call.get();
+      } catch (HttpStatusCodeException e) {
+        if (!isRetryable(e, retryFailures) || attempt == maxAttempts) {
+          throw e;
+        }
+        long retryAfterMs = getRetryAfterMs(e.getResponseHeaders());
+        if (retryAfterMs > maxBackoffMs) {
+          log.warn(
+              "{} failed ({}), not retrying as Retry-After of {} ms exceeds {} ms",
+              description,
+              e.getMessage(),
+              retryAfterMs,
+              maxBackoffMs);
+          throw e;
+        }
+        backOff(description, attempt, e, retryAfterMs >= 0 ? retryAfterMs : getBackoffMs(attempt));
+      } catch (ResourceAccessException e) {
+        if (!retryFailures || attempt == maxAttempts) {
+          throw e;
+        }
+        backOff(description, attempt, e, getBackoffMs(attempt));
+      }
+    }
+  }
+
+  private void backOff(String description, int attempt, RuntimeException e, long delayMs) {
+    log.warn(
+        "{} failed ({}), attempt {} of {}, retrying in {} ms",
+        description,
+        e.getMessage(),
+        attempt,
+        maxAttempts,
+        delayMs);
+    try {
+      Thread.sleep(delayMs);
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread().interrupt();
+      throw e;
+    }
+  }
+
+  private static boolean isRetryable(HttpStatusCodeException e, boolean retryFailures) {
+    return e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+        || (retryFailures && e.getStatusCode().is5xxServerError());
+  }
+
+  /**
+   * Equal jitter, a random delay between half and all of the backoff, so that concurrent callers
+   * which were throttled together spread out again while still waiting at least half the backoff.
+   */
+  long getBackoffMs(int attempt) {
+    long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+    return backoffMs <= 0 ? 0 : ThreadLocalRandom.current().nextLong(backoffMs / 2, backoffMs + 1);
+  }
+
+  /** Retry-After in seconds as milliseconds, or -1 if not sent. */
+  long getRetryAfterMs(HttpHeaders responseHeaders) {
+    String retryAfter =
+        responseHeaders == null ? null : responseHeaders.getFirst(HttpHeaders.RETRY_AFTER);
+    if (retryAfter == null) {
+      return -1;
+    }
+    try {
+      return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+    } catch (NumberFormatException e) {
+      // an http date, not sent by the supported apis
+      return -1;
+    }
+  }
+}
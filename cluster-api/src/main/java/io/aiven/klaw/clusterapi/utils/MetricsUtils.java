@@ -1,51 +1,191 @@
 package io.aiven.klaw.clusterapi.utils;
 
-import java.util.HashMap;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnectionNotification;
 import javax.management.remote.JMXConnector;
 import javax.management.remote.JMXConnectorFactory;
 import javax.management.remote.JMXServiceURL;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Keeps one JMX connection per broker url. A connector is thread safe and multiplexes concurrent
+ * requests, so it is shared by all callers instead of paying the remote handshake on every call.
+ * Connections are checked before use when they have not been used for a while, replaced when they
+ * fail and closed once idle.
+ */
 @Service
 @Slf4j
 public class MetricsUtils {
 
-  private final HashMap<String, JMXConnector> metricsClientsMap = new HashMap<>();
+  private final Map<String, PooledJmxConnection> metricsClientsMap = new ConcurrentHashMap<>();
 
-  public JMXConnector getJmxConnector(String jmxUrl) throws Exception {
+  private final long validationIntervalMs;
 
-    JMXConnector jmxConnector;
+  private final long idleTimeoutMs;
 
-    try {
-      if (!metricsClientsMap.containsKey(jmxUrl)) {
-        JMXServiceURL url;
-        log.info("Creating JMX connection {}", jmxUrl);
-        url = new JMXServiceURL(jmxUrl);
-        jmxConnector = JMXConnectorFactory.connect(url, null);
-      } else {
-        jmxConnector = metricsClientsMap.get(jmxUrl);
+  @Autowired
+  public MetricsUtils(
+      @Value("${klaw.jmx.connection.validation.interval.ms:30000}") long validationIntervalMs,
+      @Value("${klaw.jmx.connection.idle.timeout.ms:300000}") long idleTimeoutMs) {
+    this.validationIntervalMs = validationIntervalMs;
+    this.idleTimeoutMs = idleTimeoutMs;
+  }
+
+  public MBeanServerConnection getMBeanServerConnection(String jmxUrl) throws Exception {
+    while (true) {
+      PooledJmxConnection pooledJmxConnection =
+          metricsClientsMap.computeIfAbsent(jmxUrl, PooledJmxConnection::new);
+      MBeanServerConnection mBeanServerConnection =
+          pooledJmxConnection.getMBeanServerConnection(validationIntervalMs);
+      if (mBeanServerConnection != null) {
+        return mBeanServerConnection;
       }
-    } catch (Exception exception) {
-      log.error("Unable to create JMX Connector " + exception.getMessage(), exception);
-      throw new Exception("Cannot connect to JMX Host. Please contact Administrator.");
+      // evicted concurrently, a new connection is pooled in its place
+      metricsClientsMap.remove(jmxUrl, pooledJmxConnection);
+    }
+  }
+
+  /** Replaces the connection of the url on next use, after a call on it failed with an io error. */
+  public void invalidate(String jmxUrl) {
+    PooledJmxConnection pooledJmxConnection = metricsClientsMap.get(jmxUrl);
+    if (pooledJmxConnection != null) {
+      pooledJmxConnection.markBroken();
     }
+  }
+
+  @Scheduled(fixedDelayString = "${klaw.jmx.connection.eviction.interval.ms:60000}")
+  public void evictIdleConnections() {
+    long now = System.currentTimeMillis();
+    metricsClientsMap.forEach(
+        (jmxUrl, pooledJmxConnection) -> {
+          if (now - pooledJmxConnection.getLastUsedMs() >= idleTimeoutMs
+              && metricsClientsMap.remove(jmxUrl, pooledJmxConnection)) {
+            log.info("Closing idle JMX connection {}", jmxUrl);
+            pooledJmxConnection.close();
+          }
+        });
+  }
+
+  int getPoolSize() {
+    return metricsClientsMap.size();
+  }
+
+  @PreDestroy
+  public void closeConnections() {
+    metricsClientsMap.values().forEach(PooledJmxConnection::close);
+    metricsClientsMap.clear();
+  }
+
+  private static class PooledJmxConnection {
+
+    private final String jmxUrl;
+
+    private volatile JMXConnector jmxConnector;
+
+    private MBeanServerConnection mBeanServerConnection;
+
+    private long lastValidatedMs;
+
+    private volatile long lastUsedMs = System.currentTimeMillis();
+
+    private volatile boolean broken;
 
-    if (jmxConnector == null) {
-      log.error("Cannot create JMX Connector  {}", jmxUrl);
-      throw new Exception("Cannot connect to JMX host. Please contact Administrator.");
+    private boolean closed;
+
+    PooledJmxConnection(String jmxUrl) {
+      this.jmxUrl = jmxUrl;
+    }
+
+    /** Returns null once the connection was evicted. */
+    synchronized MBeanServerConnection getMBeanServerConnection(long validationIntervalMs)
+        throws Exception {
+      if (closed) {
+        return null;
+      }
+      long now = System.currentTimeMillis();
+      lastUsedMs = now;
+      if (mBeanServerConnection != null
+          && !broken
+          && now - lastValidatedMs >= validationIntervalMs) {
+        try {
+          mBeanServerConnection.getMBeanCount();
+          lastValidatedMs = now;
+        } catch (IOException e) {
+          log.warn("JMX connection {} is no longer usable, reconnecting", jmxUrl, e);
+          broken = true;
+        }
+      }
+      if (mBeanServerConnection == null || broken) {
+        closeConnector();
+        connect();
+        lastValidatedMs = now;
+      }
+      return mBeanServerConnection;
+    }
+
+    private void connect() throws Exception {
+      log.info("Creating JMX connection {}", jmxUrl);
+      JMXConnector newJmxConnector = null;
+      try {
+        newJmxConnector = JMXConnectorFactory.connect(new JMXServiceURL(jmxUrl), null);
+        newJmxConnector.addConnectionNotificationListener(
+            (notification, handback) -> {
+              // ignores the notifications of connectors which were already replaced
+              if (handback == jmxConnector
+                  && (JMXConnectionNotification.FAILED.equals(notification.getType())
+                      || JMXConnectionNotification.CLOSED.equals(notification.getType()))) {
+                broken = true;
+              }
+            },
+            null,
+            newJmxConnector);
+        mBeanServerConnection = newJmxConnector.getMBeanServerConnection();
+        jmxConnector = newJmxConnector;
+        broken = false;
+      } catch (Exception exception) {
+        log.error("Unable to create JMX Connector " + exception.getMessage(), exception);
+        if (newJmxConnector != null) {
+          closeQuietly(newJmxConnector);
+        }
+        throw new Exception("Cannot connect to JMX Host. Please contact Administrator.");
+      }
+    }
+
+    long getLastUsedMs() {
+      return lastUsedMs;
+    }
+
+    void markBroken() {
+      broken = true;
+    }
+
+    synchronized void close() {
+      closed = true;
+      closeConnector();
+    }
+
+    private void closeConnector() {
+      if (jmxConnector != null) {
+        closeQuietly(jmxConnector);
+      }
+      jmxConnector = null;
+      mBeanServerConnection = null;
     }
 
-    try {
-      if (!metricsClientsMap.containsKey(jmxUrl)) {
-        metricsClientsMap.put(jmxUrl, jmxConnector);
+    private void closeQuietly(JMXConnector connector) {
+      try {
+        connector.close();
+      } catch (IOException e) {
+        log.debug("Error closing JMX connection {}", jmxUrl, e);
       }
-      return jmxConnector;
-    } catch (Exception e) {
-      metricsClientsMap.remove(jmxUrl);
-      jmxConnector.close();
-      log.error("Cannot create JMX Connector {}", jmxUrl, e);
-      throw new Exception("Cannot connect to JMX host. Please contact Administrator.");
     }
   }
 }
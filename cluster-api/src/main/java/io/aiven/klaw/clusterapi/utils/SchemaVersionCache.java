@@ -0,0 +1,262 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Content of registered schema versions, keyed by registry, subject and version. A registered
+ * version never changes, so once held it is not downloaded again, unless the subject is deleted and
+ * registered again, which is detected by the schema id of the latest version. Entries are kept in
+ * memory and, when a cache directory is configured, on local disk so that they survive restarts.
+ */
+@Service
+@Slf4j
+public class SchemaVersionCache {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> SCHEMA_TYPEREF = new TypeReference<>() {};
+  private static final String FILE_SUFFIX = ".json";
+
+  private final Cache<String, Map<String, Object>> schemaVersions;
+
+  // subject key -> versions of the subject held in memory, so that the versions of one subject are
+  // found without going through the versions of every subject
+  private final Map<String, Set<Integer>> versionsBySubject = new ConcurrentHashMap<>();
+
+  private final Path cacheDirectory;
+
+  @Autowired
+  public SchemaVersionCache(
+      @Value("${klaw.schemaregistry.versioncache.maxsize:10000}") long maxSize,
+      @Value("${klaw.schemaregistry.versioncache.dir:}") String cacheDirectory) {
+    this.schemaVersions =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .removalListener(
+                (RemovalListener<String, Map<String, Object>>)
+                    notification -> {
+                      if (notification.getCause() != RemovalCause.REPLACED) {
+                        forgetVersion(notification.getKey());
+                      }
+                    })
+            .build();
+    this.cacheDirectory = Strings.isNullOrEmpty(cacheDirectory) ? null : Paths.get(cacheDirectory);
+  }
+
+  /** Returns a copy of the cached schema version, which the caller is free to modify. */
+  public Optional<Map<String, Object>> get(
+      String schemaRegistryHost, String clusterIdentification, String subject, int version) {
+    String key = getKey(schemaRegistryHost, clusterIdentification, subject, version);
+    Map<String, Object> schemaVersion = schemaVersions.getIfPresent(key);
+    if (schemaVersion == null && cacheDirectory != null) {
+      schemaVersion = readFromDisk(schemaRegistryHost, clusterIdentification, subject, version);
+      if (schemaVersion != null) {
+        store(schemaRegistryHost, clusterIdentification, subject, version, schemaVersion);
+      }
+    }
+    return Optional.ofNullable(schemaVersion).map(HashMap::new);
+  }
+
+  public void put(
+      String schemaRegistryHost,
+      String clusterIdentification,
+      String subject,
+      int version,
+      Map<String, Object> schemaVersion) {
+    Map<String, Object> schemaVersionCopy = new HashMap<>(schemaVersion);
+    store(schemaRegistryHost, clusterIdentification, subject, version, schemaVersionCopy);
+    if (cacheDirectory != null) {
+      writeToDisk(schemaRegistryHost, clusterIdentification, subject, version, schemaVersionCopy);
+    }
+  }
+
+  /**
+   * Drops versions of a subject which are no longer listed by the registry, for instance after a
+   * soft delete of a version or a delete of the whole subject.
+   */
+  public void retainVersions(
+      String schemaRegistryHost,
+      String clusterIdentification,
+      String subject,
+      Set<Integer> versions) {
+    String subjectKey = getKey(schemaRegistryHost, clusterIdentification, subject, null);
+    Set<Integer> cachedVersions = versionsBySubject.get(subjectKey);
+    if (cachedVersions != null) {
+      for (Integer cachedVersion : List.copyOf(cachedVersions)) {
+        if (!versions.contains(cachedVersion)) {
+          schemaVersions.invalidate(subjectKey + cachedVersion);
+        }
+      }
+    }
+
+    if (cacheDirectory != null) {
+      Path subjectDirectory =
+          getSubjectDirectory(schemaRegistryHost, clusterIdentification, subject);
+      if (!Files.isDirectory(subjectDirectory)) {
+        return;
+      }
+      try (Stream<Path> versionFiles = Files.list(subjectDirectory)) {
+        versionFiles
+            .filter(
+                versionFile -> {
+                  String fileName = versionFile.getFileName().toString();
+                  return fileName.endsWith(FILE_SUFFIX)
+                      && !versions.contains(
+                          Integer.parseInt(
+                              fileName.substring(0, fileName.length() - FILE_SUFFIX.length())));
+                })
+            .forEach(this::deleteFile);
+      } catch (IOException | NumberFormatException e) {
+        log.error("Unable to clean up cached schema versions of {}", subject, e);
+      }
+    }
+  }
+
+  /**
+   * Drops the cached versions of a subject when the given version is cached with another schema id.
+   *
+   * @return whether the subject was dropped
+   */
+  public boolean evictSubjectIfChanged(
+      String schemaRegistryHost,
+      String clusterIdentification,
+      String subject,
+      int version,
+      Object schemaId) {
+    Optional<Map<String, Object>> schemaVersion =
+        get(schemaRegistryHost, clusterIdentification, subject, version);
+    if (schemaVersion.isEmpty() || Objects.equals(schemaVersion.get().get("id"), schemaId)) {
+      return false;
+    }
+    log.info("Schema id of {} version {} changed, dropping its cached versions", subject, version);
+    evictSubject(schemaRegistryHost, clusterIdentification, subject);
+    return true;
+  }
+
+  public void evictSubject(
+      String schemaRegistryHost, String clusterIdentification, String subject) {
+    retainVersions(schemaRegistryHost, clusterIdentification, subject, Set.of());
+  }
+
+  private void store(
+      String schemaRegistryHost,
+      String clusterIdentification,
+      String subject,
+      int version,
+      Map<String, Object> schemaVersion) {
+    String subjectKey = getKey(schemaRegistryHost, clusterIdentification, subject, null);
+    versionsBySubject.compute(
+        subjectKey,
+        (key, versions) -> {
+          Set<Integer> subjectVersions =
+              versions == null ? ConcurrentHashMap.newKeySet() : versions;
+          subjectVersions.add(version);
+          return subjectVersions;
+        });
+    schemaVersions.put(subjectKey + version, schemaVersion);
+  }
+
+  private void forgetVersion(String key) {
+    int versionStart = key.lastIndexOf('|') + 1;
+    Integer version = Integer.valueOf(key.substring(versionStart));
+    versionsBySubject.computeIfPresent(
+        key.substring(0, versionStart),
+        (subjectKey, versions) -> {
+          versions.remove(version);
+          return versions.isEmpty() ? null : versions;
+        });
+  }
+
+  private Map<String, Object> readFromDisk(
+      String schemaRegistryHost, String clusterIdentification, String subject, int version) {
+    Path versionFile =
+        getSubjectDirectory(schemaRegistryHost, clusterIdentification, subject)
+            .resolve(version + FILE_SUFFIX);
+    if (!Files.isRegularFile(versionFile)) {
+      return null;
+    }
+    try {
+      return OBJECT_MAPPER.readValue(versionFile.toFile(), SCHEMA_TYPEREF);
+    } catch (IOException e) {
+      log.error("Unable to read cached schema version {}, ignoring it", versionFile, e);
+      deleteFile(versionFile);
+      return null;
+    }
+  }
+
+  private void writeToDisk(
+      String schemaRegistryHost,
+      String clusterIdentification,
+      String subject,
+      int version,
+      Map<String, Object> schemaVersion) {
+    Path subjectDirectory = getSubjectDirectory(schemaRegistryHost, clusterIdentification, subject);
+    try {
+      Files.createDirectories(subjectDirectory);
+      // written to a temporary file first, so that readers never see a partially written version
+      Path tempFile = Files.createTempFile(subjectDirectory, String.valueOf(version), ".tmp");
+      OBJECT_MAPPER.writeValue(tempFile.toFile(), schemaVersion);
+      Files.move(
+          tempFile,
+          subjectDirectory.resolve(version + FILE_SUFFIX),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.error("Unable to store schema version {} of {} on disk", version, subject, e);
+    }
+  }
+
+  private void deleteFile(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.error("Unable to delete {}", file, e);
+    }
+  }
+
+  private Path getSubjectDirectory(
+      String schemaRegistryHost, String clusterIdentification, String subject) {
+    String registryDirectory =
+        Hashing.sha256()
+            .hashString(schemaRegistryHost + clusterIdentification, StandardCharsets.UTF_8)
+            .toString();
+    return cacheDirectory
+        .resolve(registryDirectory)
+        .resolve(URLEncoder.encode(subject, StandardCharsets.UTF_8));
+  }
+
+  private static String getKey(
+      String schemaRegistryHost, String clusterIdentification, String subject, Integer version) {
+    return String.join(
+        "|",
+        schemaRegistryHost,
+        clusterIdentification,
+        subject,
+        version == null ? "" : String.valueOf(version));
+  }
+}
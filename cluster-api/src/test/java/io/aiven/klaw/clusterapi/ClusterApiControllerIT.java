@@ -2,6 +2,7 @@ package io.aiven.klaw.clusterapi;
 
 import static io.aiven.klaw.clusterapi.models.enums.ClusterStatus.ONLINE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -11,6 +12,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
+import io.aiven.klaw.clusterapi.models.TopicConfig;
+import io.aiven.klaw.clusterapi.models.TopicNameFilter;
 import io.aiven.klaw.clusterapi.models.consumergroup.OffsetResetType;
 import io.aiven.klaw.clusterapi.models.consumergroup.OffsetsTiming;
 import io.aiven.klaw.clusterapi.models.consumergroup.ResetConsumerGroupOffsetsRequest;
@@ -18,12 +21,20 @@ import io.aiven.klaw.clusterapi.models.enums.AclIPPrincipleType;
 import io.aiven.klaw.clusterapi.models.enums.AclType;
 import io.aiven.klaw.clusterapi.models.enums.AclsNativeType;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
+import io.aiven.klaw.clusterapi.models.enums.ClusterQueryStatus;
+import io.aiven.klaw.clusterapi.models.enums.ClusterQueryType;
 import io.aiven.klaw.clusterapi.models.enums.ClusterStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.models.enums.RequestOperationType;
+import io.aiven.klaw.clusterapi.models.multicluster.ClusterQuery;
+import io.aiven.klaw.clusterapi.models.multicluster.ClusterQueryResult;
+import io.aiven.klaw.clusterapi.models.multicluster.MultiClusterQueryRequest;
 import io.aiven.klaw.clusterapi.services.SchemaService;
+import io.aiven.klaw.clusterapi.utils.ClusterCallMetrics;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -113,6 +124,8 @@ public class ClusterApiControllerIT {
   private static final String bootStrapServersSsl = "localhost:9093";
 
   @Autowired private MockMvc mvc;
+
+  @Autowired private MeterRegistry meterRegistry;
   ObjectMapper mapper = new ObjectMapper();
 
   @MockBean SchemaService schemaService;
@@ -751,6 +764,75 @@ public class ClusterApiControllerIT {
     assertThat(thrown.getMessage()).contains("Topic " + nonExistingTopic + " does not exist.");
   }
 
+  @Test
+  @Order(16)
+  public void clusterCallsAreTimed() {
+    for (String operation : List.of("createTopics", "deleteTopics", "createAcls")) {
+      Timer timer =
+          meterRegistry
+              .get(ClusterCallMetrics.CALLS_METER)
+              .tags(
+                  "system",
+                  ClusterCallMetrics.KAFKA,
+                  "cluster",
+                  bootStrapServersSsl,
+                  "operation",
+                  operation,
+                  "outcome",
+                  "success")
+              .timer();
+      assertThat(timer.count()).isPositive();
+      assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+  }
+
+  @Test
+  @Order(17)
+  public void queryClustersTogether() throws Exception {
+    TopicNameFilter topicNameFilter = new TopicNameFilter();
+    topicNameFilter.setTopicNames(Set.of(TOPIC_NAME, "missingtopic"));
+    ClusterQuery topicsQuery = new ClusterQuery();
+    topicsQuery.setQueryId("topics");
+    topicsQuery.setBootstrapServers(bootStrapServersSsl);
+    topicsQuery.setProtocol(KafkaSupportedProtocol.SSL);
+    topicsQuery.setClusterIdentification("DEV2");
+    topicsQuery.setQueryType(ClusterQueryType.TOPICS);
+    topicsQuery.setTopicNameFilter(topicNameFilter);
+    ClusterQuery metricsQuery = new ClusterQuery();
+    metricsQuery.setQueryId("metrics");
+    metricsQuery.setBootstrapServers(bootStrapServersSsl);
+    metricsQuery.setProtocol(KafkaSupportedProtocol.SSL);
+    metricsQuery.setClusterIdentification("DEV2");
+    metricsQuery.setQueryType(ClusterQueryType.TOPIC_METRICS);
+    metricsQuery.setTopicName(TOPIC_NAME);
+    MultiClusterQueryRequest multiClusterQueryRequest = new MultiClusterQueryRequest();
+    multiClusterQueryRequest.setQueries(List.of(topicsQuery, metricsQuery));
+
+    String response =
+        mvc.perform(
+                MockMvcRequestBuilders.post("/multiCluster/query")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(OBJECT_MAPPER.writeValueAsString(multiClusterQueryRequest))
+                    .header(
+                        AUTHORIZATION,
+                        BEARER_PREFIX + generateToken(KWCLUSTERAPIUSER, clusterAccessSecret, 3L))
+                    .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    List<ClusterQueryResult> results = OBJECT_MAPPER.readValue(response, new TypeReference<>() {});
+    assertThat(results)
+        .extracting(ClusterQueryResult::getQueryId, ClusterQueryResult::getStatus)
+        .containsExactly(
+            tuple("topics", ClusterQueryStatus.SUCCESS),
+            tuple("metrics", ClusterQueryStatus.SUCCESS));
+    assertThat(results.get(0).getTopics())
+        .extracting(TopicConfig::getTopicName)
+        .containsExactly(TOPIC_NAME);
+  }
+
   private void produceAndConsumeRecords(boolean consumeRecs)
       throws ExecutionException, InterruptedException {
     Properties configProperties = new Properties();
@@ -0,0 +1,66 @@
+package io.aiven.klaw.clusterapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aiven.klaw.clusterapi.models.ClusterSchemaRequest;
+import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ClusterRequestBodyLimiterTest {
+
+  private ClusterRequestLimiter clusterRequestLimiter;
+
+  private ClusterRequestBodyLimiter clusterRequestBodyLimiter;
+
+  @BeforeEach
+  void setUp() {
+    clusterRequestLimiter =
+        new ClusterRequestLimiter(new SimpleMeterRegistry(), new ObjectMapper(), 1, 0, 0, 64, 50);
+    clusterRequestBodyLimiter = new ClusterRequestBodyLimiter(clusterRequestLimiter);
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void requestsTakeThePermitOfTheClusterInTheirBody() throws Exception {
+    MockHttpServletRequest createTopic = new MockHttpServletRequest();
+    ClusterTopicRequest clusterTopicRequest = ClusterTopicRequest.builder().env("dev:9092").build();
+    assertThat(afterBodyRead(createTopic, clusterTopicRequest)).isSameAs(clusterTopicRequest);
+
+    // the cluster is at its limit, other clusters are not
+    assertThatThrownBy(
+            () ->
+                afterBodyRead(
+                    new MockHttpServletRequest(),
+                    ClusterSchemaRequest.builder().env("dev:9092").build()))
+        .isInstanceOf(ClusterRequestBodyLimiter.ClusterBusyException.class);
+    afterBodyRead(
+        new MockHttpServletRequest(), ClusterSchemaRequest.builder().env("registry:8081").build());
+
+    MockHttpServletResponse rejection = new MockHttpServletResponse();
+    clusterRequestBodyLimiter.handleClusterBusy(
+        new ClusterRequestBodyLimiter.ClusterBusyException("dev:9092"), rejection);
+    assertThat(rejection.getStatus()).isEqualTo(503);
+    assertThat(rejection.getContentAsString()).contains("Too many requests in flight");
+
+    clusterRequestLimiter.afterCompletion(createTopic, new MockHttpServletResponse(), null, null);
+    assertThat(clusterRequestLimiter.tryAcquire("dev:9092")).isTrue();
+  }
+
+  private Object afterBodyRead(MockHttpServletRequest request, Object body) {
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    return clusterRequestBodyLimiter.afterBodyRead(body, null, null, body.getClass(), null);
+  }
+}
@@ -0,0 +1,109 @@
+package io.aiven.klaw.clusterapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class ClusterRequestLimiterTest {
+
+  private MeterRegistry meterRegistry;
+
+  private ClusterRequestLimiter clusterRequestLimiter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    clusterRequestLimiter =
+        new ClusterRequestLimiter(meterRegistry, new ObjectMapper(), 2, 0, 0, 3, 1);
+  }
+
+  @Test
+  void requestsBeyondTheLimitOfAClusterAreRejected() throws Exception {
+    MockHttpServletRequest first = request("bootstrapServers", "slow:9092");
+    MockHttpServletRequest second = request("bootstrapServers", "slow:9092");
+    assertThat(preHandle(first).getStatus()).isEqualTo(200);
+    assertThat(preHandle(second).getStatus()).isEqualTo(200);
+
+    MockHttpServletResponse rejected = preHandle(request("bootstrapServers", "slow:9092"));
+    assertThat(rejected.getStatus()).isEqualTo(503);
+    assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+    assertThat(rejected.getContentAsString()).contains("Too many requests in flight");
+    // other clusters are not affected
+    assertThat(preHandle(request("kafkaConnectHost", "connect:8083")).getStatus()).isEqualTo(200);
+
+    assertThat(
+            meterRegistry.get("klaw.cluster.requests.active").tag("cluster", "slow:9092").gauge())
+        .extracting(gauge -> gauge.value())
+        .isEqualTo(2.0);
+    assertThat(
+            meterRegistry
+                .get("klaw.cluster.requests.rejected")
+                .tag("cluster", "slow:9092")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+
+    clusterRequestLimiter.afterCompletion(first, new MockHttpServletResponse(), null, null);
+    assertThat(preHandle(request("bootstrapServers", "slow:9092")).getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  void requestsWithoutClusterAreNotBounded() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      assertThat(preHandle(new MockHttpServletRequest()).getStatus()).isEqualTo(200);
+    }
+    assertThat(meterRegistry.get("klaw.requests.active").gauge().value()).isEqualTo(0.0);
+    assertThat(meterRegistry.find("klaw.cluster.requests.active").gauges())
+        .extracting(gauge -> gauge.getId().getTag("cluster"))
+        .containsOnly(ClusterRequestLimiter.OTHER_CLUSTERS_TAG);
+  }
+
+  @Test
+  void requestsToAllClustersTogetherAreBounded() throws Exception {
+    MockHttpServletRequest first = request("bootstrapServers", "dev:9092");
+    assertThat(preHandle(first).getStatus()).isEqualTo(200);
+    assertThat(preHandle(request("bootstrapServers", "tst:9092")).getStatus()).isEqualTo(200);
+    assertThat(preHandle(request("kafkaConnectHost", "connect:8083")).getStatus()).isEqualTo(200);
+
+    // no cluster is at its own limit, all clusters together are
+    assertThat(preHandle(request("bootstrapServers", "acc:9092")).getStatus()).isEqualTo(503);
+    assertThat(clusterRequestLimiter.tryAcquire("dev:9092")).isFalse();
+
+    clusterRequestLimiter.afterCompletion(first, new MockHttpServletResponse(), null, null);
+    assertThat(preHandle(request("bootstrapServers", "acc:9092")).getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  void clustersBeyondTheTaggedOnesShareTheirMeters() throws Exception {
+    assertThat(preHandle(request("bootstrapServers", "dev:9092")).getStatus()).isEqualTo(200);
+    assertThat(preHandle(request("bootstrapServers", "tst:9092")).getStatus()).isEqualTo(200);
+    assertThat(preHandle(request("bootstrapServers", "acc:9092")).getStatus()).isEqualTo(200);
+
+    assertThat(meterRegistry.find("klaw.cluster.requests.active").gauges())
+        .extracting(gauge -> gauge.getId().getTag("cluster"), gauge -> gauge.value())
+        .containsExactlyInAnyOrder(
+            tuple("dev:9092", 1.0), tuple(ClusterRequestLimiter.OTHER_CLUSTERS_TAG, 2.0));
+  }
+
+  private MockHttpServletResponse preHandle(MockHttpServletRequest request) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    clusterRequestLimiter.preHandle(request, response, null);
+    return response;
+  }
+
+  private static MockHttpServletRequest request(String variable, String clusterHost) {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setAttribute(
+        HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of(variable, clusterHost));
+    return request;
+  }
+}
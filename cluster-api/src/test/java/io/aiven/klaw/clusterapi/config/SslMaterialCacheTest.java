@@ -0,0 +1,116 @@
+package io.aiven.klaw.clusterapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Map;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SslMaterialCacheTest {
+
+  private static final String PASSWORD = "klaw1234";
+
+  @TempDir Path tempDir;
+
+  private File keyStore;
+
+  private SslMaterialCache sslMaterialCache;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    keyStore = tempDir.resolve("keystore.p12").toFile();
+    Files.copy(Path.of("src/test/resources/selfsignedcerts/keystore.p12"), keyStore.toPath());
+    sslMaterialCache = new SslMaterialCache();
+    KafkaSslEngineFactory.setSslMaterialCache(sslMaterialCache);
+  }
+
+  @AfterEach
+  void tearDown() {
+    KafkaSslEngineFactory.setSslMaterialCache(null);
+  }
+
+  @Test
+  void contextsAreLoadedOncePerClusterUntilTheirFilesChange() throws Exception {
+    SSLContext sslContext = sslMaterialCache.getSslContext(sslMaterial("DEV1"));
+
+    assertThat(sslMaterialCache.getSslContext(sslMaterial("DEV1"))).isSameAs(sslContext);
+    assertThat(sslMaterialCache.getSslContext(sslMaterial("DEV2"))).isNotSameAs(sslContext);
+
+    assertThat(keyStore.setLastModified(keyStore.lastModified() - 10000)).isTrue();
+    assertThat(sslMaterialCache.getSslContext(sslMaterial("DEV1"))).isNotSameAs(sslContext);
+  }
+
+  @Test
+  void contextsAreLoadedAgainWhenAKeystoreIsReplacedWithTheSameSizeAndTime() throws Exception {
+    storeEmptyKeyStore();
+    SSLContext sslContext = sslMaterialCache.getSslContext(sslMaterial("DEV1"));
+    long length = keyStore.length();
+    long lastModified = keyStore.lastModified();
+
+    // stored again with a new salt
+    storeEmptyKeyStore();
+    assertThat(keyStore.setLastModified(lastModified)).isTrue();
+
+    assertThat(keyStore.length()).isEqualTo(length);
+    assertThat(sslMaterialCache.getSslContext(sslMaterial("DEV1"))).isNotSameAs(sslContext);
+  }
+
+  @Test
+  void keystoresAreSharedByClusters() throws Exception {
+    assertThat(sslMaterialCache.getKeyStore(keyStore.getPath(), "pkcs12", PASSWORD))
+        .isSameAs(sslMaterialCache.getKeyStore(keyStore.getPath(), "pkcs12", PASSWORD));
+  }
+
+  @Test
+  void kafkaEnginesUseTheCachedContext() throws Exception {
+    KafkaSslEngineFactory kafkaSslEngineFactory = new KafkaSslEngineFactory();
+    kafkaSslEngineFactory.configure(
+        Map.of(
+            "ssl.keystore.location",
+            keyStore.getPath(),
+            "ssl.keystore.type",
+            "pkcs12",
+            "ssl.keystore.password",
+            PASSWORD,
+            "ssl.enabled.protocols",
+            "TLSv1.2"));
+
+    SSLEngine sslEngine = kafkaSslEngineFactory.createClientSslEngine("localhost", 9093, "https");
+
+    assertThat(sslEngine.getUseClientMode()).isTrue();
+    assertThat(sslEngine.getEnabledProtocols()).containsExactly("TLSv1.2");
+    assertThat(sslEngine.getSSLParameters().getEndpointIdentificationAlgorithm())
+        .isEqualTo("https");
+    assertThat(kafkaSslEngineFactory.keystore())
+        .isSameAs(sslMaterialCache.getKeyStore(keyStore.getPath(), "pkcs12", PASSWORD));
+    assertThat(kafkaSslEngineFactory.createServerSslEngine("localhost", 9093).getUseClientMode())
+        .isFalse();
+  }
+
+  private SslMaterialCache.SslMaterial sslMaterial(String clusterIdentification) {
+    return SslMaterialCache.SslMaterial.builder()
+        .clusterIdentification(clusterIdentification)
+        .keyStoreLocation(keyStore.getPath())
+        .keyStoreType("pkcs12")
+        .keyStorePassword(PASSWORD)
+        .trustAll(true)
+        .build();
+  }
+
+  private void storeEmptyKeyStore() throws Exception {
+    KeyStore emptyKeyStore = KeyStore.getInstance("pkcs12");
+    emptyKeyStore.load(null, PASSWORD.toCharArray());
+    try (OutputStream outputStream = Files.newOutputStream(keyStore.toPath())) {
+      emptyKeyStore.store(outputStream, PASSWORD.toCharArray());
+    }
+  }
+}
@@ -3,6 +3,7 @@ package io.aiven.klaw.clusterapi.controller;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -10,21 +11,27 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aiven.klaw.clusterapi.UtilMethods;
+import io.aiven.klaw.clusterapi.models.AclResourceFilter;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
+import io.aiven.klaw.clusterapi.models.TopicNameFilter;
 import io.aiven.klaw.clusterapi.models.enums.AclType;
 import io.aiven.klaw.clusterapi.models.enums.AclsNativeType;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.ClusterStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.partitionhealth.PartitionHealthChanges;
+import io.aiven.klaw.clusterapi.models.partitionhealth.TopicPartitionHealth;
 import io.aiven.klaw.clusterapi.services.AivenApiService;
 import io.aiven.klaw.clusterapi.services.ApacheKafkaAclService;
 import io.aiven.klaw.clusterapi.services.ApacheKafkaTopicService;
+import io.aiven.klaw.clusterapi.services.ClusterHealthService;
 import io.aiven.klaw.clusterapi.services.ConfluentCloudApiService;
-import io.aiven.klaw.clusterapi.services.UtilComponentsService;
+import io.aiven.klaw.clusterapi.services.PartitionHealthService;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,13 +46,15 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 @ExtendWith(SpringExtension.class)
 public class ClusterApiControllerTest {
 
-  @MockBean private UtilComponentsService utilComponentsService;
+  @MockBean private ClusterHealthService clusterHealthService;
   @MockBean private ApacheKafkaAclService apacheKafkaAclService;
   @MockBean private ApacheKafkaTopicService apacheKafkaTopicService;
   @MockBean private AivenApiService aivenApiService;
 
   @MockBean private ConfluentCloudApiService confluentCloudApiService;
 
+  @MockBean private PartitionHealthService partitionHealthService;
+
   private MockMvc mvc;
 
   private UtilMethods utilMethods;
@@ -55,11 +64,12 @@ public class ClusterApiControllerTest {
     utilMethods = new UtilMethods();
     ClusterApiController clusterApiController =
         new ClusterApiController(
-            utilComponentsService,
+            clusterHealthService,
             apacheKafkaAclService,
             apacheKafkaTopicService,
             aivenApiService,
-            confluentCloudApiService);
+            confluentCloudApiService,
+            partitionHealthService);
     mvc = MockMvcBuilders.standaloneSetup(clusterApiController).dispatchOptions(true).build();
   }
 
@@ -77,7 +87,7 @@ public class ClusterApiControllerTest {
     String clusterType = "sampleType";
     String bootstrapServers = "localhost:9092";
 
-    when(utilComponentsService.getStatus(
+    when(clusterHealthService.getStatus(
             bootstrapServers,
             KafkaSupportedProtocol.PLAINTEXT,
             clusterName,
@@ -111,7 +121,10 @@ public class ClusterApiControllerTest {
     String bootstrapServers = "localhost:9092";
 
     when(apacheKafkaTopicService.loadTopics(
-            bootstrapServers, KafkaSupportedProtocol.PLAINTEXT, clusterName))
+            eq(bootstrapServers),
+            eq(KafkaSupportedProtocol.PLAINTEXT),
+            eq(clusterName),
+            any(TopicNameFilter.class)))
         .thenReturn(utilMethods.getTopics());
 
     String urlTemplate =
@@ -130,6 +143,42 @@ public class ClusterApiControllerTest {
         .andExpect(jsonPath("$", hasSize(1)));
   }
 
+  @Test
+  public void getPartitionHealth() throws Exception {
+    String clusterName = "testCluster";
+    String bootstrapServers = "localhost:9092";
+    TopicPartitionHealth topicPartitionHealth = new TopicPartitionHealth();
+    topicPartitionHealth.setTopicName("testtopic");
+    topicPartitionHealth.setPartitions(3);
+    topicPartitionHealth.setUnderReplicated(1);
+    PartitionHealthChanges partitionHealthChanges = new PartitionHealthChanges();
+    partitionHealthChanges.setEpoch(10L);
+    partitionHealthChanges.setVersion(3L);
+    partitionHealthChanges.setChangedTopics(List.of(topicPartitionHealth));
+
+    when(partitionHealthService.getPartitionHealthChanges(
+            bootstrapServers, KafkaSupportedProtocol.PLAINTEXT, clusterName, 10L, 2L))
+        .thenReturn(partitionHealthChanges);
+
+    String urlTemplate =
+        String.join(
+            "/",
+            "/topics",
+            "getPartitionHealth",
+            bootstrapServers,
+            KafkaSupportedProtocol.PLAINTEXT.getValue(),
+            clusterName,
+            "epoch",
+            "10",
+            "sinceVersion",
+            "2");
+    mvc.perform(get(urlTemplate))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.version").value(3))
+        .andExpect(jsonPath("$.changedTopics", hasSize(1)))
+        .andExpect(jsonPath("$.changedTopics[0].underReplicated").value(1));
+  }
+
   @Test
   public void getAcls() throws Exception {
     String clusterName = "testCluster";
@@ -139,7 +188,10 @@ public class ClusterApiControllerTest {
     String serviceName = "serviceName";
 
     when(apacheKafkaAclService.loadAcls(
-            bootstrapServers, KafkaSupportedProtocol.PLAINTEXT, clusterName))
+            eq(bootstrapServers),
+            eq(KafkaSupportedProtocol.PLAINTEXT),
+            eq(clusterName),
+            any(AclResourceFilter.class)))
         .thenReturn(utilMethods.getAcls());
 
     String urlTemplate =
@@ -159,6 +211,52 @@ public class ClusterApiControllerTest {
         .andExpect(jsonPath("$", hasSize(2)));
   }
 
+  @Test
+  public void getAclsOfAivenFilteredByResource() throws Exception {
+    when(aivenApiService.listAcls("projectName", "serviceName")).thenReturn(utilMethods.getAcls());
+
+    String urlTemplate =
+        String.join(
+            "/",
+            "/topics",
+            "getAcls",
+            "localhost:9092",
+            AclsNativeType.AIVEN.name(),
+            KafkaSupportedProtocol.PLAINTEXT.getValue(),
+            "testCluster",
+            "projectName",
+            "serviceName");
+    mvc.perform(
+            get(urlTemplate).param("resourceType", "TOPIC").param("resourceNameRegex", "test.*"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].resourceName").value("testtopic"));
+  }
+
+  @Test
+  public void getTopicsOfConfluentCloudFilteredByName() throws Exception {
+    when(confluentCloudApiService.listTopics(
+            "localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "testCluster"))
+        .thenReturn(utilMethods.getTopics());
+
+    String urlTemplate =
+        String.join(
+            "/",
+            "/topics",
+            "getTopics",
+            "localhost:9092",
+            KafkaSupportedProtocol.PLAINTEXT.getValue(),
+            "testCluster",
+            "topicsNativeType",
+            AclsNativeType.CONFLUENT_CLOUD.name());
+    mvc.perform(get(urlTemplate).param("topicNames", "testtopic1", "othertopic"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)));
+    mvc.perform(get(urlTemplate).param("topicNamePrefix", "other"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(0)));
+  }
+
   @Test
   public void createTopics() throws Exception {
     String jsonReq = new ObjectMapper().writer().writeValueAsString(utilMethods.getTopicRequest());
@@ -15,6 +15,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aiven.klaw.clusterapi.UtilMethods;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterConnectorRequest;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorConfigDiff;
 import io.aiven.klaw.clusterapi.models.connect.ConnectorsStatus;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
@@ -197,4 +198,32 @@ public class KafkaConnectControllerTest {
         .protocol(KafkaSupportedProtocol.SSL)
         .build();
   }
+
+  @Test
+  public void getConnectorConfigDiffTest() throws Exception {
+    ConnectorConfigDiff connectorConfigDiff = new ConnectorConfigDiff();
+    connectorConfigDiff.setConnectorName("conn1");
+    connectorConfigDiff.setInSync(true);
+    connectorConfigDiff.setDifferences(new ArrayList<>());
+    when(kafkaConnectService.getConnectorConfigDiff(any())).thenReturn(connectorConfigDiff);
+
+    mvc.perform(
+            post("/topics/connector/configDiff")
+                .content(new ObjectMapper().writeValueAsString(getClusterConnectorRequest()))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.inSync", is(true)));
+  }
+
+  @Test
+  public void getConnectorConfigDiffInvalidConfigTest() throws Exception {
+    when(kafkaConnectService.getConnectorConfigDiff(any()))
+        .thenThrow(new IllegalArgumentException("Stored Connector config is not a json object."));
+
+    mvc.perform(
+            post("/topics/connector/configDiff")
+                .content(new ObjectMapper().writeValueAsString(getClusterConnectorRequest()))
+                .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest());
+  }
 }
@@ -2,10 +2,12 @@ package io.aiven.klaw.clusterapi.controller;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,6 +18,7 @@ import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.services.SchemaService;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -73,6 +76,28 @@ public class SchemaRegistryControllerTest {
         .andExpect(status().is5xxServerError());
   }
 
+  @Test
+  public void postSchemas() throws Exception {
+    String jsonReq =
+        new ObjectMapper().writer().writeValueAsString(List.of(utilMethods.getSchema()));
+    ApiResponse apiResponse =
+        ApiResponse.builder()
+            .success(true)
+            .message(ApiResultStatus.SUCCESS.value)
+            .data(List.of(ApiResponse.builder().success(true).build()))
+            .build();
+    when(schemaService.registerSchemas(anyList())).thenReturn(apiResponse);
+
+    mvc.perform(
+            post("/topics/postSchemas")
+                .content(jsonReq)
+                .contentType(MediaType.APPLICATION_JSON)
+                .characterEncoding(StandardCharsets.UTF_8))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.data[0].success").value(true));
+  }
+
   @Test
   public void validateSchemaCompaitbility_ReturnSuccess() throws Exception {
     String jsonReq = new ObjectMapper().writer().writeValueAsString(utilMethods.getSchema());
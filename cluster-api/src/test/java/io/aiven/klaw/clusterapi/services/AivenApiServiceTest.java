@@ -5,12 +5,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
 
 import io.aiven.klaw.clusterapi.UtilMethods;
+import io.aiven.klaw.clusterapi.config.SslContextConfig;
 import io.aiven.klaw.clusterapi.models.AivenAclResponse;
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
+import io.aiven.klaw.clusterapi.models.ServiceAccountDetails;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
+import io.aiven.klaw.clusterapi.utils.AivenApiRateLimiter;
+import io.aiven.klaw.clusterapi.utils.ClusterCallMetrics;
+import io.aiven.klaw.clusterapi.utils.HttpRetryPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -21,8 +31,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.MediaType;
+import org.mockserver.verify.VerificationTimes;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -37,6 +52,7 @@ public class AivenApiServiceTest {
 
   AivenApiService aivenApiService;
   @Mock RestTemplate restTemplate;
+  @Mock SslContextConfig sslContextConfig;
 
   private UtilMethods utilMethods;
 
@@ -44,35 +60,45 @@ public class AivenApiServiceTest {
 
   @BeforeEach
   public void setUp() {
-    aivenApiService = new AivenApiService();
+    aivenApiService = getAivenApiService("https://api.aiven.io");
     ReflectionTestUtils.setField(aivenApiService, "restTemplate", restTemplate);
+    utilMethods = new UtilMethods();
+  }
+
+  private AivenApiService getAivenApiService(String apiBaseUrl) {
+    AivenApiService aivenApiService =
+        new AivenApiService(
+            sslContextConfig,
+            new HttpRetryPolicy(3, 0, 0),
+            new AivenApiRateLimiter(0),
+            new ClusterCallMetrics(new SimpleMeterRegistry()),
+            60);
     ReflectionTestUtils.setField(
         aivenApiService,
         "addAclsApiEndpoint",
-        "https://api.aiven.io/v1/project/projectName/service/serviceName/acl");
+        apiBaseUrl + "/v1/project/projectName/service/serviceName/acl");
     ReflectionTestUtils.setField(
         aivenApiService,
         "listAclsApiEndpoint",
-        "https://api.aiven.io/v1/project/projectName/service/serviceName/acl");
+        apiBaseUrl + "/v1/project/projectName/service/serviceName/acl");
     ReflectionTestUtils.setField(
         aivenApiService,
         "deleteAclsApiEndpoint",
-        "https://api.aiven.io/v1/project/projectName/service/serviceName/acl/aclId");
+        apiBaseUrl + "/v1/project/projectName/service/serviceName/acl/aclId");
     ReflectionTestUtils.setField(
         aivenApiService,
         "getServiceAccountApiEndpoint",
-        "https://api.aiven.io/v1/project/projectName/service/serviceName/user/userName");
+        apiBaseUrl + "/v1/project/projectName/service/serviceName/user/userName");
     ReflectionTestUtils.setField(
         aivenApiService,
         "addServiceAccountApiEndpoint",
-        "https://api.aiven.io/v1/project/projectName/service/serviceName/user");
+        apiBaseUrl + "/v1/project/projectName/service/serviceName/user");
     ReflectionTestUtils.setField(
         aivenApiService,
         "serviceDetailsApiEndpoint",
-        "https://api.aiven.io/v1/project/projectName/service/serviceName");
+        apiBaseUrl + "/v1/project/projectName/service/serviceName");
     ReflectionTestUtils.setField(aivenApiService, "clusterAccessToken", "testtoken");
-    ReflectionTestUtils.setField(aivenApiService, "restTemplate", restTemplate);
-    utilMethods = new UtilMethods();
+    return aivenApiService;
   }
 
   // Create Acls (adds service account)
@@ -360,4 +386,149 @@ public class AivenApiServiceTest {
 
     assertThat(actual).isEqualTo(expected);
   }
+
+  @Test
+  public void onlyTheExistenceOfServiceAccountsIsCached() throws Exception {
+    ClusterAclRequest clusterAclRequest = utilMethods.getAivenAclRequest("Producer");
+    String createAclsUri =
+        ACLS_BASE_URL
+            + clusterAclRequest.getProjectName()
+            + "/service/"
+            + clusterAclRequest.getServiceName()
+            + "/acl";
+    when(restTemplate.postForEntity(eq(createAclsUri), any(), eq(String.class)))
+        .thenReturn(
+            new ResponseEntity<>(
+                OBJECT_MAPPER.writeValueAsString(utilMethods.getAivenAclResponse()),
+                HttpStatus.OK));
+    String getServiceAccountUri =
+        ACLS_BASE_URL
+            + clusterAclRequest.getProjectName()
+            + "/service/"
+            + clusterAclRequest.getServiceName()
+            + "/user/"
+            + clusterAclRequest.getUsername();
+    ResponseEntity<Map<String, Map<String, String>>> responseEntityServiceAccount =
+        new ResponseEntity<>(
+            Map.of("user", Map.of("username", "testuser", "password", "testpwd")), HttpStatus.OK);
+    when(restTemplate.exchange(
+            eq(getServiceAccountUri),
+            eq(HttpMethod.GET),
+            any(),
+            (ParameterizedTypeReference<Map<String, Map<String, String>>>) any()))
+        .thenReturn(responseEntityServiceAccount);
+
+    aivenApiService.createAcls(clusterAclRequest);
+    aivenApiService.createAcls(clusterAclRequest);
+    verify(restTemplate, times(1))
+        .exchange(
+            eq(getServiceAccountUri),
+            eq(HttpMethod.GET),
+            any(),
+            (ParameterizedTypeReference<Map<String, Map<String, String>>>) any());
+
+    // details including the password are always read from the api
+    ServiceAccountDetails serviceAccountDetails =
+        aivenApiService.getServiceAccountDetails(
+            clusterAclRequest.getProjectName(),
+            clusterAclRequest.getServiceName(),
+            clusterAclRequest.getUsername());
+    assertThat(serviceAccountDetails.isAccountFound()).isTrue();
+    assertThat(serviceAccountDetails.getPassword()).isEqualTo("testpwd");
+    verify(restTemplate, times(2))
+        .exchange(
+            eq(getServiceAccountUri),
+            eq(HttpMethod.GET),
+            any(),
+            (ParameterizedTypeReference<Map<String, Map<String, String>>>) any());
+  }
+
+  @Test
+  public void getServiceAccountDetailsFailureIsNotCached() {
+    String getServiceAccountUri =
+        ACLS_BASE_URL + "testproject" + "/service/" + "testservice" + "/user/" + "testuser";
+    when(restTemplate.exchange(
+            eq(getServiceAccountUri),
+            eq(HttpMethod.GET),
+            any(),
+            (ParameterizedTypeReference<Map<String, Map<String, String>>>) any()))
+        .thenThrow(new HttpClientErrorException(HttpStatus.FORBIDDEN))
+        .thenReturn(
+            new ResponseEntity<>(Map.of("user", Map.of("username", "testuser")), HttpStatus.OK));
+
+    assertThat(
+            aivenApiService
+                .getServiceAccountDetails("testproject", "testservice", "testuser")
+                .isAccountFound())
+        .isFalse();
+    assertThat(
+            aivenApiService
+                .getServiceAccountDetails("testproject", "testservice", "testuser")
+                .isAccountFound())
+        .isTrue();
+  }
+
+  @Test
+  public void listAclsRetriesThrottledRequestsOverHttp() throws Exception {
+    try (ClientAndServer aivenApi = ClientAndServer.startClientAndServer()) {
+      AivenApiService service = getAivenApiService("http://localhost:" + aivenApi.getPort());
+      String path = "/v1/project/testproject/service/testservice/acl";
+      aivenApi
+          .when(request().withMethod("GET").withPath(path), Times.once())
+          .respond(
+              response()
+                  .withStatusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                  .withHeader(HttpHeaders.RETRY_AFTER, "0"));
+      aivenApi
+          .when(request().withMethod("GET").withPath(path))
+          .respond(
+              response()
+                  .withStatusCode(HttpStatus.OK.value())
+                  .withContentType(MediaType.APPLICATION_JSON)
+                  .withBody(
+                      OBJECT_MAPPER.writeValueAsString(
+                          Map.of(
+                              "acl",
+                              List.of(
+                                  Map.of(
+                                      "id", "acl1",
+                                      "permission", "write",
+                                      "topic", "testtopic",
+                                      "username", "testuser"))))));
+
+      Set<Map<String, String>> acls = service.listAcls("testproject", "testservice");
+
+      assertThat(acls).hasSize(1);
+      aivenApi.verify(
+          request()
+              .withMethod("GET")
+              .withPath(path)
+              .withHeader("Authorization", "Bearer testtoken"),
+          VerificationTimes.exactly(2));
+    }
+  }
+
+  @Test
+  public void createAclIsNotRetriedOnServerErrorOverHttp() {
+    try (ClientAndServer aivenApi = ClientAndServer.startClientAndServer()) {
+      AivenApiService service = getAivenApiService("http://localhost:" + aivenApi.getPort());
+      String path = "/v1/project/testproject/service/testservice/acl";
+      aivenApi
+          .when(request().withMethod("POST").withPath(path))
+          .respond(response().withStatusCode(HttpStatus.BAD_GATEWAY.value()));
+
+      Map<String, String> response =
+          service.createAcls(
+              ClusterAclRequest.builder()
+                  .projectName("testproject")
+                  .serviceName("testservice")
+                  .topicName("testtopic")
+                  .permission("write")
+                  .username("testuser")
+                  .build());
+
+      assertThat(response.get("result")).contains("Failure");
+      aivenApi.verify(request().withMethod("POST").withPath(path), VerificationTimes.exactly(1));
+    }
+  }
 }
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import io.aiven.klaw.clusterapi.UtilMethods;
+import io.aiven.klaw.clusterapi.models.AclResourceFilter;
 import io.aiven.klaw.clusterapi.models.ClusterAclRequest;
 import io.aiven.klaw.clusterapi.models.enums.*;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
@@ -17,6 +18,9 @@ import org.apache.kafka.clients.admin.DeleteAclsResult;
 import org.apache.kafka.clients.admin.DescribeAclsResult;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.acl.*;
+import org.apache.kafka.common.resource.PatternType;
+import org.apache.kafka.common.resource.ResourcePatternFilter;
+import org.apache.kafka.common.resource.ResourceType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -89,6 +93,38 @@ class ApacheKafkaAclServiceTest {
     assertThat(result).isEmpty();
   }
 
+  @Test
+  public void loadAclsFilteredByResourceOnTheBrokers() throws Exception {
+    AclResourceFilter aclResourceFilter = new AclResourceFilter();
+    aclResourceFilter.setResourceType("GROUP");
+    aclResourceFilter.setResourceNameRegex("cons.*");
+    AclBindingFilter groupAcls =
+        new AclBindingFilter(
+            new ResourcePatternFilter(ResourceType.GROUP, null, PatternType.LITERAL),
+            AccessControlEntryFilter.ANY);
+
+    when(clusterApiUtils.getAdminClient(any(), eq(KafkaSupportedProtocol.PLAINTEXT), anyString()))
+        .thenReturn(adminClient);
+    when(adminClient.describeAcls(groupAcls)).thenReturn(describeAclsResult);
+    when(describeAclsResult.values()).thenReturn(kafkaFutureCollection);
+    when(kafkaFutureCollection.get(anyLong(), any(TimeUnit.class)))
+        .thenReturn(utilMethods.getListAclBindings(accessControlEntry));
+    when(accessControlEntry.host()).thenReturn("11.12.33.456");
+    when(accessControlEntry.operation()).thenReturn(AclOperation.READ);
+    when(accessControlEntry.permissionType()).thenReturn(AclPermissionType.ALLOW);
+
+    assertThat(
+            apacheKafkaAclService.loadAcls(
+                "localhost", KafkaSupportedProtocol.PLAINTEXT, "", aclResourceFilter))
+        .hasSize(1);
+
+    aclResourceFilter.setResourceNameRegex("other.*");
+    assertThat(
+            apacheKafkaAclService.loadAcls(
+                "localhost", KafkaSupportedProtocol.PLAINTEXT, "", aclResourceFilter))
+        .isEmpty();
+  }
+
   @Test
   public void loadAclsFailure() throws Exception {
     when(clusterApiUtils.getAdminClient(any(), eq(KafkaSupportedProtocol.PLAINTEXT), anyString()))
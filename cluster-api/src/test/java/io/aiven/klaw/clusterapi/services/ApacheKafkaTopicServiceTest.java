@@ -8,6 +8,7 @@ import io.aiven.klaw.clusterapi.constants.TestConstants;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.TopicConfig;
+import io.aiven.klaw.clusterapi.models.TopicNameFilter;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
@@ -21,6 +22,7 @@ import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.Node;
 import org.apache.kafka.common.TopicPartitionInfo;
 import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
 import org.assertj.core.api.AbstractThrowableAssert;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -118,6 +120,104 @@ class ApacheKafkaTopicServiceTest {
     Assertions.assertThat(topicConfigs.size()).isEqualTo(1);
   }
 
+  @Test
+  void loadTopicsFilteredByPrefixAndRegexDescribesOnlyMatchingTopics() throws Exception {
+    TopicNameFilter topicNameFilter = new TopicNameFilter();
+    topicNameFilter.setTopicNamePrefix("orders");
+    topicNameFilter.setTopicNameRegex(".*-v1");
+
+    Mockito.when(
+            clusterApiUtils.getAdminClient(
+                TestConstants.ENVIRONMENT, protocol, TestConstants.CLUSTER_IDENTIFICATION))
+        .thenReturn(adminClient);
+    Mockito.when(adminClient.listTopics(any(ListTopicsOptions.class))).thenReturn(listTopicsResult);
+    Mockito.when(listTopicsResult.names())
+        .thenReturn(KafkaFuture.completedFuture(Set.of("orders-v1", "orders-v2", "payments-v1")));
+    Mockito.when(adminClient.describeTopics(Set.of("orders-v1"))).thenReturn(describeTopicsResult);
+    Mockito.when(describeTopicsResult.all())
+        .thenReturn(KafkaFuture.completedFuture(Map.of("orders-v1", topicDescription)));
+    Mockito.when(topicDescription.partitions()).thenReturn(List.of(topicPartitionInfo));
+
+    Set<TopicConfig> topicConfigs =
+        apacheKafkaTopicService.loadTopics(
+            TestConstants.ENVIRONMENT,
+            protocol,
+            TestConstants.CLUSTER_IDENTIFICATION,
+            topicNameFilter);
+
+    Assertions.assertThat(topicConfigs)
+        .extracting(TopicConfig::getTopicName)
+        .containsExactly("orders-v1");
+  }
+
+  @Test
+  void loadTopicsFailsOnTopicNameRegexTooExpensiveToEvaluate() throws Exception {
+    TopicNameFilter topicNameFilter = new TopicNameFilter();
+    topicNameFilter.setTopicNameRegex("((a+)+)+b");
+
+    Mockito.when(
+            clusterApiUtils.getAdminClient(
+                TestConstants.ENVIRONMENT, protocol, TestConstants.CLUSTER_IDENTIFICATION))
+        .thenReturn(adminClient);
+    Mockito.when(adminClient.listTopics(any(ListTopicsOptions.class))).thenReturn(listTopicsResult);
+    Mockito.when(listTopicsResult.names())
+        .thenReturn(KafkaFuture.completedFuture(Set.of("a".repeat(22) + "c")));
+
+    assertThatThrownBy(
+            () ->
+                apacheKafkaTopicService.loadTopics(
+                    TestConstants.ENVIRONMENT,
+                    protocol,
+                    TestConstants.CLUSTER_IDENTIFICATION,
+                    topicNameFilter))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("too expensive");
+  }
+
+  @Test
+  void topicNameRegexLongerThanAllowedIsRejected() {
+    TopicNameFilter topicNameFilter = new TopicNameFilter();
+
+    assertThatThrownBy(() -> topicNameFilter.setTopicNameRegex("a".repeat(257)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void loadTopicsByNameSkipsMissingTopicsWithoutListing() throws Exception {
+    TopicNameFilter topicNameFilter = new TopicNameFilter();
+    topicNameFilter.setTopicNames(Set.of("topic", "missing"));
+    KafkaFuture<TopicDescription> missingTopic = KafkaFuture.completedFuture(null);
+    missingTopic =
+        missingTopic.thenApply(
+            description -> {
+              throw new UnknownTopicOrPartitionException("missing");
+            });
+
+    Mockito.when(
+            clusterApiUtils.getAdminClient(
+                TestConstants.ENVIRONMENT, protocol, TestConstants.CLUSTER_IDENTIFICATION))
+        .thenReturn(adminClient);
+    Mockito.when(adminClient.describeTopics(Set.of("topic", "missing")))
+        .thenReturn(describeTopicsResult);
+    Mockito.when(describeTopicsResult.topicNameValues())
+        .thenReturn(
+            Map.of(
+                "topic", KafkaFuture.completedFuture(topicDescription), "missing", missingTopic));
+    Mockito.when(topicDescription.partitions()).thenReturn(List.of(topicPartitionInfo));
+
+    Set<TopicConfig> topicConfigs =
+        apacheKafkaTopicService.loadTopics(
+            TestConstants.ENVIRONMENT,
+            protocol,
+            TestConstants.CLUSTER_IDENTIFICATION,
+            topicNameFilter);
+
+    Assertions.assertThat(topicConfigs)
+        .extracting(TopicConfig::getTopicName)
+        .containsExactly("topic");
+    Mockito.verify(adminClient, Mockito.never()).listTopics(any(ListTopicsOptions.class));
+  }
+
   @Test
   void createTopicClientNull() throws Exception {
     ClusterTopicRequest clusterTopicRequest =
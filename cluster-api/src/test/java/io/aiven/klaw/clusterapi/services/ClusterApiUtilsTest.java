@@ -7,6 +7,8 @@ import io.aiven.klaw.clusterapi.config.SslContextConfig;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.utils.AdminClientProperties;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.ClusterCallMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +33,9 @@ public class ClusterApiUtilsTest {
 
   @BeforeEach
   public void setUp() {
-    clusterApiUtils = new ClusterApiUtils(env, adminClientProperties);
+    clusterApiUtils =
+        new ClusterApiUtils(
+            env, adminClientProperties, new ClusterCallMetrics(new SimpleMeterRegistry()));
     ReflectionTestUtils.setField(clusterApiUtils, "sslContextConfig", sslContextConfig);
   }
 
@@ -59,8 +63,10 @@ public class ClusterApiUtilsTest {
         clusterApiUtils.getRequestDetails(suffixUrl, KafkaSupportedProtocol.SSL);
 
     assertThat(templatePair.getLeft()).isEqualTo(ClusterApiUtils.HTTPS_PREFIX + suffixUrl);
-    assertThat(templatePair.getRight().getRequestFactory())
+    // calls are timed by an interceptor around the configured request factory
+    assertThat(ReflectionTestUtils.getField(templatePair.getRight(), "requestFactory"))
         .isEqualTo(httpComponentsClientHttpRequestFactory);
+    assertThat(templatePair.getRight().getInterceptors().size()).isEqualTo(1);
   }
 
   @Test
@@ -0,0 +1,94 @@
+package io.aiven.klaw.clusterapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.aiven.klaw.clusterapi.models.enums.ClusterStatus;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.health.ClusterHealth;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterHealthServiceTest {
+
+  private static final long IDLE_TIMEOUT_MS = 60000;
+
+  @Mock private UtilComponentsService utilComponentsService;
+
+  private final List<Runnable> scheduledChecks = new ArrayList<>();
+
+  private ClusterHealthService clusterHealthService;
+
+  @BeforeEach
+  void setUp() {
+    clusterHealthService =
+        new ClusterHealthService(utilComponentsService, scheduledChecks::add, IDLE_TIMEOUT_MS);
+  }
+
+  @Test
+  void statusIsServedFromTheLastCheck() {
+    stubStatus(ClusterStatus.ONLINE);
+
+    assertThat(getStatus()).isEqualTo(ClusterStatus.ONLINE);
+    assertThat(getStatus()).isEqualTo(ClusterStatus.ONLINE);
+
+    verify(utilComponentsService, times(1))
+        .getStatus("localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "DEV1", "kafka", "Aiven");
+    assertThat(scheduledChecks).isEmpty();
+  }
+
+  @Test
+  void backgroundChecksUpdateTheStatusAndKeepTheLastError() {
+    stubStatus(ClusterStatus.OFFLINE);
+    assertThat(getStatus()).isEqualTo(ClusterStatus.OFFLINE);
+
+    stubStatus(ClusterStatus.ONLINE);
+    clusterHealthService.checkClusterHealth(System.currentTimeMillis());
+    // a check still running is not scheduled again
+    clusterHealthService.checkClusterHealth(System.currentTimeMillis());
+    assertThat(scheduledChecks).hasSize(1);
+    scheduledChecks.get(0).run();
+
+    assertThat(getStatus()).isEqualTo(ClusterStatus.ONLINE);
+    ClusterHealth clusterHealth = clusterHealthService.getClusterHealth().get(0);
+    assertThat(clusterHealth.getStatus()).isEqualTo(ClusterStatus.ONLINE);
+    assertThat(clusterHealth.getLastError()).isEqualTo("Cluster status is OFFLINE");
+    assertThat(clusterHealth.getLastErrorAtMs()).isNotNull();
+
+    Health health = new ClusterHealthIndicator(clusterHealthService).health();
+    assertThat(health.getStatus()).isEqualTo(Status.UP);
+    assertThat(health.getDetails()).containsEntry("offlineClusters", 0L);
+  }
+
+  @Test
+  void idleClustersAreNoLongerChecked() {
+    stubStatus(ClusterStatus.ONLINE);
+    getStatus();
+
+    clusterHealthService.checkClusterHealth(System.currentTimeMillis() + IDLE_TIMEOUT_MS);
+
+    assertThat(scheduledChecks).isEmpty();
+    assertThat(clusterHealthService.getClusterHealth()).isEmpty();
+  }
+
+  private ClusterStatus getStatus() {
+    return clusterHealthService.getStatus(
+        "localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "DEV1", "kafka", "Aiven");
+  }
+
+  private void stubStatus(ClusterStatus clusterStatus) {
+    when(utilComponentsService.getStatus(
+            "localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "DEV1", "kafka", "Aiven"))
+        .thenReturn(clusterStatus);
+  }
+}
@@ -14,10 +14,15 @@ import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.TopicConfig;
 import io.aiven.klaw.clusterapi.models.confluentcloud.ListAclsResponse;
 import io.aiven.klaw.clusterapi.models.confluentcloud.ListTopicsResponse;
+import io.aiven.klaw.clusterapi.models.confluentcloud.Metadata;
 import io.aiven.klaw.clusterapi.models.confluentcloud.TopicCreateRequest;
+import io.aiven.klaw.clusterapi.models.confluentcloud.TopicObject;
 import io.aiven.klaw.clusterapi.models.enums.*;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.HttpRetryPolicy;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
@@ -32,6 +37,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -50,7 +56,9 @@ public class ConfluentCloudApiServiceTest {
 
   @BeforeEach
   public void setUp() {
-    confluentCloudApiService = new ConfluentCloudApiService(env, clusterApiUtils);
+    confluentCloudApiService =
+        new ConfluentCloudApiService(
+            env, clusterApiUtils, new HttpRetryPolicy(3, 0, 0), Runnable::run);
     utilMethods = new UtilMethods();
   }
 
@@ -76,6 +84,52 @@ public class ConfluentCloudApiServiceTest {
     assertThat(listTopicsSet.stream().toList().get(0).getReplicationFactor()).isNotNull();
   }
 
+  @Test
+  public void listTopicsFollowsNextPageLinks() throws Exception {
+    String firstPageUri = "https://localhost:443" + KAFKA_V_3_CLUSTERS_CLUSTER_ID_TOPICS;
+    String secondPageUri = firstPageUri + "?page_token=abc";
+    stubTopics();
+    when(restTemplate.exchange(
+            eq(firstPageUri),
+            eq(HttpMethod.GET),
+            any(),
+            (ParameterizedTypeReference<ListTopicsResponse>) any()))
+        .thenReturn(
+            new ResponseEntity<>(getTopicsPage(secondPageUri, "topic1", "topic2"), HttpStatus.OK));
+    when(restTemplate.exchange(
+            eq(secondPageUri),
+            eq(HttpMethod.GET),
+            any(),
+            (ParameterizedTypeReference<ListTopicsResponse>) any()))
+        .thenReturn(new ResponseEntity<>(getTopicsPage(null, "topic3"), HttpStatus.OK));
+
+    Set<TopicConfig> listTopicsSet =
+        confluentCloudApiService.listTopics(
+            "localhost:443", KafkaSupportedProtocol.SSL, CLUSTER_ID);
+
+    assertThat(listTopicsSet)
+        .extracting(TopicConfig::getTopicName)
+        .containsExactlyInAnyOrder("topic1", "topic2", "topic3");
+  }
+
+  @Test
+  public void listTopicsRetriesThrottledRequests() throws Exception {
+    stubTopics();
+    when(restTemplate.exchange(
+            anyString(),
+            eq(HttpMethod.GET),
+            any(),
+            (ParameterizedTypeReference<ListTopicsResponse>) any()))
+        .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS))
+        .thenReturn(new ResponseEntity<>(getTopicsPage(null, "topic1"), HttpStatus.OK));
+
+    Set<TopicConfig> listTopicsSet =
+        confluentCloudApiService.listTopics(
+            "localhost:443", KafkaSupportedProtocol.SSL, CLUSTER_ID);
+
+    assertThat(listTopicsSet).extracting(TopicConfig::getTopicName).containsExactly("topic1");
+  }
+
   @Test
   public void listTopicsConnectivityFailure() {
     stubTopics();
@@ -393,4 +447,21 @@ public class ConfluentCloudApiServiceTest {
         .transactionalId("transactionalId")
         .build();
   }
+
+  private static ListTopicsResponse getTopicsPage(String nextPageUri, String... topicNames) {
+    List<TopicObject> topics = new ArrayList<>();
+    for (String topicName : topicNames) {
+      TopicObject topicObject = new TopicObject();
+      topicObject.setTopic_name(topicName);
+      topicObject.setPartitions_count(1);
+      topicObject.setReplication_factor(3);
+      topics.add(topicObject);
+    }
+    Metadata metadata = new Metadata();
+    metadata.next = nextPageUri;
+    ListTopicsResponse listTopicsResponse = new ListTopicsResponse();
+    listTopicsResponse.setMetadata(metadata);
+    listTopicsResponse.setData(new ArrayList<>(topics));
+    return listTopicsResponse;
+  }
 }
@@ -1,10 +1,14 @@
 package io.aiven.klaw.clusterapi.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import io.aiven.klaw.clusterapi.constants.TestConstants;
+import io.aiven.klaw.clusterapi.models.consumergroup.ConsumerGroupLag;
 import io.aiven.klaw.clusterapi.models.consumergroup.OffsetDetails;
 import io.aiven.klaw.clusterapi.models.consumergroup.OffsetResetType;
 import io.aiven.klaw.clusterapi.models.consumergroup.ResetConsumerGroupOffsetsRequest;
@@ -14,10 +18,13 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
 import org.apache.kafka.clients.admin.ListOffsetsResult;
 import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.TopicPartitionInfo;
@@ -35,6 +42,8 @@ class ConsumerGroupServiceTest {
   @Mock private DescribeTopicsResult describeTopicsResult;
   @Mock private TopicPartitionInfo topicPartitionInfo;
   @Mock private ListOffsetsResult listOffsetsEarliestResult;
+  @Mock private ListOffsetsResult listOffsetsLatestResult;
+  @Mock private ListConsumerGroupOffsetsResult listConsumerGroupOffsetsResult;
   private ConsumerGroupService consumerGroupService;
 
   @BeforeEach
@@ -67,6 +76,10 @@ class ConsumerGroupServiceTest {
         .thenReturn(describeTopicsResult);
     when(describeTopicsResult.values()).thenReturn(nameTopicDescriptionFutures);
     when(topicPartitionInfo.partition()).thenReturn(TestConstants.SINGLE_PARTITION);
+    when(adminClient.listConsumerGroupOffsets(TestConstants.CONSUMER_GROUP_ID))
+        .thenReturn(listConsumerGroupOffsetsResult);
+    when(listConsumerGroupOffsetsResult.partitionsToOffsetAndMetadata())
+        .thenReturn(KafkaFuture.completedFuture(Map.of()));
     when(adminClient.listOffsets(any())).thenReturn(listOffsetsEarliestResult);
     when(listOffsetsEarliestResult.partitionResult(any())).thenReturn(listOffsetResultInfoFutures);
 
@@ -82,6 +95,106 @@ class ConsumerGroupServiceTest {
     assertThat(actual).isEqualTo(expected);
   }
 
+  @Test
+  void getConsumerGroupDetailsLagFromCommittedOffset() throws Exception {
+    TopicDescription topicDescription =
+        new TopicDescription("name", false, List.of(topicPartitionInfo));
+    TopicPartition topicPartition =
+        new TopicPartition(TestConstants.TOPIC_NAME, TestConstants.SINGLE_PARTITION);
+
+    when(clusterApiUtils.getAdminClient(
+            TestConstants.ENVIRONMENT, protocol, TestConstants.CLUSTER_NAME))
+        .thenReturn(adminClient);
+    when(adminClient.describeTopics(Collections.singletonList(TestConstants.TOPIC_NAME)))
+        .thenReturn(describeTopicsResult);
+    when(describeTopicsResult.values())
+        .thenReturn(
+            Map.of(TestConstants.TOPIC_NAME, KafkaFuture.completedFuture(topicDescription)));
+    when(topicPartitionInfo.partition()).thenReturn(TestConstants.SINGLE_PARTITION);
+    when(adminClient.listConsumerGroupOffsets(TestConstants.CONSUMER_GROUP_ID))
+        .thenReturn(listConsumerGroupOffsetsResult);
+    when(listConsumerGroupOffsetsResult.partitionsToOffsetAndMetadata())
+        .thenReturn(KafkaFuture.completedFuture(Map.of(topicPartition, new OffsetAndMetadata(7))));
+    when(adminClient.listOffsets(any()))
+        .thenReturn(listOffsetsEarliestResult)
+        .thenReturn(listOffsetsLatestResult);
+    when(listOffsetsEarliestResult.partitionResult(topicPartition))
+        .thenReturn(listOffsetsResultInfo(2));
+    when(listOffsetsLatestResult.partitionResult(topicPartition))
+        .thenReturn(listOffsetsResultInfo(10));
+
+    List<OffsetDetails> actual =
+        consumerGroupService.getConsumerGroupDetails(
+            TestConstants.CONSUMER_GROUP_ID,
+            TestConstants.TOPIC_NAME,
+            TestConstants.ENVIRONMENT,
+            protocol,
+            TestConstants.CLUSTER_NAME);
+
+    assertThat(actual)
+        .extracting(
+            OffsetDetails::getCurrentOffset, OffsetDetails::getEndOffset, OffsetDetails::getLag)
+        .containsExactly(tuple("7", "10", "3"));
+  }
+
+  @Test
+  void getConsumerGroupLagOfAllGroupsInOneCall() throws Exception {
+    TopicPartition topic1Partition0 = new TopicPartition("topic1", 0);
+    TopicPartition topic1Partition1 = new TopicPartition("topic1", 1);
+    TopicPartition topic2Partition0 = new TopicPartition("topic2", 0);
+    TopicPartition deletedTopicPartition = new TopicPartition("deleted", 0);
+
+    when(clusterApiUtils.getAdminClient(anyString(), any(), anyString())).thenReturn(adminClient);
+    when(adminClient.listConsumerGroupOffsets(anyMap())).thenReturn(listConsumerGroupOffsetsResult);
+    when(listConsumerGroupOffsetsResult.partitionsToOffsetAndMetadata("group1"))
+        .thenReturn(
+            KafkaFuture.completedFuture(
+                Map.of(
+                    topic1Partition0, new OffsetAndMetadata(5),
+                    topic1Partition1, new OffsetAndMetadata(20),
+                    deletedTopicPartition, new OffsetAndMetadata(1))));
+    when(listConsumerGroupOffsetsResult.partitionsToOffsetAndMetadata("group2"))
+        .thenReturn(
+            KafkaFuture.completedFuture(Map.of(topic2Partition0, new OffsetAndMetadata(30))));
+    when(adminClient.listOffsets(anyMap())).thenReturn(listOffsetsLatestResult);
+    when(listOffsetsLatestResult.partitionResult(topic1Partition0))
+        .thenReturn(listOffsetsResultInfo(10));
+    when(listOffsetsLatestResult.partitionResult(topic1Partition1))
+        .thenReturn(listOffsetsResultInfo(22));
+    when(listOffsetsLatestResult.partitionResult(topic2Partition0))
+        .thenReturn(listOffsetsResultInfo(30));
+    KafkaFuture<ListOffsetsResult.ListOffsetsResultInfo> unknownTopic =
+        KafkaFuture.completedFuture(null)
+            .thenApply(
+                v -> {
+                  throw new IllegalStateException("unknown topic");
+                });
+    when(listOffsetsLatestResult.partitionResult(deletedTopicPartition)).thenReturn(unknownTopic);
+
+    List<ConsumerGroupLag> consumerGroupLags =
+        consumerGroupService.getConsumerGroupLag(
+            "localhost:9092",
+            KafkaSupportedProtocol.PLAINTEXT,
+            "cluster1",
+            Set.of("group1", "group2"));
+
+    assertThat(consumerGroupLags)
+        .extracting(
+            ConsumerGroupLag::getConsumerGroup,
+            ConsumerGroupLag::getTopicName,
+            ConsumerGroupLag::getPartitions,
+            ConsumerGroupLag::getTotalLag,
+            ConsumerGroupLag::getMaxPartitionLag)
+        .containsExactly(
+            tuple("group1", "topic1", 2, 7L, 5L), tuple("group2", "topic2", 1, 0L, 0L));
+  }
+
+  private static KafkaFuture<ListOffsetsResult.ListOffsetsResultInfo> listOffsetsResultInfo(
+      long offset) {
+    return KafkaFuture.completedFuture(
+        new ListOffsetsResult.ListOffsetsResultInfo(offset, 1, Optional.empty()));
+  }
+
   @Test
   void getConsumerGroupDetailsFailure() throws Exception {
     when(clusterApiUtils.getAdminClient(
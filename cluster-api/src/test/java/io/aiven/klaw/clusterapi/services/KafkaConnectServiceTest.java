@@ -1,37 +1,55 @@
 package io.aiven.klaw.clusterapi.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withBadRequest;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withRawStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.aiven.klaw.clusterapi.UtilMethods;
+import io.aiven.klaw.clusterapi.config.SchedulerConfig;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
 import io.aiven.klaw.clusterapi.models.ClusterConnectorRequest;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorConfig;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorConfigDiff;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorConfigDiffEntry;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorState;
+import io.aiven.klaw.clusterapi.models.connect.ConnectorsStatus;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaClustersType;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.models.error.RestErrorResponse;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.ConnectorConfigCache;
+import java.net.SocketTimeoutException;
 import java.util.Collections;
+import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
 @RestClientTest(KafkaConnectService.class)
+@Import({SchedulerConfig.class, ConnectorConfigCache.class})
 class KafkaConnectServiceTest {
 
   public static final String THIS_IS_A_MISCONFIGURED_CONNECTOR =
@@ -49,7 +67,9 @@ class KafkaConnectServiceTest {
   public void setUp() {
     utilMethods = new UtilMethods();
     restTemplate = new RestTemplate();
-    kafkaConnectService = new KafkaConnectService(getAdminClient);
+    kafkaConnectService =
+        new KafkaConnectService(
+            getAdminClient, new ConnectorConfigCache(30, 100, "password"), Runnable::run);
     mockRestServiceServer = MockRestServiceServer.bindTo(restTemplate).build();
   }
 
@@ -93,6 +113,271 @@ class KafkaConnectServiceTest {
         .isNotEmpty();
   }
 
+  @Test
+  public void getConnectors_withExpandedInfo_returnsMaskedConfigVersion()
+      throws JsonProcessingException {
+    when(getAdminClient.getRequestDetails(
+            eq("env/connectors?expand=status&expand=info"), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of("/env/connectors", restTemplate));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors"))
+        .andRespond(
+            withSuccess(
+                "{\"conn1\": {\"status\": {\"name\": \"conn1\", \"connector\": {\"state\":"
+                    + " \"RUNNING\"}, \"tasks\": [{\"id\": 0, \"state\": \"FAILED\"}]},"
+                    + " \"info\": {\"name\": \"conn1\", \"config\": {\"name\": \"conn1\","
+                    + " \"tasks.max\": \"1\", \"db.password\": \"secret\"},"
+                    + " \"type\": \"sink\"}}}",
+                MediaType.APPLICATION_JSON));
+
+    List<ConnectorState> connectors =
+        kafkaConnectService
+            .getConnectors("env", KafkaSupportedProtocol.PLAINTEXT, "CLID1", true)
+            .getConnectorStateList();
+
+    assertThat(connectors).hasSize(1);
+    assertThat(connectors.get(0).getConnectorStatus()).isEqualTo("RUNNING");
+    assertThat(connectors.get(0).getFailedTasks()).isEqualTo(1);
+    // core computes the same version for a stored config with these values
+    assertThat(connectors.get(0).getConfigVersion())
+        .isEqualTo("fad06ac3fe63538d470b2fec56a26c4aca6eb9a80791eacea5a683f6552072f0");
+    assertThat(
+            kafkaConnectService
+                .getConnectorConfig("conn1", "env", KafkaSupportedProtocol.PLAINTEXT, "CLID1")
+                .getConfig())
+        .containsEntry("db.password", ConnectorConfigCache.MASKED_VALUE);
+  }
+
+  @Test
+  public void getConnectors_withoutExpandSupport_fetchesEveryConnector()
+      throws JsonProcessingException {
+    when(getAdminClient.getRequestDetails(
+            eq("env/connectors?expand=status&expand=info"), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of("/env/connectors", restTemplate));
+    when(getAdminClient.getRequestDetails(
+            eq("env/connectors/conn1/status"), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of("/env/connectors/conn1/status", restTemplate));
+    when(getAdminClient.getRequestDetails(
+            eq("env/connectors/conn1"), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of("/env/connectors/conn1", restTemplate));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors"))
+        .andRespond(withSuccess("[\"conn1\"]", MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn1/status"))
+        .andRespond(
+            withSuccess(
+                objectMapper.writeValueAsString(
+                    utilMethods.getConnectorsListMap().get("conn1").get("status")),
+                MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn1"))
+        .andRespond(
+            withSuccess(
+                "{\"name\": \"conn1\", \"config\": {\"tasks.max\": \"3\"}}",
+                MediaType.APPLICATION_JSON));
+
+    List<ConnectorState> connectors =
+        kafkaConnectService
+            .getConnectors("env", KafkaSupportedProtocol.PLAINTEXT, "CLID1", true)
+            .getConnectorStateList();
+
+    assertThat(connectors).hasSize(1);
+    assertThat(connectors.get(0).getRunningTasks()).isEqualTo(3);
+    assertThat(connectors.get(0).getConfigVersion()).isNotNull();
+    mockRestServiceServer.verify();
+  }
+
+  @Test
+  public void getConnectors_withoutExpandSupport_skipsConnectorsWhichFail()
+      throws JsonProcessingException {
+    when(getAdminClient.getRequestDetails(
+            eq("env/connectors?expand=status&expand=info"), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of("/env/connectors", restTemplate));
+    when(getAdminClient.getRequestDetails(
+            ArgumentMatchers.startsWith("env/connectors/"), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenAnswer(invocation -> Pair.of("/" + invocation.getArgument(0), restTemplate));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors"))
+        .andRespond(withSuccess("[\"conn1\", \"conn2\"]", MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn1/status"))
+        .andRespond(withRawStatus(500).contentType(MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn2/status"))
+        .andRespond(
+            withSuccess(
+                objectMapper.writeValueAsString(
+                    utilMethods.getConnectorsListMap().get("conn1").get("status")),
+                MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn2"))
+        .andRespond(
+            withSuccess(
+                "{\"name\": \"conn2\", \"config\": {\"tasks.max\": \"3\"}}",
+                MediaType.APPLICATION_JSON));
+
+    ConnectorsStatus connectorsStatus =
+        kafkaConnectService.getConnectors("env", KafkaSupportedProtocol.PLAINTEXT, "CLID1", true);
+
+    assertThat(connectorsStatus.getConnectorStateList())
+        .extracting(ConnectorState::getConnectorName)
+        .containsExactly("conn2");
+    assertThat(connectorsStatus.getFailedConnectors()).containsExactly("conn1");
+    mockRestServiceServer.verify();
+  }
+
+  @Test
+  public void getConnectorDetails_WithMulti_url_timesOut() {
+    stubCreateOrDeleteConnectorMultiUrl();
+    this.mockRestServiceServer
+        .expect(ExpectedCount.times(3), requestTo(startsWith("/env")))
+        .andRespond(withException(new SocketTimeoutException("Read timed out")));
+
+    assertThat(
+            kafkaConnectService.getConnectorDetails(
+                "conn1", "env,env1,env2", KafkaSupportedProtocol.PLAINTEXT, "1"))
+        .isEmpty();
+  }
+
+  @Test
+  public void getConnectorDetails_WithMulti_url_usesUrlWhichAnswers()
+      throws JsonProcessingException {
+    stubCreateOrDeleteConnectorMultiUrl();
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn1"))
+        .andRespond(withRawStatus(500).contentType(MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/env1/connectors/conn1"))
+        .andRespond(
+            withSuccess(
+                objectMapper.writeValueAsString(Collections.singletonMap("name", "conn1")),
+                MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/env2/connectors/conn1"))
+        .andRespond(withRawStatus(500).contentType(MediaType.APPLICATION_JSON));
+
+    assertThat(
+            kafkaConnectService.getConnectorDetails(
+                "conn1", "env,env1,env2", KafkaSupportedProtocol.PLAINTEXT, "1"))
+        .containsEntry("name", "conn1");
+  }
+
+  @Test
+  public void getConnectorDetails_WithMulti_url_noUrlAnswers() {
+    stubCreateOrDeleteConnectorMultiUrl();
+    this.mockRestServiceServer
+        .expect(ExpectedCount.times(3), requestTo(startsWith("/env")))
+        .andRespond(withRawStatus(500).contentType(MediaType.APPLICATION_JSON));
+
+    assertThat(
+            kafkaConnectService.getConnectorDetails(
+                "conn1", "env,env1,env2", KafkaSupportedProtocol.PLAINTEXT, "1"))
+        .isEmpty();
+    mockRestServiceServer.verify();
+  }
+
+  @Test
+  public void getConnectorConfig_masksSensitiveValuesAndIsCached() {
+    stubUpdateConnector();
+    this.mockRestServiceServer
+        .expect(ExpectedCount.once(), requestTo("/env/connectors/conn1/config"))
+        .andRespond(
+            withSuccess(
+                "{\"name\": \"conn1\", \"tasks.max\": \"1\", \"connection.password\": \"secret\"}",
+                MediaType.APPLICATION_JSON));
+
+    ConnectorConfig connectorConfig =
+        kafkaConnectService.getConnectorConfig(
+            "conn1", "env", KafkaSupportedProtocol.PLAINTEXT, "1");
+    ConnectorConfig cachedConnectorConfig =
+        kafkaConnectService.getConnectorConfig(
+            "conn1", "env", KafkaSupportedProtocol.PLAINTEXT, "1");
+
+    assertThat(connectorConfig.getConfig())
+        .containsEntry("tasks.max", "1")
+        .containsEntry("connection.password", ConnectorConfigCache.MASKED_VALUE);
+    assertThat(connectorConfig.getConfigVersion()).isNotEmpty();
+    assertThat(cachedConnectorConfig).isSameAs(connectorConfig);
+    mockRestServiceServer.verify();
+  }
+
+  @Test
+  public void getConnectorConfig_afterUpdate_isReloaded() {
+    ClusterConnectorRequest connectorRequest = stubUpdateConnector();
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn1/config"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess("{\"tasks.max\": \"1\"}", MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn1/config"))
+        .andExpect(method(HttpMethod.PUT))
+        .andRespond(withRawStatus(200).contentType(MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn1/config"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess("{\"tasks.max\": \"2\"}", MediaType.APPLICATION_JSON));
+
+    ConnectorConfig connectorConfig =
+        kafkaConnectService.getConnectorConfig(
+            "conn1", "env", KafkaSupportedProtocol.PLAINTEXT, "1");
+    kafkaConnectService.updateConnector(connectorRequest);
+    ConnectorConfig updatedConnectorConfig =
+        kafkaConnectService.getConnectorConfig(
+            "conn1", "env", KafkaSupportedProtocol.PLAINTEXT, "1");
+
+    assertThat(updatedConnectorConfig.getConfig()).containsEntry("tasks.max", "2");
+    assertThat(updatedConnectorConfig.getConfigVersion())
+        .isNotEqualTo(connectorConfig.getConfigVersion());
+    mockRestServiceServer.verify();
+  }
+
+  @Test
+  public void getConnectorConfigDiff_returnsOnlyDifferingKeys() {
+    stubUpdateConnector();
+    this.mockRestServiceServer
+        .expect(requestTo("/env/connectors/conn1/config"))
+        .andRespond(
+            withSuccess(
+                "{\"name\": \"conn1\", \"tasks.max\": \"2\", \"topics\": \"orders\","
+                    + " \"errors.tolerance\": \"all\", \"connection.password\": \"secret\"}",
+                MediaType.APPLICATION_JSON));
+
+    ConnectorConfigDiff connectorConfigDiff =
+        kafkaConnectService.getConnectorConfigDiff(
+            ClusterConnectorRequest.builder()
+                .connectorName("conn1")
+                .clusterIdentification("1")
+                .env("env")
+                .protocol(KafkaSupportedProtocol.PLAINTEXT)
+                .connectorConfig(
+                    "{\"tasks.max\": 1, \"topics\": \"orders\", \"batch.size\": \"100\","
+                        + " \"connection.password\": \"ENC(abc)\"}")
+                .build());
+
+    assertThat(connectorConfigDiff.isInSync()).isFalse();
+    assertThat(connectorConfigDiff.getDifferences())
+        .containsExactly(
+            new ConnectorConfigDiffEntry("batch.size", "100", null),
+            new ConnectorConfigDiffEntry("errors.tolerance", null, "all"),
+            new ConnectorConfigDiffEntry("tasks.max", "1", "2"));
+  }
+
+  @Test
+  public void getConnectorConfigDiff_invalidStoredConfig() {
+    ClusterConnectorRequest connectorRequest =
+        ClusterConnectorRequest.builder()
+            .connectorName("conn1")
+            .clusterIdentification("1")
+            .env("env")
+            .protocol(KafkaSupportedProtocol.PLAINTEXT)
+            .connectorConfig("[]")
+            .build();
+
+    assertThatThrownBy(() -> kafkaConnectService.getConnectorConfigDiff(connectorRequest))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   public void createConnector_bad_request() throws Exception {
     ClusterConnectorRequest connectorRequest = stubCreateOrDeleteConnector();
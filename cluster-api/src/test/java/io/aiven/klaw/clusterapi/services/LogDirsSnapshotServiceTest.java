@@ -0,0 +1,114 @@
+package io.aiven.klaw.clusterapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.services.LogDirsSnapshotService.LogDirsSnapshot;
+import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.clients.admin.DescribeLogDirsResult;
+import org.apache.kafka.clients.admin.LogDirDescription;
+import org.apache.kafka.clients.admin.ReplicaInfo;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LogDirsSnapshotServiceTest {
+
+  private static final TopicPartition PARTITION_0 = new TopicPartition("topic1", 0);
+  private static final TopicPartition PARTITION_1 = new TopicPartition("topic1", 1);
+
+  @Mock private ClusterApiUtils clusterApiUtils;
+  @Mock private AdminClient adminClient;
+  @Mock private DescribeClusterResult describeClusterResult;
+  @Mock private DescribeLogDirsResult describeLogDirsResult;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(clusterApiUtils.getAdminClient(
+            anyString(), any(KafkaSupportedProtocol.class), anyString()))
+        .thenReturn(adminClient);
+    when(adminClient.describeCluster()).thenReturn(describeClusterResult);
+    when(describeClusterResult.nodes())
+        .thenReturn(
+            KafkaFuture.completedFuture(
+                List.of(new Node(1, "broker1", 9092), new Node(2, "broker2", 9092))));
+    when(adminClient.describeLogDirs(anyCollection())).thenReturn(describeLogDirsResult);
+    // broker 2 moves its replica of partition 1 to another log dir
+    when(describeLogDirsResult.allDescriptions())
+        .thenReturn(
+            KafkaFuture.completedFuture(
+                Map.of(
+                    1,
+                    Map.of(
+                        "/data",
+                        new LogDirDescription(
+                            null,
+                            Map.of(
+                                PARTITION_0,
+                                new ReplicaInfo(1500, 0, false),
+                                PARTITION_1,
+                                new ReplicaInfo(1000, 0, false)))),
+                    2,
+                    Map.of(
+                        "/data1",
+                        new LogDirDescription(
+                            null,
+                            Map.of(
+                                PARTITION_0,
+                                new ReplicaInfo(2000, 0, false),
+                                PARTITION_1,
+                                new ReplicaInfo(1000, 0, false))),
+                        "/data2",
+                        new LogDirDescription(
+                            null, Map.of(PARTITION_1, new ReplicaInfo(800, 0, true)))))));
+  }
+
+  @Test
+  void partitionsAreSizedByTheirLargestCurrentReplica() throws Exception {
+    LogDirsSnapshot logDirsSnapshot =
+        getLogDirsSnapshot(new LogDirsSnapshotService(clusterApiUtils, 30000, 100));
+
+    assertThat(logDirsSnapshot.getBrokers()).containsOnlyKeys(1, 2);
+    assertThat(logDirsSnapshot.getPartitionSizes())
+        .containsExactlyInAnyOrderEntriesOf(Map.of(PARTITION_0, 2000L, PARTITION_1, 1000L));
+    assertThat(logDirsSnapshot.getReplicatedTopicSizes())
+        .containsExactlyEntriesOf(Map.of("topic1", 5500L));
+  }
+
+  @Test
+  void snapshotsAreSharedUntilTheyReachTheirMaxAge() throws Exception {
+    LogDirsSnapshotService logDirsSnapshotService =
+        new LogDirsSnapshotService(clusterApiUtils, 30000, 100);
+    LogDirsSnapshot logDirsSnapshot = getLogDirsSnapshot(logDirsSnapshotService);
+    assertThat(getLogDirsSnapshot(logDirsSnapshotService)).isSameAs(logDirsSnapshot);
+    verify(adminClient, times(1)).describeLogDirs(anyCollection());
+
+    LogDirsSnapshotService expiringLogDirsSnapshotService =
+        new LogDirsSnapshotService(clusterApiUtils, 0, 100);
+    getLogDirsSnapshot(expiringLogDirsSnapshotService);
+    getLogDirsSnapshot(expiringLogDirsSnapshotService);
+    verify(adminClient, times(3)).describeLogDirs(anyCollection());
+  }
+
+  private LogDirsSnapshot getLogDirsSnapshot(LogDirsSnapshotService logDirsSnapshotService)
+      throws Exception {
+    return logDirsSnapshotService.getLogDirsSnapshot(
+        "localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "cluster1");
+  }
+}
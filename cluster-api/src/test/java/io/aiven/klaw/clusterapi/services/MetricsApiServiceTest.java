@@ -3,14 +3,27 @@ package io.aiven.klaw.clusterapi.services;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.metrics.MetricsSample;
+import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
 import io.aiven.klaw.clusterapi.utils.MetricsUtils;
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
-import javax.management.remote.JMXConnector;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
 import org.assertj.core.api.AbstractThrowableAssert;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -24,9 +37,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class MetricsApiServiceTest {
 
   @Mock private MetricsUtils metricsUtils;
-  @Mock private JMXConnector jmxConnector;
+  @Mock private ClusterApiUtils clusterApiUtils;
+  @Mock private AdminClient adminClient;
+  @Mock private DescribeClusterResult describeClusterResult;
   @Mock private MBeanServerConnection mBeanServerConnection;
-  @Mock private MBeanInfo mBeanInfo;
   @InjectMocks private MetricsApiService metricsApiService;
   private static final String JMX_URL = "service:jmx:rmi:///jndi/rmi://localhost:9996/jmxrmi";
   private static final String OBJECT_NAME =
@@ -35,17 +49,8 @@ class MetricsApiServiceTest {
   @Test
   void getMetrics() throws Exception {
 
-    MBeanAttributeInfo mBeanAttributeInfo =
-        new MBeanAttributeInfo("name", "type", "description", true, true, false);
-    MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[1];
-    attributes[0] = mBeanAttributeInfo;
-
-    Mockito.when(metricsUtils.getJmxConnector(JMX_URL)).thenReturn(jmxConnector);
-    Mockito.when(jmxConnector.getMBeanServerConnection()).thenReturn(mBeanServerConnection);
-    Mockito.when(mBeanServerConnection.getMBeanInfo(any(ObjectName.class))).thenReturn(mBeanInfo);
-    Mockito.when(mBeanInfo.getAttributes()).thenReturn(attributes);
-    Mockito.when(mBeanServerConnection.getAttribute(any(ObjectName.class), anyString()))
-        .thenReturn("attribute");
+    stubAttributes(new ObjectName(OBJECT_NAME), "attribute");
+    Mockito.when(metricsUtils.getMBeanServerConnection(JMX_URL)).thenReturn(mBeanServerConnection);
 
     Map<String, String> actual = metricsApiService.getMetrics(JMX_URL, OBJECT_NAME);
     Map<String, String> expected = Map.of("name", "attribute");
@@ -53,11 +58,101 @@ class MetricsApiServiceTest {
     Assertions.assertThat(actual).isEqualTo(expected);
   }
 
+  @Test
+  void getMetricsByPattern() throws Exception {
+    ObjectName topic1 = new ObjectName(OBJECT_NAME + ",topic=topic1");
+    ObjectName topic2 = new ObjectName(OBJECT_NAME + ",topic=topic2");
+    stubAttributes(topic1, "1");
+    stubAttributes(topic2, "2");
+    Mockito.when(metricsUtils.getMBeanServerConnection(JMX_URL)).thenReturn(mBeanServerConnection);
+    Mockito.when(mBeanServerConnection.queryNames(new ObjectName(OBJECT_NAME + ",topic=*"), null))
+        .thenReturn(Set.of(topic1, topic2));
+
+    Map<String, Map<String, String>> actual =
+        metricsApiService.getMetricsByPattern(JMX_URL, OBJECT_NAME + ",topic=*");
+
+    Assertions.assertThat(actual)
+        .containsOnly(
+            Assertions.entry(topic1.getCanonicalName(), Map.of("name", "1")),
+            Assertions.entry(topic2.getCanonicalName(), Map.of("name", "2")));
+  }
+
+  @Test
+  void getMetricsInvalidatesBrokenConnection() throws Exception {
+    Mockito.when(metricsUtils.getMBeanServerConnection(JMX_URL)).thenReturn(mBeanServerConnection);
+    Mockito.when(mBeanServerConnection.getMBeanInfo(any(ObjectName.class)))
+        .thenThrow(new IOException("connection reset"));
+
+    assertThatThrownBy(() -> metricsApiService.getMetrics(JMX_URL, OBJECT_NAME))
+        .isInstanceOf(IOException.class);
+    verify(metricsUtils).invalidate(JMX_URL);
+  }
+
+  @Test
+  void getClusterMetricsSumsBrokers() throws Exception {
+    Mockito.when(
+            clusterApiUtils.getAdminClient(
+                "broker1:9092", KafkaSupportedProtocol.PLAINTEXT, "DEV_CLUSTER1"))
+        .thenReturn(adminClient);
+    Mockito.when(adminClient.describeCluster()).thenReturn(describeClusterResult);
+    Mockito.when(describeClusterResult.nodes())
+        .thenReturn(
+            KafkaFuture.completedFuture(
+                List.of(new Node(1, "broker1", 9092), new Node(2, "broker2", 9092))));
+    Mockito.when(metricsUtils.getMBeanServerConnection(anyString()))
+        .thenReturn(mBeanServerConnection);
+    ObjectName total = new ObjectName("kafka.server:type=BrokerTopicMetrics,name=MessagesInPerSec");
+    ObjectName topic = new ObjectName(total + ",topic=topic1");
+    Mockito.when(mBeanServerConnection.queryNames(any(ObjectName.class), any()))
+        .thenAnswer(
+            invocation ->
+                invocation.getArgument(0).toString().contains("MessagesInPerSec")
+                    ? Set.of(total, topic)
+                    : Set.of());
+    stubRate(total, 10.0);
+    stubRate(topic, 4.0);
+
+    List<MetricsSample> samples =
+        metricsApiService.getClusterMetrics(
+            "broker1:9092", KafkaSupportedProtocol.PLAINTEXT, "DEV_CLUSTER1", 9999);
+
+    Assertions.assertThat(samples)
+        .containsExactlyInAnyOrder(
+            new MetricsSample("MessagesInPerSec", null, 20.0),
+            new MetricsSample("MessagesInPerSec", "topic1", 8.0));
+    verify(metricsUtils, Mockito.times(3))
+        .getMBeanServerConnection("service:jmx:rmi:///jndi/rmi://broker2:9999/jmxrmi");
+  }
+
+  private void stubRate(ObjectName objectName, double rate) throws Exception {
+    MBeanInfo mBeanInfo = Mockito.mock(MBeanInfo.class);
+    Mockito.when(mBeanServerConnection.getMBeanInfo(objectName)).thenReturn(mBeanInfo);
+    Mockito.when(mBeanInfo.getAttributes())
+        .thenReturn(
+            new MBeanAttributeInfo[] {
+              new MBeanAttributeInfo("OneMinuteRate", "double", "rate", true, false, false)
+            });
+    Mockito.when(mBeanServerConnection.getAttributes(eq(objectName), any()))
+        .thenReturn(new AttributeList(List.of(new Attribute("OneMinuteRate", rate))));
+  }
+
+  private void stubAttributes(ObjectName objectName, String value) throws Exception {
+    MBeanAttributeInfo[] attributes = {
+      new MBeanAttributeInfo("name", "type", "description", true, true, false),
+      new MBeanAttributeInfo("writeOnly", "type", "description", false, true, false)
+    };
+    MBeanInfo mBeanInfo = Mockito.mock(MBeanInfo.class);
+    Mockito.when(mBeanServerConnection.getMBeanInfo(objectName)).thenReturn(mBeanInfo);
+    Mockito.when(mBeanInfo.getAttributes()).thenReturn(attributes);
+    Mockito.when(mBeanServerConnection.getAttributes(eq(objectName), eq(new String[] {"name"})))
+        .thenReturn(new AttributeList(List.of(new Attribute("name", value))));
+  }
+
   @Test
   void getMetrics_Failure() throws Exception {
     Exception expected = new Exception("Error while getting metrics.");
 
-    Mockito.when(metricsUtils.getJmxConnector(JMX_URL)).thenThrow(expected);
+    Mockito.when(metricsUtils.getMBeanServerConnection(JMX_URL)).thenThrow(expected);
 
     AbstractThrowableAssert<?, ? extends Throwable> exception =
         assertThatThrownBy(() -> metricsApiService.getMetrics(JMX_URL, OBJECT_NAME));
@@ -0,0 +1,266 @@
+package io.aiven.klaw.clusterapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aiven.klaw.clusterapi.config.ClusterRequestLimiter;
+import io.aiven.klaw.clusterapi.models.AclResourceFilter;
+import io.aiven.klaw.clusterapi.models.TopicConfig;
+import io.aiven.klaw.clusterapi.models.TopicNameFilter;
+import io.aiven.klaw.clusterapi.models.enums.AclsNativeType;
+import io.aiven.klaw.clusterapi.models.enums.ClusterQueryStatus;
+import io.aiven.klaw.clusterapi.models.enums.ClusterQueryType;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.metrics.TopicMetrics;
+import io.aiven.klaw.clusterapi.models.multicluster.ClusterQuery;
+import io.aiven.klaw.clusterapi.models.multicluster.ClusterQueryResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MultiClusterQueryServiceTest {
+
+  @Mock private ApacheKafkaTopicService apacheKafkaTopicService;
+  @Mock private ApacheKafkaAclService apacheKafkaAclService;
+  @Mock private TopicMetricsService topicMetricsService;
+  @Mock private ConfluentCloudApiService confluentCloudApiService;
+  @Mock private AivenApiService aivenApiService;
+
+  private ClusterRequestLimiter clusterRequestLimiter;
+
+  private ExecutorService executorService;
+
+  private MultiClusterQueryService multiClusterQueryService;
+
+  @BeforeEach
+  void setUp() {
+    clusterRequestLimiter =
+        new ClusterRequestLimiter(new SimpleMeterRegistry(), new ObjectMapper(), 1, 0, 0, 64, 50);
+    executorService = Executors.newFixedThreadPool(4);
+    multiClusterQueryService =
+        new MultiClusterQueryService(
+            apacheKafkaTopicService,
+            apacheKafkaAclService,
+            topicMetricsService,
+            confluentCloudApiService,
+            aivenApiService,
+            clusterRequestLimiter,
+            executorService,
+            1000,
+            5000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  void reportsFailedAndTimedOutClustersWithoutFailingOthers() throws Exception {
+    TopicMetrics topicMetrics = new TopicMetrics();
+    topicMetrics.setTopicName("orders");
+    when(topicMetricsService.getTopicMetrics(
+            "dev:9092", KafkaSupportedProtocol.PLAINTEXT, "DEV1", "orders"))
+        .thenReturn(topicMetrics);
+    when(apacheKafkaTopicService.loadTopics(
+            eq("tst:9092"),
+            eq(KafkaSupportedProtocol.PLAINTEXT),
+            eq("TST2"),
+            any(TopicNameFilter.class)))
+        .thenThrow(new Exception("Cannot connect to cluster."));
+    CountDownLatch slowCluster = new CountDownLatch(1);
+    when(apacheKafkaTopicService.loadTopics(
+            eq("acc:9092"),
+            eq(KafkaSupportedProtocol.PLAINTEXT),
+            eq("ACC3"),
+            any(TopicNameFilter.class)))
+        .thenAnswer(
+            invocation -> {
+              slowCluster.await(5, TimeUnit.SECONDS);
+              return Set.of(new TopicConfig());
+            });
+
+    ClusterQuery slowQuery = query("3", "acc:9092", "ACC3", ClusterQueryType.TOPICS);
+    slowQuery.setTimeoutMs(100L);
+    List<ClusterQueryResult> results =
+        multiClusterQueryService.query(
+            List.of(
+                query("1", "dev:9092", "DEV1", ClusterQueryType.TOPIC_METRICS),
+                query("2", "tst:9092", "TST2", ClusterQueryType.TOPICS),
+                slowQuery));
+    slowCluster.countDown();
+
+    assertThat(results)
+        .extracting(
+            ClusterQueryResult::getQueryId,
+            ClusterQueryResult::getStatus,
+            ClusterQueryResult::getError)
+        .containsExactly(
+            tuple("1", ClusterQueryStatus.SUCCESS, null),
+            tuple("2", ClusterQueryStatus.FAILED, "Cannot connect to cluster."),
+            tuple("3", ClusterQueryStatus.TIMED_OUT, "No answer within 100 ms"));
+    assertThat(results.get(0).getTopicMetrics()).isSameAs(topicMetrics);
+  }
+
+  @Test
+  void timedOutQueryIsInterruptedAndKeepsItsPermitUntilTheCallReturns() throws Exception {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    CountDownLatch callReturns = new CountDownLatch(1);
+    when(apacheKafkaTopicService.loadTopics(
+            eq("acc:9092"),
+            eq(KafkaSupportedProtocol.PLAINTEXT),
+            eq("ACC3"),
+            any(TopicNameFilter.class)))
+        .thenAnswer(
+            invocation -> {
+              try {
+                Thread.sleep(5000);
+              } catch (InterruptedException e) {
+                interrupted.countDown();
+              }
+              // the cluster call ignores the interrupt and returns later
+              callReturns.await(5, TimeUnit.SECONDS);
+              return Set.of(new TopicConfig());
+            });
+
+    ClusterQuery slowQuery = query("3", "acc:9092", "ACC3", ClusterQueryType.TOPICS);
+    slowQuery.setTimeoutMs(100L);
+    List<ClusterQueryResult> results = multiClusterQueryService.query(List.of(slowQuery));
+
+    assertThat(results.get(0).getStatus()).isEqualTo(ClusterQueryStatus.TIMED_OUT);
+    assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(clusterRequestLimiter.tryAcquire("acc:9092")).isFalse();
+
+    callReturns.countDown();
+    long deadline = System.currentTimeMillis() + 1000;
+    boolean permitGivenBack = false;
+    while (!permitGivenBack && System.currentTimeMillis() < deadline) {
+      permitGivenBack = clusterRequestLimiter.tryAcquire("acc:9092");
+      Thread.sleep(10);
+    }
+    assertThat(permitGivenBack).isTrue();
+    clusterRequestLimiter.release("acc:9092");
+  }
+
+  @Test
+  void queriesWaitingForAThreadDoNotUseUpTheirTimeout() throws Exception {
+    executorService.shutdownNow();
+    executorService = Executors.newSingleThreadExecutor();
+    multiClusterQueryService =
+        new MultiClusterQueryService(
+            apacheKafkaTopicService,
+            apacheKafkaAclService,
+            topicMetricsService,
+            confluentCloudApiService,
+            aivenApiService,
+            clusterRequestLimiter,
+            executorService,
+            1000,
+            5000);
+    when(apacheKafkaAclService.loadAcls(
+            any(), eq(KafkaSupportedProtocol.PLAINTEXT), any(), any(AclResourceFilter.class)))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(150);
+              return Set.of();
+            });
+
+    ClusterQuery first = query("1", "dev:9092", "DEV1", ClusterQueryType.ACLS);
+    first.setTimeoutMs(250L);
+    ClusterQuery second = query("2", "tst:9092", "TST2", ClusterQueryType.ACLS);
+    second.setTimeoutMs(250L);
+    List<ClusterQueryResult> results = multiClusterQueryService.query(List.of(first, second));
+
+    assertThat(results)
+        .extracting(ClusterQueryResult::getStatus)
+        .containsExactly(ClusterQueryStatus.SUCCESS, ClusterQueryStatus.SUCCESS);
+  }
+
+  @Test
+  void queriesTakeThePermitsOfTheirCluster() {
+    assertThat(clusterRequestLimiter.tryAcquire("dev:9092")).isTrue();
+
+    List<ClusterQueryResult> results =
+        multiClusterQueryService.query(
+            List.of(query("1", "dev:9092", "DEV1", ClusterQueryType.ACLS)));
+
+    assertThat(results.get(0).getStatus()).isEqualTo(ClusterQueryStatus.REJECTED);
+    clusterRequestLimiter.release("dev:9092");
+  }
+
+  @Test
+  void queriesAreRoutedByTheFlavorOfTheCluster() throws Exception {
+    TopicConfig orders = new TopicConfig();
+    orders.setTopicName("orders");
+    TopicConfig payments = new TopicConfig();
+    payments.setTopicName("payments");
+    when(confluentCloudApiService.listTopics("cc:443", KafkaSupportedProtocol.PLAINTEXT, "CC4"))
+        .thenReturn(Set.of(orders, payments));
+    when(aivenApiService.listAcls("project1", "service1"))
+        .thenReturn(
+            Set.of(
+                Map.of("resourceType", "TOPIC", "resourceName", "orders"),
+                Map.of("resourceType", "GROUP", "resourceName", "group1")));
+
+    ClusterQuery confluentCloudTopics = query("4", "cc:443", "CC4", ClusterQueryType.TOPICS);
+    confluentCloudTopics.setAclsNativeType(AclsNativeType.CONFLUENT_CLOUD);
+    TopicNameFilter topicNameFilter = new TopicNameFilter();
+    topicNameFilter.setTopicNames(Set.of("orders"));
+    confluentCloudTopics.setTopicNameFilter(topicNameFilter);
+    ClusterQuery aivenAcls = query("5", "aiven:9092", "AIVEN5", ClusterQueryType.ACLS);
+    aivenAcls.setAclsNativeType(AclsNativeType.AIVEN);
+    aivenAcls.setProjectName("project1");
+    aivenAcls.setServiceName("service1");
+    AclResourceFilter aclResourceFilter = new AclResourceFilter();
+    aclResourceFilter.setResourceType("GROUP");
+    aivenAcls.setAclResourceFilter(aclResourceFilter);
+    ClusterQuery confluentCloudMetrics =
+        query("6", "cc2:443", "CC6", ClusterQueryType.TOPIC_METRICS);
+    confluentCloudMetrics.setAclsNativeType(AclsNativeType.CONFLUENT_CLOUD);
+
+    List<ClusterQueryResult> results =
+        multiClusterQueryService.query(
+            List.of(confluentCloudTopics, aivenAcls, confluentCloudMetrics));
+
+    assertThat(results)
+        .extracting(ClusterQueryResult::getStatus)
+        .containsExactly(
+            ClusterQueryStatus.SUCCESS, ClusterQueryStatus.SUCCESS, ClusterQueryStatus.FAILED);
+    assertThat(results.get(0).getTopics()).containsExactly(orders);
+    assertThat(results.get(1).getAcls())
+        .containsExactly(Map.of("resourceType", "GROUP", "resourceName", "group1"));
+    verifyNoInteractions(apacheKafkaTopicService, apacheKafkaAclService, topicMetricsService);
+  }
+
+  private static ClusterQuery query(
+      String queryId,
+      String bootstrapServers,
+      String clusterIdentification,
+      ClusterQueryType type) {
+    ClusterQuery clusterQuery = new ClusterQuery();
+    clusterQuery.setQueryId(queryId);
+    clusterQuery.setBootstrapServers(bootstrapServers);
+    clusterQuery.setProtocol(KafkaSupportedProtocol.PLAINTEXT);
+    clusterQuery.setClusterIdentification(clusterIdentification);
+    clusterQuery.setQueryType(type);
+    clusterQuery.setTopicName("orders");
+    return clusterQuery;
+  }
+}
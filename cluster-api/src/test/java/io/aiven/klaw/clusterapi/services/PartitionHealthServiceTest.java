@@ -0,0 +1,240 @@
+package io.aiven.klaw.clusterapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.partitionhealth.PartitionHealthChanges;
+import io.aiven.klaw.clusterapi.models.partitionhealth.TopicPartitionHealth;
+import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.DescribeConfigsResult;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListTopicsOptions;
+import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionHealthServiceTest {
+
+  private static final Node BROKER_1 = new Node(1, "broker1", 9092);
+  private static final Node BROKER_2 = new Node(2, "broker2", 9092);
+  private static final Node BROKER_3 = new Node(3, "broker3", 9092);
+
+  @Mock private ClusterApiUtils clusterApiUtils;
+  @Mock private AdminClient adminClient;
+  @Mock private ListTopicsResult listTopicsResult;
+  @Mock private DescribeTopicsResult describeTopicsResult;
+  @Mock private DescribeConfigsResult describeConfigsResult;
+
+  private final List<Runnable> scheduledScans = new ArrayList<>();
+
+  private PartitionHealthService partitionHealthService;
+
+  @BeforeEach
+  void setUp() {
+    partitionHealthService =
+        new PartitionHealthService(clusterApiUtils, scheduledScans::add, 500, 2, 3600000);
+  }
+
+  @Test
+  void countsPartitionsPerHealthProblem() {
+    TopicDescription topicDescription =
+        new TopicDescription(
+            "topic1",
+            false,
+            List.of(
+                partition(0, BROKER_1, List.of(BROKER_1, BROKER_2, BROKER_3), List.of(BROKER_1)),
+                partition(
+                    1,
+                    BROKER_3,
+                    List.of(BROKER_2, BROKER_3, BROKER_1),
+                    List.of(BROKER_3, BROKER_1, BROKER_2)),
+                partition(2, null, List.of(BROKER_3, BROKER_1, BROKER_2), List.of()),
+                partition(
+                    3,
+                    BROKER_1,
+                    List.of(BROKER_1, BROKER_2, BROKER_3),
+                    List.of(BROKER_1, BROKER_2, BROKER_3))));
+
+    TopicPartitionHealth topicPartitionHealth =
+        PartitionHealthService.getTopicPartitionHealth(topicDescription, 2);
+
+    assertThat(topicPartitionHealth.getPartitions()).isEqualTo(4);
+    assertThat(topicPartitionHealth.getUnderReplicated()).isEqualTo(2);
+    assertThat(topicPartitionHealth.getUnderMinIsr()).isEqualTo(2);
+    assertThat(topicPartitionHealth.getOffline()).isEqualTo(1);
+    assertThat(topicPartitionHealth.getLeaderSkewed()).isEqualTo(1);
+  }
+
+  @Test
+  void returnsOnlyChangesSinceTheVersionSeen() throws Exception {
+    stubAdminClient();
+    PartitionHealthChanges notScanned = getChanges(0, 0);
+    assertThat(notScanned.getVersion()).isZero();
+
+    // topic1 under replicated, topic2 healthy
+    stubTopics(
+        Map.of(
+            "topic1", List.of(BROKER_1),
+            "topic2", List.of(BROKER_1, BROKER_2)));
+    runScans();
+    PartitionHealthChanges fullSnapshot = getChanges(0, 0);
+    assertThat(fullSnapshot.isFullSnapshot()).isTrue();
+    assertThat(fullSnapshot.getChangedTopics())
+        .extracting(TopicPartitionHealth::getTopicName, TopicPartitionHealth::getUnderReplicated)
+        .containsExactly(tuple("topic1", 1));
+
+    // an unchanged scan adds no version
+    partitionHealthService.scanPartitionHealth();
+    runScans();
+    PartitionHealthChanges noChanges =
+        getChanges(fullSnapshot.getEpoch(), fullSnapshot.getVersion());
+    assertThat(noChanges.getVersion()).isEqualTo(fullSnapshot.getVersion());
+    assertThat(noChanges.isFullSnapshot()).isFalse();
+    assertThat(noChanges.getChangedTopics()).isEmpty();
+
+    // topic1 recovers, topic2 loses a replica
+    stubTopics(
+        Map.of(
+            "topic1", List.of(BROKER_1, BROKER_2),
+            "topic2", List.of(BROKER_1)));
+    partitionHealthService.scanPartitionHealth();
+    runScans();
+    PartitionHealthChanges changes = getChanges(fullSnapshot.getEpoch(), fullSnapshot.getVersion());
+    assertThat(changes.isFullSnapshot()).isFalse();
+    assertThat(changes.getChangedTopics())
+        .extracting(TopicPartitionHealth::getTopicName, TopicPartitionHealth::isHealthy)
+        .containsExactlyInAnyOrder(tuple("topic1", true), tuple("topic2", false));
+
+    // readers of another scan history get a full snapshot
+    assertThat(getChanges(fullSnapshot.getEpoch() + 1, changes.getVersion()).isFullSnapshot())
+        .isTrue();
+  }
+
+  @Test
+  void readersBehindPrunedRecoveriesGetAFullSnapshot() throws Exception {
+    stubAdminClient();
+    getChanges(0, 0);
+    stubTopics(Map.of("topic1", List.of(BROKER_1)));
+    runScans();
+    PartitionHealthChanges first = getChanges(0, 0);
+
+    // recovers, then three more changes with 2 retained versions prune the recovery
+    stubTopics(Map.of("topic1", List.of(BROKER_1, BROKER_2)));
+    partitionHealthService.scanPartitionHealth();
+    runScans();
+    for (int i = 0; i < 3; i++) {
+      stubTopics(Map.of("topic2", i % 2 == 0 ? List.of(BROKER_1) : List.of(BROKER_1, BROKER_2)));
+      partitionHealthService.scanPartitionHealth();
+      runScans();
+    }
+
+    PartitionHealthChanges changes = getChanges(first.getEpoch(), first.getVersion());
+    assertThat(changes.isFullSnapshot()).isTrue();
+    assertThat(changes.getChangedTopics())
+        .extracting(TopicPartitionHealth::getTopicName)
+        .containsExactly("topic2");
+  }
+
+  @Test
+  void topicsWhichCannotBeDescribedKeepTheirPreviousState() throws Exception {
+    stubAdminClient();
+    getChanges(0, 0);
+    stubTopics(Map.of("topic1", List.of(BROKER_1), "topic2", List.of(BROKER_1)));
+    runScans();
+    PartitionHealthChanges first = getChanges(0, 0);
+
+    // topic1 times out, the min in sync replicas of topic2 cannot be read
+    stubTopics(
+        Map.of("topic1", List.of(BROKER_1, BROKER_2), "topic2", List.of(BROKER_1, BROKER_2)));
+    KafkaFutureImpl<TopicDescription> timedOut = new KafkaFutureImpl<>();
+    timedOut.completeExceptionally(new TimeoutException("Timed out waiting for a node"));
+    describeTopicsResult.topicNameValues().put("topic1", timedOut);
+    describeConfigsResult
+        .values()
+        .put(
+            new ConfigResource(ConfigResource.Type.TOPIC, "topic2"),
+            KafkaFuture.completedFuture(new Config(List.of())));
+    partitionHealthService.scanPartitionHealth();
+    runScans();
+
+    PartitionHealthChanges changes = getChanges(first.getEpoch(), first.getVersion());
+    assertThat(changes.getVersion()).isEqualTo(first.getVersion());
+    assertThat(changes.getChangedTopics()).isEmpty();
+    assertThat(getChanges(0, 0).getChangedTopics())
+        .extracting(TopicPartitionHealth::getTopicName)
+        .containsExactlyInAnyOrder("topic1", "topic2");
+  }
+
+  private PartitionHealthChanges getChanges(long epoch, long sinceVersion) {
+    return partitionHealthService.getPartitionHealthChanges(
+        "localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "cluster1", epoch, sinceVersion);
+  }
+
+  private void runScans() {
+    List<Runnable> scans = new ArrayList<>(scheduledScans);
+    scheduledScans.clear();
+    scans.forEach(Runnable::run);
+  }
+
+  private void stubAdminClient() throws Exception {
+    when(clusterApiUtils.getAdminClient(
+            anyString(), any(KafkaSupportedProtocol.class), anyString()))
+        .thenReturn(adminClient);
+  }
+
+  /** One partition per topic, replicated to broker 1 and 2, with the given in sync replicas. */
+  private void stubTopics(Map<String, List<Node>> inSyncReplicas) {
+    when(adminClient.listTopics(any(ListTopicsOptions.class))).thenReturn(listTopicsResult);
+    when(listTopicsResult.names())
+        .thenReturn(KafkaFuture.completedFuture(Set.copyOf(inSyncReplicas.keySet())));
+    when(adminClient.describeTopics(anyCollection())).thenReturn(describeTopicsResult);
+    when(adminClient.describeConfigs(anyCollection())).thenReturn(describeConfigsResult);
+    Map<String, KafkaFuture<TopicDescription>> topicDescriptions = new HashMap<>();
+    Map<ConfigResource, KafkaFuture<Config>> configs = new HashMap<>();
+    inSyncReplicas.forEach(
+        (topicName, isr) -> {
+          topicDescriptions.put(
+              topicName,
+              KafkaFuture.completedFuture(
+                  new TopicDescription(
+                      topicName,
+                      false,
+                      List.of(partition(0, BROKER_1, List.of(BROKER_1, BROKER_2), isr)))));
+          configs.put(
+              new ConfigResource(ConfigResource.Type.TOPIC, topicName),
+              KafkaFuture.completedFuture(
+                  new Config(List.of(new ConfigEntry("min.insync.replicas", "1")))));
+        });
+    when(describeTopicsResult.topicNameValues()).thenReturn(topicDescriptions);
+    when(describeConfigsResult.values()).thenReturn(configs);
+  }
+
+  private static TopicPartitionInfo partition(
+      int partition, Node leader, List<Node> replicas, List<Node> isr) {
+    return new TopicPartitionInfo(partition, leader, replicas, isr);
+  }
+}
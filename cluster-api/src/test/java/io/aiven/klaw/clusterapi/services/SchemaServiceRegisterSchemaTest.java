@@ -14,6 +14,7 @@ import io.aiven.klaw.clusterapi.models.RegisterSchemaResponse;
 import io.aiven.klaw.clusterapi.models.enums.ApiResultStatus;
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.SchemaVersionCache;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -55,7 +56,15 @@ class SchemaServiceRegisterSchemaTest {
 
   @BeforeEach
   public void setUp() {
-    schemaService = new SchemaService(clusterApiUtil);
+    schemaService =
+        new SchemaService(
+            clusterApiUtil,
+            new SchemaVersionCache(100, null),
+            Runnable::run,
+            Runnable::run,
+            Runnable::run,
+            100,
+            60);
     utilMethods = new UtilMethods();
   }
 
@@ -2,27 +2,40 @@ package io.aiven.klaw.clusterapi.services;
 
 import static io.aiven.klaw.clusterapi.services.SchemaService.SCHEMA_VALUE_URI;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aiven.klaw.clusterapi.config.SchedulerConfig;
 import io.aiven.klaw.clusterapi.constants.TestConstants;
 import io.aiven.klaw.clusterapi.models.ApiResponse;
+import io.aiven.klaw.clusterapi.models.ClusterSchemaRequest;
 import io.aiven.klaw.clusterapi.models.ClusterTopicRequest;
 import io.aiven.klaw.clusterapi.models.SchemaCompatibilityCheckResponse;
+import io.aiven.klaw.clusterapi.models.SchemaInfoCacheStats;
 import io.aiven.klaw.clusterapi.models.SchemaInfoOfTopic;
 import io.aiven.klaw.clusterapi.models.SchemasInfoOfClusterResponse;
 import io.aiven.klaw.clusterapi.models.enums.*;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import io.aiven.klaw.clusterapi.utils.SchemaVersionCache;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.tuple.Pair;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.util.Lists;
@@ -31,15 +44,20 @@ import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
 @RestClientTest(SchemaService.class)
+@Import({SchedulerConfig.class, SchemaVersionCache.class})
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class SchemaServiceTest {
   public static final String TOPIC_COMPATIBILITY_URI_TEMPLATE =
@@ -56,6 +74,7 @@ class SchemaServiceTest {
   @Autowired ObjectMapper objectMapper;
   private ObjectMapper mapper = new ObjectMapper();
   private MockRestServiceServer mockRestServiceServer;
+  private SchemaVersionCache schemaVersionCache;
   @MockBean private ClusterApiUtils getAdminClient;
 
   private static ClusterTopicRequest deleteTopicRequest(String topicName) {
@@ -77,7 +96,16 @@ class SchemaServiceTest {
   @BeforeEach
   public void setUp() {
     restTemplate = new RestTemplate();
-    schemaService = new SchemaService(getAdminClient);
+    schemaVersionCache = new SchemaVersionCache(100, null);
+    schemaService =
+        new SchemaService(
+            getAdminClient,
+            schemaVersionCache,
+            Runnable::run,
+            Runnable::run,
+            Runnable::run,
+            100,
+            60);
     mockRestServiceServer = MockRestServiceServer.bindTo(restTemplate).build();
   }
 
@@ -121,6 +149,28 @@ class SchemaServiceTest {
     assertThat(schemaResponse.get(1).get("compatibility")).isEqualTo("FORWARD");
   }
 
+  @Test
+  @Order(17)
+  public void getSchema_downloadsRegisteredVersionOnlyOnce() throws JsonProcessingException {
+    String getSchemaVersionsUrl = "env/subjects/topic-value/versions";
+    getSchemaVersions(getSchemaVersionsUrl);
+    getSchemaCompatibilitySubject(true);
+    getSchema();
+    schemaService.getSchema("env", KafkaSupportedProtocol.PLAINTEXT, "CLID1", "topic");
+    this.mockRestServiceServer.verify();
+    this.mockRestServiceServer.reset();
+
+    // only the version list and compatibility are requested again
+    getSchemaVersions(getSchemaVersionsUrl);
+    getSchemaCompatibilitySubject(true);
+    Map<Integer, Map<String, Object>> schemaResponse =
+        schemaService.getSchema("env", KafkaSupportedProtocol.PLAINTEXT, "CLID1", "topic");
+
+    this.mockRestServiceServer.verify();
+    assertThat(schemaResponse.get(1)).containsEntry("foo", "bar");
+    assertThat(schemaResponse.get(1).get("compatibility")).isEqualTo("BACKWARD");
+  }
+
   private void getSchemaCompatibilitySubject(boolean compatibilitySet)
       throws JsonProcessingException {
     String getSchemaCompatibilityUrl = "env/config/topic-value";
@@ -348,44 +398,12 @@ class SchemaServiceTest {
   @Order(9)
   public void getSchemasOfCluster() throws JsonProcessingException {
     String dev = "Dev";
-    String subjectsUrl = dev + "/subjects";
     String topic1 = "test1", topic2 = "test2";
     Set<Integer> topic1Versions = Set.of(1, 2);
     Set<Integer> topic2Versions = Set.of(1, 2, 3);
 
-    when(getAdminClient.getRequestDetails(eq(subjectsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
-        .thenReturn(Pair.of(subjectsUrl, restTemplate));
-    when(getAdminClient.createHeaders(eq("19"), eq(KafkaClustersType.SCHEMA_REGISTRY)))
-        .thenReturn(new HttpHeaders());
-    this.mockRestServiceServer
-        .expect(requestTo("/" + subjectsUrl))
-        .andRespond(
-            withSuccess(
-                mapper.writeValueAsString(
-                    List.of(topic1 + SCHEMA_VALUE_URI, topic2 + SCHEMA_VALUE_URI)),
-                MediaType.APPLICATION_JSON));
-    this.mockRestServiceServer
-        .expect(requestTo("/" + subjectsUrl + "/" + topic1 + SCHEMA_VALUE_URI + "/versions"))
-        .andRespond(
-            withSuccess(mapper.writeValueAsString(topic1Versions), MediaType.APPLICATION_JSON));
-    this.mockRestServiceServer
-        .expect(requestTo("/" + subjectsUrl + "/" + topic2 + SCHEMA_VALUE_URI + "/versions"))
-        .andRespond(
-            withSuccess(mapper.writeValueAsString(topic2Versions), MediaType.APPLICATION_JSON));
-    when(getAdminClient.getRequestDetails(
-            eq(subjectsUrl + "/" + topic1 + SCHEMA_VALUE_URI + "/versions"),
-            eq(KafkaSupportedProtocol.PLAINTEXT)))
-        .thenReturn(
-            Pair.of(subjectsUrl + "/" + topic1 + SCHEMA_VALUE_URI + "/versions", restTemplate));
-    when(getAdminClient.getRequestDetails(
-            eq(subjectsUrl + "/" + topic2 + SCHEMA_VALUE_URI + "/versions"),
-            eq(KafkaSupportedProtocol.PLAINTEXT)))
-        .thenReturn(
-            Pair.of(subjectsUrl + "/" + topic2 + SCHEMA_VALUE_URI + "/versions", restTemplate));
-
     SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
-        schemaService.loadAllSchemasInfoFromCluster(
-            dev, KafkaSupportedProtocol.PLAINTEXT, "19", false, SchemaCacheUpdateType.NONE, null);
+        loadSchemasOfCluster(dev, "19", Map.of(topic1, topic1Versions, topic2, topic2Versions));
     assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList().size()).isEqualTo(2);
     assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList())
         .extracting(SchemaInfoOfTopic::getTopic)
@@ -404,11 +422,7 @@ class SchemaServiceTest {
     Set<Integer> topic1Versions = Set.of(1, 2);
     Set<Integer> topic2Versions = Set.of(1, 2, 3);
     Set<Integer> topic3Versions = Set.of(1);
-
-    when(getAdminClient.getRequestDetails(eq(subjectsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
-        .thenReturn(Pair.of(subjectsUrl, restTemplate));
-    when(getAdminClient.createHeaders(eq("19"), eq(KafkaClustersType.SCHEMA_REGISTRY)))
-        .thenReturn(new HttpHeaders());
+    loadSchemasOfCluster(dev, "19", Map.of(topic1, topic1Versions, topic2, topic2Versions));
 
     this.mockRestServiceServer
         .expect(requestTo("/" + subjectsUrl + "/" + topic3 + SCHEMA_VALUE_URI + "/versions"))
@@ -441,15 +455,10 @@ class SchemaServiceTest {
   @Order(11)
   public void getSchemasOfClusterDeleteSchema() throws JsonProcessingException {
     String dev = "Dev";
-    String subjectsUrl = dev + "/subjects";
-    String topic1 = "test1", topic2 = "test2", topic3 = "test3";
+    String topic1 = "test1", topic2 = "test2";
     Set<Integer> topic1Versions = Set.of(1, 2);
-    Set<Integer> topic3Versions = Set.of(1);
-
-    when(getAdminClient.getRequestDetails(eq(subjectsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
-        .thenReturn(Pair.of(subjectsUrl, restTemplate));
-    when(getAdminClient.createHeaders(eq("19"), eq(KafkaClustersType.SCHEMA_REGISTRY)))
-        .thenReturn(new HttpHeaders());
+    SchemasInfoOfClusterResponse loadedSchemasInfo =
+        loadSchemasOfCluster(dev, "19", Map.of(topic1, topic1Versions, topic2, Set.of(1, 2, 3)));
 
     SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
         schemaService.loadAllSchemasInfoFromCluster(
@@ -459,13 +468,55 @@ class SchemaServiceTest {
             true,
             SchemaCacheUpdateType.DELETE,
             topic2);
-    assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList().size()).isEqualTo(2);
     assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList())
-        .extracting(SchemaInfoOfTopic::getTopic)
-        .containsExactlyInAnyOrder(topic1, topic3);
-    assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList())
-        .extracting(SchemaInfoOfTopic::getSchemaVersions)
-        .containsExactlyInAnyOrder(topic1Versions, topic3Versions);
+        .extracting(SchemaInfoOfTopic::getTopic, SchemaInfoOfTopic::getSchemaVersions)
+        .containsExactly(Assertions.tuple(topic1, topic1Versions));
+    // the previously returned response is left untouched
+    assertThat(loadedSchemasInfo.getSchemaInfoOfTopicList()).hasSize(2);
+  }
+
+  private SchemasInfoOfClusterResponse loadSchemasOfCluster(
+      String dev, String clusterIdentification, Map<String, Set<Integer>> topicVersions)
+      throws JsonProcessingException {
+    String subjectsUrl = dev + "/subjects";
+    Map<String, Set<Integer>> sortedTopicVersions = new TreeMap<>(topicVersions);
+    when(getAdminClient.getRequestDetails(eq(subjectsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(subjectsUrl, restTemplate));
+    when(getAdminClient.createHeaders(
+            eq(clusterIdentification), eq(KafkaClustersType.SCHEMA_REGISTRY)))
+        .thenReturn(new HttpHeaders());
+    this.mockRestServiceServer
+        .expect(requestTo("/" + subjectsUrl))
+        .andRespond(
+            withSuccess(
+                mapper.writeValueAsString(
+                    sortedTopicVersions.keySet().stream()
+                        .map(topic -> topic + SCHEMA_VALUE_URI)
+                        .toList()),
+                MediaType.APPLICATION_JSON));
+    for (Map.Entry<String, Set<Integer>> topicVersion : sortedTopicVersions.entrySet()) {
+      String versionsUrl =
+          subjectsUrl + "/" + topicVersion.getKey() + SCHEMA_VALUE_URI + "/versions";
+      when(getAdminClient.getRequestDetails(eq(versionsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+          .thenReturn(Pair.of(versionsUrl, restTemplate));
+      this.mockRestServiceServer
+          .expect(requestTo("/" + versionsUrl))
+          .andRespond(
+              withSuccess(
+                  mapper.writeValueAsString(topicVersion.getValue()), MediaType.APPLICATION_JSON));
+    }
+
+    SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
+        schemaService.loadAllSchemasInfoFromCluster(
+            dev,
+            KafkaSupportedProtocol.PLAINTEXT,
+            clusterIdentification,
+            false,
+            SchemaCacheUpdateType.NONE,
+            null);
+    this.mockRestServiceServer.verify();
+    this.mockRestServiceServer.reset();
+    return schemasInfoOfClusterResponse;
   }
 
   @Test
@@ -526,4 +577,370 @@ class SchemaServiceTest {
 
     Assertions.assertThat(actual).isEqualTo(expected);
   }
+
+  @Test
+  @Order(15)
+  public void getSchemasOfClusterReloadReusesUnchangedSubjects() throws JsonProcessingException {
+    String dev = "Dev", topic1 = "test1", topic2 = "test2", topic3 = "test3";
+    String subjectsUrl = dev + "/subjects";
+    when(getAdminClient.getRequestDetails(eq(subjectsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(subjectsUrl, restTemplate));
+    when(getAdminClient.createHeaders(eq("21"), eq(KafkaClustersType.SCHEMA_REGISTRY)))
+        .thenReturn(new HttpHeaders());
+    String subjects =
+        mapper.writeValueAsString(
+            List.of(
+                topic1 + SCHEMA_VALUE_URI, topic2 + SCHEMA_VALUE_URI, topic3 + SCHEMA_VALUE_URI));
+
+    // the first load lists every version, test3 is registered after the listing
+    this.mockRestServiceServer
+        .expect(requestTo("/" + subjectsUrl))
+        .andRespond(withSuccess(subjects, MediaType.APPLICATION_JSON));
+    expectSchemasPage(
+        dev,
+        false,
+        0,
+        List.of(
+            listedSchema(topic1, 1, 1), listedSchema(topic1, 2, 2), listedSchema(topic2, 1, 3)));
+    expectSchemasPage(dev, false, 3, List.of());
+    expectSchemaVersions(dev, topic3, Set.of(1));
+    schemaService.loadAllSchemasInfoFromCluster(
+        dev, KafkaSupportedProtocol.PLAINTEXT, "21", false, SchemaCacheUpdateType.NONE, null);
+    this.mockRestServiceServer.verify();
+    this.mockRestServiceServer.reset();
+
+    // the reload lists latest versions only, the versions of the unchanged test1 are reused
+    this.mockRestServiceServer
+        .expect(requestTo("/" + subjectsUrl))
+        .andRespond(withSuccess(subjects, MediaType.APPLICATION_JSON));
+    expectSchemasPage(
+        dev, true, 0, List.of(listedSchema(topic1, 2, 2), listedSchema(topic2, 2, 4)));
+    expectSchemasPage(dev, true, 2, List.of());
+    expectSchemaVersions(dev, topic2, Set.of(1, 2));
+    expectSchemaVersions(dev, topic3, Set.of(1));
+    SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
+        schemaService.loadAllSchemasInfoFromCluster(
+            dev, KafkaSupportedProtocol.PLAINTEXT, "21", true, SchemaCacheUpdateType.NONE, null);
+
+    this.mockRestServiceServer.verify();
+    assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList())
+        .extracting(SchemaInfoOfTopic::getTopic, SchemaInfoOfTopic::getSchemaVersions)
+        .containsExactly(
+            Assertions.tuple(topic1, Set.of(1, 2)),
+            Assertions.tuple(topic2, Set.of(1, 2)),
+            Assertions.tuple(topic3, Set.of(1)));
+    // listed versions are not downloaded again one by one
+    assertThat(schemaVersionCache.get(dev, "21", topic1 + SCHEMA_VALUE_URI, 1))
+        .hasValueSatisfying(schema -> assertThat(schema).containsEntry("id", 1));
+    assertThat(schemaVersionCache.get(dev, "21", topic2 + SCHEMA_VALUE_URI, 2))
+        .hasValueSatisfying(schema -> assertThat(schema).containsEntry("id", 4));
+  }
+
+  @Test
+  @Order(15)
+  public void getSchemasOfClusterFetchesSubjectCutOffByIgnoredPaging()
+      throws JsonProcessingException {
+    String dev = "Dev", topic1 = "test1", topic2 = "test2";
+    String subjectsUrl = dev + "/subjects";
+    when(getAdminClient.getRequestDetails(eq(subjectsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(subjectsUrl, restTemplate));
+    when(getAdminClient.createHeaders(eq("25"), eq(KafkaClustersType.SCHEMA_REGISTRY)))
+        .thenReturn(new HttpHeaders());
+    this.mockRestServiceServer
+        .expect(requestTo("/" + subjectsUrl))
+        .andRespond(
+            withSuccess(
+                mapper.writeValueAsString(
+                    List.of(topic1 + SCHEMA_VALUE_URI, topic2 + SCHEMA_VALUE_URI)),
+                MediaType.APPLICATION_JSON));
+
+    // the registry caps the listing and returns its first page again, version 2 of test2 is cut off
+    List<Map<String, Object>> cappedListing =
+        List.of(listedSchema(topic1, 1, 1), listedSchema(topic2, 1, 2));
+    expectSchemasPage(dev, false, 0, cappedListing);
+    expectSchemasPage(dev, false, 2, cappedListing);
+    expectSchemaVersions(dev, topic2, Set.of(1, 2));
+    SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
+        schemaService.loadAllSchemasInfoFromCluster(
+            dev, KafkaSupportedProtocol.PLAINTEXT, "25", false, SchemaCacheUpdateType.NONE, null);
+
+    this.mockRestServiceServer.verify();
+    assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList())
+        .extracting(SchemaInfoOfTopic::getTopic, SchemaInfoOfTopic::getSchemaVersions)
+        .containsExactly(
+            Assertions.tuple(topic1, Set.of(1)), Assertions.tuple(topic2, Set.of(1, 2)));
+  }
+
+  private static Map<String, Object> listedSchema(String topic, int version, int id) {
+    return Map.of(
+        "subject", topic + SCHEMA_VALUE_URI, "version", version, "id", id, "schema", "\"string\"");
+  }
+
+  private void expectSchemasPage(
+      String dev, boolean latestOnly, int offset, List<Map<String, Object>> schemas)
+      throws JsonProcessingException {
+    String schemasUrl =
+        dev + "/schemas?latestOnly=" + latestOnly + "&offset=" + offset + "&limit=1000";
+    when(getAdminClient.getRequestDetails(eq(schemasUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(schemasUrl, restTemplate));
+    this.mockRestServiceServer
+        .expect(requestTo("/" + schemasUrl))
+        .andRespond(withSuccess(mapper.writeValueAsString(schemas), MediaType.APPLICATION_JSON));
+  }
+
+  private void expectSchemaVersions(String dev, String topic, Set<Integer> versions)
+      throws JsonProcessingException {
+    String versionsUrl = dev + "/subjects/" + topic + SCHEMA_VALUE_URI + "/versions";
+    when(getAdminClient.getRequestDetails(eq(versionsUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(versionsUrl, restTemplate));
+    this.mockRestServiceServer
+        .expect(requestTo("/" + versionsUrl))
+        .andRespond(withSuccess(mapper.writeValueAsString(versions), MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  @Order(16)
+  public void getSchemaInfoCacheStats() throws JsonProcessingException {
+    loadSchemasOfCluster("Dev", "22", Map.of("test1", Set.of(1)));
+
+    // served from the cache, no further calls to the registry
+    SchemasInfoOfClusterResponse schemasInfoOfClusterResponse =
+        schemaService.loadAllSchemasInfoFromCluster(
+            "Dev", KafkaSupportedProtocol.PLAINTEXT, "22", false, SchemaCacheUpdateType.NONE, null);
+    SchemaInfoCacheStats schemaInfoCacheStats = schemaService.getSchemaInfoCacheStats();
+
+    assertThat(schemasInfoOfClusterResponse.getSchemaInfoOfTopicList()).hasSize(1);
+    assertThat(schemaInfoCacheStats.getSize()).isEqualTo(1);
+    assertThat(schemaInfoCacheStats.getMissCount()).isEqualTo(1);
+    assertThat(schemaInfoCacheStats.getHitCount()).isEqualTo(1);
+    assertThat(schemaInfoCacheStats.getLoadSuccessCount()).isEqualTo(1);
+    assertThat(schemaInfoCacheStats.getLastRefreshedTimes()).containsOnlyKeys("22");
+  }
+
+  @Test
+  @Order(16)
+  public void concurrentCacheResetsShareOneReload() throws Exception {
+    String dev = "Dev", subjectsUrl = dev + "/subjects";
+    loadSchemasOfCluster(dev, "24", Map.of("test1", Set.of(1)));
+    ClusterSchemaRequest resetRequest =
+        ClusterSchemaRequest.builder()
+            .env(dev)
+            .protocol(KafkaSupportedProtocol.PLAINTEXT)
+            .clusterIdentification("24")
+            .build();
+
+    // the registry answers slowly, the second reset joins the reload started by the first one
+    this.mockRestServiceServer
+        .expect(ExpectedCount.once(), requestTo("/" + subjectsUrl))
+        .andRespond(
+            request -> {
+              try {
+                Thread.sleep(500);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return withSuccess(mapper.writeValueAsString(List.of()), MediaType.APPLICATION_JSON)
+                  .createResponse(request);
+            });
+    CompletableFuture<ApiResponse> firstReset =
+        CompletableFuture.supplyAsync(() -> schemaService.resetCache(resetRequest));
+    Thread.sleep(100);
+    ApiResponse secondReset = schemaService.resetCache(resetRequest);
+
+    assertThat(firstReset.get().isSuccess()).isTrue();
+    assertThat(secondReset.isSuccess()).isTrue();
+    this.mockRestServiceServer.verify();
+  }
+
+  @Test
+  @Order(18)
+  public void checkSchemaCompatibility_ValidatedLocallyAgainstCachedVersions()
+      throws JsonProcessingException {
+    String dev = "Dev", topicName = "Octopus";
+    String schemaV1 =
+        "{\"type\":\"record\",\"name\":\"Octopus\",\"fields\":[{\"name\":\"arms\",\"type\":\"int\"}]}";
+    String schemaV2 =
+        "{\"type\":\"record\",\"name\":\"Octopus\",\"fields\":[{\"name\":\"arms\",\"type\":\"int\"},"
+            + "{\"name\":\"colour\",\"type\":\"string\",\"default\":\"red\"}]}";
+    String incompatibleSchema =
+        "{\"type\":\"record\",\"name\":\"Octopus\",\"fields\":[{\"name\":\"arms\",\"type\":\"int\"},"
+            + "{\"name\":\"colour\",\"type\":\"string\"}]}";
+    ReflectionTestUtils.setField(schemaService, "localCompatibilityCheckEnabled", true);
+    ReflectionTestUtils.setField(schemaService, "compatibilityLevelCacheTtlSeconds", 300L);
+    loadSchemasOfCluster(dev, "23", Map.of(topicName, Set.of(1)));
+
+    // version content and compatibility level are read once
+    String compatibilityUrl = dev + "/config/" + topicName + SCHEMA_VALUE_URI;
+    String schemaVersionUrl = dev + "/subjects/" + topicName + SCHEMA_VALUE_URI + "/versions/1";
+    when(getAdminClient.getRequestDetails(
+            eq(compatibilityUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(compatibilityUrl, restTemplate));
+    when(getAdminClient.getRequestDetails(
+            eq(schemaVersionUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(schemaVersionUrl, restTemplate));
+    this.mockRestServiceServer
+        .expect(requestTo("/" + schemaVersionUrl))
+        .andRespond(
+            withSuccess(
+                mapper.writeValueAsString(Map.of("version", 1, "schema", schemaV1)),
+                MediaType.APPLICATION_JSON));
+    this.mockRestServiceServer
+        .expect(requestTo("/" + compatibilityUrl))
+        .andRespond(
+            withSuccess(
+                mapper.writeValueAsString(Map.of("compatibilityLevel", "BACKWARD")),
+                MediaType.APPLICATION_JSON));
+
+    ApiResponse compatibleResponse =
+        schemaService.checkSchemaCompatibility(
+            schemaV2, topicName, KafkaSupportedProtocol.PLAINTEXT, dev, "23");
+    this.mockRestServiceServer.verify();
+    this.mockRestServiceServer.reset();
+
+    // an incompatible verdict from the cached versions is confirmed on the registry
+    mockVersionsofSchema(topicName, dev, false);
+    String validationUrl =
+        dev + TOPIC_COMPATIBILITY_URI_TEMPLATE.replace("{topic_name}", topicName);
+    when(getAdminClient.getRequestDetails(eq(validationUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(validationUrl, restTemplate));
+    SchemaCompatibilityCheckResponse check = new SchemaCompatibilityCheckResponse();
+    check.setCompatible(false);
+    this.mockRestServiceServer
+        .expect(requestTo("/" + validationUrl))
+        .andRespond(withSuccess(mapper.writeValueAsString(check), MediaType.APPLICATION_JSON));
+    ApiResponse incompatibleResponse =
+        schemaService.checkSchemaCompatibility(
+            incompatibleSchema, topicName, KafkaSupportedProtocol.PLAINTEXT, dev, "23");
+    this.mockRestServiceServer.verify();
+    this.mockRestServiceServer.reset();
+
+    // no further registry calls
+    ApiResponse invalidResponse =
+        schemaService.checkSchemaCompatibility(
+            "schema: {}", topicName, KafkaSupportedProtocol.PLAINTEXT, dev, "23");
+    this.mockRestServiceServer.verify();
+
+    assertThat(compatibleResponse.isSuccess()).isTrue();
+    assertThat(compatibleResponse.getMessage())
+        .isEqualTo(ApiResultStatus.SUCCESS.value + " Schema is compatible.");
+    assertThat(incompatibleResponse.isSuccess()).isFalse();
+    assertThat(incompatibleResponse.getMessage())
+        .isEqualTo(ApiResultStatus.FAILURE.value + "  Schema is not compatible.");
+    assertThat(invalidResponse.getMessage())
+        .isEqualTo(
+            ApiResultStatus.FAILURE.value
+                + " Invalid Schema. Unable to validate Schema Compatibility.");
+  }
+
+  @Test
+  @Order(18)
+  public void checkSchemaCompatibility_JsonSchemaValidatedOnRegistry()
+      throws JsonProcessingException {
+    String dev = "Dev", topicName = "Squid";
+    String jsonSchema = "{\"type\":\"object\"}";
+    ReflectionTestUtils.setField(schemaService, "localCompatibilityCheckEnabled", true);
+    loadSchemasOfCluster(dev, "26", Map.of(topicName, Set.of(1)));
+
+    // the subject holds JSON schemas, which are not parsed as Avro
+    String schemaVersionUrl = dev + "/subjects/" + topicName + SCHEMA_VALUE_URI + "/versions/1";
+    when(getAdminClient.getRequestDetails(
+            eq(schemaVersionUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(schemaVersionUrl, restTemplate));
+    this.mockRestServiceServer
+        .expect(requestTo("/" + schemaVersionUrl))
+        .andRespond(
+            withSuccess(
+                mapper.writeValueAsString(
+                    Map.of("version", 1, "schemaType", "JSON", "schema", jsonSchema)),
+                MediaType.APPLICATION_JSON));
+    mockVersionsofSchema(topicName, dev, false);
+    String validationUrl =
+        dev + TOPIC_COMPATIBILITY_URI_TEMPLATE.replace("{topic_name}", topicName);
+    when(getAdminClient.getRequestDetails(eq(validationUrl), eq(KafkaSupportedProtocol.PLAINTEXT)))
+        .thenReturn(Pair.of(validationUrl, restTemplate));
+    SchemaCompatibilityCheckResponse check = new SchemaCompatibilityCheckResponse();
+    check.setCompatible(true);
+    this.mockRestServiceServer
+        .expect(requestTo("/" + validationUrl))
+        .andRespond(withSuccess(mapper.writeValueAsString(check), MediaType.APPLICATION_JSON));
+
+    ApiResponse apiResponse =
+        schemaService.checkSchemaCompatibility(
+            jsonSchema, topicName, KafkaSupportedProtocol.PLAINTEXT, dev, "26");
+
+    this.mockRestServiceServer.verify();
+    assertThat(apiResponse.isSuccess()).isTrue();
+    assertThat(apiResponse.getMessage())
+        .isEqualTo(ApiResultStatus.SUCCESS.value + " Schema is compatible.");
+  }
+
+  @Test
+  @Order(19)
+  public void registerSchemas_ReturnsResultPerRequest() {
+    SchemaService spiedSchemaService = Mockito.spy(schemaService);
+    ClusterSchemaRequest registered =
+        ClusterSchemaRequest.builder().topicName("Octopus").fullSchema("{}").build();
+    ClusterSchemaRequest incompatible =
+        ClusterSchemaRequest.builder().topicName("Squid").fullSchema("{}").build();
+    ApiResponse registeredResponse =
+        ApiResponse.builder().success(true).message(ApiResultStatus.SUCCESS.value).build();
+    ApiResponse incompatibleResponse =
+        ApiResponse.builder()
+            .success(false)
+            .message("Schema being registered is incompatible with an earlier schema")
+            .build();
+    doReturn(registeredResponse).when(spiedSchemaService).registerSchema(registered);
+    doReturn(incompatibleResponse).when(spiedSchemaService).registerSchema(incompatible);
+
+    ClusterSchemaRequest registeredAgain =
+        ClusterSchemaRequest.builder().topicName("Octopus").fullSchema("{ }").build();
+    doReturn(incompatibleResponse).when(spiedSchemaService).registerSchema(registeredAgain);
+
+    ApiResponse response =
+        spiedSchemaService.registerSchemas(List.of(registered, incompatible, registeredAgain));
+
+    assertThat(response.isSuccess()).isFalse();
+    assertThat(response.getMessage()).isEqualTo(ApiResultStatus.FAILURE.value);
+    assertThat(response.getData())
+        .isEqualTo(List.of(registeredResponse, incompatibleResponse, incompatibleResponse));
+  }
+
+  @Test
+  @Order(20)
+  public void registerSchemas_RegistersSubjectsInParallel() {
+    ExecutorService schemaRegistrationExecutor = Executors.newFixedThreadPool(2);
+    SchemaService spiedSchemaService =
+        Mockito.spy(
+            new SchemaService(
+                getAdminClient,
+                schemaVersionCache,
+                Runnable::run,
+                Runnable::run,
+                schemaRegistrationExecutor,
+                100,
+                60));
+    // each registration only completes once the other one has started
+    CountDownLatch registrationsStarted = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              registrationsStarted.countDown();
+              boolean bothStarted = registrationsStarted.await(5, TimeUnit.SECONDS);
+              return ApiResponse.builder().success(bothStarted).build();
+            })
+        .when(spiedSchemaService)
+        .registerSchema(any());
+
+    try {
+      ApiResponse response =
+          spiedSchemaService.registerSchemas(
+              List.of(
+                  ClusterSchemaRequest.builder().topicName("Octopus").build(),
+                  ClusterSchemaRequest.builder().topicName("Squid").build()));
+
+      assertThat(response.isSuccess()).isTrue();
+      assertThat((List<?>) response.getData()).hasSize(2);
+    } finally {
+      schemaRegistrationExecutor.shutdownNow();
+    }
+  }
 }
@@ -0,0 +1,147 @@
+package io.aiven.klaw.clusterapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.storage.BrokerStorage;
+import io.aiven.klaw.clusterapi.models.storage.StorageReport;
+import io.aiven.klaw.clusterapi.models.storage.TopicStorage;
+import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.clients.admin.DescribeLogDirsResult;
+import org.apache.kafka.clients.admin.LogDirDescription;
+import org.apache.kafka.clients.admin.ReplicaInfo;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StorageReportServiceTest {
+
+  @Mock private ClusterApiUtils clusterApiUtils;
+  @Mock private AdminClient adminClient;
+  @Mock private DescribeClusterResult describeClusterResult;
+  @Mock private DescribeLogDirsResult describeLogDirsResult;
+
+  private StorageReportService storageReportService;
+
+  @BeforeEach
+  void setUp() {
+    storageReportService = new StorageReportService(
+            new LogDirsSnapshotService(clusterApiUtils, 30000, 100), Runnable::run, 100, 15);
+  }
+
+  @Test
+  void aggregatesLogDirsPerBrokerAndTopic() throws Exception {
+    stubAdminClient();
+
+    StorageReport storageReport = getStorageReport();
+
+    assertThat(storageReport.getBrokers())
+        .extracting(
+            BrokerStorage::getBrokerId,
+            BrokerStorage::getHost,
+            BrokerStorage::getLogDirs,
+            BrokerStorage::getSizeBytes,
+            BrokerStorage::getTotalBytes,
+            BrokerStorage::getUsableBytes)
+        .containsExactly(
+            tuple(1, "broker1", 2, 4000L, 20000L, 16000L),
+            tuple(2, "broker2", 1, 5000L, null, null));
+    assertThat(storageReport.getTopics())
+        .extracting(
+            TopicStorage::getTopicName,
+            TopicStorage::getPartitions,
+            TopicStorage::getSizeBytes,
+            TopicStorage::getReplicatedSizeBytes)
+        .containsExactly(tuple("topic1", 2, 4000L, 7500L), tuple("topic2", 1, 1000L, 1000L));
+  }
+
+  @Test
+  void reportsAreServedFromTheCache() throws Exception {
+    stubAdminClient();
+
+    StorageReport storageReport = getStorageReport();
+
+    assertThat(getStorageReport()).isSameAs(storageReport);
+    verify(adminClient, times(1)).describeLogDirs(anyCollection());
+  }
+
+  @Test
+  void clustersWhichCannotBeReachedAreNotCached() throws Exception {
+    assertThatThrownBy(this::getStorageReport).hasMessage("Cannot connect to cluster.");
+
+    stubAdminClient();
+    assertThat(getStorageReport().getBrokers()).hasSize(2);
+  }
+
+  private StorageReport getStorageReport() throws Exception {
+    return storageReportService.getStorageReport(
+        "localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "cluster1");
+  }
+
+  private void stubAdminClient() throws Exception {
+    when(clusterApiUtils.getAdminClient(
+            anyString(), any(KafkaSupportedProtocol.class), anyString()))
+        .thenReturn(adminClient);
+    when(adminClient.describeCluster()).thenReturn(describeClusterResult);
+    when(describeClusterResult.nodes())
+        .thenReturn(
+            KafkaFuture.completedFuture(
+                List.of(new Node(1, "broker1", 9092), new Node(2, "broker2", 9092))));
+    when(adminClient.describeLogDirs(anyCollection())).thenReturn(describeLogDirsResult);
+    // broker 1 has two log dirs which report their capacity and moves a replica between them,
+    // broker 2 has a single log dir of a Kafka version which does not report its capacity
+    when(describeLogDirsResult.allDescriptions())
+        .thenReturn(
+            KafkaFuture.completedFuture(
+                Map.of(
+                    1,
+                    Map.of(
+                        "/data1",
+                        new LogDirDescription(
+                            null,
+                            Map.of(
+                                new TopicPartition("topic1", 0), new ReplicaInfo(1500, 0, false)),
+                            10000,
+                            9000),
+                        "/data2",
+                        new LogDirDescription(
+                            null,
+                            Map.of(
+                                new TopicPartition("topic1", 1),
+                                new ReplicaInfo(2000, 0, false),
+                                new TopicPartition("topic1", 0),
+                                new ReplicaInfo(500, 0, true)),
+                            10000,
+                            7000)),
+                    2,
+                    Map.of(
+                        "/data",
+                        new LogDirDescription(
+                            null,
+                            Map.of(
+                                new TopicPartition("topic1", 0),
+                                new ReplicaInfo(2000, 0, false),
+                                new TopicPartition("topic1", 1),
+                                new ReplicaInfo(2000, 0, false),
+                                new TopicPartition("topic2", 0),
+                                new ReplicaInfo(1000, 0, false)))))));
+  }
+}
@@ -1,10 +1,31 @@
 package io.aiven.klaw.clusterapi.services;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
 import io.aiven.klaw.clusterapi.constants.TestConstants;
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.topiccontents.TopicContentRecord;
+import io.aiven.klaw.clusterapi.models.topiccontents.TopicContentsSearchRequest;
 import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,15 +33,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class TopicContentsServiceTest {
+  private static final int PARTITIONS = 3;
+
   @Mock private ClusterApiUtils clusterApiUtils;
   private TopicContentsService topicContentsService;
 
   @BeforeEach
   void setup() {
-    topicContentsService = new TopicContentsService(clusterApiUtils);
+    topicContentsService = new TopicContentsService(clusterApiUtils, Runnable::run);
+    ReflectionTestUtils.setField(topicContentsService, "searchParallelism", 2);
+    ReflectionTestUtils.setField(topicContentsService, "searchMaxResults", 100);
+    ReflectionTestUtils.setField(topicContentsService, "searchMaxPollRecords", 10);
+    ReflectionTestUtils.setField(topicContentsService, "searchTimeoutMs", 5000L);
+    ReflectionTestUtils.setField(topicContentsService, "searchRegexMaxLength", 256);
+    ReflectionTestUtils.setField(topicContentsService, "searchRegexMaxReads", 1_000_000L);
   }
 
   @Test
@@ -47,4 +77,261 @@ class TopicContentsServiceTest {
     Map<Long, String> expected = Collections.emptyMap();
     Assertions.assertThat(actual).isEqualTo(expected);
   }
+
+  @Test
+  void searchEventsWithValueFilterAcrossPartitions() throws Exception {
+    TopicContentsService searchService = stubSearchConsumers(getRecords());
+
+    List<TopicContentRecord> matches =
+        search(
+            searchService,
+            TopicContentsSearchRequest.builder()
+                .topicName(TestConstants.TOPIC_NAME)
+                .valueFilter("error")
+                .build());
+
+    Assertions.assertThat(matches)
+        .extracting(TopicContentRecord::getValue)
+        .containsExactly(
+            "error 0-1", "error 1-1", "error 2-1", "error 0-3", "error 1-3", "error 2-3");
+  }
+
+  @Test
+  void searchEventsFromTimestampWithRegexKeyFilter() throws Exception {
+    TopicContentsService searchService = stubSearchConsumers(getRecords());
+
+    List<TopicContentRecord> matches =
+        search(
+            searchService,
+            TopicContentsSearchRequest.builder()
+                .topicName(TestConstants.TOPIC_NAME)
+                .fromTimestampMilliSecs(3000L)
+                .toTimestampMilliSecs(4000L)
+                .keyFilter("^key-[12]$")
+                .regexFilter(true)
+                .build());
+
+    Assertions.assertThat(matches)
+        .extracting(TopicContentRecord::getPartition, TopicContentRecord::getOffset)
+        .containsExactly(
+            Assertions.tuple(1, 3L),
+            Assertions.tuple(2, 3L),
+            Assertions.tuple(1, 4L),
+            Assertions.tuple(2, 4L));
+  }
+
+  @Test
+  void searchEventsStopsAtMaxResults() throws Exception {
+    TopicContentsService searchService = stubSearchConsumers(getRecords());
+
+    List<TopicContentRecord> matches =
+        search(
+            searchService,
+            TopicContentsSearchRequest.builder()
+                .topicName(TestConstants.TOPIC_NAME)
+                .maxResults(2)
+                .build());
+
+    Assertions.assertThat(matches).hasSize(2);
+  }
+
+  @Test
+  void searchEventsInvalidRegex() {
+    assertThatThrownBy(
+            () ->
+                search(
+                    topicContentsService,
+                    TopicContentsSearchRequest.builder()
+                        .topicName(TestConstants.TOPIC_NAME)
+                        .valueFilter("[unclosed")
+                        .regexFilter(true)
+                        .build()))
+        .hasMessageContaining("Invalid regular expression");
+  }
+
+  @Test
+  void searchEventsTooLongRegex() {
+    ReflectionTestUtils.setField(topicContentsService, "searchRegexMaxLength", 8);
+
+    assertThatThrownBy(
+            () ->
+                search(
+                    topicContentsService,
+                    TopicContentsSearchRequest.builder()
+                        .topicName(TestConstants.TOPIC_NAME)
+                        .valueFilter("^error [0-9]-[0-9]$")
+                        .regexFilter(true)
+                        .build()))
+        .hasMessageContaining("longer than 8 characters");
+  }
+
+  @Test
+  void searchEventsFailsOnTooExpensiveRegex() {
+    ReflectionTestUtils.setField(topicContentsService, "searchRegexMaxReads", 100L);
+    TopicContentsService searchService =
+        stubSearchConsumers(List.of(getRecord(0, 0, "a".repeat(1000))));
+
+    assertThatThrownBy(
+            () ->
+                search(
+                    searchService,
+                    TopicContentsSearchRequest.builder()
+                        .topicName(TestConstants.TOPIC_NAME)
+                        .valueFilter("[0-9]+")
+                        .regexFilter(true)
+                        .build()))
+        .hasMessageContaining("failed")
+        .hasMessageContaining("too expensive");
+  }
+
+  @Test
+  void searchEventsFailsWhenAScanFails() {
+    TopicContentsService searchService = Mockito.spy(topicContentsService);
+    doAnswer(
+            invocation -> {
+              MockConsumer<String, String> consumer = getMockConsumer(getRecords());
+              consumer.setPollException(new KafkaException("broker not available"));
+              return consumer;
+            })
+        .when(searchService)
+        .createSearchConsumer(any(), any(), any(), any());
+
+    assertThatThrownBy(
+            () ->
+                search(
+                    searchService,
+                    TopicContentsSearchRequest.builder()
+                        .topicName(TestConstants.TOPIC_NAME)
+                        .build()))
+        .hasMessageContaining("broker not available");
+  }
+
+  @Test
+  void searchEventsRejectedWhenExecutorIsFull() {
+    TopicContentsService rejectingService =
+        Mockito.spy(
+            new TopicContentsService(
+                clusterApiUtils,
+                runnable -> {
+                  throw new RejectedExecutionException("queue full");
+                }));
+    doAnswer(invocation -> getMockConsumer(getRecords()))
+        .when(rejectingService)
+        .createSearchConsumer(any(), any(), any(), any());
+
+    assertThatThrownBy(
+            () ->
+                search(
+                    rejectingService,
+                    TopicContentsSearchRequest.builder()
+                        .topicName(TestConstants.TOPIC_NAME)
+                        .build()))
+        .isInstanceOf(RejectedExecutionException.class);
+  }
+
+  @Test
+  void searchEventsUnknownTopic() {
+    TopicContentsService searchService = stubSearchConsumers(getRecords());
+
+    assertThatThrownBy(
+            () ->
+                search(
+                    searchService,
+                    TopicContentsSearchRequest.builder().topicName("unknown").build()))
+        .hasMessageContaining("does not exist");
+  }
+
+  private List<TopicContentRecord> search(
+      TopicContentsService searchService, TopicContentsSearchRequest searchRequest)
+      throws Exception {
+    return searchService.searchEvents(
+        "localhost:9092",
+        KafkaSupportedProtocol.PLAINTEXT,
+        TestConstants.CLUSTER_IDENTIFICATION,
+        searchRequest);
+  }
+
+  private TopicContentsService stubSearchConsumers(List<ConsumerRecord<String, String>> records) {
+    TopicContentsService searchService = Mockito.spy(topicContentsService);
+    doAnswer(invocation -> getMockConsumer(records))
+        .when(searchService)
+        .createSearchConsumer(any(), any(), any(), any());
+    return searchService;
+  }
+
+  // 5 records per partition, offset n written at n * 1000 ms, odd offsets contain "error"
+  private List<ConsumerRecord<String, String>> getRecords() {
+    List<ConsumerRecord<String, String>> records = new ArrayList<>();
+    for (int partition = 0; partition < PARTITIONS; partition++) {
+      for (long offset = 0; offset < 5; offset++) {
+        String value = (offset % 2 == 1 ? "error " : "info ") + partition + "-" + offset;
+        records.add(getRecord(partition, offset, value));
+      }
+    }
+    return records;
+  }
+
+  private ConsumerRecord<String, String> getRecord(int partition, long offset, String value) {
+    return new ConsumerRecord<>(
+        TestConstants.TOPIC_NAME,
+        partition,
+        offset,
+        offset * 1000,
+        TimestampType.CREATE_TIME,
+        0,
+        0,
+        "key-" + partition,
+        value,
+        new RecordHeaders(),
+        Optional.empty());
+  }
+
+  private MockConsumer<String, String> getMockConsumer(
+      List<ConsumerRecord<String, String>> records) {
+    MockConsumer<String, String> consumer =
+        new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+          @Override
+          public synchronized Map<TopicPartition, OffsetAndTimestamp> offsetsForTimes(
+              Map<TopicPartition, Long> timestampsToSearch) {
+            Map<TopicPartition, OffsetAndTimestamp> offsets = new HashMap<>();
+            timestampsToSearch.forEach(
+                (partition, timestamp) ->
+                    records.stream()
+                        .filter(
+                            record ->
+                                record.partition() == partition.partition()
+                                    && record.timestamp() >= timestamp)
+                        .findFirst()
+                        .ifPresent(
+                            record ->
+                                offsets.put(
+                                    partition,
+                                    new OffsetAndTimestamp(record.offset(), record.timestamp()))));
+            return offsets;
+          }
+        };
+
+    List<PartitionInfo> partitionInfos = new ArrayList<>();
+    Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+    Map<TopicPartition, Long> endOffsets = new HashMap<>();
+    for (int partition = 0; partition < PARTITIONS; partition++) {
+      partitionInfos.add(new PartitionInfo(TestConstants.TOPIC_NAME, partition, null, null, null));
+      TopicPartition topicPartition = new TopicPartition(TestConstants.TOPIC_NAME, partition);
+      beginningOffsets.put(topicPartition, 0L);
+      endOffsets.put(topicPartition, 5L);
+    }
+    consumer.updatePartitions(TestConstants.TOPIC_NAME, partitionInfos);
+    consumer.updateBeginningOffsets(beginningOffsets);
+    consumer.updateEndOffsets(endOffsets);
+    consumer.schedulePollTask(
+        () ->
+            records.stream()
+                .filter(
+                    record ->
+                        consumer
+                            .assignment()
+                            .contains(new TopicPartition(record.topic(), record.partition())))
+                .forEach(consumer::addRecord));
+    return consumer;
+  }
 }
@@ -0,0 +1,185 @@
+package io.aiven.klaw.clusterapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.clusterapi.models.metrics.TopicMetrics;
+import io.aiven.klaw.clusterapi.utils.ClusterApiUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.clients.admin.DescribeLogDirsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.LogDirDescription;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.ReplicaInfo;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TopicMetricsServiceTest {
+
+  private static final TopicPartition PARTITION_0 = new TopicPartition("topic1", 0);
+  private static final TopicPartition PARTITION_1 = new TopicPartition("topic1", 1);
+
+  @Mock private ClusterApiUtils clusterApiUtils;
+  @Mock private AdminClient adminClient;
+  @Mock private DescribeClusterResult describeClusterResult;
+  @Mock private DescribeLogDirsResult describeLogDirsResult;
+
+  private final List<Runnable> scheduledSamples = new ArrayList<>();
+
+  private TopicMetricsService topicMetricsService;
+
+  @BeforeEach
+  void setUp() {
+    topicMetricsService =
+        new TopicMetricsService(
+            clusterApiUtils,
+            new LogDirsSnapshotService(clusterApiUtils, 30000, 100),
+            scheduledSamples::add,
+            60000);
+  }
+
+  @Test
+  void firstReadStartsSamplingWithoutWaiting() throws Exception {
+    TopicMetrics topicMetrics = getTopicMetrics();
+
+    assertThat(topicMetrics.getTopicName()).isEqualTo("topic1");
+    assertThat(topicMetrics.getSizeBytes()).isNull();
+    assertThat(scheduledSamples).hasSize(1);
+
+    // sampling is not started twice while it is running
+    getTopicMetrics();
+    assertThat(scheduledSamples).hasSize(1);
+  }
+
+  @Test
+  void ratesAreComputedFromEndOffsetDeltas() throws Exception {
+    stubAdminClient();
+    stubOffsets(
+        Map.of(PARTITION_0, 0L, PARTITION_1, 0L), Map.of(PARTITION_0, 100L, PARTITION_1, 100L));
+    getTopicMetrics();
+    scheduledSamples.forEach(Runnable::run);
+    scheduledSamples.clear();
+
+    TopicMetrics firstSample = getTopicMetrics();
+    assertThat(firstSample.getSizeBytes()).isEqualTo(4000);
+    assertThat(firstSample.getReplicatedSizeBytes()).isEqualTo(7500);
+    assertThat(firstSample.getMessagesInPerSec()).isNull();
+
+    stubOffsets(
+        Map.of(PARTITION_0, 0L, PARTITION_1, 0L), Map.of(PARTITION_0, 700L, PARTITION_1, 100L));
+    runSample(firstSample.getSampledAtMs() + 60000);
+    TopicMetrics secondSample = getTopicMetrics();
+    assertThat(secondSample.getSampledAtMs()).isEqualTo(firstSample.getSampledAtMs() + 60000);
+    assertThat(secondSample.getMessagesInPerSec()).isEqualTo(10.0);
+    // 4000 bytes hold 800 messages
+    assertThat(secondSample.getBytesInPerSec()).isEqualTo(50.0);
+  }
+
+  @Test
+  void idleClustersAreNoLongerSampled() {
+    getTopicMetrics();
+    scheduledSamples.clear();
+
+    topicMetricsService.sampleTopicMetrics(System.currentTimeMillis() + 60000);
+
+    assertThat(scheduledSamples).isEmpty();
+    getTopicMetrics();
+    assertThat(scheduledSamples).hasSize(1);
+  }
+
+  private TopicMetrics getTopicMetrics() {
+    return topicMetricsService.getTopicMetrics(
+        "localhost:9092", KafkaSupportedProtocol.PLAINTEXT, "cluster1", "topic1");
+  }
+
+  private void runSample(long sampleTimeMs) {
+    topicMetricsService.sampleTopicMetrics(sampleTimeMs);
+    scheduledSamples.forEach(Runnable::run);
+    scheduledSamples.clear();
+  }
+
+  private void stubAdminClient() throws Exception {
+    when(clusterApiUtils.getAdminClient(
+            anyString(), any(KafkaSupportedProtocol.class), anyString()))
+        .thenReturn(adminClient);
+    when(adminClient.describeCluster()).thenReturn(describeClusterResult);
+    when(describeClusterResult.nodes())
+        .thenReturn(
+            KafkaFuture.completedFuture(
+                List.of(new Node(1, "broker1", 9092), new Node(2, "broker2", 9092))));
+    when(adminClient.describeLogDirs(anyCollection())).thenReturn(describeLogDirsResult);
+    // both brokers hold a replica of both partitions, one of them still catching up
+    when(describeLogDirsResult.allDescriptions())
+        .thenReturn(
+            KafkaFuture.completedFuture(
+                Map.of(
+                    1,
+                    Map.of(
+                        "/data",
+                        new LogDirDescription(
+                            null,
+                            Map.of(
+                                PARTITION_0,
+                                new ReplicaInfo(1500, 0, false),
+                                PARTITION_1,
+                                new ReplicaInfo(2000, 0, false)))),
+                    2,
+                    Map.of(
+                        "/data",
+                        new LogDirDescription(
+                            null,
+                            Map.of(
+                                PARTITION_0,
+                                new ReplicaInfo(2000, 0, false),
+                                PARTITION_1,
+                                new ReplicaInfo(2000, 0, false),
+                                new TopicPartition("topic1", 2),
+                                new ReplicaInfo(500, 0, true)))))));
+  }
+
+  private void stubOffsets(
+      Map<TopicPartition, Long> startOffsets, Map<TopicPartition, Long> endOffsets) {
+    when(adminClient.listOffsets(
+            argThat(
+                (Map<TopicPartition, OffsetSpec> specs) ->
+                    specs != null
+                        && specs.values().iterator().next() instanceof OffsetSpec.EarliestSpec)))
+        .thenReturn(listOffsetsResult(startOffsets));
+    when(adminClient.listOffsets(
+            argThat(
+                (Map<TopicPartition, OffsetSpec> specs) ->
+                    specs != null
+                        && specs.values().iterator().next() instanceof OffsetSpec.LatestSpec)))
+        .thenReturn(listOffsetsResult(endOffsets));
+  }
+
+  private ListOffsetsResult listOffsetsResult(Map<TopicPartition, Long> offsets) {
+    Map<TopicPartition, KafkaFuture<ListOffsetsResultInfo>> futures = new HashMap<>();
+    offsets.forEach(
+        (topicPartition, offset) ->
+            futures.put(
+                topicPartition,
+                KafkaFuture.completedFuture(
+                    new ListOffsetsResultInfo(offset, -1, Optional.empty()))));
+    return new ListOffsetsResult(futures);
+  }
+}
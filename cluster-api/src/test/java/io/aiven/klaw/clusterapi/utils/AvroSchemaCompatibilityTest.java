@@ -0,0 +1,71 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.apache.avro.SchemaParseException;
+import org.junit.jupiter.api.Test;
+
+class AvroSchemaCompatibilityTest {
+
+  private static final String SCHEMA_V1 =
+      "{\"type\":\"record\",\"name\":\"User\",\"fields\":[{\"name\":\"name\",\"type\":\"string\"}]}";
+
+  // adds an optional field with a default, compatible in both directions
+  private static final String SCHEMA_V2 =
+      "{\"type\":\"record\",\"name\":\"User\",\"fields\":[{\"name\":\"name\",\"type\":\"string\"},"
+          + "{\"name\":\"age\",\"type\":\"int\",\"default\":0}]}";
+
+  // adds a field without a default, new readers cannot read old data
+  private static final String SCHEMA_V3_NO_DEFAULT =
+      "{\"type\":\"record\",\"name\":\"User\",\"fields\":[{\"name\":\"name\",\"type\":\"string\"},"
+          + "{\"name\":\"email\",\"type\":\"string\"}]}";
+
+  // removes the name field, which only old readers without default would miss
+  private static final String SCHEMA_V3_REMOVED_FIELD =
+      "{\"type\":\"record\",\"name\":\"User\",\"fields\":[{\"name\":\"age\",\"type\":\"int\",\"default\":0}]}";
+
+  @Test
+  void backwardCompatibleFieldWithDefault() {
+    assertThat(AvroSchemaCompatibility.check(SCHEMA_V2, List.of(SCHEMA_V1), "BACKWARD")).isEmpty();
+    assertThat(AvroSchemaCompatibility.check(SCHEMA_V2, List.of(SCHEMA_V1), "FULL")).isEmpty();
+  }
+
+  @Test
+  void backwardIncompatibleFieldWithoutDefault() {
+    assertThat(AvroSchemaCompatibility.check(SCHEMA_V3_NO_DEFAULT, List.of(SCHEMA_V1), "BACKWARD"))
+        .isNotEmpty();
+    assertThat(AvroSchemaCompatibility.check(SCHEMA_V3_NO_DEFAULT, List.of(SCHEMA_V1), "FORWARD"))
+        .isEmpty();
+  }
+
+  @Test
+  void forwardIncompatibleRemovedField() {
+    assertThat(
+            AvroSchemaCompatibility.check(SCHEMA_V3_REMOVED_FIELD, List.of(SCHEMA_V2), "FORWARD"))
+        .isNotEmpty();
+    assertThat(AvroSchemaCompatibility.check(SCHEMA_V3_REMOVED_FIELD, List.of(SCHEMA_V2), "NONE"))
+        .isEmpty();
+  }
+
+  @Test
+  void transitiveLevelsCheckAllVersions() {
+    // age without a default can read data of version 2, but not of version 1
+    String schemaV3 =
+        "{\"type\":\"record\",\"name\":\"User\",\"fields\":[{\"name\":\"name\",\"type\":\"string\"},"
+            + "{\"name\":\"age\",\"type\":\"int\"}]}";
+    List<String> previousSchemas = List.of(SCHEMA_V2, SCHEMA_V1);
+
+    assertThat(AvroSchemaCompatibility.check(schemaV3, previousSchemas, "BACKWARD")).isEmpty();
+    assertThat(AvroSchemaCompatibility.check(schemaV3, previousSchemas, "BACKWARD_TRANSITIVE"))
+        .isNotEmpty();
+  }
+
+  @Test
+  void invalidSchema() {
+    assertThatThrownBy(
+            () -> AvroSchemaCompatibility.check("schema: {}", List.of(SCHEMA_V1), "BACKWARD"))
+        .isInstanceOf(SchemaParseException.class);
+  }
+}
@@ -0,0 +1,140 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.util.List;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterCallMetricsTest {
+
+  @Mock private Admin admin;
+  @Mock private CreateTopicsResult createTopicsResult;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private ClusterCallMetrics clusterCallMetrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    clusterCallMetrics = new ClusterCallMetrics(meterRegistry);
+  }
+
+  @Test
+  void adminOperationsAreTimedUntilTheirResultCompletes() {
+    KafkaFutureImpl<Void> created = new KafkaFutureImpl<>();
+    when(admin.createTopics(anyCollection())).thenReturn(createTopicsResult);
+    when(createTopicsResult.all())
+        .thenReturn(created, KafkaFuture.completedFuture(null))
+        .thenReturn(failedFuture(new TopicExistsException("topic1")));
+    Admin timedAdmin = clusterCallMetrics.timed(admin, "localhost:9092");
+
+    timedAdmin.createTopics(List.of());
+    assertThat(meterRegistry.find(ClusterCallMetrics.CALLS_METER).timer()).isNull();
+    created.complete(null);
+    timedAdmin.createTopics(List.of());
+    timedAdmin.createTopics(List.of());
+
+    assertThat(timer("kafka", "localhost:9092", "createTopics", "success").count()).isEqualTo(2);
+    assertThat(timer("kafka", "localhost:9092", "createTopics", "error").count()).isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get(ClusterCallMetrics.CALL_ERRORS_METER)
+                .tag("error", "TopicExistsException")
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void adminOperationsWhichThrowAreRecordedAndRethrown() {
+    when(admin.createTopics(anyCollection())).thenThrow(new IllegalStateException("closed"));
+    Admin timedAdmin = clusterCallMetrics.timed(admin, "localhost:9092");
+
+    assertThatThrownBy(() -> timedAdmin.createTopics(List.of()))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(timer("kafka", "localhost:9092", "createTopics", "error").count()).isEqualTo(1);
+  }
+
+  @Test
+  void httpCallsAreTimedPerSystemAndOperation() {
+    RestTemplate restTemplate = new RestTemplate();
+    restTemplate.getInterceptors().add(clusterCallMetrics.httpInterceptor(null));
+    MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    server
+        .expect(requestTo("http://registry:8081/subjects/topic1-value/versions"))
+        .andRespond(withSuccess());
+    server
+        .expect(requestTo("http://connect:8083/connectors/conn1/status"))
+        .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+    restTemplate.getForEntity("http://registry:8081/subjects/topic1-value/versions", String.class);
+    assertThatThrownBy(
+            () ->
+                restTemplate.getForEntity(
+                    "http://connect:8083/connectors/conn1/status", String.class))
+        .isInstanceOf(HttpClientErrorException.class);
+
+    assertThat(
+            timer("schemaregistry", "registry:8081", "GET /subjects/{}/versions", "success")
+                .count())
+        .isEqualTo(1);
+    assertThat(timer("kafkaconnect", "connect:8083", "GET /connectors/{}/status", "error").count())
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get(ClusterCallMetrics.CALL_ERRORS_METER)
+                .tag("error", "HTTP 404")
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void httpOperationsKeepOnlyTheResourceNamesOfThePath() {
+    assertThat(
+            ClusterCallMetrics.getHttpOperation(
+                "POST", URI.create("https://api.aiven.io/v1/project/p1/service/s1/acl?limit=10")))
+        .isEqualTo("POST /v1/project/{}/service/{}/acl");
+    assertThat(
+            ClusterCallMetrics.getHttpOperation(
+                "DELETE", URI.create("https://cloud:443/kafka/v3/clusters/lkc-1/topics/topic1")))
+        .isEqualTo("DELETE /kafka/v3/clusters/{}/topics/{}");
+  }
+
+  private Timer timer(String system, String cluster, String operation, String outcome) {
+    return meterRegistry
+        .get(ClusterCallMetrics.CALLS_METER)
+        .tags("system", system, "cluster", cluster, "operation", operation, "outcome", outcome)
+        .timer();
+  }
+
+  private static KafkaFuture<Void> failedFuture(Exception exception) {
+    KafkaFutureImpl<Void> future = new KafkaFutureImpl<>();
+    future.completeExceptionally(exception);
+    return future;
+  }
+}
@@ -6,11 +6,13 @@ import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
 import io.aiven.klaw.clusterapi.models.enums.KafkaSupportedProtocol;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.ListTopicsResult;
 import org.apache.kafka.common.KafkaFuture;
@@ -44,9 +46,15 @@ public class GetAdminClientTest {
   @BeforeEach
   public void setUp() {
     getAdminClient =
-        new ClusterApiUtils(env, adminClientProperties, adminClientsMap, restTemplateMap);
+        new ClusterApiUtils(
+            env,
+            adminClientProperties,
+            new ClusterCallMetrics(new SimpleMeterRegistry()),
+            adminClientsMap,
+            restTemplateMap);
     when(adminClientProperties.getRetriesConfig()).thenReturn("3");
     when(adminClientProperties.getRequestTimeOutMs()).thenReturn("15000");
+    when(adminClientProperties.getDefaultApiTimeoutMs()).thenReturn("30000");
     when(adminClientProperties.getRetryBackOffMsConfig()).thenReturn("15000");
   }
 
@@ -61,7 +69,7 @@ public class GetAdminClientTest {
       Set<String> setStr = new HashSet<>();
       when(kafkaFuture.get()).thenReturn(setStr);
 
-      AdminClient result =
+      Admin result =
           getAdminClient.getAdminClient(LOCALHOST_9092, KafkaSupportedProtocol.PLAINTEXT, "");
       assertThat(result).isNotNull();
     }
@@ -79,7 +87,7 @@ public class GetAdminClientTest {
       Set<String> setStr = new HashSet<>();
       when(kafkaFuture.get()).thenReturn(setStr);
 
-      AdminClient result =
+      Admin result =
           getAdminClient.getAdminClient(LOCALHOST_9092, KafkaSupportedProtocol.PLAINTEXT, "");
       assertThat(result).isNotNull();
     }
@@ -97,7 +105,7 @@ public class GetAdminClientTest {
       Set<String> setStr = new HashSet<>();
       when(kafkaFuture.get()).thenReturn(setStr);
 
-      AdminClient result =
+      Admin result =
           getAdminClient.getAdminClient(LOCALHOST_9092, KafkaSupportedProtocol.PLAINTEXT, "");
       assertThat(result).isNotNull();
     }
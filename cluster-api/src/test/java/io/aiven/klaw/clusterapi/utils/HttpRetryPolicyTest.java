@@ -0,0 +1,117 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+class HttpRetryPolicyTest {
+
+  private final HttpRetryPolicy httpRetryPolicy = new HttpRetryPolicy(3, 0, 0);
+
+  @Test
+  void retriesServerErrorsUntilSuccess() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result =
+        httpRetryPolicy.execute(
+            "test",
+            () -> {
+              if (attempts.incrementAndGet() < 3) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+              }
+              return "ok";
+            });
+
+    assertThat(result).isEqualTo("ok");
+    assertThat(attempts).hasValue(3);
+  }
+
+  @Test
+  void givesUpAfterMaxAttempts() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                httpRetryPolicy.execute(
+                    "test",
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+                    }))
+        .isInstanceOf(HttpClientErrorException.class);
+    assertThat(attempts).hasValue(3);
+  }
+
+  @Test
+  void doesNotRetryClientErrors() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                httpRetryPolicy.execute(
+                    "test",
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+                    }))
+        .isInstanceOf(HttpClientErrorException.class);
+    assertThat(attempts).hasValue(1);
+  }
+
+  @Test
+  void writesAreOnlyRetriedWhenThrottled() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                httpRetryPolicy.executeOnThrottling(
+                    "test",
+                    () -> {
+                      if (attempts.incrementAndGet() == 1) {
+                        throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+                      }
+                      throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+                    }))
+        .isInstanceOf(HttpServerErrorException.class);
+    assertThat(attempts).hasValue(2);
+  }
+
+  @Test
+  void readsRetryAfterAndJittersTheBackoff() {
+    HttpRetryPolicy retryPolicy = new HttpRetryPolicy(3, 100, 5000);
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, "2");
+
+    assertThat(retryPolicy.getRetryAfterMs(headers)).isEqualTo(2000);
+    headers.set(HttpHeaders.RETRY_AFTER, "60");
+    assertThat(retryPolicy.getRetryAfterMs(headers)).isEqualTo(60000);
+    assertThat(retryPolicy.getRetryAfterMs(new HttpHeaders())).isEqualTo(-1);
+    assertThat(retryPolicy.getBackoffMs(3)).isBetween(200L, 400L);
+  }
+
+  @Test
+  void givesUpWhenRetryAfterExceedsMaxBackoff() {
+    HttpRetryPolicy retryPolicy = new HttpRetryPolicy(3, 0, 5000);
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, "60");
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                retryPolicy.execute(
+                    "test",
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw HttpClientErrorException.create(
+                          HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+                    }))
+        .isInstanceOf(HttpClientErrorException.class);
+    assertThat(attempts).hasValue(1);
+  }
+}
@@ -0,0 +1,82 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnectorServer;
+import javax.management.remote.JMXConnectorServerFactory;
+import javax.management.remote.JMXServiceURL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MetricsUtilsTest {
+
+  private JMXConnectorServer jmxConnectorServer;
+
+  private String jmxUrl;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    jmxConnectorServer =
+        JMXConnectorServerFactory.newJMXConnectorServer(
+            new JMXServiceURL("service:jmx:rmi://localhost"),
+            null,
+            ManagementFactory.getPlatformMBeanServer());
+    jmxConnectorServer.start();
+    jmxUrl = jmxConnectorServer.getAddress().toString();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    jmxConnectorServer.stop();
+  }
+
+  @Test
+  void reusesConnectionPerUrl() throws Exception {
+    MetricsUtils metricsUtils = new MetricsUtils(0, 60000);
+
+    MBeanServerConnection first = metricsUtils.getMBeanServerConnection(jmxUrl);
+    MBeanServerConnection second = metricsUtils.getMBeanServerConnection(jmxUrl);
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.getMBeanCount()).isPositive();
+    metricsUtils.closeConnections();
+  }
+
+  @Test
+  void reconnectsInvalidatedConnection() throws Exception {
+    MetricsUtils metricsUtils = new MetricsUtils(60000, 60000);
+
+    MBeanServerConnection first = metricsUtils.getMBeanServerConnection(jmxUrl);
+    metricsUtils.invalidate(jmxUrl);
+    MBeanServerConnection second = metricsUtils.getMBeanServerConnection(jmxUrl);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getMBeanCount()).isPositive();
+    metricsUtils.closeConnections();
+  }
+
+  @Test
+  void evictsIdleConnections() throws Exception {
+    MetricsUtils metricsUtils = new MetricsUtils(60000, 0);
+
+    MBeanServerConnection first = metricsUtils.getMBeanServerConnection(jmxUrl);
+    metricsUtils.evictIdleConnections();
+
+    assertThat(metricsUtils.getPoolSize()).isZero();
+    assertThat(metricsUtils.getMBeanServerConnection(jmxUrl)).isNotSameAs(first);
+    metricsUtils.closeConnections();
+  }
+
+  @Test
+  void failsWhenHostIsUnreachable() throws Exception {
+    MetricsUtils metricsUtils = new MetricsUtils(60000, 60000);
+    jmxConnectorServer.stop();
+
+    assertThatThrownBy(() -> metricsUtils.getMBeanServerConnection(jmxUrl))
+        .hasMessageContaining("Cannot connect to JMX Host");
+  }
+}
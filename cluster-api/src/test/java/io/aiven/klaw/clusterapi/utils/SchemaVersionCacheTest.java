@@ -0,0 +1,103 @@
+package io.aiven.klaw.clusterapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SchemaVersionCacheTest {
+
+  private static final String REGISTRY = "localhost:8081";
+  private static final String CLUSTER_ID = "CLID1";
+  private static final String SUBJECT = "topic-value";
+
+  @TempDir Path cacheDirectory;
+
+  @Test
+  void getReturnsCopyOfStoredVersion() {
+    SchemaVersionCache schemaVersionCache = new SchemaVersionCache(100, null);
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, SUBJECT, 1, Map.of("id", 10, "schema", "{}"));
+
+    Map<String, Object> schemaVersion =
+        schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 1).orElseThrow();
+    schemaVersion.put("compatibility", "BACKWARD");
+
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 1).orElseThrow())
+        .containsOnlyKeys("id", "schema");
+    assertThat(schemaVersionCache.get(REGISTRY, "CLID2", SUBJECT, 1)).isEmpty();
+  }
+
+  @Test
+  void versionsSurviveRestartWhenStoredOnDisk() {
+    new SchemaVersionCache(100, cacheDirectory.toString())
+        .put(REGISTRY, CLUSTER_ID, SUBJECT, 1, Map.of("id", 10, "schema", "{}"));
+
+    SchemaVersionCache restartedCache = new SchemaVersionCache(100, cacheDirectory.toString());
+
+    assertThat(restartedCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 1))
+        .hasValueSatisfying(schemaVersion -> assertThat(schemaVersion).containsEntry("id", 10));
+  }
+
+  @Test
+  void retainVersionsDropsVersionsNoLongerRegistered() {
+    SchemaVersionCache schemaVersionCache = new SchemaVersionCache(100, cacheDirectory.toString());
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, SUBJECT, 1, Map.of("id", 10));
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, SUBJECT, 2, Map.of("id", 11));
+
+    schemaVersionCache.retainVersions(REGISTRY, CLUSTER_ID, SUBJECT, Set.of(2));
+
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 1)).isEmpty();
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 2)).isPresent();
+    assertThat(
+            new SchemaVersionCache(100, cacheDirectory.toString())
+                .get(REGISTRY, CLUSTER_ID, SUBJECT, 1))
+        .isEmpty();
+  }
+
+  @Test
+  void retainVersionsFollowsVersionsEvictedBySize() {
+    SchemaVersionCache schemaVersionCache = new SchemaVersionCache(1, null);
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, SUBJECT, 1, Map.of("id", 10));
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, SUBJECT, 2, Map.of("id", 11));
+
+    schemaVersionCache.retainVersions(REGISTRY, CLUSTER_ID, SUBJECT, Set.of(1));
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, SUBJECT, 1, Map.of("id", 10));
+
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 2)).isEmpty();
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 1)).isPresent();
+  }
+
+  @Test
+  void evictSubjectDropsAllVersions() {
+    SchemaVersionCache schemaVersionCache = new SchemaVersionCache(100, cacheDirectory.toString());
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, SUBJECT, 1, Map.of("id", 10));
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, "other-value", 1, Map.of("id", 12));
+
+    schemaVersionCache.evictSubject(REGISTRY, CLUSTER_ID, SUBJECT);
+
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 1)).isEmpty();
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, "other-value", 1)).isPresent();
+  }
+
+  @Test
+  void evictSubjectIfChangedDropsSubjectsRegisteredAgain() {
+    SchemaVersionCache schemaVersionCache = new SchemaVersionCache(100, cacheDirectory.toString());
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, SUBJECT, 1, Map.of("id", 10));
+    schemaVersionCache.put(REGISTRY, CLUSTER_ID, SUBJECT, 2, Map.of("id", 11));
+
+    assertThat(schemaVersionCache.evictSubjectIfChanged(REGISTRY, CLUSTER_ID, SUBJECT, 2, 11))
+        .isFalse();
+    assertThat(schemaVersionCache.evictSubjectIfChanged(REGISTRY, CLUSTER_ID, SUBJECT, 3, 12))
+        .isFalse();
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 1)).isPresent();
+
+    // deleted and registered again, version 2 now has another schema
+    assertThat(schemaVersionCache.evictSubjectIfChanged(REGISTRY, CLUSTER_ID, SUBJECT, 2, 13))
+        .isTrue();
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 1)).isEmpty();
+    assertThat(schemaVersionCache.get(REGISTRY, CLUSTER_ID, SUBJECT, 2)).isEmpty();
+  }
+}
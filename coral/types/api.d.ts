@@ -3338,6 +3338,12 @@ export type operations = {
         topicName: string;
         consumerGroupId: string;
         offsetId: string;
+        fromTimestampMilliSecs?: number;
+        toTimestampMilliSecs?: number;
+        keyFilter?: string;
+        valueFilter?: string;
+        regexFilter?: boolean;
+        maxResults?: number;
       };
     };
     responses: {
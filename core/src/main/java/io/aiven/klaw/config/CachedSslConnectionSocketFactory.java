@@ -0,0 +1,102 @@
+package io.aiven.klaw.config;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import org.apache.hc.client5.http.socket.LayeredConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Https sockets of the cluster api client, created from the current context in the {@link
+ * SslMaterialCache}. Connections opened after the keystore file changed use the renewed keystore.
+ */
+public class CachedSslConnectionSocketFactory implements LayeredConnectionSocketFactory {
+
+  private final SslMaterialCache sslMaterialCache;
+
+  private final SslMaterialCache.SslMaterial sslMaterial;
+
+  private final HostnameVerifier hostnameVerifier;
+
+  private SSLContext sslContext;
+
+  private SSLConnectionSocketFactory delegate;
+
+  public CachedSslConnectionSocketFactory(
+      SslMaterialCache sslMaterialCache,
+      SslMaterialCache.SslMaterial sslMaterial,
+      HostnameVerifier hostnameVerifier)
+      throws IOException {
+    this.sslMaterialCache = sslMaterialCache;
+    this.sslMaterial = sslMaterial;
+    this.hostnameVerifier = hostnameVerifier;
+    getDelegate();
+  }
+
+  @Override
+  public Socket createSocket(HttpContext context) throws IOException {
+    return getDelegate().createSocket(context);
+  }
+
+  @Override
+  public Socket connectSocket(
+      TimeValue connectTimeout,
+      Socket socket,
+      HttpHost host,
+      InetSocketAddress remoteAddress,
+      InetSocketAddress localAddress,
+      HttpContext context)
+      throws IOException {
+    return getDelegate()
+        .connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+  }
+
+  @Override
+  public Socket connectSocket(
+      Socket socket,
+      HttpHost host,
+      InetSocketAddress remoteAddress,
+      InetSocketAddress localAddress,
+      Timeout connectTimeout,
+      Object attachment,
+      HttpContext context)
+      throws IOException {
+    return getDelegate()
+        .connectSocket(
+            socket, host, remoteAddress, localAddress, connectTimeout, attachment, context);
+  }
+
+  @Override
+  public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+      throws IOException {
+    return getDelegate().createLayeredSocket(socket, target, port, context);
+  }
+
+  @Override
+  public Socket createLayeredSocket(
+      Socket socket, String target, int port, Object attachment, HttpContext context)
+      throws IOException {
+    return getDelegate().createLayeredSocket(socket, target, port, attachment, context);
+  }
+
+  private synchronized SSLConnectionSocketFactory getDelegate() throws IOException {
+    SSLContext currentSslContext;
+    try {
+      currentSslContext = sslMaterialCache.getSslContext(sslMaterial);
+    } catch (GeneralSecurityException e) {
+      throw new IOException("Cannot load keystore of " + sslMaterial.getName(), e);
+    }
+    if (currentSslContext != sslContext) {
+      sslContext = currentSslContext;
+      delegate = new SSLConnectionSocketFactory(currentSslContext, hostnameVerifier);
+    }
+    return delegate;
+  }
+}
@@ -1,6 +1,8 @@
 package io.aiven.klaw.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -16,4 +18,69 @@ public class MetadataConfig {
     threadPoolTaskExecutor.setCorePoolSize(4);
     return threadPoolTaskExecutor;
   }
+
+  @Bean(name = "schemaSyncTaskExecutor")
+  public Executor schemaSyncTaskExecutor(
+      @Value("${klaw.schemas.sync.parallelism:4}") int schemaSyncParallelism,
+      @Value("${klaw.schemas.sync.queuecapacity:500}") int schemaSyncQueueCapacity) {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(schemaSyncParallelism);
+    threadPoolTaskExecutor.setMaxPoolSize(schemaSyncParallelism);
+    threadPoolTaskExecutor.setQueueCapacity(schemaSyncQueueCapacity);
+    threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    threadPoolTaskExecutor.setThreadNamePrefix("schema-sync-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "schemaPromotionTaskExecutor")
+  public Executor schemaPromotionTaskExecutor(
+      @Value("${klaw.schemas.promotion.parallelism:4}") int schemaPromotionParallelism,
+      @Value("${klaw.schemas.promotion.queuecapacity:100}") int schemaPromotionQueueCapacity) {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(schemaPromotionParallelism);
+    threadPoolTaskExecutor.setMaxPoolSize(schemaPromotionParallelism);
+    threadPoolTaskExecutor.setQueueCapacity(schemaPromotionQueueCapacity);
+    threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    threadPoolTaskExecutor.setThreadNamePrefix("schema-promotion-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "metricsCollectorTaskExecutor")
+  public Executor metricsCollectorTaskExecutor(
+      @Value("${klaw.monitoring.metrics.parallelism:4}") int metricsCollectorParallelism,
+      @Value("${klaw.monitoring.metrics.queuecapacity:64}") int metricsCollectorQueueCapacity) {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(metricsCollectorParallelism);
+    threadPoolTaskExecutor.setMaxPoolSize(metricsCollectorParallelism);
+    threadPoolTaskExecutor.setQueueCapacity(metricsCollectorQueueCapacity);
+    threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    threadPoolTaskExecutor.setThreadNamePrefix("metrics-collector-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "consumerLagMonitorTaskExecutor")
+  public Executor consumerLagMonitorTaskExecutor(
+      @Value("${klaw.consumerlag.monitor.parallelism:4}") int consumerLagMonitorParallelism,
+      @Value("${klaw.consumerlag.monitor.queuecapacity:64}") int consumerLagMonitorQueueCapacity) {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(consumerLagMonitorParallelism);
+    threadPoolTaskExecutor.setMaxPoolSize(consumerLagMonitorParallelism);
+    threadPoolTaskExecutor.setQueueCapacity(consumerLagMonitorQueueCapacity);
+    threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    threadPoolTaskExecutor.setThreadNamePrefix("consumer-lag-monitor-");
+    return threadPoolTaskExecutor;
+  }
+
+  @Bean(name = "envStatusTaskExecutor")
+  public Executor envStatusTaskExecutor(
+      @Value("${klaw.envstatus.refresh.parallelism:4}") int envStatusParallelism,
+      @Value("${klaw.envstatus.refresh.queuecapacity:100}") int envStatusQueueCapacity) {
+    ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+    threadPoolTaskExecutor.setCorePoolSize(envStatusParallelism);
+    threadPoolTaskExecutor.setMaxPoolSize(envStatusParallelism);
+    threadPoolTaskExecutor.setQueueCapacity(envStatusQueueCapacity);
+    threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    threadPoolTaskExecutor.setThreadNamePrefix("env-status-");
+    return threadPoolTaskExecutor;
+  }
 }
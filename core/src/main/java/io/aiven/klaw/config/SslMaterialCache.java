@@ -0,0 +1,113 @@
+package io.aiven.klaw.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * Loaded keystores and SSL contexts of the https clients of Klaw, to cluster api and to the other
+ * Klaw instances. Contexts are kept with the size, modification time and content hash of their
+ * keystore file, and are loaded again on the first connection after the file changed, so renewed
+ * certificates are picked up without a restart.
+ */
+@Component
+@Slf4j
+public class SslMaterialCache {
+
+  // cluster api is not verified, as before
+  private static final X509TrustManager ACCEPTING_TRUST_MANAGER =
+      new X509TrustManager() {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {}
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {}
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+          return new X509Certificate[0];
+        }
+      };
+
+  private final Map<SslMaterial, LoadedContext> sslContexts = new ConcurrentHashMap<>();
+
+  public SSLContext getSslContext(SslMaterial sslMaterial)
+      throws GeneralSecurityException, IOException {
+    File keyStoreFile = ResourceUtils.getFile(sslMaterial.getKeyStoreLocation());
+    String fingerprint = getFingerprint(keyStoreFile);
+    LoadedContext loadedContext = sslContexts.get(sslMaterial);
+    if (loadedContext != null && loadedContext.getFingerprint().equals(fingerprint)) {
+      return loadedContext.getSslContext();
+    }
+
+    synchronized (this) {
+      loadedContext = sslContexts.get(sslMaterial);
+      if (loadedContext == null || !loadedContext.getFingerprint().equals(fingerprint)) {
+        KeyStore keyStore = KeyStore.getInstance(sslMaterial.getKeyStoreType());
+        try (InputStream inputStream = Files.newInputStream(keyStoreFile.toPath())) {
+          keyStore.load(inputStream, sslMaterial.getKeyStorePassword().toCharArray());
+        }
+        KeyManagerFactory keyManagerFactory =
+            KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, sslMaterial.getKeyStorePassword().toCharArray());
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(
+            keyManagerFactory.getKeyManagers(), new TrustManager[] {ACCEPTING_TRUST_MANAGER}, null);
+        loadedContext = new LoadedContext(fingerprint, sslContext);
+        sslContexts.put(sslMaterial, loadedContext);
+        log.info("Loaded SSL context of {}", sslMaterial.getName());
+      }
+      return loadedContext.getSslContext();
+    }
+  }
+
+  // the content hash catches files replaced within the resolution of the modification time
+  private static String getFingerprint(File file) throws IOException {
+    try {
+      return file.length()
+          + ":"
+          + file.lastModified()
+          + ":"
+          + HexFormat.of()
+              .formatHex(
+                  MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file.toPath())));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Keystore of an SSL context, the cache key of the context. */
+  @Value
+  @Builder
+  public static class SslMaterial {
+    String name;
+    String keyStoreLocation;
+    String keyStoreType;
+    @ToString.Exclude String keyStorePassword;
+  }
+
+  @Value
+  private static class LoadedContext {
+    String fingerprint;
+    SSLContext sslContext;
+  }
+}
@@ -10,10 +10,12 @@ import io.aiven.klaw.model.enums.RequestStatus;
 import io.aiven.klaw.model.requests.AclRequestsModel;
 import io.aiven.klaw.model.requests.DeleteAclRequestModel;
 import io.aiven.klaw.model.response.AclRequestsResponseModel;
+import io.aiven.klaw.model.response.ConsumerLagSample;
 import io.aiven.klaw.model.response.OffsetDetails;
 import io.aiven.klaw.model.response.ServiceAccountDetails;
 import io.aiven.klaw.model.response.TopicOverview;
 import io.aiven.klaw.service.AclControllerService;
+import io.aiven.klaw.service.ConsumerLagMonitorService;
 import io.aiven.klaw.service.TopicOverviewService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -40,6 +42,8 @@ public class AclController {
 
   @Autowired TopicOverviewService topicOverviewService;
 
+  @Autowired ConsumerLagMonitorService consumerLagMonitorService;
+
   @PostMapping(
       value = "/createAcl",
       produces = {MediaType.APPLICATION_JSON_VALUE})
@@ -210,6 +214,21 @@ public class AclController {
         aclControllerService.getConsumerOffsets(envId, consumerGroupId, topicName), HttpStatus.OK);
   }
 
+  // hourly lag of a consumer group on a topic, sampled by the consumer lag monitor
+  @RequestMapping(
+      value = "/getConsumerLagHistory",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<List<ConsumerLagSample>> getConsumerLagHistory(
+      @RequestParam("env") String envId,
+      @RequestParam("topicName") String topicName,
+      @RequestParam(value = "consumerGroupId") String consumerGroupId,
+      @RequestParam(value = "hours", defaultValue = "24") int hours) {
+    return new ResponseEntity<>(
+        consumerLagMonitorService.getConsumerLagHistory(envId, consumerGroupId, topicName, hours),
+        HttpStatus.OK);
+  }
+
   // Aiven api call - get ServiceAccountDetails for a subscription
   @RequestMapping(
       value = "/getAivenServiceAccount",
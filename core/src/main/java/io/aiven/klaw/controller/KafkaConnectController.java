@@ -4,6 +4,7 @@ import io.aiven.klaw.error.KlawBadRequestException;
 import io.aiven.klaw.error.KlawException;
 import io.aiven.klaw.error.KlawRestException;
 import io.aiven.klaw.model.ApiResponse;
+import io.aiven.klaw.model.cluster.ConnectorConfigDiff;
 import io.aiven.klaw.model.enums.Order;
 import io.aiven.klaw.model.enums.RequestOperationType;
 import io.aiven.klaw.model.enums.RequestStatus;
@@ -225,6 +226,18 @@ public class KafkaConnectController {
         HttpStatus.OK);
   }
 
+  @RequestMapping(
+      value = "/getConnectorConfigDiff",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<ConnectorConfigDiff> getConnectorConfigDiff(
+      @RequestParam("envSelected") String envId,
+      @RequestParam("connectorName") String connectorName)
+      throws KlawException, KlawBadRequestException {
+    return new ResponseEntity<>(
+        kafkaConnectControllerService.getConnectorConfigDiff(envId, connectorName), HttpStatus.OK);
+  }
+
   @PostMapping(
       value = "/connector/restart",
       produces = {MediaType.APPLICATION_JSON_VALUE})
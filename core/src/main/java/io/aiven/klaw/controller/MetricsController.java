@@ -1,13 +1,18 @@
 package io.aiven.klaw.controller;
 
+import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.error.KlawNotAuthorizedException;
 import io.aiven.klaw.model.charts.JmxOverview;
+import io.aiven.klaw.model.cluster.storage.StorageReport;
 import io.aiven.klaw.service.MetricsControllerService;
+import io.aiven.klaw.service.StorageReportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -16,11 +21,28 @@ public class MetricsController {
 
   @Autowired MetricsControllerService metricsControllerService;
 
+  @Autowired StorageReportService storageReportService;
+
   @RequestMapping(
       value = "/getBrokerTopMetrics",
       method = RequestMethod.GET,
       produces = {MediaType.APPLICATION_JSON_VALUE})
-  public ResponseEntity<JmxOverview> getBrokerTopMetrics() {
-    return new ResponseEntity<>(metricsControllerService.getBrokerTopMetrics(), HttpStatus.OK);
+  public ResponseEntity<JmxOverview> getBrokerTopMetrics(
+      @RequestParam(value = "envId", required = false) String envId,
+      @RequestParam(value = "metricName", required = false) String metricName,
+      @RequestParam(value = "topicName", required = false) String topicName,
+      @RequestParam(value = "hours", defaultValue = "24") int hours) {
+    return new ResponseEntity<>(
+        metricsControllerService.getBrokerTopMetrics(envId, metricName, topicName, hours),
+        HttpStatus.OK);
+  }
+
+  @RequestMapping(
+      value = "/getStorageReport",
+      method = RequestMethod.GET,
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<StorageReport> getStorageReport(@RequestParam(value = "envId") String envId)
+      throws KlawException, KlawNotAuthorizedException {
+    return new ResponseEntity<>(storageReportService.getStorageReport(envId), HttpStatus.OK);
   }
 }
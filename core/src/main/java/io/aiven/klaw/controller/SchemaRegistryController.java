@@ -5,6 +5,7 @@ import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.enums.Order;
 import io.aiven.klaw.model.enums.RequestOperationType;
 import io.aiven.klaw.model.enums.RequestStatus;
+import io.aiven.klaw.model.requests.BulkSchemaPromotion;
 import io.aiven.klaw.model.requests.SchemaPromotion;
 import io.aiven.klaw.model.requests.SchemaRequestModel;
 import io.aiven.klaw.model.response.SchemaOverview;
@@ -175,6 +176,18 @@ public class SchemaRegistryController {
     return ResponseEntity.ok(schemaRegistryControllerService.promoteSchema(promoteSchemaReq));
   }
 
+  /**
+   * @param bulkSchemaPromotion schemas to promote, at most one per topic
+   * @return data holds the result of every promotion, keyed by topic name
+   */
+  @PostMapping(
+      value = "/promote/schemas",
+      produces = {MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<ApiResponse> promoteSchemas(
+      @Valid @RequestBody BulkSchemaPromotion bulkSchemaPromotion) {
+    return ResponseEntity.ok(schemaRegistryControllerService.promoteSchemas(bulkSchemaPromotion));
+  }
+
   /**
    * @param topicName Get schema of this topic
    * @param schemaVersionSearch Version of the schema if applicable
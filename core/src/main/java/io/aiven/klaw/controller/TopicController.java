@@ -4,6 +4,7 @@ import io.aiven.klaw.error.KlawException;
 import io.aiven.klaw.error.KlawNotAuthorizedException;
 import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.TopicInfo;
+import io.aiven.klaw.model.cluster.topiccontents.TopicContentsSearchRequest;
 import io.aiven.klaw.model.enums.AclPatternType;
 import io.aiven.klaw.model.enums.Order;
 import io.aiven.klaw.model.enums.RequestOperationType;
@@ -20,6 +21,7 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -273,7 +275,7 @@ public class TopicController {
   }
 
   // getTopic Events from kafka cluster
-  // <offsetId, content>
+  // <offsetId, content>, or <partition-offset, content> of the events found by a search
   @RequestMapping(
       value = "/getTopicEvents",
       method = RequestMethod.GET,
@@ -282,8 +284,33 @@ public class TopicController {
       @RequestParam("envId") String envId,
       @RequestParam("topicName") String topicName,
       @RequestParam(value = "consumerGroupId") String consumerGroupId,
-      @RequestParam(value = "offsetId") String offsetId)
+      @RequestParam(value = "offsetId") String offsetId,
+      @RequestParam(value = "fromTimestampMilliSecs", required = false) Long fromTimestampMilliSecs,
+      @RequestParam(value = "toTimestampMilliSecs", required = false) Long toTimestampMilliSecs,
+      @RequestParam(value = "keyFilter", required = false) String keyFilter,
+      @RequestParam(value = "valueFilter", required = false) String valueFilter,
+      @RequestParam(value = "regexFilter", defaultValue = "false") boolean regexFilter,
+      @RequestParam(value = "maxResults", required = false) Integer maxResults)
       throws KlawException {
+    // search by time window and/or key/value filters, otherwise read the last offsetId events
+    if (fromTimestampMilliSecs != null
+        || toTimestampMilliSecs != null
+        || StringUtils.isNotEmpty(keyFilter)
+        || StringUtils.isNotEmpty(valueFilter)) {
+      TopicContentsSearchRequest searchRequest =
+          TopicContentsSearchRequest.builder()
+              .topicName(topicName)
+              .consumerGroupId(consumerGroupId)
+              .fromTimestampMilliSecs(fromTimestampMilliSecs)
+              .toTimestampMilliSecs(toTimestampMilliSecs)
+              .keyFilter(keyFilter)
+              .valueFilter(valueFilter)
+              .regexFilter(regexFilter)
+              .maxResults(maxResults)
+              .build();
+      return new ResponseEntity<>(
+          topicControllerService.searchTopicEvents(envId, searchRequest), HttpStatus.OK);
+    }
     return new ResponseEntity<>(
         topicControllerService.getTopicEvents(envId, consumerGroupId, topicName, offsetId),
         HttpStatus.OK);
@@ -0,0 +1,68 @@
+package io.aiven.klaw.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Lag history of a consumer group on one topic of an environment, one row per hour. Each sample of
+ * the hour adds its total lag over the partitions of the topic to the row, which keeps the highest
+ * lag seen and the sum from which the average lag of the hour is shown on the topic overview.
+ */
+@ToString
+@Getter
+@Setter
+@Entity
+@IdClass(KwConsumerLagID.class)
+@Table(name = "kwconsumerlag")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class KwConsumerLag implements Serializable {
+
+  @Id
+  @Column(name = "tenantid")
+  private Integer tenantId;
+
+  @Id
+  @Column(name = "env")
+  private String env;
+
+  @Id
+  @Column(name = "consumergroup")
+  private String consumerGroup;
+
+  @Id
+  @Column(name = "topicname")
+  private String topicName;
+
+  @Id
+  @Column(name = "bucketstart")
+  private Long bucketStart;
+
+  @Column(name = "samplecount")
+  private int sampleCount;
+
+  @Column(name = "sumlag")
+  private long sumLag;
+
+  @Column(name = "maxlag")
+  private long maxLag;
+
+  public KwConsumerLagID getId() {
+    return new KwConsumerLagID(tenantId, env, consumerGroup, topicName, bucketStart);
+  }
+
+  public long getAverageLag() {
+    return sampleCount == 0 ? 0 : sumLag / sampleCount;
+  }
+}
@@ -0,0 +1,33 @@
+package io.aiven.klaw.dao;
+
+import java.io.Serializable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+public class KwConsumerLagID implements Serializable {
+
+  private Integer tenantId;
+
+  private String env;
+
+  private String consumerGroup;
+
+  private String topicName;
+
+  private Long bucketStart;
+
+  public KwConsumerLagID() {}
+
+  public KwConsumerLagID(
+      Integer tenantId, String env, String consumerGroup, String topicName, Long bucketStart) {
+    this.tenantId = tenantId;
+    this.env = env;
+    this.consumerGroup = consumerGroup;
+    this.topicName = topicName;
+    this.bucketStart = bucketStart;
+  }
+}
@@ -0,0 +1,75 @@
+package io.aiven.klaw.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Samples of one metric of an environment, aggregated into a time bucket of the given resolution in
+ * minutes. Sum and count are kept instead of an average, so that samples can be added to a bucket
+ * at any time.
+ */
+@ToString
+@Getter
+@Setter
+@Entity
+@IdClass(KwMetricsSampleID.class)
+@Table(name = "kwmetricssamples")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class KwMetricsSample implements Serializable {
+
+  /** Topic name of metrics of the whole environment. */
+  public static final String ALL_TOPICS = "*";
+
+  @Id
+  @Column(name = "tenantid")
+  private Integer tenantId;
+
+  @Id
+  @Column(name = "env")
+  private String env;
+
+  @Id
+  @Column(name = "metricname")
+  private String metricName;
+
+  @Id
+  @Column(name = "topicname")
+  private String topicName;
+
+  @Id
+  @Column(name = "resolution")
+  private Integer resolution;
+
+  @Id
+  @Column(name = "bucketstart")
+  private Long bucketStart;
+
+  @Column(name = "samplecount")
+  private int sampleCount;
+
+  @Column(name = "sumvalue")
+  private double sumValue;
+
+  @Column(name = "maximumvalue")
+  private double maxValue;
+
+  public KwMetricsSampleID getId() {
+    return new KwMetricsSampleID(tenantId, env, metricName, topicName, resolution, bucketStart);
+  }
+
+  public double getAverage() {
+    return sampleCount == 0 ? 0 : sumValue / sampleCount;
+  }
+}
@@ -0,0 +1,41 @@
+package io.aiven.klaw.dao;
+
+import java.io.Serializable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+public class KwMetricsSampleID implements Serializable {
+
+  private Integer tenantId;
+
+  private String env;
+
+  private String metricName;
+
+  private String topicName;
+
+  private Integer resolution;
+
+  private Long bucketStart;
+
+  public KwMetricsSampleID() {}
+
+  public KwMetricsSampleID(
+      Integer tenantId,
+      String env,
+      String metricName,
+      String topicName,
+      Integer resolution,
+      Long bucketStart) {
+    this.tenantId = tenantId;
+    this.env = env;
+    this.metricName = metricName;
+    this.topicName = topicName;
+    this.resolution = resolution;
+    this.bucketStart = bucketStart;
+  }
+}
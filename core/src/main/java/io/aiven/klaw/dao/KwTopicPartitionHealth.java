@@ -0,0 +1,61 @@
+package io.aiven.klaw.dao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.sql.Timestamp;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Partition health of a topic of an environment. Only topics with unhealthy partitions are stored,
+ * a topic without a row is healthy.
+ */
+@ToString
+@Getter
+@Setter
+@Entity
+@IdClass(KwTopicPartitionHealthID.class)
+@Table(name = "kwtopicpartitionhealth")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class KwTopicPartitionHealth implements Serializable {
+
+  @Id
+  @Column(name = "tenantid")
+  private Integer tenantId;
+
+  @Id
+  @Column(name = "env")
+  private String env;
+
+  @Id
+  @Column(name = "topicname")
+  private String topicName;
+
+  @Column(name = "partitions")
+  private int partitions;
+
+  @Column(name = "underreplicated")
+  private int underReplicated;
+
+  @Column(name = "underminisr")
+  private int underMinIsr;
+
+  @Column(name = "offline")
+  private int offline;
+
+  @Column(name = "leaderskewed")
+  private int leaderSkewed;
+
+  @Column(name = "updatedtime")
+  private Timestamp updatedTime;
+}
@@ -0,0 +1,26 @@
+package io.aiven.klaw.dao;
+
+import java.io.Serializable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+public class KwTopicPartitionHealthID implements Serializable {
+
+  private Integer tenantId;
+
+  private String env;
+
+  private String topicName;
+
+  public KwTopicPartitionHealthID() {}
+
+  public KwTopicPartitionHealthID(Integer tenantId, String env, String topicName) {
+    this.tenantId = tenantId;
+    this.env = env;
+    this.topicName = topicName;
+  }
+}
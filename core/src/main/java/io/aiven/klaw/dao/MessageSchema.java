@@ -1,9 +1,14 @@
 package io.aiven.klaw.dao;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import java.io.Serializable;
 import lombok.Getter;
@@ -38,8 +43,14 @@ public class MessageSchema implements Serializable {
   @Column(name = "teamid")
   private Integer teamId;
 
-  @Column(name = "schemafull")
-  private String schemafull;
+  // loaded only by the reads which need the schema text
+  @ToString.Exclude
+  @JsonIgnore
+  @ManyToOne(
+      fetch = FetchType.LAZY,
+      cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+  @JoinColumn(name = "schemahash")
+  private MessageSchemaBody schemaBody;
 
   @Column(name = "schemaid")
   private Integer schemaId;
@@ -49,4 +60,12 @@ public class MessageSchema implements Serializable {
 
   @Column(name = "jsonparams")
   private String jsonParams;
+
+  public String getSchemafull() {
+    return schemaBody == null ? null : schemaBody.getSchemafull();
+  }
+
+  public void setSchemafull(String schemafull) {
+    this.schemaBody = schemafull == null ? null : MessageSchemaBody.of(schemafull);
+  }
 }
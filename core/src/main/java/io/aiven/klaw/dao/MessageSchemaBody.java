@@ -0,0 +1,44 @@
+package io.aiven.klaw.dao;
+
+import com.google.common.hash.Hashing;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Text of a schema, stored once and shared by every {@link MessageSchema} version with identical
+ * content, which is common when the same schema is registered on several environments.
+ */
+@ToString
+@Getter
+@Setter
+@Entity
+@Table(name = "kwschemabodies")
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSchemaBody implements Serializable {
+
+  @Id
+  @Column(name = "schemahash")
+  private String schemaHash;
+
+  @Column(name = "schemafull")
+  private String schemafull;
+
+  public static MessageSchemaBody of(String schemafull) {
+    return new MessageSchemaBody(hashOf(schemafull), schemafull);
+  }
+
+  /** Hex encoded SHA-256 of the UTF-8 schema text. */
+  public static String hashOf(String schemafull) {
+    return Hashing.sha256().hashString(schemafull, StandardCharsets.UTF_8).toString();
+  }
+}
@@ -55,4 +55,8 @@ public class Team implements Serializable {
 
   @Column(name = "otherparams")
   private String otherParams;
+
+  // alerts are sent when the lag of a consumer group of the team is above it, the default if null
+  @Column(name = "consumerlagthreshold")
+  private Long consumerLagThreshold;
 }
@@ -0,0 +1,111 @@
+package io.aiven.klaw.dao.migration;
+
+import io.aiven.klaw.dao.MessageSchemaBody;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the schema text of existing kwavroschemas rows into kwschemabodies, storing identical
+ * schemas only once, and points every row to its body by hash. Rows which already reference a body
+ * are left untouched, so the change can safely be run again after a partial failure.
+ */
+@Slf4j
+public class MessageSchemaBodiesChange implements CustomTaskChange {
+
+  private static final int BATCH_SIZE = 500;
+
+  private static final String SELECT_SCHEMAS =
+      "select avroschemaid, tenantid, schemafull from kwavroschemas "
+          + "where schemafull is not null and schemahash is null";
+  private static final String SELECT_BODY_EXISTS =
+      "select count(*) from kwschemabodies where schemahash = ?";
+  private static final String INSERT_BODY =
+      "insert into kwschemabodies (schemahash, schemafull) values (?, ?)";
+  private static final String UPDATE_SCHEMA_HASH =
+      "update kwavroschemas set schemahash = ? where avroschemaid = ? and tenantid = ?";
+
+  private int migratedRows;
+  private int insertedBodies;
+
+  @Override
+  public void execute(Database database) throws CustomChangeException {
+    Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+    Set<String> knownHashes = new HashSet<>();
+
+    try (PreparedStatement selectSchemas = connection.prepareStatement(SELECT_SCHEMAS);
+        PreparedStatement selectBodyExists = connection.prepareStatement(SELECT_BODY_EXISTS);
+        PreparedStatement insertBody = connection.prepareStatement(INSERT_BODY);
+        PreparedStatement updateSchemaHash = connection.prepareStatement(UPDATE_SCHEMA_HASH);
+        ResultSet schemas = selectSchemas.executeQuery()) {
+      int pendingRows = 0;
+      while (schemas.next()) {
+        String schemafull = schemas.getString("schemafull");
+        String schemaHash = MessageSchemaBody.hashOf(schemafull);
+
+        if (knownHashes.add(schemaHash) && !bodyExists(selectBodyExists, schemaHash)) {
+          insertBody.setString(1, schemaHash);
+          insertBody.setString(2, schemafull);
+          insertBody.addBatch();
+          insertedBodies++;
+        }
+
+        updateSchemaHash.setString(1, schemaHash);
+        updateSchemaHash.setInt(2, schemas.getInt("avroschemaid"));
+        updateSchemaHash.setInt(3, schemas.getInt("tenantid"));
+        updateSchemaHash.addBatch();
+        migratedRows++;
+
+        if (++pendingRows == BATCH_SIZE) {
+          // bodies first, the rows of the batch reference them
+          insertBody.executeBatch();
+          updateSchemaHash.executeBatch();
+          pendingRows = 0;
+        }
+      }
+      insertBody.executeBatch();
+      updateSchemaHash.executeBatch();
+    } catch (SQLException e) {
+      log.error("Exception:", e);
+      throw new CustomChangeException("Unable to move schemas to kwschemabodies", e);
+    }
+  }
+
+  private static boolean bodyExists(PreparedStatement selectBodyExists, String schemaHash)
+      throws SQLException {
+    selectBodyExists.setString(1, schemaHash);
+    try (ResultSet resultSet = selectBodyExists.executeQuery()) {
+      return resultSet.next() && resultSet.getInt(1) > 0;
+    }
+  }
+
+  @Override
+  public String getConfirmationMessage() {
+    return "Moved "
+        + migratedRows
+        + " schema versions to "
+        + insertedBodies
+        + " distinct rows in kwschemabodies";
+  }
+
+  @Override
+  public void setUp() {}
+
+  @Override
+  public void setFileOpener(ResourceAccessor resourceAccessor) {}
+
+  @Override
+  public ValidationErrors validate(Database database) {
+    return new ValidationErrors();
+  }
+}
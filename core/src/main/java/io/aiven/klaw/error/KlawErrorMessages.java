@@ -141,6 +141,18 @@ public class KlawErrorMessages {
   public static final String CLUSTER_API_ERR_124 =
       "Could not approve reset consumer offsets request. Please contact Administrator.";
 
+  public static final String CLUSTER_API_ERR_125 = "Could not compare Connector config. %s";
+
+  public static final String CLUSTER_API_ERR_126 = "Could not get topic metrics.";
+
+  public static final String CLUSTER_API_ERR_127 = "Could not get partition health.";
+
+  public static final String CLUSTER_API_ERR_128 = "Could not get storage report.";
+
+  public static final String CLUSTER_API_ERR_129 = "Could not get consumer group lag.";
+
+  public static final String CLUSTER_API_ERR_130 = "Could not query clusters.";
+
   // Env clusters tenants service
   public static final String ENV_CLUSTER_TNT_ERR_101 =
       "Failure. Please choose a different name. This environment name already exists.";
@@ -169,6 +181,9 @@ public class KlawErrorMessages {
   public static final String ENV_CLUSTER_TNT_110 =
       "Environments pointing to same cluster without a different prefix/suffix regex";
 
+  public static final String ENV_CLUSTER_TNT_ERR_111 =
+      "Failure. Not authorized to view the storage report of this environment.";
+
   // Kafka connect service
 
   public static final String KAFKA_CONNECT_ERR_101 =
@@ -227,6 +242,9 @@ public class KlawErrorMessages {
 
   public static final String KAFKA_CONNECT_ERR_120 = "Connector does not exist in any environment.";
 
+  public static final String KAFKA_CONNECT_ERR_121 =
+      "Connector %s does not exist in this environment.";
+
   // Kafka connect sync service
   public static final String KAFKA_CONNECT_SYNC_ERR_101 =
       "%s Connector config could not be retrieved.";
@@ -286,6 +304,11 @@ public class KlawErrorMessages {
   public static final String SCHEMA_ERR_109 =
       "Failure. Request Schema environments not configured Settings - tenant config";
 
+  public static final String SCHEMA_ERR_110 = "Failure. Schema version %s not found for topic %s";
+
+  public static final String SCHEMA_ERR_111 =
+      "Failure. Topic %s is promoted more than once in the request.";
+
   public static final String SERVER_CONFIG_ERR_101 =
       "Failure. Invalid json / incorrect name values. Check tenant and env details.";
 
@@ -339,6 +362,8 @@ public class KlawErrorMessages {
 
   public static final String TOPICS_ERR_114 = "Sorry, your team does not own the topic !!";
 
+  public static final String TOPICS_ERR_115 = "Failure. No Kafka cluster found for environment %s";
+
   // Topic Validation
   public static final String TOPICS_VLD_ERR_101 =
       "Failure. Invalid Topic request type. Possible Value : Create/Promote";
@@ -0,0 +1,118 @@
+package io.aiven.klaw.helpers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fingerprints of connector configs stored in Klaw, computed the way cluster-api computes the
+ * version of a masked connector config. The config on a cluster is only known to Klaw by that
+ * version, so both are compared with a single hash comparison and the config with its secrets
+ * never leaves cluster-api.
+ *
+ * <p>Keys are sorted, and numbers or booleans are compared by their text, so json formatting and
+ * key order do not matter. The connector name is added, as Kafka Connect adds it to every config,
+ * and sensitive fields, which Klaw stores encrypted, are masked so they are compared by presence.
+ */
+@Component
+@Slf4j
+public class ConnectorConfigFingerprints {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String NAME_KEY = "name";
+  // the masked value of cluster-api, it is part of the fingerprint
+  private static final String MASKED_VALUE = "*******";
+  // stored configs are fingerprinted once, the cache is bounded by the total length of the configs
+  private static final long STORED_CONFIGS_MAX_CHARS = 16 * 1024 * 1024;
+
+  private final List<String> sensitiveFields;
+
+  private final Cache<String, String> storedConfigFingerprints =
+      CacheBuilder.newBuilder()
+          .maximumWeight(STORED_CONFIGS_MAX_CHARS)
+          .<String, String>weigher((config, fingerprint) -> config.length())
+          .build();
+
+  public ConnectorConfigFingerprints(
+      @Value("${klaw.connect.sensitive.fields:password}") String sensitiveFields) {
+    this.sensitiveFields =
+        Arrays.stream(sensitiveFields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .map(field -> field.toLowerCase(Locale.ROOT))
+            .toList();
+  }
+
+  /**
+   * Fingerprint of a connector config stored in Klaw as a json object, equal to the config version
+   * cluster-api returns for the same config on a cluster.
+   *
+   * @return empty if the config is not a json object
+   */
+  public Optional<String> of(String connectorName, String connectorConfig) {
+    if (connectorConfig == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(
+          storedConfigFingerprints.get(
+              connectorName + "|" + connectorConfig,
+              () -> of(connectorName, parse(connectorConfig))));
+    } catch (ExecutionException | RuntimeException e) {
+      log.warn("Unable to fingerprint connector config {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private String of(String connectorName, Map<String, String> connectorConfig) {
+    Map<String, String> sortedConfig = new TreeMap<>(connectorConfig);
+    sortedConfig.put(NAME_KEY, connectorName);
+    Hasher hasher = Hashing.sha256().newHasher();
+    sortedConfig.forEach(
+        (key, value) ->
+            hasher
+                .putString(key, StandardCharsets.UTF_8)
+                .putByte((byte) 0)
+                .putString(isSensitive(key) ? MASKED_VALUE : value, StandardCharsets.UTF_8)
+                .putByte((byte) 0));
+    return hasher.hash().toString();
+  }
+
+  private static Map<String, String> parse(String connectorConfig) throws Exception {
+    JsonNode configNode = OBJECT_MAPPER.readTree(connectorConfig);
+    if (!configNode.isObject()) {
+      throw new IllegalArgumentException("Connector config is not a json object");
+    }
+    Map<String, String> config = new HashMap<>();
+    configNode
+        .fields()
+        .forEachRemaining(
+            field ->
+                config.put(
+                    field.getKey(),
+                    field.getValue().isValueNode()
+                        ? field.getValue().asText()
+                        : field.getValue().toString()));
+    return config;
+  }
+
+  private boolean isSensitive(String key) {
+    String lowerCaseKey = key.toLowerCase(Locale.ROOT);
+    return sensitiveFields.stream().anyMatch(lowerCaseKey::contains);
+  }
+}
@@ -54,6 +54,17 @@ public interface HandleDbRequests {
 
   String insertMetrics(KwMetrics kwMetrics);
 
+  String insertMetricsSamples(int tenantId, String env, List<KwMetricsSample> samples);
+
+  String updateTopicPartitionHealth(
+      int tenantId,
+      String env,
+      boolean replaceAll,
+      List<KwTopicPartitionHealth> unhealthyTopics,
+      List<String> recoveredTopicNames);
+
+  String insertConsumerLagSamples(int tenantId, String env, List<KwConsumerLag> samples);
+
   /*--------------------Select */
 
   List<Topic> getAllTopicsByTopicNameAndTeamIdAndTenantId(
@@ -313,6 +324,9 @@ public interface HandleDbRequests {
 
   String insertIntoMessageSchemaSOT(List<MessageSchema> schemaList);
 
+  String syncMessageSchemas(
+      int tenantId, String env, Map<String, List<MessageSchema>> schemasByTopic);
+
   Integer getNextTopicRequestId(String idType, int tenantId);
 
   Integer getNextConnectorRequestId(String idType, int tenantId);
@@ -356,12 +370,29 @@ public interface HandleDbRequests {
 
   List<Map<String, String>> getAllMetrics(String metricsType, String metricsName, String env);
 
+  List<KwMetricsSample> getMetricsSamples(
+      int tenantId,
+      String env,
+      String metricName,
+      String topicName,
+      int resolution,
+      long fromBucketStart);
+
+  Optional<KwTopicPartitionHealth> getTopicPartitionHealth(
+      int tenantId, String env, String topicName);
+
+  List<KwConsumerLag> getConsumerLagSamples(
+      int tenantId, String env, String consumerGroup, String topicName, long fromBucketStart);
+
   Optional<MessageSchema> getFirstSchemaForTenantAndEnvAndTopicAndVersion(
       int tenantId, String schemaEnvId, String topicName, String schemaVersion);
 
   List<MessageSchema> getSchemaForTenantAndEnvAndTopic(
       int tenantId, String schemaEnvId, String topicName);
 
+  List<MessageSchema> getSchemasWithBodyForTenantAndEnvAndTopic(
+      int tenantId, String schemaEnvId, String topicName);
+
   /*--------------------Update */
   String updateTopicDocumentation(Topic topic);
 
@@ -450,6 +481,10 @@ public interface HandleDbRequests {
 
   void deleteSchema(int tenantId, String topicName, String schemaEnv);
 
+  int deleteMetricsSamples(int resolution, long beforeBucketStart);
+
+  int deleteConsumerLagSamples(long beforeBucketStart);
+
   String deleteAllUsers(int tenantId);
 
   String deleteAllTeams(int tenantId);
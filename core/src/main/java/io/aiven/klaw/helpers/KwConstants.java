@@ -68,6 +68,8 @@ public class KwConstants {
       "Dear User, \\nThank you for registering in Klaw. Below are your registration details. \\n\\nUser name: %s \\nPassword: %s \\nName: %s \\nTeam: %s \\nRole: %s \\n\\n ACTIVATE: Click this link %s to activate your account.";
   public static final String MAIL_RECONTOPICS_CONTENT =
       "Dear User, \\n These are the topics that require reconciliation:\\n\\nTenant: %s\\nTopics: %s";
+  public static final String MAIL_CONSUMERLAG_CONTENT =
+      "Dear %s team, \\nThe lag of these consumer groups is above %d messages:\\n\\n%s";
   public static final String MAIL_NEWUSERADDED_CONTENT =
       "Dear User,\\n Congratulations, you have been granted access to Klaw.. \\n\\nUser name: %s\\nPassword: %s";
   public static final String MAIL_PASSWORDRESET_CONTENT =
@@ -120,7 +122,9 @@ public class KwConstants {
   public static final String URI_GET_CONSUMER_OFFSETS = "/topics/consumerGroupOffsets/";
 
   public static final String URI_CONSUMER_OFFSETS_RESET = "/topics/consumerGroupOffsets/reset/";
+  public static final String URI_GET_CONSUMER_GROUP_LAG = "/topics/consumerGroupLag/";
   public static final String URI_GET_TOPIC_CONTENTS = "/topics/getTopicContents/";
+  public static final String URI_SEARCH_TOPIC_CONTENTS = "/topics/searchTopicContents/";
   public static final String URI_GET_ACLS = "/topics/getAcls/";
   public static final String URI_CREATE_ACLS = "/topics/createAcls";
   public static final String URI_DELETE_ACLS = "/topics/deleteAcls";
@@ -134,10 +138,12 @@ public class KwConstants {
   public static final String URI_UPDATE_CONNECTOR = "/topics/updateConnector";
   public static final String URI_DELETE_CONNECTOR = "/topics/deleteConnector";
   public static final String URI_CONNECTOR_DETAILS = "/topics/getConnectorDetails";
+  public static final String URI_CONNECTOR_CONFIG_DIFF = "/topics/connector/configDiff";
   public static final String URI_GET_ALL_CONNECTORS = "/topics/getAllConnectors/";
 
   public static final String URI_POST_RESTART_CONNECTOR = "/topics/connector/restart";
   public static final String URI_POST_SCHEMA = "/topics/postSchema";
+  public static final String URI_POST_SCHEMAS = "/topics/postSchemas";
 
   public static final String URI_SCHEMA_RESET_CACHE = "/topics/schema/resetCache";
   public static final String URI_GET_SCHEMA = "/topics/getSchema/";
@@ -145,6 +151,16 @@ public class KwConstants {
   public static final String URI_SCHEMA = "/topics/schemas/";
   public static final String URI_GET_METRICS = "/metrics/getMetrics";
 
+  public static final String URI_GET_CLUSTER_METRICS = "/metrics/getClusterMetrics/";
+
+  public static final String URI_GET_TOPIC_METRICS = "/metrics/getTopicMetrics/";
+
+  public static final String URI_GET_STORAGE_REPORT = "/metrics/getStorageReport/";
+
+  public static final String URI_MULTI_CLUSTER_QUERY = "/multiCluster/query";
+
+  public static final String URI_GET_PARTITION_HEALTH = "/topics/getPartitionHealth/";
+
   public static final String URI_VALIDATE_SCHEMA = "/topics/schema/validate/compatibility";
   public static final String URI_AIVEN_SERVICE_ACCOUNT_DETAIL =
       "/topics/serviceAccountDetails/project/projectName/service/serviceName/user/userName";
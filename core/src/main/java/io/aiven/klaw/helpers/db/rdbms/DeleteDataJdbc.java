@@ -38,6 +38,15 @@ public class DeleteDataJdbc {
   @Autowired(required = false)
   MessageSchemaRepo messageSchemaRepo;
 
+  @Autowired(required = false)
+  MessageSchemaBodyRepo messageSchemaBodyRepo;
+
+  @Autowired(required = false)
+  KwMetricsSampleRepo kwMetricsSampleRepo;
+
+  @Autowired(required = false)
+  KwConsumerLagRepo kwConsumerLagRepo;
+
   @Autowired(required = false)
   EnvRepo envRepo;
 
@@ -344,7 +353,9 @@ public class DeleteDataJdbc {
     aclRepo.deleteByTenantId(tenantId);
 
     schemaRequestRepo.deleteByTenantId(tenantId);
+    List<String> schemaHashes = messageSchemaRepo.findSchemaHashesByTenantId(tenantId);
     messageSchemaRepo.deleteByTenantId(tenantId);
+    messageSchemaBodyRepo.deleteSchemaBodiesIfUnreferenced(schemaHashes);
 
     kafkaConnectorRepo.deleteByTenantId(tenantId);
     kafkaConnectorRequestsRepo.deleteByTenantId(tenantId);
@@ -352,15 +363,30 @@ public class DeleteDataJdbc {
     return ApiResultStatus.SUCCESS.value;
   }
 
+  @Transactional
+  public int deleteMetricsSamples(int resolution, long beforeBucketStart) {
+    return kwMetricsSampleRepo.deleteByResolutionAndBucketStartBefore(
+        resolution, beforeBucketStart);
+  }
+
+  @Transactional
+  public int deleteConsumerLagSamples(long beforeBucketStart) {
+    return kwConsumerLagRepo.deleteByBucketStartBefore(beforeBucketStart);
+  }
+
   @Transactional
   public void deleteSchemas(Topic topicObj) {
-    messageSchemaRepo.deleteByTenantIdAndTopicnameAndEnvironment(
+    deleteSchemasWithOptions(
         topicObj.getTenantId(), topicObj.getTopicname(), topicObj.getEnvironment());
   }
 
   @Transactional
   public void deleteSchemasWithOptions(int tenantId, String topicName, String schemaEnv) {
+    List<String> schemaHashes =
+        messageSchemaRepo.findSchemaHashesByTenantIdAndTopicnameAndEnvironment(
+            tenantId, topicName, schemaEnv);
     messageSchemaRepo.deleteByTenantIdAndTopicnameAndEnvironment(tenantId, topicName, schemaEnv);
+    messageSchemaBodyRepo.deleteSchemaBodiesIfUnreferenced(schemaHashes);
   }
 
   public String deleteAcls(List<Acl> listDeleteAcls, int tenantId) {
@@ -117,6 +117,27 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
     return jdbcInsertHelper.insertMetrics(kwMetrics);
   }
 
+  @Override
+  public String insertMetricsSamples(int tenantId, String env, List<KwMetricsSample> samples) {
+    return jdbcInsertHelper.insertMetricsSamples(tenantId, env, samples);
+  }
+
+  @Override
+  public String updateTopicPartitionHealth(
+      int tenantId,
+      String env,
+      boolean replaceAll,
+      List<KwTopicPartitionHealth> unhealthyTopics,
+      List<String> recoveredTopicNames) {
+    return jdbcInsertHelper.updateTopicPartitionHealth(
+        tenantId, env, replaceAll, unhealthyTopics, recoveredTopicNames);
+  }
+
+  @Override
+  public String insertConsumerLagSamples(int tenantId, String env, List<KwConsumerLag> samples) {
+    return jdbcInsertHelper.insertConsumerLagSamples(tenantId, env, samples);
+  }
+
   @Override
   public List<Topic> getAllTopicsByTopicNameAndTeamIdAndTenantId(
       String topicName, int teamId, int tenantId) {
@@ -719,6 +740,12 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
     return jdbcInsertHelper.insertIntoMessageSchemaSOT(schemaList);
   }
 
+  @Override
+  public String syncMessageSchemas(
+      int tenantId, String env, Map<String, List<MessageSchema>> schemasByTopic) {
+    return jdbcInsertHelper.syncMessageSchemas(tenantId, env, schemasByTopic);
+  }
+
   @Override
   public Integer getNextTopicRequestId(String idType, int tenantId) {
     return jdbcSelectHelper.getNextTopicRequestId(idType, tenantId);
@@ -834,6 +861,31 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
     return jdbcSelectHelper.selectAllMetrics(metricsType, metricsName, env);
   }
 
+  @Override
+  public List<KwMetricsSample> getMetricsSamples(
+      int tenantId,
+      String env,
+      String metricName,
+      String topicName,
+      int resolution,
+      long fromBucketStart) {
+    return jdbcSelectHelper.selectMetricsSamples(
+        tenantId, env, metricName, topicName, resolution, fromBucketStart);
+  }
+
+  @Override
+  public Optional<KwTopicPartitionHealth> getTopicPartitionHealth(
+      int tenantId, String env, String topicName) {
+    return jdbcSelectHelper.selectTopicPartitionHealth(tenantId, env, topicName);
+  }
+
+  @Override
+  public List<KwConsumerLag> getConsumerLagSamples(
+      int tenantId, String env, String consumerGroup, String topicName, long fromBucketStart) {
+    return jdbcSelectHelper.selectConsumerLagSamples(
+        tenantId, env, consumerGroup, topicName, fromBucketStart);
+  }
+
   @Override
   public Optional<MessageSchema> getFirstSchemaForTenantAndEnvAndTopicAndVersion(
       int tenantId, String schemaEnvId, String topicName, String schemaVersion) {
@@ -847,6 +899,13 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
     return jdbcSelectHelper.getSchemaForTenantAndEnvAndTopic(tenantId, schemaEnvId, topicName);
   }
 
+  @Override
+  public List<MessageSchema> getSchemasWithBodyForTenantAndEnvAndTopic(
+      int tenantId, String schemaEnvId, String topicName) {
+    return jdbcSelectHelper.getSchemasWithBodyForTenantAndEnvAndTopic(
+        tenantId, schemaEnvId, topicName);
+  }
+
   /*--------------------Update */
 
   @Override
@@ -1024,6 +1083,16 @@ public class HandleDbRequestsJdbc implements HandleDbRequests {
     jdbcDeleteHelper.deleteSchemasWithOptions(tenantId, topicName, schemaEnv);
   }
 
+  @Override
+  public int deleteMetricsSamples(int resolution, long beforeBucketStart) {
+    return jdbcDeleteHelper.deleteMetricsSamples(resolution, beforeBucketStart);
+  }
+
+  @Override
+  public int deleteConsumerLagSamples(long beforeBucketStart) {
+    return jdbcDeleteHelper.deleteConsumerLagSamples(beforeBucketStart);
+  }
+
   @Override
   public String deleteAllUsers(int tenantId) {
     return jdbcDeleteHelper.deleteAllUsers(tenantId);
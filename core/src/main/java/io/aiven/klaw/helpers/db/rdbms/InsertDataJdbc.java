@@ -1,21 +1,36 @@
 package io.aiven.klaw.helpers.db.rdbms;
 
+import com.google.common.collect.Lists;
 import io.aiven.klaw.dao.*;
 import io.aiven.klaw.model.enums.ApiResultStatus;
 import io.aiven.klaw.model.enums.EntityType;
+import io.aiven.klaw.model.enums.MetricsResolution;
 import io.aiven.klaw.model.enums.RequestStatus;
 import io.aiven.klaw.repository.*;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Component
 @Slf4j
@@ -23,6 +38,59 @@ public class InsertDataJdbc {
 
   public static final int DEFAULT_REQ_ID_NUMBER = 1001;
 
+  private static final String SELECT_STORED_SCHEMAS =
+      "select avroschemaid, topicname, versionschema, teamid, schemahash, schemaid, compatibility"
+          + " from kwavroschemas where tenantid = :tenantId and env = :env";
+  // locks the bodies which are reused, see MessageSchemaBodyRepo.deleteSchemaBodiesIfUnreferenced
+  private static final String SELECT_EXISTING_BODIES =
+      "select schemahash from kwschemabodies where schemahash in (:hashes)"
+          + " order by schemahash for update";
+  private static final String INSERT_BODY =
+      "insert into kwschemabodies (schemahash, schemafull) values (:hash, :schema)";
+  private static final String SELECT_METRICS_SAMPLES =
+      "select metricname, topicname, resolution, bucketstart, samplecount, sumvalue, maximumvalue"
+          + " from kwmetricssamples where tenantid = :tenantId and env = :env"
+          + " and bucketstart in (:bucketStarts)";
+  private static final String INSERT_METRICS_SAMPLE =
+      "insert into kwmetricssamples (tenantid, env, metricname, topicname, resolution, bucketstart,"
+          + " samplecount, sumvalue, maximumvalue) values (:tenantId, :env, :metricName,"
+          + " :topicName, :resolution, :bucketStart, :sampleCount, :sumValue, :maxValue)";
+  private static final String UPDATE_METRICS_SAMPLE =
+      "update kwmetricssamples set samplecount = :sampleCount, sumvalue = :sumValue,"
+          + " maximumvalue = :maxValue where tenantid = :tenantId and env = :env and metricname ="
+          + " :metricName and topicname = :topicName and resolution = :resolution"
+          + " and bucketstart = :bucketStart";
+  private static final String SELECT_CONSUMER_LAG =
+      "select consumergroup, topicname, samplecount, sumlag, maxlag from kwconsumerlag"
+          + " where tenantid = :tenantId and env = :env and bucketstart = :bucketStart";
+  private static final String INSERT_CONSUMER_LAG =
+      "insert into kwconsumerlag (tenantid, env, consumergroup, topicname, bucketstart,"
+          + " samplecount, sumlag, maxlag) values (:tenantId, :env, :consumerGroup, :topicName,"
+          + " :bucketStart, :sampleCount, :sumLag, :maxLag)";
+  private static final String UPDATE_CONSUMER_LAG =
+      "update kwconsumerlag set samplecount = :sampleCount, sumlag = :sumLag, maxlag = :maxLag"
+          + " where tenantid = :tenantId and env = :env and consumergroup = :consumerGroup"
+          + " and topicname = :topicName and bucketstart = :bucketStart";
+  // schema ids are handed out from kwentityseq, starting after the ids stored before it was used
+  private static final String SCHEMA_ID_SEQUENCE = "SCHEMA_ID";
+  private static final String CREATE_SCHEMA_ID_SEQUENCE =
+      "insert into kwentityseq (entity_name, tenantid, seq_id) select :entityName, :tenantId,"
+          + " ids.seq_id from (select coalesce(max(avroschemaid) + 1, :defaultId) as seq_id"
+          + " from kwavroschemas where tenantid = :tenantId) ids where not exists (select 1 from"
+          + " kwentityseq where entity_name = :entityName and tenantid = :tenantId)";
+  // the row stays locked until the transaction ends, so no other instance reserves the same ids
+  private static final String RESERVE_SEQ_IDS =
+      "update kwentityseq set seq_id = seq_id + :count"
+          + " where entity_name = :entityName and tenantid = :tenantId";
+  private static final String SELECT_SEQ_ID =
+      "select seq_id from kwentityseq where entity_name = :entityName and tenantid = :tenantId";
+  private static final String DELETE_SCHEMA =
+      "delete from kwavroschemas where avroschemaid = :id and tenantid = :tenantId";
+  private static final String INSERT_SCHEMA =
+      "insert into kwavroschemas (avroschemaid, tenantid, topicname, env, versionschema, teamid,"
+          + " schemahash, schemaid, compatibility, jsonparams) values (:id, :tenantId, :topicName,"
+          + " :env, :version, :teamId, :hash, :schemaId, :compatibility, :jsonParams)";
+
   @Autowired(required = false)
   private UserInfoRepo userInfoRepo;
 
@@ -86,6 +154,21 @@ public class InsertDataJdbc {
   @Autowired(required = false)
   private KwEntitySequenceRepo kwEntitySequenceRepo;
 
+  @Autowired(required = false)
+  private MessageSchemaBodyRepo messageSchemaBodyRepo;
+
+  @Autowired(required = false)
+  private KwTopicPartitionHealthRepo kwTopicPartitionHealthRepo;
+
+  @Autowired(required = false)
+  private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  @Autowired(required = false)
+  private TransactionTemplate transactionTemplate;
+
+  @Value("${klaw.schemas.sync.chunk.size:100}")
+  private int schemaSyncChunkSize;
+
   @Autowired private SelectDataJdbc jdbcSelectHelper;
 
   public InsertDataJdbc() {}
@@ -343,13 +426,215 @@ public class InsertDataJdbc {
     for (MessageSchema mSchema : schemas) {
       log.debug("insertIntoMessageSchemaSOT {}", mSchema.getTopicname());
       if (mSchema.getReq_no() == null) {
-        mSchema.setReq_no(getNextSchemaRequestId("SCHEMA_ID", mSchema.getTenantId()));
+        createSchemaIdSequenceIfMissing(mSchema.getTenantId());
       }
-      messageSchemaRepo.save(mSchema);
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            if (mSchema.getReq_no() == null) {
+              mSchema.setReq_no(reserveSchemaIds(mSchema.getTenantId(), 1));
+            }
+            // a body removed since it was read is saved again by the cascade
+            if (mSchema.getSchemaBody() != null) {
+              messageSchemaBodyRepo.lockSchemaBodies(
+                  List.of(mSchema.getSchemaBody().getSchemaHash()));
+            }
+            messageSchemaRepo.save(mSchema);
+          });
     }
     return ApiResultStatus.SUCCESS.value;
   }
 
+  /**
+   * Brings the stored schema versions of the given topics in line with the registry. Only versions
+   * which are new or changed are inserted, and only versions which are gone or changed are deleted,
+   * in JDBC batches with one transaction per chunk of topics.
+   *
+   * @param schemasByTopic all versions of every topic to sync, as found in the schema registry
+   */
+  public synchronized String syncMessageSchemas(
+      int tenantId, String env, Map<String, List<MessageSchema>> schemasByTopic) {
+    Map<String, List<StoredMessageSchema>> storedSchemasByTopic =
+        namedParameterJdbcTemplate
+            .query(
+                SELECT_STORED_SCHEMAS,
+                Map.of("tenantId", tenantId, "env", env),
+                (resultSet, rowNum) ->
+                    new StoredMessageSchema(
+                        resultSet.getInt("avroschemaid"),
+                        resultSet.getString("topicname"),
+                        resultSet.getString("versionschema"),
+                        (Integer) resultSet.getObject("teamid"),
+                        resultSet.getString("schemahash"),
+                        (Integer) resultSet.getObject("schemaid"),
+                        resultSet.getString("compatibility")))
+            .stream()
+            .filter(storedSchema -> schemasByTopic.containsKey(storedSchema.getTopicName()))
+            .collect(Collectors.groupingBy(StoredMessageSchema::getTopicName));
+
+    createSchemaIdSequenceIfMissing(tenantId);
+    int inserted = 0;
+    int deleted = 0;
+    Set<String> deletedSchemaHashes = new HashSet<>();
+    for (List<String> topicNames :
+        Lists.partition(new ArrayList<>(schemasByTopic.keySet()), schemaSyncChunkSize)) {
+      List<MessageSchema> schemasToInsert = new ArrayList<>();
+      List<Integer> schemaIdsToDelete = new ArrayList<>();
+      for (String topicName : topicNames) {
+        Map<String, StoredMessageSchema> storedVersions =
+            storedSchemasByTopic.getOrDefault(topicName, List.of()).stream()
+                .collect(
+                    Collectors.toMap(
+                        StoredMessageSchema::getSchemaVersion,
+                        Function.identity(),
+                        (s1, s2) -> s1));
+        Set<Integer> unchangedSchemaIds = new HashSet<>();
+        for (MessageSchema schema : schemasByTopic.get(topicName)) {
+          StoredMessageSchema storedSchema = storedVersions.get(schema.getSchemaversion());
+          if (storedSchema != null && storedSchema.isSameAs(schema)) {
+            unchangedSchemaIds.add(storedSchema.getId());
+          } else {
+            schemasToInsert.add(schema);
+          }
+        }
+        storedSchemasByTopic.getOrDefault(topicName, List.of()).stream()
+            .filter(storedSchema -> !unchangedSchemaIds.contains(storedSchema.getId()))
+            .forEach(
+                storedSchema -> {
+                  schemaIdsToDelete.add(storedSchema.getId());
+                  deletedSchemaHashes.add(storedSchema.getSchemaHash());
+                });
+      }
+
+      if (!schemasToInsert.isEmpty() || !schemaIdsToDelete.isEmpty()) {
+        transactionTemplate.executeWithoutResult(
+            status -> applySchemaChanges(tenantId, schemasToInsert, schemaIdsToDelete));
+        inserted += schemasToInsert.size();
+        deleted += schemaIdsToDelete.size();
+      }
+    }
+
+    if (!deletedSchemaHashes.isEmpty()) {
+      transactionTemplate.executeWithoutResult(
+          status -> messageSchemaBodyRepo.deleteSchemaBodiesIfUnreferenced(deletedSchemaHashes));
+    }
+    log.info(
+        "syncMessageSchemas {} topics in env {}: {} versions inserted, {} deleted",
+        schemasByTopic.size(),
+        env,
+        inserted,
+        deleted);
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  private void applySchemaChanges(
+      int tenantId, List<MessageSchema> schemasToInsert, List<Integer> schemaIdsToDelete) {
+    if (!schemaIdsToDelete.isEmpty()) {
+      namedParameterJdbcTemplate.batchUpdate(
+          DELETE_SCHEMA,
+          schemaIdsToDelete.stream()
+              .map(
+                  id ->
+                      new MapSqlParameterSource().addValue("id", id).addValue("tenantId", tenantId))
+              .toArray(SqlParameterSource[]::new));
+    }
+    if (schemasToInsert.isEmpty()) {
+      return;
+    }
+
+    Map<String, String> newBodies = new HashMap<>();
+    schemasToInsert.stream()
+        .map(MessageSchema::getSchemaBody)
+        .filter(Objects::nonNull)
+        .forEach(body -> newBodies.putIfAbsent(body.getSchemaHash(), body.getSchemafull()));
+    if (!newBodies.isEmpty()) {
+      namedParameterJdbcTemplate
+          .queryForList(SELECT_EXISTING_BODIES, Map.of("hashes", newBodies.keySet()), String.class)
+          .forEach(newBodies::remove);
+      namedParameterJdbcTemplate.batchUpdate(
+          INSERT_BODY,
+          newBodies.entrySet().stream()
+              .map(
+                  body ->
+                      new MapSqlParameterSource()
+                          .addValue("hash", body.getKey())
+                          .addValue("schema", body.getValue()))
+              .toArray(SqlParameterSource[]::new));
+    }
+
+    int nextId = reserveSchemaIds(tenantId, schemasToInsert.size());
+    List<SqlParameterSource> rows = new ArrayList<>();
+    for (MessageSchema schema : schemasToInsert) {
+      schema.setReq_no(nextId++);
+      schema.setTenantId(tenantId);
+      rows.add(
+          new MapSqlParameterSource()
+              .addValue("id", schema.getReq_no())
+              .addValue("tenantId", tenantId)
+              .addValue("topicName", schema.getTopicname())
+              .addValue("env", schema.getEnvironment())
+              .addValue("version", schema.getSchemaversion())
+              .addValue("teamId", schema.getTeamId())
+              .addValue(
+                  "hash",
+                  schema.getSchemaBody() == null ? null : schema.getSchemaBody().getSchemaHash())
+              .addValue("schemaId", schema.getSchemaId())
+              .addValue("compatibility", schema.getCompatibility())
+              .addValue("jsonParams", schema.getJsonParams()));
+    }
+    namedParameterJdbcTemplate.batchUpdate(INSERT_SCHEMA, rows.toArray(SqlParameterSource[]::new));
+  }
+
+  private void createSchemaIdSequenceIfMissing(int tenantId) {
+    try {
+      namedParameterJdbcTemplate.update(
+          CREATE_SCHEMA_ID_SEQUENCE,
+          Map.of(
+              "entityName",
+              SCHEMA_ID_SEQUENCE,
+              "tenantId",
+              tenantId,
+              "defaultId",
+              DEFAULT_REQ_ID_NUMBER));
+    } catch (DuplicateKeyException e) {
+      log.debug("Schema id sequence of tenant {} was created concurrently", tenantId);
+    }
+  }
+
+  /**
+   * Reserves count consecutive schema ids of the tenant with a single update of kwentityseq and
+   * returns the first one. Must run in the transaction which inserts the schemas, after {@link
+   * #createSchemaIdSequenceIfMissing(int)}.
+   */
+  private int reserveSchemaIds(int tenantId, int count) {
+    Map<String, Object> params =
+        Map.of("entityName", SCHEMA_ID_SEQUENCE, "tenantId", tenantId, "count", count);
+    namedParameterJdbcTemplate.update(RESERVE_SEQ_IDS, params);
+    Integer nextId =
+        namedParameterJdbcTemplate.queryForObject(SELECT_SEQ_ID, params, Integer.class);
+    return Objects.requireNonNull(nextId) - count;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class StoredMessageSchema {
+    private final int id;
+    private final String topicName;
+    private final String schemaVersion;
+    private final Integer teamId;
+    private final String schemaHash;
+    private final Integer schemaId;
+    private final String compatibility;
+
+    boolean isSameAs(MessageSchema schema) {
+      return Objects.equals(teamId, schema.getTeamId())
+          && Objects.equals(
+              schemaHash,
+              schema.getSchemaBody() == null ? null : schema.getSchemaBody().getSchemaHash())
+          && Objects.equals(schemaId, schema.getSchemaId())
+          && Objects.equals(compatibility, schema.getCompatibility());
+    }
+  }
+
   public String insertIntoUsers(UserInfo userInfo) {
     log.debug("insertIntoUsers {}", userInfo.getUsername());
     Optional<UserInfo> userExists = userInfoRepo.findById(userInfo.getUsername());
@@ -526,8 +811,6 @@ public class InsertDataJdbc {
     Integer schemaReqId = null;
     if ("SCHEMA_REQ_ID".equals(idType)) {
       schemaReqId = schemaRequestRepo.getNextSchemaRequestId(tenantId);
-    } else if ("SCHEMA_ID".equals(idType)) {
-      schemaReqId = messageSchemaRepo.getNextSchemaId(tenantId);
     }
 
     return schemaReqId == null ? DEFAULT_REQ_ID_NUMBER : schemaReqId + 1;
@@ -572,6 +855,151 @@ public class InsertDataJdbc {
     return ApiResultStatus.SUCCESS.value;
   }
 
+  /**
+   * Adds one-minute samples of an environment to the buckets of every resolution, so that coarser
+   * resolutions never have to be computed from the finer ones at read time.
+   */
+  public String insertMetricsSamples(int tenantId, String env, List<KwMetricsSample> samples) {
+    Map<KwMetricsSampleID, KwMetricsSample> buckets = new LinkedHashMap<>();
+    for (KwMetricsSample sample : samples) {
+      for (MetricsResolution resolution : MetricsResolution.values()) {
+        KwMetricsSample bucket =
+            KwMetricsSample.builder()
+                .tenantId(tenantId)
+                .env(env)
+                .metricName(sample.getMetricName())
+                .topicName(sample.getTopicName())
+                .resolution(resolution.minutes)
+                .bucketStart(resolution.getBucketStart(sample.getBucketStart()))
+                .sampleCount(sample.getSampleCount())
+                .sumValue(sample.getSumValue())
+                .maxValue(sample.getMaxValue())
+                .build();
+        buckets.merge(bucket.getId(), bucket, InsertDataJdbc::addToMetricsSample);
+      }
+    }
+    Set<Long> bucketStarts =
+        buckets.keySet().stream()
+            .map(KwMetricsSampleID::getBucketStart)
+            .collect(Collectors.toSet());
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          // the stored buckets are read with one query per environment and run, then written in
+          // two JDBC batches
+          List<SqlParameterSource> updates = new ArrayList<>();
+          for (KwMetricsSample storedBucket :
+              namedParameterJdbcTemplate.query(
+                  SELECT_METRICS_SAMPLES,
+                  Map.of("tenantId", tenantId, "env", env, "bucketStarts", bucketStarts),
+                  (resultSet, rowNum) ->
+                      KwMetricsSample.builder()
+                          .tenantId(tenantId)
+                          .env(env)
+                          .metricName(resultSet.getString("metricname"))
+                          .topicName(resultSet.getString("topicname"))
+                          .resolution(resultSet.getInt("resolution"))
+                          .bucketStart(resultSet.getLong("bucketstart"))
+                          .sampleCount(resultSet.getInt("samplecount"))
+                          .sumValue(resultSet.getDouble("sumvalue"))
+                          .maxValue(resultSet.getDouble("maximumvalue"))
+                          .build())) {
+            KwMetricsSample bucket = buckets.remove(storedBucket.getId());
+            if (bucket != null) {
+              if (storedBucket.getSampleCount() > 0) {
+                addToMetricsSample(bucket, storedBucket);
+              }
+              updates.add(new BeanPropertySqlParameterSource(bucket));
+            }
+          }
+          namedParameterJdbcTemplate.batchUpdate(
+              UPDATE_METRICS_SAMPLE, updates.toArray(SqlParameterSource[]::new));
+          namedParameterJdbcTemplate.batchUpdate(
+              INSERT_METRICS_SAMPLE,
+              buckets.values().stream()
+                  .map(BeanPropertySqlParameterSource::new)
+                  .toArray(SqlParameterSource[]::new));
+        });
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  /** Adds lag samples of an environment, all of the same hourly bucket, to the stored buckets. */
+  public String insertConsumerLagSamples(int tenantId, String env, List<KwConsumerLag> samples) {
+    Map<KwConsumerLagID, KwConsumerLag> buckets = new LinkedHashMap<>();
+    for (KwConsumerLag sample : samples) {
+      buckets.put(sample.getId(), sample);
+    }
+    long bucketStart = samples.get(0).getBucketStart();
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          // as for metrics samples, one query for the stored buckets and two JDBC batches
+          List<SqlParameterSource> updates = new ArrayList<>();
+          for (KwConsumerLag storedBucket :
+              namedParameterJdbcTemplate.query(
+                  SELECT_CONSUMER_LAG,
+                  Map.of("tenantId", tenantId, "env", env, "bucketStart", bucketStart),
+                  (resultSet, rowNum) ->
+                      KwConsumerLag.builder()
+                          .tenantId(tenantId)
+                          .env(env)
+                          .consumerGroup(resultSet.getString("consumergroup"))
+                          .topicName(resultSet.getString("topicname"))
+                          .bucketStart(bucketStart)
+                          .sampleCount(resultSet.getInt("samplecount"))
+                          .sumLag(resultSet.getLong("sumlag"))
+                          .maxLag(resultSet.getLong("maxlag"))
+                          .build())) {
+            KwConsumerLag bucket = buckets.remove(storedBucket.getId());
+            if (bucket != null) {
+              bucket.setMaxLag(Math.max(storedBucket.getMaxLag(), bucket.getMaxLag()));
+              bucket.setSampleCount(storedBucket.getSampleCount() + bucket.getSampleCount());
+              bucket.setSumLag(storedBucket.getSumLag() + bucket.getSumLag());
+              updates.add(new BeanPropertySqlParameterSource(bucket));
+            }
+          }
+          namedParameterJdbcTemplate.batchUpdate(
+              UPDATE_CONSUMER_LAG, updates.toArray(SqlParameterSource[]::new));
+          namedParameterJdbcTemplate.batchUpdate(
+              INSERT_CONSUMER_LAG,
+              buckets.values().stream()
+                  .map(BeanPropertySqlParameterSource::new)
+                  .toArray(SqlParameterSource[]::new));
+        });
+    return ApiResultStatus.SUCCESS.value;
+  }
+
+  private static KwMetricsSample addToMetricsSample(
+      KwMetricsSample bucket, KwMetricsSample samples) {
+    bucket.setMaxValue(
+        bucket.getSampleCount() == 0
+            ? samples.getMaxValue()
+            : Math.max(bucket.getMaxValue(), samples.getMaxValue()));
+    bucket.setSampleCount(bucket.getSampleCount() + samples.getSampleCount());
+    bucket.setSumValue(bucket.getSumValue() + samples.getSumValue());
+    return bucket;
+  }
+
+  public String updateTopicPartitionHealth(
+      int tenantId,
+      String env,
+      boolean replaceAll,
+      List<KwTopicPartitionHealth> unhealthyTopics,
+      List<String> recoveredTopicNames) {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          if (replaceAll) {
+            kwTopicPartitionHealthRepo.deleteByTenantIdAndEnv(tenantId, env);
+          } else {
+            for (List<String> topicNames : Lists.partition(recoveredTopicNames, 1000)) {
+              kwTopicPartitionHealthRepo.deleteByTenantIdAndEnvAndTopicNameIn(
+                  tenantId, env, topicNames);
+            }
+          }
+          kwTopicPartitionHealthRepo.saveAll(unhealthyTopics);
+        });
+    return ApiResultStatus.SUCCESS.value;
+  }
+
   public String insertDefaultKwProperties(List<KwProperties> kwPropertiesList) {
     kwPropertiesRepo.saveAll(kwPropertiesList);
     return ApiResultStatus.SUCCESS.value;
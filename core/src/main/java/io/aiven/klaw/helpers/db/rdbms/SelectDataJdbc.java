@@ -95,6 +95,15 @@ public class SelectDataJdbc {
   @Autowired(required = false)
   private KwMetricsRepo kwMetricsRepo;
 
+  @Autowired(required = false)
+  private KwMetricsSampleRepo kwMetricsSampleRepo;
+
+  @Autowired(required = false)
+  private KwTopicPartitionHealthRepo kwTopicPartitionHealthRepo;
+
+  @Autowired(required = false)
+  private KwConsumerLagRepo kwConsumerLagRepo;
+
   @Autowired(required = false)
   private ProductDetailsRepo productDetailsRepo;
 
@@ -1278,6 +1287,31 @@ public class SelectDataJdbc {
     return totalTopicCount;
   }
 
+  public List<KwMetricsSample> selectMetricsSamples(
+      int tenantId,
+      String env,
+      String metricName,
+      String topicName,
+      int resolution,
+      long fromBucketStart) {
+    return kwMetricsSampleRepo
+        .findAllByTenantIdAndEnvAndMetricNameAndTopicNameAndResolutionAndBucketStartGreaterThanEqualOrderByBucketStart(
+            tenantId, env, metricName, topicName, resolution, fromBucketStart);
+  }
+
+  public Optional<KwTopicPartitionHealth> selectTopicPartitionHealth(
+      int tenantId, String env, String topicName) {
+    return kwTopicPartitionHealthRepo.findById(
+        new KwTopicPartitionHealthID(tenantId, env, topicName));
+  }
+
+  public List<KwConsumerLag> selectConsumerLagSamples(
+      int tenantId, String env, String consumerGroup, String topicName, long fromBucketStart) {
+    return kwConsumerLagRepo
+        .findAllByTenantIdAndEnvAndConsumerGroupAndTopicNameAndBucketStartGreaterThanEqualOrderByBucketStart(
+            tenantId, env, consumerGroup, topicName, fromBucketStart);
+  }
+
   public List<Map<String, String>> selectAllMetrics(
       String metricsType, String metricsName, String env) {
     List<Map<String, String>> metricsCount = new ArrayList<>();
@@ -1789,6 +1823,12 @@ public class SelectDataJdbc {
         tenantId, topicName, schemaEnvId);
   }
 
+  public List<MessageSchema> getSchemasWithBodyForTenantAndEnvAndTopic(
+      int tenantId, String schemaEnvId, String topicName) {
+    return messageSchemaRepo.findAllWithSchemaBodyByTenantIdAndTopicnameAndEnvironment(
+        tenantId, topicName, schemaEnvId);
+  }
+
   public List<KwClusters> getClusters() {
     return Lists.newArrayList(kwClusterRepo.findAll());
   }
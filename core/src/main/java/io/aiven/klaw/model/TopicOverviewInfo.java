@@ -1,5 +1,7 @@
 package io.aiven.klaw.model;
 
+import io.aiven.klaw.model.cluster.TopicMetrics;
+import io.aiven.klaw.model.cluster.partitionhealth.TopicPartitionHealth;
 import jakarta.validation.constraints.NotNull;
 import java.util.Map;
 import lombok.Data;
@@ -36,4 +38,8 @@ public class TopicOverviewInfo extends TopicBaseInfo {
   @NotNull private Integer clusterId;
 
   private Map<String, String> advancedTopicConfiguration;
+
+  private TopicMetrics topicMetrics;
+
+  private TopicPartitionHealth partitionHealth;
 }
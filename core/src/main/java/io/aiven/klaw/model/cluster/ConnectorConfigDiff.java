@@ -0,0 +1,16 @@
+package io.aiven.klaw.model.cluster;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class ConnectorConfigDiff {
+  private String connectorName;
+
+  /** Changes whenever the config on the cluster changes. */
+  private String configVersion;
+
+  private boolean inSync;
+
+  private List<ConnectorConfigDiffEntry> differences;
+}
@@ -0,0 +1,20 @@
+package io.aiven.klaw.model.cluster;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A key whose value differs between Klaw and the cluster. The stored value is null for keys only
+ * set on the cluster, the live value for keys only set in Klaw. Sensitive values are masked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectorConfigDiffEntry {
+  private String key;
+
+  private String storedValue;
+
+  private String liveValue;
+}
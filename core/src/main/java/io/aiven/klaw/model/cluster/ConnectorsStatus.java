@@ -6,4 +6,7 @@ import lombok.Data;
 @Data
 public class ConnectorsStatus {
   List<ConnectorState> connectorStateList;
+
+  // connectors listed by the cluster whose status could not be read
+  List<String> failedConnectors;
 }
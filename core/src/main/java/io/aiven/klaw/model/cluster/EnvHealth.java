@@ -0,0 +1,32 @@
+package io.aiven.klaw.model.cluster;
+
+import io.aiven.klaw.model.enums.ClusterStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status of an environment as of its last check through cluster api. The last error is kept after
+ * the environment recovered.
+ */
+@Data
+@NoArgsConstructor
+public class EnvHealth {
+  private int tenantId;
+
+  private String envId;
+
+  private String envName;
+
+  private String envType;
+
+  private ClusterStatus status;
+
+  // round trip of the last check through cluster api
+  private long latencyMs;
+
+  private long checkedAtMs;
+
+  private String lastError;
+
+  private Long lastErrorAtMs;
+}
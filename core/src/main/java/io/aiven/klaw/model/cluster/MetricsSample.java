@@ -0,0 +1,20 @@
+package io.aiven.klaw.model.cluster;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One-minute rate of a broker topic metric summed over the brokers of a cluster, null topic name
+ * for the total over all topics.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsSample {
+  private String metricName;
+
+  private String topicName;
+
+  private double value;
+}
@@ -0,0 +1,24 @@
+package io.aiven.klaw.model.cluster;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Throughput and size of a topic as of the last background sample of its cluster by cluster api.
+ * Values are null while not sampled yet, and rates until the cluster was sampled twice.
+ */
+@Data
+@NoArgsConstructor
+public class TopicMetrics {
+  private String topicName;
+
+  private Double messagesInPerSec;
+
+  private Double bytesInPerSec;
+
+  private Long sizeBytes;
+
+  private Long replicatedSizeBytes;
+
+  private Long sampledAtMs;
+}
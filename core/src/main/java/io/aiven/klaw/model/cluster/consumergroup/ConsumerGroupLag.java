@@ -0,0 +1,20 @@
+package io.aiven.klaw.model.cluster.consumergroup;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Lag of a consumer group on a topic, between its committed offsets and the end offsets. */
+@Data
+@NoArgsConstructor
+public class ConsumerGroupLag {
+  private String consumerGroup;
+
+  private String topicName;
+
+  // partitions of the topic the group committed an offset for
+  private int partitions;
+
+  private long totalLag;
+
+  private long maxPartitionLag;
+}
@@ -0,0 +1,39 @@
+package io.aiven.klaw.model.cluster.multicluster;
+
+import io.aiven.klaw.model.enums.AclsNativeType;
+import io.aiven.klaw.model.enums.ClusterQueryType;
+import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A query of one Kafka cluster in a multi cluster request to cluster api. The query id is returned
+ * with the result, Klaw uses the env id.
+ */
+@Data
+@NoArgsConstructor
+public class ClusterQuery {
+  private String queryId;
+
+  private String bootstrapServers;
+
+  private KafkaSupportedProtocol protocol;
+
+  private String clusterIdentification;
+
+  private ClusterQueryType queryType;
+
+  // the flavor of the cluster, cluster api assumes NATIVE when not set
+  private AclsNativeType aclsNativeType;
+
+  // AIVEN
+  private String projectName;
+
+  private String serviceName;
+
+  // TOPIC_METRICS
+  private String topicName;
+
+  // the default timeout of cluster api applies when not set
+  private Long timeoutMs;
+}
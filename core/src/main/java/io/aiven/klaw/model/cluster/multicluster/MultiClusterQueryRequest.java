@@ -0,0 +1,16 @@
+package io.aiven.klaw.model.cluster.multicluster;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiClusterQueryRequest {
+  /** Queries which cluster api accepts in one request. */
+  public static final int MAX_QUERIES = 64;
+
+  private List<ClusterQuery> queries;
+}
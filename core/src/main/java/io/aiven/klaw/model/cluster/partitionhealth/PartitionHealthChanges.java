@@ -0,0 +1,23 @@
+package io.aiven.klaw.model.cluster.partitionhealth;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partition health of the topics of a cluster which changed since a version read before. A full
+ * snapshot holds all unhealthy topics and replaces what was read before, otherwise recovered topics
+ * are included as healthy. Version 0 means the cluster was not scanned yet.
+ */
+@Data
+@NoArgsConstructor
+public class PartitionHealthChanges {
+  private long epoch;
+
+  private long version;
+
+  private boolean fullSnapshot;
+
+  private List<TopicPartitionHealth> changedTopics = new ArrayList<>();
+}
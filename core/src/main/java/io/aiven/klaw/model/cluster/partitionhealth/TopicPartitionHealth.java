@@ -0,0 +1,30 @@
+package io.aiven.klaw.model.cluster.partitionhealth;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partition counts of a topic per health problem, as of the last scan of its cluster by cluster
+ * api.
+ */
+@Data
+@NoArgsConstructor
+public class TopicPartitionHealth {
+  private String topicName;
+
+  private int partitions;
+
+  private int underReplicated;
+
+  private int underMinIsr;
+
+  private int offline;
+
+  private int leaderSkewed;
+
+  @JsonIgnore
+  public boolean isHealthy() {
+    return underReplicated == 0 && underMinIsr == 0 && offline == 0 && leaderSkewed == 0;
+  }
+}
@@ -0,0 +1,21 @@
+package io.aiven.klaw.model.cluster.storage;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Disk usage of the log dirs of a broker. Capacity is null for brokers older than Kafka 3.3. */
+@Data
+@NoArgsConstructor
+public class BrokerStorage {
+  private int brokerId;
+
+  private String host;
+
+  private int logDirs;
+
+  private long sizeBytes;
+
+  private Long totalBytes;
+
+  private Long usableBytes;
+}
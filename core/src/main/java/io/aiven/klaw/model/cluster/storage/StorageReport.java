@@ -0,0 +1,22 @@
+package io.aiven.klaw.model.cluster.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Disk usage of a cluster per broker and per topic, as cached by cluster api, and per owning team
+ * as added by Klaw.
+ */
+@Data
+@NoArgsConstructor
+public class StorageReport {
+  private List<BrokerStorage> brokers = new ArrayList<>();
+
+  private List<TopicStorage> topics = new ArrayList<>();
+
+  private List<TeamStorage> teams = new ArrayList<>();
+
+  private long generatedAtMs;
+}
@@ -0,0 +1,21 @@
+package io.aiven.klaw.model.cluster.storage;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Disk usage of the topics a team owns on an environment. */
+@Data
+@NoArgsConstructor
+public class TeamStorage {
+  private Integer teamId;
+
+  private String teamName;
+
+  private int topics;
+
+  private int partitions;
+
+  private long sizeBytes;
+
+  private long replicatedSizeBytes;
+}
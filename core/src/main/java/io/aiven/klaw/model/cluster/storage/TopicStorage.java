@@ -0,0 +1,17 @@
+package io.aiven.klaw.model.cluster.storage;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Disk usage of a topic, one copy and all replicas on all brokers. */
+@Data
+@NoArgsConstructor
+public class TopicStorage {
+  private String topicName;
+
+  private int partitions;
+
+  private long sizeBytes;
+
+  private long replicatedSizeBytes;
+}
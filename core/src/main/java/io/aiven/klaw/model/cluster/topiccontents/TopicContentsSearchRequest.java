@@ -0,0 +1,37 @@
+package io.aiven.klaw.model.cluster.topiccontents;
+
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class TopicContentsSearchRequest implements Serializable {
+
+  @NotNull private String topicName;
+
+  private String consumerGroupId;
+
+  // inclusive lower bound of the record timestamp, reads from the beginning when not set
+  private Long fromTimestampMilliSecs;
+
+  // inclusive upper bound of the record timestamp, reads until the current end when not set
+  private Long toTimestampMilliSecs;
+
+  private String keyFilter;
+
+  private String valueFilter;
+
+  // when true key and value filters are regular expressions, otherwise substrings
+  private boolean regexFilter;
+
+  // stop the search once this many matches are found, capped by the cluster api configuration
+  private Integer maxResults;
+}
@@ -0,0 +1,14 @@
+package io.aiven.klaw.model.enums;
+
+/** Queries cluster api runs on several clusters in one request. */
+public enum ClusterQueryType {
+  TOPICS("TOPICS"),
+  ACLS("ACLS"),
+  TOPIC_METRICS("TOPIC_METRICS");
+
+  public final String value;
+
+  ClusterQueryType(String value) {
+    this.value = value;
+  }
+}
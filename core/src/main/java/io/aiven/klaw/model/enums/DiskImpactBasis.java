@@ -0,0 +1,17 @@
+package io.aiven.klaw.model.enums;
+
+/** What the projected disk usage of a requested topic is based on. */
+public enum DiskImpactBasis {
+  // retention.bytes of the request, the most a partition can hold
+  RETENTION_BYTES("RETENTION_BYTES"),
+  // average partition size of the topics of the requesting team on the environment
+  TEAM_AVERAGE("TEAM_AVERAGE"),
+  // average partition size of all topics on the environment
+  CLUSTER_AVERAGE("CLUSTER_AVERAGE");
+
+  public final String value;
+
+  DiskImpactBasis(String value) {
+    this.value = value;
+  }
+}
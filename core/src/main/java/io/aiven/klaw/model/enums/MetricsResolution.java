@@ -0,0 +1,19 @@
+package io.aiven.klaw.model.enums;
+
+/** Bucket sizes of stored metrics samples, every sample is added to a bucket of each size. */
+public enum MetricsResolution {
+  ONE_MINUTE(1),
+  FIFTEEN_MINUTES(15),
+  ONE_HOUR(60);
+
+  public final int minutes;
+
+  MetricsResolution(int minutes) {
+    this.minutes = minutes;
+  }
+
+  public long getBucketStart(long timeMs) {
+    long bucketMs = minutes * 60_000L;
+    return timeMs - Math.floorMod(timeMs, bucketMs);
+  }
+}
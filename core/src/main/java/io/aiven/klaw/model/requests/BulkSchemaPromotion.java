@@ -0,0 +1,13 @@
+package io.aiven.klaw.model.requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BulkSchemaPromotion {
+  @NotEmpty @Valid private List<SchemaPromotion> schemaPromotions;
+}
@@ -3,6 +3,7 @@ package io.aiven.klaw.model.requests;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.io.Serializable;
 import java.util.List;
 import lombok.Getter;
@@ -44,4 +45,6 @@ public class TeamModel implements Serializable {
   private String tenantName;
 
   private List<String> envList;
+
+  @PositiveOrZero private Long consumerLagThreshold;
 }
@@ -0,0 +1,16 @@
+package io.aiven.klaw.model.response;
+
+import java.io.Serializable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Lag of a consumer group on a topic during one hour, from the samples of the lag monitor. */
+@Data
+@NoArgsConstructor
+public class ConsumerLagSample implements Serializable {
+  private long bucketStartMs;
+
+  private long averageLag;
+
+  private long maxLag;
+}
@@ -14,4 +14,8 @@ public class EnvUpdatedStatus {
   @NotNull private LocalDateTime envStatusTime;
 
   @NotNull private String envStatusTimeString;
+
+  private Long latencyMs;
+
+  private String lastError;
 }
@@ -57,6 +57,9 @@ public class KafkaConnectorModelResponse {
 
   private String remarks;
 
+  /** Whether the config on the cluster matches the one in Klaw, not set if it was not compared. */
+  private Boolean configInSync;
+
   private String documentation;
 
   private String description;
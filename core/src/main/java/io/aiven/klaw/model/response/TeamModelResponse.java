@@ -34,4 +34,6 @@ public class TeamModelResponse implements Serializable {
   private String teammail;
 
   private List<String> envList;
+
+  private Long consumerLagThreshold;
 }
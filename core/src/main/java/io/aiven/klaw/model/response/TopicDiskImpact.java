@@ -0,0 +1,27 @@
+package io.aiven.klaw.model.response;
+
+import io.aiven.klaw.model.enums.DiskImpactBasis;
+import java.io.Serializable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Projected disk usage of a requested topic, with all its replicas, next to the current usage of
+ * the cluster and the requesting team, from the cached storage report of the cluster.
+ */
+@Data
+@NoArgsConstructor
+public class TopicDiskImpact implements Serializable {
+  private long projectedBytes;
+
+  private DiskImpactBasis projectionBasis;
+
+  private long clusterUsedBytes;
+
+  // free space of the brokers, null when the brokers do not report their capacity
+  private Long clusterUsableBytes;
+
+  private long teamUsedBytes;
+
+  private long reportGeneratedAtMs;
+}
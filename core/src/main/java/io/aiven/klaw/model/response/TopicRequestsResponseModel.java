@@ -34,4 +34,6 @@ public class TopicRequestsResponseModel extends BaseRequestsResponseModel implem
   private String otherParams;
 
   private List<String> possibleTeams;
+
+  private TopicDiskImpact projectedDiskImpact;
 }
@@ -0,0 +1,20 @@
+package io.aiven.klaw.repository;
+
+import io.aiven.klaw.dao.KwConsumerLag;
+import io.aiven.klaw.dao.KwConsumerLagID;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface KwConsumerLagRepo extends CrudRepository<KwConsumerLag, KwConsumerLagID> {
+
+  List<KwConsumerLag>
+      findAllByTenantIdAndEnvAndConsumerGroupAndTopicNameAndBucketStartGreaterThanEqualOrderByBucketStart(
+          Integer tenantId, String env, String consumerGroup, String topicName, Long bucketStart);
+
+  @Modifying(flushAutomatically = true)
+  @Query(value = "delete from kwconsumerlag where bucketstart < :before", nativeQuery = true)
+  int deleteByBucketStartBefore(@Param("before") Long before);
+}
@@ -0,0 +1,29 @@
+package io.aiven.klaw.repository;
+
+import io.aiven.klaw.dao.KwMetricsSample;
+import io.aiven.klaw.dao.KwMetricsSampleID;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface KwMetricsSampleRepo extends CrudRepository<KwMetricsSample, KwMetricsSampleID> {
+
+  List<KwMetricsSample>
+      findAllByTenantIdAndEnvAndMetricNameAndTopicNameAndResolutionAndBucketStartGreaterThanEqualOrderByBucketStart(
+          Integer tenantId,
+          String env,
+          String metricName,
+          String topicName,
+          Integer resolution,
+          Long bucketStart);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      value =
+          "delete from kwmetricssamples where resolution = :resolution and bucketstart < :before",
+      nativeQuery = true)
+  int deleteByResolutionAndBucketStartBefore(
+      @Param("resolution") Integer resolution, @Param("before") Long before);
+}
@@ -0,0 +1,30 @@
+package io.aiven.klaw.repository;
+
+import io.aiven.klaw.dao.KwTopicPartitionHealth;
+import io.aiven.klaw.dao.KwTopicPartitionHealthID;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface KwTopicPartitionHealthRepo
+    extends CrudRepository<KwTopicPartitionHealth, KwTopicPartitionHealthID> {
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      value = "delete from kwtopicpartitionhealth where tenantid = :tenantId and env = :env",
+      nativeQuery = true)
+  int deleteByTenantIdAndEnv(@Param("tenantId") Integer tenantId, @Param("env") String env);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      value =
+          "delete from kwtopicpartitionhealth where tenantid = :tenantId and env = :env"
+              + " and topicname in (:topicNames)",
+      nativeQuery = true)
+  int deleteByTenantIdAndEnvAndTopicNameIn(
+      @Param("tenantId") Integer tenantId,
+      @Param("env") String env,
+      @Param("topicNames") Collection<String> topicNames);
+}
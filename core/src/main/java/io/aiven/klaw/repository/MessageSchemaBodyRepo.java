@@ -0,0 +1,53 @@
+package io.aiven.klaw.repository;
+
+import com.google.common.collect.Lists;
+import io.aiven.klaw.dao.MessageSchemaBody;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface MessageSchemaBodyRepo extends CrudRepository<MessageSchemaBody, String> {
+
+  int DELETE_CHUNK_SIZE = 500;
+
+  /**
+   * Locks the given bodies until the end of the transaction. A schema version which reuses a body
+   * locks it before it is saved, so the body cannot be deleted in between.
+   */
+  @Query(
+      value =
+          "select schemahash from kwschemabodies where schemahash in (:schemaHashes) "
+              + "order by schemahash for update",
+      nativeQuery = true)
+  List<String> lockSchemaBodies(@Param("schemaHashes") Collection<String> schemaHashes);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      value =
+          "delete from kwschemabodies where schemahash in (:schemaHashes) and schemahash not in "
+              + "(select schemahash from kwavroschemas where schemahash is not null)",
+      nativeQuery = true)
+  int deleteUnreferencedSchemaBodies(@Param("schemaHashes") Collection<String> schemaHashes);
+
+  /**
+   * Deletes those of the given bodies which no schema version refers to any more, callers pass the
+   * hashes of the versions they removed. The candidates are locked before their references are
+   * checked again, so a body reused by a concurrent save is kept. Must be called within a
+   * transaction.
+   */
+  default int deleteSchemaBodiesIfUnreferenced(Collection<String> schemaHashes) {
+    int deleted = 0;
+    for (List<String> chunk :
+        Lists.partition(
+            schemaHashes.stream().filter(Objects::nonNull).distinct().sorted().toList(),
+            DELETE_CHUNK_SIZE)) {
+      lockSchemaBodies(chunk);
+      deleted += deleteUnreferencedSchemaBodies(chunk);
+    }
+    return deleted;
+  }
+}
@@ -4,6 +4,7 @@ import io.aiven.klaw.dao.MessageSchema;
 import io.aiven.klaw.dao.MessageSchemaID;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -19,6 +20,12 @@ public interface MessageSchemaRepo extends CrudRepository<MessageSchema, Message
   List<MessageSchema> findAllByTenantIdAndTopicnameAndEnvironment(
       int tenantId, String topicName, String environmentId);
 
+  // the schema text is loaded in the same select, only for reads which need it
+  @EntityGraph(attributePaths = "schemaBody")
+  List<MessageSchema> findAllWithSchemaBodyByTenantIdAndTopicnameAndEnvironment(
+      int tenantId, String topicName, String environmentId);
+
+  @EntityGraph(attributePaths = "schemaBody")
   Optional<MessageSchema> findFirstByTenantIdAndEnvironmentAndTopicnameAndSchemaversion(
       int tenantId, String environmentId, String topicName, String schemaVersion);
 
@@ -30,11 +37,6 @@ public interface MessageSchemaRepo extends CrudRepository<MessageSchema, Message
 
   boolean existsByTeamIdAndTenantId(Integer teamId, Integer tenantId);
 
-  @Query(
-      value = "select max(avroschemaid) from kwavroschemas where tenantid = :tenantId",
-      nativeQuery = true)
-  Integer getNextSchemaId(@Param("tenantId") Integer tenantId);
-
   @Query(
       value =
           "select topicname, versionschema from kwavroschemas where env = :envId and tenantid = :tenantId",
@@ -42,6 +44,21 @@ public interface MessageSchemaRepo extends CrudRepository<MessageSchema, Message
   List<Object[]> findTopicAndVersionsForEnvAndTenantId(
       @Param("envId") String envId, @Param("tenantId") Integer tenantId);
 
+  @Query(
+      value = "select distinct schemahash from kwavroschemas where tenantid = :tenantId",
+      nativeQuery = true)
+  List<String> findSchemaHashesByTenantId(@Param("tenantId") Integer tenantId);
+
+  @Query(
+      value =
+          "select distinct schemahash from kwavroschemas where tenantid = :tenantId"
+              + " and topicname = :topicName and env = :envId",
+      nativeQuery = true)
+  List<String> findSchemaHashesByTenantIdAndTopicnameAndEnvironment(
+      @Param("tenantId") Integer tenantId,
+      @Param("topicName") String topicName,
+      @Param("envId") String envId);
+
   void deleteByTenantId(int tenantId);
 
   void deleteByTenantIdAndTopicnameAndEnvironment(
@@ -306,11 +306,29 @@ public class AclSyncControllerService {
       Env envSelected,
       KafkaSupportedProtocol protocol,
       String clusterName,
+      String kafkaFlavor,
       String topicNameSearch,
       int tenantId)
       throws KlawException {
     List<Map<String, String>> aclList;
-    aclList = clusterApiService.getAcls(bootstrapHost, envSelected, protocol, tenantId);
+    // Aiven and Confluent Cloud only list all acls of a cluster, which are then filtered, so a
+    // single listing is requested and the topic search is applied while grouping
+    if (topicNameSearch == null
+        || topicNameSearch.isBlank()
+        || KafkaFlavors.AIVEN_FOR_APACHE_KAFKA.value.equals(kafkaFlavor)
+        || KafkaFlavors.CONFLUENT_CLOUD.value.equals(kafkaFlavor)) {
+      aclList =
+          clusterApiService.getAcls(bootstrapHost, envSelected, protocol, null, null, tenantId);
+    } else {
+      // only the topic acls matching the search are listed, consumer group acls are all needed to
+      // look up the groups of the consumers
+      aclList =
+          new ArrayList<>(
+              clusterApiService.getAcls(
+                  bootstrapHost, envSelected, protocol, "TOPIC", topicNameSearch, tenantId));
+      aclList.addAll(
+          clusterApiService.getAcls(bootstrapHost, envSelected, protocol, "GROUP", null, tenantId));
+    }
     return updateConsumerGroups(groupAcls(aclList, topicNameSearch, true), aclList);
   }
 
@@ -411,6 +429,7 @@ public class AclSyncControllerService {
             envSelected,
             kwClusters.getProtocol(),
             kwClusters.getClusterName(),
+            kwClusters.getKafkaFlavor(),
             topicNameSearch,
             tenantId);
 
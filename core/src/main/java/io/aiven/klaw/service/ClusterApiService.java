@@ -3,7 +3,11 @@ package io.aiven.klaw.service;
 import static io.aiven.klaw.error.KlawErrorMessages.*;
 import static io.aiven.klaw.helpers.KwConstants.*;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.aiven.klaw.config.CachedSslConnectionSocketFactory;
 import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.config.SslMaterialCache;
 import io.aiven.klaw.dao.AclRequests;
 import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.dao.KwClusters;
@@ -16,9 +20,20 @@ import io.aiven.klaw.model.cluster.ClusterAclRequest;
 import io.aiven.klaw.model.cluster.ClusterConnectorRequest;
 import io.aiven.klaw.model.cluster.ClusterSchemaRequest;
 import io.aiven.klaw.model.cluster.ClusterTopicRequest;
+import io.aiven.klaw.model.cluster.ConnectorConfigDiff;
 import io.aiven.klaw.model.cluster.ConnectorsStatus;
+import io.aiven.klaw.model.cluster.MetricsSample;
 import io.aiven.klaw.model.cluster.SchemasInfoOfClusterResponse;
+import io.aiven.klaw.model.cluster.TopicMetrics;
+import io.aiven.klaw.model.cluster.consumergroup.ConsumerGroupLag;
 import io.aiven.klaw.model.cluster.consumergroup.ResetConsumerGroupOffsetsRequest;
+import io.aiven.klaw.model.cluster.multicluster.ClusterQuery;
+import io.aiven.klaw.model.cluster.multicluster.ClusterQueryResult;
+import io.aiven.klaw.model.cluster.multicluster.MultiClusterQueryRequest;
+import io.aiven.klaw.model.cluster.partitionhealth.PartitionHealthChanges;
+import io.aiven.klaw.model.cluster.storage.StorageReport;
+import io.aiven.klaw.model.cluster.topiccontents.TopicContentRecord;
+import io.aiven.klaw.model.cluster.topiccontents.TopicContentsSearchRequest;
 import io.aiven.klaw.model.enums.AclPatternType;
 import io.aiven.klaw.model.enums.AclType;
 import io.aiven.klaw.model.enums.AclsNativeType;
@@ -35,18 +50,8 @@ import io.aiven.klaw.model.response.TopicConfig;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import jakarta.annotation.PostConstruct;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.security.Key;
-import java.security.KeyManagementException;
-import java.security.KeyStore;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.security.UnrecoverableKeyException;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -59,6 +64,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.regex.Pattern;
 import javax.crypto.spec.SecretKeySpec;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.binary.Base64;
@@ -70,11 +76,8 @@ import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
 import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
-import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.core5.http.config.Registry;
 import org.apache.hc.core5.http.config.RegistryBuilder;
-import org.apache.hc.core5.ssl.SSLContextBuilder;
-import org.apache.hc.core5.ssl.TrustStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -88,7 +91,6 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.util.ResourceUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
@@ -99,9 +101,14 @@ import org.springframework.web.client.RestTemplate;
 public class ClusterApiService {
   private static final String URL_DELIMITER = "/";
   public static final String URI_CONNECTOR_STATUS = "?connectorStatus=";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+  private static final TypeReference<List<ApiResponse>> REGISTER_SCHEMAS_TYPEREF =
+      new TypeReference<>() {};
 
   @Autowired private ManageDatabase manageDatabase;
 
+  @Autowired private SslMaterialCache sslMaterialCache;
+
   @Value("${server.ssl.key-store:null}")
   private String keyStore;
 
@@ -117,7 +124,6 @@ public class ClusterApiService {
   @Value("${klaw.clusterapi.access.base64.secret:#{''}}")
   private String clusterApiAccessBase64Secret;
 
-  private static String clusterConnUrl;
   protected static HttpComponentsClientHttpRequestFactory requestFactory;
   RestTemplate httpRestTemplate, httpsRestTemplate;
 
@@ -126,10 +132,7 @@ public class ClusterApiService {
   }
 
   private RestTemplate getRestTemplate(String clusterConnectivityUrl) {
-    if (StringUtils.isEmpty(clusterConnectivityUrl)) {
-      clusterConnectivityUrl = clusterConnUrl;
-    }
-    if (clusterConnectivityUrl.toLowerCase().startsWith("https")) {
+    if (StringUtils.startsWithIgnoreCase(clusterConnectivityUrl, "https")) {
       if (this.httpsRestTemplate == null) {
         this.httpsRestTemplate = new RestTemplate(requestFactory);
       }
@@ -142,19 +145,21 @@ public class ClusterApiService {
     }
   }
 
-  private void getClusterApiProperties(int tenantId) {
-    clusterConnUrl = manageDatabase.getKwPropertyValue(CLUSTER_CONN_URL_KEY, tenantId);
+  // resolved per call, requests of different tenants run in parallel
+  private String getClusterApiProperties(int tenantId) {
+    String clusterConnUrl = manageDatabase.getKwPropertyValue(CLUSTER_CONN_URL_KEY, tenantId);
     if (clusterApiAccessBase64Secret.isBlank()) {
       log.info(
           "CONFIGURE CLUSTER API SECRET FOR CLUSTER OPERATIONS. klaw.clusterapi.access.base64.secret");
     }
+    return clusterConnUrl;
   }
 
   public ClusterStatus getClusterApiStatus(
       String clusterApiUrl, boolean testConnection, int tenantId) {
     log.info(
         "getClusterApiStatus clusterApiUrl {} testConnection{}", clusterApiUrl, testConnection);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     try {
       String uriClusterApiStatus = URI_CLUSTER_API;
       String uri;
@@ -184,7 +189,7 @@ public class ClusterApiService {
       String kafkaFlavor,
       int tenantId) {
     log.debug("getKafkaClusterStatus {} {}", bootstrapHost, protocol);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
 
     try {
       String uri =
@@ -201,7 +206,8 @@ public class ClusterApiService {
                   kafkaFlavor);
 
       ResponseEntity<ClusterStatus> resultBody =
-          getRestTemplate(null).exchange(uri, HttpMethod.GET, getHttpEntity(), ClusterStatus.class);
+          getRestTemplate(clusterConnUrl)
+              .exchange(uri, HttpMethod.GET, getHttpEntity(), ClusterStatus.class);
       return Objects.requireNonNull(resultBody.getBody());
     } catch (Exception e) {
       log.error("Error from getKafkaClusterStatus ", e);
@@ -218,7 +224,7 @@ public class ClusterApiService {
       int tenantId)
       throws KlawException {
     log.info("getConsumerOffsets {} {} {} {}", bootstrapHost, protocol, topic, consumerGroupId);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     List<OffsetDetails> offsetDetailsList;
     try {
       String url = URI_GET_CONSUMER_OFFSETS;
@@ -231,7 +237,7 @@ public class ClusterApiService {
                   URL_DELIMITER, protocol.getName(), clusterIdentification, consumerGroupId, topic);
 
       ResponseEntity<List<OffsetDetails>> resultBody =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   url, HttpMethod.GET, getHttpEntity(), new ParameterizedTypeReference<>() {});
 
@@ -254,7 +260,7 @@ public class ClusterApiService {
       throws KlawException {
     log.info(
         "getTopicEvents {} {} {} {} {}", bootstrapHost, protocol, topic, offsetId, consumerGroupId);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     Map<String, String> eventsMap;
     try {
       String url = URI_GET_TOPIC_CONTENTS;
@@ -273,7 +279,7 @@ public class ClusterApiService {
                   clusterIdentification);
 
       ResponseEntity<Map<String, String>> resultBody =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   url, HttpMethod.GET, getHttpEntity(), new ParameterizedTypeReference<>() {});
 
@@ -285,11 +291,56 @@ public class ClusterApiService {
     return eventsMap;
   }
 
+  public List<TopicContentRecord> searchTopicEvents(
+      String bootstrapHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      TopicContentsSearchRequest searchRequest,
+      int tenantId)
+      throws KlawException {
+    log.info("searchTopicEvents {} {} {}", bootstrapHost, protocol, searchRequest);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
+    try {
+      String url =
+          clusterConnUrl
+              + URI_SEARCH_TOPIC_CONTENTS
+              + bootstrapHost
+              + URL_DELIMITER
+              + String.join(URL_DELIMITER, protocol.getName(), clusterIdentification);
+
+      HttpEntity<TopicContentsSearchRequest> request =
+          new HttpEntity<>(searchRequest, createHeaders(clusterApiUser));
+      ResponseEntity<List<TopicContentRecord>> resultBody =
+          getRestTemplate(clusterConnUrl)
+              .exchange(url, HttpMethod.POST, request, new ParameterizedTypeReference<>() {});
+
+      return new ArrayList<>(Objects.requireNonNull(resultBody.getBody()));
+    } catch (Exception e) {
+      log.error("Error from searchTopicEvents {} ", searchRequest.getTopicName(), e);
+      throw new KlawException(String.format(CLUSTER_API_ERR_102, searchRequest.getTopicName()));
+    }
+  }
+
+  /**
+   * Acls of the cluster of an env. The resource type and the topic name search are filtered by
+   * cluster api, which passes them on to Kafka clusters where it can, both are optional.
+   */
   public List<Map<String, String>> getAcls(
-      String bootstrapHost, Env envSelected, KafkaSupportedProtocol protocol, int tenantId)
+      String bootstrapHost,
+      Env envSelected,
+      KafkaSupportedProtocol protocol,
+      String resourceType,
+      String resourceNameSearch,
+      int tenantId)
       throws KlawException {
-    log.info("getAcls {} {} {}", bootstrapHost, protocol, tenantId);
-    getClusterApiProperties(tenantId);
+    log.info(
+        "getAcls {} {} {} {} {}",
+        bootstrapHost,
+        protocol,
+        resourceType,
+        resourceNameSearch,
+        tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
 
     List<Map<String, String>> aclListOriginal;
     try {
@@ -343,10 +394,19 @@ public class ClusterApiService {
                     "na");
       }
 
+      List<String> uriVariables = new ArrayList<>();
+      uri = addNameFilter(uri, "resourceType", resourceType, uriVariables);
+      uri =
+          addNameFilter(
+              uri, "resourceNameRegex", getContainsRegex(resourceNameSearch), uriVariables);
       ResponseEntity<Set<Map<String, String>>> resultBody =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
-                  uri, HttpMethod.GET, getHttpEntity(), new ParameterizedTypeReference<>() {});
+                  uri,
+                  HttpMethod.GET,
+                  getHttpEntity(),
+                  new ParameterizedTypeReference<>() {},
+                  uriVariables.toArray());
       aclListOriginal = new ArrayList<>(Objects.requireNonNull(resultBody.getBody()));
     } catch (Exception e) {
       log.error("Error from getAcls", e);
@@ -360,10 +420,11 @@ public class ClusterApiService {
       KafkaSupportedProtocol protocol,
       String clusterIdentification,
       String kafkaFlavors,
+      String topicNameSearch,
       int tenantId)
       throws Exception {
-    log.info("getAllTopics {} {}", bootstrapHost, protocol);
-    getClusterApiProperties(tenantId);
+    log.info("getAllTopics {} {} {}", bootstrapHost, protocol, topicNameSearch);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     List<TopicConfig> topicsList;
     String aclsNativeType = AclsNativeType.NATIVE.value;
 
@@ -382,12 +443,21 @@ public class ClusterApiService {
                   clusterIdentification,
                   "topicsNativeType",
                   aclsNativeType);
+      // topics not matching the search are filtered by cluster api
+      List<String> uriVariables = new ArrayList<>();
+      uriGetTopicsFull =
+          addNameFilter(
+              uriGetTopicsFull, "topicNameRegex", getContainsRegex(topicNameSearch), uriVariables);
 
       HttpEntity<String> entity = getHttpEntity();
       ResponseEntity<Set<TopicConfig>> s =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
-                  uriGetTopicsFull, HttpMethod.GET, entity, new ParameterizedTypeReference<>() {});
+                  uriGetTopicsFull,
+                  HttpMethod.GET,
+                  entity,
+                  new ParameterizedTypeReference<>() {},
+                  uriVariables.toArray());
       topicsList = new ArrayList<>(Objects.requireNonNull(s.getBody()));
     } catch (Exception e) {
       log.error("Error from getAllTopics", e);
@@ -397,6 +467,20 @@ public class ClusterApiService {
     return topicsList;
   }
 
+  private static String getContainsRegex(String search) {
+    return search == null || search.isBlank() ? null : ".*" + Pattern.quote(search.trim()) + ".*";
+  }
+
+  // filter values are passed as uri variables, so that they are encoded
+  private static String addNameFilter(
+      String uri, String filterName, String filterValue, List<String> uriVariables) {
+    if (filterValue == null) {
+      return uri;
+    }
+    uriVariables.add(filterValue);
+    return uri + (uri.contains("?") ? "&" : "?") + filterName + "={" + filterName + "}";
+  }
+
   public String approveConnectorRequests(
       String connectorName,
       KafkaSupportedProtocol protocol,
@@ -407,7 +491,7 @@ public class ClusterApiService {
       int tenantId)
       throws KlawException, KlawRestException {
     log.info("approveConnectorRequests {} {}", connectorConfig, kafkaConnectHost);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     ResponseEntity<ApiResponse> response;
     try {
       ClusterConnectorRequest clusterConnectorRequest =
@@ -435,7 +519,7 @@ public class ClusterApiService {
       HttpEntity<ClusterConnectorRequest> request =
           new HttpEntity<>(clusterConnectorRequest, headers);
       response =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(uri, HttpMethod.POST, request, new ParameterizedTypeReference<>() {});
 
       ApiResponse apiResponse = response.getBody();
@@ -487,7 +571,7 @@ public class ClusterApiService {
       Boolean deleteAssociatedSchema)
       throws KlawException {
     log.info("approveTopicRequests {} {}", topicName, topicEnvId);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     ResponseEntity<ApiResponse> response;
     ClusterTopicRequest clusterTopicRequest;
     try {
@@ -554,7 +638,7 @@ public class ClusterApiService {
 
       HttpHeaders headers = createHeaders(clusterApiUser);
       HttpEntity<ClusterTopicRequest> request = new HttpEntity<>(clusterTopicRequest, headers);
-      response = getRestTemplate(null).postForEntity(uri, request, ApiResponse.class);
+      response = getRestTemplate(clusterConnUrl).postForEntity(uri, request, ApiResponse.class);
     } catch (Exception e) {
       log.error("approveTopicRequests {}", topicName, e);
       return throwCommonErrors(e, CLUSTER_API_ERR_106);
@@ -565,7 +649,7 @@ public class ClusterApiService {
   public ResponseEntity<ApiResponse> approveAclRequests(AclRequests aclReq, int tenantId)
       throws KlawException {
     log.info("approveAclRequests {}", aclReq);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     ResponseEntity<ApiResponse> response;
 
     try {
@@ -659,7 +743,7 @@ public class ClusterApiService {
 
       HttpEntity<ClusterAclRequest> request = new HttpEntity<>(clusterAclRequest, headers);
       response =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(uri, HttpMethod.POST, request, new ParameterizedTypeReference<>() {});
       return response;
     } catch (Exception e) {
@@ -675,7 +759,7 @@ public class ClusterApiService {
 
   public ServiceAccountDetails getAivenServiceAccountDetails(
       String projectName, String serviceName, String userName, int tenantId) throws KlawException {
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     try {
       String uriGetServiceAccountDetails = clusterConnUrl + URI_AIVEN_SERVICE_ACCOUNT_DETAIL;
       uriGetServiceAccountDetails =
@@ -686,7 +770,7 @@ public class ClusterApiService {
 
       HttpEntity<String> entity = getHttpEntity();
       ResponseEntity<ServiceAccountDetails> apiResponseResponseEntity =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   uriGetServiceAccountDetails,
                   HttpMethod.GET,
@@ -701,7 +785,7 @@ public class ClusterApiService {
 
   public ApiResponse getAivenServiceAccounts(String projectName, String serviceName, int tenantId)
       throws KlawException {
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     try {
       String uriGetServiceAccounts = clusterConnUrl + URI_AIVEN_SERVICE_ACCOUNTS;
       uriGetServiceAccounts =
@@ -711,7 +795,7 @@ public class ClusterApiService {
 
       HttpEntity<String> entity = getHttpEntity();
       ResponseEntity<ApiResponse> apiResponseResponseEntity =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   uriGetServiceAccounts,
                   HttpMethod.GET,
@@ -727,7 +811,7 @@ public class ClusterApiService {
   ResponseEntity<ApiResponse> deleteSchema(String topicName, String kafkaEnvId, int tenantId)
       throws KlawException {
     log.info("delete schema subject on cluster {} {}", topicName, kafkaEnvId);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     ResponseEntity<ApiResponse> response;
     ClusterTopicRequest clusterTopicRequest;
     try {
@@ -769,7 +853,7 @@ public class ClusterApiService {
 
       HttpHeaders headers = createHeaders(clusterApiUser);
       HttpEntity<ClusterTopicRequest> request = new HttpEntity<>(clusterTopicRequest, headers);
-      response = getRestTemplate(null).postForEntity(uri, request, ApiResponse.class);
+      response = getRestTemplate(clusterConnUrl).postForEntity(uri, request, ApiResponse.class);
     } catch (Exception e) {
       log.error("deleteSchema {}", topicName, e);
       return throwCommonErrors(e, CLUSTER_API_ERR_123);
@@ -794,7 +878,7 @@ public class ClusterApiService {
       SchemaRequest schemaRequest, String env, String topicName, int tenantId)
       throws KlawException {
     log.info("postSchema {} {}", topicName, env);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     ResponseEntity<ApiResponse> response;
     try {
       boolean forceReg = Objects.requireNonNullElse(schemaRequest.getForceRegister(), false);
@@ -818,7 +902,7 @@ public class ClusterApiService {
 
       HttpHeaders headers = createHeaders(clusterApiUser);
       HttpEntity<ClusterSchemaRequest> request = new HttpEntity<>(clusterSchemaRequest, headers);
-      response = getRestTemplate(null).postForEntity(uri, request, ApiResponse.class);
+      response = getRestTemplate(clusterConnUrl).postForEntity(uri, request, ApiResponse.class);
     } catch (Exception e) {
       log.error("Error from postSchema ", e);
       if (e.getMessage().contains(CLUSTER_API_ERR_120)
@@ -831,10 +915,55 @@ public class ClusterApiService {
     return response;
   }
 
+  /**
+   * Registers the schemas of several topics on the schema registry of one environment in a single
+   * call to cluster api.
+   *
+   * @return registration response per request, in the order of the requests and in the format
+   *     returned by postSchema
+   */
+  public List<ApiResponse> postSchemas(
+      List<SchemaRequest> schemaRequests, String env, int tenantId) throws KlawException {
+    log.info("postSchemas {} schemas on {}", schemaRequests.size(), env);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
+    try {
+      String uri = clusterConnUrl + URI_POST_SCHEMAS;
+
+      Env envSelected = manageDatabase.getHandleDbRequests().getEnvDetails(env, tenantId);
+      KwClusters kwClusters =
+          manageDatabase
+              .getClusters(KafkaClustersType.SCHEMA_REGISTRY, tenantId)
+              .get(envSelected.getClusterId());
+      List<ClusterSchemaRequest> clusterSchemaRequests = new ArrayList<>();
+      for (SchemaRequest schemaRequest : schemaRequests) {
+        clusterSchemaRequests.add(
+            ClusterSchemaRequest.builder()
+                .protocol(kwClusters.getProtocol())
+                .env(kwClusters.getBootstrapServers())
+                .topicName(schemaRequest.getTopicname())
+                .fullSchema(schemaRequest.getSchemafull())
+                .clusterIdentification(kwClusters.getClusterName() + kwClusters.getClusterId())
+                .forceRegister(Objects.requireNonNullElse(schemaRequest.getForceRegister(), false))
+                .build());
+      }
+
+      HttpHeaders headers = createHeaders(clusterApiUser);
+      HttpEntity<List<ClusterSchemaRequest>> request =
+          new HttpEntity<>(clusterSchemaRequests, headers);
+      ResponseEntity<ApiResponse> response =
+          getRestTemplate(clusterConnUrl).postForEntity(uri, request, ApiResponse.class);
+      return OBJECT_MAPPER.convertValue(
+          Objects.requireNonNull(response.getBody()).getData(), REGISTER_SCHEMAS_TYPEREF);
+    } catch (Exception e) {
+      log.error("Error from postSchemas ", e);
+      throw new KlawException(CLUSTER_API_ERR_111);
+    }
+  }
+
   public ResponseEntity<ApiResponse> resetSchemaInfoCache(String kafkaEnvId, int tenantId)
       throws KlawException {
     log.info("resetSchemaInfoCache {}", kafkaEnvId);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     ResponseEntity<ApiResponse> response =
         new ResponseEntity<>(
             ApiResponse.notOk(CLUSTER_API_ERR_118), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -862,7 +991,7 @@ public class ClusterApiService {
 
         HttpHeaders headers = createHeaders(clusterApiUser);
         HttpEntity<ClusterSchemaRequest> request = new HttpEntity<>(clusterSchemaRequest, headers);
-        response = getRestTemplate(null).postForEntity(uri, request, ApiResponse.class);
+        response = getRestTemplate(clusterConnUrl).postForEntity(uri, request, ApiResponse.class);
       }
     } catch (Exception e) {
       log.error("Error from resetCache ", e);
@@ -880,7 +1009,7 @@ public class ClusterApiService {
   public ResponseEntity<ApiResponse> validateSchema(
       String fullSchema, String env, String topicName, int tenantId) throws KlawException {
     log.info("postSchema {} {}", topicName, env);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     try {
       String uri = clusterConnUrl + URI_VALIDATE_SCHEMA;
       Env envSelected = manageDatabase.getHandleDbRequests().getEnvDetails(env, tenantId);
@@ -902,7 +1031,7 @@ public class ClusterApiService {
       headers.setContentType(MediaType.APPLICATION_JSON);
 
       HttpEntity<ClusterSchemaRequest> request = new HttpEntity<>(clusterSchemaRequest, headers);
-      return getRestTemplate(null).postForEntity(uri, request, ApiResponse.class);
+      return getRestTemplate(clusterConnUrl).postForEntity(uri, request, ApiResponse.class);
     } catch (Exception e) {
       log.error("Error from Validating Schema. ", e);
       throw new KlawException(CLUSTER_API_ERR_112);
@@ -917,7 +1046,7 @@ public class ClusterApiService {
       int tenantId)
       throws Exception {
     log.info("getAvroSchema {} {}", schemaRegistryHost, topicName);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     TreeMap<Integer, Map<String, Object>> allVersionSchemas =
         new TreeMap<>(Collections.reverseOrder());
     try {
@@ -929,7 +1058,7 @@ public class ClusterApiService {
               + String.join(URL_DELIMITER, protocol.getName(), clusterIdentification, topicName);
 
       ResponseEntity<TreeMap<String, Map<String, Object>>> treeMapResponseEntity =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   uriGetTopicsFull,
                   HttpMethod.GET,
@@ -956,7 +1085,7 @@ public class ClusterApiService {
       int tenantId)
       throws Exception {
     log.info("getAvroSchemas {}", schemaRegistryHost);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
 
     try {
       String uriGetTopicsFull =
@@ -972,7 +1101,7 @@ public class ClusterApiService {
                   clusterIdentification);
 
       ResponseEntity<SchemasInfoOfClusterResponse> responseEntity =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   uriGetTopicsFull,
                   HttpMethod.GET,
@@ -994,7 +1123,7 @@ public class ClusterApiService {
       int tenantId)
       throws KlawException {
     log.info("getConnectorDetails {} {}", connectorName, kafkaConnectHost);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     try {
       String uriGetTopics =
           String.join(
@@ -1007,7 +1136,7 @@ public class ClusterApiService {
       String uriGetConnectorsFull = clusterConnUrl + uriGetTopics;
 
       ResponseEntity<Map<String, Object>> s =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   uriGetConnectorsFull,
                   HttpMethod.GET,
@@ -1021,6 +1150,45 @@ public class ClusterApiService {
     }
   }
 
+  /**
+   * Compares the connector config stored in Klaw with the one on the cluster. Values of sensitive
+   * fields are compared by presence only and never returned.
+   */
+  public ConnectorConfigDiff getConnectorConfigDiff(
+      String connectorName,
+      String storedConnectorConfig,
+      String kafkaConnectHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      int tenantId)
+      throws KlawException {
+    log.info("getConnectorConfigDiff {} {}", connectorName, kafkaConnectHost);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
+    try {
+      ClusterConnectorRequest clusterConnectorRequest =
+          ClusterConnectorRequest.builder()
+              .env(kafkaConnectHost)
+              .connectorName(connectorName)
+              .connectorConfig(storedConnectorConfig)
+              .protocol(protocol)
+              .clusterIdentification(clusterIdentification)
+              .build();
+
+      HttpHeaders headers = createHeaders(clusterApiUser);
+      HttpEntity<ClusterConnectorRequest> request =
+          new HttpEntity<>(clusterConnectorRequest, headers);
+      ResponseEntity<ApiResponse> response =
+          getRestTemplate(clusterConnUrl)
+              .postForEntity(
+                  clusterConnUrl + URI_CONNECTOR_CONFIG_DIFF, request, ApiResponse.class);
+      return OBJECT_MAPPER.convertValue(
+          Objects.requireNonNull(response.getBody()).getData(), ConnectorConfigDiff.class);
+    } catch (Exception e) {
+      log.error("Error from getConnectorConfigDiff ", e);
+      throw new KlawException(String.format(CLUSTER_API_ERR_125, connectorName));
+    }
+  }
+
   public ConnectorsStatus getAllKafkaConnectors(
       String kafkaConnectHost,
       String protocol,
@@ -1029,7 +1197,7 @@ public class ClusterApiService {
       boolean getConnectorsStatuses)
       throws KlawException {
     log.info("getAllKafkaConnectors {}", kafkaConnectHost);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     try {
       String uriGetTopics =
           URI_GET_ALL_CONNECTORS
@@ -1043,7 +1211,7 @@ public class ClusterApiService {
       String uriGetConnectorsFull = clusterConnUrl + uriGetTopics;
 
       ResponseEntity<ConnectorsStatus> responseEntity =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   uriGetConnectorsFull,
                   HttpMethod.GET,
@@ -1060,7 +1228,7 @@ public class ClusterApiService {
   public ApiResponse restartConnector(
       KafkaConnectorRestartModel kafkaConnectorRestartModel, int tenantId) throws KlawException {
     log.info("restartConnector {}", kafkaConnectorRestartModel.getConnectorName());
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     try {
       Env envSelected =
           manageDatabase
@@ -1088,7 +1256,7 @@ public class ClusterApiService {
       HttpEntity<ClusterConnectorRequest> request =
           new HttpEntity<>(clusterConnectorRequest, headers);
       response =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   uriPostConnectorsFull,
                   HttpMethod.POST,
@@ -1106,14 +1274,14 @@ public class ClusterApiService {
   public Map<String, String> retrieveMetrics(String jmxUrl, String objectName)
       throws KlawException {
     log.info("retrieveMetrics {} {}", jmxUrl, objectName);
-    getClusterApiProperties(101);
+    String clusterConnUrl = getClusterApiProperties(101);
     try {
       MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
       params.add("jmxUrl", jmxUrl);
       params.add("objectName", objectName);
 
       String uriGetTopicsFull = clusterConnUrl + URI_GET_METRICS;
-      RestTemplate restTemplate = getRestTemplate(null);
+      RestTemplate restTemplate = getRestTemplate(clusterConnUrl);
 
       HttpHeaders headers = createHeaders(clusterApiUser);
       headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -1131,13 +1299,197 @@ public class ClusterApiService {
     }
   }
 
+  public List<MetricsSample> getClusterMetrics(
+      String bootstrapHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      int jmxPort,
+      int tenantId)
+      throws KlawException {
+    log.debug("getClusterMetrics {} {}", bootstrapHost, protocol);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
+    try {
+      String uri =
+          clusterConnUrl
+              + URI_GET_CLUSTER_METRICS
+              + bootstrapHost
+              + URL_DELIMITER
+              + String.join(
+                  URL_DELIMITER,
+                  protocol.getName(),
+                  clusterIdentification,
+                  "jmxPort",
+                  String.valueOf(jmxPort));
+
+      ResponseEntity<List<MetricsSample>> response =
+          getRestTemplate(clusterConnUrl)
+              .exchange(
+                  uri, HttpMethod.GET, getHttpEntity(), new ParameterizedTypeReference<>() {});
+      return Objects.requireNonNull(response.getBody());
+    } catch (Exception e) {
+      log.error("Error from getClusterMetrics {} ", bootstrapHost, e);
+      throw new KlawException(CLUSTER_API_ERR_116);
+    }
+  }
+
+  public TopicMetrics getTopicMetrics(
+      String bootstrapHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      String topicName,
+      int tenantId)
+      throws KlawException {
+    log.debug("getTopicMetrics {} {}", bootstrapHost, topicName);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
+    try {
+      String uri =
+          clusterConnUrl
+              + URI_GET_TOPIC_METRICS
+              + bootstrapHost
+              + URL_DELIMITER
+              + String.join(
+                  URL_DELIMITER, protocol.getName(), clusterIdentification, "topic", topicName);
+
+      ResponseEntity<TopicMetrics> response =
+          getRestTemplate(clusterConnUrl)
+              .exchange(
+                  uri, HttpMethod.GET, getHttpEntity(), new ParameterizedTypeReference<>() {});
+      return Objects.requireNonNull(response.getBody());
+    } catch (Exception e) {
+      log.error("Error from getTopicMetrics {} ", topicName, e);
+      throw new KlawException(CLUSTER_API_ERR_126);
+    }
+  }
+
+  /**
+   * Runs the queries of several clusters in one request, cluster api answers them concurrently and
+   * reports clusters which failed or timed out in their result, in the order of the queries. More
+   * queries than cluster api accepts in one request are sent in several requests.
+   */
+  public List<ClusterQueryResult> queryClusters(List<ClusterQuery> clusterQueries, int tenantId)
+      throws KlawException {
+    log.debug("queryClusters {}", clusterQueries.size());
+    String clusterConnUrl = getClusterApiProperties(tenantId);
+    try {
+      String uri = clusterConnUrl + URI_MULTI_CLUSTER_QUERY;
+      List<ClusterQueryResult> results = new ArrayList<>();
+      int batchSize = MultiClusterQueryRequest.MAX_QUERIES;
+      for (int from = 0; from < clusterQueries.size(); from += batchSize) {
+        List<ClusterQuery> batch =
+            clusterQueries.subList(from, Math.min(from + batchSize, clusterQueries.size()));
+        HttpEntity<MultiClusterQueryRequest> request =
+            new HttpEntity<>(new MultiClusterQueryRequest(batch), createHeaders(clusterApiUser));
+        ResponseEntity<List<ClusterQueryResult>> response =
+            getRestTemplate(clusterConnUrl)
+                .exchange(uri, HttpMethod.POST, request, new ParameterizedTypeReference<>() {});
+        results.addAll(Objects.requireNonNull(response.getBody()));
+      }
+      return results;
+    } catch (Exception e) {
+      log.error("Error from queryClusters", e);
+      throw new KlawException(CLUSTER_API_ERR_130);
+    }
+  }
+
+  public PartitionHealthChanges getPartitionHealthChanges(
+      String bootstrapHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      long epoch,
+      long sinceVersion,
+      int tenantId)
+      throws KlawException {
+    log.debug("getPartitionHealthChanges {} {} {}", bootstrapHost, epoch, sinceVersion);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
+    try {
+      String uri =
+          clusterConnUrl
+              + URI_GET_PARTITION_HEALTH
+              + bootstrapHost
+              + URL_DELIMITER
+              + String.join(
+                  URL_DELIMITER,
+                  protocol.getName(),
+                  clusterIdentification,
+                  "epoch",
+                  String.valueOf(epoch),
+                  "sinceVersion",
+                  String.valueOf(sinceVersion));
+
+      ResponseEntity<PartitionHealthChanges> response =
+          getRestTemplate(clusterConnUrl)
+              .exchange(
+                  uri, HttpMethod.GET, getHttpEntity(), new ParameterizedTypeReference<>() {});
+      return Objects.requireNonNull(response.getBody());
+    } catch (Exception e) {
+      log.error("Error from getPartitionHealthChanges {} ", bootstrapHost, e);
+      throw new KlawException(CLUSTER_API_ERR_127);
+    }
+  }
+
+  public StorageReport getStorageReport(
+      String bootstrapHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      int tenantId)
+      throws KlawException {
+    log.debug("getStorageReport {}", bootstrapHost);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
+    try {
+      String uri =
+          clusterConnUrl
+              + URI_GET_STORAGE_REPORT
+              + bootstrapHost
+              + URL_DELIMITER
+              + String.join(URL_DELIMITER, protocol.getName(), clusterIdentification);
+
+      ResponseEntity<StorageReport> response =
+          getRestTemplate(clusterConnUrl)
+              .exchange(
+                  uri, HttpMethod.GET, getHttpEntity(), new ParameterizedTypeReference<>() {});
+      return Objects.requireNonNull(response.getBody());
+    } catch (Exception e) {
+      log.error("Error from getStorageReport {} ", bootstrapHost, e);
+      throw new KlawException(CLUSTER_API_ERR_128);
+    }
+  }
+
+  public List<ConsumerGroupLag> getConsumerGroupLag(
+      String bootstrapHost,
+      KafkaSupportedProtocol protocol,
+      String clusterIdentification,
+      Set<String> consumerGroups,
+      int tenantId)
+      throws KlawException {
+    log.debug("getConsumerGroupLag {} {}", bootstrapHost, consumerGroups.size());
+    String clusterConnUrl = getClusterApiProperties(tenantId);
+    try {
+      String uri =
+          clusterConnUrl
+              + URI_GET_CONSUMER_GROUP_LAG
+              + bootstrapHost
+              + URL_DELIMITER
+              + String.join(URL_DELIMITER, protocol.getName(), clusterIdentification);
+
+      HttpEntity<Set<String>> request =
+          new HttpEntity<>(consumerGroups, createHeaders(clusterApiUser));
+      ResponseEntity<List<ConsumerGroupLag>> response =
+          getRestTemplate(clusterConnUrl)
+              .exchange(uri, HttpMethod.POST, request, new ParameterizedTypeReference<>() {});
+      return Objects.requireNonNull(response.getBody());
+    } catch (Exception e) {
+      log.error("Error from getConsumerGroupLag {} ", bootstrapHost, e);
+      throw new KlawException(CLUSTER_API_ERR_129);
+    }
+  }
+
   public ApiResponse resetConsumerOffsets(
       ResetConsumerGroupOffsetsRequest resetConsumerGroupOffsetsRequest,
       String environmentId,
       int tenantId)
       throws KlawException {
     log.info("ResetConsumerGroupOffsetsRequest {}", resetConsumerGroupOffsetsRequest);
-    getClusterApiProperties(tenantId);
+    String clusterConnUrl = getClusterApiProperties(tenantId);
     try {
       Env envSelected = manageDatabase.getHandleDbRequests().getEnvDetails(environmentId, tenantId);
       ResponseEntity<ApiResponse> response;
@@ -1161,7 +1513,7 @@ public class ClusterApiService {
       HttpEntity<ResetConsumerGroupOffsetsRequest> request =
           new HttpEntity<>(resetConsumerGroupOffsetsRequest, headers);
       response =
-          getRestTemplate(null)
+          getRestTemplate(clusterConnUrl)
               .exchange(
                   uriResetConsumerOffsets,
                   HttpMethod.POST,
@@ -1184,18 +1536,21 @@ public class ClusterApiService {
   @PostConstruct
   private void setKwSSLContext() {
     if (keyStore != null && !keyStore.equals("null")) {
-      TrustStrategy acceptingTrustStrategy = (X509Certificate[] chain, String authType) -> true;
-      SSLContextBuilder builder = new SSLContextBuilder();
       try {
-        builder
-            .loadKeyMaterial(getStore(keyStorePwd, keyStore), keyStorePwd.toCharArray())
-            .loadTrustMaterial(acceptingTrustStrategy);
-        SSLConnectionSocketFactory sslsf =
-            new SSLConnectionSocketFactory(builder.build(), NoopHostnameVerifier.INSTANCE);
+        SslMaterialCache.SslMaterial sslMaterial =
+            SslMaterialCache.SslMaterial.builder()
+                .name("cluster api client")
+                .keyStoreLocation(keyStore)
+                .keyStoreType(keyStoreType)
+                .keyStorePassword(keyStorePwd)
+                .build();
         Registry<ConnectionSocketFactory> registry =
             RegistryBuilder.<ConnectionSocketFactory>create()
                 .register("http", new PlainConnectionSocketFactory())
-                .register("https", sslsf)
+                .register(
+                    "https",
+                    new CachedSslConnectionSocketFactory(
+                        sslMaterialCache, sslMaterial, NoopHostnameVerifier.INSTANCE))
                 .build();
         HttpClientConnectionManager poolingConnManager =
             new PoolingHttpClientConnectionManager(registry);
@@ -1203,29 +1558,13 @@ public class ClusterApiService {
             HttpClients.custom().setConnectionManager(poolingConnManager).build();
         requestFactory = new HttpComponentsClientHttpRequestFactory();
         requestFactory.setHttpClient(httpClient);
-      } catch (NoSuchAlgorithmException
-          | KeyStoreException
-          | CertificateException
-          | UnrecoverableKeyException
-          | IOException
-          | KeyManagementException e) {
+      } catch (IOException e) {
         log.error("Exception: ", e);
         throw new RuntimeException(e);
       }
     }
   }
 
-  protected KeyStore getStore(String secret, String storeLoc)
-      throws KeyStoreException, IOException, CertificateException, NoSuchAlgorithmException {
-
-    File key = ResourceUtils.getFile(storeLoc);
-    final KeyStore store = KeyStore.getInstance(keyStoreType);
-    try (InputStream inputStream = new FileInputStream(key)) {
-      store.load(inputStream, secret.toCharArray());
-    }
-    return store;
-  }
-
   private HttpHeaders createHeaders(String username) throws KlawException {
     HttpHeaders httpHeaders = new HttpHeaders();
     String authHeader = "Bearer " + generateToken(username);
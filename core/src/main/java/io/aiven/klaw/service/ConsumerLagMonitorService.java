@@ -0,0 +1,384 @@
+package io.aiven.klaw.service;
+
+import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.dao.Acl;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.dao.KwClusters;
+import io.aiven.klaw.dao.KwConsumerLag;
+import io.aiven.klaw.dao.Team;
+import io.aiven.klaw.model.cluster.consumergroup.ConsumerGroupLag;
+import io.aiven.klaw.model.enums.AclPatternType;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaFlavors;
+import io.aiven.klaw.model.enums.MetricsResolution;
+import io.aiven.klaw.model.response.ConsumerLagSample;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Monitors the committed-offset lag of the consumer groups of Klaw consumer ACLs. The lag is
+ * sampled into hourly buckets, and every team with consumer groups above its lag threshold gets one
+ * mail per run listing all of them.
+ */
+@Service
+@Slf4j
+public class ConsumerLagMonitorService {
+
+  @Autowired ManageDatabase manageDatabase;
+
+  @Autowired ClusterApiService clusterApiService;
+
+  @Autowired MailUtils mailService;
+
+  @Autowired private CommonUtilsService commonUtilsService;
+
+  @Autowired
+  @Qualifier("consumerLagMonitorTaskExecutor")
+  private Executor consumerLagMonitorTaskExecutor;
+
+  @Value("${klaw.consumerlag.monitor.enable:false}")
+  private boolean enableMonitor;
+
+  @Value("${klaw.consumerlag.monitor.interval.ms:300000}")
+  private long monitorIntervalMs;
+
+  @Value("${klaw.consumerlag.threshold.default:10000}")
+  private long defaultLagThreshold;
+
+  @Value("${klaw.consumerlag.alert.repeat.interval.hours:24}")
+  private long alertRepeatIntervalHours;
+
+  @Value("${klaw.consumerlag.alert.loginurl:}")
+  private String loginUrl;
+
+  @Value("${klaw.consumerlag.retention.days:30}")
+  private long retentionDays;
+
+  // per environment, when a consumer group on a topic was last alerted; removed once its lag is
+  // below the threshold, or the group, its topic, its ACL or the environment are gone
+  private final Map<String, Map<String, Long>> alertedAtMs = new ConcurrentHashMap<>();
+
+  // environments whose scan of a previous run has not finished yet
+  private final Set<String> scanningEnvs = ConcurrentHashMap.newKeySet();
+
+  // default 5 mins
+  @Scheduled(
+      fixedDelayString = "${klaw.consumerlag.monitor.interval.ms:300000}",
+      initialDelay = 60000)
+  void monitorConsumerLagScheduler() {
+    if (!enableMonitor) {
+      return;
+    }
+
+    log.info("Scheduled job : Monitor consumer lag");
+    monitorConsumerLag(System.currentTimeMillis());
+  }
+
+  @Scheduled(fixedRateString = "PT1H", initialDelay = 120000)
+  void purgeConsumerLagScheduler() {
+    if (!enableMonitor) {
+      return;
+    }
+
+    int deleted =
+        manageDatabase
+            .getHandleDbRequests()
+            .deleteConsumerLagSamples(
+                System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays));
+    log.debug("Purged {} consumer lag samples", deleted);
+  }
+
+  /**
+   * Reads the lag of all consumer groups of an environment in one cluster api call, all
+   * environments of all tenants in parallel, and sends the alerts of the scans which complete
+   * within one interval together. Slower scans send their alerts when they complete.
+   */
+  void monitorConsumerLag(long sampleTimeMs) {
+    List<CompletableFuture<List<LagAlert>>> scans = new ArrayList<>();
+    Set<String> monitoredEnvs = new HashSet<>();
+    for (Integer tenantId : manageDatabase.getTenantMap().keySet()) {
+      Map<String, List<Acl>> consumerAclsPerEnv =
+          manageDatabase.getHandleDbRequests().getAllConsumerGroups(tenantId).stream()
+              .filter(acl -> acl.getConsumergroup() != null && !acl.getConsumergroup().isBlank())
+              .collect(Collectors.groupingBy(Acl::getEnvironment));
+      Map<Integer, KwClusters> clusters =
+          manageDatabase.getClusters(KafkaClustersType.KAFKA, tenantId);
+      for (Env env : manageDatabase.getKafkaEnvListAllTenants(tenantId)) {
+        List<Acl> consumerAcls = consumerAclsPerEnv.get(env.getId());
+        KwClusters kwClusters = clusters == null ? null : clusters.get(env.getClusterId());
+        if (consumerAcls == null
+            || kwClusters == null
+            || KafkaFlavors.CONFLUENT_CLOUD.value.equals(kwClusters.getKafkaFlavor())) {
+          continue;
+        }
+        String envKey = tenantId + "/" + env.getId();
+        monitoredEnvs.add(envKey);
+        if (!scanningEnvs.add(envKey)) {
+          log.warn(
+              "Consumer lag of env {} tenant {} still being read, skipped",
+              env.getName(),
+              tenantId);
+          continue;
+        }
+        try {
+          scans.add(
+              CompletableFuture.supplyAsync(
+                      () ->
+                          scanConsumerLag(
+                              tenantId, envKey, env, kwClusters, consumerAcls, sampleTimeMs),
+                      consumerLagMonitorTaskExecutor)
+                  .whenComplete((result, error) -> scanningEnvs.remove(envKey)));
+        } catch (RejectedExecutionException e) {
+          scanningEnvs.remove(envKey);
+          log.warn("Reading consumer lag of env {} tenant {} rejected", env.getName(), tenantId);
+        }
+      }
+    }
+    alertedAtMs.keySet().retainAll(monitoredEnvs);
+
+    // the scheduler thread waits for one interval at most, slower clusters finish in the background
+    // and are skipped by the runs until then
+    try {
+      CompletableFuture.allOf(scans.toArray(new CompletableFuture[0]))
+          .get(monitorIntervalMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      log.warn("Consumer lag monitoring not complete after {} ms", monitorIntervalMs);
+    } catch (ExecutionException e) {
+      log.error("Error monitoring consumer lag", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    List<LagAlert> lagAlerts = new ArrayList<>();
+    for (CompletableFuture<List<LagAlert>> scan : scans) {
+      if (scan.isDone()) {
+        lagAlerts.addAll(scan.getNow(List.of()));
+      } else {
+        scan.thenAccept(this::sendAlerts);
+      }
+    }
+    sendAlerts(lagAlerts);
+  }
+
+  private void sendAlerts(List<LagAlert> lagAlerts) {
+    Map<Integer, Map<Integer, List<LagAlert>>> alertsPerTenantAndTeam = new TreeMap<>();
+    for (LagAlert lagAlert : lagAlerts) {
+      alertsPerTenantAndTeam
+          .computeIfAbsent(lagAlert.getTenantId(), tenantId -> new TreeMap<>())
+          .computeIfAbsent(lagAlert.getTeam().getTeamId(), teamId -> new ArrayList<>())
+          .add(lagAlert);
+    }
+    alertsPerTenantAndTeam.forEach(
+        (tenantId, alertsPerTeam) ->
+            alertsPerTeam.forEach(
+                (teamId, teamAlerts) ->
+                    mailService
+                        .sendConsumerLagMail(
+                            teamAlerts.get(0).getTeam(),
+                            teamAlerts.get(0).getLagThreshold(),
+                            teamAlerts.stream().map(LagAlert::toString).toList(),
+                            tenantId,
+                            loginUrl)
+                        .thenAccept(sent -> recordAlerts(teamAlerts, sent))));
+  }
+
+  // alerts which could not be mailed are due again in the next run
+  private void recordAlerts(List<LagAlert> teamAlerts, boolean sent) {
+    if (!sent) {
+      log.warn("Consumer lag alert of team {} not sent", teamAlerts.get(0).getTeam().getTeamname());
+      return;
+    }
+    for (LagAlert lagAlert : teamAlerts) {
+      alertedAtMs
+          .computeIfAbsent(lagAlert.getEnvKey(), envKey -> new ConcurrentHashMap<>())
+          .put(lagAlert.getAlertKey(), lagAlert.getSampleTimeMs());
+    }
+  }
+
+  private List<LagAlert> scanConsumerLag(
+      int tenantId,
+      String envKey,
+      Env env,
+      KwClusters kwClusters,
+      List<Acl> consumerAcls,
+      long sampleTimeMs) {
+    List<LagAlert> lagAlerts = new ArrayList<>();
+    try {
+      Map<String, List<Acl>> aclsPerConsumerGroup =
+          consumerAcls.stream().collect(Collectors.groupingBy(Acl::getConsumergroup));
+      List<ConsumerGroupLag> consumerGroupLags =
+          clusterApiService.getConsumerGroupLag(
+              kwClusters.getBootstrapServers(),
+              kwClusters.getProtocol(),
+              kwClusters.getClusterName() + kwClusters.getClusterId(),
+              aclsPerConsumerGroup.keySet(),
+              tenantId);
+      Map<Integer, Team> teams =
+          manageDatabase.getTeamObjForTenant(tenantId).stream()
+              .collect(Collectors.toMap(Team::getTeamId, team -> team, (t1, t2) -> t1));
+
+      long bucketStart = MetricsResolution.ONE_HOUR.getBucketStart(sampleTimeMs);
+      List<KwConsumerLag> samples = new ArrayList<>();
+      Map<String, Long> envAlertedAtMs =
+          alertedAtMs.computeIfAbsent(envKey, key -> new ConcurrentHashMap<>());
+      Set<String> reportedAlertKeys = new HashSet<>();
+      for (ConsumerGroupLag consumerGroupLag : consumerGroupLags) {
+        // groups also commit offsets of topics they are not granted through Klaw
+        Optional<Acl> consumerAcl =
+            aclsPerConsumerGroup
+                .getOrDefault(consumerGroupLag.getConsumerGroup(), List.of())
+                .stream()
+                .filter(acl -> isAclOfTopic(acl, consumerGroupLag.getTopicName()))
+                .findFirst();
+        if (consumerAcl.isEmpty()) {
+          continue;
+        }
+        samples.add(
+            KwConsumerLag.builder()
+                .tenantId(tenantId)
+                .env(env.getId())
+                .consumerGroup(consumerGroupLag.getConsumerGroup())
+                .topicName(consumerGroupLag.getTopicName())
+                .bucketStart(bucketStart)
+                .sampleCount(1)
+                .sumLag(consumerGroupLag.getTotalLag())
+                .maxLag(consumerGroupLag.getTotalLag())
+                .build());
+
+        String alertKey =
+            consumerGroupLag.getConsumerGroup() + "/" + consumerGroupLag.getTopicName();
+        reportedAlertKeys.add(alertKey);
+        Team team = teams.get(consumerAcl.get().getTeamId());
+        if (team != null) {
+          long lagThreshold =
+              team.getConsumerLagThreshold() == null
+                  ? defaultLagThreshold
+                  : team.getConsumerLagThreshold();
+          if (isAlertDue(envAlertedAtMs, alertKey, consumerGroupLag, lagThreshold, sampleTimeMs)) {
+            lagAlerts.add(
+                new LagAlert(
+                    tenantId,
+                    team,
+                    lagThreshold,
+                    env.getName(),
+                    consumerGroupLag,
+                    envKey,
+                    alertKey,
+                    sampleTimeMs));
+          }
+        }
+      }
+      // groups which were deleted, or no longer consume a topic through Klaw, are not reported
+      envAlertedAtMs.keySet().retainAll(reportedAlertKeys);
+      if (!samples.isEmpty()) {
+        manageDatabase
+            .getHandleDbRequests()
+            .insertConsumerLagSamples(tenantId, env.getId(), samples);
+      }
+    } catch (Exception e) {
+      log.error("Error monitoring consumer lag of env {} tenant {}", env.getName(), tenantId, e);
+    }
+    return lagAlerts;
+  }
+
+  private boolean isAlertDue(
+      Map<String, Long> envAlertedAtMs,
+      String alertKey,
+      ConsumerGroupLag consumerGroupLag,
+      long lagThreshold,
+      long sampleTimeMs) {
+    if (consumerGroupLag.getTotalLag() <= lagThreshold) {
+      envAlertedAtMs.remove(alertKey);
+      return false;
+    }
+    Long lastAlertMs = envAlertedAtMs.get(alertKey);
+    return lastAlertMs == null
+        || sampleTimeMs - lastAlertMs >= TimeUnit.HOURS.toMillis(alertRepeatIntervalHours);
+  }
+
+  private static boolean isAclOfTopic(Acl acl, String topicName) {
+    if (AclPatternType.PREFIXED.name().equals(acl.getAclPatternType())) {
+      return topicName.startsWith(acl.getTopicname());
+    }
+    return topicName.equals(acl.getTopicname());
+  }
+
+  public List<ConsumerLagSample> getConsumerLagHistory(
+      String envId, String consumerGroup, String topicName, int hours) {
+    String userName = mailService.getUserName(getPrincipal());
+    int tenantId = commonUtilsService.getTenantId(userName);
+    Set<String> allowedEnvIds = commonUtilsService.getEnvsFromUserId(userName);
+    if (!allowedEnvIds.contains(envId)) {
+      return new ArrayList<>();
+    }
+
+    long fromMs = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(Math.max(1, hours));
+    List<ConsumerLagSample> consumerLagSamples = new ArrayList<>();
+    for (KwConsumerLag kwConsumerLag :
+        manageDatabase
+            .getHandleDbRequests()
+            .getConsumerLagSamples(
+                tenantId,
+                envId,
+                consumerGroup,
+                topicName,
+                MetricsResolution.ONE_HOUR.getBucketStart(fromMs))) {
+      ConsumerLagSample consumerLagSample = new ConsumerLagSample();
+      consumerLagSample.setBucketStartMs(kwConsumerLag.getBucketStart());
+      consumerLagSample.setAverageLag(kwConsumerLag.getAverageLag());
+      consumerLagSample.setMaxLag(kwConsumerLag.getMaxLag());
+      consumerLagSamples.add(consumerLagSample);
+    }
+    return consumerLagSamples;
+  }
+
+  private Object getPrincipal() {
+    return SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class LagAlert {
+    private final int tenantId;
+    private final Team team;
+    private final long lagThreshold;
+    private final String envName;
+    private final ConsumerGroupLag consumerGroupLag;
+    private final String envKey;
+    private final String alertKey;
+    private final long sampleTimeMs;
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%s: consumer group %s on topic %s, lag %d (max %d on a partition)",
+          envName,
+          consumerGroupLag.getConsumerGroup(),
+          consumerGroupLag.getTopicName(),
+          consumerGroupLag.getTotalLag(),
+          consumerGroupLag.getMaxPartitionLag());
+    }
+  }
+}
@@ -94,6 +94,23 @@ public class EmailService {
       String text,
       int tenantId,
       String loginUrl) {
+    sendMessage(to, cc, bcc, subject, text, tenantId, loginUrl);
+  }
+
+  /**
+   * Sends a mail on the calling thread.
+   *
+   * @return true if the mail was handed to the mail server, false if mail notifications are
+   *     disabled or sending failed
+   */
+  public boolean sendMessage(
+      List<String> to,
+      List<String> cc,
+      List<String> bcc,
+      String subject,
+      String text,
+      int tenantId,
+      String loginUrl) {
     String emailNotificationsEnabled =
         manageDatabase.getKwPropertyValue(EMAIL_NOTIFICATIONS_ENABLED_KEY, DEFAULT_TENANT_ID);
     try {
@@ -131,6 +148,7 @@ public class EmailService {
                     emailSender.send(message);
                   })
               .get();
+          return true;
         } catch (InterruptedException | ExecutionException e) {
           log.error("Exception:", e);
         }
@@ -139,6 +157,7 @@ public class EmailService {
     } catch (MailException | MessagingException | UnsupportedEncodingException e) {
       log.error("Exception:", e);
     }
+    return false;
   }
 
   private static void addEmailRecipientsToEmail(
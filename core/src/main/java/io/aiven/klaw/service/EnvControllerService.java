@@ -5,14 +5,19 @@ import static io.aiven.klaw.helpers.KwConstants.DATE_TIME_DDMMMYYYY_HHMMSS_FORMA
 import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.dao.KwClusters;
-import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.model.cluster.EnvHealth;
 import io.aiven.klaw.model.enums.ClusterStatus;
 import io.aiven.klaw.model.enums.KafkaClustersType;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -26,6 +31,13 @@ public class EnvControllerService {
 
   @Autowired ManageDatabase manageDatabase;
 
+  @Autowired
+  @Qualifier("envStatusTaskExecutor")
+  private Executor envStatusTaskExecutor;
+
+  // status of the environments of all tenants as of their last check, by tenant and env id
+  private final Map<String, EnvHealth> envHealthMap = new ConcurrentHashMap<>();
+
   // every 1 hour
   @Scheduled(fixedRateString = "PT1H", initialDelay = 60)
   public void loadTenantActiveStatus() {
@@ -44,52 +56,67 @@ public class EnvControllerService {
     }
   }
 
-  @Scheduled(fixedRateString = "PT1H", initialDelay = 9000)
+  @Scheduled(fixedDelayString = "${klaw.envstatus.refresh.interval.ms:60000}", initialDelay = 9000)
   public void loadEnvsWithStatus() {
     updateEnvsStatus();
   }
 
+  /**
+   * Checks the status of all environments in parallel. Status reads are served from the last check,
+   * and environments are only stored again when their status changed.
+   */
   public void updateEnvsStatus() {
-    log.info("Scheduled job (klaw.reloadclusterstatus.interval) : Update cluster status");
+    log.debug("Scheduled job (klaw.envstatus.refresh.interval.ms) : Update cluster status");
     try {
-      Set<Integer> tenants = manageDatabase.getTenantMap().keySet();
-
-      for (Integer tenantId : tenants) {
-        List<Env> envList = manageDatabase.getKafkaEnvListAllTenants(tenantId);
-
-        for (Env env : envList) {
-          updateEnvStatusPerEnv(tenantId, env);
-        }
-      }
-
-      for (Integer tenantId : tenants) {
-        List<Env> envList = manageDatabase.getSchemaRegEnvList(tenantId);
-
-        for (Env env : envList) {
-          updateEnvStatusPerEnv(tenantId, env);
-        }
-      }
-
-      for (Integer tenantId : tenants) {
-        List<Env> envList = manageDatabase.getKafkaConnectEnvList(tenantId);
+      Set<String> checkedEnvs = new HashSet<>();
+      List<CompletableFuture<Void>> checks = new ArrayList<>();
+      for (Integer tenantId : manageDatabase.getTenantMap().keySet()) {
+        List<Env> envList = new ArrayList<>(manageDatabase.getKafkaEnvListAllTenants(tenantId));
+        envList.addAll(manageDatabase.getSchemaRegEnvList(tenantId));
+        envList.addAll(manageDatabase.getKafkaConnectEnvList(tenantId));
 
         for (Env env : envList) {
-          updateEnvStatusPerEnv(tenantId, env);
+          checkedEnvs.add(getEnvHealthKey(tenantId, env.getId()));
+          checks.add(
+              CompletableFuture.runAsync(
+                  () -> {
+                    try {
+                      updateEnvStatusPerEnv(tenantId, env);
+                    } catch (Exception e) {
+                      log.error("Error in loading the status of env {}", env.getName(), e);
+                    }
+                  },
+                  envStatusTaskExecutor));
         }
       }
+      CompletableFuture.allOf(checks.toArray(new CompletableFuture[0])).join();
+      // environments which were deleted are no longer reported
+      envHealthMap.keySet().retainAll(checkedEnvs);
     } catch (Exception e) {
       log.error("Error in loading cluster status ", e);
     }
   }
 
-  private void updateEnvStatusPerEnv(Integer tenantId, Env env) throws KlawException {
-    ClusterStatus status;
-    LocalDateTime statusTime = LocalDateTime.now(ZoneOffset.UTC);
+  public Optional<EnvHealth> getEnvHealth(int tenantId, String envId) {
+    return Optional.ofNullable(envHealthMap.get(getEnvHealthKey(tenantId, envId)));
+  }
+
+  public List<EnvHealth> getEnvHealth() {
+    return envHealthMap.values().stream()
+        .sorted(
+            Comparator.comparingInt(EnvHealth::getTenantId)
+                .thenComparing(EnvHealth::getEnvType)
+                .thenComparing(EnvHealth::getEnvName))
+        .toList();
+  }
+
+  public EnvHealth updateEnvStatusPerEnv(Integer tenantId, Env env) {
     KwClusters kwClusters =
         manageDatabase
             .getClusters(KafkaClustersType.of(env.getType()), tenantId)
             .get(env.getClusterId());
-    status =
+    long startMs = System.currentTimeMillis();
+    ClusterStatus status =
         clusterApiService.getKafkaClusterStatus(
             kwClusters.getBootstrapServers(),
             kwClusters.getProtocol(),
@@ -97,13 +124,46 @@ public class EnvControllerService {
             env.getType(),
             kwClusters.getKafkaFlavor(),
             tenantId);
+    long checkedAtMs = System.currentTimeMillis();
+
+    String envHealthKey = getEnvHealthKey(tenantId, env.getId());
+    EnvHealth previousEnvHealth = envHealthMap.get(envHealthKey);
+    EnvHealth envHealth = new EnvHealth();
+    envHealth.setTenantId(tenantId);
+    envHealth.setEnvId(env.getId());
+    envHealth.setEnvName(env.getName());
+    envHealth.setEnvType(env.getType());
+    envHealth.setStatus(status);
+    envHealth.setLatencyMs(checkedAtMs - startMs);
+    envHealth.setCheckedAtMs(checkedAtMs);
+    if (status != ClusterStatus.ONLINE) {
+      envHealth.setLastError(
+          status == ClusterStatus.NOT_KNOWN
+              ? "Status could not be read from cluster api"
+              : "Cluster status is " + status.value);
+      envHealth.setLastErrorAtMs(checkedAtMs);
+    } else if (previousEnvHealth != null) {
+      envHealth.setLastError(previousEnvHealth.getLastError());
+      envHealth.setLastErrorAtMs(previousEnvHealth.getLastErrorAtMs());
+    }
+    envHealthMap.put(envHealthKey, envHealth);
 
+    boolean statusChanged = env.getEnvStatus() != status;
+    LocalDateTime statusTime =
+        LocalDateTime.ofInstant(Instant.ofEpochMilli(checkedAtMs), ZoneOffset.UTC);
     env.setEnvStatus(status);
     kwClusters.setClusterStatus(status);
     env.setEnvStatusTime(statusTime);
     env.setEnvStatusTimeString(DATE_TIME_DDMMMYYYY_HHMMSS_FORMATTER.format(statusTime));
     manageDatabase.addEnvToCache(tenantId, env, true);
-    manageDatabase.getHandleDbRequests().addNewCluster(kwClusters);
-    manageDatabase.getHandleDbRequests().addNewEnv(env);
+    if (statusChanged) {
+      manageDatabase.getHandleDbRequests().addNewCluster(kwClusters);
+      manageDatabase.getHandleDbRequests().addNewEnv(env);
+    }
+    return envHealth;
+  }
+
+  private static String getEnvHealthKey(int tenantId, String envId) {
+    return tenantId + "/" + envId;
   }
 }
@@ -0,0 +1,33 @@
+package io.aiven.klaw.service;
+
+import io.aiven.klaw.model.cluster.EnvHealth;
+import io.aiven.klaw.model.enums.ClusterStatus;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports how many environments were offline in their last status check under the health endpoint,
+ * without calling cluster api. Environments of all tenants are counted, so they are not listed by
+ * name. Offline environments do not take Klaw itself down.
+ */
+@Component
+public class EnvStatusHealthIndicator implements HealthIndicator {
+
+  @Autowired private EnvControllerService envControllerService;
+
+  @Override
+  public Health health() {
+    List<EnvHealth> envHealthList = envControllerService.getEnvHealth();
+    return Health.up()
+        .withDetail(
+            "offlineEnvs",
+            envHealthList.stream()
+                .filter(envHealth -> envHealth.getStatus() != ClusterStatus.ONLINE)
+                .count())
+        .withDetail("envs", envHealthList.size())
+        .build();
+  }
+}
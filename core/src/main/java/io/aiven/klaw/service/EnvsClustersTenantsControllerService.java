@@ -37,6 +37,7 @@ import io.aiven.klaw.helpers.HandleDbRequests;
 import io.aiven.klaw.helpers.Pager;
 import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.KwTenantModel;
+import io.aiven.klaw.model.cluster.EnvHealth;
 import io.aiven.klaw.model.enums.ApiResultStatus;
 import io.aiven.klaw.model.enums.ClusterStatus;
 import io.aiven.klaw.model.enums.EntityType;
@@ -62,6 +63,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
@@ -89,6 +91,8 @@ public class EnvsClustersTenantsControllerService {
 
   @Autowired private ClusterApiService clusterApiService;
 
+  @Autowired private EnvControllerService envControllerService;
+
   @Autowired private UsersTeamsControllerService usersTeamsControllerService;
 
   @Value("${klaw.installation.type:onpremise}")
@@ -1262,42 +1266,35 @@ public class EnvsClustersTenantsControllerService {
       throw new KlawBadRequestException("No Such environment.");
     }
 
-    ClusterStatus status;
-    KwClusters kwClusters = null;
-    kwClusters =
-        manageDatabase
-            .getClusters(KafkaClustersType.of(env.get().getType()), tenantId)
-            .get(env.get().getClusterId());
-    try {
-      status =
-          clusterApiService.getKafkaClusterStatus(
-              kwClusters.getBootstrapServers(),
-              kwClusters.getProtocol(),
-              kwClusters.getClusterName() + kwClusters.getClusterId(),
-              env.get().getType(),
-              kwClusters.getKafkaFlavor(),
-              tenantId);
-
-    } catch (Exception e) {
-      status = ClusterStatus.OFFLINE;
-      log.error("Error from getUpdateEnvStatus ", e);
+    // the status is checked in the background, only environments not checked yet are read now
+    Optional<EnvHealth> envHealth = envControllerService.getEnvHealth(tenantId, envId);
+    if (envHealth.isEmpty()) {
+      try {
+        envHealth = Optional.of(envControllerService.updateEnvStatusPerEnv(tenantId, env.get()));
+      } catch (Exception e) {
+        log.error("Error from getUpdateEnvStatus ", e);
+      }
     }
-    LocalDateTime statusTime = LocalDateTime.now(ZoneOffset.UTC);
-    env.get().setEnvStatus(status);
-    env.get().setEnvStatusTime(statusTime);
-    env.get().setEnvStatusTimeString(DATE_TIME_DDMMMYYYY_HHMMSS_FORMATTER.format(statusTime));
 
-    // Is this required can we remove it?
-    kwClusters.setClusterStatus(status);
-    manageDatabase.getHandleDbRequests().addNewCluster(kwClusters);
-
-    manageDatabase.addEnvToCache(tenantId, env.get(), false);
+    ClusterStatus status = envHealth.map(EnvHealth::getStatus).orElse(ClusterStatus.OFFLINE);
+    LocalDateTime statusTime =
+        envHealth
+            .map(
+                health ->
+                    LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(health.getCheckedAtMs()), ZoneOffset.UTC))
+            .orElseGet(() -> LocalDateTime.now(ZoneOffset.UTC));
 
     envUpdatedStatus.setResult(ApiResultStatus.SUCCESS.value);
     envUpdatedStatus.setEnvStatus(status);
     envUpdatedStatus.setEnvStatusTime(statusTime);
     envUpdatedStatus.setEnvStatusTimeString(
         DATE_TIME_DDMMMYYYY_HHMMSS_FORMATTER.format(statusTime));
+    envHealth.ifPresent(
+        health -> {
+          envUpdatedStatus.setLatencyMs(health.getLatencyMs());
+          envUpdatedStatus.setLastError(health.getLastError());
+        });
 
     return envUpdatedStatus;
   }
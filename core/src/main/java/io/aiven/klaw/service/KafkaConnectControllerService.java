@@ -32,6 +32,7 @@ import io.aiven.klaw.helpers.Pager;
 import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.ConnectorConfig;
 import io.aiven.klaw.model.ResourceHistory;
+import io.aiven.klaw.model.cluster.ConnectorConfigDiff;
 import io.aiven.klaw.model.enums.ApiResultStatus;
 import io.aiven.klaw.model.enums.KafkaClustersType;
 import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
@@ -1330,6 +1331,37 @@ public class KafkaConnectControllerService {
     return connectorOverviewPerEnv;
   }
 
+  /** Differences between the config of the connector in Klaw and on the cluster of the env. */
+  public ConnectorConfigDiff getConnectorConfigDiff(String envId, String connectorName)
+      throws KlawException, KlawBadRequestException {
+    String userName = getUserName();
+    int tenantId = commonUtilsService.getTenantId(userName);
+
+    // tenant filtering
+    Optional<KwKafkaConnector> connector =
+        commonUtilsService.getEnvsFromUserId(userName).contains(envId)
+            ? manageDatabase.getHandleDbRequests().getConnectors(connectorName, tenantId).stream()
+                .filter(
+                    kwKafkaConnector -> Objects.equals(kwKafkaConnector.getEnvironment(), envId))
+                .findFirst()
+            : Optional.empty();
+    if (connector.isEmpty()) {
+      throw new KlawBadRequestException(String.format(KAFKA_CONNECT_ERR_121, connectorName));
+    }
+
+    KwClusters kwClusters =
+        manageDatabase
+            .getClusters(KafkaClustersType.KAFKA_CONNECT, tenantId)
+            .get(getKafkaConnectEnvDetails(envId).getClusterId());
+    return clusterApiService.getConnectorConfigDiff(
+        connectorName,
+        connector.get().getConnectorConfig(),
+        kwClusters.getBootstrapServers(),
+        kwClusters.getProtocol(),
+        kwClusters.getClusterName() + kwClusters.getClusterId(),
+        tenantId);
+  }
+
   private ConnectorPromotionStatus getConnectorPromotionEnv(
       String topicSearch, List<KwKafkaConnector> kafkaConnectors, int tenantId) {
     ConnectorPromotionStatus promotionStatus = new ConnectorPromotionStatus();
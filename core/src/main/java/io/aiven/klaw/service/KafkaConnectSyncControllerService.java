@@ -10,12 +10,15 @@ import static io.aiven.klaw.error.KlawErrorMessages.SYNC_ERR_101;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.dao.KwClusters;
 import io.aiven.klaw.dao.KwKafkaConnector;
 import io.aiven.klaw.dao.Team;
 import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.helpers.ConnectorConfigFingerprints;
 import io.aiven.klaw.helpers.Pager;
 import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.SyncConnectorUpdates;
@@ -27,10 +30,12 @@ import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.model.response.KafkaConnectorModelResponse;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +57,8 @@ public class KafkaConnectSyncControllerService {
 
   @Autowired ManageDatabase manageDatabase;
 
+  @Autowired private ConnectorConfigFingerprints connectorConfigFingerprints;
+
   public ApiResponse getConnectorDetails(String connectorName, String envId) throws KlawException {
     int tenantId = commonUtilsService.getTenantId(getUserName());
     KwClusters kwClusters =
@@ -309,8 +316,9 @@ public class KafkaConnectSyncControllerService {
     int tenantId = commonUtilsService.getTenantId(getUserName());
 
     // get from metastore
+    Map<String, String> connectorConfigs = new HashMap<>();
     List<KafkaConnectorModelResponse> kafkaConnectorModelSourceList =
-        getSyncConnectorsList(envId, teamList, tenantId);
+        getSyncConnectorsList(envId, teamList, tenantId, connectorConfigs);
     if (connectorNameSearch != null && connectorNameSearch.length() > 0) {
       final String topicSearchFilter = connectorNameSearch;
       kafkaConnectorModelSourceList =
@@ -318,13 +326,7 @@ public class KafkaConnectSyncControllerService {
               .filter(topic -> topic.getConnectorName().contains(topicSearchFilter))
               .collect(Collectors.toList());
     }
-    List<String> allSyncConnectors = new ArrayList<>();
-    for (KafkaConnectorModelResponse kafkaConnectorModel : kafkaConnectorModelSourceList) {
-      allSyncConnectors.add(kafkaConnectorModel.getConnectorName());
-    }
-
     // get from cluster
-    List<KafkaConnectorModelResponse> kafkaConnectorModelClusterList = new ArrayList<>();
     KwClusters kwClusters =
         manageDatabase
             .getClusters(KafkaClustersType.KAFKA_CONNECT, tenantId)
@@ -339,6 +341,13 @@ public class KafkaConnectSyncControllerService {
               tenantId,
               getConnectorsStatuses);
       List<ConnectorState> connectorsList = allConnectors.getConnectorStateList();
+      if (allConnectors.getFailedConnectors() != null
+          && !allConnectors.getFailedConnectors().isEmpty()) {
+        log.warn(
+            "Status of connectors {} on env {} could not be read",
+            allConnectors.getFailedConnectors(),
+            envSelected.getName());
+      }
       if (connectorNameSearch != null && connectorNameSearch.length() > 0) {
         final String topicSearchFilter = connectorNameSearch;
         connectorsList =
@@ -348,82 +357,14 @@ public class KafkaConnectSyncControllerService {
                 .toList();
       }
 
-      for (ConnectorState connectorState : connectorsList) {
-        KafkaConnectorModelResponse kafkaConnectorModel = new KafkaConnectorModelResponse();
-        kafkaConnectorModel.setConnectorName(connectorState.getConnectorName());
-        kafkaConnectorModel.setRunningTasks(connectorState.getRunningTasks());
-        kafkaConnectorModel.setConnectorStatus(connectorState.getConnectorStatus());
-        kafkaConnectorModel.setFailedTasks(connectorState.getFailedTasks());
-        kafkaConnectorModel.setEnvironmentId(envId);
-        kafkaConnectorModel.setEnvironmentName(getKafkaConnectorEnvDetails(envId).getName());
-        kafkaConnectorModel.setPossibleTeams(teamList);
-
-        kafkaConnectorModelClusterList.add(kafkaConnectorModel);
-      }
-
-      // remove if any which already exist in metastore
-      kafkaConnectorModelClusterList.removeIf(
-          p -> !allSyncConnectors.isEmpty() && allSyncConnectors.contains(p.getConnectorName()));
-
-      for (KafkaConnectorModelResponse kafkaConnectorModelResponse :
-          kafkaConnectorModelSourceList) {
-        kafkaConnectorModelResponse.setRemarks("IN_SYNC"); // default
-        Optional<ConnectorState> optionalConnectorState =
-            connectorsList.stream()
-                .filter(
-                    connectorState ->
-                        connectorState
-                            .getConnectorName()
-                            .equals(kafkaConnectorModelResponse.getConnectorName()))
-                .findFirst();
-        if (optionalConnectorState.isPresent()) {
-          ConnectorState connectorState = optionalConnectorState.get();
-          kafkaConnectorModelResponse.setConnectorStatus(connectorState.getConnectorStatus());
-          kafkaConnectorModelResponse.setFailedTasks(connectorState.getFailedTasks());
-          kafkaConnectorModelResponse.setRunningTasks(connectorState.getRunningTasks());
-        } else {
-          kafkaConnectorModelResponse.setConnectorStatus("NOT_KNOWN");
-        }
-      }
-
-      kafkaConnectorModelClusterList.addAll(kafkaConnectorModelSourceList);
-
-      for (KafkaConnectorModelResponse kafkaConnectorModel : kafkaConnectorModelSourceList) {
-        if (connectorsList.stream()
-            .noneMatch(
-                connectorState ->
-                    connectorState
-                        .getConnectorName()
-                        .equals(kafkaConnectorModel.getConnectorName()))) {
-          for (KafkaConnectorModelResponse kafkaConnectorModelCluster :
-              kafkaConnectorModelClusterList) {
-            if (Objects.equals(
-                kafkaConnectorModelCluster.getConnectorName(),
-                kafkaConnectorModel.getConnectorName())) {
-              kafkaConnectorModelCluster.setRemarks("DELETED");
-              // Remove the other team options added and replace with existing team and option to
-              // remove it.
-              List<String> possibleTeams = new ArrayList<>();
-              possibleTeams.add(kafkaConnectorModelCluster.getTeamName());
-              possibleTeams.add(SYNC_102);
-              kafkaConnectorModelCluster.setPossibleTeams(possibleTeams);
-            }
-          }
-        }
-      }
-
-      // set sequence
-      int i = 0;
-      for (KafkaConnectorModelResponse kafkaConnectorModel : kafkaConnectorModelClusterList) {
-        kafkaConnectorModel.setSequence(i);
-        i++;
-
-        if (kafkaConnectorModel.getTeamName() == null
-            || kafkaConnectorModel.getTeamName().equals("")) {
-          kafkaConnectorModel.setRemarks("ADDED");
-          kafkaConnectorModel.setTeamName("");
-        }
-      }
+      List<KafkaConnectorModelResponse> kafkaConnectorModelClusterList =
+          reconcileConnectors(
+              kafkaConnectorModelSourceList,
+              connectorConfigs,
+              connectorsList,
+              envId,
+              envSelected.getName(),
+              teamList);
 
       // don't show connectors which are deleted on cluster
       if (getConnectorsStatuses) {
@@ -451,18 +392,111 @@ public class KafkaConnectSyncControllerService {
     return new ArrayList<>();
   }
 
+  /**
+   * Merges the connectors found on a cluster with the ones Klaw knows for the same environment.
+   * Both sides are indexed by connector name, and configs are compared by their fingerprints. The
+   * fingerprints of the cluster configs are the config versions computed by cluster-api.
+   *
+   * @param connectorConfigs configs stored in Klaw, by connector name
+   * @return connectors only on the cluster (ADDED), followed by the connectors known to Klaw
+   *     (IN_SYNC, or DELETED if they are no longer on the cluster)
+   */
+  List<KafkaConnectorModelResponse> reconcileConnectors(
+      List<KafkaConnectorModelResponse> kafkaConnectorModelSourceList,
+      Map<String, String> connectorConfigs,
+      List<ConnectorState> connectorsList,
+      String envId,
+      String envName,
+      List<String> teamList) {
+    Map<String, ConnectorState> clusterConnectors =
+        Maps.newHashMapWithExpectedSize(connectorsList.size());
+    connectorsList.forEach(
+        connectorState ->
+            clusterConnectors.putIfAbsent(connectorState.getConnectorName(), connectorState));
+    Set<String> syncConnectorNames =
+        Sets.newHashSetWithExpectedSize(kafkaConnectorModelSourceList.size());
+    kafkaConnectorModelSourceList.forEach(
+        kafkaConnectorModel -> syncConnectorNames.add(kafkaConnectorModel.getConnectorName()));
+
+    List<KafkaConnectorModelResponse> kafkaConnectorModelClusterList =
+        new ArrayList<>(connectorsList.size() + kafkaConnectorModelSourceList.size());
+    for (ConnectorState connectorState : connectorsList) {
+      // skip if it already exists in metastore
+      if (syncConnectorNames.contains(connectorState.getConnectorName())) {
+        continue;
+      }
+      KafkaConnectorModelResponse kafkaConnectorModel = new KafkaConnectorModelResponse();
+      kafkaConnectorModel.setConnectorName(connectorState.getConnectorName());
+      kafkaConnectorModel.setRunningTasks(connectorState.getRunningTasks());
+      kafkaConnectorModel.setConnectorStatus(connectorState.getConnectorStatus());
+      kafkaConnectorModel.setFailedTasks(connectorState.getFailedTasks());
+      kafkaConnectorModel.setEnvironmentId(envId);
+      kafkaConnectorModel.setEnvironmentName(envName);
+      kafkaConnectorModel.setPossibleTeams(teamList);
+      kafkaConnectorModelClusterList.add(kafkaConnectorModel);
+    }
+
+    for (KafkaConnectorModelResponse kafkaConnectorModel : kafkaConnectorModelSourceList) {
+      ConnectorState connectorState = clusterConnectors.get(kafkaConnectorModel.getConnectorName());
+      if (connectorState != null) {
+        kafkaConnectorModel.setRemarks("IN_SYNC");
+        kafkaConnectorModel.setConnectorStatus(connectorState.getConnectorStatus());
+        kafkaConnectorModel.setFailedTasks(connectorState.getFailedTasks());
+        kafkaConnectorModel.setRunningTasks(connectorState.getRunningTasks());
+        // config versions are only known when the cluster was asked for connector statuses
+        if (connectorState.getConfigVersion() != null) {
+          connectorConfigFingerprints
+              .of(
+                  kafkaConnectorModel.getConnectorName(),
+                  connectorConfigs.get(kafkaConnectorModel.getConnectorName()))
+              .ifPresent(
+                  storedFingerprint ->
+                      kafkaConnectorModel.setConfigInSync(
+                          storedFingerprint.equals(connectorState.getConfigVersion())));
+        }
+      } else {
+        kafkaConnectorModel.setConnectorStatus("NOT_KNOWN");
+        kafkaConnectorModel.setRemarks("DELETED");
+        // Remove the other team options added and replace with existing team and option to
+        // remove it.
+        List<String> possibleTeams = new ArrayList<>();
+        possibleTeams.add(kafkaConnectorModel.getTeamName());
+        possibleTeams.add(SYNC_102);
+        kafkaConnectorModel.setPossibleTeams(possibleTeams);
+      }
+      kafkaConnectorModelClusterList.add(kafkaConnectorModel);
+    }
+
+    // set sequence
+    int i = 0;
+    for (KafkaConnectorModelResponse kafkaConnectorModel : kafkaConnectorModelClusterList) {
+      kafkaConnectorModel.setSequence(i);
+      i++;
+
+      if (kafkaConnectorModel.getTeamName() == null
+          || kafkaConnectorModel.getTeamName().equals("")) {
+        kafkaConnectorModel.setRemarks("ADDED");
+        kafkaConnectorModel.setTeamName("");
+      }
+    }
+    return kafkaConnectorModelClusterList;
+  }
+
   private List<KafkaConnectorModelResponse> getSyncConnectorsList(
-      String envId, List<String> teamList, int tenantId) {
+      String envId, List<String> teamList, int tenantId, Map<String, String> connectorConfigs) {
     //         Get Sync connectors
     List<KwKafkaConnector> connectorsFromSOT =
         manageDatabase.getHandleDbRequests().getSyncConnectors(envId, null, tenantId);
 
     List<KafkaConnectorModelResponse> kafkaConnectorModelSourceList = new ArrayList<>();
+    Map<String, String> envNames = new HashMap<>();
 
     for (KwKafkaConnector kwKafkaConnector : connectorsFromSOT) {
       KafkaConnectorModelResponse kafkaConnectorModel = new KafkaConnectorModelResponse();
       kafkaConnectorModel.setEnvironmentName(
-          getKafkaConnectorEnvDetails(kwKafkaConnector.getEnvironment()).getName());
+          envNames.computeIfAbsent(
+              kwKafkaConnector.getEnvironment(),
+              connectorEnvId -> getKafkaConnectorEnvDetails(connectorEnvId).getName()));
       kafkaConnectorModel.setEnvironmentId(kwKafkaConnector.getEnvironment());
       kafkaConnectorModel.setConnectorName(kwKafkaConnector.getConnectorName());
       kafkaConnectorModel.setTeamName(
@@ -471,6 +505,8 @@ public class KafkaConnectSyncControllerService {
       kafkaConnectorModel.setPossibleTeams(teamList);
 
       kafkaConnectorModelSourceList.add(kafkaConnectorModel);
+      connectorConfigs.put(
+          kwKafkaConnector.getConnectorName(), kwKafkaConnector.getConnectorConfig());
     }
 
     return kafkaConnectorModelSourceList;
@@ -451,6 +451,38 @@ public class MailUtils {
         });
   }
 
+  /**
+   * Sends the consumer groups of a team whose lag is above its threshold in one mail. Teams without
+   * a mail address are reported to the Klaw admin.
+   */
+  /**
+   * Mails the consumer groups of a team whose lag is above its threshold.
+   *
+   * @return completes with true once the mail was sent, with false if it could not be sent
+   */
+  public CompletableFuture<Boolean> sendConsumerLagMail(
+      Team team, long lagThreshold, List<String> consumerLags, int tenantId, String loginUrl) {
+    String mailContent =
+        String.format(
+            KwConstants.MAIL_CONSUMERLAG_CONTENT,
+            team.getTeamname(),
+            lagThreshold,
+            String.join("\\n", consumerLags));
+    String to = team.getTeammail() == null ? kwAdminMailId : team.getTeammail();
+
+    return CompletableFuture.supplyAsync(
+        () ->
+            to != null
+                && emailService.sendMessage(
+                    List.of(to),
+                    List.of(),
+                    null,
+                    "Klaw consumer lag alert",
+                    mailContent,
+                    tenantId,
+                    loginUrl));
+  }
+
   private void sendMail(
       String username,
       HandleDbRequests dbHandle,
@@ -1,13 +1,29 @@
 package io.aiven.klaw.service;
 
+import static io.aiven.klaw.helpers.KwConstants.DATE_TIME_DDMMMYYYY_HHMMSS_FORMATTER;
+
 import io.aiven.klaw.config.ManageDatabase;
-import io.aiven.klaw.dao.KwMetrics;
-import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.dao.KwClusters;
+import io.aiven.klaw.dao.KwMetricsSample;
 import io.aiven.klaw.model.charts.ChartsJsOverview;
 import io.aiven.klaw.model.charts.JmxOverview;
+import io.aiven.klaw.model.cluster.MetricsSample;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaFlavors;
+import io.aiven.klaw.model.enums.MetricsResolution;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -19,17 +35,48 @@ import org.springframework.stereotype.Service;
 @EnableScheduling
 public class MetricsControllerService {
 
+  public static final String DEFAULT_METRIC_NAME = "MessagesInPerSec";
+
+  // charts are drawn from the finest resolution which needs no more points than this
+  private static final int MAX_CHART_POINTS = 360;
+
+  // brokers of these flavors do not expose JMX
+  private static final Set<String> FLAVORS_WITHOUT_JMX =
+      Set.of(KafkaFlavors.AIVEN_FOR_APACHE_KAFKA.value, KafkaFlavors.CONFLUENT_CLOUD.value);
+
   @Autowired ManageDatabase manageDatabase;
 
   @Value("${klaw.monitoring.metrics.enable:false}")
   private String enableMetrics;
 
+  @Value("${klaw.monitoring.metrics.collectinterval.ms:60000}")
+  private long collectIntervalMs;
+
+  @Value("${klaw.monitoring.metrics.jmx.port:9999}")
+  private int jmxPort;
+
+  @Value("${klaw.monitoring.metrics.retention.oneminute.hours:24}")
+  private long oneMinuteRetentionHours;
+
+  @Value("${klaw.monitoring.metrics.retention.fifteenminutes.days:14}")
+  private long fifteenMinutesRetentionDays;
+
+  @Value("${klaw.monitoring.metrics.retention.onehour.days:365}")
+  private long oneHourRetentionDays;
+
   @Autowired ClusterApiService clusterApiService;
 
   @Autowired MailUtils mailService;
 
   @Autowired private CommonUtilsService commonUtilsService;
 
+  @Autowired
+  @Qualifier("metricsCollectorTaskExecutor")
+  private Executor metricsCollectorTaskExecutor;
+
+  // environments whose collection of a previous run has not finished yet
+  private final Set<String> collectingEnvs = ConcurrentHashMap.newKeySet();
+
   private String getUserName() {
     return mailService.getUserName(getPrincipal());
   }
@@ -38,77 +85,192 @@ public class MetricsControllerService {
   @Scheduled(
       fixedRateString = "${klaw.monitoring.metrics.collectinterval.ms:60000}",
       initialDelay = 60000)
-  private void loadMetricsScheduler() {
+  void loadMetricsScheduler() {
     if ("false".equals(enableMetrics)) {
       return;
     }
 
     log.info("Scheduled job : Collect metrics");
+    collectMetrics(System.currentTimeMillis());
+  }
+
+  @Scheduled(fixedRateString = "PT1H", initialDelay = 120000)
+  void purgeMetricsScheduler() {
+    if ("false".equals(enableMetrics)) {
+      return;
+    }
+
+    purgeMetrics(System.currentTimeMillis());
+  }
 
-    String metricsType = "kafka.server:type=BrokerTopicMetrics";
-    String metricsName = "name=MessagesInPerSec";
-    String metricsObjectName = metricsType + "," + metricsName;
-    String jmxUrl = "service:jmx:rmi:///jndi/rmi://localhost:9996/jmxrmi";
+  /** Samples all Kafka clusters of all tenants in parallel, one cluster api call per cluster. */
+  void collectMetrics(long sampleTimeMs) {
+    List<CompletableFuture<Void>> collections = new ArrayList<>();
+    for (Integer tenantId : manageDatabase.getTenantMap().keySet()) {
+      Map<Integer, KwClusters> clusters =
+          manageDatabase.getClusters(KafkaClustersType.KAFKA, tenantId);
+      for (Env env : manageDatabase.getKafkaEnvListAllTenants(tenantId)) {
+        KwClusters kwClusters = clusters == null ? null : clusters.get(env.getClusterId());
+        if (kwClusters == null || FLAVORS_WITHOUT_JMX.contains(kwClusters.getKafkaFlavor())) {
+          continue;
+        }
+        String envKey = tenantId + "/" + env.getId();
+        if (!collectingEnvs.add(envKey)) {
+          log.warn(
+              "Metrics of env {} tenant {} still being collected, skipped",
+              env.getName(),
+              tenantId);
+          continue;
+        }
+        try {
+          collections.add(
+              CompletableFuture.runAsync(
+                      () -> collectMetrics(tenantId, env, kwClusters, sampleTimeMs),
+                      metricsCollectorTaskExecutor)
+                  .whenComplete((result, error) -> collectingEnvs.remove(envKey)));
+        } catch (RejectedExecutionException e) {
+          collectingEnvs.remove(envKey);
+          log.warn("Collecting metrics of env {} tenant {} rejected", env.getName(), tenantId);
+        }
+      }
+    }
+    // the scheduler thread waits for one interval at most, slower clusters finish in the background
+    // and are skipped by the runs until then
+    try {
+      CompletableFuture.allOf(collections.toArray(new CompletableFuture[0]))
+          .get(collectIntervalMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      log.warn("Metrics collection not complete after {} ms", collectIntervalMs);
+    } catch (ExecutionException e) {
+      log.error("Error collecting metrics", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 
+  private void collectMetrics(int tenantId, Env env, KwClusters kwClusters, long sampleTimeMs) {
     try {
-      Map<String, String> metrics = clusterApiService.retrieveMetrics(jmxUrl, metricsObjectName);
-      KwMetrics kwMetrics =
-          KwMetrics.builder()
-              .metricsTime(new Date().getTime() + "")
-              .metricsType(metricsType)
-              .metricsName(metricsName)
-              .metricsAttributes(metrics.get("Count"))
-              .env("1")
-              .build();
-      manageDatabase.getHandleDbRequests().insertMetrics(kwMetrics);
-    } catch (KlawException e) {
-      log.error("Error from  retrieveMetrics {}", jmxUrl, e);
+      List<MetricsSample> metricsSamples =
+          clusterApiService.getClusterMetrics(
+              kwClusters.getBootstrapServers(),
+              kwClusters.getProtocol(),
+              kwClusters.getClusterName() + kwClusters.getClusterId(),
+              jmxPort,
+              tenantId);
+      List<KwMetricsSample> samples =
+          metricsSamples.stream()
+              .map(
+                  metricsSample ->
+                      KwMetricsSample.builder()
+                          .metricName(metricsSample.getMetricName())
+                          .topicName(
+                              metricsSample.getTopicName() == null
+                                  ? KwMetricsSample.ALL_TOPICS
+                                  : metricsSample.getTopicName())
+                          .bucketStart(sampleTimeMs)
+                          .sampleCount(1)
+                          .sumValue(metricsSample.getValue())
+                          .maxValue(metricsSample.getValue())
+                          .build())
+              .toList();
+      if (!samples.isEmpty()) {
+        manageDatabase.getHandleDbRequests().insertMetricsSamples(tenantId, env.getId(), samples);
+      }
+    } catch (Exception e) {
+      log.error("Error collecting metrics of env {} tenant {}", env.getName(), tenantId, e);
+    }
+  }
+
+  void purgeMetrics(long nowMs) {
+    for (MetricsResolution resolution : MetricsResolution.values()) {
+      int deleted =
+          manageDatabase
+              .getHandleDbRequests()
+              .deleteMetricsSamples(
+                  resolution.minutes,
+                  resolution.getBucketStart(nowMs - getRetentionMs(resolution)));
+      log.debug("Purged {} metrics samples of resolution {}", deleted, resolution);
     }
   }
 
-  public JmxOverview getBrokerTopMetrics() {
+  private long getRetentionMs(MetricsResolution resolution) {
+    return switch (resolution) {
+      case ONE_MINUTE -> TimeUnit.HOURS.toMillis(oneMinuteRetentionHours);
+      case FIFTEEN_MINUTES -> TimeUnit.DAYS.toMillis(fifteenMinutesRetentionDays);
+      case ONE_HOUR -> TimeUnit.DAYS.toMillis(oneHourRetentionDays);
+    };
+  }
+
+  public JmxOverview getBrokerTopMetrics(
+      String envId, String metricName, String topicName, int hours) {
     int tenantId = commonUtilsService.getTenantId(getUserName());
     JmxOverview jmxOverview = new JmxOverview();
-    //        String teamName = manageDatabase.getHandleDbRequests()
-    //                .getUsersInfo(getUserDetails().getUsername()).getTeam();
 
-    jmxOverview.setBrokerTopMetricsOverview(getBrokerTopMetricsOverview());
+    jmxOverview.setBrokerTopMetricsOverview(
+        getBrokerTopMetricsOverview(
+            tenantId,
+            envId,
+            metricName == null ? DEFAULT_METRIC_NAME : metricName,
+            topicName == null ? KwMetricsSample.ALL_TOPICS : topicName,
+            Math.max(1, hours)));
 
     return jmxOverview;
   }
 
-  private ChartsJsOverview getBrokerTopMetricsOverview() {
-    int numberOfDays = 30;
-    List<Map<String, String>> metricsCountList;
-    String title = "Messages Per Sec";
-
-    //        if(teamName != null) {
-    //            activityCountList = manageDatabase.getHandleDbRequests()
-    //                    .selectActivityLogByTeam(teamName, numberOfDays);
-    //            title = title + " (" + teamName + ")";
-    //        }
-    //        else {
-    // tenant filtering
-    //            List<String> allowedEnvIdList = getEnvsFromUserId(getUserName());
+  private ChartsJsOverview getBrokerTopMetricsOverview(
+      int tenantId, String envId, String metricName, String topicName, int hours) {
+    List<Map<String, String>> metricsCountList = new ArrayList<>();
+    String title = metricName;
+
     try {
-      metricsCountList =
-          manageDatabase
-              .getHandleDbRequests()
-              .getAllMetrics("kafka.server:type=BrokerTopicMetrics", "name=MessagesInPerSec", "1");
+      Set<String> allowedEnvIds = commonUtilsService.getEnvsFromUserId(getUserName());
+      Optional<Env> env =
+          manageDatabase.getKafkaEnvList(tenantId).stream()
+              .filter(kafkaEnv -> allowedEnvIds.contains(kafkaEnv.getId()))
+              .filter(kafkaEnv -> envId == null || envId.equals(kafkaEnv.getId()))
+              .findFirst();
+      if (env.isPresent()) {
+        title = metricName + " (" + env.get().getName() + ")";
+        MetricsResolution resolution = getChartResolution(hours);
+        long fromMs = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hours);
+        // only the buckets of a single resolution are read, whatever the range
+        for (KwMetricsSample sample :
+            manageDatabase
+                .getHandleDbRequests()
+                .getMetricsSamples(
+                    tenantId,
+                    env.get().getId(),
+                    metricName,
+                    topicName,
+                    resolution.minutes,
+                    resolution.getBucketStart(fromMs))) {
+          Map<String, String> metricsCount = new HashMap<>();
+          metricsCount.put(
+              "datetime",
+              DATE_TIME_DDMMMYYYY_HHMMSS_FORMATTER.format(
+                  Instant.ofEpochMilli(sample.getBucketStart())));
+          metricsCount.put(
+              "value",
+              String.valueOf(Math.min(Integer.MAX_VALUE, Math.round(sample.getAverage()))));
+          metricsCountList.add(metricsCount);
+        }
+      }
     } catch (Exception e) {
       log.error("No environments/clusters found.", e);
       metricsCountList = new ArrayList<>();
     }
-    //        }
 
     return commonUtilsService.getChartsJsOverview(
-        metricsCountList,
-        title,
-        "messagescount",
-        "datetime",
-        "DateTime",
-        "Messages",
-        commonUtilsService.getTenantId(getUserName()));
+        metricsCountList, title, "value", "datetime", "DateTime", metricName, tenantId);
+  }
+
+  static MetricsResolution getChartResolution(int hours) {
+    for (MetricsResolution resolution : MetricsResolution.values()) {
+      if (TimeUnit.HOURS.toMinutes(hours) / resolution.minutes <= MAX_CHART_POINTS) {
+        return resolution;
+      }
+    }
+    return MetricsResolution.ONE_HOUR;
   }
 
   private Object getPrincipal() {
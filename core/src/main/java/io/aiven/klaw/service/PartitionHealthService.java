@@ -0,0 +1,133 @@
+package io.aiven.klaw.service;
+
+import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.dao.KwClusters;
+import io.aiven.klaw.dao.KwTopicPartitionHealth;
+import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.model.cluster.partitionhealth.PartitionHealthChanges;
+import io.aiven.klaw.model.cluster.partitionhealth.TopicPartitionHealth;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaFlavors;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the partition health of the topics of all Kafka environments in the database. Cluster api
+ * scans the clusters in the background and versions its results, so each poll only transfers and
+ * stores the topics whose health changed since the version read before.
+ */
+@Service
+@Slf4j
+public class PartitionHealthService {
+
+  @Autowired ManageDatabase manageDatabase;
+
+  @Autowired ClusterApiService clusterApiService;
+
+  @Value("${klaw.partitionhealth.enable:true}")
+  private boolean enablePartitionHealth;
+
+  // last epoch and version read per tenant and environment
+  private final Map<String, long[]> versionsRead = new ConcurrentHashMap<>();
+
+  @Scheduled(
+      fixedDelayString = "${klaw.partitionhealth.refresh.interval.ms:60000}",
+      initialDelay = 60000)
+  void refreshPartitionHealthScheduler() {
+    if (!enablePartitionHealth) {
+      return;
+    }
+    refreshPartitionHealth();
+  }
+
+  void refreshPartitionHealth() {
+    for (Integer tenantId : manageDatabase.getTenantMap().keySet()) {
+      Map<Integer, KwClusters> clusters =
+          manageDatabase.getClusters(KafkaClustersType.KAFKA, tenantId);
+      for (Env env : manageDatabase.getKafkaEnvListAllTenants(tenantId)) {
+        KwClusters kwClusters = clusters == null ? null : clusters.get(env.getClusterId());
+        if (kwClusters == null
+            || KafkaFlavors.CONFLUENT_CLOUD.value.equals(kwClusters.getKafkaFlavor())) {
+          continue;
+        }
+        refreshPartitionHealth(tenantId, env, kwClusters);
+      }
+    }
+  }
+
+  private void refreshPartitionHealth(int tenantId, Env env, KwClusters kwClusters) {
+    String key = tenantId + "-" + env.getId();
+    long[] versionRead = versionsRead.getOrDefault(key, new long[] {0, 0});
+    PartitionHealthChanges changes;
+    try {
+      changes =
+          clusterApiService.getPartitionHealthChanges(
+              kwClusters.getBootstrapServers(),
+              kwClusters.getProtocol(),
+              kwClusters.getClusterName() + kwClusters.getClusterId(),
+              versionRead[0],
+              versionRead[1],
+              tenantId);
+    } catch (KlawException e) {
+      log.error("Unable to get partition health of env {} tenant {}", env.getName(), tenantId, e);
+      return;
+    }
+    if (changes.getVersion() == 0
+        || (!changes.isFullSnapshot() && changes.getChangedTopics().isEmpty())) {
+      return;
+    }
+
+    Timestamp updatedTime = new Timestamp(System.currentTimeMillis());
+    List<KwTopicPartitionHealth> unhealthyTopics = new ArrayList<>();
+    List<String> recoveredTopicNames = new ArrayList<>();
+    for (TopicPartitionHealth topicPartitionHealth : changes.getChangedTopics()) {
+      if (topicPartitionHealth.isHealthy()) {
+        recoveredTopicNames.add(topicPartitionHealth.getTopicName());
+      } else {
+        unhealthyTopics.add(
+            KwTopicPartitionHealth.builder()
+                .tenantId(tenantId)
+                .env(env.getId())
+                .topicName(topicPartitionHealth.getTopicName())
+                .partitions(topicPartitionHealth.getPartitions())
+                .underReplicated(topicPartitionHealth.getUnderReplicated())
+                .underMinIsr(topicPartitionHealth.getUnderMinIsr())
+                .offline(topicPartitionHealth.getOffline())
+                .leaderSkewed(topicPartitionHealth.getLeaderSkewed())
+                .updatedTime(updatedTime)
+                .build());
+      }
+    }
+    manageDatabase
+        .getHandleDbRequests()
+        .updateTopicPartitionHealth(
+            tenantId, env.getId(), changes.isFullSnapshot(), unhealthyTopics, recoveredTopicNames);
+    versionsRead.put(key, new long[] {changes.getEpoch(), changes.getVersion()});
+  }
+
+  public TopicPartitionHealth getTopicPartitionHealth(int tenantId, Env env, String topicName) {
+    TopicPartitionHealth topicPartitionHealth = new TopicPartitionHealth();
+    topicPartitionHealth.setTopicName(topicName);
+    manageDatabase
+        .getHandleDbRequests()
+        .getTopicPartitionHealth(tenantId, env.getId(), topicName)
+        .ifPresent(
+            stored -> {
+              topicPartitionHealth.setPartitions(stored.getPartitions());
+              topicPartitionHealth.setUnderReplicated(stored.getUnderReplicated());
+              topicPartitionHealth.setUnderMinIsr(stored.getUnderMinIsr());
+              topicPartitionHealth.setOffline(stored.getOffline());
+              topicPartitionHealth.setLeaderSkewed(stored.getLeaderSkewed());
+            });
+    return topicPartitionHealth;
+  }
+}
@@ -29,6 +29,10 @@ public class RequestService {
   @Autowired private OperationalRequestsService operationalRequestsService;
 
   public List<ApiResponse> processApprovalRequests(RequestVerdict requestVerdict) {
+    if (requestVerdict.getRequestEntityType() == RequestEntityType.SCHEMA) {
+      // schemas are registered in bulk, with one call to cluster api per environment
+      return schemaRegistryControllerService.execSchemaRequests(requestVerdict.getReqIds());
+    }
     return requestVerdict.getReqIds().stream()
         .map(req -> processApprovalRequests(req, requestVerdict.getRequestEntityType()))
         .collect(Collectors.toList());
@@ -39,7 +43,6 @@ public class RequestService {
       return switch (requestEntityType) {
         case TOPIC -> topicControllerService.approveTopicRequests(reqId);
         case ACL -> aclControllerService.approveAclRequests(reqId);
-        case SCHEMA -> schemaRegistryControllerService.execSchemaRequests(reqId);
         case CONNECTOR -> kafkaConnectControllerService.approveConnectorRequests(reqId);
         case OPERATIONAL -> operationalRequestsService.approveOperationalRequests(reqId);
         default -> undeterinableResource();
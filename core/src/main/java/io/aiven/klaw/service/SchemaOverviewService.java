@@ -103,7 +103,8 @@ public class SchemaOverviewService extends BaseOverviewService {
         List<MessageSchema> topicSchemaVersionsInDb =
             manageDatabase
                 .getHandleDbRequests()
-                .getSchemaForTenantAndEnvAndTopic(tenantId, schemaEnv.getId(), topicNameSearch);
+                .getSchemasWithBodyForTenantAndEnvAndTopic(
+                    tenantId, schemaEnv.getId(), topicNameSearch);
         boolean schemaUpdated = false;
         if (!topicSchemaVersionsInDb.isEmpty()) {
           schemaUpdated =
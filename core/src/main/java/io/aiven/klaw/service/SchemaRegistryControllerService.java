@@ -1,5 +1,7 @@
 package io.aiven.klaw.service;
 
+import static io.aiven.klaw.error.KlawErrorMessages.CLUSTER_API_ERR_111;
+import static io.aiven.klaw.error.KlawErrorMessages.REQ_SER_ERR_101;
 import static io.aiven.klaw.error.KlawErrorMessages.SCHEMA_ERR_101;
 import static io.aiven.klaw.error.KlawErrorMessages.SCHEMA_ERR_102;
 import static io.aiven.klaw.error.KlawErrorMessages.SCHEMA_ERR_103;
@@ -9,6 +11,8 @@ import static io.aiven.klaw.error.KlawErrorMessages.SCHEMA_ERR_106;
 import static io.aiven.klaw.error.KlawErrorMessages.SCHEMA_ERR_107;
 import static io.aiven.klaw.error.KlawErrorMessages.SCHEMA_ERR_108;
 import static io.aiven.klaw.error.KlawErrorMessages.SCHEMA_ERR_109;
+import static io.aiven.klaw.error.KlawErrorMessages.SCHEMA_ERR_110;
+import static io.aiven.klaw.error.KlawErrorMessages.SCHEMA_ERR_111;
 import static io.aiven.klaw.helpers.KwConstants.REQUEST_SCHEMA_OF_ENVS;
 import static io.aiven.klaw.model.enums.MailType.*;
 import static org.springframework.beans.BeanUtils.copyProperties;
@@ -32,15 +36,19 @@ import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.model.enums.RequestEntityType;
 import io.aiven.klaw.model.enums.RequestOperationType;
 import io.aiven.klaw.model.enums.RequestStatus;
+import io.aiven.klaw.model.requests.BulkSchemaPromotion;
 import io.aiven.klaw.model.requests.SchemaPromotion;
 import io.aiven.klaw.model.requests.SchemaRequestModel;
 import io.aiven.klaw.model.response.BaseRequestsResponseModel;
 import io.aiven.klaw.model.response.SchemaRequestsResponseModel;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -62,6 +70,10 @@ public class SchemaRegistryControllerService {
 
   @Autowired private RolesPermissionsControllerService rolesPermissionsControllerService;
 
+  @Autowired
+  @Qualifier("schemaPromotionTaskExecutor")
+  private Executor schemaPromotionTaskExecutor;
+
   public SchemaRegistryControllerService(
       ClusterApiService clusterApiService, MailUtils mailService) {
     this.clusterApiService = clusterApiService;
@@ -246,8 +258,88 @@ public class SchemaRegistryControllerService {
     ResponseEntity<ApiResponse> response =
         clusterApiService.postSchema(
             schemaRequest, schemaRequest.getEnvironment(), schemaRequest.getTopicname(), tenantId);
+    return updateApprovedSchemaRequest(schemaRequest, response.getBody(), userDetails, tenantId);
+  }
+
+  /**
+   * Approves several schema requests at once. The schemas are registered with one call to cluster
+   * api per schema environment instead of one call per request.
+   *
+   * @return the result of every request, in the order of the given ids
+   */
+  public List<ApiResponse> execSchemaRequests(List<String> avroSchemaIds) {
+    log.info("execSchemaRequests {}", avroSchemaIds);
+    if (commonUtilsService.isNotAuthorizedUser(getPrincipal(), PermissionType.APPROVE_SCHEMAS)) {
+      return avroSchemaIds.stream().map(id -> ApiResponse.NOT_AUTHORIZED).toList();
+    }
+    String userDetails = getUserName();
+    int tenantId = commonUtilsService.getTenantId(userDetails);
+    final Set<String> allowedEnvIdSet = commonUtilsService.getEnvsFromUserId(userDetails);
+    HandleDbRequests dbHandle = manageDatabase.getHandleDbRequests();
+
+    Map<String, ApiResponse> responses = new HashMap<>();
+    // schema env id -> (request id -> request)
+    Map<String, Map<String, SchemaRequest>> schemaRequestsByEnv = new LinkedHashMap<>();
+    for (String avroSchemaId : avroSchemaIds) {
+      try {
+        SchemaRequest schemaRequest =
+            dbHandle.getSchemaRequest(Integer.parseInt(avroSchemaId), tenantId);
+        if (Objects.equals(schemaRequest.getRequestor(), userDetails)) {
+          responses.put(avroSchemaId, ApiResponse.notOk(SCHEMA_ERR_101));
+        } else if (!allowedEnvIdSet.contains(schemaRequest.getEnvironment())) {
+          responses.put(avroSchemaId, ApiResponse.NOT_AUTHORIZED);
+        } else {
+          schemaRequestsByEnv
+              .computeIfAbsent(schemaRequest.getEnvironment(), env -> new LinkedHashMap<>())
+              .put(avroSchemaId, schemaRequest);
+        }
+      } catch (Exception e) {
+        log.error("Exception:", e);
+        responses.put(
+            avroSchemaId,
+            ApiResponse.notOk(String.format(REQ_SER_ERR_101, avroSchemaId) + " " + e.getMessage()));
+      }
+    }
+
+    schemaRequestsByEnv.forEach(
+        (env, schemaRequests) -> {
+          List<ApiResponse> registerResponses;
+          try {
+            registerResponses =
+                clusterApiService.postSchemas(
+                    new ArrayList<>(schemaRequests.values()), env, tenantId);
+          } catch (KlawException e) {
+            schemaRequests
+                .keySet()
+                .forEach(id -> responses.put(id, ApiResponse.notOk(e.getMessage())));
+            return;
+          }
+          // responses are in the order of the requests, several requests may be of one topic
+          int index = 0;
+          for (Map.Entry<String, SchemaRequest> schemaRequest : schemaRequests.entrySet()) {
+            ApiResponse registerResponse =
+                index < registerResponses.size()
+                    ? registerResponses.get(index)
+                    : ApiResponse.notOk(CLUSTER_API_ERR_111);
+            index++;
+            try {
+              responses.put(
+                  schemaRequest.getKey(),
+                  updateApprovedSchemaRequest(
+                      schemaRequest.getValue(), registerResponse, userDetails, tenantId));
+            } catch (KlawException e) {
+              responses.put(schemaRequest.getKey(), ApiResponse.notOk(e.getMessage()));
+            }
+          }
+        });
+
+    return avroSchemaIds.stream().map(responses::get).toList();
+  }
+
+  private ApiResponse updateApprovedSchemaRequest(
+      SchemaRequest schemaRequest, ApiResponse apiResponse, String userDetails, int tenantId)
+      throws KlawException {
     HandleDbRequests dbHandle = manageDatabase.getHandleDbRequests();
-    ApiResponse apiResponse = response.getBody();
     Map<String, Object> registerSchemaCustomResponse = null;
     boolean schemaRegistered = false;
     if (apiResponse != null
@@ -289,7 +381,7 @@ public class SchemaRegistryControllerService {
       }
 
     } else {
-      String errStr = response.getBody().getMessage();
+      String errStr = apiResponse.getMessage();
       if (errStr.length() > 100) {
         errStr = errStr.substring(0, 98) + "...";
       }
@@ -399,6 +491,127 @@ public class SchemaRegistryControllerService {
     return uploadSchema(schemaRequest, RequestOperationType.PROMOTE);
   }
 
+  /**
+   * Requests the promotion of several schemas at once. Source schemas are fetched and validated
+   * against their target environments concurrently, a schema request is then created for every
+   * schema which passed validation.
+   *
+   * @return data holds the result of every promotion, keyed by topic name. A request which
+   *     promotes a topic more than once is rejected as a whole.
+   */
+  public ApiResponse promoteSchemas(BulkSchemaPromotion bulkSchemaPromotion) {
+    if (commonUtilsService.isNotAuthorizedUser(
+        getPrincipal(), PermissionType.REQUEST_CREATE_SCHEMAS)) {
+      return ApiResponse.NOT_AUTHORIZED;
+    }
+    Set<String> promotedTopics = new HashSet<>();
+    for (SchemaPromotion schemaPromotion : bulkSchemaPromotion.getSchemaPromotions()) {
+      if (!promotedTopics.add(schemaPromotion.getTopicName())) {
+        return ApiResponse.notOk(String.format(SCHEMA_ERR_111, schemaPromotion.getTopicName()));
+      }
+    }
+    String userDetails = getUserName();
+    Integer userTeamId = commonUtilsService.getTeamId(userDetails);
+    int tenantId = commonUtilsService.getTenantId(userDetails);
+
+    Map<String, ApiResponse> results = new LinkedHashMap<>();
+    Map<SchemaPromotion, CompletableFuture<ApiResponse>> validations = new LinkedHashMap<>();
+    for (SchemaPromotion schemaPromotion : bulkSchemaPromotion.getSchemaPromotions()) {
+      String topicName = schemaPromotion.getTopicName();
+      // lookups relying on the security context are done on the request thread
+      Optional<Env> schemaSourceEnv =
+          getSchemaEnvFromKafkaEnvId(schemaPromotion.getSourceEnvironment());
+      Optional<Env> schemaTargetEnv =
+          getSchemaEnvFromKafkaEnvId(schemaPromotion.getTargetEnvironment());
+      if (!userAndTopicOwnerAreOnTheSameTeam(topicName, userTeamId, tenantId)) {
+        results.put(topicName, ApiResponse.notOk(SCHEMA_ERR_103));
+      } else if (schemaSourceEnv.isEmpty()) {
+        results.put(topicName, ApiResponse.notOk(SCHEMA_ERR_104));
+      } else if (schemaTargetEnv.isEmpty()) {
+        results.put(topicName, ApiResponse.notOk(SCHEMA_ERR_108));
+      } else {
+        results.put(topicName, null);
+        validations.put(
+            schemaPromotion,
+            CompletableFuture.supplyAsync(
+                () ->
+                    getValidatedPromotedSchema(
+                        schemaPromotion,
+                        schemaSourceEnv.get(),
+                        schemaTargetEnv.get().getId(),
+                        tenantId),
+                schemaPromotionTaskExecutor));
+      }
+    }
+
+    validations.forEach(
+        (schemaPromotion, validation) -> {
+          ApiResponse validatedSchema = validation.join();
+          if (!validatedSchema.isSuccess()) {
+            results.put(schemaPromotion.getTopicName(), validatedSchema);
+            return;
+          }
+          SchemaRequestModel schemaRequest =
+              buildSchemaRequestFromPromotionRequest(schemaPromotion);
+          schemaRequest.setSchemafull((String) validatedSchema.getData());
+          ApiResponse result;
+          try {
+            // already validated above
+            result = uploadSchema(schemaRequest, RequestOperationType.PROMOTE, false);
+          } catch (KlawException e) {
+            result = ApiResponse.notOk(e.getMessage());
+          }
+          results.put(schemaPromotion.getTopicName(), result);
+        });
+
+    boolean allPromoted = results.values().stream().allMatch(ApiResponse::isSuccess);
+    return ApiResponse.builder()
+        .success(allPromoted)
+        .message(allPromoted ? ApiResultStatus.SUCCESS.value : ApiResultStatus.FAILURE.value)
+        .data(results)
+        .build();
+  }
+
+  /**
+   * @return on success, data holds the pretty printed source schema
+   */
+  private ApiResponse getValidatedPromotedSchema(
+      SchemaPromotion schemaPromotion,
+      Env schemaSourceEnv,
+      String schemaTargetEnvId,
+      int tenantId) {
+    try {
+      Map<String, Object> schemaObject =
+          getSchemasFromTopicName(schemaPromotion.getTopicName(), tenantId, schemaSourceEnv)
+              .get(Integer.valueOf(schemaPromotion.getSchemaVersion()));
+      if (schemaObject == null) {
+        return ApiResponse.notOk(
+            String.format(
+                SCHEMA_ERR_110,
+                schemaPromotion.getSchemaVersion(),
+                schemaPromotion.getTopicName()));
+      }
+      String schema = prettyPrintUglyJsonString((String) schemaObject.get("schema"));
+      if (validateCompatiblityOnSave && !schemaPromotion.isForceRegister()) {
+        ApiResponse isValid =
+            clusterApiService
+                .validateSchema(schema, schemaTargetEnvId, schemaPromotion.getTopicName(), tenantId)
+                .getBody();
+        if (isValid == null || !isValid.isSuccess()) {
+          return isValid == null ? ApiResponse.notOk(CLUSTER_API_ERR_111) : isValid;
+        }
+      }
+      return ApiResponse.builder()
+          .success(true)
+          .message(ApiResultStatus.SUCCESS.value)
+          .data(schema)
+          .build();
+    } catch (Exception e) {
+      log.error("Exception:", e);
+      return ApiResponse.notOk(e.getMessage());
+    }
+  }
+
   private boolean userAndTopicOwnerAreOnTheSameTeam(
       String topicName, Integer userTeamId, Integer tenantId) {
     List<Topic> topicsSearchList = commonUtilsService.getTopicsForTopicName(topicName, tenantId);
@@ -449,6 +662,14 @@ public class SchemaRegistryControllerService {
   public ApiResponse uploadSchema(
       SchemaRequestModel schemaRequest, RequestOperationType requestOperationType)
       throws KlawException {
+    return uploadSchema(schemaRequest, requestOperationType, true);
+  }
+
+  private ApiResponse uploadSchema(
+      SchemaRequestModel schemaRequest,
+      RequestOperationType requestOperationType,
+      boolean validateCompatibility)
+      throws KlawException {
     log.info("uploadSchema {}", schemaRequest);
     String userName = getUserName();
 
@@ -478,7 +699,8 @@ public class SchemaRegistryControllerService {
     }
 
     // If force register is not set validate the schema
-    if (validateCompatiblityOnSave
+    if (validateCompatibility
+        && validateCompatiblityOnSave
         && (schemaRequest.getForceRegister() == null || !schemaRequest.getForceRegister())) {
       // check if Schema is valid
       ApiResponse isValid = validateSchema(schemaRequest);
@@ -28,18 +28,23 @@ import io.aiven.klaw.model.response.SchemaSubjectInfoResponse;
 import io.aiven.klaw.model.response.SyncSchemasList;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -63,6 +68,10 @@ public class SchemaRegistrySyncControllerService {
 
   @Autowired private CommonUtilsService commonUtilsService;
 
+  @Autowired
+  @Qualifier("schemaSyncTaskExecutor")
+  private Executor schemaSyncTaskExecutor;
+
   public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
   public static final ObjectWriter WRITER_WITH_DEFAULT_PRETTY_PRINTER =
@@ -481,7 +490,7 @@ public class SchemaRegistrySyncControllerService {
         List<MessageSchema> schemaList =
             manageDatabase
                 .getHandleDbRequests()
-                .getSchemaForTenantAndEnvAndTopic(
+                .getSchemasWithBodyForTenantAndEnvAndTopic(
                     tenantId, kafkaEnv.getAssociatedEnv().getId(), topicName);
         schemaList =
             schemaList.stream()
@@ -564,25 +573,41 @@ public class SchemaRegistrySyncControllerService {
             .getClusters(KafkaClustersType.SCHEMA_REGISTRY, tenantId)
             .get(schemaEnvSelected.getClusterId());
 
+    // fetch all topics from the registry first, so that nothing is written if one of them fails
+    Map<String, CompletableFuture<TreeMap<Integer, Map<String, Object>>>> schemaObjectFutures =
+        new LinkedHashMap<>();
     for (String topicName : syncSchemaUpdates.getTopicList()) {
-      TreeMap<Integer, Map<String, Object>> schemaObject =
-          clusterApiService.getAvroSchema(
-              kwClusters.getBootstrapServers(),
-              kwClusters.getProtocol(),
-              kwClusters.getClusterName() + kwClusters.getClusterId(),
-              topicName,
-              tenantId);
+      schemaObjectFutures.put(
+          topicName,
+          CompletableFuture.supplyAsync(
+              () -> {
+                try {
+                  return clusterApiService.getAvroSchema(
+                      kwClusters.getBootstrapServers(),
+                      kwClusters.getProtocol(),
+                      kwClusters.getClusterName() + kwClusters.getClusterId(),
+                      topicName,
+                      tenantId);
+                } catch (Exception e) {
+                  throw new CompletionException(e);
+                }
+              },
+              schemaSyncTaskExecutor));
+    }
 
-      int teamId = commonUtilsService.getTopicsForTopicName(topicName, tenantId).get(0).getTeamId();
+    Map<String, List<MessageSchema>> schemasByTopic = new LinkedHashMap<>();
+    for (Map.Entry<String, CompletableFuture<TreeMap<Integer, Map<String, Object>>>> entry :
+        schemaObjectFutures.entrySet()) {
+      String topicName = entry.getKey();
+      TreeMap<Integer, Map<String, Object>> schemaObject;
+      try {
+        schemaObject = entry.getValue().join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+      }
 
-      // delete all versions of topic
-      Topic topic = new Topic();
-      topic.setEnvironment(schemaEnvSelected.getId());
-      topic.setTenantId(tenantId);
-      topic.setTopicname(topicName);
-      manageDatabase.getHandleDbRequests().deleteSchemas(topic);
+      int teamId = commonUtilsService.getTopicsForTopicName(topicName, tenantId).get(0).getTeamId();
 
-      // insert all versions of topic
       List<MessageSchema> schemaList = new ArrayList<>();
       for (Integer schemaVersion : schemaObject.keySet()) {
         MessageSchema messageSchema = new MessageSchema();
@@ -597,10 +622,14 @@ public class SchemaRegistrySyncControllerService {
             (String) schemaObject.get(schemaVersion).get("compatibility"));
         schemaList.add(messageSchema);
       }
-
-      manageDatabase.getHandleDbRequests().insertIntoMessageSchemaSOT(schemaList);
+      schemasByTopic.put(topicName, schemaList);
     }
 
+    // only versions which differ from the registry are deleted and inserted
+    manageDatabase
+        .getHandleDbRequests()
+        .syncMessageSchemas(tenantId, schemaEnvSelected.getId(), schemasByTopic);
+
     if (syncSchemaUpdates.getTypeOfSync().equalsIgnoreCase("SYNC_SCHEMAS")
         && syncSchemaUpdates.getTopicListForRemoval() != null) {
       // This is a list of the Schemas refrenced by the topic that owned them originally.
@@ -0,0 +1,236 @@
+package io.aiven.klaw.service;
+
+import static io.aiven.klaw.error.KlawErrorMessages.CLUSTER_API_ERR_128;
+import static io.aiven.klaw.error.KlawErrorMessages.ENV_CLUSTER_TNT_ERR_111;
+
+import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.dao.KwClusters;
+import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.error.KlawNotAuthorizedException;
+import io.aiven.klaw.model.TopicConfigEntry;
+import io.aiven.klaw.model.cluster.storage.BrokerStorage;
+import io.aiven.klaw.model.cluster.storage.StorageReport;
+import io.aiven.klaw.model.cluster.storage.TeamStorage;
+import io.aiven.klaw.model.cluster.storage.TopicStorage;
+import io.aiven.klaw.model.enums.DiskImpactBasis;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaFlavors;
+import io.aiven.klaw.model.enums.RequestOperationType;
+import io.aiven.klaw.model.enums.RequestStatus;
+import io.aiven.klaw.model.response.TopicDiskImpact;
+import io.aiven.klaw.model.response.TopicRequestsResponseModel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Disk usage of environments per broker, topic and owning team, and the projected disk usage of
+ * topic requests. Storage reports are cached by cluster api, so neither needs broker calls of its
+ * own. The projection is only made for a single request on demand, as the first read of a cluster
+ * waits on its brokers.
+ */
+@Service
+@Slf4j
+public class StorageReportService {
+
+  private static final String RETENTION_BYTES = "retention.bytes";
+
+  @Autowired ManageDatabase manageDatabase;
+
+  @Autowired ClusterApiService clusterApiService;
+
+  @Autowired MailUtils mailService;
+
+  @Autowired private CommonUtilsService commonUtilsService;
+
+  public StorageReport getStorageReport(String envId)
+      throws KlawException, KlawNotAuthorizedException {
+    String userName = mailService.getUserName(getPrincipal());
+    int tenantId = commonUtilsService.getTenantId(userName);
+    Optional<Env> env = getKafkaEnv(tenantId, envId);
+    if (env.isEmpty() || !commonUtilsService.getEnvsFromUserId(userName).contains(envId)) {
+      throw new KlawNotAuthorizedException(ENV_CLUSTER_TNT_ERR_111);
+    }
+
+    StorageReport storageReport = getClusterStorageReport(tenantId, env.get());
+    if (storageReport == null) {
+      throw new KlawException(CLUSTER_API_ERR_128);
+    }
+    Map<String, Integer> topicOwners = getTopicOwners(tenantId, envId);
+    Map<Integer, TeamStorage> teamStorageMap = new TreeMap<>();
+    for (TopicStorage topicStorage : storageReport.getTopics()) {
+      Integer teamId = topicOwners.get(topicStorage.getTopicName());
+      if (teamId == null) {
+        // topics created outside of Klaw have no owning team
+        continue;
+      }
+      TeamStorage teamStorage =
+          teamStorageMap.computeIfAbsent(teamId, id -> newTeamStorage(tenantId, id));
+      teamStorage.setTopics(teamStorage.getTopics() + 1);
+      teamStorage.setPartitions(teamStorage.getPartitions() + topicStorage.getPartitions());
+      teamStorage.setSizeBytes(teamStorage.getSizeBytes() + topicStorage.getSizeBytes());
+      teamStorage.setReplicatedSizeBytes(
+          teamStorage.getReplicatedSizeBytes() + topicStorage.getReplicatedSizeBytes());
+    }
+    storageReport.getTeams().addAll(teamStorageMap.values());
+    return storageReport;
+  }
+
+  /**
+   * Adds the projected disk usage to an open topic create request. Only the topics of the
+   * requesting team are read, not those of the whole environment.
+   */
+  public void addProjectedDiskImpact(int tenantId, TopicRequestsResponseModel topicRequest) {
+    if (RequestOperationType.CREATE != topicRequest.getRequestOperationType()
+        || RequestStatus.CREATED != topicRequest.getRequestStatus()) {
+      return;
+    }
+    StorageReport storageReport =
+        getKafkaEnv(tenantId, topicRequest.getEnvironment())
+            .map(kafkaEnv -> getClusterStorageReport(tenantId, kafkaEnv))
+            .orElse(null);
+    if (storageReport == null) {
+      return;
+    }
+    topicRequest.setProjectedDiskImpact(
+        getTopicDiskImpact(
+            storageReport,
+            getTeamTopicNames(tenantId, topicRequest.getTeamId(), topicRequest.getEnvironment()),
+            topicRequest));
+  }
+
+  static TopicDiskImpact getTopicDiskImpact(
+      StorageReport storageReport,
+      Set<String> teamTopics,
+      TopicRequestsResponseModel createRequest) {
+    TopicDiskImpact topicDiskImpact = new TopicDiskImpact();
+    topicDiskImpact.setReportGeneratedAtMs(storageReport.getGeneratedAtMs());
+    topicDiskImpact.setClusterUsedBytes(
+        storageReport.getBrokers().stream().mapToLong(BrokerStorage::getSizeBytes).sum());
+    if (!storageReport.getBrokers().isEmpty()
+        && storageReport.getBrokers().stream().allMatch(b -> b.getUsableBytes() != null)) {
+      topicDiskImpact.setClusterUsableBytes(
+          storageReport.getBrokers().stream().mapToLong(BrokerStorage::getUsableBytes).sum());
+    }
+
+    long teamSizeBytes = 0;
+    long teamPartitions = 0;
+    long clusterSizeBytes = 0;
+    long clusterPartitions = 0;
+    for (TopicStorage topicStorage : storageReport.getTopics()) {
+      clusterSizeBytes += topicStorage.getSizeBytes();
+      clusterPartitions += topicStorage.getPartitions();
+      if (teamTopics.contains(topicStorage.getTopicName())) {
+        teamSizeBytes += topicStorage.getSizeBytes();
+        teamPartitions += topicStorage.getPartitions();
+        topicDiskImpact.setTeamUsedBytes(
+            topicDiskImpact.getTeamUsedBytes() + topicStorage.getReplicatedSizeBytes());
+      }
+    }
+
+    long partitionBytes;
+    Long retentionBytes = getRetentionBytes(createRequest);
+    if (retentionBytes != null) {
+      partitionBytes = retentionBytes;
+      topicDiskImpact.setProjectionBasis(DiskImpactBasis.RETENTION_BYTES);
+    } else if (teamPartitions > 0) {
+      partitionBytes = teamSizeBytes / teamPartitions;
+      topicDiskImpact.setProjectionBasis(DiskImpactBasis.TEAM_AVERAGE);
+    } else {
+      partitionBytes = clusterPartitions > 0 ? clusterSizeBytes / clusterPartitions : 0;
+      topicDiskImpact.setProjectionBasis(DiskImpactBasis.CLUSTER_AVERAGE);
+    }
+    int partitions =
+        createRequest.getTopicpartitions() == null ? 1 : createRequest.getTopicpartitions();
+    topicDiskImpact.setProjectedBytes(
+        partitionBytes * partitions * getReplicationFactor(createRequest));
+    return topicDiskImpact;
+  }
+
+  private static Long getRetentionBytes(TopicRequestsResponseModel createRequest) {
+    if (createRequest.getAdvancedTopicConfigEntries() == null) {
+      return null;
+    }
+    for (TopicConfigEntry topicConfigEntry : createRequest.getAdvancedTopicConfigEntries()) {
+      if (RETENTION_BYTES.equals(topicConfigEntry.getConfigKey())) {
+        try {
+          long retentionBytes = Long.parseLong(topicConfigEntry.getConfigValue().trim());
+          // -1 keeps the partitions unbounded
+          return retentionBytes > 0 ? retentionBytes : null;
+        } catch (NumberFormatException e) {
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static int getReplicationFactor(TopicRequestsResponseModel createRequest) {
+    try {
+      return Integer.parseInt(createRequest.getReplicationfactor().trim());
+    } catch (NumberFormatException | NullPointerException e) {
+      return 1;
+    }
+  }
+
+  private StorageReport getClusterStorageReport(int tenantId, Env env) {
+    KwClusters kwClusters =
+        manageDatabase.getClusters(KafkaClustersType.KAFKA, tenantId).get(env.getClusterId());
+    if (kwClusters == null
+        || KafkaFlavors.CONFLUENT_CLOUD.value.equals(kwClusters.getKafkaFlavor())) {
+      return null;
+    }
+    try {
+      return clusterApiService.getStorageReport(
+          kwClusters.getBootstrapServers(),
+          kwClusters.getProtocol(),
+          kwClusters.getClusterName() + kwClusters.getClusterId(),
+          tenantId);
+    } catch (KlawException e) {
+      log.error("Unable to get storage report of env {}", env.getName(), e);
+      return null;
+    }
+  }
+
+  private Optional<Env> getKafkaEnv(int tenantId, String envId) {
+    return manageDatabase.getKafkaEnvList(tenantId).stream()
+        .filter(env -> Objects.equals(env.getId(), envId))
+        .findFirst();
+  }
+
+  private Map<String, Integer> getTopicOwners(int tenantId, String envId) {
+    Map<String, Integer> topicOwners = new HashMap<>();
+    for (Topic topic : manageDatabase.getHandleDbRequests().getTopicsFromEnv(envId, tenantId)) {
+      topicOwners.put(topic.getTopicname(), topic.getTeamId());
+    }
+    return topicOwners;
+  }
+
+  private Set<String> getTeamTopicNames(int tenantId, Integer teamId, String envId) {
+    return manageDatabase.getHandleDbRequests().getTopicsforTeam(teamId, tenantId).stream()
+        .filter(topic -> Objects.equals(topic.getEnvironment(), envId))
+        .map(Topic::getTopicname)
+        .collect(Collectors.toSet());
+  }
+
+  private TeamStorage newTeamStorage(int tenantId, Integer teamId) {
+    TeamStorage teamStorage = new TeamStorage();
+    teamStorage.setTeamId(teamId);
+    teamStorage.setTeamName(manageDatabase.getTeamNameFromTeamId(tenantId, teamId));
+    return teamStorage;
+  }
+
+  private Object getPrincipal() {
+    return SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+  }
+}
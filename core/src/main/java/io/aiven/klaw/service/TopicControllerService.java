@@ -15,6 +15,7 @@ import static io.aiven.klaw.error.KlawErrorMessages.TOPICS_ERR_111;
 import static io.aiven.klaw.error.KlawErrorMessages.TOPICS_ERR_112;
 import static io.aiven.klaw.error.KlawErrorMessages.TOPICS_ERR_113;
 import static io.aiven.klaw.error.KlawErrorMessages.TOPICS_ERR_114;
+import static io.aiven.klaw.error.KlawErrorMessages.TOPICS_ERR_115;
 import static io.aiven.klaw.error.KlawErrorMessages.TOPICS_VLD_ERR_121;
 import static io.aiven.klaw.helpers.KwConstants.ORDER_OF_TOPIC_ENVS;
 import static io.aiven.klaw.model.enums.MailType.*;
@@ -44,6 +45,8 @@ import io.aiven.klaw.model.TopicConfigEntry;
 import io.aiven.klaw.model.TopicConfiguration;
 import io.aiven.klaw.model.TopicConfigurationRequest;
 import io.aiven.klaw.model.TopicInfo;
+import io.aiven.klaw.model.cluster.topiccontents.TopicContentRecord;
+import io.aiven.klaw.model.cluster.topiccontents.TopicContentsSearchRequest;
 import io.aiven.klaw.model.enums.AclPatternType;
 import io.aiven.klaw.model.enums.AclType;
 import io.aiven.klaw.model.enums.ApiResultStatus;
@@ -66,6 +69,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -96,6 +100,8 @@ public class TopicControllerService {
 
   @Autowired private RolesPermissionsControllerService rolesPermissionsControllerService;
 
+  @Autowired private StorageReportService storageReportService;
+
   private int topicCounter = 0;
 
   TopicControllerService(ClusterApiService clusterApiService, MailUtils mailService) {
@@ -1046,6 +1052,7 @@ public class TopicControllerService {
 
       topicRequestModel.setTeamname(
           manageDatabase.getTeamNameFromTeamId(tenantId, topicRequest.getTeamId()));
+      storageReportService.addProjectedDiskImpact(tenantId, topicRequestModel);
 
       return topicRequestModel;
     }
@@ -1328,6 +1335,39 @@ public class TopicControllerService {
     return topicEvents;
   }
 
+  /**
+   * Search topic events by time window and key/value filters across all partitions of the topic.
+   *
+   * @return matching events keyed by partition-offset, in timestamp order
+   */
+  public Map<String, String> searchTopicEvents(
+      String envId, TopicContentsSearchRequest searchRequest) throws KlawException {
+    int tenantId = commonUtilsService.getTenantId(getUserName());
+    Env env = getEnvDetails(envId);
+    KwClusters kwClusters =
+        env == null
+            ? null
+            : manageDatabase.getClusters(KafkaClustersType.KAFKA, tenantId).get(env.getClusterId());
+    if (kwClusters == null) {
+      throw new KlawException(String.format(TOPICS_ERR_115, envId));
+    }
+    List<TopicContentRecord> topicContentRecords =
+        clusterApiService.searchTopicEvents(
+            kwClusters.getBootstrapServers(),
+            kwClusters.getProtocol(),
+            kwClusters.getClusterName() + kwClusters.getClusterId(),
+            searchRequest,
+            tenantId);
+
+    Map<String, String> topicEvents = new LinkedHashMap<>();
+    topicContentRecords.forEach(
+        topicContentRecord ->
+            topicEvents.put(
+                topicContentRecord.getPartition() + "-" + topicContentRecord.getOffset(),
+                topicContentRecord.getValue()));
+    return topicEvents;
+  }
+
   public List<TopicRequest> getExistingTopicRequests(
       TopicRequestModel topicRequestModel, int tenantId) {
     return manageDatabase
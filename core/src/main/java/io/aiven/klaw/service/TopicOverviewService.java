@@ -6,14 +6,24 @@ import static io.aiven.klaw.helpers.KwConstants.ORDER_OF_TOPIC_ENVS;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.aiven.klaw.dao.Acl;
 import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.dao.KwClusters;
 import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.error.KlawException;
 import io.aiven.klaw.helpers.HandleDbRequests;
 import io.aiven.klaw.helpers.KlawResourceUtils;
 import io.aiven.klaw.model.KwTenantConfigModel;
 import io.aiven.klaw.model.ResourceHistory;
 import io.aiven.klaw.model.TopicConfigurationRequest;
 import io.aiven.klaw.model.TopicOverviewInfo;
+import io.aiven.klaw.model.cluster.TopicMetrics;
+import io.aiven.klaw.model.cluster.multicluster.ClusterQuery;
+import io.aiven.klaw.model.cluster.multicluster.ClusterQueryResult;
 import io.aiven.klaw.model.enums.AclGroupBy;
+import io.aiven.klaw.model.enums.AclsNativeType;
+import io.aiven.klaw.model.enums.ClusterQueryStatus;
+import io.aiven.klaw.model.enums.ClusterQueryType;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaFlavors;
 import io.aiven.klaw.model.enums.PromotionStatusType;
 import io.aiven.klaw.model.enums.RequestOperationType;
 import io.aiven.klaw.model.enums.RequestStatus;
@@ -23,18 +33,23 @@ import io.aiven.klaw.model.response.PromotionStatus;
 import io.aiven.klaw.model.response.TopicOverview;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 public class TopicOverviewService extends BaseOverviewService {
 
+  @Autowired private PartitionHealthService partitionHealthService;
+
   public TopicOverviewService(MailUtils mailService) {
     super(mailService);
   }
@@ -250,6 +265,7 @@ public class TopicOverviewService extends BaseOverviewService {
       List<ResourceHistory> topicHistoryList,
       String topicName) {
     ArrayList<ResourceHistory> topicHistoryFromTopic;
+    Map<String, TopicMetrics> topicMetricsPerEnv = getTopicMetrics(topics, topicName, tenantId);
     for (Topic topic : topics) {
       TopicOverviewInfo topicInfo = new TopicOverviewInfo();
       topicInfo.setTopicName(topicName);
@@ -261,6 +277,9 @@ public class TopicOverviewService extends BaseOverviewService {
       topicInfo.setNoOfReplicas(topic.getNoOfReplicas());
       topicInfo.setTeamname(manageDatabase.getTeamNameFromTeamId(tenantId, topic.getTeamId()));
       topicInfo.setTeamId(topic.getTeamId());
+      topicInfo.setTopicMetrics(topicMetricsPerEnv.get(topic.getEnvironment()));
+      topicInfo.setPartitionHealth(
+          partitionHealthService.getTopicPartitionHealth(tenantId, topicEnv, topicName));
       String topicJsonParams = topic.getJsonParams();
       if (topicJsonParams != null) {
         TopicConfigurationRequest topicConfigurationRequest;
@@ -298,6 +317,62 @@ public class TopicOverviewService extends BaseOverviewService {
     topicOverview.setTopicHistoryList(topicHistoryList);
   }
 
+  // cluster api answers the envs of the topic in one request, from its cached samples, so the
+  // overview does not wait on the brokers
+  private Map<String, TopicMetrics> getTopicMetrics(
+      List<Topic> topics, String topicName, int tenantId) {
+    Map<String, TopicMetrics> topicMetricsPerEnv = new HashMap<>();
+    List<ClusterQuery> clusterQueries = new ArrayList<>();
+    for (Topic topic : topics) {
+      Env topicEnv = getEnvDetails(topic.getEnvironment(), tenantId);
+      KwClusters kwClusters =
+          manageDatabase
+              .getClusters(KafkaClustersType.KAFKA, tenantId)
+              .get(topicEnv.getClusterId());
+      if (kwClusters == null
+          || KafkaFlavors.CONFLUENT_CLOUD.value.equals(kwClusters.getKafkaFlavor())) {
+        continue;
+      }
+      ClusterQuery clusterQuery = new ClusterQuery();
+      clusterQuery.setQueryId(topic.getEnvironment());
+      clusterQuery.setBootstrapServers(kwClusters.getBootstrapServers());
+      clusterQuery.setProtocol(kwClusters.getProtocol());
+      clusterQuery.setClusterIdentification(
+          kwClusters.getClusterName() + kwClusters.getClusterId());
+      clusterQuery.setQueryType(ClusterQueryType.TOPIC_METRICS);
+      if (KafkaFlavors.AIVEN_FOR_APACHE_KAFKA.value.equals(kwClusters.getKafkaFlavor())) {
+        clusterQuery.setAclsNativeType(AclsNativeType.AIVEN);
+        clusterQuery.setProjectName(kwClusters.getProjectName());
+        clusterQuery.setServiceName(kwClusters.getServiceName());
+      }
+      clusterQuery.setTopicName(topicName);
+      clusterQueries.add(clusterQuery);
+    }
+    if (clusterQueries.isEmpty()) {
+      return topicMetricsPerEnv;
+    }
+
+    try {
+      for (ClusterQueryResult clusterQueryResult :
+          clusterApiService.queryClusters(clusterQueries, tenantId)) {
+        if (ClusterQueryStatus.SUCCESS == clusterQueryResult.getStatus()) {
+          topicMetricsPerEnv.put(
+              clusterQueryResult.getQueryId(), clusterQueryResult.getTopicMetrics());
+        } else {
+          log.warn(
+              "Unable to get metrics of topic {} on env {}: {} {}",
+              topicName,
+              clusterQueryResult.getQueryId(),
+              clusterQueryResult.getStatus(),
+              clusterQueryResult.getError());
+        }
+      }
+    } catch (KlawException e) {
+      log.error("Unable to get metrics of topic {}", topicName, e);
+    }
+    return topicMetricsPerEnv;
+  }
+
   private void updateTopicOverviewItems(
       String topicNameSearch,
       int tenantId,
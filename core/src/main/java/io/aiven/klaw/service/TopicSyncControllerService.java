@@ -879,6 +879,7 @@ public class TopicSyncControllerService {
             kwClusters.getProtocol(),
             kwClusters.getClusterName() + kwClusters.getClusterId(),
             kwClusters.getKafkaFlavor(),
+            topicNameSearch,
             tenantId);
 
     topicCounter = 0;
@@ -582,7 +582,12 @@ public class TopicAclControllerIT {
   @Test
   public void getTopicsFromCluster() throws Exception {
     when(clusterApiService.getAllTopics(
-            anyString(), eq(KafkaSupportedProtocol.PLAINTEXT), anyString(), anyString(), anyInt()))
+            anyString(),
+            eq(KafkaSupportedProtocol.PLAINTEXT),
+            anyString(),
+            anyString(),
+            any(),
+            anyInt()))
         .thenReturn(utilMethods.getClusterApiTopics(topicName, 10));
 
     String res =
@@ -609,7 +614,12 @@ public class TopicAclControllerIT {
   @Test
   public void getOnlyTopicNames() throws Exception {
     when(clusterApiService.getAllTopics(
-            anyString(), eq(KafkaSupportedProtocol.PLAINTEXT), anyString(), anyString(), anyInt()))
+            anyString(),
+            eq(KafkaSupportedProtocol.PLAINTEXT),
+            anyString(),
+            anyString(),
+            any(),
+            anyInt()))
         .thenReturn(utilMethods.getClusterApiTopics(topicName, 10));
 
     String res =
@@ -853,7 +863,7 @@ public class TopicAclControllerIT {
   public void getAclsWithSearch() throws Exception {
     List<Map<String, String>> aclInfo = new ArrayList<>(utilMethods.getClusterAcls2());
     when(clusterApiService.getAcls(
-            anyString(), any(), eq(KafkaSupportedProtocol.PLAINTEXT), anyInt()))
+            anyString(), any(), eq(KafkaSupportedProtocol.PLAINTEXT), any(), any(), anyInt()))
         .thenReturn(aclInfo);
 
     String res =
@@ -879,7 +889,7 @@ public class TopicAclControllerIT {
     List<Map<String, String>> aclInfo = utilMethods.getClusterSyncAcls();
 
     when(clusterApiService.getAcls(
-            anyString(), any(), eq(KafkaSupportedProtocol.PLAINTEXT), anyInt()))
+            anyString(), any(), eq(KafkaSupportedProtocol.PLAINTEXT), any(), any(), anyInt()))
         .thenReturn(aclInfo);
 
     String res =
@@ -1340,7 +1350,7 @@ public class TopicAclControllerIT {
   public void getSchemaOverview() throws Exception {
     List<Map<String, String>> aclInfo = new ArrayList<>(utilMethods.getClusterAcls2());
     when(clusterApiService.getAcls(
-            anyString(), any(), eq(KafkaSupportedProtocol.PLAINTEXT), anyInt()))
+            anyString(), any(), eq(KafkaSupportedProtocol.PLAINTEXT), any(), any(), anyInt()))
         .thenReturn(aclInfo);
 
     String res =
@@ -1365,7 +1375,7 @@ public class TopicAclControllerIT {
   public void getHistoriesOfTopicAclSchema() throws Exception {
     List<Map<String, String>> aclInfo = new ArrayList<>(utilMethods.getClusterAcls2());
     when(clusterApiService.getAcls(
-            anyString(), any(), eq(KafkaSupportedProtocol.PLAINTEXT), anyInt()))
+            anyString(), any(), eq(KafkaSupportedProtocol.PLAINTEXT), any(), any(), anyInt()))
         .thenReturn(aclInfo);
 
     String res =
@@ -0,0 +1,74 @@
+package io.aiven.klaw.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import javax.net.ssl.SSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SslMaterialCacheTest {
+
+  private static final String PASSWORD = "klaw1234";
+
+  @TempDir Path tempDir;
+
+  private File keyStoreFile;
+
+  private SslMaterialCache sslMaterialCache;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    keyStoreFile = tempDir.resolve("keystore.p12").toFile();
+    storeEmptyKeyStore();
+    sslMaterialCache = new SslMaterialCache();
+  }
+
+  @Test
+  void contextIsLoadedAgainOnlyAfterTheKeystoreChanged() throws Exception {
+    SslMaterialCache.SslMaterial sslMaterial = sslMaterial();
+
+    SSLContext sslContext = sslMaterialCache.getSslContext(sslMaterial);
+    assertThat(sslMaterialCache.getSslContext(sslMaterial)).isSameAs(sslContext);
+
+    assertThat(keyStoreFile.setLastModified(keyStoreFile.lastModified() - 10000)).isTrue();
+    assertThat(sslMaterialCache.getSslContext(sslMaterial)).isNotSameAs(sslContext);
+  }
+
+  @Test
+  void contextIsLoadedAgainWhenTheKeystoreIsReplacedWithTheSameSizeAndTime() throws Exception {
+    SslMaterialCache.SslMaterial sslMaterial = sslMaterial();
+    SSLContext sslContext = sslMaterialCache.getSslContext(sslMaterial);
+    long length = keyStoreFile.length();
+    long lastModified = keyStoreFile.lastModified();
+
+    // stored again with a new salt
+    storeEmptyKeyStore();
+    assertThat(keyStoreFile.setLastModified(lastModified)).isTrue();
+
+    assertThat(keyStoreFile.length()).isEqualTo(length);
+    assertThat(sslMaterialCache.getSslContext(sslMaterial)).isNotSameAs(sslContext);
+  }
+
+  private SslMaterialCache.SslMaterial sslMaterial() {
+    return SslMaterialCache.SslMaterial.builder()
+        .name("cluster api client")
+        .keyStoreLocation(keyStoreFile.getPath())
+        .keyStoreType("pkcs12")
+        .keyStorePassword(PASSWORD)
+        .build();
+  }
+
+  private void storeEmptyKeyStore() throws Exception {
+    KeyStore keyStore = KeyStore.getInstance("pkcs12");
+    keyStore.load(null, PASSWORD.toCharArray());
+    try (OutputStream outputStream = Files.newOutputStream(keyStoreFile.toPath())) {
+      keyStore.store(outputStream, PASSWORD.toCharArray());
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package io.aiven.klaw.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
@@ -127,13 +128,16 @@ class RequestControllerTest {
   @Test
   public void givenARequestToApproveMulitpleCallCorrectSCHEMAServiceAndReturnSuccessOK()
       throws KlawException {
-    when(schemaRegistryControllerService.execSchemaRequests(anyString()))
-        .thenReturn(getApiResponse(ApiResultStatus.SUCCESS, true));
+    when(schemaRegistryControllerService.execSchemaRequests(anyList()))
+        .thenReturn(
+            List.of(
+                getApiResponse(ApiResultStatus.SUCCESS, true),
+                getApiResponse(ApiResultStatus.SUCCESS, true)));
     ResponseEntity<List<ApiResponse>> result =
         controller.approveRequest(
             createRequestVerdict(RequestEntityType.SCHEMA, null, "1001", "2001"));
     assertThat(result.getStatusCode()).isEqualTo(HttpStatusCode.valueOf(200));
-    verify(schemaRegistryControllerService, times(2)).execSchemaRequests(anyString());
+    verify(schemaRegistryControllerService, times(1)).execSchemaRequests(List.of("1001", "2001"));
   }
 
   @Order(6)
@@ -141,39 +145,44 @@ class RequestControllerTest {
   public void
       givenARequestToApproveMulitpleCallCorrectSCHEMAServiceAndReturnSuccessMultiStatusResponse()
           throws KlawException {
-    when(schemaRegistryControllerService.execSchemaRequests(anyString()))
-        .thenReturn(getApiResponse(ApiResultStatus.SUCCESS, true))
-        .thenReturn(getApiResponse(ApiResultStatus.FAILURE, false));
+    when(schemaRegistryControllerService.execSchemaRequests(anyList()))
+        .thenReturn(
+            List.of(
+                getApiResponse(ApiResultStatus.SUCCESS, true),
+                getApiResponse(ApiResultStatus.FAILURE, false)));
     ResponseEntity<List<ApiResponse>> result =
         controller.approveRequest(
             createRequestVerdict(RequestEntityType.SCHEMA, null, "1001", "2001"));
     assertThat(result.getStatusCode()).isEqualTo(HttpStatusCode.valueOf(207));
-    verify(schemaRegistryControllerService, times(2)).execSchemaRequests(anyString());
+    verify(schemaRegistryControllerService, times(1)).execSchemaRequests(anyList());
   }
 
   @Order(7)
   @Test
   public void givenARequestToApproveCallCorrectSCHEMAServiceAndReturnISEResponse()
       throws KlawException {
-    when(schemaRegistryControllerService.execSchemaRequests(anyString()))
-        .thenReturn(getApiResponse(ApiResultStatus.FAILURE, false));
+    when(schemaRegistryControllerService.execSchemaRequests(anyList()))
+        .thenReturn(List.of(getApiResponse(ApiResultStatus.FAILURE, false)));
     ResponseEntity<List<ApiResponse>> result =
         controller.approveRequest(createRequestVerdict(RequestEntityType.SCHEMA, null, "1001"));
     assertThat(result.getStatusCode()).isEqualTo(HttpStatusCode.valueOf(500));
-    verify(schemaRegistryControllerService, times(1)).execSchemaRequests(anyString());
+    verify(schemaRegistryControllerService, times(1)).execSchemaRequests(anyList());
   }
 
   @Order(8)
   @Test
   public void givenMultipleRequestToApproveCallCorrectSCHEMAServiceAndReturnISEResponse()
       throws KlawException {
-    when(schemaRegistryControllerService.execSchemaRequests(anyString()))
-        .thenReturn(getApiResponse(ApiResultStatus.FAILURE, false));
+    when(schemaRegistryControllerService.execSchemaRequests(anyList()))
+        .thenReturn(
+            List.of(
+                getApiResponse(ApiResultStatus.FAILURE, false),
+                getApiResponse(ApiResultStatus.FAILURE, false)));
     ResponseEntity<List<ApiResponse>> result =
         controller.approveRequest(
             createRequestVerdict(RequestEntityType.SCHEMA, null, "1001", "2001"));
     assertThat(result.getStatusCode()).isEqualTo(HttpStatusCode.valueOf(500));
-    verify(schemaRegistryControllerService, times(2)).execSchemaRequests(anyString());
+    verify(schemaRegistryControllerService, times(1)).execSchemaRequests(anyList());
   }
 
   @Order(9)
@@ -293,7 +302,7 @@ class RequestControllerTest {
     assertThat(result.getStatusCode()).isEqualTo(HttpStatusCode.valueOf(500));
     verify(aclControllerService, times(0)).approveAclRequests(anyString());
     verify(kafkaConnectControllerService, times(0)).approveConnectorRequests(anyString());
-    verify(schemaRegistryControllerService, times(0)).execSchemaRequests(anyString());
+    verify(schemaRegistryControllerService, times(0)).execSchemaRequests(anyList());
     verify(topicControllerService, times(0)).approveTopicRequests(anyString());
   }
 
@@ -0,0 +1,120 @@
+package io.aiven.klaw.dao.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.aiven.klaw.dao.MessageSchemaBody;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MessageSchemaBodiesChangeTest {
+
+  private static final String SCHEMA_V1 = "{\"type\": \"string\"}";
+  private static final String SCHEMA_V2 = "{\"type\": \"long\"}";
+
+  private Connection connection;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    connection = DriverManager.getConnection("jdbc:h2:mem:schemabodies;MODE=MySQL");
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          "create table kwavroschemas (avroschemaid int, tenantid int, schemafull clob,"
+              + " schemahash varchar(64), primary key (avroschemaid, tenantid))");
+      statement.execute(
+          "create table kwschemabodies (schemahash varchar(64) primary key, schemafull clob)");
+    }
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("drop all objects");
+    }
+    connection.close();
+  }
+
+  @Test
+  void identicalSchemasAreMovedToOneBody() throws Exception {
+    insertSchema(1, 101, SCHEMA_V1);
+    insertSchema(2, 101, SCHEMA_V1);
+    insertSchema(1, 102, SCHEMA_V1);
+    insertSchema(3, 101, SCHEMA_V2);
+
+    MessageSchemaBodiesChange change = new MessageSchemaBodiesChange();
+    change.execute(getDatabase());
+
+    assertThat(countRows("kwschemabodies")).isEqualTo(2);
+    assertThat(getSchemaHashes())
+        .containsEntry("1-101", MessageSchemaBody.hashOf(SCHEMA_V1))
+        .containsEntry("2-101", MessageSchemaBody.hashOf(SCHEMA_V1))
+        .containsEntry("1-102", MessageSchemaBody.hashOf(SCHEMA_V1))
+        .containsEntry("3-101", MessageSchemaBody.hashOf(SCHEMA_V2));
+    assertThat(change.getConfirmationMessage())
+        .isEqualTo("Moved 4 schema versions to 2 distinct rows in kwschemabodies");
+  }
+
+  @Test
+  void changeCanBeRunAgain() throws Exception {
+    insertSchema(1, 101, SCHEMA_V1);
+    new MessageSchemaBodiesChange().execute(getDatabase());
+    insertSchema(2, 101, SCHEMA_V1);
+    insertSchema(3, 101, SCHEMA_V2);
+
+    MessageSchemaBodiesChange change = new MessageSchemaBodiesChange();
+    change.execute(getDatabase());
+
+    assertThat(countRows("kwschemabodies")).isEqualTo(2);
+    assertThat(getSchemaHashes()).hasSize(3).doesNotContainValue(null);
+    assertThat(change.getConfirmationMessage())
+        .isEqualTo("Moved 2 schema versions to 1 distinct rows in kwschemabodies");
+  }
+
+  private Database getDatabase() throws Exception {
+    return DatabaseFactory.getInstance()
+        .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+  }
+
+  private void insertSchema(int id, int tenantId, String schema) throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          "insert into kwavroschemas (avroschemaid, tenantid, schemafull) values ("
+              + id
+              + ", "
+              + tenantId
+              + ", '"
+              + schema
+              + "')");
+    }
+  }
+
+  private int countRows(String table) throws Exception {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("select count(*) from " + table)) {
+      resultSet.next();
+      return resultSet.getInt(1);
+    }
+  }
+
+  private Map<String, String> getSchemaHashes() throws Exception {
+    Map<String, String> schemaHashes = new HashMap<>();
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet =
+            statement.executeQuery(
+                "select avroschemaid, tenantid, schemahash from kwavroschemas")) {
+      while (resultSet.next()) {
+        schemaHashes.put(resultSet.getInt(1) + "-" + resultSet.getInt(2), resultSet.getString(3));
+      }
+    }
+    return schemaHashes;
+  }
+}
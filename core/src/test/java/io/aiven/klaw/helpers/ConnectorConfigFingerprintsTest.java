@@ -0,0 +1,40 @@
+package io.aiven.klaw.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class ConnectorConfigFingerprintsTest {
+
+  private final ConnectorConfigFingerprints connectorConfigFingerprints =
+      new ConnectorConfigFingerprints("password,secret");
+
+  @Test
+  void storedConfigMatchesConfigVersionOfClusterApi() {
+    String storedConfig = "{\n  \"tasks.max\" : 1,\n  \"db.password\" : \"ENC(xyz)\"\n}";
+
+    // version cluster-api returns for {"name": "conn1", "tasks.max": "1", "db.password": "secret"}
+    assertThat(connectorConfigFingerprints.of("conn1", storedConfig))
+        .contains("fad06ac3fe63538d470b2fec56a26c4aca6eb9a80791eacea5a683f6552072f0");
+  }
+
+  @Test
+  void changedValueChangesFingerprint() {
+    assertThat(
+            connectorConfigFingerprints.of("conn1", "{\"tasks.max\": \"3\", \"topics\": \"t1\"}"))
+        .isNotEqualTo(
+            connectorConfigFingerprints.of("conn1", "{\"tasks.max\": \"4\", \"topics\": \"t1\"}"));
+    // keys and values are delimited, so moving characters between them is a change too
+    assertThat(connectorConfigFingerprints.of("conn1", "{\"ab\": \"c\"}"))
+        .isNotEqualTo(connectorConfigFingerprints.of("conn1", "{\"a\": \"bc\"}"));
+    assertThat(connectorConfigFingerprints.of("conn1", "{\"topics\": \"t1\"}"))
+        .isNotEqualTo(connectorConfigFingerprints.of("conn2", "{\"topics\": \"t1\"}"));
+  }
+
+  @Test
+  void invalidStoredConfigHasNoFingerprint() {
+    assertThat(connectorConfigFingerprints.of("conn1", "[\"not\", \"an\", \"object\"]")).isEmpty();
+    assertThat(connectorConfigFingerprints.of("conn1", "{invalid")).isEmpty();
+    assertThat(connectorConfigFingerprints.of("conn1", null)).isEmpty();
+  }
+}
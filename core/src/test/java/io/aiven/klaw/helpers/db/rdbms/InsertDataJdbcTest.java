@@ -3,6 +3,8 @@ package io.aiven.klaw.helpers.db.rdbms;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.when;
 
 import io.aiven.klaw.UtilMethods;
@@ -13,6 +15,7 @@ import io.aiven.klaw.repository.AclRequestsRepo;
 import io.aiven.klaw.repository.ActivityLogRepo;
 import io.aiven.klaw.repository.EnvRepo;
 import io.aiven.klaw.repository.KwEntitySequenceRepo;
+import io.aiven.klaw.repository.MessageSchemaBodyRepo;
 import io.aiven.klaw.repository.MessageSchemaRepo;
 import io.aiven.klaw.repository.SchemaRequestRepo;
 import io.aiven.klaw.repository.TeamRepo;
@@ -22,6 +25,7 @@ import io.aiven.klaw.repository.UserInfoRepo;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,9 +33,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(SpringExtension.class)
 public class InsertDataJdbcTest {
@@ -56,6 +64,12 @@ public class InsertDataJdbcTest {
 
   @Mock MessageSchemaRepo messageSchemaRepo;
 
+  @Mock MessageSchemaBodyRepo messageSchemaBodyRepo;
+
+  @Mock TransactionTemplate transactionTemplate;
+
+  @Mock NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
   @Mock private TopicRequestsRepo topicRequestsRepo;
 
   @Mock private SchemaRequestRepo schemaRequestRepo;
@@ -82,6 +96,10 @@ public class InsertDataJdbcTest {
     ReflectionTestUtils.setField(insertData, "aclRequestsRepo", aclRequestsRepo);
     ReflectionTestUtils.setField(insertData, "envRepo", envRepo);
     ReflectionTestUtils.setField(insertData, "kwEntitySequenceRepo", kwEntitySequenceRepo);
+    ReflectionTestUtils.setField(insertData, "messageSchemaBodyRepo", messageSchemaBodyRepo);
+    ReflectionTestUtils.setField(insertData, "transactionTemplate", transactionTemplate);
+    ReflectionTestUtils.setField(
+        insertData, "namedParameterJdbcTemplate", namedParameterJdbcTemplate);
   }
 
   @Test
@@ -139,9 +157,23 @@ public class InsertDataJdbcTest {
   @Test
   public void insertIntoMessageSchemaSOT() {
     List<MessageSchema> schemas = utilMethods.getMSchemas();
-    when(messageSchemaRepo.getNextSchemaId(anyInt())).thenReturn(101);
+    when(namedParameterJdbcTemplate.queryForObject(anyString(), anyMap(), eq(Integer.class)))
+        .thenReturn(102);
+    doAnswer(
+            invocation -> {
+              invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+              return null;
+            })
+        .when(transactionTemplate)
+        .executeWithoutResult(any());
     String result = insertData.insertIntoMessageSchemaSOT(schemas);
     assertThat(result).isEqualTo(ApiResultStatus.SUCCESS.value);
+    InOrder inOrder = inOrder(messageSchemaBodyRepo, messageSchemaRepo);
+    inOrder
+        .verify(messageSchemaBodyRepo)
+        .lockSchemaBodies(List.of(MessageSchemaBody.hashOf("schema")));
+    inOrder.verify(messageSchemaRepo).save(schemas.get(0));
+    assertThat(schemas.get(0).getReq_no()).isEqualTo(101);
   }
 
   @Test
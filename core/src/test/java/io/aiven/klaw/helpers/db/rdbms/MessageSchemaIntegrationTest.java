@@ -0,0 +1,221 @@
+package io.aiven.klaw.helpers.db.rdbms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.aiven.klaw.dao.MessageSchema;
+import io.aiven.klaw.dao.MessageSchemaBody;
+import io.aiven.klaw.repository.MessageSchemaBodyRepo;
+import io.aiven.klaw.repository.MessageSchemaRepo;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class MessageSchemaIntegrationTest {
+
+  private static final String SCHEMA_V1 = "{\"type\": \"string\"}";
+  private static final String SCHEMA_V2 = "{\"type\": \"long\"}";
+  private static final String SCHEMA_V3 = "{\"type\": \"int\"}";
+
+  @Autowired private MessageSchemaRepo messageSchemaRepo;
+  @Autowired private MessageSchemaBodyRepo messageSchemaBodyRepo;
+
+  @Autowired private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Autowired TestEntityManager entityManager;
+
+  private DeleteDataJdbc deleteDataJdbc;
+
+  @BeforeEach
+  public void setUp() {
+    deleteDataJdbc = new DeleteDataJdbc();
+    ReflectionTestUtils.setField(deleteDataJdbc, "messageSchemaRepo", messageSchemaRepo);
+    ReflectionTestUtils.setField(deleteDataJdbc, "messageSchemaBodyRepo", messageSchemaBodyRepo);
+  }
+
+  @Test
+  public void identicalSchemasAreStoredOnce() {
+    messageSchemaRepo.saveAll(
+        List.of(
+            createMessageSchema(1, "topic1", "1", "1", SCHEMA_V1),
+            createMessageSchema(2, "topic1", "2", "1", SCHEMA_V1),
+            createMessageSchema(3, "topic1", "1", "2", SCHEMA_V2)));
+    entityManager.flush();
+    entityManager.clear();
+
+    assertThat(messageSchemaBodyRepo.count()).isEqualTo(2);
+    assertThat(messageSchemaRepo.findAllByTenantIdAndTopicnameAndEnvironment(101, "topic1", "2"))
+        .extracting(MessageSchema::getSchemafull)
+        .containsExactly(SCHEMA_V1);
+    assertThat(messageSchemaBodyRepo.findById(MessageSchemaBody.hashOf(SCHEMA_V2)))
+        .get()
+        .extracting(MessageSchemaBody::getSchemafull)
+        .isEqualTo(SCHEMA_V2);
+  }
+
+  @Test
+  public void schemaBodiesAreLoadedOnlyByReadsOfTheSchemaText() {
+    messageSchemaRepo.saveAll(List.of(createMessageSchema(1, "topic1", "1", "1", SCHEMA_V1)));
+    entityManager.flush();
+    entityManager.clear();
+
+    assertThat(messageSchemaRepo.findAllByTenantIdAndTopicnameAndEnvironment(101, "topic1", "1"))
+        .extracting(schema -> Hibernate.isInitialized(schema.getSchemaBody()))
+        .containsExactly(false);
+    entityManager.clear();
+    assertThat(
+            messageSchemaRepo.findAllWithSchemaBodyByTenantIdAndTopicnameAndEnvironment(
+                101, "topic1", "1"))
+        .extracting(schema -> Hibernate.isInitialized(schema.getSchemaBody()))
+        .containsExactly(true);
+  }
+
+  @Test
+  public void schemaBodiesAreRemovedWithTheirLastReference() {
+    messageSchemaRepo.saveAll(
+        List.of(
+            createMessageSchema(1, "topic1", "1", "1", SCHEMA_V1),
+            createMessageSchema(2, "topic1", "2", "1", SCHEMA_V1),
+            createMessageSchema(3, "topic1", "1", "2", SCHEMA_V2)));
+    entityManager.flush();
+
+    deleteDataJdbc.deleteSchemasWithOptions(101, "topic1", "1");
+    entityManager.clear();
+
+    assertThat(messageSchemaBodyRepo.findAll())
+        .extracting(MessageSchemaBody::getSchemafull)
+        .containsExactly(SCHEMA_V1);
+
+    deleteDataJdbc.deleteSchemasWithOptions(101, "topic1", "2");
+    entityManager.clear();
+
+    assertThat(messageSchemaBodyRepo.count()).isZero();
+  }
+
+  @Test
+  public void onlyBodiesOfDeletedVersionsAreChecked() {
+    messageSchemaRepo.saveAll(List.of(createMessageSchema(1, "topic1", "1", "1", SCHEMA_V1)));
+    // unreferenced, but not a body of the deleted versions
+    messageSchemaBodyRepo.save(MessageSchemaBody.of(SCHEMA_V2));
+    entityManager.flush();
+
+    deleteDataJdbc.deleteSchemasWithOptions(101, "topic1", "1");
+    entityManager.clear();
+
+    assertThat(messageSchemaBodyRepo.findAll())
+        .extracting(MessageSchemaBody::getSchemafull)
+        .containsExactly(SCHEMA_V2);
+  }
+
+  @Test
+  public void syncMessageSchemasAppliesOnlyChangedVersions() {
+    messageSchemaRepo.saveAll(
+        List.of(
+            createMessageSchema(1, "topic1", "1", "1", SCHEMA_V1),
+            createMessageSchema(2, "topic1", "1", "2", SCHEMA_V2),
+            createMessageSchema(3, "topic2", "1", "1", SCHEMA_V2),
+            createMessageSchema(4, "topic3", "1", "1", SCHEMA_V2)));
+    entityManager.flush();
+    entityManager.clear();
+
+    InsertDataJdbc insertDataJdbc = new InsertDataJdbc();
+    ReflectionTestUtils.setField(insertDataJdbc, "messageSchemaRepo", messageSchemaRepo);
+    ReflectionTestUtils.setField(insertDataJdbc, "messageSchemaBodyRepo", messageSchemaBodyRepo);
+    ReflectionTestUtils.setField(
+        insertDataJdbc, "namedParameterJdbcTemplate", namedParameterJdbcTemplate);
+    ReflectionTestUtils.setField(insertDataJdbc, "transactionTemplate", transactionTemplate);
+    ReflectionTestUtils.setField(insertDataJdbc, "schemaSyncChunkSize", 1);
+
+    Map<String, List<MessageSchema>> schemasByTopic = new LinkedHashMap<>();
+    // version 1 unchanged, version 2 changed, version 3 new
+    schemasByTopic.put(
+        "topic1",
+        List.of(
+            createMessageSchema(null, "topic1", "1", "1", SCHEMA_V1),
+            createMessageSchema(null, "topic1", "1", "2", SCHEMA_V3),
+            createMessageSchema(null, "topic1", "1", "3", SCHEMA_V3)));
+    // subject removed from the registry
+    schemasByTopic.put("topic2", List.of());
+    insertDataJdbc.syncMessageSchemas(101, "1", schemasByTopic);
+    entityManager.clear();
+
+    assertThat(messageSchemaRepo.findAllByTenantIdAndTopicnameAndEnvironment(101, "topic1", "1"))
+        .extracting(
+            MessageSchema::getReq_no, MessageSchema::getSchemaversion, MessageSchema::getSchemafull)
+        .containsExactlyInAnyOrder(
+            tuple(1, "1", SCHEMA_V1), tuple(5, "2", SCHEMA_V3), tuple(6, "3", SCHEMA_V3));
+    assertThat(messageSchemaRepo.findAllByTenantIdAndTopicnameAndEnvironment(101, "topic2", "1"))
+        .isEmpty();
+    // topics which are not synced are left alone
+    assertThat(messageSchemaRepo.findAllByTenantIdAndTopicnameAndEnvironment(101, "topic3", "1"))
+        .extracting(MessageSchema::getReq_no)
+        .containsExactly(4);
+    assertThat(messageSchemaBodyRepo.count()).isEqualTo(3);
+  }
+
+  @Test
+  public void schemaIdsAreReservedFromTheEntitySequence() {
+    messageSchemaRepo.saveAll(List.of(createMessageSchema(7, "topic1", "1", "1", SCHEMA_V1)));
+    entityManager.flush();
+    entityManager.clear();
+    InsertDataJdbc insertDataJdbc = new InsertDataJdbc();
+    ReflectionTestUtils.setField(insertDataJdbc, "messageSchemaRepo", messageSchemaRepo);
+    ReflectionTestUtils.setField(insertDataJdbc, "messageSchemaBodyRepo", messageSchemaBodyRepo);
+    ReflectionTestUtils.setField(
+        insertDataJdbc, "namedParameterJdbcTemplate", namedParameterJdbcTemplate);
+    ReflectionTestUtils.setField(insertDataJdbc, "transactionTemplate", transactionTemplate);
+    ReflectionTestUtils.setField(insertDataJdbc, "schemaSyncChunkSize", 10);
+
+    // the sequence starts after the stored ids, both ways of inserting schemas share it
+    insertDataJdbc.syncMessageSchemas(
+        101,
+        "1",
+        Map.of(
+            "topic2",
+            List.of(
+                createMessageSchema(null, "topic2", "1", "1", SCHEMA_V1),
+                createMessageSchema(null, "topic2", "1", "2", SCHEMA_V2))));
+    MessageSchema schema = createMessageSchema(null, "topic3", "1", "1", SCHEMA_V3);
+    insertDataJdbc.insertIntoMessageSchemaSOT(List.of(schema));
+    entityManager.clear();
+
+    assertThat(messageSchemaRepo.findAllByTenantIdAndTopicnameAndEnvironment(101, "topic2", "1"))
+        .extracting(MessageSchema::getReq_no)
+        .containsExactlyInAnyOrder(8, 9);
+    assertThat(schema.getReq_no()).isEqualTo(10);
+    assertThat(
+            namedParameterJdbcTemplate.queryForObject(
+                "select seq_id from kwentityseq where entity_name = 'SCHEMA_ID'"
+                    + " and tenantid = 101",
+                Map.of(),
+                Integer.class))
+        .isEqualTo(11);
+  }
+
+  private MessageSchema createMessageSchema(
+      Integer id, String topicName, String env, String version, String schema) {
+    MessageSchema messageSchema = new MessageSchema();
+    messageSchema.setReq_no(id);
+    messageSchema.setTenantId(101);
+    messageSchema.setTopicname(topicName);
+    messageSchema.setEnvironment(env);
+    messageSchema.setSchemaversion(version);
+    messageSchema.setTeamId(1);
+    messageSchema.setSchemafull(schema);
+    return messageSchema;
+  }
+}
@@ -0,0 +1,162 @@
+package io.aiven.klaw.helpers.db.rdbms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.aiven.klaw.dao.KwConsumerLag;
+import io.aiven.klaw.dao.KwMetricsSample;
+import io.aiven.klaw.model.enums.MetricsResolution;
+import io.aiven.klaw.repository.KwConsumerLagRepo;
+import io.aiven.klaw.repository.KwMetricsSampleRepo;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+public class MetricsSamplesIntegrationTest {
+
+  private static final String METRIC_NAME = "MessagesInPerSec";
+
+  // 10:00:00 UTC, the start of a bucket of every resolution
+  private static final long BUCKET_START = TimeUnit.HOURS.toMillis(24 * 20000 + 10);
+
+  @Autowired private KwMetricsSampleRepo kwMetricsSampleRepo;
+
+  @Autowired private KwConsumerLagRepo kwConsumerLagRepo;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Autowired private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  @Autowired TestEntityManager entityManager;
+
+  private InsertDataJdbc insertDataJdbc;
+
+  private SelectDataJdbc selectDataJdbc;
+
+  private DeleteDataJdbc deleteDataJdbc;
+
+  @BeforeEach
+  public void setUp() {
+    insertDataJdbc = new InsertDataJdbc();
+    ReflectionTestUtils.setField(insertDataJdbc, "transactionTemplate", transactionTemplate);
+    ReflectionTestUtils.setField(
+        insertDataJdbc, "namedParameterJdbcTemplate", namedParameterJdbcTemplate);
+    selectDataJdbc = new SelectDataJdbc();
+    ReflectionTestUtils.setField(selectDataJdbc, "kwMetricsSampleRepo", kwMetricsSampleRepo);
+    ReflectionTestUtils.setField(selectDataJdbc, "kwConsumerLagRepo", kwConsumerLagRepo);
+    deleteDataJdbc = new DeleteDataJdbc();
+    ReflectionTestUtils.setField(deleteDataJdbc, "kwMetricsSampleRepo", kwMetricsSampleRepo);
+  }
+
+  @Test
+  public void samplesAreAddedToBucketsOfEveryResolution() {
+    insertDataJdbc.insertMetricsSamples(101, "1", List.of(createSample(BUCKET_START, 10)));
+    insertDataJdbc.insertMetricsSamples(
+        101, "1", List.of(createSample(BUCKET_START + TimeUnit.SECONDS.toMillis(30), 20)));
+    insertDataJdbc.insertMetricsSamples(
+        101, "1", List.of(createSample(BUCKET_START + TimeUnit.MINUTES.toMillis(1), 60)));
+    entityManager.flush();
+    entityManager.clear();
+
+    assertThat(select(MetricsResolution.ONE_MINUTE))
+        .extracting(
+            KwMetricsSample::getBucketStart,
+            KwMetricsSample::getSampleCount,
+            KwMetricsSample::getAverage,
+            KwMetricsSample::getMaxValue)
+        .containsExactly(
+            tuple(BUCKET_START, 2, 15.0, 20.0),
+            tuple(BUCKET_START + TimeUnit.MINUTES.toMillis(1), 1, 60.0, 60.0));
+    assertThat(select(MetricsResolution.FIFTEEN_MINUTES))
+        .extracting(
+            KwMetricsSample::getBucketStart,
+            KwMetricsSample::getSampleCount,
+            KwMetricsSample::getAverage,
+            KwMetricsSample::getMaxValue)
+        .containsExactly(tuple(BUCKET_START, 3, 30.0, 60.0));
+    assertThat(select(MetricsResolution.ONE_HOUR))
+        .extracting(KwMetricsSample::getSampleCount, KwMetricsSample::getSumValue)
+        .containsExactly(tuple(3, 90.0));
+  }
+
+  @Test
+  public void onlyExpiredBucketsOfTheResolutionAreDeleted() {
+    insertDataJdbc.insertMetricsSamples(
+        101,
+        "1",
+        List.of(
+            createSample(BUCKET_START, 10),
+            createSample(BUCKET_START + TimeUnit.MINUTES.toMillis(1), 20)));
+    entityManager.flush();
+
+    int deleted =
+        deleteDataJdbc.deleteMetricsSamples(
+            MetricsResolution.ONE_MINUTE.minutes, BUCKET_START + TimeUnit.MINUTES.toMillis(1));
+    entityManager.clear();
+
+    assertThat(deleted).isEqualTo(1);
+    assertThat(select(MetricsResolution.ONE_MINUTE))
+        .extracting(KwMetricsSample::getBucketStart)
+        .containsExactly(BUCKET_START + TimeUnit.MINUTES.toMillis(1));
+    assertThat(select(MetricsResolution.ONE_HOUR))
+        .extracting(KwMetricsSample::getSampleCount)
+        .containsExactly(2);
+  }
+
+  @Test
+  public void consumerLagSamplesAreAddedToTheHourlyBucket() {
+    insertDataJdbc.insertConsumerLagSamples(
+        101, "1", List.of(createLagSample("topic1", 10), createLagSample("topic2", 5)));
+    insertDataJdbc.insertConsumerLagSamples(101, "1", List.of(createLagSample("topic1", 30)));
+    entityManager.flush();
+    entityManager.clear();
+
+    assertThat(selectDataJdbc.selectConsumerLagSamples(101, "1", "group1", "topic1", 0))
+        .extracting(
+            KwConsumerLag::getSampleCount, KwConsumerLag::getAverageLag, KwConsumerLag::getMaxLag)
+        .containsExactly(tuple(2, 20L, 30L));
+    assertThat(selectDataJdbc.selectConsumerLagSamples(101, "1", "group1", "topic2", 0))
+        .extracting(KwConsumerLag::getSampleCount, KwConsumerLag::getMaxLag)
+        .containsExactly(tuple(1, 5L));
+  }
+
+  private List<KwMetricsSample> select(MetricsResolution resolution) {
+    return selectDataJdbc.selectMetricsSamples(
+        101, "1", METRIC_NAME, KwMetricsSample.ALL_TOPICS, resolution.minutes, 0);
+  }
+
+  private KwMetricsSample createSample(long timeMs, double value) {
+    return KwMetricsSample.builder()
+        .metricName(METRIC_NAME)
+        .topicName(KwMetricsSample.ALL_TOPICS)
+        .bucketStart(timeMs)
+        .sampleCount(1)
+        .sumValue(value)
+        .maxValue(value)
+        .build();
+  }
+
+  private KwConsumerLag createLagSample(String topicName, long lag) {
+    return KwConsumerLag.builder()
+        .tenantId(101)
+        .env("1")
+        .consumerGroup("group1")
+        .topicName(topicName)
+        .bucketStart(BUCKET_START)
+        .sampleCount(1)
+        .sumLag(lag)
+        .maxLag(lag)
+        .build();
+  }
+}
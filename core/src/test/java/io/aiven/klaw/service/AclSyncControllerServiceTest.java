@@ -7,6 +7,10 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.aiven.klaw.UtilMethods;
@@ -34,6 +38,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -168,8 +173,7 @@ public class AclSyncControllerServiceTest {
     when(manageDatabase.getTeamsAndAllowedEnvs(anyInt(), anyInt()))
         .thenReturn(Collections.singletonList("1"));
     when(manageDatabase.getKafkaEnvList(anyInt())).thenReturn(utilMethods.getEnvLists());
-    when(clusterApiService.getAcls(anyString(), any(), any(), anyInt()))
-        .thenReturn(utilMethods.getClusterAcls());
+    stubClusterAcls(utilMethods.getClusterAcls());
     when(handleDbRequests.getAllTeamsOfUsers(anyString(), anyInt()))
         .thenReturn(getAvailableTeams());
     Topic t1 = new Topic();
@@ -197,7 +201,8 @@ public class AclSyncControllerServiceTest {
     when(manageDatabase.getTeamsAndAllowedEnvs(anyInt(), anyInt()))
         .thenReturn(Collections.singletonList("1"));
     when(manageDatabase.getKafkaEnvList(anyInt())).thenReturn(utilMethods.getEnvLists());
-    when(clusterApiService.getAcls(anyString(), any(), any(), anyInt()))
+    // aiven lists all acls in one call, the topic search is applied afterwards
+    when(clusterApiService.getAcls(anyString(), any(), any(), isNull(), isNull(), anyInt()))
         .thenReturn(utilMethods.getClusterAclsNonApacheKafka());
     when(handleDbRequests.getAllTeamsOfUsers(anyString(), anyInt()))
         .thenReturn(getAvailableTeams());
@@ -211,6 +216,7 @@ public class AclSyncControllerServiceTest {
         .thenReturn(clustersHashMap);
     when(clustersHashMap.get(any())).thenReturn(kwClusters);
     when(kwClusters.getBootstrapServers()).thenReturn("clusters");
+    when(kwClusters.getKafkaFlavor()).thenReturn(KafkaFlavors.AIVEN_FOR_APACHE_KAFKA.value);
 
     List<AclInfo> aclList =
         aclSyncControllerService.getSyncAcls(envSelected, pageNo, "1", topicNameSearch, "");
@@ -219,6 +225,7 @@ public class AclSyncControllerServiceTest {
     assertThat(aclList)
         .extracting(AclInfo::getRemarks)
         .containsExactlyInAnyOrder("DELETED", "ADDED");
+    verify(clusterApiService, times(1)).getAcls(anyString(), any(), any(), any(), any(), anyInt());
   }
 
   @Test
@@ -249,8 +256,7 @@ public class AclSyncControllerServiceTest {
     aclReq.setConsumergroup("-na-");
     aclReq.setAclType(AclType.PRODUCER.value);
     metadataAcls.add(aclReq);
-    when(clusterApiService.getAcls(anyString(), any(), any(), anyInt()))
-        .thenReturn(utilMethods.getClusterAclsNonApacheKafka());
+    stubClusterAcls(utilMethods.getClusterAclsNonApacheKafka());
     when(handleDbRequests.getSyncAcls(anyString(), anyInt())).thenReturn(metadataAcls);
 
     when(manageDatabase.getClusters(any(KafkaClustersType.class), anyInt()))
@@ -276,7 +282,8 @@ public class AclSyncControllerServiceTest {
     when(manageDatabase.getTeamsAndAllowedEnvs(anyInt(), anyInt()))
         .thenReturn(Collections.singletonList("1"));
     when(manageDatabase.getKafkaEnvList(anyInt())).thenReturn(utilMethods.getEnvLists());
-    when(clusterApiService.getAcls(anyString(), any(), any(KafkaSupportedProtocol.class), anyInt()))
+    when(clusterApiService.getAcls(
+            anyString(), any(), any(KafkaSupportedProtocol.class), any(), any(), anyInt()))
         .thenReturn(utilMethods.getClusterAcls());
     when(handleDbRequests.getAllTeamsOfUsers(anyString(), anyInt()))
         .thenReturn(getAvailableTeams());
@@ -362,6 +369,22 @@ public class AclSyncControllerServiceTest {
     return teamList;
   }
 
+  // a topic search lists the matching topic acls and all consumer group acls of the cluster
+  private void stubClusterAcls(List<Map<String, String>> clusterAcls) throws KlawException {
+    when(clusterApiService.getAcls(
+            anyString(), any(), any(), eq("TOPIC"), eq("testtopic1"), anyInt()))
+        .thenReturn(aclsOfType(clusterAcls, "TOPIC"));
+    when(clusterApiService.getAcls(anyString(), any(), any(), eq("GROUP"), isNull(), anyInt()))
+        .thenReturn(aclsOfType(clusterAcls, "GROUP"));
+  }
+
+  private static List<Map<String, String>> aclsOfType(
+      List<Map<String, String>> clusterAcls, String resourceType) {
+    return clusterAcls.stream()
+        .filter(acl -> resourceType.equals(acl.get("resourceType")))
+        .collect(Collectors.toList());
+  }
+
   private List<Acl> getAclsSOT0() {
     List<Acl> aclList = new ArrayList();
 
@@ -1,5 +1,7 @@
 package io.aiven.klaw.service;
 
+import static io.aiven.klaw.error.KlawErrorMessages.CLUSTER_API_ERR_128;
+import static io.aiven.klaw.error.KlawErrorMessages.CLUSTER_API_ERR_129;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
@@ -20,8 +22,16 @@ import io.aiven.klaw.error.KlawRestException;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.cluster.ClusterSchemaRequest;
+import io.aiven.klaw.model.cluster.ConnectorConfigDiff;
+import io.aiven.klaw.model.cluster.ConnectorConfigDiffEntry;
+import io.aiven.klaw.model.cluster.MetricsSample;
+import io.aiven.klaw.model.cluster.multicluster.ClusterQuery;
+import io.aiven.klaw.model.cluster.multicluster.ClusterQueryResult;
+import io.aiven.klaw.model.cluster.partitionhealth.PartitionHealthChanges;
 import io.aiven.klaw.model.enums.AclIPPrincipleType;
 import io.aiven.klaw.model.enums.ApiResultStatus;
+import io.aiven.klaw.model.enums.ClusterQueryStatus;
+import io.aiven.klaw.model.enums.ClusterQueryType;
 import io.aiven.klaw.model.enums.ClusterStatus;
 import io.aiven.klaw.model.enums.KafkaClustersType;
 import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
@@ -158,7 +168,7 @@ public class ClusterApiServiceTest {
         .thenReturn(response);
 
     List<Map<String, String>> result =
-        clusterApiService.getAcls("", env, KafkaSupportedProtocol.PLAINTEXT, 1);
+        clusterApiService.getAcls("", env, KafkaSupportedProtocol.PLAINTEXT, null, null, 1);
     assertThat(result).isEqualTo(new ArrayList<>(aclListOriginal));
   }
 
@@ -171,7 +181,8 @@ public class ClusterApiServiceTest {
         .thenThrow(new RuntimeException("error"));
 
     assertThatThrownBy(
-            () -> clusterApiService.getAcls("", env, KafkaSupportedProtocol.PLAINTEXT, 1))
+            () ->
+                clusterApiService.getAcls("", env, KafkaSupportedProtocol.PLAINTEXT, null, null, 1))
         .isInstanceOf(KlawException.class);
   }
 
@@ -189,7 +200,26 @@ public class ClusterApiServiceTest {
         .thenReturn(response);
 
     List<TopicConfig> result =
-        clusterApiService.getAllTopics("", KafkaSupportedProtocol.PLAINTEXT, "", "", 1);
+        clusterApiService.getAllTopics("", KafkaSupportedProtocol.PLAINTEXT, "", "", null, 1);
+    assertThat(result).isEqualTo(new ArrayList<>(topicsList));
+  }
+
+  @Test
+  @Order(5)
+  public void getAllTopicsWithSearchIsFilteredByClusterApi() throws Exception {
+    Set<String> topicsList = getTopics();
+    ResponseEntity response = new ResponseEntity<>(topicsList, HttpStatus.OK);
+
+    when(restTemplate.exchange(
+            Mockito.endsWith("/topicsNativeType/NATIVE?topicNameRegex={topicNameRegex}"),
+            eq(HttpMethod.GET),
+            Mockito.any(),
+            (ParameterizedTypeReference<Object>) any(),
+            eq(".*\\Qtopic\\E.*")))
+        .thenReturn(response);
+
+    List<TopicConfig> result =
+        clusterApiService.getAllTopics("", KafkaSupportedProtocol.PLAINTEXT, "", "", " topic ", 1);
     assertThat(result).isEqualTo(new ArrayList<>(topicsList));
   }
 
@@ -202,7 +232,9 @@ public class ClusterApiServiceTest {
         .thenThrow(new RuntimeException("error"));
 
     assertThatThrownBy(
-            () -> clusterApiService.getAllTopics("", KafkaSupportedProtocol.PLAINTEXT, "", "", 1))
+            () ->
+                clusterApiService.getAllTopics(
+                    "", KafkaSupportedProtocol.PLAINTEXT, "", "", null, 1))
         .isInstanceOf(KlawException.class);
   }
 
@@ -430,6 +462,67 @@ public class ClusterApiServiceTest {
     assertThat(clusterSchemaRequest.getFullSchema()).isEqualTo(SCHEMAFULL);
   }
 
+  @Test
+  @Order(13)
+  public void postSchemasReturnsResultPerRequest() throws KlawException {
+    SchemaRequest schemaRequest = new SchemaRequest();
+    schemaRequest.setSchemafull(SCHEMAFULL);
+    schemaRequest.setTopicname("testtopic");
+
+    List<Object> registerResults =
+        List.of(
+            Map.of("success", true, "message", ApiResultStatus.SUCCESS.value, "data", Map.of()));
+    ResponseEntity<ApiResponse> response =
+        new ResponseEntity<>(
+            ApiResponse.builder().success(true).data(registerResults).build(), HttpStatus.OK);
+
+    when(handleDbRequests.getEnvDetails(anyString(), anyInt())).thenReturn(this.env);
+    when(manageDatabase.getClusters(any(KafkaClustersType.class), anyInt()))
+        .thenReturn(clustersHashMap);
+    when(clustersHashMap.get(any())).thenReturn(kwClusters);
+    when(kwClusters.getBootstrapServers()).thenReturn(BOOTSRAP_SERVERS);
+    when(kwClusters.getProtocol()).thenReturn(KafkaSupportedProtocol.PLAINTEXT);
+    when(kwClusters.getClusterName()).thenReturn("cluster");
+    when(restTemplate.postForEntity(Mockito.anyString(), Mockito.any(), eq(ApiResponse.class)))
+        .thenReturn(response);
+
+    List<ApiResponse> result = clusterApiService.postSchemas(List.of(schemaRequest), "DEV", 1);
+
+    assertThat(result).hasSize(1);
+    assertThat(result.get(0).isSuccess()).isTrue();
+    verify(restTemplate, times(1)).postForEntity(anyString(), any(), eq(ApiResponse.class));
+  }
+
+  @Test
+  public void getConnectorConfigDiffConvertsResponseData() throws KlawException {
+    Map<String, Object> connectorConfigDiff =
+        Map.of(
+            "connectorName",
+            "conn1",
+            "inSync",
+            false,
+            "differences",
+            List.of(Map.of("key", "tasks.max", "storedValue", "1", "liveValue", "2")));
+    when(restTemplate.postForEntity(Mockito.anyString(), Mockito.any(), eq(ApiResponse.class)))
+        .thenReturn(
+            new ResponseEntity<>(
+                ApiResponse.builder().success(true).data(connectorConfigDiff).build(),
+                HttpStatus.OK));
+
+    ConnectorConfigDiff result =
+        clusterApiService.getConnectorConfigDiff(
+            "conn1",
+            "{\"tasks.max\": \"1\"}",
+            "localhost:8083",
+            KafkaSupportedProtocol.PLAINTEXT,
+            "connect1",
+            1);
+
+    assertThat(result.isInSync()).isFalse();
+    assertThat(result.getDifferences())
+        .containsExactly(new ConnectorConfigDiffEntry("tasks.max", "1", "2"));
+  }
+
   @Test
   @Order(13)
   public void postSchemaFailure() throws KlawException {
@@ -511,6 +604,128 @@ public class ClusterApiServiceTest {
     assertThat(Objects.requireNonNull(response1)).isEqualTo(FAILED_TO_EXECUTE_SUCCESSFULLY);
   }
 
+  @Test
+  @Order(16)
+  public void getClusterMetricsSuccess() throws Exception {
+    List<MetricsSample> metricsSamples =
+        List.of(
+            new MetricsSample("MessagesInPerSec", null, 12.5),
+            new MetricsSample("MessagesInPerSec", "topic1", 2.5));
+    ResponseEntity response = new ResponseEntity<>(metricsSamples, HttpStatus.OK);
+
+    when(restTemplate.exchange(
+            Mockito.endsWith("/PLAINTEXT/cluster1/jmxPort/9999"),
+            eq(HttpMethod.GET),
+            Mockito.any(),
+            (ParameterizedTypeReference<Object>) any()))
+        .thenReturn(response);
+
+    List<MetricsSample> result =
+        clusterApiService.getClusterMetrics(
+            BOOTSRAP_SERVERS, KafkaSupportedProtocol.PLAINTEXT, "cluster1", 9999, 1);
+    assertThat(result).isEqualTo(metricsSamples);
+  }
+
+  @Test
+  @Order(17)
+  public void getClusterMetricsFailure() {
+    when(restTemplate.exchange(
+            Mockito.anyString(),
+            eq(HttpMethod.GET),
+            Mockito.any(),
+            (ParameterizedTypeReference<Object>) any()))
+        .thenThrow(new RuntimeException("error"));
+
+    assertThatThrownBy(
+            () ->
+                clusterApiService.getClusterMetrics(
+                    BOOTSRAP_SERVERS, KafkaSupportedProtocol.PLAINTEXT, "cluster1", 9999, 1))
+        .isInstanceOf(KlawException.class);
+  }
+
+  @Test
+  @Order(18)
+  public void getPartitionHealthChanges() throws Exception {
+    PartitionHealthChanges partitionHealthChanges = new PartitionHealthChanges();
+    partitionHealthChanges.setEpoch(1000);
+    partitionHealthChanges.setVersion(3);
+    ResponseEntity response = new ResponseEntity<>(partitionHealthChanges, HttpStatus.OK);
+
+    when(restTemplate.exchange(
+            Mockito.endsWith("/PLAINTEXT/cluster1/epoch/1000/sinceVersion/2"),
+            eq(HttpMethod.GET),
+            Mockito.any(),
+            (ParameterizedTypeReference<Object>) any()))
+        .thenReturn(response);
+
+    PartitionHealthChanges result =
+        clusterApiService.getPartitionHealthChanges(
+            BOOTSRAP_SERVERS, KafkaSupportedProtocol.PLAINTEXT, "cluster1", 1000, 2, 1);
+    assertThat(result).isEqualTo(partitionHealthChanges);
+  }
+
+  @Test
+  @Order(19)
+  public void getStorageReportFailure() {
+    when(restTemplate.exchange(
+            Mockito.endsWith("/PLAINTEXT/cluster1"),
+            eq(HttpMethod.GET),
+            Mockito.any(),
+            (ParameterizedTypeReference<Object>) any()))
+        .thenThrow(new RuntimeException("error"));
+
+    assertThatThrownBy(
+            () ->
+                clusterApiService.getStorageReport(
+                    BOOTSRAP_SERVERS, KafkaSupportedProtocol.PLAINTEXT, "cluster1", 1))
+        .isInstanceOf(KlawException.class)
+        .hasMessage(CLUSTER_API_ERR_128);
+  }
+
+  @Test
+  @Order(20)
+  public void getConsumerGroupLagFailure() {
+    when(restTemplate.exchange(
+            Mockito.endsWith("/PLAINTEXT/cluster1"),
+            eq(HttpMethod.POST),
+            Mockito.any(),
+            (ParameterizedTypeReference<Object>) any()))
+        .thenThrow(new RuntimeException("error"));
+
+    assertThatThrownBy(
+            () ->
+                clusterApiService.getConsumerGroupLag(
+                    BOOTSRAP_SERVERS,
+                    KafkaSupportedProtocol.PLAINTEXT,
+                    "cluster1",
+                    Set.of("group1"),
+                    1))
+        .isInstanceOf(KlawException.class)
+        .hasMessage(CLUSTER_API_ERR_129);
+  }
+
+  @Test
+  @Order(21)
+  public void queryClusters() throws Exception {
+    ClusterQueryResult clusterQueryResult = new ClusterQueryResult();
+    clusterQueryResult.setQueryId("1");
+    clusterQueryResult.setStatus(ClusterQueryStatus.FAILED);
+    ResponseEntity response = new ResponseEntity<>(List.of(clusterQueryResult), HttpStatus.OK);
+
+    when(restTemplate.exchange(
+            Mockito.endsWith("/multiCluster/query"),
+            eq(HttpMethod.POST),
+            Mockito.any(),
+            (ParameterizedTypeReference<Object>) any()))
+        .thenReturn(response);
+
+    ClusterQuery clusterQuery = new ClusterQuery();
+    clusterQuery.setQueryId("1");
+    clusterQuery.setQueryType(ClusterQueryType.TOPIC_METRICS);
+    assertThat(clusterApiService.queryClusters(List.of(clusterQuery), 1))
+        .containsExactly(clusterQueryResult);
+  }
+
   private Set<String> getTopics() {
     Set<String> topicsList = new HashSet<>();
     topicsList.add("topic1");
@@ -0,0 +1,245 @@
+package io.aiven.klaw.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.dao.Acl;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.dao.KwClusters;
+import io.aiven.klaw.dao.KwConsumerLag;
+import io.aiven.klaw.dao.Team;
+import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
+import io.aiven.klaw.model.cluster.consumergroup.ConsumerGroupLag;
+import io.aiven.klaw.model.enums.AclPatternType;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaFlavors;
+import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ConsumerLagMonitorServiceTest {
+
+  private static final int TENANT_ID = 101;
+  private static final int TEAM_1 = 1;
+  private static final int TEAM_2 = 2;
+  private static final long SAMPLE_TIME_MS = 1_700_000_000_000L;
+
+  @Mock private ManageDatabase manageDatabase;
+  @Mock private HandleDbRequestsJdbc handleDbRequests;
+  @Mock private ClusterApiService clusterApiService;
+  @Mock private MailUtils mailService;
+
+  private ConsumerLagMonitorService consumerLagMonitorService;
+
+  private Team team1;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    consumerLagMonitorService = new ConsumerLagMonitorService();
+    ReflectionTestUtils.setField(consumerLagMonitorService, "manageDatabase", manageDatabase);
+    ReflectionTestUtils.setField(consumerLagMonitorService, "clusterApiService", clusterApiService);
+    ReflectionTestUtils.setField(consumerLagMonitorService, "mailService", mailService);
+    ReflectionTestUtils.setField(
+        consumerLagMonitorService, "consumerLagMonitorTaskExecutor", (Executor) Runnable::run);
+    ReflectionTestUtils.setField(consumerLagMonitorService, "defaultLagThreshold", 1000L);
+    ReflectionTestUtils.setField(consumerLagMonitorService, "alertRepeatIntervalHours", 24L);
+    ReflectionTestUtils.setField(consumerLagMonitorService, "monitorIntervalMs", 1000L);
+
+    Env env = new Env();
+    env.setId("1");
+    env.setName("DEV");
+    env.setClusterId(1);
+    KwClusters kwClusters = new KwClusters();
+    kwClusters.setClusterId(1);
+    kwClusters.setClusterName("DEV");
+    kwClusters.setBootstrapServers("localhost:9092");
+    kwClusters.setProtocol(KafkaSupportedProtocol.PLAINTEXT);
+    kwClusters.setKafkaFlavor(KafkaFlavors.APACHE_KAFKA.value);
+    team1 = team(TEAM_1, 50L);
+
+    when(manageDatabase.getTenantMap()).thenReturn(Map.of(TENANT_ID, "default"));
+    when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
+    when(handleDbRequests.getAllConsumerGroups(TENANT_ID))
+        .thenReturn(
+            List.of(
+                consumerAcl("group1", "orders", AclPatternType.LITERAL, TEAM_1),
+                consumerAcl("group2", "payments", AclPatternType.PREFIXED, TEAM_2)));
+    when(manageDatabase.getClusters(KafkaClustersType.KAFKA, TENANT_ID))
+        .thenReturn(Map.of(1, kwClusters));
+    when(manageDatabase.getKafkaEnvListAllTenants(TENANT_ID)).thenReturn(List.of(env));
+  }
+
+  @Test
+  void samplesTheLagOfTopicsGrantedThroughKlaw() throws Exception {
+    stubConsumerGroupLag();
+
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS);
+
+    ArgumentCaptor<List<KwConsumerLag>> samples = ArgumentCaptor.forClass(List.class);
+    verify(handleDbRequests).insertConsumerLagSamples(eq(TENANT_ID), eq("1"), samples.capture());
+    // group1 has no ACL on topic audit
+    assertThat(samples.getValue())
+        .extracting(KwConsumerLag::getConsumerGroup, KwConsumerLag::getTopicName)
+        .containsExactly(
+            tuple("group1", "orders"),
+            tuple("group2", "payments.eu"),
+            tuple("group2", "payments.us"));
+    assertThat(samples.getValue())
+        .extracting(KwConsumerLag::getBucketStart)
+        .containsOnly(SAMPLE_TIME_MS - SAMPLE_TIME_MS % TimeUnit.HOURS.toMillis(1));
+  }
+
+  @Test
+  void alertsEachTeamOnceWithItsOwnThreshold() throws Exception {
+    stubConsumerGroupLag();
+
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS);
+
+    // team 1 has a threshold of 50, team 2 the default of 1000
+    verify(mailService)
+        .sendConsumerLagMail(
+            eq(team1),
+            eq(50L),
+            eq(
+                List.of(
+                    "DEV: consumer group group1 on topic orders, lag 100 (max 100 on a partition)")),
+            eq(TENANT_ID),
+            any());
+    ArgumentCaptor<List<String>> team2Alerts = ArgumentCaptor.forClass(List.class);
+    verify(mailService)
+        .sendConsumerLagMail(
+            any(Team.class), eq(1000L), team2Alerts.capture(), eq(TENANT_ID), any());
+    assertThat(team2Alerts.getValue()).hasSize(1).allMatch(alert -> alert.contains("payments.us"));
+  }
+
+  @Test
+  void alertsAreRepeatedOnlyAfterTheRepeatInterval() throws Exception {
+    stubConsumerGroupLag();
+
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS);
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS + TimeUnit.HOURS.toMillis(1));
+    verify(mailService, times(2))
+        .sendConsumerLagMail(any(Team.class), anyLong(), anyList(), anyInt(), any());
+
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS + TimeUnit.HOURS.toMillis(24));
+    verify(mailService, times(4))
+        .sendConsumerLagMail(any(Team.class), anyLong(), anyList(), anyInt(), any());
+  }
+
+  @Test
+  void alertsWhichCouldNotBeSentAreDueAgain() throws Exception {
+    stubConsumerGroupLag();
+    when(mailService.sendConsumerLagMail(any(Team.class), anyLong(), anyList(), anyInt(), any()))
+        .thenReturn(CompletableFuture.completedFuture(false));
+
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS);
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS + TimeUnit.HOURS.toMillis(1));
+
+    verify(mailService, times(4))
+        .sendConsumerLagMail(any(Team.class), anyLong(), anyList(), anyInt(), any());
+  }
+
+  @Test
+  void alertsOfDeletedConsumerGroupsAreForgotten() throws Exception {
+    stubConsumerGroupLag();
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS);
+
+    // group1 is deleted, and later recreated with the same lag
+    when(clusterApiService.getConsumerGroupLag(
+            anyString(), any(KafkaSupportedProtocol.class), anyString(), any(), eq(TENANT_ID)))
+        .thenReturn(List.of(lag("group2", "payments.us", 2000)))
+        .thenReturn(List.of(lag("group1", "orders", 100), lag("group2", "payments.us", 2000)));
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS + TimeUnit.HOURS.toMillis(1));
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS + TimeUnit.HOURS.toMillis(2));
+
+    verify(mailService, times(2))
+        .sendConsumerLagMail(eq(team1), anyLong(), anyList(), anyInt(), any());
+    verify(mailService, times(1))
+        .sendConsumerLagMail(
+            argThat(team -> team.getTeamId() == TEAM_2), anyLong(), anyList(), anyInt(), any());
+  }
+
+  @Test
+  void clustersWhichCannotBeReadAreSkipped() throws Exception {
+    when(clusterApiService.getConsumerGroupLag(
+            anyString(), any(KafkaSupportedProtocol.class), anyString(), any(), eq(TENANT_ID)))
+        .thenThrow(new KlawException("error"));
+
+    consumerLagMonitorService.monitorConsumerLag(SAMPLE_TIME_MS);
+
+    verify(handleDbRequests, never()).insertConsumerLagSamples(anyInt(), anyString(), anyList());
+    verify(mailService, never())
+        .sendConsumerLagMail(any(Team.class), anyLong(), anyList(), anyInt(), any());
+  }
+
+  private void stubConsumerGroupLag() throws Exception {
+    when(clusterApiService.getConsumerGroupLag(
+            anyString(), any(KafkaSupportedProtocol.class), anyString(), any(), eq(TENANT_ID)))
+        .thenReturn(
+            List.of(
+                lag("group1", "orders", 100),
+                lag("group1", "audit", 5000),
+                lag("group2", "payments.eu", 900),
+                lag("group2", "payments.us", 2000)));
+    when(manageDatabase.getTeamObjForTenant(TENANT_ID))
+        .thenReturn(List.of(team1, team(TEAM_2, null)));
+    lenient()
+        .when(
+            mailService.sendConsumerLagMail(any(Team.class), anyLong(), anyList(), anyInt(), any()))
+        .thenReturn(CompletableFuture.completedFuture(true));
+  }
+
+  private static Acl consumerAcl(
+      String consumerGroup, String topicName, AclPatternType aclPatternType, int teamId) {
+    Acl acl = new Acl();
+    acl.setConsumergroup(consumerGroup);
+    acl.setTopicname(topicName);
+    acl.setAclPatternType(aclPatternType.name());
+    acl.setEnvironment("1");
+    acl.setTeamId(teamId);
+    return acl;
+  }
+
+  private static Team team(int teamId, Long consumerLagThreshold) {
+    Team team = new Team();
+    team.setTeamId(teamId);
+    team.setTeamname("Team" + teamId);
+    team.setConsumerLagThreshold(consumerLagThreshold);
+    return team;
+  }
+
+  private static ConsumerGroupLag lag(String consumerGroup, String topicName, long totalLag) {
+    ConsumerGroupLag consumerGroupLag = new ConsumerGroupLag();
+    consumerGroupLag.setConsumerGroup(consumerGroup);
+    consumerGroupLag.setTopicName(topicName);
+    consumerGroupLag.setPartitions(1);
+    consumerGroupLag.setTotalLag(totalLag);
+    consumerGroupLag.setMaxPartitionLag(totalLag);
+    return consumerGroupLag;
+  }
+}
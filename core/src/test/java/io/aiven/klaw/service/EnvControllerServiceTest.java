@@ -9,18 +9,22 @@ import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.dao.KwClusters;
 import io.aiven.klaw.dao.KwTenants;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
+import io.aiven.klaw.model.cluster.EnvHealth;
 import io.aiven.klaw.model.enums.ClusterStatus;
 import io.aiven.klaw.model.enums.KafkaClustersType;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class EnvControllerServiceTest {
@@ -30,6 +34,12 @@ class EnvControllerServiceTest {
 
   @InjectMocks private EnvControllerService envControllerService;
 
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(
+        envControllerService, "envStatusTaskExecutor", (Executor) Runnable::run);
+  }
+
   @Test
   void loadTenantActiveStatus() {
     KwTenants kwTenants = new KwTenants();
@@ -50,29 +60,82 @@ class EnvControllerServiceTest {
 
   @Test
   void loadEnvsWithStatus() {
-    Env env = new Env();
-    env.setType(KafkaClustersType.ALL.value);
-    env.setClusterId(TestConstants.CLUSTER_ID);
-    KwClusters kwClusters = new KwClusters();
+    Env kafkaEnv = env("1");
+    Env schemaRegEnv = env("2");
+    Env kafkaConnectEnv = env("3");
+    stubEnvs(kafkaEnv, schemaRegEnv, kafkaConnectEnv);
+    Mockito.when(
+            clusterApiService.getKafkaClusterStatus(any(), any(), any(), any(), any(), anyInt()))
+        .thenReturn(ClusterStatus.ONLINE);
+    Mockito.when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequestsJdbc);
 
-    Mockito.when(manageDatabase.getTenantMap())
-        .thenReturn(Map.of(TestConstants.TENANT_ID, TestConstants.TENANT_NAME));
-    Mockito.when(manageDatabase.getKafkaEnvListAllTenants(TestConstants.TENANT_ID))
-        .thenReturn(List.of(env));
-    Mockito.when(manageDatabase.getSchemaRegEnvList(TestConstants.TENANT_ID))
-        .thenReturn(List.of(env));
-    Mockito.when(manageDatabase.getKafkaConnectEnvList(TestConstants.TENANT_ID))
-        .thenReturn(List.of(env));
-    Mockito.when(manageDatabase.getClusters(KafkaClustersType.ALL, TestConstants.TENANT_ID))
-        .thenReturn(Map.of(TestConstants.CLUSTER_ID, kwClusters));
+    envControllerService.loadEnvsWithStatus();
+
+    Mockito.verify(handleDbRequestsJdbc).addNewEnv(kafkaEnv);
+    Mockito.verify(handleDbRequestsJdbc).addNewEnv(schemaRegEnv);
+    Mockito.verify(handleDbRequestsJdbc).addNewEnv(kafkaConnectEnv);
+    Assertions.assertEquals(kafkaEnv.getEnvStatus(), ClusterStatus.ONLINE);
+  }
+
+  @Test
+  void envsAreOnlyStoredWhenTheirStatusChanged() {
+    Env kafkaEnv = env("1");
+    stubEnvs(kafkaEnv);
+    Mockito.when(
+            clusterApiService.getKafkaClusterStatus(any(), any(), any(), any(), any(), anyInt()))
+        .thenReturn(ClusterStatus.NOT_KNOWN, ClusterStatus.ONLINE, ClusterStatus.ONLINE);
+    Mockito.when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequestsJdbc);
+
+    envControllerService.loadEnvsWithStatus();
+    envControllerService.loadEnvsWithStatus();
+    envControllerService.loadEnvsWithStatus();
+
+    Mockito.verify(handleDbRequestsJdbc, Mockito.times(2)).addNewEnv(kafkaEnv);
+    Mockito.verify(manageDatabase, Mockito.times(3))
+        .addEnvToCache(TestConstants.TENANT_ID, kafkaEnv, true);
+    EnvHealth envHealth = envControllerService.getEnvHealth(TestConstants.TENANT_ID, "1").get();
+    Assertions.assertEquals(ClusterStatus.ONLINE, envHealth.getStatus());
+    // the error of the first check is kept after the env recovered
+    Assertions.assertEquals("Status could not be read from cluster api", envHealth.getLastError());
+    Assertions.assertEquals(1, envControllerService.getEnvHealth().size());
+  }
+
+  @Test
+  void deletedEnvsAreNoLongerReported() {
+    stubEnvs(env("1"));
     Mockito.when(
             clusterApiService.getKafkaClusterStatus(any(), any(), any(), any(), any(), anyInt()))
         .thenReturn(ClusterStatus.ONLINE);
     Mockito.when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequestsJdbc);
+    envControllerService.loadEnvsWithStatus();
 
+    Mockito.when(manageDatabase.getKafkaEnvListAllTenants(TestConstants.TENANT_ID))
+        .thenReturn(List.of());
     envControllerService.loadEnvsWithStatus();
 
-    Mockito.verify(handleDbRequestsJdbc, Mockito.times(3)).addNewEnv(env);
-    Assertions.assertEquals(env.getEnvStatus(), ClusterStatus.ONLINE);
+    Assertions.assertTrue(
+        envControllerService.getEnvHealth(TestConstants.TENANT_ID, "1").isEmpty());
+  }
+
+  private void stubEnvs(Env kafkaEnv, Env... otherEnvs) {
+    Mockito.when(manageDatabase.getTenantMap())
+        .thenReturn(Map.of(TestConstants.TENANT_ID, TestConstants.TENANT_NAME));
+    Mockito.when(manageDatabase.getKafkaEnvListAllTenants(TestConstants.TENANT_ID))
+        .thenReturn(List.of(kafkaEnv));
+    Mockito.when(manageDatabase.getSchemaRegEnvList(TestConstants.TENANT_ID))
+        .thenReturn(otherEnvs.length > 0 ? List.of(otherEnvs[0]) : List.of());
+    Mockito.when(manageDatabase.getKafkaConnectEnvList(TestConstants.TENANT_ID))
+        .thenReturn(otherEnvs.length > 1 ? List.of(otherEnvs[1]) : List.of());
+    Mockito.when(manageDatabase.getClusters(KafkaClustersType.ALL, TestConstants.TENANT_ID))
+        .thenReturn(Map.of(TestConstants.CLUSTER_ID, new KwClusters()));
+  }
+
+  private static Env env(String envId) {
+    Env env = new Env();
+    env.setId(envId);
+    env.setName("ENV" + envId);
+    env.setType(KafkaClustersType.ALL.value);
+    env.setClusterId(TestConstants.CLUSTER_ID);
+    return env;
   }
 }
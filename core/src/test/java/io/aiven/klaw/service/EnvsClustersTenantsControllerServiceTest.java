@@ -17,15 +17,20 @@ import io.aiven.klaw.error.KlawException;
 import io.aiven.klaw.error.KlawValidationException;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.ApiResponse;
+import io.aiven.klaw.model.cluster.EnvHealth;
 import io.aiven.klaw.model.enums.ApiResultStatus;
+import io.aiven.klaw.model.enums.ClusterStatus;
 import io.aiven.klaw.model.enums.EntityType;
 import io.aiven.klaw.model.enums.KafkaClustersType;
 import io.aiven.klaw.model.requests.EnvModel;
 import io.aiven.klaw.model.response.EnvModelResponse;
 import io.aiven.klaw.model.response.EnvParams;
+import io.aiven.klaw.model.response.EnvUpdatedStatus;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
@@ -58,6 +63,8 @@ class EnvsClustersTenantsControllerServiceTest {
   @Mock private UsersTeamsControllerService usersTeamsControllerService;
   @Mock private HandleDbRequestsJdbc handleDbRequestsJdbc;
 
+  @Mock private EnvControllerService envControllerService;
+
   @Captor ArgumentCaptor<Env> envCapture;
 
   @BeforeEach
@@ -69,6 +76,7 @@ class EnvsClustersTenantsControllerServiceTest {
     ReflectionTestUtils.setField(service, "clusterApiService", clusterApiService);
     ReflectionTestUtils.setField(
         service, "usersTeamsControllerService", usersTeamsControllerService);
+    ReflectionTestUtils.setField(service, "envControllerService", envControllerService);
     when(mailService.getUserName(any())).thenReturn("testuser");
     when(handleDbRequestsJdbc.getUsersInfo(any())).thenReturn(buildUserInfo());
     when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequestsJdbc);
@@ -308,6 +316,30 @@ class EnvsClustersTenantsControllerServiceTest {
   @Test
   void deleteEnvironment() {}
 
+  @Test
+  @WithMockUser(
+      username = "james",
+      authorities = {"ADMIN", "USER"})
+  void updateEnvStatusIsServedFromTheLastCheck() throws Exception {
+    EnvHealth envHealth = new EnvHealth();
+    envHealth.setStatus(ClusterStatus.ONLINE);
+    envHealth.setLatencyMs(15);
+    envHealth.setCheckedAtMs(1_700_000_000_000L);
+    envHealth.setLastError("Cluster status is OFFLINE");
+    when(manageDatabase.getAllEnvList(101))
+        .thenReturn(List.of(buildEnv("1", 101, "DEV", KafkaClustersType.KAFKA, 1)));
+    when(envControllerService.getEnvHealth(101, "1")).thenReturn(Optional.of(envHealth));
+
+    EnvUpdatedStatus envUpdatedStatus = service.getUpdateEnvStatus("1");
+
+    assertThat(envUpdatedStatus.getEnvStatus()).isEqualTo(ClusterStatus.ONLINE);
+    assertThat(envUpdatedStatus.getEnvStatusTime())
+        .isEqualTo(LocalDateTime.of(2023, 11, 14, 22, 13, 20));
+    assertThat(envUpdatedStatus.getLatencyMs()).isEqualTo(15);
+    assertThat(envUpdatedStatus.getLastError()).isEqualTo("Cluster status is OFFLINE");
+    verify(envControllerService, times(0)).updateEnvStatusPerEnv(anyInt(), any());
+  }
+
   private EnvID buildEnvID(String id, int tenantId) {
     EnvID env = new EnvID();
     env.setId(id);
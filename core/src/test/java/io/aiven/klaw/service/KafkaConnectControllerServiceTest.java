@@ -10,6 +10,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -17,6 +18,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import io.aiven.klaw.config.ManageDatabase;
 import io.aiven.klaw.dao.Env;
 import io.aiven.klaw.dao.KafkaConnectorRequest;
+import io.aiven.klaw.dao.KwClusters;
 import io.aiven.klaw.dao.KwKafkaConnector;
 import io.aiven.klaw.dao.Team;
 import io.aiven.klaw.dao.UserInfo;
@@ -25,7 +27,10 @@ import io.aiven.klaw.error.KlawException;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.KwTenantConfigModel;
+import io.aiven.klaw.model.cluster.ConnectorConfigDiff;
 import io.aiven.klaw.model.enums.ApiResultStatus;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
 import io.aiven.klaw.model.enums.PromotionStatusType;
 import io.aiven.klaw.model.enums.RequestOperationType;
 import io.aiven.klaw.model.enums.RequestStatus;
@@ -76,6 +81,8 @@ public class KafkaConnectControllerServiceTest {
 
   @Mock private MailUtils mailService;
 
+  @Mock private ClusterApiService clusterApiService;
+
   private KafkaConnectControllerService kafkaConnectControllerService;
 
   @Mock RolesPermissionsControllerService rolesPermissionsControllerService;
@@ -98,6 +105,8 @@ public class KafkaConnectControllerServiceTest {
     env.setName("DEV");
     ReflectionTestUtils.setField(kafkaConnectControllerService, "manageDatabase", manageDatabase);
     ReflectionTestUtils.setField(kafkaConnectControllerService, "mailService", mailService);
+    ReflectionTestUtils.setField(
+        kafkaConnectControllerService, "clusterApiService", clusterApiService);
     ReflectionTestUtils.setField(
         kafkaConnectControllerService, "kafkaConnectorSensitiveFields", "password,username");
     ReflectionTestUtils.setField(
@@ -1026,6 +1035,57 @@ public class KafkaConnectControllerServiceTest {
     assertThat(response.getAvailableEnvironments()).hasSize(2);
   }
 
+  @Test
+  @Order(25)
+  public void getConnectorConfigDiff_ComparesStoredConfigOfEnv() throws Exception {
+    stubUserInfo();
+    when(commonUtilsService.getTenantId(any())).thenReturn(TENANT_ID);
+    when(commonUtilsService.getEnvsFromUserId(eq(USERNAME))).thenReturn(Set.of("0", "1", "2"));
+    List<KwKafkaConnector> connectors = generateKafkaConnectors(2);
+    connectors.get(1).setConnectorConfig("{\"tasks.max\": \"1\"}");
+    when(handleDbRequests.getConnectors(eq(CONNECTOR_NAME), eq(TENANT_ID))).thenReturn(connectors);
+    Env tst = new Env();
+    tst.setId("1");
+    tst.setClusterId(3);
+    when(manageDatabase.getKafkaConnectEnvList(TENANT_ID)).thenReturn(List.of(tst));
+    KwClusters kwClusters = new KwClusters();
+    kwClusters.setClusterId(3);
+    kwClusters.setClusterName("connect");
+    kwClusters.setBootstrapServers("localhost:8083");
+    kwClusters.setProtocol(KafkaSupportedProtocol.PLAINTEXT);
+    when(manageDatabase.getClusters(KafkaClustersType.KAFKA_CONNECT, TENANT_ID))
+        .thenReturn(Map.of(3, kwClusters));
+    ConnectorConfigDiff connectorConfigDiff = new ConnectorConfigDiff();
+    connectorConfigDiff.setInSync(true);
+    when(clusterApiService.getConnectorConfigDiff(
+            eq(CONNECTOR_NAME),
+            eq("{\"tasks.max\": \"1\"}"),
+            eq("localhost:8083"),
+            eq(KafkaSupportedProtocol.PLAINTEXT),
+            eq("connect3"),
+            eq(TENANT_ID)))
+        .thenReturn(connectorConfigDiff);
+
+    assertThat(kafkaConnectControllerService.getConnectorConfigDiff("1", CONNECTOR_NAME))
+        .isSameAs(connectorConfigDiff);
+  }
+
+  @Test
+  @Order(26)
+  public void getConnectorConfigDiff_EnvNotAllowed() {
+    stubUserInfo();
+    when(commonUtilsService.getTenantId(any())).thenReturn(TENANT_ID);
+    when(commonUtilsService.getEnvsFromUserId(eq(USERNAME))).thenReturn(Set.of("0"));
+    when(handleDbRequests.getConnectors(eq(CONNECTOR_NAME), eq(TENANT_ID)))
+        .thenReturn(generateKafkaConnectors(2));
+
+    assertThatThrownBy(
+            () -> kafkaConnectControllerService.getConnectorConfigDiff("1", CONNECTOR_NAME))
+        .isInstanceOf(KlawBadRequestException.class)
+        .hasMessage("Connector conn1 does not exist in this environment.");
+    verifyNoInteractions(clusterApiService);
+  }
+
   private static Team createTeam(String teamName, int teamId) {
     Team t = new Team();
     t.setTeamId(teamId);
@@ -1,6 +1,7 @@
 package io.aiven.klaw.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -15,6 +16,7 @@ import io.aiven.klaw.dao.KwClusters;
 import io.aiven.klaw.dao.KwKafkaConnector;
 import io.aiven.klaw.dao.UserInfo;
 import io.aiven.klaw.error.KlawException;
+import io.aiven.klaw.helpers.ConnectorConfigFingerprints;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.KwTenantConfigModel;
@@ -95,6 +97,10 @@ public class KafkaConnectSyncControllerServiceTest {
         kafkaConnectSyncControllerService, "commonUtilsService", commonUtilsService);
     ReflectionTestUtils.setField(
         kafkaConnectSyncControllerService, "clusterApiService", clusterApiService);
+    ReflectionTestUtils.setField(
+        kafkaConnectSyncControllerService,
+        "connectorConfigFingerprints",
+        new ConnectorConfigFingerprints("password"));
 
     when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
     loginMock();
@@ -262,6 +268,54 @@ public class KafkaConnectSyncControllerServiceTest {
     assertThat(synced).isEqualTo(0);
   }
 
+  @Test
+  @Order(3)
+  public void getSync_WithConnectorStatuses_DetectsConfigDrift() throws KlawException {
+    stubUserInfo();
+    when(manageDatabase.getKafkaConnectEnvList(anyInt())).thenReturn(List.of(env, test));
+    when(manageDatabase.getTeamNameFromTeamId(eq(1), eq(10))).thenReturn(TEAM_NAME_1);
+    when(manageDatabase.getClusters(eq(KafkaClustersType.KAFKA_CONNECT), eq(1)))
+        .thenReturn(getConnectlusters(2));
+    List<KwKafkaConnector> connectorsFromDb = getConnectorsFromDb(2);
+    connectorsFromDb.get(0).setConnectorConfig("{\n  \"topics\" : \"t1\",\n  \"tasks.max\" : 1\n}");
+    connectorsFromDb.get(1).setConnectorConfig("{\"tasks.max\": \"1\", \"topics\": \"t1\"}");
+    when(manageDatabase.getHandleDbRequests().getSyncConnectors(eq("2"), eq(null), eq(1)))
+        .thenReturn(connectorsFromDb);
+    ConnectorsStatus connectorsStatus = getConnectorStatus(2);
+    ConnectorConfigFingerprints clusterConfigVersions = new ConnectorConfigFingerprints("password");
+    connectorsStatus
+        .getConnectorStateList()
+        .get(0)
+        .setConfigVersion(
+            clusterConfigVersions
+                .of("Connector0", "{\"tasks.max\": \"1\", \"topics\": \"t1\"}")
+                .orElseThrow());
+    connectorsStatus
+        .getConnectorStateList()
+        .get(1)
+        .setConfigVersion(
+            clusterConfigVersions
+                .of("Connector1", "{\"tasks.max\": \"2\", \"topics\": \"t1\"}")
+                .orElseThrow());
+    when(clusterApiService.getAllKafkaConnectors(
+            anyString(),
+            eq(KafkaSupportedProtocol.PLAINTEXT.getValue()),
+            anyString(),
+            eq(1),
+            eq(true)))
+        .thenReturn(connectorsStatus);
+
+    List<KafkaConnectorModelResponse> result =
+        kafkaConnectSyncControllerService.getSyncConnectors("2", "1", "1", null, true);
+
+    assertThat(result)
+        .extracting(
+            KafkaConnectorModelResponse::getConnectorName,
+            KafkaConnectorModelResponse::getRemarks,
+            KafkaConnectorModelResponse::getConfigInSync)
+        .containsExactly(tuple("Connector0", IN_SYNC, true), tuple("Connector1", IN_SYNC, false));
+  }
+
   private List<KwKafkaConnector> getConnectorsFromDb(int number) {
     List<KwKafkaConnector> list = new ArrayList<>();
     for (int i = 0; i < number; i++) {
@@ -0,0 +1,131 @@
+package io.aiven.klaw.service;
+
+import io.aiven.klaw.helpers.ConnectorConfigFingerprints;
+import io.aiven.klaw.model.cluster.ConnectorState;
+import io.aiven.klaw.model.response.KafkaConnectorModelResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Reconciliation of the connectors of one Kafka Connect environment, 5% of them only on the
+ * cluster, 5% only in Klaw and 10% with a changed config. Reconciliation updates the Klaw
+ * connectors it is given, so every invocation gets fresh ones. Run it with
+ *
+ * <pre>
+ * mvn -pl core test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *   -Dexec.args="-cp %classpath org.openjdk.jmh.Main KafkaConnectSyncReconciliationBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaConnectSyncReconciliationBenchmark {
+
+  private static final String ENV_ID = "1";
+
+  @Param({"10000"})
+  private int connectors;
+
+  private KafkaConnectSyncControllerService kafkaConnectSyncControllerService;
+
+  private Map<String, String> connectorConfigs;
+  private List<ConnectorState> clusterConnectors;
+
+  private List<KafkaConnectorModelResponse> syncConnectors;
+
+  @Setup(Level.Trial)
+  public void setUpClusterConnectors() {
+    kafkaConnectSyncControllerService = newKafkaConnectSyncControllerService();
+    // the versions cluster-api computes for the configs on the cluster
+    ConnectorConfigFingerprints clusterConfigVersions = new ConnectorConfigFingerprints("password");
+    connectorConfigs = new HashMap<>();
+    clusterConnectors = new ArrayList<>();
+    for (int i = 0; i < connectors; i++) {
+      String connectorName = "connector-" + i;
+      if (!isOnlyOnCluster(i)) {
+        connectorConfigs.put(connectorName, getConnectorConfig(i, 2));
+      }
+      if (i % 20 != 1) {
+        ConnectorState clusterConnector = new ConnectorState();
+        clusterConnector.setConnectorName(connectorName);
+        clusterConnector.setConnectorStatus("RUNNING");
+        clusterConnector.setRunningTasks(2);
+        clusterConnector.setConfigVersion(
+            clusterConfigVersions
+                .of(connectorName, getConnectorConfig(i, i % 10 == 2 ? 4 : 2))
+                .orElseThrow());
+        clusterConnectors.add(clusterConnector);
+      }
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpSyncConnectors() {
+    syncConnectors = new ArrayList<>();
+    for (int i = 0; i < connectors; i++) {
+      if (!isOnlyOnCluster(i)) {
+        KafkaConnectorModelResponse syncConnector = new KafkaConnectorModelResponse();
+        syncConnector.setConnectorName("connector-" + i);
+        syncConnector.setConnectorId(i);
+        syncConnector.setEnvironmentId(ENV_ID);
+        syncConnector.setTeamName("team-" + i % 50);
+        syncConnectors.add(syncConnector);
+      }
+    }
+  }
+
+  @Benchmark
+  public List<KafkaConnectorModelResponse> reconcile() {
+    return kafkaConnectSyncControllerService.reconcileConnectors(
+        syncConnectors, connectorConfigs, clusterConnectors, ENV_ID, "DEV", List.of("team-1"));
+  }
+
+  @Benchmark
+  public List<KafkaConnectorModelResponse> reconcileWithoutFingerprintsOfStoredConfigs() {
+    return newKafkaConnectSyncControllerService()
+        .reconcileConnectors(
+            syncConnectors, connectorConfigs, clusterConnectors, ENV_ID, "DEV", List.of("team-1"));
+  }
+
+  private static KafkaConnectSyncControllerService newKafkaConnectSyncControllerService() {
+    KafkaConnectSyncControllerService kafkaConnectSyncControllerService =
+        new KafkaConnectSyncControllerService();
+    ReflectionTestUtils.setField(
+        kafkaConnectSyncControllerService,
+        "connectorConfigFingerprints",
+        new ConnectorConfigFingerprints("password"));
+    return kafkaConnectSyncControllerService;
+  }
+
+  private static boolean isOnlyOnCluster(int i) {
+    return i % 20 == 0;
+  }
+
+  private static String getConnectorConfig(int i, int tasks) {
+    return "{\n  \"connector.class\" : \"io.confluent.connect.jdbc.JdbcSinkConnector\",\n"
+        + "  \"tasks.max\" : \""
+        + tasks
+        + "\",\n  \"topics\" : \"topic-"
+        + i
+        + "\",\n  \"connection.password\" : \"ENC(abc)\"\n}";
+  }
+}
@@ -0,0 +1,143 @@
+package io.aiven.klaw.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.dao.KwClusters;
+import io.aiven.klaw.dao.KwTopicPartitionHealth;
+import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
+import io.aiven.klaw.model.cluster.partitionhealth.PartitionHealthChanges;
+import io.aiven.klaw.model.cluster.partitionhealth.TopicPartitionHealth;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaFlavors;
+import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionHealthServiceTest {
+
+  private static final int TENANT_ID = 101;
+
+  @Mock private ManageDatabase manageDatabase;
+  @Mock private HandleDbRequestsJdbc handleDbRequests;
+  @Mock private ClusterApiService clusterApiService;
+
+  private PartitionHealthService partitionHealthService;
+
+  private Env env;
+
+  @BeforeEach
+  void setUp() {
+    partitionHealthService = new PartitionHealthService();
+    ReflectionTestUtils.setField(partitionHealthService, "manageDatabase", manageDatabase);
+    ReflectionTestUtils.setField(partitionHealthService, "clusterApiService", clusterApiService);
+
+    env = new Env();
+    env.setId("1");
+    env.setName("DEV");
+    env.setClusterId(1);
+  }
+
+  @Test
+  void appliesOnlyTheChangesSinceTheVersionRead() throws Exception {
+    stubCluster();
+    when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
+    when(clusterApiService.getPartitionHealthChanges(
+            anyString(), any(), anyString(), eq(0L), eq(0L), eq(TENANT_ID)))
+        .thenReturn(changes(1000, 1, true, topicHealth("topic1", 1), topicHealth("topic2", 2)));
+    when(clusterApiService.getPartitionHealthChanges(
+            anyString(), any(), anyString(), eq(1000L), eq(1L), eq(TENANT_ID)))
+        .thenReturn(changes(1000, 2, false, topicHealth("topic1", 0)));
+
+    partitionHealthService.refreshPartitionHealth();
+    partitionHealthService.refreshPartitionHealth();
+
+    ArgumentCaptor<List<KwTopicPartitionHealth>> unhealthyTopics =
+        ArgumentCaptor.forClass(List.class);
+    verify(handleDbRequests)
+        .updateTopicPartitionHealth(
+            eq(TENANT_ID), eq("1"), eq(true), unhealthyTopics.capture(), eq(List.of()));
+    assertThat(unhealthyTopics.getValue())
+        .extracting(KwTopicPartitionHealth::getTopicName)
+        .containsExactly("topic1", "topic2");
+    verify(handleDbRequests)
+        .updateTopicPartitionHealth(TENANT_ID, "1", false, List.of(), List.of("topic1"));
+  }
+
+  @Test
+  void clustersWithoutScanAreNotStored() throws Exception {
+    stubCluster();
+    when(clusterApiService.getPartitionHealthChanges(
+            anyString(), any(), anyString(), anyLong(), anyLong(), anyInt()))
+        .thenReturn(changes(0, 0, true));
+
+    partitionHealthService.refreshPartitionHealth();
+
+    verify(handleDbRequests, never())
+        .updateTopicPartitionHealth(anyInt(), anyString(), anyBoolean(), anyList(), anyList());
+  }
+
+  @Test
+  void topicsWithoutStoredHealthAreHealthy() {
+    when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
+    when(handleDbRequests.getTopicPartitionHealth(TENANT_ID, "1", "topic1"))
+        .thenReturn(Optional.empty());
+
+    TopicPartitionHealth topicPartitionHealth =
+        partitionHealthService.getTopicPartitionHealth(TENANT_ID, env, "topic1");
+
+    assertThat(topicPartitionHealth.getTopicName()).isEqualTo("topic1");
+    assertThat(topicPartitionHealth.isHealthy()).isTrue();
+  }
+
+  private void stubCluster() {
+    KwClusters kwClusters = new KwClusters();
+    kwClusters.setClusterId(1);
+    kwClusters.setClusterName("DEV");
+    kwClusters.setBootstrapServers("localhost:9092");
+    kwClusters.setProtocol(KafkaSupportedProtocol.PLAINTEXT);
+    kwClusters.setKafkaFlavor(KafkaFlavors.APACHE_KAFKA.value);
+    when(manageDatabase.getTenantMap()).thenReturn(Map.of(TENANT_ID, "default"));
+    when(manageDatabase.getClusters(KafkaClustersType.KAFKA, TENANT_ID))
+        .thenReturn(Map.of(1, kwClusters));
+    when(manageDatabase.getKafkaEnvListAllTenants(TENANT_ID)).thenReturn(List.of(env));
+  }
+
+  private static PartitionHealthChanges changes(
+      long epoch, long version, boolean fullSnapshot, TopicPartitionHealth... changedTopics) {
+    PartitionHealthChanges changes = new PartitionHealthChanges();
+    changes.setEpoch(epoch);
+    changes.setVersion(version);
+    changes.setFullSnapshot(fullSnapshot);
+    changes.setChangedTopics(List.of(changedTopics));
+    return changes;
+  }
+
+  private static TopicPartitionHealth topicHealth(String topicName, int underReplicated) {
+    TopicPartitionHealth topicPartitionHealth = new TopicPartitionHealth();
+    topicPartitionHealth.setTopicName(topicName);
+    topicPartitionHealth.setPartitions(3);
+    topicPartitionHealth.setUnderReplicated(underReplicated);
+    return topicPartitionHealth;
+  }
+}
@@ -178,7 +178,7 @@ public class SchemaOverviewServiceTest {
         .thenReturn(List.of(createTopic(TESTTOPIC, "1")));
     when(manageDatabase
             .getHandleDbRequests()
-            .getSchemaForTenantAndEnvAndTopic(eq(101), eq("3"), eq(TESTTOPIC)))
+            .getSchemasWithBodyForTenantAndEnvAndTopic(eq(101), eq("3"), eq(TESTTOPIC)))
         .thenReturn(createIncompleteMessages(2));
 
     when(clusterApiService.getAvroSchema(
@@ -205,7 +205,7 @@ public class SchemaOverviewServiceTest {
         .thenReturn(List.of(createTopic(TESTTOPIC, "1")));
     when(manageDatabase
             .getHandleDbRequests()
-            .getSchemaForTenantAndEnvAndTopic(eq(101), eq("3"), eq(TESTTOPIC)))
+            .getSchemasWithBodyForTenantAndEnvAndTopic(eq(101), eq("3"), eq(TESTTOPIC)))
         .thenReturn(createMessages(2));
 
     SchemaOverview returnedValue = schemaOverviewService.getSchemaOfTopic(TESTTOPIC, 1, "1");
@@ -228,7 +228,7 @@ public class SchemaOverviewServiceTest {
         .thenReturn(List.of(createTopic(TESTTOPIC, "1")));
     when(manageDatabase
             .getHandleDbRequests()
-            .getSchemaForTenantAndEnvAndTopic(eq(101), eq("3"), eq(TESTTOPIC)))
+            .getSchemasWithBodyForTenantAndEnvAndTopic(eq(101), eq("3"), eq(TESTTOPIC)))
         .thenReturn(createDBMessages(2));
 
     SchemaOverview returnedValue = schemaOverviewService.getSchemaOfTopic(TESTTOPIC, 1, "1");
@@ -30,6 +30,7 @@ import io.aiven.klaw.model.enums.KafkaClustersType;
 import io.aiven.klaw.model.enums.PermissionType;
 import io.aiven.klaw.model.enums.RequestOperationType;
 import io.aiven.klaw.model.enums.RequestStatus;
+import io.aiven.klaw.model.requests.BulkSchemaPromotion;
 import io.aiven.klaw.model.requests.SchemaPromotion;
 import io.aiven.klaw.model.requests.SchemaRequestModel;
 import io.aiven.klaw.model.response.SchemaRequestsResponseModel;
@@ -41,6 +42,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -110,6 +112,8 @@ public class SchemaRegistryControllerServiceTest {
         schemaRegistryControllerService,
         "rolesPermissionsControllerService",
         rolesPermissionsControllerService);
+    ReflectionTestUtils.setField(
+        schemaRegistryControllerService, "schemaPromotionTaskExecutor", (Executor) Runnable::run);
 
     when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
     loginMock();
@@ -663,6 +667,131 @@ public class SchemaRegistryControllerServiceTest {
         .contains("validateCompatiblityOnSave\" is null");
   }
 
+  @Test
+  @Order(23)
+  public void execSchemaRequestsInBulkRegistersOncePerEnvironmentAndMapsResultsByRequest() throws KlawException {
+    Map<String, Object> registerSchemaCustomResponse = new HashMap<>();
+    registerSchemaCustomResponse.put("schemaRegistered", true);
+    registerSchemaCustomResponse.put("version", 1);
+    registerSchemaCustomResponse.put("id", 1);
+    registerSchemaCustomResponse.put("compatibility", "BACKWARD");
+
+    stubUserInfo();
+    when(handleDbRequests.getSchemaRequest(eq(1001), anyInt()))
+        .thenReturn(createSchemaRequest("topic1", "kwuserb"));
+    // a second request of the same topic gets its own response
+    when(handleDbRequests.getSchemaRequest(eq(1002), anyInt()))
+        .thenReturn(createSchemaRequest("topic1", "kwuserb"));
+    when(handleDbRequests.getSchemaRequest(eq(1003), anyInt()))
+        .thenReturn(createSchemaRequest("topic3", "kwusera"));
+    when(clusterApiService.postSchemas(any(), eq("1"), anyInt()))
+        .thenReturn(
+            List.of(
+                ApiResponse.builder()
+                    .success(true)
+                    .message("Schema registered")
+                    .data(registerSchemaCustomResponse)
+                    .build(),
+                ApiResponse.notOk(
+                    "Schema being registered is incompatible with an earlier schema")));
+    when(handleDbRequests.updateSchemaRequest(any(), anyString()))
+        .thenReturn(ApiResultStatus.SUCCESS.value);
+    when(commonUtilsService.getEnvsFromUserId(anyString()))
+        .thenReturn(new HashSet<>(Collections.singletonList("1")));
+    when(commonUtilsService.getTenantId(anyString())).thenReturn(101);
+    when(commonUtilsService.isNotAuthorizedUser(any(), any())).thenReturn(false);
+
+    List<ApiResponse> resultResp =
+        schemaRegistryControllerService.execSchemaRequests(List.of("1001", "1002", "1003"));
+
+    assertThat(resultResp).hasSize(3);
+    assertThat(resultResp.get(0).isSuccess()).isTrue();
+    assertThat(resultResp.get(1).getMessage()).startsWith("Failure in uploading schema");
+    assertThat(resultResp.get(2).getMessage())
+        .isEqualTo("You are not allowed to approve your own schema requests.");
+    verify(clusterApiService, times(1)).postSchemas(any(), eq("1"), eq(101));
+    verify(handleDbRequests, times(1)).updateSchemaRequest(any(), anyString());
+  }
+
+  @Test
+  @Order(24)
+  public void promoteSchemasReturnsResultPerTopic() throws Exception {
+    mockGetEnvironment();
+    when(commonUtilsService.getTenantId(any())).thenReturn(101);
+    when(manageDatabase.getClusters(KafkaClustersType.SCHEMA_REGISTRY, 101))
+        .thenReturn(createClusterMap(8));
+    when(clusterApiService.getAvroSchema(any(), any(), any(), anyString(), eq(101)))
+        .thenReturn(createSchemaList());
+    when(clusterApiService.validateSchema(anyString(), anyString(), anyString(), anyInt()))
+        .thenReturn(buildValidationResponse(true));
+    mockSchemaCreation();
+    when(commonUtilsService.getEnvProperty(eq(101), eq(REQUEST_SCHEMA_OF_ENVS))).thenReturn("8");
+
+    SchemaPromotion unknownVersion = buildPromoteSchemaRequest(false, "9");
+    unknownVersion.setTopicName("othertopic");
+    BulkSchemaPromotion bulkSchemaPromotion = new BulkSchemaPromotion();
+    bulkSchemaPromotion.setSchemaPromotions(
+        List.of(buildPromoteSchemaRequest(false, "2"), unknownVersion));
+
+    ApiResponse returnedValue = schemaRegistryControllerService.promoteSchemas(bulkSchemaPromotion);
+
+    assertThat(returnedValue.isSuccess()).isFalse();
+    Map<String, ApiResponse> results = (Map<String, ApiResponse>) returnedValue.getData();
+    assertThat(results.keySet()).containsExactly(TESTTOPIC, "othertopic");
+    assertThat(results.get(TESTTOPIC).isSuccess()).isTrue();
+    assertThat(results.get("othertopic").getMessage())
+        .isEqualTo("Failure. Schema version 9 not found for topic othertopic");
+    verify(handleDbRequests, times(1)).requestForSchema(schemaRequestCaptor.capture());
+    JsonNode json = mapper.readTree(schemaRequestCaptor.getValue().getSchemafull());
+    assertThat(json.get("name").asText()).isEqualTo("klawTestAvroV2");
+    // validated once while fetching, not again when the request is created
+    verify(clusterApiService, times(1))
+        .validateSchema(anyString(), eq("8"), eq(TESTTOPIC), eq(101));
+  }
+
+  @Test
+  @Order(25)
+  public void promoteSchemasForceRegisterSkipsValidation() throws Exception {
+    mockGetEnvironment();
+    mockSchema();
+    mockSchemaCreation();
+    when(commonUtilsService.getEnvProperty(eq(101), eq(REQUEST_SCHEMA_OF_ENVS))).thenReturn("8");
+
+    BulkSchemaPromotion bulkSchemaPromotion = new BulkSchemaPromotion();
+    bulkSchemaPromotion.setSchemaPromotions(List.of(buildPromoteSchemaRequest(true, "1")));
+
+    ApiResponse returnedValue = schemaRegistryControllerService.promoteSchemas(bulkSchemaPromotion);
+
+    assertThat(returnedValue.isSuccess()).isTrue();
+    assertThat(returnedValue.getMessage()).isEqualTo(ApiResultStatus.SUCCESS.value);
+    verify(clusterApiService, times(0))
+        .validateSchema(anyString(), anyString(), anyString(), anyInt());
+  }
+
+  @Test
+  @Order(26)
+  public void promoteSchemasRejectsTopicPromotedTwice() {
+    BulkSchemaPromotion bulkSchemaPromotion = new BulkSchemaPromotion();
+    bulkSchemaPromotion.setSchemaPromotions(
+        List.of(buildPromoteSchemaRequest(false, "1"), buildPromoteSchemaRequest(false, "2")));
+
+    ApiResponse returnedValue = schemaRegistryControllerService.promoteSchemas(bulkSchemaPromotion);
+
+    assertThat(returnedValue.isSuccess()).isFalse();
+    assertThat(returnedValue.getMessage())
+        .isEqualTo("Failure. Topic " + TESTTOPIC + " is promoted more than once in the request.");
+    verify(handleDbRequests, times(0)).requestForSchema(any());
+  }
+
+  private SchemaRequest createSchemaRequest(String topicName, String requestor) {
+    SchemaRequest schemaRequest = new SchemaRequest();
+    schemaRequest.setSchemafull("schema..");
+    schemaRequest.setRequestor(requestor);
+    schemaRequest.setEnvironment("1");
+    schemaRequest.setTopicname(topicName);
+    return schemaRequest;
+  }
+
   @Test
   public void getListofSchemaRequestsIn_NEWEST_FIRST_ORDER() {
     stubUserInfo();
@@ -38,6 +38,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 import org.apache.commons.collections4.CollectionUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -49,6 +50,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
@@ -95,6 +97,8 @@ public class SchemaRegistrySyncControllerServiceTest {
     ReflectionTestUtils.setField(schemaRegistrySyncControllerService, "mailService", mailService);
     ReflectionTestUtils.setField(
         schemaRegistrySyncControllerService, "commonUtilsService", commonUtilsService);
+    ReflectionTestUtils.setField(
+        schemaRegistrySyncControllerService, "schemaSyncTaskExecutor", (Executor) Runnable::run);
 
     when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
     loginMock();
@@ -300,6 +304,13 @@ public class SchemaRegistrySyncControllerServiceTest {
                 + syncSchemaUpdates.getTopicList()
                 + "\nSchemas removed "
                 + CollectionUtils.emptyIfNull(syncSchemaUpdates.getTopicListForRemoval()));
+
+    ArgumentCaptor<Map<String, List<MessageSchema>>> schemasByTopic =
+        ArgumentCaptor.forClass(Map.class);
+    verify(handleDbRequests).syncMessageSchemas(eq(101), eq("1"), schemasByTopic.capture());
+    assertThat(schemasByTopic.getValue()).containsOnlyKeys(topicName);
+    assertThat(schemasByTopic.getValue().get(topicName))
+        .hasSize(utilMethods.createSchemaList().size());
   }
 
   @Test
@@ -350,7 +361,8 @@ public class SchemaRegistrySyncControllerServiceTest {
 
     List<MessageSchema> schemaList = utilMethods.getMSchemas();
     schemaList.get(0).setTopicname(topicName);
-    when(handleDbRequests.getSchemaForTenantAndEnvAndTopic(anyInt(), anyString(), anyString()))
+    when(handleDbRequests.getSchemasWithBodyForTenantAndEnvAndTopic(
+            anyInt(), anyString(), anyString()))
         .thenReturn(schemaList);
 
     ApiResponse apiResponse =
@@ -0,0 +1,204 @@
+package io.aiven.klaw.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.aiven.klaw.config.ManageDatabase;
+import io.aiven.klaw.dao.Env;
+import io.aiven.klaw.dao.KwClusters;
+import io.aiven.klaw.dao.Topic;
+import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
+import io.aiven.klaw.model.TopicConfigEntry;
+import io.aiven.klaw.model.cluster.storage.BrokerStorage;
+import io.aiven.klaw.model.cluster.storage.StorageReport;
+import io.aiven.klaw.model.cluster.storage.TeamStorage;
+import io.aiven.klaw.model.cluster.storage.TopicStorage;
+import io.aiven.klaw.model.enums.DiskImpactBasis;
+import io.aiven.klaw.model.enums.KafkaClustersType;
+import io.aiven.klaw.model.enums.KafkaFlavors;
+import io.aiven.klaw.model.enums.KafkaSupportedProtocol;
+import io.aiven.klaw.model.enums.RequestOperationType;
+import io.aiven.klaw.model.enums.RequestStatus;
+import io.aiven.klaw.model.response.TopicDiskImpact;
+import io.aiven.klaw.model.response.TopicRequestsResponseModel;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StorageReportServiceTest {
+
+  private static final int TENANT_ID = 101;
+  private static final int TEAM_1 = 1;
+  private static final int TEAM_2 = 2;
+
+  @Mock private ManageDatabase manageDatabase;
+  @Mock private HandleDbRequestsJdbc handleDbRequests;
+  @Mock private ClusterApiService clusterApiService;
+  @Mock private CommonUtilsService commonUtilsService;
+  @Mock private MailUtils mailService;
+
+  private StorageReportService storageReportService;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    storageReportService = new StorageReportService();
+    ReflectionTestUtils.setField(storageReportService, "manageDatabase", manageDatabase);
+    ReflectionTestUtils.setField(storageReportService, "clusterApiService", clusterApiService);
+    ReflectionTestUtils.setField(storageReportService, "commonUtilsService", commonUtilsService);
+    ReflectionTestUtils.setField(storageReportService, "mailService", mailService);
+
+    Env env = new Env();
+    env.setId("1");
+    env.setName("DEV");
+    env.setClusterId(1);
+    KwClusters kwClusters = new KwClusters();
+    kwClusters.setClusterId(1);
+    kwClusters.setClusterName("DEV");
+    kwClusters.setBootstrapServers("localhost:9092");
+    kwClusters.setProtocol(KafkaSupportedProtocol.PLAINTEXT);
+    kwClusters.setKafkaFlavor(KafkaFlavors.APACHE_KAFKA.value);
+    when(manageDatabase.getKafkaEnvList(TENANT_ID)).thenReturn(List.of(env));
+    when(manageDatabase.getClusters(KafkaClustersType.KAFKA, TENANT_ID))
+        .thenReturn(Map.of(1, kwClusters));
+    when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
+    when(clusterApiService.getStorageReport(
+            anyString(), any(KafkaSupportedProtocol.class), anyString(), eq(TENANT_ID)))
+        .thenReturn(storageReport());
+  }
+
+  @Test
+  void aggregatesTopicsPerOwningTeam() throws Exception {
+    Authentication authentication = Mockito.mock(Authentication.class);
+    SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    when(authentication.getPrincipal()).thenReturn(Mockito.mock(UserDetails.class));
+    SecurityContextHolder.setContext(securityContext);
+    when(mailService.getUserName(any())).thenReturn("kwusera");
+    when(commonUtilsService.getTenantId("kwusera")).thenReturn(TENANT_ID);
+    when(commonUtilsService.getEnvsFromUserId("kwusera")).thenReturn(Set.of("1"));
+    when(manageDatabase.getTeamNameFromTeamId(TENANT_ID, TEAM_1)).thenReturn("Team1");
+    when(handleDbRequests.getTopicsFromEnv("1", TENANT_ID))
+        .thenReturn(List.of(topic("topic1", TEAM_1, "1"), topic("topic2", TEAM_1, "1")));
+
+    StorageReport storageReport = storageReportService.getStorageReport("1");
+
+    // topic3 is not managed by Klaw
+    assertThat(storageReport.getTeams())
+        .extracting(
+            TeamStorage::getTeamName,
+            TeamStorage::getTopics,
+            TeamStorage::getPartitions,
+            TeamStorage::getSizeBytes,
+            TeamStorage::getReplicatedSizeBytes)
+        .containsExactly(tuple("Team1", 2, 4, 4000L, 12000L));
+  }
+
+  @Test
+  void projectsDiskImpactOfOpenCreateRequests() throws Exception {
+    TopicRequestsResponseModel withRetention = createRequest(TEAM_2, 2, "3");
+    withRetention.setAdvancedTopicConfigEntries(
+        List.of(
+            TopicConfigEntry.builder().configKey("retention.bytes").configValue("5000").build()));
+    TopicRequestsResponseModel ofTeamWithTopics = createRequest(TEAM_1, 3, "2");
+    TopicRequestsResponseModel ofTeamWithoutTopics = createRequest(TEAM_2, 1, "3");
+    TopicRequestsResponseModel approved = createRequest(TEAM_1, 3, "2");
+    approved.setRequestStatus(RequestStatus.APPROVED);
+    // topic3 of team 1 is on another environment
+    when(handleDbRequests.getTopicsforTeam(TEAM_1, TENANT_ID))
+        .thenReturn(
+            List.of(
+                topic("topic1", TEAM_1, "1"),
+                topic("topic2", TEAM_1, "1"),
+                topic("topic3", TEAM_1, "2")));
+    when(handleDbRequests.getTopicsforTeam(TEAM_2, TENANT_ID)).thenReturn(List.of());
+
+    for (TopicRequestsResponseModel topicRequest :
+        List.of(withRetention, ofTeamWithTopics, ofTeamWithoutTopics, approved)) {
+      storageReportService.addProjectedDiskImpact(TENANT_ID, topicRequest);
+    }
+
+    verify(clusterApiService, times(3))
+        .getStorageReport(
+            anyString(), any(KafkaSupportedProtocol.class), anyString(), eq(TENANT_ID));
+    assertThat(
+            List.of(
+                withRetention.getProjectedDiskImpact(),
+                ofTeamWithTopics.getProjectedDiskImpact(),
+                ofTeamWithoutTopics.getProjectedDiskImpact()))
+        .extracting(
+            TopicDiskImpact::getProjectionBasis,
+            TopicDiskImpact::getProjectedBytes,
+            TopicDiskImpact::getTeamUsedBytes)
+        .containsExactly(
+            tuple(DiskImpactBasis.RETENTION_BYTES, 30000L, 0L),
+            // team 1 holds 1000 bytes per partition
+            tuple(DiskImpactBasis.TEAM_AVERAGE, 6000L, 12000L),
+            // the cluster holds 6000 bytes in 5 partitions
+            tuple(DiskImpactBasis.CLUSTER_AVERAGE, 3600L, 0L));
+    assertThat(ofTeamWithTopics.getProjectedDiskImpact().getClusterUsedBytes()).isEqualTo(18000);
+    assertThat(ofTeamWithTopics.getProjectedDiskImpact().getClusterUsableBytes()).isNull();
+    assertThat(approved.getProjectedDiskImpact()).isNull();
+  }
+
+  private static StorageReport storageReport() {
+    StorageReport storageReport = new StorageReport();
+    for (int brokerId = 1; brokerId <= 3; brokerId++) {
+      BrokerStorage brokerStorage = new BrokerStorage();
+      brokerStorage.setBrokerId(brokerId);
+      brokerStorage.setSizeBytes(6000);
+      brokerStorage.setUsableBytes(brokerId == 3 ? null : 100000L);
+      storageReport.getBrokers().add(brokerStorage);
+    }
+    storageReport.getTopics().add(topicStorage("topic1", 3, 3000));
+    storageReport.getTopics().add(topicStorage("topic2", 1, 1000));
+    storageReport.getTopics().add(topicStorage("topic3", 1, 2000));
+    return storageReport;
+  }
+
+  private static TopicStorage topicStorage(String topicName, int partitions, long sizeBytes) {
+    TopicStorage topicStorage = new TopicStorage();
+    topicStorage.setTopicName(topicName);
+    topicStorage.setPartitions(partitions);
+    topicStorage.setSizeBytes(sizeBytes);
+    topicStorage.setReplicatedSizeBytes(sizeBytes * 3);
+    return topicStorage;
+  }
+
+  private static Topic topic(String topicName, int teamId, String envId) {
+    Topic topic = new Topic();
+    topic.setTopicname(topicName);
+    topic.setTeamId(teamId);
+    topic.setEnvironment(envId);
+    return topic;
+  }
+
+  private static TopicRequestsResponseModel createRequest(
+      int teamId, int partitions, String replicationFactor) {
+    TopicRequestsResponseModel createRequest = new TopicRequestsResponseModel();
+    createRequest.setEnvironment("1");
+    createRequest.setTeamId(teamId);
+    createRequest.setTopicpartitions(partitions);
+    createRequest.setReplicationfactor(replicationFactor);
+    createRequest.setRequestOperationType(RequestOperationType.CREATE);
+    createRequest.setRequestStatus(RequestStatus.CREATED);
+    return createRequest;
+  }
+}
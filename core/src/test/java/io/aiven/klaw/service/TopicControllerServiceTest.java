@@ -2,14 +2,18 @@ package io.aiven.klaw.service;
 
 import static io.aiven.klaw.error.KlawErrorMessages.TOPICS_VLD_ERR_121;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import io.aiven.klaw.UtilMethods;
@@ -29,6 +33,8 @@ import io.aiven.klaw.model.ApiResponse;
 import io.aiven.klaw.model.KwTenantConfigModel;
 import io.aiven.klaw.model.TopicConfigEntry;
 import io.aiven.klaw.model.TopicInfo;
+import io.aiven.klaw.model.cluster.topiccontents.TopicContentRecord;
+import io.aiven.klaw.model.cluster.topiccontents.TopicContentsSearchRequest;
 import io.aiven.klaw.model.enums.AclPatternType;
 import io.aiven.klaw.model.enums.AclType;
 import io.aiven.klaw.model.enums.ApiResultStatus;
@@ -91,6 +97,8 @@ public class TopicControllerServiceTest {
 
   @Mock RolesPermissionsControllerService rolesPermissionsControllerService;
 
+  @Mock StorageReportService storageReportService;
+
   @Mock Map<Integer, KwTenantConfigModel> tenantConfig;
 
   @Mock KwTenantConfigModel tenantConfigModel;
@@ -114,6 +122,8 @@ public class TopicControllerServiceTest {
         topicControllerService,
         "rolesPermissionsControllerService",
         rolesPermissionsControllerService);
+    ReflectionTestUtils.setField(
+        topicControllerService, "storageReportService", storageReportService);
 
     when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
     loginMock();
@@ -596,6 +606,20 @@ public class TopicControllerServiceTest {
             io.aiven.klaw.model.enums.Order.ASC_REQUESTED_TIME);
 
     assertThat(topicList).hasSize(2);
+    verify(storageReportService, never()).addProjectedDiskImpact(anyInt(), any());
+  }
+
+  @Test
+  @Order(21)
+  public void getTopicRequestAddsProjectedDiskImpact() {
+    stubUserInfo();
+    when(manageDatabase.getKafkaEnvList(anyInt())).thenReturn(utilMethods.getEnvLists());
+    when(handleDbRequests.getTopicRequestsForTopic(1001, 101)).thenReturn(getCorrectTopicDao());
+    when(commonUtilsService.getTenantId(anyString())).thenReturn(101);
+
+    TopicRequestsResponseModel topicRequest = topicControllerService.getTopicRequest(1001);
+
+    verify(storageReportService).addProjectedDiskImpact(101, topicRequest);
   }
 
   @Test
@@ -1104,6 +1128,82 @@ public class TopicControllerServiceTest {
     assertThat(topicEventsMap).hasSize(2);
   }
 
+  @Test
+  @Order(42)
+  public void searchTopicEvents() throws KlawException {
+    String envId = "1", topicName = "testtopic";
+    stubUserInfo();
+    when(commonUtilsService.getTenantId(anyString())).thenReturn(101);
+
+    Map<Integer, KwClusters> kwClustersMap = new HashMap<>();
+    kwClustersMap.put(1, utilMethods.getKwClusters());
+    when(manageDatabase.getClusters(any(), anyInt())).thenReturn(kwClustersMap);
+    when(manageDatabase.getKafkaEnvList(anyInt())).thenReturn(utilMethods.getEnvLists());
+    TopicContentsSearchRequest searchRequest =
+        TopicContentsSearchRequest.builder().topicName(topicName).valueFilter("world").build();
+    when(clusterApiService.searchTopicEvents(
+            anyString(), any(), anyString(), eq(searchRequest), anyInt()))
+        .thenReturn(
+            List.of(
+                TopicContentRecord.builder()
+                    .partition(1)
+                    .offset(7)
+                    .timestamp(1000)
+                    .key("key1")
+                    .value("hello world1")
+                    .build(),
+                TopicContentRecord.builder()
+                    .partition(0)
+                    .offset(7)
+                    .timestamp(2000)
+                    .key("key1")
+                    .value("hello world2")
+                    .build()));
+
+    Map<String, String> topicEvents =
+        topicControllerService.searchTopicEvents(envId, searchRequest);
+    // records with the same offset on different partitions are all kept, in timestamp order
+    assertThat(topicEvents)
+        .containsExactly(entry("1-7", "hello world1"), entry("0-7", "hello world2"));
+  }
+
+  @Test
+  @Order(42)
+  public void searchTopicEventsFailure() throws KlawException {
+    stubUserInfo();
+    when(commonUtilsService.getTenantId(anyString())).thenReturn(101);
+
+    Map<Integer, KwClusters> kwClustersMap = new HashMap<>();
+    kwClustersMap.put(1, utilMethods.getKwClusters());
+    when(manageDatabase.getClusters(any(), anyInt())).thenReturn(kwClustersMap);
+    when(manageDatabase.getKafkaEnvList(anyInt())).thenReturn(utilMethods.getEnvLists());
+    when(clusterApiService.searchTopicEvents(anyString(), any(), anyString(), any(), anyInt()))
+        .thenThrow(new KlawException("error"));
+
+    assertThatThrownBy(
+            () ->
+                topicControllerService.searchTopicEvents(
+                    "1", TopicContentsSearchRequest.builder().topicName("testtopic").build()))
+        .isInstanceOf(KlawException.class);
+  }
+
+  @Test
+  @Order(42)
+  public void searchTopicEventsClusterNotFound() {
+    stubUserInfo();
+    when(commonUtilsService.getTenantId(anyString())).thenReturn(101);
+    when(manageDatabase.getClusters(any(), anyInt())).thenReturn(new HashMap<>());
+    when(manageDatabase.getKafkaEnvList(anyInt())).thenReturn(utilMethods.getEnvLists());
+
+    assertThatThrownBy(
+            () ->
+                topicControllerService.searchTopicEvents(
+                    "1", TopicContentsSearchRequest.builder().topicName("testtopic").build()))
+        .isInstanceOf(KlawException.class)
+        .hasMessage("Failure. No Kafka cluster found for environment 1");
+    verifyNoInteractions(clusterApiService);
+  }
+
   @Test
   @Order(43)
   public void getExistingTopicRequests() {
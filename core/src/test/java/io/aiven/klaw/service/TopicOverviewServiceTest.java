@@ -5,6 +5,7 @@ import static io.aiven.klaw.helpers.KwConstants.REQUEST_TOPICS_OF_ENVS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
@@ -20,8 +21,12 @@ import io.aiven.klaw.error.KlawException;
 import io.aiven.klaw.helpers.db.rdbms.HandleDbRequestsJdbc;
 import io.aiven.klaw.model.KwTenantConfigModel;
 import io.aiven.klaw.model.TopicOverviewInfo;
+import io.aiven.klaw.model.cluster.TopicMetrics;
+import io.aiven.klaw.model.cluster.multicluster.ClusterQueryResult;
+import io.aiven.klaw.model.cluster.partitionhealth.TopicPartitionHealth;
 import io.aiven.klaw.model.enums.AclGroupBy;
 import io.aiven.klaw.model.enums.AclType;
+import io.aiven.klaw.model.enums.ClusterQueryStatus;
 import io.aiven.klaw.model.enums.KafkaClustersType;
 import io.aiven.klaw.model.enums.KafkaFlavors;
 import io.aiven.klaw.model.enums.PromotionStatusType;
@@ -73,6 +78,8 @@ public class TopicOverviewServiceTest {
 
   @Mock private ClusterApiService clusterApiService;
 
+  @Mock private PartitionHealthService partitionHealthService;
+
   @Mock private Map<Integer, KwClusters> kwClustersHashMap;
   @Mock private KwClusters kwClusters;
 
@@ -91,6 +98,8 @@ public class TopicOverviewServiceTest {
     ReflectionTestUtils.setField(topicOverviewService, "manageDatabase", manageDatabase);
     ReflectionTestUtils.setField(topicOverviewService, "commonUtilsService", commonUtilsService);
     ReflectionTestUtils.setField(topicOverviewService, "clusterApiService", clusterApiService);
+    ReflectionTestUtils.setField(
+        topicOverviewService, "partitionHealthService", partitionHealthService);
     when(manageDatabase.getHandleDbRequests()).thenReturn(handleDbRequests);
     loginMock();
   }
@@ -129,6 +138,23 @@ public class TopicOverviewServiceTest {
         .thenReturn(kwClustersHashMap);
     when(kwClustersHashMap.get(anyInt())).thenReturn(kwClusters);
     createListOfEnvs(KafkaClustersType.SCHEMA_REGISTRY, 5);
+    TopicMetrics topicMetrics = new TopicMetrics();
+    topicMetrics.setTopicName(TESTTOPIC);
+    topicMetrics.setMessagesInPerSec(12.5);
+    ClusterQueryResult topicMetricsResult = new ClusterQueryResult();
+    topicMetricsResult.setQueryId("1");
+    topicMetricsResult.setStatus(ClusterQueryStatus.SUCCESS);
+    topicMetricsResult.setTopicMetrics(topicMetrics);
+    ClusterQueryResult timedOutResult = new ClusterQueryResult();
+    timedOutResult.setQueryId("2");
+    timedOutResult.setStatus(ClusterQueryStatus.TIMED_OUT);
+    when(clusterApiService.queryClusters(anyList(), anyInt()))
+        .thenReturn(List.of(topicMetricsResult, timedOutResult));
+    TopicPartitionHealth partitionHealth = new TopicPartitionHealth();
+    partitionHealth.setTopicName(TESTTOPIC);
+    partitionHealth.setUnderReplicated(1);
+    when(partitionHealthService.getTopicPartitionHealth(anyInt(), any(), eq(TESTTOPIC)))
+        .thenReturn(partitionHealth);
 
     when(commonUtilsService.getEnvProperty(eq(101), eq(REQUEST_TOPICS_OF_ENVS))).thenReturn("1");
     mockTenantConfig();
@@ -144,6 +170,10 @@ public class TopicOverviewServiceTest {
 
     assertThat(topicOverviewInfo.getAdvancedTopicConfiguration())
         .containsEntry("retention.ms", "404800000");
+    assertThat(topicOverviewInfo.getTopicMetrics()).isSameAs(topicMetrics);
+    // the metrics of all envs of the topic are read in one request per overview
+    verify(clusterApiService, times(2)).queryClusters(anyList(), anyInt());
+    assertThat(topicOverviewInfo.getPartitionHealth()).isSameAs(partitionHealth);
     assertThat(aclList.get(0).getTopicname()).isEqualTo(TESTTOPIC);
     assertThat(aclList.get(0).getConsumergroup()).isEqualTo("mygrp1");
     assertThat(aclList.get(0).getAcl_ip()).isEqualTo("2.1.2.1");
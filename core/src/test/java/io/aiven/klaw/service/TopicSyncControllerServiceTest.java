@@ -246,7 +246,12 @@ public class TopicSyncControllerServiceTest {
     stubUserInfo();
     when(manageDatabase.getKafkaEnvList(anyInt())).thenReturn(utilMethods.getEnvLists());
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), anyInt()))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            anyInt()))
         .thenReturn(utilMethods.getClusterApiTopics("topic", 10));
     when(handleDbRequests.getAllTeamsOfUsers(anyString(), anyInt()))
         .thenReturn(getAvailableTeams());
@@ -521,7 +526,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(generateClusterTopics(14));
 
     // from the DB
@@ -552,7 +562,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(generateClusterTopics(14));
 
     // from the DB
@@ -579,7 +594,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(generateClusterTopics(15));
 
     // from the DB
@@ -611,7 +631,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(generateClusterTopics(19));
 
     // from the DB
@@ -642,7 +667,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(generateClusterTopics(15));
 
     // from the DB
@@ -674,7 +704,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(generateClusterTopics(10));
 
     // from the DB
@@ -705,7 +740,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(generateClusterTopics(15));
 
     // from the DB
@@ -767,7 +807,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(
             generateClusterTopics(Arrays.copyOfRange(namesOfTopics, 0, numberOfTopicsInCluster)));
 
@@ -840,7 +885,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(
             generateClusterTopics(Arrays.copyOfRange(namesOfTopics, 0, numberOfTopicsInCluster)));
 
@@ -913,7 +963,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(
             generateClusterTopics(Arrays.copyOfRange(namesOfTopics, 0, numberOfTopicsInCluster)));
 
@@ -988,7 +1043,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(
             generateClusterTopics(Arrays.copyOfRange(namesOfTopics, 0, numberOfTopicsInCluster)));
 
@@ -1034,7 +1094,12 @@ public class TopicSyncControllerServiceTest {
 
     // from the cluster
     when(clusterApiService.getAllTopics(
-            anyString(), any(KafkaSupportedProtocol.class), anyString(), anyString(), eq(101)))
+            anyString(),
+            any(KafkaSupportedProtocol.class),
+            anyString(),
+            anyString(),
+            any(),
+            eq(101)))
         .thenReturn(generateClusterTopics(Arrays.copyOfRange(namesOfTopics, 0, 4)));
 
     // from the DB